@@ -909,6 +909,7 @@ create table if not exists station_soh(
 ) partition by list(station_name);
 
 alter table station_soh add constraint station_soh_unique_station_name_creation_time unique (station_name, creation_time);
+alter table station_soh add constraint station_soh_unique_station_name_coi_id unique (station_name, coi_id);
 
 CREATE INDEX station_soh_creation_time_and_station_name_idx ON station_soh (station_name, creation_time);
 
@@ -929,6 +930,7 @@ create table if not exists staged_station_soh(
 );
 
 alter table staged_station_soh add constraint staged_station_soh_unique_station_name unique (station_name) deferrable initially deferred;
+alter table staged_station_soh add constraint staged_station_soh_unique_station_name_coi_id unique (station_name, coi_id);
 
 create sequence if not exists channel_soh_sequence increment by 50 minvalue 1 no maxvalue start with 1 no cycle;
 
@@ -1031,6 +1033,44 @@ create table if not exists staged_channel_soh_monitor_value_status(
 
 alter table staged_channel_soh_monitor_value_status add constraint staged_csmvs_unique_station_channel_name_monitor unique (station_name, channel_name, monitor_type) deferrable initially deferred;
 
+-- Pre-aggregated channel SOH monitor values in 1 minute, 10 minute and 1 hour buckets, maintained by
+-- copy_staged_channel_soh_monitor_value_status() so historical queries over long time ranges do not
+-- need to read every channel_soh_monitor_value_status row.  Durations are in seconds; null percents
+-- are counted as 100, matching the historical query, and null durations only count as samples.
+create table if not exists channel_soh_monitor_value_rollup(
+	station_name varchar(255) not null,
+	channel_name varchar(255) not null,
+	monitor_type smallint not null,
+	resolution_seconds int not null,
+	bucket_start timestamp not null,
+	sample_count int not null,
+	value_count int not null,
+	value_sum double precision not null,
+	constraint channel_smv_rollup_pk primary key (station_name, monitor_type, resolution_seconds, bucket_start, channel_name)
+) partition by list(station_name);
+
+create index channel_smv_rollup_bucket_start_idx on channel_soh_monitor_value_rollup (bucket_start);
+
+-- always keep the default partition for anything that won't be stored in one of the generated partitions
+create table if not exists channel_soh_monitor_value_rollup_default partition of channel_soh_monitor_value_rollup default;
+
+-- Backfill the rollups from the monitor values stored before they were maintained.  Each bucket is recomputed from
+-- every stored value in it, so running this again leaves the rollups unchanged.
+insert into channel_soh_monitor_value_rollup (station_name, channel_name, monitor_type, resolution_seconds, bucket_start, sample_count, value_count, value_sum)
+select station_name, channel_name, monitor_type, resolution,
+	to_timestamp(floor(extract(epoch from creation_time) / resolution) * resolution) at time zone 'UTC' as bucket_start,
+	count(*), count(rollup_value), coalesce(sum(rollup_value), 0)
+from (select station_name, channel_name, monitor_type, creation_time,
+		case when monitor_type in (0, 1) then duration else coalesce(percent, 100) end as rollup_value
+	from channel_soh_monitor_value_status
+	where creation_time is not null) csmvs
+	cross join unnest(array[60, 600, 3600]) as resolution
+group by station_name, channel_name, monitor_type, resolution, bucket_start
+on conflict on constraint channel_smv_rollup_pk do update set
+	sample_count = excluded.sample_count,
+	value_count = excluded.value_count,
+	value_sum = excluded.value_sum;
+
 create table if not exists station_soh_monitor_value_status(
     id int not null,
 	duration int,
@@ -1191,6 +1231,7 @@ $$
 	num_station_aggregate_deleted int;
 	num_station_smvs_deleted int;
 	num_channel_smvs_deleted int;
+	num_channel_smv_rollup_deleted int;
     num_system_message_deleted int;
     num_capability_soh_rollup_deleted int;
 
@@ -1202,6 +1243,7 @@ $$
 	sa_elapsed_time double precision;
 	ssmvs_elapsed_time double precision;
 	csmvs_elapsed_time double precision;
+	csmv_rollup_elapsed_time double precision;
     procedure_elapsed_time double precision;
     system_message_elapsed_time double precision;
     capability_soh_rollup_elapsed_time double precision;
@@ -1224,6 +1266,8 @@ $$
 	ssmvs_removal_end_time timestamptz;
 	csmvs_removal_start_time timestamptz;
 	csmvs_removal_end_time timestamptz;
+	csmv_rollup_removal_start_time timestamptz;
+	csmv_rollup_removal_end_time timestamptz;
     system_message_removal_start_time timestamptz;
     system_message_removal_end_time timestamptz;
     capability_soh_rollup_start_time timestamptz;
@@ -1266,6 +1310,13 @@ $$
 	csmvs_elapsed_time := 1000 * (extract(epoch from csmvs_removal_end_time) - extract(epoch from csmvs_removal_start_time));
 	raise notice 'Deleted % Channel SMVSs in % ms', num_channel_smvs_deleted, csmvs_elapsed_time;
 
+	raise notice 'Deleting Channel SMV rollups with bucket_start before %', ttl_time;
+	csmv_rollup_removal_start_time := clock_timestamp();
+	with csmv_rollup_deleted as (delete from gms_soh.channel_soh_monitor_value_rollup where bucket_start < ttl_time returning *) select count(*) from csmv_rollup_deleted into num_channel_smv_rollup_deleted;
+	csmv_rollup_removal_end_time := clock_timestamp();
+	csmv_rollup_elapsed_time := 1000 * (extract(epoch from csmv_rollup_removal_end_time) - extract(epoch from csmv_rollup_removal_start_time));
+	raise notice 'Deleted % Channel SMV rollups in % ms', num_channel_smv_rollup_deleted, csmv_rollup_elapsed_time;
+
 	ttl_time := now() - (ssoh_ttl_in_hours || ' hours')::interval;
 	raise notice 'Deleting Channel SOHs with creation_time before %', ttl_time;
 	csoh_removal_start_time := clock_timestamp();
@@ -1532,7 +1583,7 @@ create or replace function remove_previous_station_soh ()
 	returns trigger as 
 	$BODY$
 	BEGIN
-		delete from gms_soh.staged_station_soh where station_name = new.station_name;
+		delete from gms_soh.staged_station_soh where station_name = new.station_name and coi_id <> new.coi_id;
 		return new;
 	END
 	$BODY$ language plpgsql security definer;
@@ -1562,10 +1613,31 @@ create or replace function copy_staged_station_aggregate()
 create or replace function copy_staged_channel_soh_monitor_value_status()
 	returns trigger as
 	$BODY$
+	DECLARE
+		rollup_value double precision;
+		resolution int;
 	BEGIN
 		INSERT INTO gms_soh.channel_soh_monitor_value_status (id, duration, percent, channel_soh_id, creation_time, channel_name, station_name, status, monitor_type)
 		VALUES (new.id, new.duration, new.percent, new.channel_soh_id, new.creation_time, new.channel_name, new.station_name, new.status, new.monitor_type)
 		on conflict on constraint channel_smvs_unique_station_channel_monitor_creation_type do nothing;
+
+		-- only roll up values the first time they are stored, so re-sent StationSohs are not counted twice
+		IF FOUND THEN
+			-- monitor types 0 and 1 (LAG and TIMELINESS) are durations, the rest are percents
+			rollup_value := case when new.monitor_type in (0, 1) then new.duration else coalesce(new.percent, 100) end;
+
+			FOREACH resolution IN ARRAY array[60, 600, 3600] LOOP
+				INSERT INTO gms_soh.channel_soh_monitor_value_rollup (station_name, channel_name, monitor_type, resolution_seconds, bucket_start, sample_count, value_count, value_sum)
+				VALUES (new.station_name, new.channel_name, new.monitor_type, resolution,
+					to_timestamp(floor(extract(epoch from new.creation_time) / resolution) * resolution) at time zone 'UTC',
+					1, case when rollup_value is null then 0 else 1 end, coalesce(rollup_value, 0))
+				on conflict on constraint channel_smv_rollup_pk do update set
+					sample_count = channel_soh_monitor_value_rollup.sample_count + 1,
+					value_count = channel_soh_monitor_value_rollup.value_count + excluded.value_count,
+					value_sum = channel_soh_monitor_value_rollup.value_sum + excluded.value_sum;
+			END LOOP;
+		END IF;
+
 		RETURN new;
 	END
 	$BODY$ LANGUAGE plpgsql SECURITY definer;
@@ -1599,6 +1671,7 @@ create or replace function station_insert_trigger_fn()
         station_soh_partition varchar(255);
         station_soh_monitor_value_status_partition varchar(255);
         channel_soh_monitor_value_status_partition varchar(255);
+        channel_soh_monitor_value_rollup_partition varchar(255);
         station_aggregate_partition varchar(255);
         channel_soh_partition varchar(255);
     begin
@@ -1606,6 +1679,7 @@ create or replace function station_insert_trigger_fn()
         station_soh_partition := 'gms_soh.station_soh_' || name_no_whitespace;
         station_soh_monitor_value_status_partition := 'gms_soh.station_soh_monitor_value_status_' || name_no_whitespace;
         channel_soh_monitor_value_status_partition := 'gms_soh.channel_soh_monitor_value_status_' || name_no_whitespace;
+        channel_soh_monitor_value_rollup_partition := 'gms_soh.channel_soh_monitor_value_rollup_' || name_no_whitespace;
         channel_soh_partition := 'gms_soh.channel_soh_' || name_no_whitespace;
         station_aggregate_partition := 'gms_soh.station_aggregate_' || name_no_whitespace;
 
@@ -1615,6 +1689,8 @@ create or replace function station_insert_trigger_fn()
                 E' partition of gms_soh.station_soh_monitor_value_status for values in (\'' || new.name || E'\')';
         execute 'create table if not exists ' || channel_soh_monitor_value_status_partition ||
                 E' partition of gms_soh.channel_soh_monitor_value_status for values in (\'' || new.name || E'\')';
+        execute 'create table if not exists ' || channel_soh_monitor_value_rollup_partition ||
+                E' partition of gms_soh.channel_soh_monitor_value_rollup for values in (\'' || new.name || E'\')';
         execute 'create table if not exists ' || station_aggregate_partition ||
                 E' partition of gms_soh.station_aggregate for values in (\'' || new.name || E'\')';
         execute 'create table if not exists ' || channel_soh_partition ||
@@ -1623,12 +1699,14 @@ create or replace function station_insert_trigger_fn()
         execute 'grant select, delete, update on ' || station_soh_partition || ' to gms_soh_ttl_application';
         execute 'grant select, delete, update on ' || station_soh_monitor_value_status_partition || ' to gms_soh_ttl_application';
         execute 'grant select, delete, update on ' || channel_soh_monitor_value_status_partition || ' to gms_soh_ttl_application';
+        execute 'grant select, delete, update on ' || channel_soh_monitor_value_rollup_partition || ' to gms_soh_ttl_application';
         execute 'grant select, delete, update on ' || station_aggregate_partition || ' to gms_soh_ttl_application';
         execute 'grant select, delete, update on ' || channel_soh_partition || ' to gms_soh_ttl_application';
 
         execute 'alter table ' || station_soh_partition || ' owner to gms_admin';
         execute 'alter table ' || station_soh_monitor_value_status_partition || ' owner to gms_admin';
         execute 'alter table ' || channel_soh_monitor_value_status_partition || ' owner to gms_admin';
+        execute 'alter table ' || channel_soh_monitor_value_rollup_partition || ' owner to gms_admin';
         execute 'alter table ' || station_aggregate_partition || ' owner to gms_admin';
         execute 'alter table ' || channel_soh_partition || ' owner to gms_admin';
         return new;
@@ -1679,6 +1757,7 @@ grant delete on staged_station_soh to gms_soh_application;
 -- keepgrant statement for station_soh_default
 grant select, delete, update on station_soh_monitor_value_status to gms_soh_ttl_application;
 grant select, delete, update on channel_soh_monitor_value_status to gms_soh_ttl_application;
+grant select, delete, update on channel_soh_monitor_value_rollup to gms_soh_ttl_application;
 
 grant select, delete, update on channel_soh to gms_soh_ttl_application;
 grant select, delete, update on station_aggregate to gms_soh_ttl_application;
@@ -0,0 +1,149 @@
+package gms.core.dataacquisition;
+
+import com.google.common.collect.Lists;
+import gms.core.dataacquisition.reactor.AceiInterval;
+import gms.core.dataacquisition.reactor.AceiMergePlan;
+import gms.shared.frameworks.osd.dao.channelsoh.AcquiredChannelEnvironmentIssueBooleanDao;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import javax.persistence.EntityManager;
+import javax.persistence.OptimisticLockException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes an {@link AceiMergePlan} to the boolean ACEI table as JDBC batches, on the connection of the
+ * {@link EntityManager}'s transaction: one query for the ids of every insert, then one batch each of deletes, updates
+ * and inserts.
+ * <p>
+ * Deletes and updates only match a row that still holds the start and end times the plan expects, so a row another
+ * writer changed since the plan was made is detected rather than overwritten.
+ */
+class AceiBooleanBatchWriter {
+
+  private final int batchSize;
+
+  AceiBooleanBatchWriter(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Writes the plan
+   *
+   * @param plan the {@link AceiMergePlan} to write
+   * @param entityManager the entity manager whose transaction the writes join
+   * @return the plan with the stored ids of its inserts
+   * @throws OptimisticLockException if a row to update or delete no longer exists or no longer holds the expected
+   * times
+   */
+  AceiMergePlan write(AceiMergePlan plan, EntityManager entityManager) {
+    if (plan.isEmpty()) {
+      return plan;
+    }
+
+    var session = entityManager.unwrap(Session.class);
+    var persister = (AbstractEntityPersister) session.getSessionFactory().unwrap(SessionFactoryImplementor.class)
+      .getMetamodel().entityPersister(AcquiredChannelEnvironmentIssueBooleanDao.class);
+    var table = persister.getTableName();
+    var sequence = ((SequenceStyleGenerator) persister.getIdentifierGenerator()).getDatabaseStructure().getName();
+
+    return session.doReturningWork(connection -> {
+      var inserts = assignIds(connection, sequence, plan.getInserts());
+
+      executeBatches(connection, "delete from " + table + " where id = ? and start_time = ? and end_time = ?",
+        plan.getDeletes(), (statement, interval) -> {
+          statement.setLong(1, interval.getId());
+          statement.setObject(2, toTimestamp(interval.getStartTime()));
+          statement.setObject(3, toTimestamp(interval.getEndTime()));
+        });
+
+      executeBatches(connection, "update " + table + " set start_time = ?, end_time = ?"
+          + " where id = ? and start_time = ? and end_time = ?",
+        plan.getUpdates(), (statement, update) -> {
+          statement.setObject(1, toTimestamp(update.getMerged().getStartTime()));
+          statement.setObject(2, toTimestamp(update.getMerged().getEndTime()));
+          statement.setLong(3, update.getStored().getId());
+          statement.setObject(4, toTimestamp(update.getStored().getStartTime()));
+          statement.setObject(5, toTimestamp(update.getStored().getEndTime()));
+        });
+
+      executeBatches(connection, "insert into " + table
+          + " (id, channel_name, type, start_time, end_time, status) values (?, ?, ?, ?, ?, ?)",
+        inserts, (statement, interval) -> {
+          statement.setLong(1, interval.getId());
+          statement.setString(2, interval.getChannelName());
+          statement.setString(3, interval.getType().name());
+          statement.setObject(4, toTimestamp(interval.getStartTime()));
+          statement.setObject(5, toTimestamp(interval.getEndTime()));
+          statement.setBoolean(6, interval.isStatus());
+        });
+
+      return AceiMergePlan.create(inserts, plan.getUpdates(), plan.getDeletes());
+    });
+  }
+
+  private static List<AceiInterval> assignIds(Connection connection, String sequence, List<AceiInterval> inserts)
+    throws SQLException {
+    if (inserts.isEmpty()) {
+      return inserts;
+    }
+
+    var stored = new ArrayList<AceiInterval>(inserts.size());
+    try (var statement = connection.prepareStatement(
+      "select nextval('" + sequence + "') from generate_series(1, ?)")) {
+      statement.setInt(1, inserts.size());
+      try (var ids = statement.executeQuery()) {
+        for (AceiInterval insert : inserts) {
+          if (!ids.next()) {
+            throw new SQLException("Sequence " + sequence + " returned fewer ids than requested");
+          }
+          stored.add(insert.withId(ids.getLong(1)));
+        }
+      }
+    }
+    return stored;
+  }
+
+  private <T> void executeBatches(Connection connection, String sql, List<T> rows, StatementBinder<T> binder)
+    throws SQLException {
+    if (rows.isEmpty()) {
+      return;
+    }
+
+    try (var statement = connection.prepareStatement(sql)) {
+      for (List<T> batch : Lists.partition(rows, batchSize)) {
+        for (T row : batch) {
+          binder.bind(statement, row);
+          statement.addBatch();
+        }
+
+        // A row the plan expected is gone or was changed by another writer, so the index it was planned from is
+        // stale and the whole plan must be redone
+        for (int count : statement.executeBatch()) {
+          if (count == 0) {
+            throw new OptimisticLockException("Boolean ACEI row missing or changed for merge: " + sql);
+          }
+        }
+      }
+    }
+  }
+
+  private static OffsetDateTime toTimestamp(Instant instant) {
+    return instant.atOffset(ZoneOffset.UTC);
+  }
+
+  @FunctionalInterface
+  private interface StatementBinder<T> {
+
+    void bind(PreparedStatement statement, T row) throws SQLException;
+  }
+}
@@ -33,6 +33,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 public class AceiMergeConsumer {
 
   private static final Logger logger = LoggerFactory.getLogger(AceiMergeConsumer.class);
+  private static final String MERGE_INDEX_RETENTION = "merge-index-retention";
 
   private final SystemConfig systemConfig;
   private final ConfigurationConsumerUtility processingConfig;
@@ -44,7 +45,8 @@ public class AceiMergeConsumer {
 
   public Mono<Void> run() {
     var toleranceResolver = ConfigurationToleranceResolver.create(processingConfig);
-    var aceiRepository = new AceiMergeRepository(CoiEntityManagerFactory.create(systemConfig), toleranceResolver);
+    var aceiRepository = new AceiMergeRepository(CoiEntityManagerFactory.create(systemConfig), toleranceResolver,
+      systemConfig.getValueAsDuration(MERGE_INDEX_RETENTION));
 
     ReactiveFunction<Collection<ReceiverRecord<String, AcquiredChannelEnvironmentIssue<?>>>, Set<AcquiredChannelEnvironmentIssue<?>>> preprocessor =
       ReactorKafkaUtilities.<AcquiredChannelEnvironmentIssue<?>>getValues()
@@ -56,7 +58,9 @@ public class AceiMergeConsumer {
       ReactorKafkaUtilities.acknowledgeAll()
     );
 
-    var batchRecordFlux = ReactorKafkaUtilities.createBatchRecordFlux(systemConfig, new AceiDeserializer());
+    // A new assignment can hand this processor channels another processor has been merging into the database
+    var batchRecordFlux = ReactorKafkaUtilities.createBatchRecordFlux(systemConfig, new AceiDeserializer(),
+      partitions -> aceiRepository.reloadIndex());
 
     return storageConsumer.store(batchRecordFlux);
   }
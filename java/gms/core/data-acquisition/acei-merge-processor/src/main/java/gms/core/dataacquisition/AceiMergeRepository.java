@@ -3,8 +3,9 @@ package gms.core.dataacquisition;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Streams;
-import gms.core.dataacquisition.reactor.AceiDaoMerger;
+import gms.core.dataacquisition.reactor.AceiInterval;
+import gms.core.dataacquisition.reactor.AceiIntervalIndex;
+import gms.core.dataacquisition.reactor.AceiMergePlan;
 import gms.core.dataacquisition.reactor.util.ToleranceResolver;
 import gms.shared.frameworks.osd.api.util.RepositoryExceptionUtils;
 import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssue;
@@ -13,31 +14,39 @@ import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssue
 import gms.shared.frameworks.osd.dao.channelsoh.AcquiredChannelEnvironmentIssueBooleanDao;
 import gms.shared.frameworks.osd.dao.channelsoh.AcquiredChannelEnvironmentIssueDao;
 import gms.shared.frameworks.osd.repository.rawstationdataframe.converter.AcquiredChannelEnvironmentIssueAnalogDaoConverter;
-import gms.shared.frameworks.osd.repository.rawstationdataframe.converter.AcquiredChannelEnvironmentIssueBooleanDaoConverter;
 import org.apache.commons.lang3.tuple.Pair;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.OptimisticLockException;
 import javax.persistence.PersistenceException;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.Predicate;
 import javax.persistence.criteria.Root;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static java.util.stream.Collectors.collectingAndThen;
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 /**
- * Repository for conducting the merge and storage of {@link AcquiredChannelEnvironmentIssue}s
+ * Repository for conducting the merge and storage of {@link AcquiredChannelEnvironmentIssue}s. Recently stored boolean
+ * ACEIs are kept in an {@link AceiIntervalIndex}, loaded from the database on the first store, so steady-state merges
+ * are resolved in memory and only their resulting writes reach the database.
+ * <p>
+ * Other processors write the same ACEIs, so boolean updates and deletes only apply to rows still holding the times the
+ * index planned them against. A store that finds a row changed behind the index reloads the index and retries.
  */
 public class AceiMergeRepository {
 
@@ -50,12 +59,16 @@ public class AceiMergeRepository {
     Comparator.<AcquiredChannelEnvironmentIssueBooleanDao, Instant>comparing(AcquiredChannelEnvironmentIssueDao::getStartTime)
       .thenComparing(AcquiredChannelEnvironmentIssueDao::getEndTime);
   private static final AcquiredChannelEnvironmentIssueAnalogDaoConverter analogConverter = new AcquiredChannelEnvironmentIssueAnalogDaoConverter();
-  private static final AcquiredChannelEnvironmentIssueBooleanDaoConverter booleanConverter = new AcquiredChannelEnvironmentIssueBooleanDaoConverter();
+  private static final Duration DEFAULT_INDEX_RETENTION = Duration.ofHours(1);
+  private static final int MAX_STALE_INDEX_ATTEMPTS = 3;
 
   private final EntityManagerFactory entityManagerFactory;
   private final ToleranceResolver toleranceResolver;
-  private final AceiDaoMerger daoMerger;
+  private final AceiIntervalIndex intervalIndex;
+  private final AceiBooleanBatchWriter batchWriter;
+  private final Clock clock;
   private final int batchSize;
+  private volatile boolean indexReloadRequested;
 
   /**
    * Repository for conducting the merge and storage of {@link AcquiredChannelEnvironmentIssue}s
@@ -63,6 +76,23 @@ public class AceiMergeRepository {
    * @param toleranceResolver Resolver for the tolerance value used to determine whether two ACEIs can be merged
    */
   public AceiMergeRepository(EntityManagerFactory entityManagerFactory, ToleranceResolver toleranceResolver) {
+    this(entityManagerFactory, toleranceResolver, DEFAULT_INDEX_RETENTION);
+  }
+
+  /**
+   * Repository for conducting the merge and storage of {@link AcquiredChannelEnvironmentIssue}s
+   * @param entityManagerFactory Factory to resolve {@link EntityManager}s to conduct database interactions
+   * @param toleranceResolver Resolver for the tolerance value used to determine whether two ACEIs can be merged
+   * @param indexRetention How long after they end boolean ACEIs are kept in memory to merge with
+   */
+  public AceiMergeRepository(EntityManagerFactory entityManagerFactory, ToleranceResolver toleranceResolver,
+    Duration indexRetention) {
+    this(entityManagerFactory, toleranceResolver, AceiIntervalIndex.create(indexRetention), Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  AceiMergeRepository(EntityManagerFactory entityManagerFactory, ToleranceResolver toleranceResolver,
+    AceiIntervalIndex intervalIndex, Clock clock) {
     this.entityManagerFactory = entityManagerFactory;
     var batchSizeProp = entityManagerFactory.getProperties()
       .getOrDefault("hibernate.jdbc.batch_size", "50")
@@ -70,17 +100,22 @@ public class AceiMergeRepository {
     this.batchSize = Integer.parseInt(batchSizeProp);
 
     this.toleranceResolver = toleranceResolver;
-    this.daoMerger = AceiDaoMerger.create(toleranceResolver);
+    this.intervalIndex = intervalIndex;
+    this.batchWriter = new AceiBooleanBatchWriter(batchSize);
+    this.clock = clock;
   }
 
   /**
    * Store the provided {@link AcquiredChannelEnvironmentIssue}s, merging with the underlying database records when appropriate
    * @param aceiToStore Collection of ACEI to store/merge with the underlying database
    */
-  public void store(Collection<AcquiredChannelEnvironmentIssue<?>> aceiToStore) {
+  public synchronized void store(Collection<AcquiredChannelEnvironmentIssue<?>> aceiToStore) {
     Preconditions.checkNotNull(aceiToStore);
 
-    var entityManager = entityManagerFactory.createEntityManager();
+    if (indexReloadRequested) {
+      indexReloadRequested = false;
+      intervalIndex.invalidate();
+    }
 
     var groupedAcei = aceiToStore.stream()
       .collect(collectingAndThen(
@@ -91,24 +126,64 @@ public class AceiMergeRepository {
           list.stream().filter(AcquiredChannelEnvironmentIssueBoolean.class::isInstance)
             .map(AcquiredChannelEnvironmentIssueBoolean.class::cast).collect(toList()))));
 
+    for (var attempt = 1; ; attempt++) {
+      try {
+        storeAttempt(groupedAcei.getLeft(), groupedAcei.getRight());
+        return;
+      } catch (OptimisticLockException e) {
+        // Another processor changed a row behind the index, so reload it from the database and plan again
+        if (attempt == MAX_STALE_INDEX_ATTEMPTS) {
+          throw RepositoryExceptionUtils.wrap(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Requests that the index be reloaded from the database before the next store, e.g. when this processor's Kafka
+   * partition assignment changes and it starts merging ACEIs another processor has been writing
+   */
+  public void reloadIndex() {
+    indexReloadRequested = true;
+  }
+
+  /**
+   * Stores the ACEIs in one transaction, invalidating the index if it fails
+   *
+   * @throws OptimisticLockException if a boolean ACEI row changed since the index was loaded
+   */
+  private void storeAttempt(List<AcquiredChannelEnvironmentIssueAnalog> analogInserts,
+    List<AcquiredChannelEnvironmentIssueBoolean> booleanInserts) {
+
+    var entityManager = entityManagerFactory.createEntityManager();
     entityManager.getTransaction().begin();
 
+    AceiMergePlan storedPlan;
     try {
       var channelNames = getChannelNames(entityManager);
-      storeAnalog(groupedAcei.getLeft(), entityManager, channelNames);
-      syncBoolean(groupedAcei.getRight(), entityManager, channelNames);
+      storeAnalog(analogInserts, entityManager, channelNames);
+      storedPlan = syncBoolean(booleanInserts, entityManager, channelNames);
       entityManager.flush();
       entityManager.getTransaction().commit();
+    } catch (OptimisticLockException e) {
+      entityManager.getTransaction().rollback();
+      intervalIndex.invalidate();
+      throw e;
     } catch (PersistenceException e) {
       entityManager.getTransaction().rollback();
+      // Reload on the next store in case the failure came from the index disagreeing with the database
+      intervalIndex.invalidate();
       throw RepositoryExceptionUtils.wrap(e);
     } finally {
       entityManager.close();
     }
+
+    intervalIndex.apply(storedPlan);
+    intervalIndex.evict(clock.instant());
   }
 
   private void storeAnalog(Collection<AcquiredChannelEnvironmentIssueAnalog> analogInserts,
-    EntityManager entityManager, List<String> validChannelNames) {
+    EntityManager entityManager, Set<String> validChannelNames) {
 
     var filteredDaos = analogInserts.stream()
       .filter(acei -> validChannelNames.contains(acei.getChannelName()))
@@ -122,40 +197,74 @@ public class AceiMergeRepository {
     }
   }
 
-  private void syncBoolean(Collection<AcquiredChannelEnvironmentIssueBoolean> booleanInserts,
-    EntityManager entityManager, List<String> validChannelNames) {
+  /**
+   * Merges the boolean ACEIs with the stored ACEIs they connect to and writes only the resulting inserts, updates and
+   * deletes. Stored ACEIs within the index's retention window come from the index, earlier ones from the database.
+   *
+   * @return the written {@link AceiMergePlan}, to apply to the index once committed
+   */
+  private AceiMergePlan syncBoolean(Collection<AcquiredChannelEnvironmentIssueBoolean> booleanInserts,
+    EntityManager entityManager, Set<String> validChannelNames) {
 
-    var aceiByChannel = booleanInserts.stream()
+    var incoming = booleanInserts.stream()
       .filter(acei -> validChannelNames.contains(acei.getChannelName()))
-      .map(coi -> booleanConverter.fromCoi(coi, entityManager))
-      .collect(groupingBy(AcquiredChannelEnvironmentIssueDao::getChannelName,
-        collectingAndThen(toSet(), set -> daoMerger.mergeAll(set, entityManager))));
-
-    var managedMergeables = aceiByChannel.entrySet().stream()
-      .map(entry -> findMergeable(entry.getKey(), entry.getValue(), entityManager))
-      .flatMap(Set::stream)
+      .map(AceiInterval::from)
       .collect(toList());
 
-    var aceiToMerge = Streams.concat(
-        aceiByChannel.values().stream()
-          .flatMap(Set::stream),
-        managedMergeables.stream())
-      .collect(toList());
-
-    var mmIds = managedMergeables.stream()
-      .map(AcquiredChannelEnvironmentIssueBooleanDao::getId)
-      .collect(toList());
+    if (incoming.isEmpty()) {
+      return AceiMergePlan.create(List.of(), List.of(), List.of());
+    }
 
-    var aceiToStore = daoMerger.mergeAll(aceiToMerge, entityManager)
-      .stream()
-      .filter(aceiDao -> !mmIds.contains(aceiDao.getId()))
-      .collect(toList());
+    if (!intervalIndex.isLoaded()) {
+      loadIndex(entityManager);
+    }
 
-    for (var batch : Lists.partition(aceiToStore, batchSize)) {
-      for (var aceiDao : batch) {
-        entityManager.persist(aceiDao);
+    // Resolving a tolerance reads processing configuration, so resolve each channel's once per batch
+    Map<String, Duration> tolerances = new HashMap<>();
+    ToleranceResolver batchToleranceResolver = channelName ->
+      tolerances.computeIfAbsent(channelName, toleranceResolver::resolveTolerance);
+
+    Map<Long, AceiInterval> stored = new HashMap<>();
+    Map<String, List<AceiInterval>> unindexedByChannel = new HashMap<>();
+    for (var interval : incoming) {
+      var tolerance = batchToleranceResolver.resolveTolerance(interval.getChannelName());
+      if (intervalIndex.covers(interval.getStartTime().minus(tolerance))) {
+        intervalIndex.findMergeable(interval, tolerance).forEach(mergeable -> stored.put(mergeable.getId(), mergeable));
+      } else {
+        unindexedByChannel.computeIfAbsent(interval.getChannelName(), channelName -> new ArrayList<>()).add(interval);
       }
     }
+
+    unindexedByChannel.forEach((channelName, intervals) ->
+      findMergeable(channelName, intervals.stream().map(AceiMergeRepository::toQueryDao).collect(toList()),
+        entityManager)
+        .forEach(mergeable -> stored.putIfAbsent(mergeable.getId(), AceiInterval.from(mergeable))));
+
+    var plan = AceiMergePlan.plan(stored.values(), incoming, batchToleranceResolver);
+    return batchWriter.write(plan, entityManager);
+  }
+
+  private void loadIndex(EntityManager entityManager) {
+    var coverageStart = clock.instant().minus(intervalIndex.getRetention());
+    var stored = entityManager.createQuery(
+        "select acei from AcquiredChannelEnvironmentIssueBooleanDao acei where acei.endTime >= :coverageStart",
+        AcquiredChannelEnvironmentIssueBooleanDao.class)
+      .setParameter("coverageStart", coverageStart)
+      .setHint("org.hibernate.readOnly", true)
+      .getResultStream()
+      .map(AceiInterval::from)
+      .collect(toList());
+    intervalIndex.load(coverageStart, stored);
+  }
+
+  private static AcquiredChannelEnvironmentIssueBooleanDao toQueryDao(AceiInterval interval) {
+    var aceiDao = new AcquiredChannelEnvironmentIssueBooleanDao();
+    aceiDao.setChannelName(interval.getChannelName());
+    aceiDao.setType(interval.getType());
+    aceiDao.setStatus(interval.isStatus());
+    aceiDao.setStartTime(interval.getStartTime());
+    aceiDao.setEndTime(interval.getEndTime());
+    return aceiDao;
   }
 
   /**
@@ -213,13 +322,13 @@ public class AceiMergeRepository {
   /**
    * If an ACEI references an invalid channel, it can't be stored to the DB and should be removed
    *
-   * @return filtered list with aceis that have invalid channel removed
+   * @return names of the channels ACEIs can be stored for
    */
-  private List<String> getChannelNames(EntityManager entityManager) {
+  private Set<String> getChannelNames(EntityManager entityManager) {
 
     TypedQuery<String> query = entityManager
       .createNamedQuery("Channel.getChannelNames", String.class)
       .setHint("org.hibernate.cacheable", true);
-    return query.getResultList();
+    return new HashSet<>(query.getResultList());
   }
 }
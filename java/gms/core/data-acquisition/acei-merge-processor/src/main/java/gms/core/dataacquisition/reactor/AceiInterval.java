@@ -0,0 +1,87 @@
+package gms.core.dataacquisition.reactor;
+
+import com.google.auto.value.AutoValue;
+import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssue.AcquiredChannelEnvironmentIssueType;
+import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssueBoolean;
+import gms.shared.frameworks.osd.dao.channelsoh.AcquiredChannelEnvironmentIssueBooleanDao;
+
+import java.time.Instant;
+import java.util.Comparator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Lightweight, immutable view of a boolean ACEI used for merging without managed entities. Stored intervals carry the
+ * database id of their row, intervals not yet stored have an id of {@link #UNSTORED_ID}.
+ */
+@AutoValue
+public abstract class AceiInterval {
+
+  public static final long UNSTORED_ID = 0;
+
+  /**
+   * Orders intervals by start time, then end time, then id
+   */
+  public static final Comparator<AceiInterval> START_TIME_COMPARATOR = Comparator
+    .comparing(AceiInterval::getStartTime)
+    .thenComparing(AceiInterval::getEndTime)
+    .thenComparingLong(AceiInterval::getId);
+
+  public abstract long getId();
+
+  public abstract String getChannelName();
+
+  public abstract AcquiredChannelEnvironmentIssueType getType();
+
+  public abstract boolean isStatus();
+
+  public abstract Instant getStartTime();
+
+  public abstract Instant getEndTime();
+
+  public static AceiInterval create(long id, String channelName, AcquiredChannelEnvironmentIssueType type,
+    boolean status, Instant startTime, Instant endTime) {
+    checkNotNull(channelName);
+    checkNotNull(type);
+    checkNotNull(startTime);
+    checkNotNull(endTime);
+    checkArgument(!endTime.isBefore(startTime), "ACEI interval cannot end before it starts");
+
+    return new AutoValue_AceiInterval(id, channelName, type, status, startTime, endTime);
+  }
+
+  public static AceiInterval from(AcquiredChannelEnvironmentIssueBoolean acei) {
+    return create(UNSTORED_ID, acei.getChannelName(), acei.getType(), acei.getStatus(), acei.getStartTime(),
+      acei.getEndTime());
+  }
+
+  public static AceiInterval from(AcquiredChannelEnvironmentIssueBooleanDao aceiDao) {
+    return create(aceiDao.getId(), aceiDao.getChannelName(), aceiDao.getType(), aceiDao.isStatus(),
+      aceiDao.getStartTime(), aceiDao.getEndTime());
+  }
+
+  public boolean isStored() {
+    return getId() != UNSTORED_ID;
+  }
+
+  /**
+   * @return the key of the channel, type and status this interval can merge within
+   */
+  public String getMergeKey() {
+    return AceiKeyBuilder.buildKey(getChannelName(), getType()) + isStatus();
+  }
+
+  public AceiInterval withId(long id) {
+    return create(id, getChannelName(), getType(), isStatus(), getStartTime(), getEndTime());
+  }
+
+  public AceiInterval withTimes(Instant startTime, Instant endTime) {
+    return create(getId(), getChannelName(), getType(), isStatus(), startTime, endTime);
+  }
+
+  public AcquiredChannelEnvironmentIssueBoolean toCoi() {
+    return AcquiredChannelEnvironmentIssueBoolean.from(getChannelName(), getType(), getStartTime(), getEndTime(),
+      isStatus());
+  }
+}
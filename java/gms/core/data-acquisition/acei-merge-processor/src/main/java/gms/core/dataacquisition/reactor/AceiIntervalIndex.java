@@ -0,0 +1,198 @@
+package gms.core.dataacquisition.reactor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * In-memory index of the stored boolean ACEIs ending within a retention window, by channel, type and status, so
+ * incoming ACEIs inside the window can be merged without querying the database.
+ * <p>
+ * The index holds every stored interval ending at or after its coverage start, which is where it was loaded from and
+ * advances as old intervals are evicted. An incoming interval whose tolerance-padded start is covered can only merge
+ * with indexed intervals; anything earlier must be looked up in the database. The index relies on the stored intervals
+ * of a channel, type and status not overlapping, which merging maintains. Other writers can change the stored
+ * intervals behind it, so writes planned from it must check that the rows they change are still as indexed, and the
+ * index must be invalidated when they are not. Instances are not thread safe.
+ */
+public class AceiIntervalIndex {
+
+  private final Duration retention;
+  private final Map<String, NavigableSet<AceiInterval>> intervalsByKey = new HashMap<>();
+  private final Map<Long, AceiInterval> intervalsById = new HashMap<>();
+  private Instant coverageStart;
+
+  private AceiIntervalIndex(Duration retention) {
+    this.retention = retention;
+  }
+
+  /**
+   * Creates an empty, unloaded {@link AceiIntervalIndex}
+   *
+   * @param retention how long after its end time an interval is kept, positive
+   * @return an {@link AceiIntervalIndex}
+   */
+  public static AceiIntervalIndex create(Duration retention) {
+    checkNotNull(retention);
+    checkArgument(!retention.isNegative() && !retention.isZero(), "ACEI index retention must be positive");
+    return new AceiIntervalIndex(retention);
+  }
+
+  public Duration getRetention() {
+    return retention;
+  }
+
+  public boolean isLoaded() {
+    return coverageStart != null;
+  }
+
+  /**
+   * Replaces the contents of the index
+   *
+   * @param coverageStart the time from which the index holds every stored interval
+   * @param stored every stored interval ending at or after the coverage start
+   */
+  public void load(Instant coverageStart, Collection<AceiInterval> stored) {
+    checkNotNull(coverageStart);
+    checkNotNull(stored);
+
+    clear();
+    stored.forEach(this::add);
+    this.coverageStart = coverageStart;
+  }
+
+  /**
+   * Empties the index, e.g. when a write it planned failed and its contents no longer match the database
+   */
+  public void invalidate() {
+    clear();
+    coverageStart = null;
+  }
+
+  /**
+   * @param time a time
+   * @return true if the index is loaded and holds every stored interval ending at or after the time
+   */
+  public boolean covers(Instant time) {
+    return isLoaded() && !time.isBefore(coverageStart);
+  }
+
+  /**
+   * Finds the indexed intervals of the same channel, type and status an interval can merge with
+   *
+   * @param interval the interval to merge
+   * @param tolerance the channel's merge tolerance
+   * @return the indexed intervals within tolerance of the interval
+   */
+  public List<AceiInterval> findMergeable(AceiInterval interval, Duration tolerance) {
+    checkState(isLoaded(), "ACEI index must be loaded before it is queried");
+
+    var intervals = intervalsByKey.get(interval.getMergeKey());
+    if (intervals == null) {
+      return List.of();
+    }
+
+    var from = interval.getStartTime().minus(tolerance);
+    var latestStart = AceiInterval.create(Long.MAX_VALUE, interval.getChannelName(), interval.getType(),
+      interval.isStatus(), interval.getEndTime().plus(tolerance), Instant.MAX);
+
+    // Stored intervals don't overlap, so walking back from the latest possible start stops at the first that ends
+    // too early
+    var mergeable = new ArrayList<AceiInterval>();
+    Iterator<AceiInterval> candidates = intervals.headSet(latestStart, true).descendingIterator();
+    while (candidates.hasNext()) {
+      var candidate = candidates.next();
+      if (candidate.getEndTime().isBefore(from)) {
+        break;
+      }
+      mergeable.add(candidate);
+    }
+    return mergeable;
+  }
+
+  /**
+   * Applies a stored {@link AceiMergePlan} to the index
+   *
+   * @param plan the plan, whose inserts have been assigned their stored ids
+   */
+  public void apply(AceiMergePlan plan) {
+    checkState(isLoaded(), "ACEI index must be loaded before it is updated");
+
+    plan.getDeletes().forEach(this::remove);
+    plan.getUpdates().forEach(update -> {
+      remove(update.getStored());
+      add(update.getMerged());
+    });
+    plan.getInserts().forEach(insert -> {
+      checkArgument(insert.isStored(), "Inserted ACEI intervals must be stored before they are indexed");
+      add(insert);
+    });
+  }
+
+  /**
+   * Evicts the intervals that ended before the retention window, advancing the coverage start to the window's start
+   *
+   * @param now the current time
+   */
+  public void evict(Instant now) {
+    if (!isLoaded()) {
+      return;
+    }
+
+    var cutoff = now.minus(retention);
+    if (!cutoff.isAfter(coverageStart)) {
+      return;
+    }
+
+    var iterator = intervalsById.values().iterator();
+    while (iterator.hasNext()) {
+      var interval = iterator.next();
+      if (interval.getEndTime().isBefore(cutoff)) {
+        iterator.remove();
+        removeFromKey(interval);
+      }
+    }
+    coverageStart = cutoff;
+  }
+
+  public int size() {
+    return intervalsById.size();
+  }
+
+  private void add(AceiInterval interval) {
+    intervalsById.put(interval.getId(), interval);
+    intervalsByKey.computeIfAbsent(interval.getMergeKey(), key -> new TreeSet<>(AceiInterval.START_TIME_COMPARATOR))
+      .add(interval);
+  }
+
+  private void remove(AceiInterval interval) {
+    var indexed = intervalsById.remove(interval.getId());
+    if (indexed != null) {
+      removeFromKey(indexed);
+    }
+  }
+
+  private void removeFromKey(AceiInterval interval) {
+    var intervals = intervalsByKey.get(interval.getMergeKey());
+    intervals.remove(interval);
+    if (intervals.isEmpty()) {
+      intervalsByKey.remove(interval.getMergeKey());
+    }
+  }
+
+  private void clear() {
+    intervalsByKey.clear();
+    intervalsById.clear();
+  }
+}
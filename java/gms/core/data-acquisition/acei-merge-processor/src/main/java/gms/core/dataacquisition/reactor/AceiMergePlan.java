@@ -0,0 +1,137 @@
+package gms.core.dataacquisition.reactor;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableList;
+import gms.core.dataacquisition.reactor.util.ToleranceResolver;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static java.util.stream.Collectors.groupingBy;
+
+/**
+ * The database writes that merge a batch of incoming boolean ACEIs with the stored ACEIs they can merge with. Within
+ * each channel, type and status, intervals connected within the channel's merge tolerance merge into one: the earliest
+ * stored interval of the merged group is updated to span the group, the group's other stored intervals are deleted,
+ * and a group without a stored interval is inserted. Groups unchanged by the batch produce no writes.
+ * <p>
+ * Updates and deletes keep the stored intervals they were planned against, so a writer can check that the rows it
+ * changes still hold them.
+ */
+@AutoValue
+public abstract class AceiMergePlan {
+
+  public abstract ImmutableList<AceiInterval> getInserts();
+
+  public abstract ImmutableList<Update> getUpdates();
+
+  public abstract ImmutableList<AceiInterval> getDeletes();
+
+  public static AceiMergePlan create(Collection<AceiInterval> inserts, Collection<Update> updates,
+    Collection<AceiInterval> deletes) {
+    return new AutoValue_AceiMergePlan(ImmutableList.copyOf(inserts), ImmutableList.copyOf(updates),
+      ImmutableList.copyOf(deletes));
+  }
+
+  public boolean isEmpty() {
+    return getInserts().isEmpty() && getUpdates().isEmpty() && getDeletes().isEmpty();
+  }
+
+  /**
+   * Plans the merge of incoming ACEIs with stored ACEIs
+   *
+   * @param stored stored intervals that may merge with the incoming intervals, already merged with each other
+   * @param incoming intervals not yet stored
+   * @param toleranceResolver resolver for the merge tolerance of each channel
+   * @return the {@link AceiMergePlan}
+   */
+  public static AceiMergePlan plan(Collection<AceiInterval> stored, Collection<AceiInterval> incoming,
+    ToleranceResolver toleranceResolver) {
+    checkNotNull(stored);
+    checkNotNull(incoming);
+    checkNotNull(toleranceResolver);
+
+    Map<String, List<AceiInterval>> intervalsByKey = Stream.concat(stored.stream(), incoming.stream())
+      .collect(groupingBy(AceiInterval::getMergeKey));
+
+    var inserts = ImmutableList.<AceiInterval>builder();
+    var updates = ImmutableList.<Update>builder();
+    var deletes = ImmutableList.<AceiInterval>builder();
+
+    for (List<AceiInterval> intervals : intervalsByKey.values()) {
+      var tolerance = toleranceResolver.resolveTolerance(intervals.get(0).getChannelName());
+      intervals.sort(AceiInterval.START_TIME_COMPARATOR);
+
+      var group = new ArrayList<AceiInterval>();
+      Instant groupEnd = Instant.MIN;
+      for (AceiInterval interval : intervals) {
+        if (!group.isEmpty() && interval.getStartTime().minus(tolerance).isAfter(groupEnd)) {
+          planGroup(group, groupEnd, inserts, updates, deletes);
+          group.clear();
+        }
+        if (group.isEmpty() || interval.getEndTime().isAfter(groupEnd)) {
+          groupEnd = interval.getEndTime();
+        }
+        group.add(interval);
+      }
+      planGroup(group, groupEnd, inserts, updates, deletes);
+    }
+
+    return create(inserts.build(), updates.build(), deletes.build());
+  }
+
+  private static void planGroup(List<AceiInterval> group, Instant groupEnd,
+    ImmutableList.Builder<AceiInterval> inserts, ImmutableList.Builder<Update> updates,
+    ImmutableList.Builder<AceiInterval> deletes) {
+
+    // The group is sorted by start time, so its first interval starts it and its first stored interval survives
+    var groupStart = group.get(0).getStartTime();
+    AceiInterval survivor = null;
+    for (AceiInterval interval : group) {
+      if (interval.isStored()) {
+        if (survivor == null) {
+          survivor = interval;
+        } else {
+          deletes.add(interval);
+        }
+      }
+    }
+
+    if (survivor == null) {
+      inserts.add(group.get(0).withTimes(groupStart, groupEnd));
+    } else if (!survivor.getStartTime().equals(groupStart) || !survivor.getEndTime().equals(groupEnd)) {
+      updates.add(Update.create(survivor, survivor.withTimes(groupStart, groupEnd)));
+    }
+  }
+
+  /**
+   * A stored interval whose times change
+   */
+  @AutoValue
+  public abstract static class Update {
+
+    /**
+     * @return the stored interval, as the plan expects to find it
+     */
+    public abstract AceiInterval getStored();
+
+    /**
+     * @return the stored interval with its merged times
+     */
+    public abstract AceiInterval getMerged();
+
+    public static Update create(AceiInterval stored, AceiInterval merged) {
+      checkNotNull(stored);
+      checkNotNull(merged);
+      checkArgument(stored.isStored() && stored.getId() == merged.getId(),
+        "An ACEI update must change the times of a stored interval");
+      return new AutoValue_AceiMergePlan_Update(stored, merged);
+    }
+  }
+}
@@ -281,6 +281,79 @@ class AceiMergeRepositoryTest extends PostgresTest {
     }
   }
 
+  @Test
+  void testStoreMergesWithIndexed() {
+    var first = ACQUIRED_CHANNEL_SOH_BOOLEAN;
+    var second = AcquiredChannelEnvironmentIssueBoolean.from(
+      first.getChannelName(),
+      first.getType(),
+      first.getEndTime().plus(MERGE_TOLERANCE),
+      first.getEndTime().plusSeconds(60),
+      first.getStatus()
+    );
+    var third = AcquiredChannelEnvironmentIssueBoolean.from(
+      first.getChannelName(),
+      first.getType(),
+      second.getEndTime(),
+      second.getEndTime().plusSeconds(60),
+      first.getStatus()
+    );
+
+    // The first store loads the index, later stores merge with what it indexed
+    aceiMergeRepository.store(List.of(first));
+    aceiMergeRepository.store(List.of(second));
+    aceiMergeRepository.store(List.of(third));
+
+    var entityManager = entityManagerFactory.createEntityManager();
+    try {
+      var stored = findByChannelTimeRange(entityManager,
+        entityManager.getCriteriaBuilder(),
+        List.of(first.getChannelName()), first.getStartTime(), third.getEndTime());
+      assertEquals(1, stored.size());
+      assertEquals(first.getStartTime(), stored.get(0).getStartTime());
+      assertEquals(third.getEndTime(), stored.get(0).getEndTime());
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  @Test
+  void testStoreRetriesWhenIndexIsStale() {
+    var first = ACQUIRED_CHANNEL_SOH_BOOLEAN;
+    var second = AcquiredChannelEnvironmentIssueBoolean.from(
+      first.getChannelName(),
+      first.getType(),
+      first.getEndTime().plus(MERGE_TOLERANCE),
+      first.getEndTime().plusSeconds(60),
+      first.getStatus()
+    );
+    var third = AcquiredChannelEnvironmentIssueBoolean.from(
+      first.getChannelName(),
+      first.getType(),
+      first.getEndTime().plus(MERGE_TOLERANCE),
+      first.getEndTime().plusSeconds(30),
+      first.getStatus()
+    );
+
+    // Another processor extends the first ACEI behind this repository's index, so the third ACEI, already covered,
+    // must not shorten it back to the end the index last saw
+    aceiMergeRepository.store(List.of(first));
+    new AceiMergeRepository(entityManagerFactory, channelName -> MERGE_TOLERANCE).store(List.of(second));
+    aceiMergeRepository.store(List.of(third));
+
+    var entityManager = entityManagerFactory.createEntityManager();
+    try {
+      var stored = findByChannelTimeRange(entityManager,
+        entityManager.getCriteriaBuilder(),
+        List.of(first.getChannelName()), first.getStartTime(), second.getEndTime());
+      assertEquals(1, stored.size());
+      assertEquals(first.getStartTime(), stored.get(0).getStartTime());
+      assertEquals(second.getEndTime(), stored.get(0).getEndTime());
+    } finally {
+      entityManager.close();
+    }
+  }
+
   private List<AcquiredChannelEnvironmentIssueBooleanDao> findByChannelTimeRange(EntityManager entityManager,
     CriteriaBuilder builder, List<String> channelNames, Instant startTime, Instant endTime) {
     CriteriaQuery<AcquiredChannelEnvironmentIssueBooleanDao> query = builder.createQuery(AcquiredChannelEnvironmentIssueBooleanDao.class);
@@ -0,0 +1,97 @@
+package gms.core.dataacquisition.reactor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static gms.core.dataacquisition.reactor.AceiMergePlanTest.ofSeconds;
+import static gms.core.dataacquisition.reactor.AceiMergePlanTest.stored;
+import static gms.core.dataacquisition.reactor.AceiMergePlanTest.unstored;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AceiIntervalIndexTest {
+
+  private static final Duration TOLERANCE = Duration.ofMillis(500);
+
+  private AceiIntervalIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = AceiIntervalIndex.create(Duration.ofSeconds(60));
+  }
+
+  @Test
+  void testFindMergeable() {
+    var first = stored(1, "aardvark", true, 0, 2);
+    var second = stored(2, "aardvark", true, 4, 6);
+    var third = stored(3, "aardvark", true, 8, 10);
+    index.load(ofSeconds(0), List.of(first, second, third, stored(4, "aardvark", false, 6, 8),
+      stored(5, "badger", true, 6, 8)));
+
+    assertThat(index.findMergeable(unstored("aardvark", true, 2, 4), TOLERANCE))
+      .containsExactlyInAnyOrder(first, second);
+    assertThat(index.findMergeable(unstored("aardvark", true, 6, 7), TOLERANCE))
+      .containsExactly(second);
+    assertTrue(index.findMergeable(unstored("aardvark", true, 12, 14), TOLERANCE).isEmpty());
+    assertTrue(index.findMergeable(unstored("coyote", true, 0, 14), TOLERANCE).isEmpty());
+  }
+
+  @Test
+  void testApply() {
+    var first = stored(1, "aardvark", true, 0, 2);
+    var second = stored(2, "aardvark", true, 4, 6);
+    index.load(ofSeconds(0), List.of(first, second));
+
+    var inserted = stored(3, "aardvark", true, 10, 12);
+    index.apply(AceiMergePlan.create(List.of(inserted),
+      List.of(AceiMergePlan.Update.create(first, stored(1, "aardvark", true, 0, 6))), List.of(second)));
+
+    assertEquals(2, index.size());
+    assertThat(index.findMergeable(unstored("aardvark", true, 0, 20), TOLERANCE))
+      .containsExactlyInAnyOrder(stored(1, "aardvark", true, 0, 6), inserted);
+  }
+
+  @Test
+  void testApplyRequiresStoredInserts() {
+    index.load(ofSeconds(0), List.of());
+    var plan = AceiMergePlan.create(List.of(unstored("aardvark", true, 0, 2)), List.of(), List.of());
+
+    assertThrows(IllegalArgumentException.class, () -> index.apply(plan));
+  }
+
+  @Test
+  void testEvictAdvancesCoverage() {
+    index.load(ofSeconds(0), List.of(stored(1, "aardvark", true, 0, 2), stored(2, "aardvark", true, 40, 70)));
+    assertTrue(index.covers(ofSeconds(0)));
+
+    index.evict(ofSeconds(90));
+
+    assertFalse(index.covers(ofSeconds(29)));
+    assertTrue(index.covers(ofSeconds(30)));
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  void testInvalidate() {
+    index.load(ofSeconds(0), List.of(stored(1, "aardvark", true, 0, 2)));
+    index.invalidate();
+
+    assertFalse(index.isLoaded());
+    assertFalse(index.covers(ofSeconds(10)));
+    assertEquals(0, index.size());
+    var interval = unstored("aardvark", true, 0, 2);
+    assertThrows(IllegalStateException.class, () -> index.findMergeable(interval, TOLERANCE));
+  }
+
+  @Test
+  void testCreateValidation() {
+    assertThrows(NullPointerException.class, () -> AceiIntervalIndex.create(null));
+    assertThrows(IllegalArgumentException.class, () -> AceiIntervalIndex.create(Duration.ZERO));
+  }
+}
@@ -0,0 +1,116 @@
+package gms.core.dataacquisition.reactor;
+
+import gms.core.dataacquisition.reactor.util.ToleranceResolver;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssue.AcquiredChannelEnvironmentIssueType.CLIPPED;
+import static gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssue.AcquiredChannelEnvironmentIssueType.CLOCK_LOCKED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AceiMergePlanTest {
+
+  private static final Duration TOLERANCE = Duration.ofMillis(500);
+  private static final ToleranceResolver TOLERANCE_RESOLVER = channelName -> TOLERANCE;
+
+  @Test
+  void testIncomingWithoutStoredIsInserted() {
+    var incoming = List.of(unstored("aardvark", true, 0, 2), unstored("aardvark", true, 4, 6));
+
+    var plan = AceiMergePlan.plan(List.of(), incoming, TOLERANCE_RESOLVER);
+
+    assertThat(plan.getInserts()).containsExactlyInAnyOrderElementsOf(incoming);
+    assertTrue(plan.getUpdates().isEmpty());
+    assertTrue(plan.getDeletes().isEmpty());
+  }
+
+  @Test
+  void testIncomingMergedWithEachOther() {
+    var incoming = List.of(unstored("aardvark", true, 2, 4), unstored("aardvark", true, 0, 2),
+      unstored("aardvark", true, 4, 6));
+
+    var plan = AceiMergePlan.plan(List.of(), incoming, TOLERANCE_RESOLVER);
+
+    assertEquals(List.of(unstored("aardvark", true, 0, 6)), plan.getInserts());
+  }
+
+  @Test
+  void testIncomingWithinToleranceExtendsStored() {
+    var stored = stored(7, "aardvark", true, 0, 2);
+    var incoming = unstored("aardvark", true, 2, 4).withTimes(ofSeconds(2).plus(TOLERANCE), ofSeconds(4));
+
+    var plan = AceiMergePlan.plan(List.of(stored), List.of(incoming), TOLERANCE_RESOLVER);
+
+    assertTrue(plan.getInserts().isEmpty());
+    assertEquals(List.of(AceiMergePlan.Update.create(stored, stored(7, "aardvark", true, 0, 4))), plan.getUpdates());
+    assertTrue(plan.getDeletes().isEmpty());
+  }
+
+  @Test
+  void testIncomingBridgingStoredKeepsEarliest() {
+    var earlier = stored(9, "aardvark", true, 0, 2);
+    var later = stored(3, "aardvark", true, 4, 6);
+
+    var plan = AceiMergePlan.plan(List.of(later, earlier), List.of(unstored("aardvark", true, 2, 4)),
+      TOLERANCE_RESOLVER);
+
+    assertTrue(plan.getInserts().isEmpty());
+    assertEquals(List.of(AceiMergePlan.Update.create(earlier, stored(9, "aardvark", true, 0, 6))), plan.getUpdates());
+    assertEquals(List.of(later), plan.getDeletes());
+  }
+
+  @Test
+  void testIncomingWithinStoredWritesNothing() {
+    var stored = stored(1, "aardvark", true, 0, 6);
+
+    var plan = AceiMergePlan.plan(List.of(stored), List.of(unstored("aardvark", true, 2, 4)), TOLERANCE_RESOLVER);
+
+    assertTrue(plan.isEmpty());
+  }
+
+  @Test
+  void testOnlySameChannelTypeAndStatusMerge() {
+    var stored = stored(1, "aardvark", true, 0, 2);
+    var otherStatus = unstored("aardvark", false, 2, 4);
+    var otherChannel = unstored("badger", true, 2, 4);
+    var otherType = AceiInterval.create(AceiInterval.UNSTORED_ID, "aardvark", CLIPPED, true, ofSeconds(2),
+      ofSeconds(4));
+    var outsideTolerance = unstored("aardvark", true, 3, 4);
+
+    var plan = AceiMergePlan.plan(List.of(stored), List.of(otherStatus, otherChannel, otherType, outsideTolerance),
+      TOLERANCE_RESOLVER);
+
+    assertThat(plan.getInserts())
+      .containsExactlyInAnyOrder(otherStatus, otherChannel, otherType, outsideTolerance);
+    assertTrue(plan.getUpdates().isEmpty());
+    assertTrue(plan.getDeletes().isEmpty());
+  }
+
+  @Test
+  void testUpdateRequiresSameStoredInterval() {
+    var stored = stored(7, "aardvark", true, 0, 2);
+
+    assertThrows(IllegalArgumentException.class,
+      () -> AceiMergePlan.Update.create(stored, stored(8, "aardvark", true, 0, 4)));
+    assertThrows(IllegalArgumentException.class,
+      () -> AceiMergePlan.Update.create(unstored("aardvark", true, 0, 2), unstored("aardvark", true, 0, 4)));
+  }
+
+  static AceiInterval stored(long id, String channelName, boolean status, int startSeconds, int endSeconds) {
+    return AceiInterval.create(id, channelName, CLOCK_LOCKED, status, ofSeconds(startSeconds), ofSeconds(endSeconds));
+  }
+
+  static AceiInterval unstored(String channelName, boolean status, int startSeconds, int endSeconds) {
+    return stored(AceiInterval.UNSTORED_ID, channelName, status, startSeconds, endSeconds);
+  }
+
+  static Instant ofSeconds(int seconds) {
+    return Instant.EPOCH.plusSeconds(seconds);
+  }
+}
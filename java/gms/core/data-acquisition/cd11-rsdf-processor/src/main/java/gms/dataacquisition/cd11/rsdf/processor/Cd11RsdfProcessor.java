@@ -5,7 +5,6 @@ import gms.core.dataacquisition.receiver.DataFrameReceiverConfiguration;
 import gms.dataacquisition.stationreceiver.cd11.parser.Cd11StationSohExtractParser;
 import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssue;
 import gms.shared.frameworks.osd.coi.datatransferobjects.CoiDeserializer;
-import gms.shared.frameworks.osd.coi.datatransferobjects.CoiSerializer;
 import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
 import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
 import gms.shared.utilities.kafka.KafkaConfiguration;
@@ -22,9 +21,11 @@ import reactor.kafka.sender.SenderRecord;
 import reactor.kafka.sender.SenderResult;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import net.logstash.logback.marker.Markers;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static net.logstash.logback.marker.Markers.append;
 
@@ -32,6 +33,10 @@ import static net.logstash.logback.marker.Markers.append;
  * Processing class responsible for reading in {@link RawStationDataFrame} messages, parsing them into
  * {@link AcquiredStationSohExtract}, and publishing both this extract and its {@link
  * AcquiredChannelEnvironmentIssue}s to the appropriate topics.
+ * <p>
+ * Records are grouped by Kafka partition (a station's records all arrive on one partition) and the groups are
+ * processed concurrently. Within a group, up to the maximum in flight records are parsed concurrently and their sends
+ * pipelined, while sends are still issued and offsets still acknowledged in the order the records were received.
  */
 public class Cd11RsdfProcessor {
 
@@ -45,46 +50,65 @@ public class Cd11RsdfProcessor {
   private final KafkaSender<String, AcquiredChannelEnvironmentIssue<?>> aceiSender;
   private final String sohExtractTopic;
   private final String aceiTopic;
+  private final int concurrency;
+  private final int maxInFlight;
 
   private Cd11RsdfProcessor(Cd11StationSohExtractParser sohParser,
     KafkaReceiver<String, RawStationDataFrame> rsdfReceiver,
     KafkaSender<String, AcquiredStationSohExtract> sohExtractSender,
-    KafkaSender<String, AcquiredChannelEnvironmentIssue<?>> aceiSender, String sohExtractTopic, String aceiTopic) {
+    KafkaSender<String, AcquiredChannelEnvironmentIssue<?>> aceiSender, String sohExtractTopic, String aceiTopic,
+    int concurrency, int maxInFlight) {
     this.sohParser = sohParser;
     this.rsdfReceiver = rsdfReceiver;
     this.sohExtractSender = sohExtractSender;
     this.aceiSender = aceiSender;
     this.sohExtractTopic = sohExtractTopic;
     this.aceiTopic = aceiTopic;
+    this.concurrency = concurrency;
+    this.maxInFlight = maxInFlight;
   }
 
   @VisibleForTesting
   static Cd11RsdfProcessor create(Cd11StationSohExtractParser sohParser,
     KafkaReceiver<String, RawStationDataFrame> rsdfReceiver,
     KafkaSender<String, AcquiredStationSohExtract> sohExtractSender,
-    KafkaSender<String, AcquiredChannelEnvironmentIssue<?>> aceiSender, String sohExtractTopic, String aceiTopic) {
-    return new Cd11RsdfProcessor(sohParser, rsdfReceiver, sohExtractSender, aceiSender, sohExtractTopic, aceiTopic);
+    KafkaSender<String, AcquiredChannelEnvironmentIssue<?>> aceiSender, String sohExtractTopic, String aceiTopic,
+    int concurrency, int maxInFlight) {
+    checkArgument(concurrency > 0, "Processing concurrency must be positive");
+    checkArgument(maxInFlight > 0, "Maximum in flight records must be positive");
+    return new Cd11RsdfProcessor(sohParser, rsdfReceiver, sohExtractSender, aceiSender, sohExtractTopic, aceiTopic,
+      concurrency, maxInFlight);
   }
 
+  /**
+   * Creates a {@link Cd11RsdfProcessor}
+   *
+   * @param kafkaConfig configuration of the RSDF, SOH extract and ACEI topics
+   * @param frameReceiverConfig configuration for parsing the frames
+   * @param concurrency the number of partition groups to process concurrently
+   * @param maxInFlight the number of records of a partition group to parse and send concurrently
+   * @return a {@link Cd11RsdfProcessor}
+   */
   public static Cd11RsdfProcessor create(KafkaConfiguration kafkaConfig,
-    DataFrameReceiverConfiguration frameReceiverConfig) {
+    DataFrameReceiverConfiguration frameReceiverConfig, int concurrency, int maxInFlight) {
     var sohParser = Cd11StationSohExtractParser.create(frameReceiverConfig);
 
     var rsdfReceiver = KafkaReceiver.create(
       kafkaConfig.getReceiverOptions(new CoiDeserializer<>(RawStationDataFrame.class), KafkaConfiguration.Topic.RSDF));
 
     var sohExtractSender = KafkaSender.create(
-      kafkaConfig.getSenderOptions(new CoiSerializer<AcquiredStationSohExtract>()));
+      kafkaConfig.<AcquiredStationSohExtract>getSenderOptions(kafkaConfig.createCoiSerializer()));
 
     var aceiSender = KafkaSender.create(
-      kafkaConfig.getSenderOptions(new CoiSerializer<AcquiredChannelEnvironmentIssue<?>>()));
+      kafkaConfig.<AcquiredChannelEnvironmentIssue<?>>getSenderOptions(kafkaConfig.createCoiSerializer()));
 
     var sohExtractTopic = kafkaConfig.getTopic(KafkaConfiguration.Topic.SOH_EXTRACT).orElseThrow(
       () -> new IllegalStateException("Error Creating RSDF Processor: No topic info found for SOH Extract"));
     var aceiTopic = kafkaConfig.getTopic(KafkaConfiguration.Topic.ACEI).orElseThrow(
       () -> new IllegalStateException("Error Creating RSDF Processor: No topic info found for ACEI"));
 
-    return create(sohParser, rsdfReceiver, sohExtractSender, aceiSender, sohExtractTopic, aceiTopic);
+    return create(sohParser, rsdfReceiver, sohExtractSender, aceiSender, sohExtractTopic, aceiTopic, concurrency,
+      maxInFlight);
   }
 
   /**
@@ -95,31 +119,52 @@ public class Cd11RsdfProcessor {
    */
   public Mono<Void> process() {
     return rsdfReceiver.receive()
-      .publishOn(Schedulers.boundedElastic())
-      .concatMap(rsdfRecord -> parseRecord(rsdfRecord)
-      .onErrorResume(cause -> logParseError(rsdfRecord, cause))
-      .flatMap(extract -> sendAll(rsdfRecord.key(), extract))
-      .then(acknowledge(rsdfRecord)))
+      .groupBy(rsdfRecord -> Math.floorMod(rsdfRecord.partition(), concurrency))
+      .flatMap(this::processGroup, concurrency)
       .then();
   }
 
+  /**
+   * Parses and sends the records of a partition group, keeping up to the maximum in flight records of the group in
+   * each stage. Both stages emit in the order records were received, so sends are issued and offsets acknowledged in
+   * that order.
+   */
+  private Flux<ReceiverRecord<String, RawStationDataFrame>> processGroup(
+    Flux<ReceiverRecord<String, RawStationDataFrame>> rsdfRecords) {
+
+    return rsdfRecords
+      .flatMapSequential(rsdfRecord -> parseRecord(rsdfRecord)
+        .subscribeOn(Schedulers.boundedElastic())
+        .map(Optional::of)
+        .onErrorResume(cause -> logParseError(rsdfRecord, cause).thenReturn(Optional.empty()))
+        .map(extract -> new ParsedRecord(rsdfRecord, extract)), maxInFlight)
+      .flatMapSequential(parsed -> parsed.extract
+        .map(extract -> sendAll(parsed.rsdfRecord.key(), extract))
+        .orElseGet(Mono::empty)
+        .thenReturn(parsed.rsdfRecord), maxInFlight)
+      .doOnNext(this::acknowledge);
+  }
+
   private Mono<AcquiredStationSohExtract> parseRecord(ReceiverRecord<String, RawStationDataFrame> rsdf) {
     return Mono.fromCallable(() -> sohParser.parseStationSohExtract(rsdf.value()));
 
   }
 
-  private static Mono<AcquiredStationSohExtract> logParseError(ReceiverRecord<String, RawStationDataFrame> rsdf, Throwable cause) {
-    return Mono.fromRunnable(() -> logger.error(Markers.append(STATION_LOGGING_KEY, rsdf.key()),
-      "Error parsing rsdf record {}:{}:{}. Dropping record.", rsdf.key(), rsdf.partition(), rsdf.offset(), cause))
-      .then(Mono.empty());
+  private static Mono<Void> logParseError(ReceiverRecord<String, RawStationDataFrame> rsdf, Throwable cause) {
+    return Mono.fromRunnable(() -> {
+      Cd11RsdfProcessorMetrics.parseFailure(rsdf);
+      logger.error(Markers.append(STATION_LOGGING_KEY, rsdf.key()),
+        "Error parsing rsdf record {}:{}:{}. Dropping record.", rsdf.key(), rsdf.partition(), rsdf.offset(), cause);
+    });
   }
 
   private Mono<Void> sendAll(String station, AcquiredStationSohExtract sohExtract) {
     return sendSohExtract(station, sohExtract).and(sendAcei(sohExtract.getAcquiredChannelEnvironmentIssues()));
   }
 
-  private Mono<Void> acknowledge(ReceiverRecord<String, RawStationDataFrame> receiverRecord) {
-    return Mono.fromRunnable(receiverRecord.receiverOffset()::acknowledge);
+  private void acknowledge(ReceiverRecord<String, RawStationDataFrame> receiverRecord) {
+    receiverRecord.receiverOffset().acknowledge();
+    Cd11RsdfProcessorMetrics.processed(receiverRecord);
   }
 
   private Mono<Void> sendSohExtract(String station, AcquiredStationSohExtract sohExtract) {
@@ -160,4 +205,19 @@ public class Cd11RsdfProcessor {
       logger.debug("Successfully published result {} from rsdf {}", metadata, corrdata);
     }
   }
+
+  /**
+   * A received record and its extract, absent if the record could not be parsed
+   */
+  private static final class ParsedRecord {
+
+    private final ReceiverRecord<String, RawStationDataFrame> rsdfRecord;
+    private final Optional<AcquiredStationSohExtract> extract;
+
+    private ParsedRecord(ReceiverRecord<String, RawStationDataFrame> rsdfRecord,
+      Optional<AcquiredStationSohExtract> extract) {
+      this.rsdfRecord = rsdfRecord;
+      this.extract = extract;
+    }
+  }
 }
@@ -0,0 +1,34 @@
+package gms.dataacquisition.cd11.rsdf.processor;
+
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import gms.shared.metrics.ConcurrentLongMetric;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+
+/**
+ * Throughput and lag metrics of {@link Cd11RsdfProcessor}. Throughput is the rate of the processed record counter, lag
+ * is the time from a record's Kafka timestamp until its offset was acknowledged. Records without a timestamp do not
+ * update the lag.
+ */
+class Cd11RsdfProcessorMetrics {
+
+  private static final ConcurrentLongMetric processedRecords =
+    ConcurrentLongMetric.counter("cd11_rsdf_processor_processed_records:type=Counter");
+  private static final ConcurrentLongMetric parseFailures =
+    ConcurrentLongMetric.counter("cd11_rsdf_processor_parse_failures:type=Counter");
+  private static final ConcurrentLongMetric lagMillis =
+    ConcurrentLongMetric.value("cd11_rsdf_processor_lag_millis:type=Value");
+
+  private Cd11RsdfProcessorMetrics() {
+  }
+
+  static void processed(ConsumerRecord<String, RawStationDataFrame> rsdfRecord) {
+    processedRecords.increment();
+    if (rsdfRecord.timestamp() != ConsumerRecord.NO_TIMESTAMP) {
+      lagMillis.update(System.currentTimeMillis() - rsdfRecord.timestamp());
+    }
+  }
+
+  static void parseFailure(ConsumerRecord<String, RawStationDataFrame> rsdfRecord) {
+    parseFailures.increment();
+  }
+}
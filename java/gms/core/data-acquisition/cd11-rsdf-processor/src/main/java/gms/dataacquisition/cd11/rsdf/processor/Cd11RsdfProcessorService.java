@@ -38,7 +38,9 @@ public class Cd11RsdfProcessorService {
     var frameReceiverConfig = DataFrameReceiverConfiguration.create(AcquisitionProtocol.CD11, processingConfig,
       systemConfig);
 
-    return new Cd11RsdfProcessorService(Cd11RsdfProcessor.create(kafkaConfig, frameReceiverConfig));
+    return new Cd11RsdfProcessorService(Cd11RsdfProcessor.create(kafkaConfig, frameReceiverConfig,
+      systemConfig.getValueAsInt("processing-concurrency"),
+      systemConfig.getValueAsInt("max-in-flight-per-group")));
   }
 
   public Cd11RsdfProcessor getCd11RsdfProcessor() {
@@ -5,11 +5,13 @@ import gms.dataacquisition.stationreceiver.cd11.parser.Cd11StationSohExtractPars
 import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssue;
 import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
 import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.reactivestreams.Publisher;
@@ -22,10 +24,19 @@ import reactor.kafka.sender.SenderRecord;
 import reactor.test.StepVerifier;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static java.util.function.Predicate.isEqual;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -37,6 +48,9 @@ class Cd11RsdfProcessorTest {
   private static final String SOH_EXTRACT_PATH = BASE_PATH + "soh-extract.json";
   private static final String SOH_EXTRACT_TOPIC = "kafka-sohextract-topic";
   private static final String ACEI_TOPIC = "kafka-acei-topic";
+  private static final String RSDF_TOPIC = "kafka-rsdf-topic";
+  private static final int CONCURRENCY = 2;
+  private static final int MAX_IN_FLIGHT = 4;
 
   @Mock
   private Cd11StationSohExtractParser sohParser;
@@ -67,7 +81,7 @@ class Cd11RsdfProcessorTest {
   @BeforeEach
   void setUp() {
     processor = Cd11RsdfProcessor.create(sohParser, rsdfReceiver, sohExtractSender, aceiSender, SOH_EXTRACT_TOPIC,
-      ACEI_TOPIC);
+      ACEI_TOPIC, CONCURRENCY, MAX_IN_FLIGHT);
   }
 
   @Test
@@ -130,4 +144,60 @@ class Cd11RsdfProcessorTest {
       .verify();
   }
 
+  @Test
+  void testProcessKeepsOrderWithinPartition() throws IOException {
+    RawStationDataFrame rsdf = GmsObjectUtility.getGmsObject(RSDF_PATH, RawStationDataFrame.class)
+      .orElseThrow();
+    AcquiredStationSohExtract extract = GmsObjectUtility.getGmsObject(SOH_EXTRACT_PATH, AcquiredStationSohExtract.class)
+      .orElseThrow();
+    RawStationDataFrame slowRsdf = rsdf.toBuilder().setId(UUID.randomUUID()).build();
+
+    List<ReceiverOffset> offsets = new ArrayList<>();
+    List<ReceiverRecord<String, RawStationDataFrame>> records = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      ReceiverOffset offset = mock(ReceiverOffset.class);
+      offsets.add(offset);
+      // Partitions 0, 1 and 2 fall in different groups than their neighbours, 0 and 2 in the same one
+      records.add(new ReceiverRecord<>(new ConsumerRecord<>(RSDF_TOPIC, i % 3, i, "station" + i % 3,
+        i == 0 ? slowRsdf : rsdf), offset));
+    }
+    given(rsdfReceiver.receive()).willReturn(Flux.fromIterable(records));
+
+    given(sohParser.parseStationSohExtract(rsdf)).willReturn(extract);
+    given(sohParser.parseStationSohExtract(slowRsdf)).willAnswer(invocation -> {
+      Thread.sleep(200);
+      return extract;
+    });
+
+    List<String> sentStations = Collections.synchronizedList(new ArrayList<>());
+    given(sohExtractSender.send(any())).willAnswer(invocation -> {
+      Publisher<SenderRecord<String, AcquiredStationSohExtract, String>> sent = invocation.getArgument(0);
+      return Flux.from(sent).doOnNext(record -> sentStations.add(record.key())).thenMany(Flux.empty());
+    });
+    given(aceiSender.send(any())).willReturn(Flux.empty());
+
+    StepVerifier.create(processor.process())
+      .verifyComplete();
+
+    offsets.forEach(offset -> verify(offset).acknowledge());
+    InOrder partitionZeroAndTwo = inOrder(offsets.get(0), offsets.get(2), offsets.get(3), offsets.get(5));
+    partitionZeroAndTwo.verify(offsets.get(0)).acknowledge();
+    partitionZeroAndTwo.verify(offsets.get(2)).acknowledge();
+    partitionZeroAndTwo.verify(offsets.get(3)).acknowledge();
+    partitionZeroAndTwo.verify(offsets.get(5)).acknowledge();
+
+    // The slow first record of station0 holds back its group, not station1's
+    assertEquals(6, sentStations.size());
+    assertEquals("station1", sentStations.get(0));
+    assertEquals(List.of("station0", "station2", "station0", "station2"),
+      sentStations.stream().filter(station -> !station.equals("station1")).collect(Collectors.toList()));
+  }
+
+  @Test
+  void testCreateValidation() {
+    assertThrows(IllegalArgumentException.class, () -> Cd11RsdfProcessor.create(sohParser, rsdfReceiver,
+      sohExtractSender, aceiSender, SOH_EXTRACT_TOPIC, ACEI_TOPIC, 0, MAX_IN_FLIGHT));
+    assertThrows(IllegalArgumentException.class, () -> Cd11RsdfProcessor.create(sohParser, rsdfReceiver,
+      sohExtractSender, aceiSender, SOH_EXTRACT_TOPIC, ACEI_TOPIC, CONCURRENCY, 0));
+  }
 }
@@ -8,6 +8,12 @@
 
 package gms.dataacquisition.stationreceiver.cd11.common;
 
+import io.netty.buffer.ByteBuf;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.Checksum;
+
 /**
  * This class was derived from a C module CRC64.c given to us by James BlinkHorn of the Canadian
  * data center.  Below are comments from the original source: <p> Defined to be the 64 bit Cyclic
@@ -16,20 +22,29 @@ package gms.dataacquisition.stationreceiver.cd11.common;
  * "T" vector. T[i] is the remainder of dividing i*x64 by the polynomial.n For more information on
  * CRC see D.V. Sarwate, "Computation of cyclic redundancy via table look-up," Comm. ACM 31(8), Aug.
  * 1988, p. 1008-1013.
+ * <p>
+ * The "T" vector has been extended to eight tables so that eight bytes are folded into the CRC per
+ * step ("slice-by-8"): table k holds the remainder of dividing i*x^(64+8k) by the polynomial. The
+ * values computed are identical to the original byte-at-a-time implementation. In addition to byte
+ * arrays, CRCs can be computed over {@link ByteBuffer}s and Netty {@link ByteBuf}s (heap or direct)
+ * without copying, and incrementally through {@link Accumulator}.
  *
  * @author davidketchum
  */
 public final class CRC64 {
 
-  // This contains the pre-computed coefficients for each of the possible 256 values.
-  private static long[] tvec;
+  private static final int SLICES = 8;
+
+  // tables[0] contains the pre-computed coefficients for each of the possible 256 values,
+  // tables[k] the coefficients of each value shifted a further k bytes.
+  private static final long[][] tables = new long[SLICES][256];
 
   private CRC64() {
   }
 
   static {
     // compute the 256 CRC elements the first time
-    tvec = new long[256];
+    long[] tvec = tables[0];
     long crcPoly = 0x1BL;
     for (int i = 0; i < 256; i++) {
       tvec[i] = 0;
@@ -39,6 +54,14 @@ public final class CRC64 {
         }
       }
     }
+
+    // each further slice is the previous one multiplied by x^8
+    for (int k = 1; k < SLICES; k++) {
+      for (int i = 0; i < 256; i++) {
+        long previous = tables[k - 1][i];
+        tables[k][i] = tvec[(int) (previous >>> 56)] ^ (previous << 8);
+      }
+    }
   }
 
   /**
@@ -59,11 +82,27 @@ public final class CRC64 {
    * @return CRC value.
    */
   public static long compute(byte[] b, int len) {
-    var crc = 0L;
-    for (var i = 0; i < len; i++) {
-      crc = tvec[(int) ((crc >> 56) & 0xffL)] ^ (crc << 8 | (((long) (b[i])) & 0xffL));
-    }
-    return crc;
+    return update(0L, b, 0, len);
+  }
+
+  /**
+   * Computes a CRC on the remaining bytes of the buffer. The buffer's position is not modified.
+   *
+   * @param buffer The heap or direct buffer to compute a CRC for.
+   * @return CRC value.
+   */
+  public static long compute(ByteBuffer buffer) {
+    return update(0L, buffer, buffer.position(), buffer.limit());
+  }
+
+  /**
+   * Computes a CRC on the readable bytes of the buffer. The buffer's reader index is not modified.
+   *
+   * @param buffer The heap or direct buffer to compute a CRC for.
+   * @return CRC value.
+   */
+  public static long compute(ByteBuf buffer) {
+    return update(0L, buffer, buffer.readerIndex(), buffer.writerIndex());
   }
 
   /**
@@ -77,4 +116,161 @@ public final class CRC64 {
   public static boolean isValidCrc(byte[] b, int len, long expectedCrcValue) {
     return (compute(b, len) == expectedCrcValue);
   }
+
+  /**
+   * Generates a CRC for the remaining bytes of the buffer, and checks that it matches the expected
+   * value.
+   *
+   * @param buffer The buffer to compute a CRC for.
+   * @param expectedCrcValue The expected value.
+   * @return true if matches, false otherwise
+   */
+  public static boolean isValidCrc(ByteBuffer buffer, long expectedCrcValue) {
+    return (compute(buffer) == expectedCrcValue);
+  }
+
+  /**
+   * Creates an {@link Accumulator} for computing a CRC incrementally, e.g. as frame bytes arrive.
+   *
+   * @return a new Accumulator, with an initial value of zero
+   */
+  public static Accumulator accumulator() {
+    return new Accumulator();
+  }
+
+  private static long update(long crc, byte[] b, int off, int len) {
+    var i = off;
+    var end = off + len;
+    for (; i + Long.BYTES <= end; i += Long.BYTES) {
+      crc = fold(crc, getLong(b, i));
+    }
+    for (; i < end; i++) {
+      crc = step(crc, b[i]);
+    }
+    return crc;
+  }
+
+  private static long update(long crc, ByteBuffer buffer, int from, int to) {
+    if (buffer.hasArray()) {
+      return update(crc, buffer.array(), buffer.arrayOffset() + from, to - from);
+    }
+
+    var bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+    var i = from;
+    for (; i + Long.BYTES <= to; i += Long.BYTES) {
+      long word = buffer.getLong(i);
+      crc = fold(crc, bigEndian ? word : Long.reverseBytes(word));
+    }
+    for (; i < to; i++) {
+      crc = step(crc, buffer.get(i));
+    }
+    return crc;
+  }
+
+  private static long update(long crc, ByteBuf buffer, int from, int to) {
+    var i = from;
+    for (; i + Long.BYTES <= to; i += Long.BYTES) {
+      crc = fold(crc, buffer.getLong(i));
+    }
+    for (; i < to; i++) {
+      crc = step(crc, buffer.getByte(i));
+    }
+    return crc;
+  }
+
+  private static long step(long crc, byte b) {
+    return tables[0][(int) ((crc >> 56) & 0xffL)] ^ (crc << 8 | (((long) b) & 0xffL));
+  }
+
+  /**
+   * Folds eight bytes (as a big-endian word) into the CRC, equivalent to eight calls to step.
+   */
+  private static long fold(long crc, long word) {
+    return word
+      ^ tables[7][(int) (crc >>> 56)]
+      ^ tables[6][(int) ((crc >>> 48) & 0xffL)]
+      ^ tables[5][(int) ((crc >>> 40) & 0xffL)]
+      ^ tables[4][(int) ((crc >>> 32) & 0xffL)]
+      ^ tables[3][(int) ((crc >>> 24) & 0xffL)]
+      ^ tables[2][(int) ((crc >>> 16) & 0xffL)]
+      ^ tables[1][(int) ((crc >>> 8) & 0xffL)]
+      ^ tables[0][(int) (crc & 0xffL)];
+  }
+
+  private static long getLong(byte[] b, int i) {
+    return ((long) b[i] << 56)
+      | ((b[i + 1] & 0xffL) << 48)
+      | ((b[i + 2] & 0xffL) << 40)
+      | ((b[i + 3] & 0xffL) << 32)
+      | ((b[i + 4] & 0xffL) << 24)
+      | ((b[i + 5] & 0xffL) << 16)
+      | ((b[i + 6] & 0xffL) << 8)
+      | (b[i + 7] & 0xffL);
+  }
+
+  /**
+   * Incrementally computes a CRC over bytes supplied in one or more updates. The value after any
+   * sequence of updates equals {@link CRC64#compute(byte[], int)} over the concatenation of the bytes.
+   * Not thread safe.
+   */
+  public static final class Accumulator implements Checksum {
+
+    private long crc;
+
+    private Accumulator() {
+    }
+
+    @Override
+    public void update(int b) {
+      crc = step(crc, (byte) b);
+    }
+
+    @Override
+    public void update(byte[] b, int off, int len) {
+      crc = CRC64.update(crc, b, off, len);
+    }
+
+    /**
+     * Updates the CRC with the remaining bytes of the buffer, advancing its position to its limit.
+     *
+     * @param buffer heap or direct buffer
+     */
+    @Override
+    public void update(ByteBuffer buffer) {
+      crc = CRC64.update(crc, buffer, buffer.position(), buffer.limit());
+      buffer.position(buffer.limit());
+    }
+
+    /**
+     * Updates the CRC with the readable bytes of the buffer, advancing its reader index to its
+     * writer index.
+     *
+     * @param buffer heap or direct buffer
+     */
+    public void update(ByteBuf buffer) {
+      crc = CRC64.update(crc, buffer, buffer.readerIndex(), buffer.writerIndex());
+      buffer.readerIndex(buffer.writerIndex());
+    }
+
+    /**
+     * Updates the CRC with count zero bytes, e.g. in place of a frame's comm verification field.
+     *
+     * @param count number of zero bytes
+     */
+    public void updateZeros(int count) {
+      for (var i = 0; i < count; i++) {
+        crc = step(crc, (byte) 0);
+      }
+    }
+
+    @Override
+    public long getValue() {
+      return crc;
+    }
+
+    @Override
+    public void reset() {
+      crc = 0L;
+    }
+  }
 }
@@ -1,16 +1,24 @@
 package gms.dataacquisition.stationreceiver.cd11.common;
 
+import gms.dataacquisition.stationreceiver.cd11.common.enums.FrameType;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ChannelSubframe;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ChannelSubframeView;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Frame;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Header;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Payload;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Trailer;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.MalformedFrame;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.PartialFrame;
+import io.netty.buffer.ByteBuf;
 
 import java.nio.BufferOverflowException;
 import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 public class Cd11FrameReader {
 
@@ -33,6 +41,10 @@ public class Cd11FrameReader {
    * buffer
    */
   public static Cd11OrMalformedFrame readFrame(ByteBuffer buf) {
+    return readFrame(buf, FrameUtilities::toByteArray);
+  }
+
+  private static Cd11OrMalformedFrame readFrame(ByteBuffer buf, Function<ByteBuffer, byte[]> malformedBytes) {
     Cd11Header header = null;
     Cd11Payload body = null;
     Cd11Trailer trailer = null;
@@ -64,11 +76,50 @@ public class Cd11FrameReader {
         .setPartialFrame(partialBuilder.build())
         .setCause(e)
         .setReadPosition(buf.position())
-        .setBytes(buf.rewind().array())
+        .setBytes(malformedBytes.apply(buf))
         .build());
     }
   }
 
+  /**
+   * Reads a frame directly from the readable bytes of a Netty {@link ByteBuf} (heap or direct) without first copying
+   * them into an intermediate array. The reader index of the ByteBuf is not modified. The returned frame does not
+   * reference the ByteBuf, so it may be released as soon as this method returns.
+   *
+   * @param buf ByteBuf whose readable bytes contain exactly one frame
+   *
+   * @return The parsed frame, or a MalformedFrame (holding a copy of the frame bytes) if parsing failed
+   */
+  public static Cd11OrMalformedFrame readFrame(ByteBuf buf) {
+    return readFrame(buf.nioBuffer(buf.readerIndex(), buf.readableBytes()),
+      nioBuffer -> FrameUtilities.readBytes(nioBuffer.rewind(), nioBuffer.limit()));
+  }
+
+  /**
+   * Reads the Channel Subframes of a DATA or CD_ONE_ENCAPSULATION frame as flyweight views over the frame bytes,
+   * without materializing a {@link Cd11ChannelSubframe} (and copies of its status, data and authentication bytes) per
+   * channel. The views are only valid for as long as the contents of the given buffer are.
+   *
+   * @param buf Bytes of a complete data frame
+   *
+   * @return Views of each channel subframe, in frame order
+   *
+   * @throws IllegalArgumentException if the frame is not a data frame
+   * @throws ParseCd11FromByteBufferException if the frame could not be parsed
+   */
+  public static List<Cd11ChannelSubframeView> readChannelSubframeViews(ByteBuffer buf) {
+    var header = tryReadHeader(buf);
+    checkArgument(header.getFrameType() == FrameType.DATA || header.getFrameType() == FrameType.CD_ONE_ENCAPSULATION,
+      "Channel subframes can only be read from data frames, found %s", header.getFrameType());
+    try {
+      ByteBuffer body = FrameUtilities.readSlice(buf, header.getTrailerOffset() - HEADER_SIZE);
+      return Cd11PayloadReader.tryReadChannelSubframeViews(body);
+    }
+    catch (IllegalArgumentException | BufferOverflowException | BufferUnderflowException | NegativeArraySizeException e) {
+      throw new ParseCd11FromByteBufferException(PARSING_ERROR_MESSAGE + "Cd11 Body Bytes", e);
+    }
+  }
+
   static Cd11Header tryReadHeader(ByteBuffer buf) {
     //throws ParseCd11FromByteBufferException, IllegalArgumentException
     Cd11Header cd11Header;
@@ -84,10 +135,9 @@ public class Cd11FrameReader {
   static Cd11Payload tryReadBody(ByteBuffer buf, Cd11Header frameHeader) {
     //throws ParseCd11FromByteBufferException
     try {
-      byte[] bodyBytes;
       int requiredBodyBytes = frameHeader.getTrailerOffset() - HEADER_SIZE;
-      bodyBytes = FrameUtilities.readBytes(buf, requiredBodyBytes);
-      return Cd11PayloadReader.tryReadPayload(frameHeader.getFrameType(), ByteBuffer.wrap(bodyBytes));
+      ByteBuffer body = FrameUtilities.readSlice(buf, requiredBodyBytes);
+      return Cd11PayloadReader.tryReadPayload(frameHeader.getFrameType(), body);
     }
     catch (IllegalArgumentException | BufferOverflowException | BufferUnderflowException | NegativeArraySizeException e) {
       throw new ParseCd11FromByteBufferException(PARSING_ERROR_MESSAGE + "Cd11 Body Bytes", e);
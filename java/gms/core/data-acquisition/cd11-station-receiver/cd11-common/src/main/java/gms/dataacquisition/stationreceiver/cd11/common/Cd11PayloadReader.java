@@ -5,6 +5,7 @@ import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Acknack;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Alert;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ChannelSubframe;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ChannelSubframeHeader;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ChannelSubframeView;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11CommandRequest;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11CommandResponse;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ConnectionExchange;
@@ -56,7 +57,7 @@ public class Cd11PayloadReader {
       case OPTION_RESPONSE:
         return tryReadOptionExchange(payloadBytes);
       case CUSTOM_RESET_FRAME:
-        return CustomReset.create(payloadBytes.array());
+        return CustomReset.create(FrameUtilities.readBytes(payloadBytes, payloadBytes.remaining()));
       default:
         throw new IllegalArgumentException(
           String.format("Frame type does not exist.%s", frameType));
@@ -188,6 +189,31 @@ public class Cd11PayloadReader {
       .build();
   }
 
+  /**
+   * Reads the channel subframes of a data frame body as flyweight views over the body bytes rather than as
+   * {@link Cd11ChannelSubframe}s, avoiding a copy of each channel's status, data and authentication bytes.
+   *
+   * @param payloadBytes Body of a DATA or CD_ONE_ENCAPSULATION frame
+   * @return Views of each channel subframe, in frame order
+   */
+  public static List<Cd11ChannelSubframeView> tryReadChannelSubframeViews(ByteBuffer payloadBytes) {
+    //throws ParseCd11FromByteBufferException, IllegalArgumentException
+
+    Cd11ChannelSubframeHeader subframeHeader = tryReadChannelSubframeHeader(payloadBytes);
+    //there are 10 bytes for each channel subframe in the channel string
+    int numOfSubFrames = subframeHeader.channelString.length() / 10;
+    List<Cd11ChannelSubframeView> subframeViews = new ArrayList<>(numOfSubFrames);
+    for (var i = 0; i < numOfSubFrames; i++) {
+      subframeViews.add(Cd11ChannelSubframeView.read(payloadBytes));
+    }
+
+    if (payloadBytes.remaining() > 0) {
+      logger.warn("Not all bytes of Data Frame body parsed, {} remaining", payloadBytes.remaining());
+    }
+
+    return subframeViews;
+  }
+
   private static Cd11ChannelSubframeHeader tryReadChannelSubframeHeader(ByteBuffer body) {
     //throws ParseCd11FromByteBufferException, IllegalArgumentException
     Cd11ChannelSubframeHeader cd11ChannelSubframeHeader;
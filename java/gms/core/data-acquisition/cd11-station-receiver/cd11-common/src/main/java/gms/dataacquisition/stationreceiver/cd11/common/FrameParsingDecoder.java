@@ -13,6 +13,11 @@ import java.util.List;
 import static com.google.common.base.Preconditions.checkArgument;
 
 
+/**
+ * Splits inbound bytes into individual CD-1.1 frames. By default each frame is copied into a new byte[]. When
+ * constructed to emit retained slices, each frame is instead passed on as a retained {@link ByteBuf} slice of the
+ * inbound buffer, and the handler consuming the frames is responsible for releasing them.
+ */
 public class FrameParsingDecoder extends ByteToMessageDecoder {
 
   private static final Logger logger = LoggerFactory.getLogger(FrameParsingDecoder.class);
@@ -21,6 +26,19 @@ public class FrameParsingDecoder extends ByteToMessageDecoder {
   @VisibleForTesting
   static final int HEADER_SIZE = (Integer.BYTES * 3) + Long.BYTES + 8 + 8;
 
+  private final boolean emitRetainedSlices;
+
+  public FrameParsingDecoder() {
+    this(false);
+  }
+
+  /**
+   * @param emitRetainedSlices if true, frames are emitted as retained {@link ByteBuf} slices instead of byte[] copies
+   */
+  public FrameParsingDecoder(boolean emitRetainedSlices) {
+    this.emitRetainedSlices = emitRetainedSlices;
+  }
+
   @Override
   protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
 
@@ -62,23 +80,29 @@ public class FrameParsingDecoder extends ByteToMessageDecoder {
         return;
       }
 
-      var frameBytes = new byte[totalSize];
-      in.readBytes(frameBytes);
-      out.add(frameBytes);
-      in.discardReadBytes();
+      out.add(readFrameBytes(in, totalSize));
       logger.debug("Frame decoding successful");
 
     } catch (IllegalArgumentException e) {
       logger.warn("Frame decoding failed. Forwarding raw readable bytes.", e);
 
       in.setIndex(startReaderIndex, startWriterIndex);
-
-      var rawBytes = new byte[in.readableBytes()];
-      in.readBytes(rawBytes);
-      out.add(rawBytes);
-      in.discardReadBytes();
+      out.add(readFrameBytes(in, in.readableBytes()));
     } catch (NegativeArraySizeException e) {
       logger.warn("Encountered negative array size when decoding frame bytes", e.fillInStackTrace());
     }
   }
-}
\ No newline at end of file
+
+  private Object readFrameBytes(ByteBuf in, int length) {
+    if (emitRetainedSlices) {
+      // Slices share the cumulation buffer, so discarding read bytes is left to ByteToMessageDecoder, which only
+      // does so once no slices reference it
+      return in.readRetainedSlice(length);
+    }
+
+    var frameBytes = new byte[length];
+    in.readBytes(frameBytes);
+    in.discardReadBytes();
+    return frameBytes;
+  }
+}
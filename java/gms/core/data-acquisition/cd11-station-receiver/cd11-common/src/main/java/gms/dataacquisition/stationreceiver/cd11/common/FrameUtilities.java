@@ -140,6 +140,50 @@ public class FrameUtilities {
     return bytesArray;
   }
 
+  /**
+   * Creates a view of the next length bytes of a byte buffer and advances the buffer past them. No bytes are copied;
+   * the returned buffer shares content with the original, starts at position zero and has a limit of length.
+   *
+   * @param frameBytesBuffer the byte buffer to slice from.
+   * @param length the number of bytes to include in the slice.
+   *
+   * @return ByteBuffer view of the requested bytes, in the same byte order as the original
+   *
+   * @throws IllegalArgumentException if length is negative or larger than the remaining bytes
+   */
+  public static ByteBuffer readSlice(ByteBuffer frameBytesBuffer, int length) {
+    checkNotNull(frameBytesBuffer);
+    checkArgument(length <= frameBytesBuffer.remaining(),
+      "Error reading ByteBuffer, requested length is larger than remaining bytes");
+    checkArgument(length >= 0,
+      "Error reading ByteBuffer, negative requested length");
+    var slice = frameBytesBuffer.slice().order(frameBytesBuffer.order());
+    slice.limit(length);
+    frameBytesBuffer.position(frameBytesBuffer.position() + length);
+
+    return slice;
+  }
+
+  /**
+   * Returns the entire contents of a byte buffer as an array, regardless of its position. The backing array is
+   * returned as-is when it holds exactly the buffer contents, otherwise (direct buffers, slices) the bytes are copied.
+   *
+   * @param frameBytesBuffer the byte buffer to read from
+   *
+   * @return byte[] containing every byte between zero and the buffer's limit
+   */
+  public static byte[] toByteArray(ByteBuffer frameBytesBuffer) {
+    checkNotNull(frameBytesBuffer);
+    if (frameBytesBuffer.hasArray() && frameBytesBuffer.arrayOffset() == 0
+      && frameBytesBuffer.array().length == frameBytesBuffer.limit()) {
+      return frameBytesBuffer.array();
+    }
+
+    var bytesArray = new byte[frameBytesBuffer.limit()];
+    frameBytesBuffer.duplicate().rewind().get(bytesArray);
+    return bytesArray;
+  }
+
   /**
    * Remove nul characters and whitespace from a string. Assumes the string is left justified and padded on the right
    * with nul characters.
@@ -254,16 +298,27 @@ public class FrameUtilities {
    * value, false is returned (i.e. this method does not throw IOException)
    */
   public static boolean isValidCRC(byte[] rawBytes, Cd11Frame frame) {
-    Cd11Trailer frameTrailer = frame.getTrailer();
+    return isValidCRC(ByteBuffer.wrap(rawBytes), frame.getTrailer().getCommVerification());
+  }
 
-    // Replace commverification bytes with all zeros before we computing the CRC.
-    for (int i = (rawBytes.length - Long.BYTES); i < rawBytes.length; i++) {
-      rawBytes[i] = 0;
-    }
+  /**
+   * Calculate the CRC over the remaining bytes of a serialized frame, treating its trailing comm verification field as
+   * zeros, and compare with the expected comm verification value. The buffer is neither copied nor modified.
+   *
+   * @param frameBytes heap or direct buffer whose remaining bytes are an entire frame
+   * @param commVerification CRC value from the frame trailer
+   *
+   * @return TRUE if CRC is verified, otherwise FALSE
+   */
+  public static boolean isValidCRC(ByteBuffer frameBytes, long commVerification) {
+    checkArgument(frameBytes.remaining() >= Long.BYTES, "Frame is too short to contain a comm verification value");
+    var frameWithoutCrc = frameBytes.duplicate();
+    frameWithoutCrc.limit(frameWithoutCrc.limit() - Long.BYTES);
 
-    // Compute the CRC value.
-    return CRC64.isValidCrc(
-      rawBytes, rawBytes.length,
-      frameTrailer.getCommVerification());
+    // The CRC is computed with the comm verification bytes replaced by zeros.
+    var crc = CRC64.accumulator();
+    crc.update(frameWithoutCrc);
+    crc.updateZeros(Long.BYTES);
+    return crc.getValue() == commVerification;
   }
 }
@@ -0,0 +1,226 @@
+package gms.dataacquisition.stationreceiver.cd11.common.frames;
+
+import gms.dataacquisition.stationreceiver.cd11.common.FrameUtilities;
+import gms.dataacquisition.stationreceiver.cd11.common.enums.Cd11DataFormat;
+import gms.dataacquisition.stationreceiver.cd11.common.enums.CompressionFormat;
+import gms.dataacquisition.stationreceiver.cd11.common.enums.SensorType;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Flyweight accessor over the bytes of a single CD-1.1 Channel Subframe. Fields are decoded on demand from absolute
+ * offsets, and the variable length channel status, channel data and authentication value fields are returned as
+ * read-only views of the underlying bytes rather than copies.
+ * <p>
+ * A view shares content with the buffer it was read from, so it is only valid for as long as that buffer is. Use
+ * {@link #toChannelSubframe()} to obtain a fully validated, self-contained {@link Cd11ChannelSubframe}.
+ */
+public final class Cd11ChannelSubframeView {
+
+  private static final int AUTHENTICATION_OFFSET = 2 * Integer.BYTES;
+  private static final int COMPRESSION_FORMAT_OFFSET = AUTHENTICATION_OFFSET + 1;
+  private static final int SENSOR_TYPE_OFFSET = COMPRESSION_FORMAT_OFFSET + 1;
+  private static final int OPTION_FLAG_OFFSET = SENSOR_TYPE_OFFSET + 1;
+  private static final int SITE_NAME_OFFSET = OPTION_FLAG_OFFSET + 1;
+  private static final int CHANNEL_NAME_OFFSET = SITE_NAME_OFFSET + 5;
+  private static final int LOCATION_NAME_OFFSET = CHANNEL_NAME_OFFSET + 3;
+  private static final int DATA_FORMAT_OFFSET = LOCATION_NAME_OFFSET + 2;
+  private static final int CALIBRATION_FACTOR_OFFSET = DATA_FORMAT_OFFSET + 2;
+  private static final int CALIBRATION_PERIOD_OFFSET = CALIBRATION_FACTOR_OFFSET + Float.BYTES;
+  private static final int TIMESTAMP_OFFSET = CALIBRATION_PERIOD_OFFSET + Float.BYTES;
+  private static final int SUBFRAME_TIME_LENGTH_OFFSET = TIMESTAMP_OFFSET + FrameUtilities.TIMESTAMP_LEN;
+  private static final int SAMPLES_OFFSET = SUBFRAME_TIME_LENGTH_OFFSET + Integer.BYTES;
+  private static final int CHANNEL_STATUS_SIZE_OFFSET = SAMPLES_OFFSET + Integer.BYTES;
+  private static final int CHANNEL_STATUS_DATA_OFFSET = CHANNEL_STATUS_SIZE_OFFSET + Integer.BYTES;
+
+  // Subframe bytes, position zero at the channel length field
+  private final ByteBuffer subframe;
+  private final int dataSizeOffset;
+  private final int subframeCountOffset;
+
+  private Cd11ChannelSubframeView(ByteBuffer subframe, int dataSizeOffset, int subframeCountOffset) {
+    this.subframe = subframe;
+    this.dataSizeOffset = dataSizeOffset;
+    this.subframeCountOffset = subframeCountOffset;
+  }
+
+  /**
+   * Reads the next channel subframe from the buffer as a view, advancing the buffer's position past the subframe.
+   * Only the size fields needed to locate the subframe boundaries are validated.
+   *
+   * @param buffer Buffer positioned at the start of a channel subframe
+   * @return A view over the subframe bytes
+   * @throws IllegalArgumentException if the buffer does not contain a complete subframe
+   */
+  public static Cd11ChannelSubframeView read(ByteBuffer buffer) {
+    checkArgument(buffer.remaining() >= Cd11ChannelSubframe.MINIMUM_FRAME_LENGTH,
+      "ChannelSubframe minimum size is %s but byte buffer only contains %s bytes.",
+      Cd11ChannelSubframe.MINIMUM_FRAME_LENGTH, buffer.remaining());
+
+    var start = buffer.position();
+    var channelStatusSize = buffer.getInt(start + CHANNEL_STATUS_SIZE_OFFSET);
+    checkArgument(channelStatusSize >= 0,
+      "ChannelSubframe.ChannelStatusSize must be >= 0, but value is: " + channelStatusSize);
+
+    var dataSizeOffset = CHANNEL_STATUS_DATA_OFFSET
+      + FrameUtilities.calculatePaddedLength(channelStatusSize, Integer.BYTES);
+    checkRemaining(buffer, dataSizeOffset + Integer.BYTES);
+    var dataSize = buffer.getInt(start + dataSizeOffset);
+    checkArgument(dataSize >= 0, "ChannelSubframe.DataSize must be >= 0, but value is: " + dataSize);
+
+    var subframeCountOffset = dataSizeOffset + Integer.BYTES
+      + FrameUtilities.calculatePaddedLength(dataSize, Integer.BYTES);
+    var authSizeOffset = subframeCountOffset + 2 * Integer.BYTES;
+    checkRemaining(buffer, authSizeOffset + Integer.BYTES);
+    var authSize = buffer.getInt(start + authSizeOffset);
+    checkArgument(authSize >= 0, "ChannelSubframe.AuthSize must be >= 0, but value is: " + authSize);
+
+    var size = authSizeOffset + Integer.BYTES + FrameUtilities.calculatePaddedLength(authSize, Integer.BYTES);
+    checkRemaining(buffer, size);
+
+    return new Cd11ChannelSubframeView(FrameUtilities.readSlice(buffer, size), dataSizeOffset, subframeCountOffset);
+  }
+
+  private static void checkRemaining(ByteBuffer buffer, int required) {
+    checkArgument(required >= 0 && buffer.remaining() >= required,
+      "ChannelSubframe requires %s bytes but byte buffer only contains %s bytes.", required, buffer.remaining());
+  }
+
+  /**
+   * Parses the viewed bytes into a self-contained {@link Cd11ChannelSubframe}, applying its full validation.
+   *
+   * @return the equivalent {@link Cd11ChannelSubframe}
+   * @throws IllegalArgumentException if the subframe is invalid
+   */
+  public Cd11ChannelSubframe toChannelSubframe() {
+    return new Cd11ChannelSubframe(subframe.duplicate());
+  }
+
+  public int getSize() {
+    return subframe.limit();
+  }
+
+  public int getChannelLength() {
+    return subframe.getInt(0);
+  }
+
+  public int getAuthOffset() {
+    return subframe.getInt(Integer.BYTES);
+  }
+
+  public boolean isAuthenticationOn() {
+    return subframe.get(AUTHENTICATION_OFFSET) == 1;
+  }
+
+  public CompressionFormat getCompressionFormat() {
+    return CompressionFormat.of(subframe.get(COMPRESSION_FORMAT_OFFSET));
+  }
+
+  public SensorType getSensorType() {
+    return SensorType.of(subframe.get(SENSOR_TYPE_OFFSET));
+  }
+
+  public boolean isCalib() {
+    return subframe.get(OPTION_FLAG_OFFSET) == 1;
+  }
+
+  public String getSiteName() {
+    return readString(SITE_NAME_OFFSET, 5);
+  }
+
+  public String getChannelName() {
+    return readString(CHANNEL_NAME_OFFSET, 3);
+  }
+
+  public String getLocationName() {
+    return readString(LOCATION_NAME_OFFSET, 2);
+  }
+
+  public Cd11DataFormat getCd11DataFormat() {
+    return Cd11DataFormat.fromString(readString(DATA_FORMAT_OFFSET, 2));
+  }
+
+  public float getCalibrationFactor() {
+    return subframe.getFloat(CALIBRATION_FACTOR_OFFSET);
+  }
+
+  public float getCalibrationPeriod() {
+    return subframe.getFloat(CALIBRATION_PERIOD_OFFSET);
+  }
+
+  public Instant getTimeStamp() {
+    return FrameUtilities.jdToInstant(readString(TIMESTAMP_OFFSET, FrameUtilities.TIMESTAMP_LEN));
+  }
+
+  public int getSubframeTimeLength() {
+    return subframe.getInt(SUBFRAME_TIME_LENGTH_OFFSET);
+  }
+
+  public int getSamples() {
+    return subframe.getInt(SAMPLES_OFFSET);
+  }
+
+  public int getChannelStatusSize() {
+    return subframe.getInt(CHANNEL_STATUS_SIZE_OFFSET);
+  }
+
+  /**
+   * @return read-only view of the channel status data, including padding
+   */
+  public ByteBuffer getChannelStatusData() {
+    return view(CHANNEL_STATUS_DATA_OFFSET, dataSizeOffset);
+  }
+
+  public int getDataSize() {
+    return subframe.getInt(dataSizeOffset);
+  }
+
+  /**
+   * @return read-only view of the channel data, including padding
+   */
+  public ByteBuffer getChannelData() {
+    return view(dataSizeOffset + Integer.BYTES, subframeCountOffset);
+  }
+
+  public int getSubframeCount() {
+    return subframe.getInt(subframeCountOffset);
+  }
+
+  public int getAuthKeyIdentifier() {
+    return subframe.getInt(subframeCountOffset + Integer.BYTES);
+  }
+
+  public int getAuthSize() {
+    return subframe.getInt(subframeCountOffset + 2 * Integer.BYTES);
+  }
+
+  /**
+   * @return read-only view of the authentication value, including padding
+   */
+  public ByteBuffer getAuthValue() {
+    return view(subframeCountOffset + 3 * Integer.BYTES, subframe.limit());
+  }
+
+  private ByteBuffer view(int from, int to) {
+    var view = subframe.asReadOnlyBuffer();
+    view.limit(to).position(from);
+    return view.slice().order(subframe.order());
+  }
+
+  private String readString(int offset, int length) {
+    var stringBytes = new byte[length];
+    subframe.duplicate().position(offset).get(stringBytes);
+    return FrameUtilities.stripString(new String(stringBytes));
+  }
+
+  @Override
+  public String toString() {
+    return "Cd11ChannelSubframeView { siteName: \"" + getSiteName() + "\", "
+      + "channelName: \"" + getChannelName() + "\", "
+      + "locationName: \"" + getLocationName() + "\", "
+      + "size: " + getSize() + " }";
+  }
+}
@@ -19,6 +19,7 @@ import java.util.ArrayList;
 public class Cd11GapList {
 
   private static final Logger logger = LoggerFactory.getLogger(Cd11GapList.class);
+  private final GapListJournal journal;
   private GapList gapList;
 
   public Cd11GapList() {
@@ -28,7 +29,18 @@ public class Cd11GapList {
   @JsonCreator
   public Cd11GapList(
     @JsonProperty GapList gapList) {
+    this(gapList, GapListJournal.NONE);
+  }
+
+  /**
+   * Creates a gap list whose every change is recorded in a journal
+   *
+   * @param gapList the initial gap list
+   * @param journal journal to record changes in
+   */
+  Cd11GapList(GapList gapList, GapListJournal journal) {
     this.gapList = gapList;
+    this.journal = journal;
   }
 
   public GapList getGapList() {
@@ -61,13 +73,20 @@ public class Cd11GapList {
 
   public Mono<Void> resetGapsList() {
     // Per CD1.1 Protocol, empty frame set is indicated by low = 0, high = -1
-    return Mono.<Void>fromRunnable(() -> this.gapList = new GapList(0, -1))
+    return Mono.<Void>fromRunnable(() -> {
+      var resetMillis = System.currentTimeMillis();
+      journal.record(GapJournalEntry.reset(resetMillis), () -> this.gapList = GapList.createdAt(resetMillis));
+    })
       .doOnSuccess(s -> logger.debug("Gap list reset"));
   }
 
   public Mono<Boolean> processSequenceNumber(long value) {
     logger.debug("Adding sequence number {} to gap list", value);
-    return Mono.fromCallable(() -> this.gapList.addValue(value))
+    return Mono.fromCallable(() -> {
+      var modifiedMillis = System.currentTimeMillis();
+      return journal.record(GapJournalEntry.sequenceNumber(value, modifiedMillis),
+        () -> this.gapList.addValue(value, modifiedMillis));
+    })
       .doOnSuccess(s -> logger.debug("Added sequence number {} to gap list", value));
   }
 
@@ -138,6 +157,9 @@ public class Cd11GapList {
    * @param expirationPeriod Duration of time since wall clock to expire gaps for
    */
   public Mono<Void> removeExpiredGaps(Duration expirationPeriod) {
-    return Mono.fromRunnable(() -> this.gapList.removeGapsModifiedBefore(Instant.now().minus(expirationPeriod)));
+    return Mono.fromRunnable(() -> {
+      var expiration = Instant.now().minus(expirationPeriod);
+      journal.record(GapJournalEntry.expiration(expiration), () -> this.gapList.removeGapsModifiedBefore(expiration));
+    });
   }
 }
@@ -11,31 +11,55 @@ import reactor.core.publisher.Mono;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
- * Utility to persist and load {@link Cd11GapList}s from disk
+ * Utility to persist and load {@link Cd11GapList}s from disk.
+ * <p>
+ * By default each station's gap list is persisted as a JSON file, rewritten in full every time it is persisted. A
+ * journaled utility instead keeps a binary snapshot plus an append-only journal of every change made to the gap list
+ * since, so persisting a gap list only compacts its journal into a new snapshot once the journal has grown past a
+ * number of entries. Journaled utilities still read JSON gap state, which is migrated to a snapshot the first time the
+ * gap list is persisted.
  */
 public class Cd11GapListUtility {
 
   private static final Logger logger = LoggerFactory.getLogger(Cd11GapListUtility.class);
 
+  // Journal entries since the last snapshot at which persisting compacts a gap list, about 1.7 MB of journal
+  static final long DEFAULT_COMPACTION_THRESHOLD = 100_000;
+
   private final String gapStoragePath;
   private final String fileExtension;
   private final ObjectMapper objectMapper;
+  private final boolean journaled;
+  private final long compactionThreshold;
+  private final Map<String, FileGapListJournal> journalsByStation = new ConcurrentHashMap<>();
 
   @VisibleForTesting
   Cd11GapListUtility(String gapStoragePath, String fileExtension, ObjectMapper objectMapper) {
+    this(gapStoragePath, fileExtension, objectMapper, false, DEFAULT_COMPACTION_THRESHOLD);
+  }
+
+  private Cd11GapListUtility(String gapStoragePath, String fileExtension, ObjectMapper objectMapper,
+    boolean journaled, long compactionThreshold) {
 
     Validate.notEmpty(fileExtension, "File extension cannot be null or empty!");
     Validate.notEmpty(gapStoragePath, "GapStoragePath cannot be null or empty!");
     checkNotNull(objectMapper, "Object mapper cannot be null!");
+    Validate.isTrue(compactionThreshold > 0, "Compaction threshold must be positive!");
 
     this.gapStoragePath = gapStoragePath;
     this.fileExtension = fileExtension;
     this.objectMapper = objectMapper;
+    this.journaled = journaled;
+    this.compactionThreshold = compactionThreshold;
 
     try {
       var path = Paths.get(this.gapStoragePath);
@@ -54,41 +78,100 @@ public class Cd11GapListUtility {
    * @param fileExtension The file extension to use - cannot be null or empty
    */
   public static Cd11GapListUtility create(String gapStoragePath, String fileExtension) {
+    return new Cd11GapListUtility(gapStoragePath, fileExtension, createObjectMapper(), false,
+      DEFAULT_COMPACTION_THRESHOLD);
+  }
+
+  /**
+   * Creates a Cd11GapListUtility that persists gap lists as binary snapshots plus journals of their changes
+   *
+   * @param gapStoragePath The path to store gaps lists - cannot be null or empty
+   * @param legacyFileExtension The file extension of JSON gap state to migrate from - cannot be null or empty
+   */
+  public static Cd11GapListUtility createJournaled(String gapStoragePath, String legacyFileExtension) {
+    return createJournaled(gapStoragePath, legacyFileExtension, DEFAULT_COMPACTION_THRESHOLD);
+  }
+
+  @VisibleForTesting
+  static Cd11GapListUtility createJournaled(String gapStoragePath, String legacyFileExtension,
+    long compactionThreshold) {
+    return new Cd11GapListUtility(gapStoragePath, legacyFileExtension, createObjectMapper(), true,
+      compactionThreshold);
+  }
+
+  private static ObjectMapper createObjectMapper() {
     var objectMapper = new ObjectMapper();
     objectMapper.findAndRegisterModules();
     objectMapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
-
-    return new Cd11GapListUtility(gapStoragePath, fileExtension, objectMapper);
+    return objectMapper;
   }
 
   /**
-   * Attempts to load the gap list file from disk given the station name
+   * Attempts to load the gap list file from disk given the station name. A journaled utility recovers the gap list
+   * from its snapshot and journal, and records every subsequent change to it in a new journal.
    *
    * @param stationName the station name used to build the unique filename
    * @return The deserialzied {@link Cd11GapList} from disk
    */
   public Cd11GapList loadGapState(String stationName) {
     var path = Paths.get(this.gapStoragePath + stationName + this.fileExtension);
+    if (journaled) {
+      try {
+        var journal = FileGapListJournal.recover(basePath(stationName), path, this::readJsonGapState);
+        Optional.ofNullable(journalsByStation.put(stationName, journal)).ifPresent(FileGapListJournal::close);
+        return journal.getCd11GapList();
+      } catch (IOException e) {
+        logger.error("Error recovering GapList journal", e);
+        return new Cd11GapList();
+      }
+    }
+
+    return new Cd11GapList(readJsonGapState(path).orElseGet(() -> new GapList(0, -1)));
+  }
+
+  private Optional<GapList> readJsonGapState(Path path) {
     if (Files.exists(path)) {
       try {
         var contents = new String(Files.readAllBytes(path));
-        return new Cd11GapList(objectMapper.readValue(contents, GapList.class));
+        return Optional.of(objectMapper.readValue(contents, GapList.class));
       } catch (IOException e) {
         logger.error("Error deserializing GapList", e);
-        return new Cd11GapList();
       }
-    } else {
-      return new Cd11GapList();
     }
+    return Optional.empty();
+  }
+
+  private Path basePath(String stationName) {
+    return Paths.get(this.gapStoragePath + stationName);
   }
 
   /**
-   * Saves the gap list for a particular station to disk
+   * Saves the gap list for a particular station to disk. For a journaled utility, the changes to a station loaded
+   * through {@link #loadGapState(String)} are already in its journal, which is only compacted into a new snapshot of
+   * its current gap list when it has no snapshot yet or has passed the compaction threshold. A snapshot of the given
+   * gap list is written if the station has no journal.
    *
    * @param stationName the station name used in to create the unique filename
    * @param gapList the {@link GapList} to persist
    */
   public Mono<Void> persistGapState(String stationName, GapList gapList) {
+    if (journaled) {
+      return Mono.fromRunnable(() -> {
+        try {
+          var journal = journalsByStation.get(stationName);
+          if (journal != null) {
+            if (journal.shouldCompact(compactionThreshold)) {
+              journal.compact();
+            }
+          } else {
+            FileGapListJournal.writeSnapshot(basePath(stationName), gapList);
+          }
+        } catch (IOException e) {
+          throw new IllegalStateException("Gap persistence I/O failure", e);
+        }
+      });
+    }
+
     String path = this.gapStoragePath + stationName + this.fileExtension;
 
     return Mono.fromRunnable(() -> {
@@ -114,6 +197,14 @@ public class Cd11GapListUtility {
     return Mono.fromRunnable(() -> {
       try {
         Files.deleteIfExists(path);
+        if (journaled) {
+          var journal = journalsByStation.get(stationName);
+          if (journal != null) {
+            journal.clear();
+          } else {
+            FileGapListJournal.delete(basePath(stationName));
+          }
+        }
       } catch (IOException e) {
         throw new IllegalStateException("Gap clear I/O failure", e);
       }
@@ -0,0 +1,315 @@
+package gms.dataacquisition.stationreceiver.cd11.common.gaps;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * File backed gap state for a single station: a binary {@link GapListSnapshot} plus append-only journals of every
+ * change made to the station's {@link Cd11GapList} since.
+ * <p>
+ * Journals are numbered by generation. Compaction starts a new journal generation and writes a snapshot of the gap list
+ * as it was at that moment, after which older journals are deleted. Changes are only appended to the journal until
+ * {@link #shouldCompact(long)} says it has grown large enough to be worth compacting. Recovery reads the snapshot and replays the
+ * journals from the snapshot's generation onwards, so a crash at any point of a compaction loses nothing.
+ */
+final class FileGapListJournal implements GapListJournal {
+
+  static final String SNAPSHOT_EXTENSION = ".gaps";
+  static final String JOURNAL_EXTENSION = ".journal";
+
+  private static final Logger logger = LoggerFactory.getLogger(FileGapListJournal.class);
+  private static final int MAGIC = 0x4741504A; // "GAPJ"
+  private static final byte VERSION = 1;
+  private static final int HEADER_SIZE = Integer.BYTES + 1;
+
+  private final Path snapshotPath;
+  private final Path legacyStatePath;
+  private final Path directory;
+  private final String stationFileName;
+  private final Pattern journalFileName;
+  private final ByteBuffer entryBuffer = ByteBuffer.allocate(GapJournalEntry.SIZE);
+  // Held while compacting or clearing, so only one snapshot is ever being written
+  private final Object compactionLock = new Object();
+
+  // Guarded by this
+  private Cd11GapList cd11GapList;
+  private long generation;
+  private FileChannel channel;
+  private boolean snapshotWritten;
+  private long entriesSinceSnapshot;
+
+  private FileGapListJournal(Path basePath, Path legacyStatePath) {
+    this.directory = basePath.toAbsolutePath().getParent();
+    this.stationFileName = basePath.getFileName().toString();
+    this.snapshotPath = directory.resolve(stationFileName + SNAPSHOT_EXTENSION);
+    this.legacyStatePath = legacyStatePath;
+    this.journalFileName = Pattern.compile(Pattern.quote(stationFileName) + "\\.(\\d+)"
+      + Pattern.quote(JOURNAL_EXTENSION));
+  }
+
+  /**
+   * Recovers a station's gap list from its snapshot and journals, then opens a new journal generation to record
+   * further changes to it.
+   *
+   * @param basePath path of the station's gap state files, without extension
+   * @param legacyStatePath path of the station's legacy (JSON) gap state, used when there is no readable snapshot and
+   * deleted once a snapshot has been written
+   * @param legacyStateReader reads the legacy gap state, returning empty if it could not be read
+   * @return the journal, attached to the recovered gap list
+   * @throws IOException if the journal directory could not be read or a new journal could not be created
+   */
+  static FileGapListJournal recover(Path basePath, Path legacyStatePath,
+    Function<Path, Optional<GapList>> legacyStateReader) throws IOException {
+
+    var journal = new FileGapListJournal(basePath, legacyStatePath);
+    var recovered = journal.readSnapshot();
+    var gapList = recovered.map(GapListSnapshot::getGapList)
+      .or(() -> Files.exists(legacyStatePath) ? legacyStateReader.apply(legacyStatePath) : Optional.empty())
+      .orElseGet(() -> new GapList(0, -1));
+    long fromGeneration = recovered.map(GapListSnapshot::getJournalGeneration).orElse(0L);
+
+    NavigableMap<Long, Path> journals = journal.listJournals();
+    long replayedEntries = 0;
+    for (Path journalPath : journals.tailMap(fromGeneration, true).values()) {
+      gapList = replay(journalPath, gapList);
+      replayedEntries += Math.max(0, Files.size(journalPath) - HEADER_SIZE) / GapJournalEntry.SIZE;
+    }
+
+    synchronized (journal) {
+      journal.cd11GapList = new Cd11GapList(gapList, journal);
+      journal.snapshotWritten = recovered.isPresent();
+      journal.entriesSinceSnapshot = replayedEntries;
+      journal.openGeneration(Math.max(fromGeneration, journals.isEmpty() ? 0 : journals.lastKey() + 1));
+    }
+    return journal;
+  }
+
+  /**
+   * Writes a snapshot of a gap list that has no journal, replacing any existing snapshot and journals.
+   *
+   * @param basePath path of the station's gap state files, without extension
+   * @param gapList gap list to write
+   * @throws IOException if the snapshot could not be written
+   */
+  static void writeSnapshot(Path basePath, GapList gapList) throws IOException {
+    var journal = new FileGapListJournal(basePath, null);
+    NavigableMap<Long, Path> journals = journal.listJournals();
+    long nextGeneration = journals.isEmpty() ? 0 : journals.lastKey() + 1;
+    journal.writeSnapshotAtomically(GapListSnapshot.encode(gapList, nextGeneration));
+    journal.deleteJournalsBefore(nextGeneration);
+  }
+
+  /**
+   * Deletes every snapshot and journal of a station that has no open journal.
+   *
+   * @param basePath path of the station's gap state files, without extension
+   * @throws IOException if the files could not be deleted
+   */
+  static void delete(Path basePath) throws IOException {
+    var journal = new FileGapListJournal(basePath, null);
+    Files.deleteIfExists(journal.snapshotPath);
+    journal.deleteJournalsBefore(Long.MAX_VALUE);
+  }
+
+  synchronized Cd11GapList getCd11GapList() {
+    return cd11GapList;
+  }
+
+  @Override
+  public synchronized <T> T record(GapJournalEntry entry, Supplier<T> change) {
+    T result = change.get();
+    if (channel == null) {
+      return result;
+    }
+
+    entryBuffer.clear();
+    entry.write(entryBuffer);
+    entryBuffer.flip();
+    try {
+      while (entryBuffer.hasRemaining()) {
+        channel.write(entryBuffer);
+      }
+      entriesSinceSnapshot++;
+    } catch (IOException e) {
+      logger.warn("Failed to journal gap list change to {}, it will be persisted with the next snapshot",
+        journalPath(generation), e);
+    }
+    return result;
+  }
+
+  /**
+   * Whether the gap list should be compacted: when it has no snapshot yet, so recovery no longer depends on legacy
+   * state, or when its journals hold at least the given number of entries.
+   *
+   * @param maxJournalEntries number of journal entries since the last snapshot at which to compact
+   * @return true if {@link #compact()} should be called
+   */
+  synchronized boolean shouldCompact(long maxJournalEntries) {
+    return !snapshotWritten || entriesSinceSnapshot >= maxJournalEntries;
+  }
+
+  /**
+   * Writes a snapshot of the gap list and deletes the journals it makes redundant.
+   *
+   * @throws IOException if the snapshot could not be written
+   */
+  void compact() throws IOException {
+    synchronized (compactionLock) {
+      byte[] snapshot;
+      long snapshotGeneration;
+      synchronized (this) {
+        snapshotGeneration = generation + 1;
+        snapshot = GapListSnapshot.encode(cd11GapList.getGapList(), snapshotGeneration);
+        openGeneration(snapshotGeneration);
+        entriesSinceSnapshot = 0;
+      }
+
+      writeSnapshotAtomically(snapshot);
+      synchronized (this) {
+        snapshotWritten = true;
+      }
+      deleteJournalsBefore(snapshotGeneration);
+      if (legacyStatePath != null) {
+        Files.deleteIfExists(legacyStatePath);
+      }
+    }
+  }
+
+  /**
+   * Deletes the snapshot and every journal, and starts a new journal for subsequent changes.
+   *
+   * @throws IOException if the files could not be deleted
+   */
+  void clear() throws IOException {
+    synchronized (compactionLock) {
+      synchronized (this) {
+        Files.deleteIfExists(snapshotPath);
+        snapshotWritten = false;
+        openGeneration(generation + 1);
+        entriesSinceSnapshot = 0;
+        deleteJournalsBefore(generation);
+      }
+    }
+  }
+
+  synchronized void close() {
+    closeChannel();
+  }
+
+  private Optional<GapListSnapshot> readSnapshot() {
+    if (!Files.exists(snapshotPath)) {
+      return Optional.empty();
+    }
+
+    try {
+      return Optional.of(GapListSnapshot.decode(ByteBuffer.wrap(Files.readAllBytes(snapshotPath))));
+    } catch (IOException | IllegalArgumentException | BufferUnderflowException e) {
+      logger.error("Error reading gap list snapshot {}", snapshotPath, e);
+      return Optional.empty();
+    }
+  }
+
+  private static GapList replay(Path journalPath, GapList gapList) {
+    try {
+      var journal = ByteBuffer.wrap(Files.readAllBytes(journalPath));
+      if (journal.remaining() < HEADER_SIZE || journal.getInt() != MAGIC || journal.get() != VERSION) {
+        logger.error("Ignoring gap list journal {} with an unrecognized header", journalPath);
+        return gapList;
+      }
+
+      // A trailing partial entry is a write that was cut short, and is ignored
+      while (journal.remaining() >= GapJournalEntry.SIZE) {
+        gapList = GapJournalEntry.read(journal).applyTo(gapList);
+      }
+    } catch (IOException | IllegalArgumentException e) {
+      logger.error("Error replaying gap list journal {}, the rest of it is ignored", journalPath, e);
+    }
+    return gapList;
+  }
+
+  private void openGeneration(long newGeneration) throws IOException {
+    closeChannel();
+    generation = newGeneration;
+    channel = FileChannel.open(journalPath(newGeneration), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING);
+    var header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).put(VERSION).flip();
+    while (header.hasRemaining()) {
+      channel.write(header);
+    }
+  }
+
+  private void closeChannel() {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        logger.warn("Error closing gap list journal {}", journalPath(generation), e);
+      }
+      channel = null;
+    }
+  }
+
+  private void writeSnapshotAtomically(byte[] snapshot) throws IOException {
+    var tempPath = directory.resolve(stationFileName + SNAPSHOT_EXTENSION + ".tmp");
+    try (var tempChannel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING)) {
+      var buffer = ByteBuffer.wrap(snapshot);
+      while (buffer.hasRemaining()) {
+        tempChannel.write(buffer);
+      }
+      tempChannel.force(true);
+    }
+    Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  private void deleteJournalsBefore(long oldestKeptGeneration) throws IOException {
+    for (Path journalPath : listJournals().headMap(oldestKeptGeneration, false).values()) {
+      Files.deleteIfExists(journalPath);
+    }
+  }
+
+  private NavigableMap<Long, Path> listJournals() throws IOException {
+    NavigableMap<Long, Path> journals = new TreeMap<>();
+    if (!Files.isDirectory(directory)) {
+      return journals;
+    }
+
+    try (Stream<Path> files = Files.list(directory)) {
+      files.forEach(file -> {
+        var matcher = journalFileName.matcher(file.getFileName().toString());
+        if (matcher.matches()) {
+          journals.put(Long.parseLong(matcher.group(1)), file);
+        }
+      });
+    }
+    return journals;
+  }
+
+  private Path journalPath(long journalGeneration) {
+    return directory.resolve(stationFileName + "." + journalGeneration + JOURNAL_EXTENSION);
+  }
+
+  @Override
+  public String toString() {
+    return "FileGapListJournal{" +
+      "snapshotPath=" + snapshotPath +
+      ", generation=" + generation +
+      '}';
+  }
+}
@@ -0,0 +1,115 @@
+package gms.dataacquisition.stationreceiver.cd11.common.gaps;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A single change to a {@link Cd11GapList}, as stored in a gap list journal. Every entry is a type byte followed by
+ * two longs whose meaning depends on the type.
+ */
+final class GapJournalEntry {
+
+  static final int SIZE = 1 + 2 * Long.BYTES;
+
+  private static final byte SEQUENCE_NUMBER = 1;
+  private static final byte EXPIRATION = 2;
+  private static final byte RESET = 3;
+
+  private final byte type;
+  private final long first;
+  private final long second;
+
+  private GapJournalEntry(byte type, long first, long second) {
+    this.type = type;
+    this.first = first;
+    this.second = second;
+  }
+
+  /**
+   * @param sequenceNumber sequence number added to the gap list
+   * @param modifiedMillis time the sequence number was added, in milliseconds since the epoch
+   */
+  static GapJournalEntry sequenceNumber(long sequenceNumber, long modifiedMillis) {
+    return new GapJournalEntry(SEQUENCE_NUMBER, sequenceNumber, modifiedMillis);
+  }
+
+  /**
+   * @param expiration time before which unmodified gaps were removed
+   */
+  static GapJournalEntry expiration(Instant expiration) {
+    return new GapJournalEntry(EXPIRATION, expiration.getEpochSecond(), expiration.getNano());
+  }
+
+  /**
+   * @param resetMillis time the gap list was reset, in milliseconds since the epoch
+   */
+  static GapJournalEntry reset(long resetMillis) {
+    return new GapJournalEntry(RESET, resetMillis, 0);
+  }
+
+  /**
+   * Reads the next entry from the buffer
+   *
+   * @param buffer buffer with at least {@link #SIZE} bytes remaining
+   * @return the entry
+   * @throws IllegalArgumentException if the entry type is unknown
+   */
+  static GapJournalEntry read(ByteBuffer buffer) {
+    var type = buffer.get();
+    checkArgument(type >= SEQUENCE_NUMBER && type <= RESET, "Unknown gap journal entry type %s", type);
+    return new GapJournalEntry(type, buffer.getLong(), buffer.getLong());
+  }
+
+  void write(ByteBuffer buffer) {
+    buffer.put(type)
+      .putLong(first)
+      .putLong(second);
+  }
+
+  /**
+   * Replays this entry against a gap list
+   *
+   * @param gapList the gap list as it was before the change
+   * @return the gap list after the change; a new gap list if this entry is a reset
+   */
+  GapList applyTo(GapList gapList) {
+    switch (type) {
+      case SEQUENCE_NUMBER:
+        gapList.addValue(first, second);
+        return gapList;
+      case EXPIRATION:
+        gapList.removeGapsModifiedBefore(Instant.ofEpochSecond(first, second));
+        return gapList;
+      default:
+        return GapList.createdAt(first);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    var that = (GapJournalEntry) o;
+    return type == that.type && first == that.first && second == that.second;
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * type + Long.hashCode(first)) + Long.hashCode(second);
+  }
+
+  @Override
+  public String toString() {
+    return "GapJournalEntry{" +
+      "type=" + type +
+      ", first=" + first +
+      ", second=" + second +
+      '}';
+  }
+}
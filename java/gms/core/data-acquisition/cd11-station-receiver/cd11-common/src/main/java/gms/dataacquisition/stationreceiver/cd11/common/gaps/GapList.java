@@ -3,25 +3,48 @@ package gms.dataacquisition.stationreceiver.cd11.common.gaps;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.ImmutableSortedSet;
 import org.apache.commons.lang3.Validate;
 import org.apache.commons.lang3.tuple.ImmutablePair;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.Objects;
-import java.util.Optional;
 import java.util.SortedSet;
+import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Tracks the gaps in a range of unsigned sequence numbers.
+ * <p>
+ * Gaps are indexed by their (unsigned) start value, so the gap containing a sequence number is found with a single
+ * floor lookup, and by their modified time, so expired gaps are found without scanning the whole list. Adding a value,
+ * splitting or shrinking a gap and expiring a gap are all O(log n) in the number of gaps.
+ */
 public class GapList {
 
+  private static final Comparator<Long> UNSIGNED = Long::compareUnsigned;
+  private static final Comparator<Gap> BY_MODIFIED_TIME = Comparator.comparing(Gap::getModifiedTime)
+    .thenComparing(Gap::getStart, UNSIGNED);
+
   private final AtomicLong min = new AtomicLong();
   private final AtomicLong max = new AtomicLong();
-  private final SortedSet<Gap> gapsList = new TreeSet<>();
+  // Guarded by gapsByStart. Every gap is in both indexes, and must be removed from both before it is modified.
+  private final NavigableMap<Long, Gap> gapsByStart = new TreeMap<>(UNSIGNED);
+  private final NavigableSet<Gap> gapsByModifiedTime = new TreeSet<>(BY_MODIFIED_TIME);
+  private final Clock clock;
   private boolean firstSeqNum = true;
+  private long lastModifiedMillis = Long.MIN_VALUE;
+  private Instant lastModifiedTime;
 
   /**
    * Constructs the object, and sets the initial min and max range values.
@@ -29,10 +52,32 @@ public class GapList {
    * @param min initial minimum range value of sequence numbers from received frames
    * @param max initial maximum range value of sequence numbers from received frames
    */
+  public GapList(long min, long max) {
+    this(min, max, null, Clock.systemUTC());
+  }
+
+  /**
+   * Constructs the object from its persisted form.
+   *
+   * @param min minimum range value of sequence numbers from received frames
+   * @param max maximum range value of sequence numbers from received frames
+   * @param gapsList the gaps to restore, or null to start with a single gap covering the range
+   */
   @JsonCreator
-  public GapList(
+  GapList(
     @JsonProperty("min") long min,
-    @JsonProperty("max") long max) {
+    @JsonProperty("max") long max,
+    @JsonProperty("gapsList") SortedSet<Gap> gapsList) {
+    this(min, max, gapsList, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  GapList(long min, long max, SortedSet<Gap> gapsList, Clock clock) {
+    this(min, max, gapsList, clock, clock.millis(), true);
+  }
+
+  private GapList(long min, long max, Collection<Gap> gapsList, Clock clock, long createdMillis,
+    boolean awaitingFirstSequenceNumber) {
     Validate.isTrue(
       Long.compareUnsigned(min, max) <= 0,
       "Minimum value must be less than or equal to the maximum value; min: "
@@ -41,13 +86,43 @@ public class GapList {
     // Set the min and max values.
     this.min.set(min);
     this.max.set(max);
+    this.clock = clock;
 
-    // Create the first gap.
-    synchronized (gapsList) {
-      this.gapsList.add(new Gap(min, max));
+    synchronized (gapsByStart) {
+      this.firstSeqNum = awaitingFirstSequenceNumber;
+      if (gapsList == null) {
+        // Create the first gap.
+        insertGap(new Gap(min, max, timeAt(createdMillis)));
+      } else {
+        gapsList.forEach(this::insertGap);
+      }
     }
   }
 
+  /**
+   * Creates an empty gap list, covering every sequence number, whose single gap was created at the given time.
+   *
+   * @param createdMillis creation time, in milliseconds since the epoch
+   * @return the new gap list
+   */
+  static GapList createdAt(long createdMillis) {
+    return new GapList(0, -1, null, Clock.systemUTC(), createdMillis, true);
+  }
+
+  /**
+   * Restores a gap list exactly as it was, including whether it had received its first sequence number.
+   *
+   * @param min minimum range value of sequence numbers from received frames
+   * @param max maximum range value of sequence numbers from received frames
+   * @param gapsList the gaps to restore
+   * @param awaitingFirstSequenceNumber true if no sequence number had been added to the gap list
+   * @return the restored gap list
+   */
+  static GapList restore(long min, long max, Collection<Gap> gapsList, boolean awaitingFirstSequenceNumber) {
+    var clock = Clock.systemUTC();
+    return new GapList(min, max, gapsList, clock, clock.millis(), awaitingFirstSequenceNumber);
+  }
+
   /**
    * Fills in the gap list with the given value.
    *
@@ -55,9 +130,20 @@ public class GapList {
    * @return If a gap was found and filled
    */
   boolean addValue(long value) {
-    synchronized (gapsList) {
+    return addValue(value, clock.millis());
+  }
+
+  /**
+   * Fills in the gap list with the given value, recording the given time as the modified time of any changed gaps.
+   *
+   * @param value Value to fill in.
+   * @param modifiedMillis Time of the change, in milliseconds since the epoch
+   * @return If a gap was found and filled
+   */
+  boolean addValue(long value, long modifiedMillis) {
+    synchronized (gapsByStart) {
       // Check if there are no gaps.
-      if (this.gapsList.isEmpty()) {
+      if (this.gapsByStart.isEmpty()) {
         return false;
       }
 
@@ -75,57 +161,44 @@ public class GapList {
           this.max.set(value);
         }
       }
-      // Check if the value falls within a gap.
-      Optional<Gap> matchedGap = this.gapsList.stream().filter(x -> x.contains(value)).findFirst();
-      matchedGap.ifPresent(gap -> fillGap(gap, value));
-      return matchedGap.isPresent();
-    }
-  }
 
-  private void fillGap(Gap gap, long value) {
-
-    synchronized (gapsList) {
-      // SCENARIO 1: Check if the gap was simply eliminated.
-      if ((Long.compareUnsigned(gap.getStart(), value) == 0) && (
-        Long.compareUnsigned(gap.getEnd(), value)
-          == 0)) {
-        // Remove the gap from the gapsList.
-        this.gapsList.remove(gap);
-      }
-
-      // SCENARIO 2: Check if the gap's lower limit needs to be incremented.
-      else if (Long.compareUnsigned(gap.getStart(), value) == 0) {
-        gap.setStart(gap.getStart() + 1);
-
-        // Update the gap's "modified" time.
-        gap.setModifiedTime(Instant.now());
+      // Check if the value falls within a gap; only the gap with the greatest start <= value can contain it.
+      Map.Entry<Long, Gap> candidate = this.gapsByStart.floorEntry(value);
+      if (candidate == null || !candidate.getValue().contains(value)) {
+        return false;
       }
 
-      // SCENARIO 3: Check if the gap's upper limit needs to be decremented.
-      else if (Long.compareUnsigned(gap.getEnd(), value) == 0) {
-        gap.setEnd(gap.getEnd() - 1);
-
-        // Update the gap's "modified" time.
-        gap.setModifiedTime(Instant.now());
-      }
+      fillGap(candidate.getValue(), value, timeAt(modifiedMillis));
+      return true;
+    }
+  }
 
-      // SCENARIO 4: Check if the gap needs to be split into two gaps.
-      else {
-        var now = Instant.now();
+  private void fillGap(Gap gap, long value, Instant now) {
+    removeGap(gap);
 
-        // Store the current end value of the gap.
-        long oldEnd = gap.getEnd();
+    // SCENARIO 1: Check if the gap was simply eliminated.
+    if (gap.getStart() == value && gap.getEnd() == value) {
+      return;
+    }
 
-        // Modify the existing gap to span the range of the lower split.
-        gap.setEnd(value - 1);
+    // SCENARIO 2: Check if the gap's lower limit needs to be incremented.
+    if (gap.getStart() == value) {
+      gap.setStart(value + 1);
+    }
 
-        // Update the existing gap's "modified" time.
-        gap.setModifiedTime(now);
+    // SCENARIO 3: Check if the gap's upper limit needs to be decremented.
+    else if (gap.getEnd() == value) {
+      gap.setEnd(value - 1);
+    }
 
-        // Add a new gap to span the range of the upper split.
-        this.gapsList.add(new Gap(value + 1, oldEnd, now));
-      }
+    // SCENARIO 4: Split the gap into two gaps; the existing gap spans the lower split.
+    else {
+      insertGap(new Gap(value + 1, gap.getEnd(), now));
+      gap.setEnd(value - 1);
     }
+
+    gap.setModifiedTime(now);
+    insertGap(gap);
   }
 
   /**
@@ -143,47 +216,32 @@ public class GapList {
       "End value must be greater than or equal to the current minimum.");
     Validate.isTrue(Long.compareUnsigned(endValue, this.max.get()) <= 0,
       "End value must be less than or equal to the current maximum.");
+    Validate.isTrue(Long.compareUnsigned(startValue, endValue) <= 0,
+      "Start value must be less than or equal to the end value.");
 
-    synchronized (gapsList) {
-      // Check if there are no gaps.
-      if (this.gapsList.isEmpty()) {
-        return;
-      }
+    synchronized (gapsByStart) {
+      // Only gaps starting at or after the gap containing startValue, and no later than endValue, can overlap.
+      Long fromKey = this.gapsByStart.floorKey(startValue);
+      List<Gap> overlapping = new ArrayList<>(
+        this.gapsByStart.subMap(fromKey == null ? startValue : fromKey, true, endValue, true).values());
 
-      // Modify or remove existing gaps that fall within the specified range.
-      var now = Instant.now();
-      List<Gap> removeList = new ArrayList<>();
-      List<Gap> adjustList = new ArrayList<>();
-      for (Gap gap : this.gapsList) {
+      var now = timeAt(clock.millis());
+      for (Gap gap : overlapping) {
         if (Long.compareUnsigned(gap.getEnd(), startValue) < 0) {
-          // Leave these gaps along, since they occur before the specified range.
-        } else if (Long.compareUnsigned(gap.getStart(), endValue) > 0) {
-          // Skip all gaps past this point, since they will all occur after the specified range.
-          break;
-        } else if (Long.compareUnsigned(gap.getStart(), startValue) >= 0 &&
-          Long.compareUnsigned(gap.getEnd(), endValue) <= 0) {
-          // Remove these gaps entirely, since their full range fits inside the specified range.
-          removeList.add(gap);
-        } else if (Long.compareUnsigned(gap.getStart(), startValue) < 0 &&
-          Long.compareUnsigned(gap.getEnd(), endValue) > 0) {
-          // This gap spans both before the start and after end of the specified range. It must be split.
-          removeList.add(gap);
-          adjustList.add(new Gap(gap.getStart(), startValue - 1, now));
-          adjustList.add(new Gap(endValue + 1, gap.getEnd(), now));
-        } else if (Long.compareUnsigned(gap.getStart(), startValue) < 0 &&
-          Long.compareUnsigned(gap.getEnd(), endValue) <= 0) {
+          // Leave this gap alone, since it occurs before the specified range.
+          continue;
+        }
+
+        removeGap(gap);
+        if (Long.compareUnsigned(gap.getStart(), startValue) < 0) {
           // This gap spans before the start of the specified range, and must be adjusted.
-          removeList.add(gap);
-          adjustList.add(new Gap(gap.getStart(), startValue - 1, now));
-        } else if (Long.compareUnsigned(gap.getStart(), startValue) >= 0 &&
-          Long.compareUnsigned(gap.getEnd(), endValue) > 0) {
+          insertGap(new Gap(gap.getStart(), startValue - 1, now));
+        }
+        if (Long.compareUnsigned(gap.getEnd(), endValue) > 0) {
           // This gap spans after the end of the specified range, and must be adjusted.
-          removeList.add(gap);
-          adjustList.add(new Gap(endValue + 1, gap.getEnd(), now));
+          insertGap(new Gap(endValue + 1, gap.getEnd(), now));
         }
       }
-      removeList.forEach(this.gapsList::remove);
-      this.gapsList.addAll(adjustList);
     }
   }
 
@@ -211,9 +269,7 @@ public class GapList {
    * @return Immutable copy of the currently used gapList
    */
   public SortedSet<Gap> getGapsList() {
-    synchronized (gapsList) {
-      return ImmutableSortedSet.copyOfSorted(this.gapsList);
-    }
+    return ImmutableSortedSet.copyOf(copyGaps());
   }
 
   /**
@@ -223,8 +279,8 @@ public class GapList {
    */
   @JsonIgnore
   public int getTotalGaps() {
-    synchronized (gapsList) {
-      return this.gapsList.size();
+    synchronized (gapsByStart) {
+      return this.gapsByStart.size();
     }
   }
 
@@ -234,9 +290,11 @@ public class GapList {
    * @param expiration expiration time
    */
   void removeGapsModifiedBefore(Instant expiration) {
-    synchronized (gapsList) {
-      this.gapsList.removeIf(x ->
-        x.getModifiedTime().isBefore(expiration));
+    synchronized (gapsByStart) {
+      while (!this.gapsByModifiedTime.isEmpty()
+        && this.gapsByModifiedTime.first().getModifiedTime().isBefore(expiration)) {
+        removeGap(this.gapsByModifiedTime.first());
+      }
     }
   }
 
@@ -258,9 +316,9 @@ public class GapList {
    */
   ArrayList<ImmutablePair<Long, Long>> getGaps(
     boolean exclusiveStart, boolean exclusiveEnd) {
-    synchronized (gapsList) {
-      ArrayList<ImmutablePair<Long, Long>> gapRanges = new ArrayList<>();
-      for (Gap gap : this.gapsList) {
+    synchronized (gapsByStart) {
+      ArrayList<ImmutablePair<Long, Long>> gapRanges = new ArrayList<>(this.gapsByStart.size());
+      for (Gap gap : this.gapsByStart.values()) {
         long lower = (exclusiveStart) ? gap.getStart() - 1 : gap.getStart();
         long upper;
         //If upper is Max unsigned, leave it
@@ -284,6 +342,52 @@ public class GapList {
     return Long.compareUnsigned(-1, val) == 0;
   }
 
+  private void insertGap(Gap gap) {
+    Gap previous = this.gapsByStart.put(gap.getStart(), gap);
+    Validate.isTrue(previous == null, "Range pairs overlap.");
+    this.gapsByModifiedTime.add(gap);
+  }
+
+  private void removeGap(Gap gap) {
+    this.gapsByStart.remove(gap.getStart());
+    this.gapsByModifiedTime.remove(gap);
+  }
+
+  /*
+    Gaps are only ever expired on the scale of minutes, so a millisecond clock is plenty, and consecutive fills within
+    the same millisecond share one Instant.
+   */
+  private Instant timeAt(long millis) {
+    if (millis != lastModifiedMillis) {
+      lastModifiedMillis = millis;
+      lastModifiedTime = Instant.ofEpochMilli(millis);
+    }
+    return lastModifiedTime;
+  }
+
+  /**
+   * Returns true until the first sequence number is added, at which point min and max snap to that value.
+   *
+   * @return true if no sequence number has been added to the gap list
+   */
+  boolean isAwaitingFirstSequenceNumber() {
+    synchronized (gapsByStart) {
+      return firstSeqNum;
+    }
+  }
+
+  /*
+    Copies of the gaps, in order, so callers can never modify a gap out from under the indexes.
+   */
+  List<Gap> copyGaps() {
+    synchronized (gapsByStart) {
+      List<Gap> gaps = new ArrayList<>(this.gapsByStart.size());
+      this.gapsByStart.values()
+        .forEach(gap -> gaps.add(new Gap(gap.getStart(), gap.getEnd(), gap.getModifiedTime())));
+      return gaps;
+    }
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -295,12 +399,12 @@ public class GapList {
     var gapList = (GapList) o;
     return min.get() == gapList.min.get() &&
       max.get() == gapList.max.get() &&
-      Objects.equals(gapsList, gapList.gapsList);
+      Objects.equals(copyGaps(), gapList.copyGaps());
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(min.get(), max.get(), gapsList);
+    return Objects.hash(min.get(), max.get(), copyGaps());
   }
 
   @Override
@@ -308,7 +412,7 @@ public class GapList {
     return "GapList{" +
       "min=" + min.get() +
       ", max=" + max.get() +
-      ", gapsList=" + gapsList +
+      ", gapsList=" + copyGaps() +
       '}';
   }
 }
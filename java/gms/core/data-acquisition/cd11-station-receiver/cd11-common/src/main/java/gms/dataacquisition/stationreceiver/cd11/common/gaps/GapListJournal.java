@@ -0,0 +1,37 @@
+package gms.dataacquisition.stationreceiver.cd11.common.gaps;
+
+import java.util.function.Supplier;
+
+/**
+ * Records the changes made to a {@link Cd11GapList}, so its state can be rebuilt by replaying them.
+ */
+interface GapListJournal {
+
+  /**
+   * Journal that records nothing, for gap lists that are not persisted incrementally.
+   */
+  GapListJournal NONE = new GapListJournal() {
+    @Override
+    public <T> T record(GapJournalEntry entry, Supplier<T> change) {
+      return change.get();
+    }
+  };
+
+  /**
+   * Applies a change to the gap list and records the entry describing it. Implementations must apply and record each
+   * change atomically with respect to other changes, so the journal order matches the order the changes were made in.
+   *
+   * @param entry entry that reproduces the change when replayed
+   * @param change the change to apply
+   * @param <T> result type of the change
+   * @return the result of the change
+   */
+  <T> T record(GapJournalEntry entry, Supplier<T> change);
+
+  default void record(GapJournalEntry entry, Runnable change) {
+    record(entry, () -> {
+      change.run();
+      return null;
+    });
+  }
+}
@@ -0,0 +1,104 @@
+package gms.dataacquisition.stationreceiver.cd11.common.gaps;
+
+import gms.dataacquisition.stationreceiver.cd11.common.CRC64;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Compact binary form of a {@link GapList}, used for gap state snapshots. The layout is
+ * <pre>
+ *   int magic, byte version, byte flags, long journal generation, long min, long max, int gap count,
+ *   gap count * (long start, long end, long modified epoch second, int modified nanos),
+ *   long CRC64 of everything before it
+ * </pre>
+ * The journal generation is the first journal whose entries are not reflected in the snapshot.
+ */
+final class GapListSnapshot {
+
+  private static final int MAGIC = 0x47415053; // "GAPS"
+  private static final byte VERSION = 1;
+  private static final byte AWAITING_FIRST_SEQUENCE_NUMBER = 1;
+  private static final int HEADER_SIZE = Integer.BYTES + 2 + 3 * Long.BYTES + Integer.BYTES;
+  private static final int GAP_SIZE = 3 * Long.BYTES + Integer.BYTES;
+
+  private final GapList gapList;
+  private final long journalGeneration;
+
+  private GapListSnapshot(GapList gapList, long journalGeneration) {
+    this.gapList = gapList;
+    this.journalGeneration = journalGeneration;
+  }
+
+  GapList getGapList() {
+    return gapList;
+  }
+
+  long getJournalGeneration() {
+    return journalGeneration;
+  }
+
+  /**
+   * Encodes a gap list. The caller must ensure the gap list is not changed while it is being encoded.
+   *
+   * @param gapList gap list to encode
+   * @param journalGeneration first journal generation not reflected in the gap list
+   * @return the encoded snapshot
+   */
+  static byte[] encode(GapList gapList, long journalGeneration) {
+    List<Gap> gaps = gapList.copyGaps();
+    var buffer = ByteBuffer.allocate(HEADER_SIZE + gaps.size() * GAP_SIZE + Long.BYTES)
+      .putInt(MAGIC)
+      .put(VERSION)
+      .put(gapList.isAwaitingFirstSequenceNumber() ? AWAITING_FIRST_SEQUENCE_NUMBER : 0)
+      .putLong(journalGeneration)
+      .putLong(gapList.getMin())
+      .putLong(gapList.getMax())
+      .putInt(gaps.size());
+    for (Gap gap : gaps) {
+      buffer.putLong(gap.getStart())
+        .putLong(gap.getEnd())
+        .putLong(gap.getModifiedTime().getEpochSecond())
+        .putInt(gap.getModifiedTime().getNano());
+    }
+    buffer.putLong(CRC64.compute(buffer.array(), buffer.position()));
+    return buffer.array();
+  }
+
+  /**
+   * Decodes a snapshot
+   *
+   * @param buffer buffer whose remaining bytes are an encoded snapshot
+   * @return the decoded snapshot
+   * @throws IllegalArgumentException if the bytes are not a valid snapshot
+   */
+  static GapListSnapshot decode(ByteBuffer buffer) {
+    checkArgument(buffer.remaining() >= HEADER_SIZE + Long.BYTES, "Gap list snapshot is truncated");
+    var body = buffer.duplicate();
+    body.limit(body.limit() - Long.BYTES);
+    checkArgument(CRC64.compute(body) == buffer.getLong(buffer.limit() - Long.BYTES),
+      "Gap list snapshot failed its CRC check");
+
+    checkArgument(body.getInt() == MAGIC, "Not a gap list snapshot");
+    var version = body.get();
+    checkArgument(version == VERSION, "Unsupported gap list snapshot version %s", version);
+    var flags = body.get();
+    var journalGeneration = body.getLong();
+    var min = body.getLong();
+    var max = body.getLong();
+    var gapCount = body.getInt();
+    checkArgument(gapCount >= 0 && body.remaining() == (long) gapCount * GAP_SIZE,
+      "Gap list snapshot gap count %s does not match its length", gapCount);
+
+    List<Gap> gaps = new ArrayList<>(gapCount);
+    for (var i = 0; i < gapCount; i++) {
+      gaps.add(new Gap(body.getLong(), body.getLong(), Instant.ofEpochSecond(body.getLong(), body.getInt())));
+    }
+    var gapList = GapList.restore(min, max, gaps, (flags & AWAITING_FIRST_SEQUENCE_NUMBER) != 0);
+    return new GapListSnapshot(gapList, journalGeneration);
+  }
+}
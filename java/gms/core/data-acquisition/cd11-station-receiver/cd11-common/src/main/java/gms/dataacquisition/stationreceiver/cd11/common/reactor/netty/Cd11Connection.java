@@ -44,7 +44,7 @@ public class Cd11Connection {
   public Cd11Connection(@Nullable String stationName, NettyInbound inbound, NettyOutbound outbound,
     Empty<Void> completionSink) {
     this.inbound = inbound.withConnection(x ->
-      x.addHandlerFirst(new FrameParsingDecoder()));
+      x.addHandlerFirst(new FrameParsingDecoder(true)));
     this.outbound = outbound;
     this.completionSink = completionSink;
 
@@ -75,14 +75,15 @@ public class Cd11Connection {
 
   /**
    * Receives packets from the tcp inbound and parses them into Cd11Frames. Note that this parsing
-   * includes the different types of frames each Cd11Frame can represent.
+   * includes the different types of frames each Cd11Frame can represent. Frames are parsed directly
+   * from the inbound {@link io.netty.buffer.ByteBuf}s, which are released by reactor netty once
+   * parsing completes; parsed frames hold no references to them.
    *
    * @return Flux of parsed Cd11Frames of all incoming types.
    */
   public Flux<Cd11OrMalformedFrame> receive() {
     return inbound
       .receive()
-      .asByteBuffer()
       .map(Cd11FrameReader::readFrame)
       .onErrorContinue((e, obj) -> logger.error(
         "Inbound frame construction failed. Handling here to avoid canceling subscription. Returned object: {}",
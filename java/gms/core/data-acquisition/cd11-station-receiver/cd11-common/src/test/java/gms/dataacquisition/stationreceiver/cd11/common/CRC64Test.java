@@ -0,0 +1,116 @@
+package gms.dataacquisition.stationreceiver.cd11.common;
+
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Frame;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11PayloadFixtures;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CRC64Test {
+
+  private static final Random RANDOM = new Random(4242L);
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 7, 8, 9, 15, 16, 17, 63, 64, 65, 1000, 4096, 100_003})
+  void testComputeMatchesReference(int length) {
+    byte[] bytes = randomBytes(length);
+    long expected = ReferenceCRC64.compute(bytes, length);
+
+    assertEquals(expected, CRC64.compute(bytes));
+    assertEquals(expected, CRC64.compute(bytes, length));
+    assertEquals(expected, CRC64.compute(ByteBuffer.wrap(bytes)));
+    assertEquals(expected, CRC64.compute(ByteBuffer.allocateDirect(length).put(bytes).flip()));
+    assertEquals(expected, CRC64.compute(ByteBuffer.allocateDirect(length).order(ByteOrder.LITTLE_ENDIAN)
+      .put(bytes).flip()));
+    assertEquals(expected, CRC64.compute(Unpooled.wrappedBuffer(bytes)));
+
+    ByteBuf direct = Unpooled.directBuffer(length).writeBytes(bytes);
+    assertEquals(expected, CRC64.compute(direct));
+    assertEquals(0, direct.readerIndex());
+    direct.release();
+  }
+
+  @Test
+  void testComputeRespectsBufferBounds() {
+    byte[] bytes = randomBytes(200);
+    long expected = ReferenceCRC64.compute(Arrays.copyOfRange(bytes, 13, 150), 137);
+
+    ByteBuffer heap = ByteBuffer.wrap(bytes, 13, 137);
+    assertEquals(expected, CRC64.compute(heap));
+    assertEquals(13, heap.position());
+    assertEquals(expected, CRC64.compute(ByteBuffer.wrap(bytes, 13, 137).slice()));
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(200).put(bytes);
+    direct.position(13).limit(150);
+    assertEquals(expected, CRC64.compute(direct));
+
+    assertEquals(expected, CRC64.compute(Unpooled.wrappedBuffer(bytes).setIndex(13, 150)));
+  }
+
+  @Test
+  void testAccumulatorMatchesReferenceAcrossArbitrarySplits() {
+    byte[] bytes = randomBytes(10_000);
+    long expected = ReferenceCRC64.compute(bytes, bytes.length);
+
+    var accumulator = CRC64.accumulator();
+    var offset = 0;
+    var chunk = 0;
+    while (offset < bytes.length) {
+      var length = Math.min(RANDOM.nextInt(50), bytes.length - offset);
+      switch (chunk++ % 4) {
+        case 0:
+          accumulator.update(bytes, offset, length);
+          break;
+        case 1:
+          accumulator.update(ByteBuffer.allocateDirect(length).put(bytes, offset, length).flip());
+          break;
+        case 2:
+          accumulator.update(Unpooled.wrappedBuffer(bytes, offset, length));
+          break;
+        default:
+          for (var i = offset; i < offset + length; i++) {
+            accumulator.update(bytes[i]);
+          }
+      }
+      offset += length;
+    }
+
+    assertEquals(expected, accumulator.getValue());
+
+    accumulator.reset();
+    assertEquals(0L, accumulator.getValue());
+  }
+
+  @Test
+  void testIsValidCrcOfFrame() {
+    Cd11Frame frame = Cd11FrameFactory.createDefault().wrap(Cd11PayloadFixtures.cd11Data(), 1L);
+    byte[] frameBytes = frame.toBytes();
+    long commVerification = frame.getTrailer().getCommVerification();
+
+    assertTrue(FrameUtilities.isValidCRC(ByteBuffer.wrap(frameBytes), commVerification));
+    assertTrue(FrameUtilities.isValidCRC(ByteBuffer.allocateDirect(frameBytes.length).put(frameBytes).flip(),
+      commVerification));
+    assertFalse(FrameUtilities.isValidCRC(ByteBuffer.wrap(frameBytes), commVerification + 1));
+
+    byte[] copy = frameBytes.clone();
+    assertTrue(FrameUtilities.isValidCRC(copy, frame));
+    assertEquals(ByteBuffer.wrap(frameBytes), ByteBuffer.wrap(copy));
+  }
+
+  private static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    RANDOM.nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -2,18 +2,33 @@ package gms.dataacquisition.stationreceiver.cd11.common;
 
 import gms.dataacquisition.stationreceiver.cd11.common.Cd11OrMalformedFrame.Kind;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Acknack;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ChannelSubframe;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ChannelSubframeView;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Data;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Frame;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Header;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11PayloadFixtures;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Payload;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Trailer;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.FrameHeaderTestUtility;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.FrameTrailerTestUtility;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 
 import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class Cd11FrameReaderTests {
 
@@ -95,4 +110,88 @@ class Cd11FrameReaderTests {
     Cd11OrMalformedFrame frame = Cd11FrameReader.readFrame(failureFrame);
     assertEquals(Kind.MALFORMED, frame.getKind());
   }
-}
\ No newline at end of file
+
+  @ParameterizedTest
+  @MethodSource("byteBufSource")
+  void testReadFrameFromByteBufMatchesByteBuffer(Function<byte[], ByteBuf> toByteBuf) {
+    Cd11Frame dataFrame = Cd11FrameFactory.createDefault().wrap(Cd11PayloadFixtures.cd11Data(), 1L);
+    byte[] frameBytes = dataFrame.toBytes();
+    ByteBuf byteBuf = toByteBuf.apply(frameBytes);
+    int readerIndex = byteBuf.readerIndex();
+
+    try {
+      Cd11OrMalformedFrame fromByteBuf = Cd11FrameReader.readFrame(byteBuf);
+      Cd11OrMalformedFrame fromByteBuffer = Cd11FrameReader.readFrame(ByteBuffer.wrap(frameBytes));
+
+      assertEquals(Kind.CD11, fromByteBuf.getKind());
+      assertEquals(fromByteBuffer.cd11(), fromByteBuf.cd11());
+      assertEquals(dataFrame, fromByteBuf.cd11());
+      assertEquals(readerIndex, byteBuf.readerIndex());
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("byteBufSource")
+  void testReadMalformedFrameFromByteBufCopiesBytes(Function<byte[], ByteBuf> toByteBuf) {
+    byte[] failureBytes = failureFrame.array();
+    ByteBuf byteBuf = toByteBuf.apply(failureBytes);
+
+    try {
+      Cd11OrMalformedFrame frame = Cd11FrameReader.readFrame(byteBuf);
+      assertEquals(Kind.MALFORMED, frame.getKind());
+      assertArrayEquals(failureBytes, frame.malformed().getBytes());
+    } finally {
+      byteBuf.release();
+    }
+  }
+
+  static Stream<Arguments> byteBufSource() {
+    Function<byte[], ByteBuf> heap = Unpooled::wrappedBuffer;
+    Function<byte[], ByteBuf> direct = bytes -> Unpooled.directBuffer(bytes.length).writeBytes(bytes);
+    // Pooled buffers share a larger backing array/memory region, with the frame at a non-zero offset
+    Function<byte[], ByteBuf> pooledSlice = bytes -> {
+      ByteBuf pooled = PooledByteBufAllocator.DEFAULT.heapBuffer(bytes.length + 16);
+      pooled.writeZero(16).writeBytes(bytes).skipBytes(16);
+      return pooled;
+    };
+    return Stream.of(
+      Arguments.arguments(heap),
+      Arguments.arguments(direct),
+      Arguments.arguments(pooledSlice));
+  }
+
+  @Test
+  void testReadChannelSubframeViews() {
+    Cd11Data data = Cd11PayloadFixtures.cd11Data();
+    Cd11Frame dataFrame = Cd11FrameFactory.createDefault().wrap(data, 1L);
+    ByteBuffer frameBytes = ByteBuffer.wrap(dataFrame.toBytes());
+
+    List<Cd11ChannelSubframeView> views = Cd11FrameReader.readChannelSubframeViews(frameBytes);
+
+    assertEquals(data.getChannelSubframes().size(), views.size());
+    for (var i = 0; i < views.size(); i++) {
+      Cd11ChannelSubframeView view = views.get(i);
+      Cd11ChannelSubframe expected = data.getChannelSubframes().get(i);
+
+      assertEquals(expected, view.toChannelSubframe());
+      assertEquals(expected.getSize(), view.getSize());
+      assertEquals(expected.siteName, view.getSiteName());
+      assertEquals(expected.channelName, view.getChannelName());
+      assertEquals(expected.locationName, view.getLocationName());
+      assertEquals(expected.timeStamp, view.getTimeStamp());
+      assertEquals(expected.samples, view.getSamples());
+      assertEquals(expected.cd11DataFormat, view.getCd11DataFormat());
+      assertEquals(ByteBuffer.wrap(expected.channelStatusData), view.getChannelStatusData());
+      assertEquals(ByteBuffer.wrap(expected.channelData), view.getChannelData());
+      assertEquals(ByteBuffer.wrap(expected.authValue), view.getAuthValue());
+      assertEquals(expected.authKeyIdentifier, view.getAuthKeyIdentifier());
+    }
+  }
+
+  @Test
+  void testReadChannelSubframeViewsRejectsNonDataFrame() {
+    assertThrows(IllegalArgumentException.class, () -> Cd11FrameReader.readChannelSubframeViews(frameBuffer));
+  }
+}
@@ -1,11 +1,13 @@
 package gms.dataacquisition.stationreceiver.cd11.common;
 
+import com.google.common.primitives.Bytes;
 import gms.dataacquisition.stationreceiver.cd11.common.enums.FrameType;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Header;
 import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Trailer;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.EmptyByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -130,4 +132,24 @@ class FrameParsingDecoderTest {
     assertEquals(minimalFrameSize, ((byte[]) objectList.get(0)).length);
     assertEquals(garbageBytes.length, directBuffer.readableBytes());
   }
+
+  @Test
+  void testDecodeRetainedSlices() {
+    var header = Cd11Header.create(FrameType.ALERT, HEADER_SIZE, "CREATOR", "DEST", 999L, 1);
+    var trailer = Cd11Trailer.from(1, 4, "TEST".getBytes(), 1L);
+    byte[] frameBytes = Bytes.concat(header.toBytes(), trailer.toBytes());
+    byte[] garbageBytes = "SOME DANG OL' GARBAGE".getBytes();
+
+    ByteBuf inBuffer = buffer().writeBytes(frameBytes).writeBytes(garbageBytes);
+    new FrameParsingDecoder(true).decode(channelHandlerContext, inBuffer, objectList);
+
+    ByteBuf frame = (ByteBuf) objectList.get(0);
+    assertEquals(frameBytes.length, frame.readableBytes());
+    assertEquals(Unpooled.wrappedBuffer(frameBytes), frame);
+    assertEquals(2, inBuffer.refCnt());
+    assertEquals(garbageBytes.length, inBuffer.readableBytes());
+
+    frame.release();
+    assertEquals(1, inBuffer.refCnt());
+  }
 }
@@ -0,0 +1,33 @@
+package gms.dataacquisition.stationreceiver.cd11.common;
+
+/**
+ * The original byte-at-a-time CRC64 implementation, kept as a reference for equivalence tests and
+ * benchmarks of {@link CRC64}.
+ */
+public final class ReferenceCRC64 {
+
+  private static final long[] tvec = new long[256];
+
+  static {
+    long crcPoly = 0x1BL;
+    for (int i = 0; i < 256; i++) {
+      tvec[i] = 0;
+      for (int j = 7; j >= 0; j--) {
+        if ((i & (1 << j)) != 0) {
+          tvec[i] ^= (crcPoly << j);
+        }
+      }
+    }
+  }
+
+  private ReferenceCRC64() {
+  }
+
+  public static long compute(byte[] b, int len) {
+    var crc = 0L;
+    for (var i = 0; i < len; i++) {
+      crc = tvec[(int) ((crc >> 56) & 0xffL)] ^ (crc << 8 | (((long) (b[i])) & 0xffL));
+    }
+    return crc;
+  }
+}
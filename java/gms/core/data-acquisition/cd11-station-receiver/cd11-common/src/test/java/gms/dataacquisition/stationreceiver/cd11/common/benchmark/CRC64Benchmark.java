@@ -0,0 +1,84 @@
+package gms.dataacquisition.stationreceiver.cd11.common.benchmark;
+
+import gms.dataacquisition.stationreceiver.cd11.common.CRC64;
+import gms.dataacquisition.stationreceiver.cd11.common.ReferenceCRC64;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the original byte-at-a-time CRC64 with the slice-by-8 {@link CRC64} over data frames
+ * sized like those of a 3 element and a 30 element 40 Hz array.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CRC64Benchmark {
+
+  @Param({"3", "30"})
+  private int channels;
+
+  private byte[] frameBytes;
+  private ByteBuffer directFrame;
+  private ByteBuf directByteBuf;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    frameBytes = Cd11BenchmarkFrames.dataFrameBytes(channels, 40);
+    directFrame = ByteBuffer.allocateDirect(frameBytes.length).put(frameBytes).flip();
+    directByteBuf = Unpooled.directBuffer(frameBytes.length).writeBytes(frameBytes);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    directByteBuf.release();
+  }
+
+  @Benchmark
+  public long referenceByteArray() {
+    return ReferenceCRC64.compute(frameBytes, frameBytes.length);
+  }
+
+  @Benchmark
+  public long sliceBy8ByteArray() {
+    return CRC64.compute(frameBytes);
+  }
+
+  @Benchmark
+  public long sliceBy8DirectByteBuffer() {
+    return CRC64.compute(directFrame);
+  }
+
+  @Benchmark
+  public long sliceBy8DirectByteBuf() {
+    return CRC64.compute(directByteBuf);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(CRC64Benchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+}
@@ -0,0 +1,73 @@
+package gms.dataacquisition.stationreceiver.cd11.common.benchmark;
+
+import gms.dataacquisition.stationreceiver.cd11.common.Cd11FrameFactory;
+import gms.dataacquisition.stationreceiver.cd11.common.FrameUtilities;
+import gms.dataacquisition.stationreceiver.cd11.common.enums.Cd11DataFormat;
+import gms.dataacquisition.stationreceiver.cd11.common.enums.CompressionFormat;
+import gms.dataacquisition.stationreceiver.cd11.common.enums.SensorType;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ChannelSubframe;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ChannelSubframeHeader;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Data;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Frame;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Builds CD-1.1 data frames shaped like those sent by operational arrays, for use in benchmarks.
+ */
+public class Cd11BenchmarkFrames {
+
+  private static final Instant NOMINAL_TIME = Instant.parse("2021-06-01T00:00:00Z");
+  private static final int FRAME_TIME_LENGTH_MS = 10_000;
+
+  private Cd11BenchmarkFrames() {
+  }
+
+  /**
+   * Creates the bytes of a 10 second data frame of uncompressed S4 samples
+   *
+   * @param channels number of channel subframes in the frame
+   * @param sampleRate samples per second of every channel
+   * @return the serialized frame
+   */
+  public static byte[] dataFrameBytes(int channels, int sampleRate) {
+    return dataFrame(channels, sampleRate).toBytes();
+  }
+
+  public static Cd11Frame dataFrame(int channels, int sampleRate) {
+    var random = new Random(channels * 31L + sampleRate);
+    var samples = sampleRate * FRAME_TIME_LENGTH_MS / 1000;
+    var statusBytes = new byte[32];
+    var authBytes = new byte[40];
+    random.nextBytes(statusBytes);
+    random.nextBytes(authBytes);
+
+    List<Cd11ChannelSubframe> subframes = new ArrayList<>(channels);
+    var channelString = new StringBuilder();
+    for (var i = 0; i < channels; i++) {
+      var dataBytes = new byte[samples * Integer.BYTES];
+      random.nextBytes(dataBytes);
+      var siteName = String.format("EL%03d", i);
+      var size = Cd11ChannelSubframe.MINIMUM_FRAME_LENGTH + statusBytes.length + dataBytes.length + authBytes.length;
+      subframes.add(new Cd11ChannelSubframe(size - Integer.BYTES, size - authBytes.length - 3 * Integer.BYTES, true,
+        CompressionFormat.NONE, SensorType.SEISMIC, false, siteName, "SHZ", "00", Cd11DataFormat.S4, 1.0f, 1.0f,
+        NOMINAL_TIME, FRAME_TIME_LENGTH_MS, samples, statusBytes.length, statusBytes, dataBytes.length, dataBytes,
+        0, 1, authBytes.length, authBytes));
+      channelString.append(FrameUtilities.padToLength(siteName, 5))
+        .append("SHZ")
+        .append("00");
+    }
+
+    var header = new Cd11ChannelSubframeHeader(channels, FRAME_TIME_LENGTH_MS, NOMINAL_TIME, channelString.length(),
+      channelString.toString());
+    var data = Cd11Data.builder()
+      .setChanSubframeHeader(header)
+      .setChannelSubframes(subframes)
+      .build();
+
+    return Cd11FrameFactory.createDefault().wrap(data, 1L);
+  }
+}
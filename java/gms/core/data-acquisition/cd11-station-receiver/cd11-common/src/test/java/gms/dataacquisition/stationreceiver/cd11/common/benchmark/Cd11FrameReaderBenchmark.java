@@ -0,0 +1,107 @@
+package gms.dataacquisition.stationreceiver.cd11.common.benchmark;
+
+import gms.dataacquisition.stationreceiver.cd11.common.Cd11FrameReader;
+import gms.dataacquisition.stationreceiver.cd11.common.Cd11OrMalformedFrame;
+import gms.dataacquisition.stationreceiver.cd11.common.Cd11PayloadReader;
+import gms.dataacquisition.stationreceiver.cd11.common.FrameUtilities;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11ChannelSubframeView;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Frame;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Header;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Payload;
+import gms.dataacquisition.stationreceiver.cd11.common.frames.Cd11Trailer;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares allocation and time per frame of the CD-1.1 frame decoding paths. {@code copyingDecode} reproduces the
+ * original path (decoder copies the frame into a byte[], the reader copies the body, subframes copy their fields),
+ * {@code byteBufDecode} is the path now used by {@code Cd11Connection}, and {@code subframeViews} is the flyweight
+ * accessor path.
+ * <p>
+ * Run with the GC profiler (reported as gc.alloc.rate.norm, in bytes per frame) using the main method from the test
+ * runtime classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Cd11FrameReaderBenchmark {
+
+  @Param({"3", "30"})
+  private int channels;
+
+  @Param({"40"})
+  private int sampleRate;
+
+  private ByteBuf directFrame;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    byte[] frameBytes = Cd11BenchmarkFrames.dataFrameBytes(channels, sampleRate);
+    directFrame = PooledByteBufAllocator.DEFAULT.directBuffer(frameBytes.length).writeBytes(frameBytes);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    directFrame.release();
+  }
+
+  @Benchmark
+  public Cd11Frame copyingDecode() {
+    var frameBytes = new byte[directFrame.readableBytes()];
+    directFrame.getBytes(directFrame.readerIndex(), frameBytes);
+    var buf = ByteBuffer.wrap(frameBytes);
+
+    Cd11Header header = Cd11Header.read(buf);
+    byte[] bodyBytes = FrameUtilities.readBytes(buf, header.getTrailerOffset() - Cd11Header.FRAME_LENGTH);
+    Cd11Payload payload = Cd11PayloadReader.tryReadPayload(header.getFrameType(), ByteBuffer.wrap(bodyBytes));
+    Cd11Trailer trailer = Cd11Trailer.read(buf);
+    return Cd11Frame.builder()
+      .setHeader(header)
+      .setPayload(payload)
+      .setTrailer(trailer)
+      .build();
+  }
+
+  @Benchmark
+  public Cd11OrMalformedFrame byteBufDecode() {
+    return Cd11FrameReader.readFrame(directFrame);
+  }
+
+  @Benchmark
+  public List<Cd11ChannelSubframeView> subframeViews() {
+    return Cd11FrameReader.readChannelSubframeViews(
+      directFrame.nioBuffer(directFrame.readerIndex(), directFrame.readableBytes()));
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(Cd11FrameReaderBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build())
+      .run();
+  }
+}
@@ -14,7 +14,9 @@ import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -116,4 +118,63 @@ class Cd11GapListUtilityTest {
       .verify();
   }
 
+  @Test
+  void testJournaledPersistAndLoad(@TempDir Path tempDir) throws IOException {
+    var storagePath = tempDir.toString() + "/";
+    var legacyPath = Paths.get(storagePath + "test.json");
+    GapList legacy = new GapList(0, -1);
+    legacy.addValue(5);
+    objectMapper.findAndRegisterModules();
+    objectMapper.writeValue(Files.newOutputStream(legacyPath), legacy);
+
+    var gapListUtility = Cd11GapListUtility.createJournaled(storagePath, ".json");
+    var cd11GapList = gapListUtility.loadGapState("test");
+    assertEquals(legacy, cd11GapList.getGapList());
+    cd11GapList.processSequenceNumber(10).block();
+
+    StepVerifier.create(gapListUtility.persistGapState("test", cd11GapList.getGapList()))
+      .verifyComplete();
+    assertFalse(Files.exists(legacyPath));
+    assertTrue(Files.exists(Paths.get(storagePath + "test" + FileGapListJournal.SNAPSHOT_EXTENSION)));
+    cd11GapList.processSequenceNumber(20).block();
+
+    var reloaded = Cd11GapListUtility.createJournaled(storagePath, ".json").loadGapState("test");
+    assertEquals(cd11GapList.getGapList(), reloaded.getGapList());
+
+    StepVerifier.create(gapListUtility.clearGapState("test"))
+      .verifyComplete();
+    assertFalse(Files.exists(Paths.get(storagePath + "test" + FileGapListJournal.SNAPSHOT_EXTENSION)));
+  }
+
+  @Test
+  void testJournaledPersistCompactsOnlyPastThreshold(@TempDir Path tempDir) throws IOException {
+    var storagePath = tempDir.toString() + "/";
+    var snapshotPath = Paths.get(storagePath + "test" + FileGapListJournal.SNAPSHOT_EXTENSION);
+
+    var gapListUtility = Cd11GapListUtility.createJournaled(storagePath, ".json", Long.MAX_VALUE);
+    var cd11GapList = gapListUtility.loadGapState("test");
+    cd11GapList.processSequenceNumber(5).block();
+    StepVerifier.create(gapListUtility.persistGapState("test", cd11GapList.getGapList()))
+      .verifyComplete();
+    var snapshot = Files.readAllBytes(snapshotPath);
+
+    // Below the threshold the changes stay in the journal, and the snapshot is left alone
+    cd11GapList.processSequenceNumber(10).block();
+    StepVerifier.create(gapListUtility.persistGapState("test", cd11GapList.getGapList()))
+      .verifyComplete();
+    assertArrayEquals(snapshot, Files.readAllBytes(snapshotPath));
+
+    var reloadingUtility = Cd11GapListUtility.createJournaled(storagePath, ".json", 1);
+    var reloaded = reloadingUtility.loadGapState("test");
+    assertEquals(cd11GapList.getGapList(), reloaded.getGapList());
+
+    reloaded.processSequenceNumber(20).block();
+    StepVerifier.create(reloadingUtility.persistGapState("test", reloaded.getGapList()))
+      .verifyComplete();
+    assertFalse(Arrays.equals(snapshot, Files.readAllBytes(snapshotPath)));
+    try (var files = Files.list(tempDir)) {
+      assertEquals(2, files.count(), "Expected only the snapshot and the current journal");
+    }
+  }
+
 }
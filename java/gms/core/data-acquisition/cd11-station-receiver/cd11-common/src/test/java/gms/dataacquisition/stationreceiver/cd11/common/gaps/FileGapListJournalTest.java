@@ -0,0 +1,217 @@
+package gms.dataacquisition.stationreceiver.cd11.common.gaps;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FileGapListJournalTest {
+
+  private static final Function<Path, Optional<GapList>> NO_LEGACY_STATE = path -> Optional.empty();
+
+  @Test
+  void testSnapshotRoundTrip() {
+    var gapList = new GapList(0, -1);
+    for (long value : new long[]{5, 10, 11, 20, -2}) {
+      gapList.addValue(value);
+    }
+
+    var snapshot = GapListSnapshot.decode(ByteBuffer.wrap(GapListSnapshot.encode(gapList, 7)));
+
+    assertEquals(7, snapshot.getJournalGeneration());
+    assertEquals(gapList, snapshot.getGapList());
+    assertEquals(gapList.getGapsList(), snapshot.getGapList().getGapsList());
+    assertFalse(snapshot.getGapList().isAwaitingFirstSequenceNumber());
+  }
+
+  @Test
+  void testSnapshotRejectsCorruption() {
+    byte[] encoded = GapListSnapshot.encode(new GapList(0, 100), 0);
+    encoded[encoded.length / 2] ^= 1;
+
+    assertThrows(IllegalArgumentException.class, () -> GapListSnapshot.decode(ByteBuffer.wrap(encoded)));
+  }
+
+  @Test
+  void testJournalEntryRoundTrip() {
+    var buffer = ByteBuffer.allocate(GapJournalEntry.SIZE * 3);
+    var entries = new GapJournalEntry[]{
+      GapJournalEntry.sequenceNumber(-1, 1234),
+      GapJournalEntry.expiration(Instant.ofEpochSecond(10, 5)),
+      GapJournalEntry.reset(99)};
+    for (GapJournalEntry entry : entries) {
+      entry.write(buffer);
+    }
+    buffer.flip();
+
+    var read = new GapJournalEntry[entries.length];
+    for (int i = 0; i < read.length; i++) {
+      read[i] = GapJournalEntry.read(buffer);
+    }
+    assertArrayEquals(entries, read);
+  }
+
+  @Test
+  void testRecoverReplaysJournalWithoutSnapshot(@TempDir Path tempDir) throws IOException {
+    var basePath = tempDir.resolve("STA");
+    var journal = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+    var live = journal.getCd11GapList();
+    live.processSequenceNumber(5).block();
+    live.processSequenceNumber(10).block();
+    live.processSequenceNumber(20).block();
+    live.processSequenceNumber(15).block();
+    live.removeExpiredGaps(Duration.ofDays(1)).block();
+    journal.close();
+
+    var recovered = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+
+    assertEquals(live.getGapList(), recovered.getCd11GapList().getGapList());
+    assertArrayEquals(live.getGaps(), recovered.getCd11GapList().getGaps());
+    assertFalse(Files.exists(tempDir.resolve("STA" + FileGapListJournal.SNAPSHOT_EXTENSION)));
+    recovered.close();
+  }
+
+  @Test
+  void testRecoverAfterReset(@TempDir Path tempDir) throws IOException {
+    var basePath = tempDir.resolve("STA");
+    var journal = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+    var live = journal.getCd11GapList();
+    live.processSequenceNumber(5).block();
+    live.processSequenceNumber(10).block();
+    live.resetGapsList().block();
+    journal.close();
+
+    var recovered = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+
+    assertEquals(live.getGapList(), recovered.getCd11GapList().getGapList());
+    assertTrue(recovered.getCd11GapList().getGapList().isAwaitingFirstSequenceNumber());
+    recovered.close();
+  }
+
+  @Test
+  void testCompactThenRecover(@TempDir Path tempDir) throws IOException {
+    var basePath = tempDir.resolve("STA");
+    var journal = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+    var live = journal.getCd11GapList();
+    live.processSequenceNumber(5).block();
+    live.processSequenceNumber(10).block();
+    journal.compact();
+    live.processSequenceNumber(20).block();
+    journal.close();
+
+    try (var files = Files.list(tempDir)) {
+      assertEquals(2, files.count(), "Expected only the snapshot and the current journal");
+    }
+
+    var recovered = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+
+    assertEquals(live.getGapList(), recovered.getCd11GapList().getGapList());
+    assertArrayEquals(live.getGaps(), recovered.getCd11GapList().getGaps());
+    recovered.close();
+  }
+
+  @Test
+  void testShouldCompactCountsJournalEntriesSinceSnapshot(@TempDir Path tempDir) throws IOException {
+    var basePath = tempDir.resolve("STA");
+    var journal = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+    assertTrue(journal.shouldCompact(Long.MAX_VALUE), "Expected a gap list without a snapshot to compact");
+
+    journal.compact();
+    assertFalse(journal.shouldCompact(1));
+
+    journal.getCd11GapList().processSequenceNumber(5).block();
+    assertTrue(journal.shouldCompact(1));
+    assertFalse(journal.shouldCompact(Long.MAX_VALUE));
+    journal.close();
+
+    var recovered = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+    assertTrue(recovered.shouldCompact(1), "Expected replayed entries to count towards compaction");
+    assertFalse(recovered.shouldCompact(Long.MAX_VALUE));
+    recovered.compact();
+    assertFalse(recovered.shouldCompact(1));
+    recovered.close();
+  }
+
+  @Test
+  void testRecoverIgnoresTornEntry(@TempDir Path tempDir) throws IOException {
+    var basePath = tempDir.resolve("STA");
+    var journal = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+    var live = journal.getCd11GapList();
+    live.processSequenceNumber(5).block();
+    live.processSequenceNumber(10).block();
+    journal.close();
+
+    var expected = new GapList(0, -1);
+    expected.addValue(5);
+    expected.addValue(10);
+    Files.write(tempDir.resolve("STA.0" + FileGapListJournal.JOURNAL_EXTENSION),
+      new byte[GapJournalEntry.SIZE - 1], StandardOpenOption.APPEND);
+
+    var recovered = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+
+    assertEquals(expected, recovered.getCd11GapList().getGapList());
+    recovered.close();
+  }
+
+  @Test
+  void testRecoverMigratesLegacyState(@TempDir Path tempDir) throws IOException {
+    var basePath = tempDir.resolve("STA");
+    var legacyPath = tempDir.resolve("STA.json");
+    Files.createFile(legacyPath);
+    var legacy = new GapList(0, -1);
+    legacy.addValue(5);
+    legacy.addValue(10);
+
+    var journal = FileGapListJournal.recover(basePath, legacyPath, path -> Optional.of(legacy));
+    assertEquals(legacy, journal.getCd11GapList().getGapList());
+    journal.getCd11GapList().processSequenceNumber(20).block();
+    journal.compact();
+    journal.close();
+
+    assertFalse(Files.exists(legacyPath));
+    var recovered = FileGapListJournal.recover(basePath, legacyPath, NO_LEGACY_STATE);
+    assertEquals(journal.getCd11GapList().getGapList(), recovered.getCd11GapList().getGapList());
+    recovered.close();
+  }
+
+  @Test
+  void testRecoverFallsBackFromCorruptSnapshot(@TempDir Path tempDir) throws IOException {
+    var basePath = tempDir.resolve("STA");
+    Files.write(tempDir.resolve("STA" + FileGapListJournal.SNAPSHOT_EXTENSION), new byte[]{1, 2, 3});
+
+    var journal = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+
+    assertEquals(new GapList(0, -1), journal.getCd11GapList().getGapList());
+    journal.close();
+  }
+
+  @Test
+  void testClear(@TempDir Path tempDir) throws IOException {
+    var basePath = tempDir.resolve("STA");
+    var journal = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+    journal.getCd11GapList().processSequenceNumber(5).block();
+    journal.compact();
+    journal.getCd11GapList().processSequenceNumber(10).block();
+    journal.clear();
+    journal.close();
+
+    assertFalse(Files.exists(tempDir.resolve("STA" + FileGapListJournal.SNAPSHOT_EXTENSION)));
+    var recovered = FileGapListJournal.recover(basePath, tempDir.resolve("STA.json"), NO_LEGACY_STATE);
+    assertEquals(new GapList(0, -1), recovered.getCd11GapList().getGapList());
+    recovered.close();
+  }
+}
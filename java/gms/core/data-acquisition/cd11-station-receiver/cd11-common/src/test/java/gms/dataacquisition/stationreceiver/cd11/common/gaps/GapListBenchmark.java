@@ -0,0 +1,121 @@
+package gms.dataacquisition.stationreceiver.cd11.common.gaps;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a million sequence numbers through a {@link GapList}, reporting the time per sequence number. Lives alongside
+ * GapList rather than in the benchmark package so it can drive {@link GapList#addValue(long)} without the logging and
+ * Mono wrapping of {@link Cd11GapList}.
+ * <ul>
+ *   <li>{@code IN_ORDER}: every frame arrives, in order</li>
+ *   <li>{@code REORDERED}: every frame arrives, shuffled within windows of 64 frames</li>
+ *   <li>{@code FLAPPING}: one frame in a hundred is lost and only arrives, in random order, after all of the others,
+ *   so the gap list grows to thousands of entries before the retransmissions fill it back in</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GapListBenchmark {
+
+  private static final int SEQUENCE_NUMBERS = 1_000_000;
+  private static final int REORDER_WINDOW = 64;
+  private static final int LOSS_PERCENT = 1;
+
+  public enum Scenario {
+    IN_ORDER,
+    REORDERED,
+    FLAPPING
+  }
+
+  @Param
+  private Scenario scenario;
+
+  private long[] sequenceNumbers;
+  private GapList gapList;
+
+  @Setup(Level.Trial)
+  public void setUpSequenceNumbers() {
+    var random = new Random(1234L);
+    sequenceNumbers = new long[SEQUENCE_NUMBERS];
+    for (var i = 0; i < SEQUENCE_NUMBERS; i++) {
+      sequenceNumbers[i] = i;
+    }
+
+    switch (scenario) {
+      case REORDERED:
+        for (var start = 0; start < SEQUENCE_NUMBERS; start += REORDER_WINDOW) {
+          shuffle(sequenceNumbers, start, Math.min(start + REORDER_WINDOW, SEQUENCE_NUMBERS), random);
+        }
+        break;
+      case FLAPPING:
+        var lost = Arrays.stream(sequenceNumbers).filter(seq -> random.nextInt(100) < LOSS_PERCENT).toArray();
+        var lostIndex = 0;
+        var received = 0;
+        for (var seq = 0L; seq < SEQUENCE_NUMBERS; seq++) {
+          if (lostIndex < lost.length && lost[lostIndex] == seq) {
+            lostIndex++;
+          } else {
+            sequenceNumbers[received++] = seq;
+          }
+        }
+        shuffle(lost, 0, lost.length, random);
+        System.arraycopy(lost, 0, sequenceNumbers, received, lost.length);
+        break;
+      default:
+        break;
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpGapList() {
+    gapList = new GapList(0, -1);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(SEQUENCE_NUMBERS)
+  public GapList replay() {
+    for (long sequenceNumber : sequenceNumbers) {
+      gapList.addValue(sequenceNumber);
+    }
+    return gapList;
+  }
+
+  private static void shuffle(long[] values, int from, int to, Random random) {
+    for (var i = to - 1; i > from; i--) {
+      var j = from + random.nextInt(i - from + 1);
+      var value = values[i];
+      values[i] = values[j];
+      values[j] = value;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(GapListBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+}
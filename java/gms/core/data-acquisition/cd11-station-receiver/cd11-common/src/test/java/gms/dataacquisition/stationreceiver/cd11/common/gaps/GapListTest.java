@@ -10,14 +10,21 @@ import org.junit.jupiter.api.Test;
 
 import java.io.File;
 import java.io.IOException;
+import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 class GapListTest {
 
@@ -307,6 +314,92 @@ class GapListTest {
     assertEquals(gp, deserialized);
   }
 
+  @Test
+  void testSerializedFormat() throws IOException {
+    GapList gp = new GapList(0, 100);
+    gp.addValue(25);
+
+    var json = objectMapper.readTree(objectMapper.writeValueAsString(gp));
+    assertEquals(List.of("min", "max", "gapsList"), iterableToList(json.fieldNames()));
+    assertEquals(2, json.get("gapsList").size());
+    var gap = json.get("gapsList").get(1);
+    assertEquals(26, gap.get("start").asLong());
+    assertEquals(100, gap.get("end").asLong());
+    assertTrue(gap.has("modifiedTime"));
+  }
+
+  @Test
+  void testAddValueMatchesModel() {
+    var random = new Random(17L);
+    for (var trial = 0; trial < 20; trial++) {
+      GapList gp = new GapList(0, 999);
+      var filled = new BitSet(1000);
+      for (var i = 0; i < 2000; i++) {
+        // Ranges must lie within the min and max seen so far.
+        long start = Math.max(gp.getMin(), random.nextInt(1000));
+        long end = Math.min(Math.min(999, gp.getMax()), start + random.nextInt(50));
+        if (random.nextInt(20) == 0 && i > 0 && start <= end) {
+          gp.addValueRange(start, end);
+          filled.set((int) start, (int) end + 1);
+        } else {
+          var value = random.nextInt(1100);
+          assertEquals(value < 1000 && !filled.get(value), gp.addValue(value));
+          if (value < 1000) {
+            filled.set(value);
+          }
+        }
+        assertEquals(modelGaps(filled, 1000), gp.getGaps());
+      }
+    }
+  }
+
+  @Test
+  void testRemoveGapsModifiedBeforeExpiresOnlyStaleGaps() {
+    var clock = mock(Clock.class);
+    when(clock.millis()).thenReturn(1_000L);
+    GapList gp = new GapList(0, 100, null, clock);
+
+    // Split into [0, 9], [11, 19], [21, 100], then touch only the last gap later on.
+    gp.addValue(10);
+    gp.addValue(20);
+    when(clock.millis()).thenReturn(5_000L);
+    gp.addValue(100);
+
+    gp.removeGapsModifiedBefore(Instant.ofEpochMilli(5_000L));
+    List<ImmutablePair<Long, Long>> gaps = gp.getGaps();
+    assertEquals(List.of(new ImmutablePair<>(21L, 99L)), gaps);
+    assertEquals(Instant.ofEpochMilli(5_000L), gp.getGapsList().first().getModifiedTime());
+
+    gp.removeGapsModifiedBefore(Instant.ofEpochMilli(5_001L));
+    assertEquals(0, gp.getTotalGaps());
+  }
+
+  @Test
+  void testGetGapsListReturnsCopies() {
+    GapList gp = new GapList(0, 100);
+    gp.getGapsList().first().setStart(50);
+
+    assertTrue(gp.addValue(0));
+    assertEquals(1, (long) gp.getGaps().get(0).getLeft());
+  }
+
+  private static List<ImmutablePair<Long, Long>> modelGaps(BitSet filled, int size) {
+    List<ImmutablePair<Long, Long>> gaps = new ArrayList<>();
+    var start = filled.nextClearBit(0);
+    while (start < size) {
+      var end = Math.min(filled.nextSetBit(start) < 0 ? size : filled.nextSetBit(start), size) - 1;
+      gaps.add(new ImmutablePair<>((long) start, (long) end));
+      start = filled.nextClearBit(end + 1);
+    }
+    return gaps;
+  }
+
+  private static List<String> iterableToList(Iterator<String> iterator) {
+    List<String> values = new ArrayList<>();
+    iterator.forEachRemaining(values::add);
+    return values;
+  }
+
   @Test
   void testGapListSynchronization() {
 
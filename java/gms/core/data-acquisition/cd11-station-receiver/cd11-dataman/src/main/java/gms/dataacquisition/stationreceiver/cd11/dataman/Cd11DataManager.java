@@ -104,7 +104,7 @@ public class Cd11DataManager {
   private TcpServer initializeDataConsumerServer(Cd11DataConsumerParameters consumerParameters) {
     int stationPort = consumerParameters.getPort();
     String stationName = consumerParameters.getStationName();
-    var gapListUtility = Cd11GapListUtility.create(dataManConfig.getGapListStoragePath(),
+    var gapListUtility = Cd11GapListUtility.createJournaled(dataManConfig.getGapListStoragePath(),
       GAP_LIST_STORAGE_FILE_EXTENSION);
     var stationGapList = gapListUtility.loadGapState(stationName);
     cd11GapListsByStation.put(stationName, stationGapList);
@@ -141,7 +141,7 @@ public class Cd11DataManager {
       () -> new IllegalStateException("Error Creating Cd11DataManager: No topic info found for RSDF"));
 
     SenderOptions<String, RawStationDataFrame> senderOptions = kafkaConfiguration
-      .<RawStationDataFrame>getSenderOptions(new CoiSerializer<>())
+      .<RawStationDataFrame>getSenderOptions(kafkaConfiguration.createCoiSerializer())
       .scheduler(Schedulers.boundedElastic())
       .stopOnError(false);
 
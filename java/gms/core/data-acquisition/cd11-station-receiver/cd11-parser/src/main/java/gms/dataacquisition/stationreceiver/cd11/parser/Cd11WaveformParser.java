@@ -18,9 +18,7 @@ import gms.utilities.waveformreader.WaveformReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.security.InvalidParameterException;
 import java.util.ArrayList;
@@ -157,20 +155,19 @@ public class Cd11WaveformParser {
     return channelSegments;
   }
 
-  private ChannelSegment<Waveform> parseWaveform(Cd11ChannelSubframe subframe, Channel channel)
-    throws IOException {
-    //Grab channel data, call waveform reader, which returns and int[] so convert it to double[]
-    InputStream waveformData = new ByteArrayInputStream(subframe.channelData);
-    double[] waveformValues;
+  private ChannelSegment<Waveform> parseWaveform(Cd11ChannelSubframe subframe, Channel channel) {
+    //Grab channel data and decode it straight into the waveform's samples
+    ByteBuffer waveformData = ByteBuffer.wrap(subframe.channelData);
+    double[] waveformValues = new double[subframe.samples];
     //No Compression, use what is in data type field
     if (subframe.compressionFormat == CompressionFormat.NONE) {
-      waveformValues = WaveformReader
-        .readSamples(waveformData, subframe.cd11DataFormat.toString(), subframe.samples, 0);
+      WaveformReader.decodeSamples(waveformData, subframe.cd11DataFormat.toString(), waveformValues, 0,
+        subframe.samples, 0);
     }
     //Canadian Compression, ignore data type field
     else if (subframe.compressionFormat == CompressionFormat.CANADIAN_BEFORE_SIGNATURE
       || subframe.compressionFormat == CompressionFormat.CANADIAN_AFTER_SIGNATURE) {
-      waveformValues = WaveformReader.readSamples(waveformData, "cc", subframe.samples, 0);
+      WaveformReader.decodeSamples(waveformData, "cc", waveformValues, 0, subframe.samples, 0);
     } else {
       throw new InvalidParameterException(
         "Unsupported compression format: " + subframe.compressionFormat);
@@ -0,0 +1,64 @@
+package gms.utilities.waveformreader;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Reads variable bit length integers, most significant bit first, from a {@link ByteBuffer}. This is the buffer based
+ * counterpart of {@link BitInputStream}, reading with absolute gets so the buffer is only moved by
+ * {@link #advance(ByteBuffer)}.
+ */
+final class BitReader {
+
+  private final ByteBuffer buffer;
+  private final int limit;
+  private int position;
+  private long cache;
+  private int cachedBits;
+
+  BitReader(ByteBuffer buffer) {
+    this(buffer, buffer.position());
+  }
+
+  BitReader(ByteBuffer buffer, int position) {
+    this.buffer = buffer;
+    this.position = position;
+    this.limit = buffer.limit();
+  }
+
+  /**
+   * Returns true if at least the given number of bits remain to be read.
+   */
+  boolean hasRemaining(int bits) {
+    return cachedBits + 8L * (limit - position) >= bits;
+  }
+
+  /**
+   * Read a 32 bit integer constructed from the next n bits of 2's complement data.
+   *
+   * @param bits number of bits to read (1 to 32)
+   * @param signed if true, sign extend the last bit.
+   * @throws IllegalArgumentException if fewer than bits remain in the buffer
+   */
+  int read(int bits, boolean signed) {
+    while (cachedBits < bits) {
+      if (position >= limit) {
+        throw new IllegalArgumentException("Waveform data ended in the middle of a sample");
+      }
+      cache = (cache << 8) | (buffer.get(position++) & 0xFF);
+      cachedBits += 8;
+    }
+
+    cachedBits -= bits;
+    long value = cache >>> cachedBits;
+    return signed
+      ? (int) ((value << (64 - bits)) >> (64 - bits))
+      : (int) (value & ((1L << bits) - 1));
+  }
+
+  /**
+   * Moves the position of the given buffer past every byte this reader has read from, including a partially read one.
+   */
+  void advance(ByteBuffer input) {
+    input.position(position);
+  }
+}
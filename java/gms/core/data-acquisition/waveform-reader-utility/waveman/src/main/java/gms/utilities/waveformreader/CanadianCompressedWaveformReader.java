@@ -5,9 +5,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
-public class CanadianCompressedWaveformReader implements WaveformReaderInterface {
+public class CanadianCompressedWaveformReader extends WaveformFormatReader {
 
   private static final Logger logger = LoggerFactory
     .getLogger(CanadianCompressedWaveformReader.class);
@@ -25,6 +26,24 @@ public class CanadianCompressedWaveformReader implements WaveformReaderInterface
 
   }
 
+  /**
+   * Decodes a (non interlaced) Canadian compressed waveform. As with {@link #read(InputStream, int, int)}, the
+   * compressed data is expected to hold exactly skip + numSamples samples.
+   */
+  @Override
+  int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    return CanadianCompression.decode(input, destination, null, offset, numSamples, skip);
+  }
+
+  /**
+   * Decodes a (non interlaced) Canadian compressed waveform. As with {@link #read(InputStream, int, int)}, the
+   * compressed data is expected to hold exactly skip + numSamples samples.
+   */
+  @Override
+  int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    return CanadianCompression.decode(input, null, destination, offset, numSamples, skip);
+  }
+
   private static class CanadianCompression {
 
     /*
@@ -73,6 +92,55 @@ public class CanadianCompressedWaveformReader implements WaveformReaderInterface
       return dataArray;
     }
 
+    /**
+     * Decodes a sequential compressed data stream of skip + numSamples samples in a single pass, undoing both
+     * differences as each sample is read rather than over the whole array afterwards. Samples are written to
+     * whichever of doubles and floats is non-null.
+     *
+     * @return number of samples written
+     */
+    static int decode(ByteBuffer input, double[] doubles, float[] floats, int offset, int numSamples, int skip) {
+      int totalSamples = skip + numSamples;
+      int numBlocks = (int) Math.ceil(totalSamples / ((double) SAMPLES_IN_BLOCK));
+
+      // Every index block is 16 bits, so they can be read in place instead of being collected up front
+      int indexStart = input.position();
+      int dataStart = indexStart + numBlocks * Short.BYTES;
+      if (totalSamples == 0 || input.limit() - dataStart < Integer.BYTES) {
+        return 0;
+      }
+
+      var bitReader = new BitReader(input, dataStart);
+      long current = bitReader.read(32, true);
+      long difference = 0;
+      var n = 0;
+
+      blocks:
+      for (var i = 0; i < numBlocks; i++) {
+        int index = ((input.get(indexStart + i * 2) & 0xFF) << 8) | (input.get(indexStart + i * 2 + 1) & 0xFF);
+        byte[] bitLengths = bitLengthsForCodes[index >>> 15];
+
+        for (var j = 0; j < GROUPS_IN_BLOCK; j++) {
+          int b = bitLengths[(index >>> (12 - 3 * j)) & 0x7];
+
+          for (var k = 0; k < SAMPLES_IN_GROUP && n < totalSamples; k++, n++) {
+            if (!bitReader.hasRemaining(b)) {
+              break blocks;
+            }
+
+            difference += bitReader.read(b, true);
+            if (n >= skip) {
+              WaveformDecoding.put(doubles, floats, offset + n - skip, current);
+            }
+            current += difference;
+          }
+        }
+      }
+
+      bitReader.advance(input);
+      return Math.max(0, n - skip);
+    }
+
     private static void readSequential(int numSamples, BitInputStream bitInputStream, int numBlocks,
       double[] data) throws IOException {
       //  Read the index blocks
@@ -6,11 +6,12 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
-public class Cm6WaveformReader implements WaveformReaderInterface {
+public class Cm6WaveformReader extends WaveformFormatReader {
   private static final Logger logger = LoggerFactory.getLogger(Cm6WaveformReader.class);
 
   /**
@@ -152,4 +153,81 @@ public class Cm6WaveformReader implements WaveformReaderInterface {
     return intList;
 
   }
+
+  @Override
+  int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    return decode(input, destination, null, offset, numSamples, skip);
+  }
+
+  @Override
+  int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    return decode(input, null, destination, offset, numSamples, skip);
+  }
+
+  /**
+   * Decodes CM6 characters straight from the buffer, restoring each value from its second differences as soon as it is
+   * complete rather than collecting every value first. Samples are written to whichever of doubles and floats is
+   * non-null, and decoding stops once skip + numSamples values have been read.
+   *
+   * @return number of samples written
+   */
+  private static int decode(ByteBuffer input, double[] doubles, float[] floats, int offset, int numSamples,
+    int skip) {
+
+    int totalSamples = skip + numSamples;
+    int position = input.position();
+    int limit = input.limit();
+    int cachedBytes = 0;
+    int value = 0;
+    boolean negative = false;
+    int previous = 0;
+    int beforePrevious = 0;
+    int n = 0;
+
+    while (n < totalSamples && position < limit) {
+      int currentChar = input.get(position++) & 0xFF;
+      // ignore newline, CR-return and blank characters, as in getIntList
+      if (currentChar == '\r' || currentChar == '\n' || currentChar == ' ') {
+        continue;
+      }
+
+      int mapped = currentChar < ichar.length ? ichar[currentChar] : -1;
+      if (mapped == -1) {
+        throw new IllegalArgumentException(String.format("Invalid ichar: %s", (char) currentChar));
+      }
+
+      if (cachedBytes == 0) {
+        negative = ((mapped >> 4) & 1) == 1;
+        value = mapped & N4M1;
+      } else {
+        value = (value << 5) + (mapped & N5M1);
+      }
+
+      if (++cachedBytes > 7) {
+        throw new IllegalArgumentException(String.format(">7 cached bytes: %d", cachedBytes));
+      }
+
+      if ((mapped & CONTROL_BIT) == CONTROL_BIT) {
+        continue;
+      }
+
+      // Restore the original value from its second difference
+      int sample = (negative ? -value : value) + 2 * previous - beforePrevious;
+      beforePrevious = previous;
+      previous = sample;
+      cachedBytes = 0;
+
+      if (n >= skip) {
+        WaveformDecoding.put(doubles, floats, offset + n - skip, sample);
+      }
+      n++;
+    }
+
+    if (cachedBytes != 0) {
+      throw new IllegalArgumentException("cached bytes not 0");
+    }
+
+    input.position(position);
+    return Math.max(0, n - skip);
+  }
 }
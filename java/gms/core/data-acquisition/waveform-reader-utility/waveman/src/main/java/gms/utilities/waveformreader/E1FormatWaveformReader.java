@@ -6,14 +6,19 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 /**
  * Code for reading waveform E1 compressed format.
  */
-public class E1FormatWaveformReader implements WaveformReaderInterface {
+public class E1FormatWaveformReader extends WaveformFormatReader {
 
   private static final Logger logger = LoggerFactory.getLogger(E1FormatWaveformReader.class);
 
+  // Size, number of samples, number of differences and check value
+  private static final int RECORD_HEADER_BITS = 64;
+
   /**
    * Reads the InputStream as an E1 waveform.
    */
@@ -137,5 +142,101 @@ public class E1FormatWaveformReader implements WaveformReaderInterface {
     return data;
   }
 
+  @Override
+  int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    return decode(input, destination, null, offset, numSamples, skip);
+  }
+
+  @Override
+  int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    return decode(input, null, destination, offset, numSamples, skip);
+  }
+
+  /**
+   * Decodes the records of an E1 waveform in a single pass. Rather than demapping each record into its own array and
+   * integrating it once per difference, every sample is passed through one running sum per difference as it is read,
+   * and written to whichever of doubles and floats is non-null.
+   *
+   * @return number of samples written
+   */
+  private static int decode(ByteBuffer input, double[] doubles, float[] floats, int offset, int numSamples,
+    int skip) {
+
+    var bitReader = new BitReader(input);
+    int totalSamples = numSamples + skip;
+    long[] sums = new long[0];
+
+    // Loop over each record
+    int recNum = 0;
+    while (recNum < totalSamples && bitReader.hasRemaining(RECORD_HEADER_BITS)) {
+      int compLength = bitReader.read(16, false) / 4 - 2;
+      int numSamp = bitReader.read(16, false);
+      int numDiff = bitReader.read(8, false);
+      int check = bitReader.read(24, true);
+
+      if (sums.length < numDiff) {
+        sums = new long[numDiff];
+      }
+      Arrays.fill(sums, 0, numDiff, 0);
+      long last = 0;
+
+      // Demap the data, see read(InputStream, int, int) for the bit map of each code
+      for (int i = 0, j = 0; j < numSamp; i++) {
+        int count;
+        int bits;
+        if (i >= compLength) {
+          // Samples missing from the record are zero differences, as they are when read from a stream
+          count = numSamp - j;
+          bits = 0;
+        } else if (bitReader.read(1, false) == 0) {
+          count = 7;
+          bits = 9;
+        } else if (bitReader.read(1, false) == 0) {
+          count = 3;
+          bits = 10;
+        } else {
+          switch (bitReader.read(2, false)) {
+            case 0:
+              count = 4;
+              bits = 7;
+              break;
+            case 1:
+              count = 5;
+              bits = 12;
+              break;
+            case 2:
+              count = 4;
+              bits = 15;
+              break;
+            default:
+              count = 1;
+              bits = 28;
+              break;
+          }
+        }
+
+        for (int k = 0; k < count && j < numSamp; k++, j++, recNum++) {
+          long value = bits == 0 ? 0 : bitReader.read(bits, true);
+          // Integrate the data
+          for (int d = 0; d < numDiff; d++) {
+            sums[d] += value;
+            value = sums[d];
+          }
+          last = value;
 
+          if (recNum >= skip && recNum < totalSamples) {
+            WaveformDecoding.put(doubles, floats, offset + recNum - skip, value);
+          }
+        }
+      }
+
+      // Check decompression
+      if (numSamp > 0 && check != last) {
+        logger.error("Error decompressing, check value ({}) does not match last value ({}).", check, last);
+      }
+    }
+
+    bitReader.advance(input);
+    return Math.max(0, Math.min(recNum, totalSamples) - skip);
+  }
 }
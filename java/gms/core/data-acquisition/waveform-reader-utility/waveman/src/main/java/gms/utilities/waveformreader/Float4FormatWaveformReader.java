@@ -5,11 +5,14 @@ import org.apache.commons.lang3.Validate;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 
 /**
  * Code for reading waveform format 'f4', VAX single precision real (4 bytes).
  */
-public class Float4FormatWaveformReader implements WaveformReaderInterface {
+public class Float4FormatWaveformReader extends WaveformFormatReader {
 
   private static final int VAX_SINGLE_BIAS = 0x81;
 
@@ -61,9 +64,16 @@ public class Float4FormatWaveformReader implements WaveformReaderInterface {
    * @return ieee float
    */
   public static float vax2float(float f) {
-    int i = Float.floatToRawIntBits(f);
-    i = Integer.reverseBytes(i);
+    return vaxToIeee(Integer.reverseBytes(Float.floatToRawIntBits(f)));
+  }
 
+  /**
+   * Convert the bits of a VAX F float, read as a little endian int, to an ieee float
+   *
+   * @param i vax float bits
+   * @return ieee float
+   */
+  static float vaxToIeee(int i) {
     // Extract the sign (0=positive, 1=negative)
     int sign = ((i >> 15) & 0x1);
 
@@ -80,4 +90,27 @@ public class Float4FormatWaveformReader implements WaveformReaderInterface {
     return Float.intBitsToFloat(i);
   }
 
+  @Override
+  int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    IntBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.LITTLE_ENDIAN, Integer.BYTES, numSamples, skip)
+      .asIntBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = vaxToIeee(samples.get(i));
+    }
+    return count;
+  }
+
+  @Override
+  int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    IntBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.LITTLE_ENDIAN, Integer.BYTES, numSamples, skip)
+      .asIntBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = vaxToIeee(samples.get(i));
+    }
+    return count;
+  }
 }
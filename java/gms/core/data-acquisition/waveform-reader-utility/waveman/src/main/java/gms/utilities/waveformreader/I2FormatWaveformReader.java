@@ -0,0 +1,67 @@
+package gms.utilities.waveformreader;
+
+import org.apache.commons.lang3.Validate;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+
+/**
+ * Code for reading waveform format 'i2', VAX/Intel integer (2 bytes).
+ */
+public class I2FormatWaveformReader extends WaveformFormatReader {
+
+  /**
+   * Reads the InputStream as an I2 waveform.
+   *
+   * @param input the input stream to read from
+   * @param numSamples number of samples to read
+   * @param skip number of samples to skip
+   * @return digitizer counts from the waveform
+   * @throws IOException if there were issues reading from the input stream
+   */
+  @Override
+  public double[] read(InputStream input, int numSamples, int skip) throws IOException {
+    Validate.notNull(input);
+
+    long skipBytes = skip * (long) Short.BYTES;
+    if (input.skip(skipBytes) != skipBytes) {
+      throw new IOException("Skip resulted in error");
+    }
+
+    DataInputStream dis = new DataInputStream(input);
+
+    double[] data = new double[numSamples];
+    for (int i = 0; i < numSamples && dis.available() > 0; i++) {
+      data[i] = Short.reverseBytes(dis.readShort());
+    }
+    return data;
+  }
+
+  @Override
+  int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    ShortBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.LITTLE_ENDIAN, Short.BYTES, numSamples, skip)
+      .asShortBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = samples.get(i);
+    }
+    return count;
+  }
+
+  @Override
+  int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    ShortBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.LITTLE_ENDIAN, Short.BYTES, numSamples, skip)
+      .asShortBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = samples.get(i);
+    }
+    return count;
+  }
+}
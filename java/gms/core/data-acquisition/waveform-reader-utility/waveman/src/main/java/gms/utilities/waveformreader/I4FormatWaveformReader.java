@@ -7,8 +7,11 @@ import org.slf4j.LoggerFactory;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 
-public class I4FormatWaveformReader implements WaveformReaderInterface {
+public class I4FormatWaveformReader extends WaveformFormatReader {
 
   private static final Logger logger = LoggerFactory.getLogger(I4FormatWaveformReader.class);
 
@@ -38,4 +41,28 @@ public class I4FormatWaveformReader implements WaveformReaderInterface {
     return data;
 
   }
+
+  @Override
+  int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    IntBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.LITTLE_ENDIAN, Integer.BYTES, numSamples, skip)
+      .asIntBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = samples.get(i);
+    }
+    return count;
+  }
+
+  @Override
+  int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    IntBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.LITTLE_ENDIAN, Integer.BYTES, numSamples, skip)
+      .asIntBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = samples.get(i);
+    }
+    return count;
+  }
 }
@@ -5,11 +5,14 @@ import org.apache.commons.lang3.Validate;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
 
 /**
  * Code for reading waveform format 's2', SUN integer (2 bytes).
  */
-public class Sun2FormatWaveformReader implements WaveformReaderInterface {
+public class Sun2FormatWaveformReader extends WaveformFormatReader {
 
   /**
    * Reads the InputStream as an S3 waveform.
@@ -45,5 +48,27 @@ public class Sun2FormatWaveformReader implements WaveformReaderInterface {
     return data;
   }
 
+  @Override
+  int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    ShortBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.BIG_ENDIAN, Short.BYTES, numSamples, skip)
+      .asShortBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = samples.get(i);
+    }
+    return count;
+  }
 
+  @Override
+  int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    ShortBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.BIG_ENDIAN, Short.BYTES, numSamples, skip)
+      .asShortBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = samples.get(i);
+    }
+    return count;
+  }
 }
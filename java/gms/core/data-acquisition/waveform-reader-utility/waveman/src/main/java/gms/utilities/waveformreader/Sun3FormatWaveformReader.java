@@ -4,11 +4,15 @@ import org.apache.commons.lang3.Validate;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
 /**
  * Code for reading waveform format 's3', SUN integer (3 bytes).
  */
-public class Sun3FormatWaveformReader implements WaveformReaderInterface {
+public class Sun3FormatWaveformReader extends WaveformFormatReader {
+
+  private static final int SAMPLE_BYTES = 3;
 
   /**
    * Reads the InputStream as an S3 waveform.
@@ -43,4 +47,32 @@ public class Sun3FormatWaveformReader implements WaveformReaderInterface {
     return data;
   }
 
+  @Override
+  int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    ByteBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.BIG_ENDIAN, SAMPLE_BYTES, numSamples, skip);
+    int count = samples.remaining() / SAMPLE_BYTES;
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = readSample(samples, i * SAMPLE_BYTES);
+    }
+    return count;
+  }
+
+  @Override
+  int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    ByteBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.BIG_ENDIAN, SAMPLE_BYTES, numSamples, skip);
+    int count = samples.remaining() / SAMPLE_BYTES;
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = readSample(samples, i * SAMPLE_BYTES);
+    }
+    return count;
+  }
+
+  /**
+   * Reads the signed, big endian 3 byte sample starting at the given index
+   */
+  private static int readSample(ByteBuffer samples, int index) {
+    return (samples.get(index) << 16) | ((samples.get(index + 1) & 0xFF) << 8) | (samples.get(index + 2) & 0xFF);
+  }
 }
@@ -6,12 +6,15 @@ import org.apache.commons.lang3.Validate;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
 
 /**
  * Code for reading waveform format 's4', SUN integer (4 bytes). Implements FunctionalInterface
  * WaveformReaderInterface.
  */
-public class Sun4FormatWaveformReader implements WaveformReaderInterface {
+public class Sun4FormatWaveformReader extends WaveformFormatReader {
 
   /**
    * Reads the InputStream as an S4 waveform.
@@ -49,5 +52,28 @@ public class Sun4FormatWaveformReader implements WaveformReaderInterface {
 
     return data;
   }
-}
 
+  @Override
+  int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    IntBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.BIG_ENDIAN, Integer.BYTES, numSamples, skip)
+      .asIntBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = samples.get(i);
+    }
+    return count;
+  }
+
+  @Override
+  int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    IntBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.BIG_ENDIAN, Integer.BYTES, numSamples, skip)
+      .asIntBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = samples.get(i);
+    }
+    return count;
+  }
+}
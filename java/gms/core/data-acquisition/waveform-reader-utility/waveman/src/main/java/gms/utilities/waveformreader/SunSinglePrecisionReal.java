@@ -3,11 +3,14 @@ package gms.utilities.waveformreader;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
 
 /**
  * Code for reading waveform format 't4', SUN single precision real (4 bytes).
  */
-public class SunSinglePrecisionReal implements WaveformReaderInterface {
+public class SunSinglePrecisionReal extends WaveformFormatReader {
 
   /**
    * Reads the InputStream as an T4 waveform.
@@ -42,5 +45,25 @@ public class SunSinglePrecisionReal implements WaveformReaderInterface {
     return data;
   }
 
+  @Override
+  int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    FloatBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.BIG_ENDIAN, Float.BYTES, numSamples, skip)
+      .asFloatBuffer();
+    int count = samples.remaining();
+    for (int i = 0; i < count; i++) {
+      destination[offset + i] = samples.get(i);
+    }
+    return count;
+  }
 
+  @Override
+  int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    FloatBuffer samples = WaveformDecoding
+      .fixedWidthSamples(input, ByteOrder.BIG_ENDIAN, Float.BYTES, numSamples, skip)
+      .asFloatBuffer();
+    int count = samples.remaining();
+    samples.get(destination, offset, count);
+    return count;
+  }
 }
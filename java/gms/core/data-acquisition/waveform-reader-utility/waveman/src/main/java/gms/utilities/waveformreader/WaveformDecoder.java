@@ -0,0 +1,39 @@
+package gms.utilities.waveformreader;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Decodes a waveform directly from a {@link ByteBuffer} (heap, direct or memory mapped) into a caller supplied array,
+ * so that samples can be decoded without allocating a new array, or going through an InputStream, on every call.
+ * <p>
+ * Decoding starts at the buffer's position and ignores the buffer's byte order. The position is advanced past the
+ * bytes consumed, so consecutive calls decode consecutive samples.
+ */
+public interface WaveformDecoder {
+
+  /**
+   * Decodes a waveform into a double[].
+   *
+   * @param input the buffer to decode from
+   * @param destination the array to write samples to
+   * @param offset index of destination to write the first sample to
+   * @param numSamples number of samples to decode
+   * @param skip number of samples to skip before the first one written
+   * @return the number of samples written, which is less than numSamples if the buffer ran out of data first
+   * @throws IllegalArgumentException if the arguments are out of range, or the data is malformed
+   */
+  int decode(ByteBuffer input, double[] destination, int offset, int numSamples, int skip);
+
+  /**
+   * Decodes a waveform into a float[].
+   *
+   * @param input the buffer to decode from
+   * @param destination the array to write samples to
+   * @param offset index of destination to write the first sample to
+   * @param numSamples number of samples to decode
+   * @param skip number of samples to skip before the first one written
+   * @return the number of samples written, which is less than numSamples if the buffer ran out of data first
+   * @throws IllegalArgumentException if the arguments are out of range, or the data is malformed
+   */
+  int decode(ByteBuffer input, float[] destination, int offset, int numSamples, int skip);
+}
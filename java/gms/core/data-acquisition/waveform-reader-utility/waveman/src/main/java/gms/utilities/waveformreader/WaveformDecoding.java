@@ -0,0 +1,66 @@
+package gms.utilities.waveformreader;
+
+import org.apache.commons.lang3.Validate;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Shared argument checks and buffer handling for {@link WaveformDecoder} implementations.
+ */
+final class WaveformDecoding {
+
+  private WaveformDecoding() {
+  }
+
+  /**
+   * Validates the arguments common to every {@link WaveformDecoder} call.
+   *
+   * @param input the buffer to decode from
+   * @param destinationLength length of the array samples are written to
+   * @param offset index of the first sample written
+   * @param numSamples number of samples to decode
+   * @param skip number of samples to skip
+   */
+  static void checkArguments(ByteBuffer input, int destinationLength, int offset, int numSamples, int skip) {
+    Validate.notNull(input);
+    Validate.isTrue(numSamples >= 0, "Number of samples must be non-negative, was %d", numSamples);
+    Validate.isTrue(skip >= 0, "Number of samples to skip must be non-negative, was %d", skip);
+    Validate.isTrue(offset >= 0 && offset <= destinationLength - numSamples,
+      "Cannot write %d samples at offset %d of an array of length %d", numSamples, offset, destinationLength);
+  }
+
+  /**
+   * Creates a view of the fixed width samples to decode, in the given byte order, and advances the input past them.
+   *
+   * @param input the buffer to decode from
+   * @param order byte order of the samples
+   * @param sampleBytes width of each sample in bytes
+   * @param numSamples number of samples to decode
+   * @param skip number of samples to skip
+   * @return a view whose remaining bytes are the samples to decode, numSamples or fewer of them
+   */
+  static ByteBuffer fixedWidthSamples(ByteBuffer input, ByteOrder order, int sampleBytes, int numSamples, int skip) {
+    int available = input.remaining() / sampleBytes;
+    int skipped = Math.min(skip, available);
+    int count = Math.min(numSamples, available - skipped);
+
+    int start = input.position() + skipped * sampleBytes;
+    var samples = input.duplicate();
+    samples.position(start).limit(start + count * sampleBytes);
+    input.position(samples.limit());
+    return samples.slice().order(order);
+  }
+
+  /**
+   * Stores a decoded integer sample into whichever of the destination arrays is non-null, so variable length decoders
+   * can share a single decoding loop between the double[] and float[] APIs.
+   */
+  static void put(double[] doubles, float[] floats, int index, long sample) {
+    if (doubles != null) {
+      doubles[index] = sample;
+    } else {
+      floats[index] = sample;
+    }
+  }
+}
@@ -0,0 +1,36 @@
+package gms.utilities.waveformreader;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A reader for one waveform format, which reads the format from an InputStream and decodes it from a ByteBuffer.
+ * <p>
+ * The {@link WaveformDecoder} methods check their arguments once here and then call a decode loop specialised to the
+ * destination array type, so decoding allocates nothing per sample or per call beyond the format's buffer view.
+ */
+abstract class WaveformFormatReader implements WaveformReaderInterface, WaveformDecoder {
+
+  @Override
+  public final int decode(ByteBuffer input, double[] destination, int offset, int numSamples, int skip) {
+    WaveformDecoding.checkArguments(input, destination.length, offset, numSamples, skip);
+    return decodeChecked(input, destination, offset, numSamples, skip);
+  }
+
+  @Override
+  public final int decode(ByteBuffer input, float[] destination, int offset, int numSamples, int skip) {
+    WaveformDecoding.checkArguments(input, destination.length, offset, numSamples, skip);
+    return decodeChecked(input, destination, offset, numSamples, skip);
+  }
+
+  /**
+   * Decodes a waveform into a double[], with the same contract as
+   * {@link WaveformDecoder#decode(ByteBuffer, double[], int, int, int)}, whose arguments have already been checked.
+   */
+  abstract int decodeChecked(ByteBuffer input, double[] destination, int offset, int numSamples, int skip);
+
+  /**
+   * Decodes a waveform into a float[], with the same contract as
+   * {@link WaveformDecoder#decode(ByteBuffer, float[], int, int, int)}, whose arguments have already been checked.
+   */
+  abstract int decodeChecked(ByteBuffer input, float[] destination, int offset, int numSamples, int skip);
+}
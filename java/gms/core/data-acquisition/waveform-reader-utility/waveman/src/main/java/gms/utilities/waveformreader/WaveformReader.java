@@ -5,8 +5,11 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Map;
 
+import static java.util.Map.entry;
+
 public class WaveformReader {
 
   private WaveformReader() {
@@ -14,20 +17,20 @@ public class WaveformReader {
 
   private static final Logger logger = LoggerFactory.getLogger(WaveformReader.class);
 
-  // Mapping from Format to WaveformReader.  This gives a WaveformReader that can be used to read
-  // a particular Format of waveform.
-  private static final Map<FormatCode, WaveformReaderInterface> formatReaders = Map.of(
-    FormatCode.F4, new Float4FormatWaveformReader(),
-    FormatCode.S3, new Sun3FormatWaveformReader(),
-    FormatCode.S4, new Sun4FormatWaveformReader(),
-    FormatCode.I4, new I4FormatWaveformReader(),
-    FormatCode.CD, new CanadianCompressedWaveformReader(),
-    FormatCode.CC, new CanadianCompressedWaveformReader(),
-    FormatCode.E1, new E1FormatWaveformReader(),
-    FormatCode.CM6, new Cm6WaveformReader(),
-    FormatCode.T4, new SunSinglePrecisionReal(),
-    FormatCode.S2, new Sun2FormatWaveformReader());
-
+  // Mapping from Format to the reader for it, which reads that Format of waveform from an InputStream and decodes it
+  // from a ByteBuffer.
+  private static final Map<FormatCode, WaveformFormatReader> formatReaders = Map.ofEntries(
+    entry(FormatCode.F4, new Float4FormatWaveformReader()),
+    entry(FormatCode.S3, new Sun3FormatWaveformReader()),
+    entry(FormatCode.S4, new Sun4FormatWaveformReader()),
+    entry(FormatCode.I4, new I4FormatWaveformReader()),
+    entry(FormatCode.I2, new I2FormatWaveformReader()),
+    entry(FormatCode.CD, new CanadianCompressedWaveformReader()),
+    entry(FormatCode.CC, new CanadianCompressedWaveformReader()),
+    entry(FormatCode.E1, new E1FormatWaveformReader()),
+    entry(FormatCode.CM6, new Cm6WaveformReader()),
+    entry(FormatCode.T4, new SunSinglePrecisionReal()),
+    entry(FormatCode.S2, new Sun2FormatWaveformReader()));
 
   /**
    * Calls the proper waveform reader and reads the data bytes
@@ -74,6 +77,38 @@ public class WaveformReader {
    * there is no WaveformReader for it.
    */
   public static WaveformReaderInterface readerFor(String fc) {
+    return formatReaderFor(fc);
+  }
+
+  /**
+   * Calls the proper waveform decoder to decode samples from a buffer into an existing array
+   *
+   * @param input buffer of data bytes, read from its position
+   * @param format the format code, e.g. 's4' or 'b#'.
+   * @param destination array to write the samples to
+   * @param offset index of destination to write the first sample to
+   * @param samplesToRead number of samples to read
+   * @param skip number of samples to skip
+   * @return the number of samples written to destination
+   * @see WaveformDecoder#decode(ByteBuffer, double[], int, int, int)
+   */
+  public static int decodeSamples(ByteBuffer input, String format, double[] destination, int offset,
+    int samplesToRead, int skip) {
+    return decoderFor(format).decode(input, destination, offset, samplesToRead, skip);
+  }
+
+  /**
+   * Looks up a WaveformDecoder corresponding to the given format code (CSS 3.0).
+   *
+   * @param fc the format code, e.g. 's4' or 'b#'.
+   * @return WaveformDecoder for the given format code
+   * @throws IllegalArgumentException if the format code is unknown or there is no WaveformDecoder for it.
+   */
+  public static WaveformDecoder decoderFor(String fc) {
+    return formatReaderFor(fc);
+  }
+
+  private static WaveformFormatReader formatReaderFor(String fc) {
     FormatCode format = FormatCode.fcFromString(fc);
     if (format == null || !formatReaders.containsKey(format)) {
       String error = "Unsupported format: " + fc;
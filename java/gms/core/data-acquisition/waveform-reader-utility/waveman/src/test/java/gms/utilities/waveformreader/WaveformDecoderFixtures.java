@@ -0,0 +1,217 @@
+package gms.utilities.waveformreader;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+/**
+ * Synthetic waveforms, for the formats that have no test data files, shared by decoder tests and benchmarks.
+ */
+public class WaveformDecoderFixtures {
+
+  private static final String CM6_CHARACTERS = "+-0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+  private static final int CM6_LINE_LENGTH = 80;
+  private static final int[][] CANADIAN_BIT_LENGTHS = {{4, 6, 8, 10, 12, 14, 16, 18}, {4, 8, 12, 16, 20, 24, 28, 32}};
+  private static final int CANADIAN_GROUPS_IN_BLOCK = 5;
+  private static final int CANADIAN_SAMPLES_IN_GROUP = 4;
+
+  private WaveformDecoderFixtures() {
+  }
+
+  /**
+   * A random walk of the given number of samples, within the range of a short.
+   */
+  public static int[] samples(int numSamples) {
+    var random = new Random(numSamples);
+    var samples = new int[numSamples];
+    int value = 0;
+    for (int i = 0; i < numSamples; i++) {
+      value = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, value + random.nextInt(2001) - 1000));
+      samples[i] = value;
+    }
+    return samples;
+  }
+
+  public static byte[] s4(int[] samples) {
+    var buffer = ByteBuffer.allocate(samples.length * Integer.BYTES);
+    buffer.asIntBuffer().put(samples);
+    return buffer.array();
+  }
+
+  public static byte[] s3(int[] samples) {
+    var bytes = new byte[samples.length * 3];
+    for (int i = 0; i < samples.length; i++) {
+      bytes[3 * i] = (byte) (samples[i] >> 16);
+      bytes[3 * i + 1] = (byte) (samples[i] >> 8);
+      bytes[3 * i + 2] = (byte) samples[i];
+    }
+    return bytes;
+  }
+
+  public static byte[] s2(int[] samples) {
+    var buffer = ByteBuffer.allocate(samples.length * Short.BYTES);
+    for (int sample : samples) {
+      buffer.putShort((short) sample);
+    }
+    return buffer.array();
+  }
+
+  public static byte[] t4(int[] samples) {
+    var buffer = ByteBuffer.allocate(samples.length * Float.BYTES);
+    for (int sample : samples) {
+      buffer.putFloat(sample);
+    }
+    return buffer.array();
+  }
+
+  /**
+   * Encodes samples as VAX F floats, the inverse of {@link Float4FormatWaveformReader#vax2float(float)}.
+   */
+  public static byte[] f4(int[] samples) {
+    var buffer = ByteBuffer.allocate(samples.length * Float.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    for (int sample : samples) {
+      int ieee = Float.floatToRawIntBits(sample);
+      int sign = ieee >>> 31;
+      // The VAX exponent bias is 2 more than the ieee one, which also keeps zero an exact zero once converted back
+      int exp = ((ieee >> 23) & 0xFF) + 2;
+      buffer.putInt(((ieee & 0xFFFF) << 16) | (sign << 15) | (exp << 7) | ((ieee >> 16) & 0x7F));
+    }
+    return buffer.array();
+  }
+
+  public static byte[] i4(int[] samples) {
+    var buffer = ByteBuffer.allocate(samples.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    buffer.asIntBuffer().put(samples);
+    return buffer.array();
+  }
+
+  public static byte[] i2(int[] samples) {
+    var buffer = ByteBuffer.allocate(samples.length * Short.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    for (int sample : samples) {
+      buffer.putShort((short) sample);
+    }
+    return buffer.array();
+  }
+
+  /**
+   * Encodes samples as CM6: second differences, each written as a sign and 4 bits followed by as many 5 bit groups as
+   * it needs, with line breaks as found in IMS 2.0 messages.
+   */
+  public static byte[] cm6(int[] samples) {
+    var cm6 = new StringBuilder();
+    int previous = 0;
+    int beforePrevious = 0;
+    for (int sample : samples) {
+      int difference = sample - 2 * previous + beforePrevious;
+      beforePrevious = previous;
+      previous = sample;
+
+      int magnitude = Math.abs(difference);
+      int groups = 0;
+      while ((magnitude >> (4 + 5 * groups)) != 0) {
+        groups++;
+      }
+
+      int first = (magnitude >> (5 * groups)) & 0xF;
+      if (difference < 0) {
+        first |= 0x10;
+      }
+      append(cm6, groups > 0 ? first | 0x20 : first);
+      for (int j = groups - 1; j >= 0; j--) {
+        int group = (magnitude >> (5 * j)) & 0x1F;
+        append(cm6, j > 0 ? group | 0x20 : group);
+      }
+    }
+    return cm6.toString().getBytes();
+  }
+
+  private static void append(StringBuilder cm6, int value) {
+    if (cm6.length() % (CM6_LINE_LENGTH + 1) == CM6_LINE_LENGTH) {
+      cm6.append('\n');
+    }
+    cm6.append(CM6_CHARACTERS.charAt(value));
+  }
+
+  /**
+   * Encodes samples with (non interlaced) Canadian compression: an index block per 20 samples, the first sample, then
+   * the second differences packed into groups of 4 samples with the smallest bit length that holds them.
+   */
+  public static byte[] canadian(int[] samples) {
+    int samplesInBlock = CANADIAN_GROUPS_IN_BLOCK * CANADIAN_SAMPLES_IN_GROUP;
+    int numBlocks = (samples.length + samplesInBlock - 1) / samplesInBlock;
+
+    // The reader emits the first sample, then repeatedly adds the integrated second differences
+    var differences = new long[numBlocks * samplesInBlock];
+    long previousDifference = 0;
+    for (int k = 0; k < samples.length; k++) {
+      long difference = k + 1 < samples.length ? (long) samples[k + 1] - samples[k] : 0;
+      differences[k] = difference - previousDifference;
+      previousDifference = difference;
+    }
+
+    var lengthCodes = new int[numBlocks];
+    var groupCodes = new int[numBlocks * CANADIAN_GROUPS_IN_BLOCK];
+    for (int block = 0; block < numBlocks; block++) {
+      lengthCodes[block] = fits(differences, block * samplesInBlock, samplesInBlock, 18) ? 0 : 1;
+      for (int group = 0; group < CANADIAN_GROUPS_IN_BLOCK; group++) {
+        int start = block * samplesInBlock + group * CANADIAN_SAMPLES_IN_GROUP;
+        int[] bitLengths = CANADIAN_BIT_LENGTHS[lengthCodes[block]];
+        int code = 0;
+        while (!fits(differences, start, CANADIAN_SAMPLES_IN_GROUP, bitLengths[code])) {
+          code++;
+        }
+        groupCodes[block * CANADIAN_GROUPS_IN_BLOCK + group] = code;
+      }
+    }
+
+    var bits = new BitWriter();
+    for (int block = 0; block < numBlocks; block++) {
+      bits.write(lengthCodes[block], 1);
+      for (int group = 0; group < CANADIAN_GROUPS_IN_BLOCK; group++) {
+        bits.write(groupCodes[block * CANADIAN_GROUPS_IN_BLOCK + group], 3);
+      }
+    }
+    bits.write(samples.length > 0 ? samples[0] : 0, 32);
+    for (int k = 0; k < samples.length; k++) {
+      int groupCode = groupCodes[k / CANADIAN_SAMPLES_IN_GROUP];
+      bits.write(differences[k], CANADIAN_BIT_LENGTHS[lengthCodes[k / samplesInBlock]][groupCode]);
+    }
+    return bits.toByteArray();
+  }
+
+  private static boolean fits(long[] values, int start, int length, int bits) {
+    for (int i = start; i < start + length; i++) {
+      if (values[i] < -(1L << (bits - 1)) || values[i] >= (1L << (bits - 1))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Writes variable bit length integers, most significant bit first, the inverse of {@link BitInputStream}.
+   */
+  private static class BitWriter {
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private long cache;
+    private int cachedBits;
+
+    void write(long value, int bits) {
+      cache = (cache << bits) | (value & ((1L << bits) - 1));
+      cachedBits += bits;
+      while (cachedBits >= 8) {
+        cachedBits -= 8;
+        bytes.write((int) (cache >>> cachedBits));
+      }
+    }
+
+    byte[] toByteArray() {
+      if (cachedBits > 0) {
+        write(0, 8 - cachedBits);
+      }
+      return bytes.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,198 @@
+package gms.utilities.waveformreader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks every {@link WaveformDecoder} against the InputStream based {@link WaveformReaderInterface} of the same
+ * format.
+ */
+class WaveformDecoderTest {
+
+  private static final int OFFSET = 3;
+
+  @ParameterizedTest
+  @MethodSource("decodeArguments")
+  void testDecodeMatchesRead(FormatCode formatCode, byte[] data, int numSamples) throws IOException {
+    double[] expected = WaveformReader.readerFor(formatCode.getCode())
+      .read(new ByteArrayInputStream(data), numSamples, 0);
+
+    for (ByteBuffer input : buffers(data)) {
+      var actual = new double[OFFSET + numSamples];
+      int decoded = WaveformReader.decodeSamples(input, formatCode.getCode(), actual, OFFSET, numSamples, 0);
+
+      assertEquals(numSamples, decoded);
+      assertArrayEquals(expected, Arrays.copyOfRange(actual, OFFSET, OFFSET + numSamples));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("decodeArguments")
+  void testDecodeFloatsMatchesDecodeDoubles(FormatCode formatCode, byte[] data, int numSamples) {
+    var decoder = WaveformReader.decoderFor(formatCode.getCode());
+    var doubles = new double[numSamples];
+    decoder.decode(ByteBuffer.wrap(data), doubles, 0, numSamples, 0);
+
+    var floats = new float[OFFSET + numSamples];
+    assertEquals(numSamples, decoder.decode(ByteBuffer.wrap(data), floats, OFFSET, numSamples, 0));
+    for (int i = 0; i < numSamples; i++) {
+      assertEquals((float) doubles[i], floats[OFFSET + i]);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("decodeArguments")
+  void testDecodeSkip(FormatCode formatCode, byte[] data, int numSamples) {
+    var decoder = WaveformReader.decoderFor(formatCode.getCode());
+    var all = new double[numSamples];
+    decoder.decode(ByteBuffer.wrap(data), all, 0, numSamples, 0);
+
+    // Compressed formats expect the data to hold exactly skip + numSamples samples, so the total is kept the same
+    int skip = numSamples / 2;
+    var skipped = new double[numSamples - skip];
+    assertEquals(skipped.length, decoder.decode(ByteBuffer.wrap(data), skipped, 0, numSamples - skip, skip));
+    assertArrayEquals(Arrays.copyOfRange(all, skip, numSamples), skipped);
+  }
+
+  @ParameterizedTest
+  @MethodSource("fixedWidthArguments")
+  void testDecodeConsecutiveCalls(FormatCode formatCode, byte[] data, int numSamples) {
+    var decoder = WaveformReader.decoderFor(formatCode.getCode());
+    var expected = new double[numSamples];
+    decoder.decode(ByteBuffer.wrap(data), expected, 0, numSamples, 0);
+
+    var input = ByteBuffer.wrap(data);
+    var actual = new double[numSamples];
+    int first = decoder.decode(input, actual, 0, numSamples / 2, 0);
+    decoder.decode(input, actual, first, numSamples - first, 0);
+    assertArrayEquals(expected, actual);
+  }
+
+  @ParameterizedTest
+  @MethodSource("fixedWidthArguments")
+  void testDecodeStopsAtEndOfData(FormatCode formatCode, byte[] data, int numSamples) {
+    var decoder = WaveformReader.decoderFor(formatCode.getCode());
+    var input = ByteBuffer.wrap(data);
+
+    assertEquals(numSamples, decoder.decode(input, new double[numSamples + 10], 0, numSamples + 10, 0));
+    assertEquals(0, input.remaining());
+    assertEquals(0, decoder.decode(ByteBuffer.wrap(data), new double[1], 0, 1, numSamples));
+  }
+
+  @ParameterizedTest
+  @MethodSource("fixtureArguments")
+  void testDecodeFixtures(FormatCode formatCode, Function<int[], byte[]> encoder) {
+    int[] samples = WaveformDecoderFixtures.samples(1000);
+    var decoded = new double[samples.length];
+
+    assertEquals(samples.length, WaveformReader.decodeSamples(ByteBuffer.wrap(encoder.apply(samples)),
+      formatCode.getCode(), decoded, 0, samples.length, 0));
+    assertArrayEquals(Arrays.stream(samples).asDoubleStream().toArray(), decoded);
+  }
+
+  @Test
+  void testDecodeValidatesArguments() {
+    var decoder = WaveformReader.decoderFor(FormatCode.S4.getCode());
+    var input = ByteBuffer.allocate(16);
+
+    assertThrows(NullPointerException.class, () -> decoder.decode(null, new double[1], 0, 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> decoder.decode(input, new double[1], 0, 2, 0));
+    assertThrows(IllegalArgumentException.class, () -> decoder.decode(input, new double[2], 1, 2, 0));
+    assertThrows(IllegalArgumentException.class, () -> decoder.decode(input, new double[2], 0, 1, -1));
+    assertThrows(IllegalArgumentException.class, () -> decoder.decode(input, new float[2], -1, 1, 0));
+  }
+
+  @Test
+  void testDecoderForUnsupportedFormat() {
+    assertThrows(IllegalArgumentException.class, () -> WaveformReader.decoderFor("code"));
+    assertThrows(IllegalArgumentException.class, () -> WaveformReader.decoderFor(null));
+  }
+
+  @Test
+  void testDecodeCm6RejectsInvalidCharacters() {
+    var decoder = WaveformReader.decoderFor(FormatCode.CM6.getCode());
+    var input = ByteBuffer.wrap("1*".getBytes());
+
+    assertThrows(IllegalArgumentException.class, () -> decoder.decode(input, new double[2], 0, 2, 0));
+  }
+
+  /**
+   * Heap, read only and little endian direct buffers over the same data, with some leading bytes that are not part of
+   * the waveform.
+   */
+  private static ByteBuffer[] buffers(byte[] data) {
+    var direct = ByteBuffer.allocateDirect(data.length + 5).order(ByteOrder.LITTLE_ENDIAN);
+    direct.position(5);
+    direct.put(data).position(5);
+
+    var heap = ByteBuffer.allocate(data.length + 7);
+    heap.position(7);
+    heap.put(data).position(7);
+
+    return new ByteBuffer[]{ByteBuffer.wrap(data), heap, direct, ByteBuffer.wrap(data).asReadOnlyBuffer()};
+  }
+
+  private static Stream<Arguments> decodeArguments() throws IOException {
+    return Stream.concat(fixedWidthArguments(), Stream.of(
+      Arguments.arguments(FormatCode.E1, resource("/css/WFS4/I22FR.e1.w"), 5000),
+      Arguments.arguments(FormatCode.CC, resource("/css/WFS4/cc.w"), 10),
+      Arguments.arguments(FormatCode.CD, resource("/css/WFS4/cc.w"), 10),
+      Arguments.arguments(FormatCode.CC,
+        WaveformDecoderFixtures.canadian(WaveformDecoderFixtures.samples(1000)), 1000),
+      Arguments.arguments(FormatCode.CM6, WaveformDecoderFixtures.cm6(WaveformDecoderFixtures.samples(500)), 500)));
+  }
+
+  private static Stream<Arguments> fixedWidthArguments() throws IOException {
+    byte[] s4 = resource("/css/WFS4/I22FR.s4.w");
+    byte[] s3 = resource("/css/WFS4/s3.w");
+    byte[] s2 = resource("/css/WFS4/S2Test.w");
+    byte[] f4 = resource("/css/WFS4/F4Test.w");
+    byte[] t4 = resource("/css/WFS4/t4.w");
+    int[] samples = WaveformDecoderFixtures.samples(100);
+    return Stream.of(
+      Arguments.arguments(FormatCode.S4, s4, s4.length / 4),
+      Arguments.arguments(FormatCode.S3, s3, s3.length / 3),
+      Arguments.arguments(FormatCode.S2, s2, s2.length / 2),
+      Arguments.arguments(FormatCode.F4, f4, f4.length / 4),
+      Arguments.arguments(FormatCode.F4, WaveformDecoderFixtures.f4(samples), samples.length),
+      Arguments.arguments(FormatCode.T4, t4, t4.length / 4),
+      Arguments.arguments(FormatCode.I4, WaveformDecoderFixtures.i4(samples), samples.length),
+      Arguments.arguments(FormatCode.I2, WaveformDecoderFixtures.i2(samples), samples.length));
+  }
+
+  private static Stream<Arguments> fixtureArguments() {
+    return Stream.of(
+      Arguments.arguments(FormatCode.S4, (Function<int[], byte[]>) WaveformDecoderFixtures::s4),
+      Arguments.arguments(FormatCode.S3, (Function<int[], byte[]>) WaveformDecoderFixtures::s3),
+      Arguments.arguments(FormatCode.S2, (Function<int[], byte[]>) WaveformDecoderFixtures::s2),
+      Arguments.arguments(FormatCode.T4, (Function<int[], byte[]>) WaveformDecoderFixtures::t4),
+      Arguments.arguments(FormatCode.F4, (Function<int[], byte[]>) WaveformDecoderFixtures::f4),
+      Arguments.arguments(FormatCode.I4, (Function<int[], byte[]>) WaveformDecoderFixtures::i4),
+      Arguments.arguments(FormatCode.I2, (Function<int[], byte[]>) WaveformDecoderFixtures::i2),
+      Arguments.arguments(FormatCode.CC, (Function<int[], byte[]>) WaveformDecoderFixtures::canadian),
+      Arguments.arguments(FormatCode.CM6, (Function<int[], byte[]>) WaveformDecoderFixtures::cm6));
+  }
+
+  private static byte[] resource(String name) throws IOException {
+    try (InputStream is = WaveformDecoderTest.class.getResourceAsStream(name)) {
+      assertNotNull(is, name);
+      return is.readAllBytes();
+    }
+  }
+}
@@ -114,6 +114,7 @@ class WaveformReaderTest {
       Arguments.arguments(FormatCode.S3, new Sun3FormatWaveformReader()),
       Arguments.arguments(FormatCode.S4, new Sun4FormatWaveformReader()),
       Arguments.arguments(FormatCode.I4, new I4FormatWaveformReader()),
+      Arguments.arguments(FormatCode.I2, new I2FormatWaveformReader()),
       Arguments.arguments(FormatCode.CD, new CanadianCompressedWaveformReader()),
       Arguments.arguments(FormatCode.CC, new CanadianCompressedWaveformReader()),
       Arguments.arguments(FormatCode.E1, new E1FormatWaveformReader()),
@@ -0,0 +1,127 @@
+package gms.utilities.waveformreader.benchmark;
+
+import gms.utilities.waveformreader.FormatCode;
+import gms.utilities.waveformreader.WaveformDecoder;
+import gms.utilities.waveformreader.WaveformDecoderFixtures;
+import gms.utilities.waveformreader.WaveformReader;
+import gms.utilities.waveformreader.WaveformReaderInterface;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time and allocation per waveform of the InputStream based {@link WaveformReaderInterface} of every
+ * {@link FormatCode} with its {@link WaveformDecoder}, decoding from a heap buffer and from a direct buffer (which is
+ * what a memory mapped file is) into a reused array.
+ * <p>
+ * Run with the GC profiler (reported as gc.alloc.rate.norm, in bytes per waveform) using the main method from the test
+ * runtime classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaveformDecoderBenchmark {
+
+  private static final String E1_FILE = "/css/WFS4/I22FR.e1.w";
+
+  @Param({"S4", "S3", "S2", "I4", "I2", "CD", "CC", "F4", "E1", "CM6", "T4"})
+  private FormatCode formatCode;
+
+  @Param({"4000"})
+  private int samples;
+
+  private WaveformReaderInterface reader;
+  private WaveformDecoder decoder;
+  private byte[] data;
+  private ByteBuffer directData;
+  private double[] destination;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    String code = formatCode.name().toLowerCase(Locale.ROOT);
+    reader = WaveformReader.readerFor(code);
+    decoder = WaveformReader.decoderFor(code);
+    data = encode(formatCode, WaveformDecoderFixtures.samples(samples));
+    directData = ByteBuffer.allocateDirect(data.length).put(data).flip();
+    destination = new double[samples];
+  }
+
+  @Benchmark
+  public double[] readInputStream() throws IOException {
+    return reader.read(new ByteArrayInputStream(data), samples, 0);
+  }
+
+  @Benchmark
+  public double[] decodeHeapBuffer() {
+    decoder.decode(ByteBuffer.wrap(data), destination, 0, samples, 0);
+    return destination;
+  }
+
+  @Benchmark
+  public double[] decodeDirectBuffer() {
+    decoder.decode(directData.duplicate(), destination, 0, samples, 0);
+    return destination;
+  }
+
+  private static byte[] encode(FormatCode formatCode, int[] samples) throws IOException {
+    switch (formatCode) {
+      case S4:
+        return WaveformDecoderFixtures.s4(samples);
+      case S3:
+        return WaveformDecoderFixtures.s3(samples);
+      case S2:
+        return WaveformDecoderFixtures.s2(samples);
+      case I4:
+        return WaveformDecoderFixtures.i4(samples);
+      case I2:
+        return WaveformDecoderFixtures.i2(samples);
+      case CD:
+      case CC:
+        return WaveformDecoderFixtures.canadian(samples);
+      case F4:
+        return WaveformDecoderFixtures.f4(samples);
+      case CM6:
+        return WaveformDecoderFixtures.cm6(samples);
+      case T4:
+        return WaveformDecoderFixtures.t4(samples);
+      case E1:
+        // E1 records are self delimiting, so only as many as are needed are decoded from the test file
+        try (InputStream is = WaveformDecoderBenchmark.class.getResourceAsStream(E1_FILE)) {
+          return is.readAllBytes();
+        }
+      default:
+        throw new IllegalArgumentException("No benchmark data for format " + formatCode);
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(WaveformDecoderBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build())
+      .run();
+  }
+}
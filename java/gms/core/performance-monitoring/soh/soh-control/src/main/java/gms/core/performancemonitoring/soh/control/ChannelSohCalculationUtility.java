@@ -492,7 +492,7 @@ class ChannelSohCalculationUtility {
    * returned regardless of the waveform summaries. If the interval has a positive length, 0.0 is
    * returned if the waveform summary list is empty.
    */
-  private static double computeMissingPercentage(
+  static double computeMissingPercentage(
     final Stream<WaveformSummary> waveformSummaries,
     final Instant intervalStart,
     final Instant intervalEnd,
@@ -922,7 +922,7 @@ class ChannelSohCalculationUtility {
     return channelsToMissingStatus;
   }
 
-  private Set<ChannelSoh> calculateChannelSohSet(
+  static Set<ChannelSoh> calculateChannelSohSet(
     Map<String, ? extends Collection<PercentSohMonitorValueAndStatus>> channelsToEnvironmentStatus,
     Map<String, ? extends Collection<DurationSohMonitorValueAndStatus>> channelsToLagStatus,
     Map<String, PercentSohMonitorValueAndStatus> channelsToMissingStatus,
@@ -1061,7 +1061,7 @@ class ChannelSohCalculationUtility {
    * @param <T> the type of the object beging compared to the thresholds. T must extend Comparable.
    * @return The {@link SohStatus} as determined by threshold values.
    */
-  private static <T extends Comparable<T>> SohStatus computeStatusFromThreshold(
+  static <T extends Comparable<T>> SohStatus computeStatusFromThreshold(
     T value,
     T zeroValue,
     T goodStatusThreshold,
@@ -0,0 +1,427 @@
+package gms.core.performancemonitoring.soh.control;
+
+import gms.core.performancemonitoring.soh.control.configuration.ChannelSohDefinition;
+import gms.core.performancemonitoring.soh.control.configuration.DurationSohMonitorStatusThresholdDefinition;
+import gms.core.performancemonitoring.soh.control.configuration.PercentSohMonitorStatusThresholdDefinition;
+import gms.core.performancemonitoring.soh.control.configuration.StationSohDefinition;
+import gms.core.performancemonitoring.soh.control.configuration.TimeWindowDefinition;
+import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssueBoolean;
+import gms.shared.frameworks.osd.coi.soh.DurationSohMonitorValueAndStatus;
+import gms.shared.frameworks.osd.coi.soh.PercentSohMonitorValueAndStatus;
+import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
+import gms.shared.frameworks.osd.coi.soh.SohStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * The rolling state of health of one channel of one station, kept up to date as waveform summaries
+ * and boolean ACEIs are added and removed and as the station's time windows slide forward.
+ * <p>
+ * LAG keeps a running maximum, sum and count of the lags in the LAG window, and each environment
+ * type keeps running counts of the ACEIs, and of the true ACEIs, in its window. MISSING keeps the
+ * waveform summaries in the MISSING window, since coverage of the window changes with every slide.
+ * Values and statuses are computed the same way as {@link ChannelSohCalculationUtility}, so they are
+ * identical to those of a full calculation. Instances are not thread safe.
+ */
+final class ChannelSohState {
+
+  private final String channelName;
+
+  private final ChannelSohDefinition channelSohDefinition;
+
+  private final boolean isStationChannel;
+
+  private final SlidingTimeWindow<WaveformSummaryAndReceptionTime> lagWindow;
+
+  private final SlidingTimeWindow<WaveformSummaryAndReceptionTime> missingWindow;
+
+  private final Map<SohMonitorType, EnvironmentIssueCounts> environmentIssueCounts =
+    new EnumMap<>(SohMonitorType.class);
+
+  // Multiset of the lags in the LAG window, for the running maximum
+  private final NavigableMap<Duration, Integer> lagCounts = new TreeMap<>();
+
+  private Duration lagSum = Duration.ZERO;
+
+  /**
+   * Create the state of a channel of a station.
+   *
+   * @param channelName name of the channel
+   * @param channelSohDefinition definition of the channel, or null if the station only aggregates
+   * the channel
+   * @param stationSohDefinition definition of the station, which supplies the time windows
+   */
+  ChannelSohState(
+    String channelName,
+    ChannelSohDefinition channelSohDefinition,
+    StationSohDefinition stationSohDefinition
+  ) {
+
+    this.channelName = channelName;
+    this.channelSohDefinition = channelSohDefinition;
+    this.isStationChannel = isStationChannel(stationSohDefinition.getStationName(), channelName);
+
+    var timeWindows = stationSohDefinition.getTimeWindowBySohMonitorType();
+
+    this.lagWindow = Optional.ofNullable(timeWindows.get(SohMonitorType.LAG))
+      .map(timeWindow -> waveformSummaryWindow(timeWindow, new LagListener()))
+      .orElse(null);
+
+    this.missingWindow = Optional.ofNullable(channelSohDefinition)
+      .map(definition -> timeWindows.get(SohMonitorType.MISSING))
+      .map(timeWindow -> waveformSummaryWindow(timeWindow, new NoOpListener<>()))
+      .orElse(null);
+
+    //
+    // The batch calculation only looks at the ACEIs of channels whose names start with the
+    // station name, for the channel's own environment statuses and the station aggregate.
+    //
+    if (isStationChannel) {
+      environmentMonitorTypes(channelName, channelSohDefinition, stationSohDefinition)
+        .forEach(monitorType -> Optional.ofNullable(timeWindows.get(monitorType))
+          .ifPresent(timeWindow -> environmentIssueCounts.put(
+            monitorType, new EnvironmentIssueCounts(timeWindow))));
+    }
+  }
+
+  String getChannelName() {
+    return channelName;
+  }
+
+  boolean isStationChannel() {
+    return isStationChannel;
+  }
+
+  void addWaveformSummary(WaveformSummaryAndReceptionTime waveformSummaryAndReceptionTime) {
+
+    if (lagWindow != null) {
+      lagWindow.add(waveformSummaryAndReceptionTime);
+    }
+
+    if (missingWindow != null) {
+      missingWindow.add(waveformSummaryAndReceptionTime);
+    }
+  }
+
+  void removeWaveformSummary(WaveformSummaryAndReceptionTime waveformSummaryAndReceptionTime) {
+
+    if (lagWindow != null) {
+      lagWindow.remove(waveformSummaryAndReceptionTime);
+    }
+
+    if (missingWindow != null) {
+      missingWindow.remove(waveformSummaryAndReceptionTime);
+    }
+  }
+
+  void addAcei(AcquiredChannelEnvironmentIssueBoolean acei) {
+
+    var counts = environmentIssueCounts.get(acei.getType().getMatchingSohMonitorType());
+
+    if (counts != null) {
+      counts.window.add(acei);
+    }
+  }
+
+  void removeAcei(AcquiredChannelEnvironmentIssueBoolean acei) {
+
+    var counts = environmentIssueCounts.get(acei.getType().getMatchingSohMonitorType());
+
+    if (counts != null) {
+      counts.window.remove(acei);
+    }
+  }
+
+  void slideTo(Instant now) {
+
+    if (lagWindow != null) {
+      lagWindow.slideTo(now);
+    }
+
+    if (missingWindow != null) {
+      missingWindow.slideTo(now);
+    }
+
+    environmentIssueCounts.values().forEach(counts -> counts.window.slideTo(now));
+  }
+
+  /**
+   * Drops all waveform summaries and ACEIs, so that they can be added again.
+   */
+  void clear() {
+
+    if (lagWindow != null) {
+      lagWindow.clear();
+    }
+
+    if (missingWindow != null) {
+      missingWindow.clear();
+    }
+
+    environmentIssueCounts.values().forEach(counts -> {
+      counts.window.clear();
+      counts.trueCount = 0;
+    });
+
+    lagCounts.clear();
+    lagSum = Duration.ZERO;
+  }
+
+  /**
+   * @param definition LAG thresholds of the channel
+   * @return LAG status from the largest lag in the LAG window, MARGINAL with no value if there are
+   * no lags in the window.
+   */
+  DurationSohMonitorValueAndStatus lagStatus(DurationSohMonitorStatusThresholdDefinition definition) {
+
+    if (lagCounts.isEmpty()) {
+      return DurationSohMonitorValueAndStatus.from(null, SohStatus.MARGINAL, SohMonitorType.LAG);
+    }
+
+    var maxLag = lagCounts.lastKey();
+
+    return DurationSohMonitorValueAndStatus.from(
+      maxLag,
+      ChannelSohCalculationUtility.computeStatusFromThreshold(
+        maxLag,
+        Duration.ZERO,
+        definition.getGoodThreshold(),
+        definition.getMarginalThreshold()
+      ),
+      SohMonitorType.LAG
+    );
+  }
+
+  /**
+   * @return sum of the lags in the LAG window
+   */
+  Duration getLagSum() {
+    return lagSum;
+  }
+
+  /**
+   * @return number of lags in the LAG window
+   */
+  int getLagCount() {
+    return lagWindow == null ? 0 : lagWindow.size();
+  }
+
+  /**
+   * @return MISSING status from the coverage of the MISSING window by its waveform summaries.
+   */
+  PercentSohMonitorValueAndStatus missingStatus() {
+
+    var percentDefinition = (PercentSohMonitorStatusThresholdDefinition) channelSohDefinition
+      .getSohMonitorStatusThresholdDefinitionsBySohMonitorType()
+      .get(SohMonitorType.MISSING);
+
+    double missingPercentage = ChannelSohCalculationUtility.computeMissingPercentage(
+      missingWindow.getItems().stream()
+        .map(WaveformSummaryAndReceptionTime::getWaveformSummary),
+      missingWindow.startTime(),
+      missingWindow.stopTime(),
+      channelSohDefinition.getNominalSampleRateHz()
+    );
+
+    return PercentSohMonitorValueAndStatus.from(
+      missingPercentage,
+      ChannelSohCalculationUtility.computeStatusFromThreshold(
+        missingPercentage,
+        0.0,
+        percentDefinition.getGoodThreshold(),
+        percentDefinition.getMarginalThreshold()),
+      SohMonitorType.MISSING
+    );
+  }
+
+  /**
+   * @return a status for each valid environment type the channel has thresholds for, from the
+   * percentage of true ACEIs in the type's window. Types with no ACEIs in their window are MARGINAL
+   * with no value.
+   */
+  List<PercentSohMonitorValueAndStatus> environmentStatuses() {
+
+    return channelSohDefinition.getSohMonitorStatusThresholdDefinitionsBySohMonitorType()
+      .entrySet().stream()
+      .filter(entry -> entry.getKey().isEnvironmentIssue() && entry.getKey().isValid())
+      .map(entry -> {
+
+        var definition = (PercentSohMonitorStatusThresholdDefinition) entry.getValue();
+
+        var counts = environmentIssueCounts.get(entry.getKey());
+        var count = counts == null ? 0 : counts.window.size();
+
+        Double percentage = count == 0 ? null : 100.0 * (double) counts.trueCount / count;
+
+        return PercentSohMonitorValueAndStatus.from(
+          percentage,
+          ChannelSohCalculationUtility.computeStatusFromThreshold(
+            percentage,
+            0.0,
+            definition.getGoodThreshold(),
+            definition.getMarginalThreshold()
+          ),
+          entry.getKey()
+        );
+      })
+      .collect(Collectors.toList());
+  }
+
+  /**
+   * @param monitorType an environment monitor type
+   * @return number of ACEIs of the type in its window
+   */
+  int getEnvironmentIssueCount(SohMonitorType monitorType) {
+
+    var counts = environmentIssueCounts.get(monitorType);
+    return counts == null ? 0 : counts.window.size();
+  }
+
+  /**
+   * @param monitorType an environment monitor type
+   * @return number of true ACEIs of the type in its window
+   */
+  int getEnvironmentIssueTrueCount(SohMonitorType monitorType) {
+
+    var counts = environmentIssueCounts.get(monitorType);
+    return counts == null ? 0 : counts.trueCount;
+  }
+
+  /**
+   * Whether a channel belongs to a station, going by the station prefix of the channel name.
+   */
+  static boolean isStationChannel(String stationName, String channelName) {
+
+    var separatorIndex = channelName.indexOf('.');
+    return separatorIndex >= 0 && channelName.substring(0, separatorIndex).equals(stationName);
+  }
+
+  /**
+   * The environment types for which ACEIs of the channel need to be counted: the valid types the
+   * channel has thresholds for, and the types the station aggregates across the channel.
+   */
+  private static List<SohMonitorType> environmentMonitorTypes(
+    String channelName,
+    ChannelSohDefinition channelSohDefinition,
+    StationSohDefinition stationSohDefinition
+  ) {
+
+    var channelMonitorTypes = Optional.ofNullable(channelSohDefinition)
+      .map(ChannelSohDefinition::getSohMonitorStatusThresholdDefinitionsBySohMonitorType)
+      .orElse(Map.of());
+
+    return Arrays.stream(SohMonitorType.values())
+      .filter(SohMonitorType::isEnvironmentIssue)
+      .filter(monitorType -> channelMonitorTypes.containsKey(monitorType)
+        || (stationSohDefinition.getSohMonitorTypesForRollup().contains(monitorType)
+        && stationSohDefinition.getChannelsBySohMonitorType()
+        .getOrDefault(monitorType, Set.of()).contains(channelName)))
+      .collect(Collectors.toList());
+  }
+
+  private static SlidingTimeWindow<WaveformSummaryAndReceptionTime> waveformSummaryWindow(
+    TimeWindowDefinition timeWindowDefinition,
+    SlidingTimeWindow.Listener<WaveformSummaryAndReceptionTime> listener
+  ) {
+
+    return new SlidingTimeWindow<>(
+      timeWindowDefinition,
+      waveformSummaryAndReceptionTime -> waveformSummaryAndReceptionTime.getWaveformSummary()
+        .getStartTime(),
+      waveformSummaryAndReceptionTime -> waveformSummaryAndReceptionTime.getWaveformSummary()
+        .getEndTime(),
+      listener
+    );
+  }
+
+  private static Duration lag(WaveformSummaryAndReceptionTime waveformSummaryAndReceptionTime) {
+
+    return Duration.between(
+      waveformSummaryAndReceptionTime.getWaveformSummary().getEndTime(),
+      waveformSummaryAndReceptionTime.getReceptionTime()
+    );
+  }
+
+  /**
+   * Keeps the running lag maximum and sum as waveform summaries enter and leave the LAG window.
+   */
+  private final class LagListener implements
+    SlidingTimeWindow.Listener<WaveformSummaryAndReceptionTime> {
+
+    @Override
+    public void entered(WaveformSummaryAndReceptionTime item) {
+
+      var lag = lag(item);
+      lagCounts.merge(lag, 1, Integer::sum);
+      lagSum = lagSum.plus(lag);
+    }
+
+    @Override
+    public void exited(WaveformSummaryAndReceptionTime item) {
+
+      var lag = lag(item);
+      lagCounts.computeIfPresent(lag, (key, count) -> count == 1 ? null : count - 1);
+      lagSum = lagSum.minus(lag);
+    }
+  }
+
+  /**
+   * The window of one environment type and the number of true ACEIs in it.
+   */
+  private static final class EnvironmentIssueCounts implements
+    SlidingTimeWindow.Listener<AcquiredChannelEnvironmentIssueBoolean> {
+
+    private final SlidingTimeWindow<AcquiredChannelEnvironmentIssueBoolean> window;
+
+    private int trueCount;
+
+    private EnvironmentIssueCounts(TimeWindowDefinition timeWindowDefinition) {
+
+      this.window = new SlidingTimeWindow<>(
+        timeWindowDefinition,
+        AcquiredChannelEnvironmentIssueBoolean::getStartTime,
+        AcquiredChannelEnvironmentIssueBoolean::getEndTime,
+        this
+      );
+    }
+
+    @Override
+    public void entered(AcquiredChannelEnvironmentIssueBoolean item) {
+
+      if (Boolean.TRUE.equals(item.getStatus())) {
+        trueCount++;
+      }
+    }
+
+    @Override
+    public void exited(AcquiredChannelEnvironmentIssueBoolean item) {
+
+      if (Boolean.TRUE.equals(item.getStatus())) {
+        trueCount--;
+      }
+    }
+  }
+
+  private static final class NoOpListener<T> implements SlidingTimeWindow.Listener<T> {
+
+    @Override
+    public void entered(T item) {
+      // Nothing is aggregated as items enter
+    }
+
+    @Override
+    public void exited(T item) {
+      // Nothing is aggregated as items leave
+    }
+  }
+}
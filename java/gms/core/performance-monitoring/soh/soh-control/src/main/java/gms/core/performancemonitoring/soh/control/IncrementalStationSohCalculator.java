@@ -0,0 +1,534 @@
+package gms.core.performancemonitoring.soh.control;
+
+import gms.core.performancemonitoring.soh.control.configuration.ChannelSohDefinition;
+import gms.core.performancemonitoring.soh.control.configuration.DurationSohMonitorStatusThresholdDefinition;
+import gms.core.performancemonitoring.soh.control.configuration.StationSohDefinition;
+import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssueBoolean;
+import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
+import gms.shared.frameworks.osd.coi.soh.DurationSohMonitorValueAndStatus;
+import gms.shared.frameworks.osd.coi.soh.DurationStationAggregate;
+import gms.shared.frameworks.osd.coi.soh.PercentSohMonitorValueAndStatus;
+import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
+import gms.shared.frameworks.osd.coi.soh.SohStatus;
+import gms.shared.frameworks.osd.coi.soh.StationAggregate;
+import gms.shared.frameworks.osd.coi.soh.StationAggregateType;
+import gms.shared.frameworks.osd.coi.soh.StationSoh;
+import org.apache.commons.lang3.Validate;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Computes {@link StationSoh} from per-channel state that is kept from one calculation interval to
+ * the next, instead of regrouping and filtering every cached {@link AcquiredStationSohExtract} each
+ * interval the way {@link StationSohCalculationUtility#buildStationSohFlux} does.
+ * <p>
+ * Each call to {@link #calculate} is given the same cached set of extracts the batch calculation
+ * would be given. Only the extracts that were added to or evicted from that set since the previous
+ * call are applied to the {@link ChannelSohState}s, whose time windows then slide forward to the new
+ * "now", so the cost of an interval follows the data that arrived and left rather than the size of
+ * the cache. The StationSoh objects are the same as those of the batch calculation over the same
+ * extracts, definitions and time. The state is rebuilt from the cached waveform summaries and ACEIs
+ * when the definitions change, or when "now" moves backwards.
+ */
+class IncrementalStationSohCalculator {
+
+  private static final Logger logger = LoggerFactory.getLogger(IncrementalStationSohCalculator.class);
+
+  // We must keep this for logging TIMING point logs for legacy support
+  private static final org.apache.logging.log4j.Logger legacyLogger =
+    LogManager.getLogger(IncrementalStationSohCalculator.class);
+
+  //This is for our timing point logging
+  private static final Level TIMING_LEVEL = Level.getLevel("TIMING");
+
+  private static final boolean TIMING_LEVEL_ENABLED =
+    TIMING_LEVEL != null && legacyLogger.isEnabled(TIMING_LEVEL);
+
+  private static final DurationSohMonitorValueAndStatus MARGINAL_LAG =
+    DurationSohMonitorValueAndStatus.from(null, SohStatus.MARGINAL, SohMonitorType.LAG);
+
+  private static final PercentSohMonitorValueAndStatus BAD_MISSING =
+    PercentSohMonitorValueAndStatus.from(100.0, SohStatus.BAD, SohMonitorType.MISSING);
+
+  private final AcquiredSampleTimesByChannel acquiredSampleTimesByChannel;
+
+  // The extracts applied so far. The cache hands over the same extract objects every interval, so
+  // comparing by identity is enough to tell which are new, and avoids hashing whole extracts.
+  private final Set<AcquiredStationSohExtract> extracts =
+    Collections.newSetFromMap(new IdentityHashMap<>());
+
+  // Counts of the distinct waveform summaries and ACEIs of the extracts, by channel. Equal items
+  // from different extracts count once, as they do in the sets of the batch calculation.
+  private final Map<String, Map<WaveformSummaryAndReceptionTime, Integer>> waveformSummariesByChannel =
+    new HashMap<>();
+
+  private final Map<String, Map<AcquiredChannelEnvironmentIssueBoolean, Integer>> aceisByChannel =
+    new HashMap<>();
+
+  private Set<StationSohDefinition> stationSohDefinitions = Set.of();
+
+  private Map<StationSohDefinition, Map<String, ChannelSohState>> channelStatesByStation = Map.of();
+
+  private Map<String, List<ChannelSohState>> channelStatesByChannel = Map.of();
+
+  private Instant now;
+
+  /**
+   * @param acquiredSampleTimesByChannel latest sample times, used for TIMELINESS and updated with
+   * the waveform summaries of each new extract
+   */
+  IncrementalStationSohCalculator(AcquiredSampleTimesByChannel acquiredSampleTimesByChannel) {
+
+    this.acquiredSampleTimesByChannel = Validate.notNull(acquiredSampleTimesByChannel,
+      "acquiredSampleTimesByChannel is required");
+  }
+
+  /**
+   * Bring the state up to date with a set of cached extracts and compute the StationSoh of each
+   * station.
+   *
+   * @param acquiredStationSohExtracts The cached state of health extracts, which must not be null.
+   * @param stationSohDefinitions Defines which stations to compute state of health for. Must not be
+   * null.
+   * @param stationSohTime the time of the computed StationSohs, which is "now" for the time windows
+   * @return the StationSoh of each station that has a rollup
+   */
+  synchronized List<StationSoh> calculate(
+    Set<AcquiredStationSohExtract> acquiredStationSohExtracts,
+    Set<StationSohDefinition> stationSohDefinitions,
+    Instant stationSohTime
+  ) {
+
+    Validate.notNull(acquiredStationSohExtracts,
+      "acquiredStationSohExtracts is required");
+    Validate.notNull(stationSohDefinitions,
+      "stationSohDefinitions is required");
+    Validate.notNull(stationSohTime,
+      "stationSohTime is required");
+
+    // Configuration normally hands over the same set of definitions each interval, so only
+    // compare them when it does not
+    var rebuild = (stationSohDefinitions != this.stationSohDefinitions
+      && !stationSohDefinitions.equals(this.stationSohDefinitions))
+      || (now != null && stationSohTime.isBefore(now));
+
+    if (rebuild) {
+      createChannelStates(stationSohDefinitions);
+    }
+
+    var earliestReceptionMap = update(acquiredStationSohExtracts, !rebuild);
+
+    if (rebuild) {
+      addCachedItems();
+    }
+
+    now = stationSohTime;
+    channelStatesByChannel.values()
+      .forEach(channelStates -> channelStates.forEach(state -> state.slideTo(stationSohTime)));
+
+    var channelSohCalculationUtility =
+      new ChannelSohCalculationUtility(stationSohTime, acquiredSampleTimesByChannel);
+
+    var stationAggregateCalculationUtility =
+      new StationAggregateCalculationUtility(acquiredSampleTimesByChannel, stationSohTime);
+
+    var stationSohs = new ArrayList<StationSoh>();
+
+    channelStatesByStation.forEach((stationSohDefinition, channelStates) -> {
+      try {
+        stationSoh(stationSohDefinition, channelStates, channelSohCalculationUtility,
+          stationAggregateCalculationUtility, stationSohTime)
+          .ifPresent(stationSoh -> {
+            stationSohs.add(stationSoh);
+            logTimingPoint(stationSoh, earliestReceptionMap);
+          });
+      } catch (RuntimeException e) {
+        logger.error("Error computing StationSoh for station {}",
+          stationSohDefinition.getStationName(), e);
+      }
+    });
+
+    return stationSohs;
+  }
+
+  /**
+   * Compute the StationSoh of one station from the state of its channels.
+   */
+  private Optional<StationSoh> stationSoh(
+    StationSohDefinition stationSohDefinition,
+    Map<String, ChannelSohState> channelStates,
+    ChannelSohCalculationUtility channelSohCalculationUtility,
+    StationAggregateCalculationUtility stationAggregateCalculationUtility,
+    Instant stationSohTime
+  ) {
+
+    Map<String, List<PercentSohMonitorValueAndStatus>> channelsToEnvironmentStatus = new HashMap<>();
+    Map<String, Collection<DurationSohMonitorValueAndStatus>> channelsToLagStatus = new HashMap<>();
+    Map<String, PercentSohMonitorValueAndStatus> channelsToMissingStatus = new HashMap<>();
+
+    stationSohDefinition.getChannelSohDefinitions().forEach(channelSohDefinition -> {
+
+      var channelName = channelSohDefinition.getChannelName();
+      var channelState = channelStates.get(channelName);
+      var hasWaveformSummaries = waveformSummariesByChannel.containsKey(channelName);
+
+      if (channelState.isStationChannel() && aceisByChannel.containsKey(channelName)) {
+        channelsToEnvironmentStatus.put(channelName, channelState.environmentStatuses());
+      }
+
+      var lagDefinition = (DurationSohMonitorStatusThresholdDefinition) channelSohDefinition
+        .getSohMonitorStatusThresholdDefinitionsBySohMonitorType()
+        .get(SohMonitorType.LAG);
+
+      if (lagDefinition != null) {
+        channelsToLagStatus.put(channelName, Set.of(
+          hasWaveformSummaries ? channelState.lagStatus(lagDefinition) : MARGINAL_LAG));
+      }
+
+      channelsToMissingStatus.put(channelName,
+        hasWaveformSummaries ? channelState.missingStatus() : BAD_MISSING);
+    });
+
+    var channelSohs = ChannelSohCalculationUtility.calculateChannelSohSet(
+      channelsToEnvironmentStatus,
+      channelsToLagStatus,
+      channelsToMissingStatus,
+      channelSohCalculationUtility.stationChannelTimelinessStatuses(stationSohDefinition,
+        stationSohTime),
+      stationSohDefinition
+    );
+
+    Set<StationAggregate<?>> stationAggregates = new HashSet<>();
+
+    lagAggregate(stationSohDefinition, channelStates).ifPresent(stationAggregates::add);
+
+    stationAggregates.add(StationAggregateCalculationUtility.missing(channelSohs,
+      stationSohDefinition));
+
+    stationAggregateCalculationUtility.timeliness(
+      hasStationWaveformSummaries(stationSohDefinition, SohMonitorType.TIMELINESS),
+      channelsFor(stationSohDefinition, SohMonitorType.TIMELINESS)
+    ).ifPresent(stationAggregates::add);
+
+    stationAggregates.add(environmentIssuesAggregate(stationSohDefinition, channelStates));
+
+    return StationSohCalculationUtility.stationSoh(
+      stationSohDefinition,
+      channelSohs,
+      stationAggregates,
+      stationSohTime
+    );
+  }
+
+  /**
+   * Average lag across the LAG windows of the station's LAG channels.
+   */
+  private Optional<DurationStationAggregate> lagAggregate(
+    StationSohDefinition stationSohDefinition,
+    Map<String, ChannelSohState> channelStates
+  ) {
+
+    var lagSum = Duration.ZERO;
+    var lagCount = 0L;
+
+    for (String channelName : channelsFor(stationSohDefinition, SohMonitorType.LAG)) {
+      var channelState = channelStates.get(channelName);
+
+      if (channelState.isStationChannel()) {
+        lagSum = lagSum.plus(channelState.getLagSum());
+        lagCount += channelState.getLagCount();
+      }
+    }
+
+    return lagCount == 0 ? Optional.empty() : Optional.of(
+      DurationStationAggregate.from(lagSum.dividedBy(lagCount), StationAggregateType.LAG));
+  }
+
+  /**
+   * Percentage of true ACEIs across the station's channels, for the environment types in the
+   * station rollup.
+   */
+  private static StationAggregate<?> environmentIssuesAggregate(
+    StationSohDefinition stationSohDefinition,
+    Map<String, ChannelSohState> channelStates
+  ) {
+
+    var trueCount = 0L;
+    var count = 0L;
+
+    for (SohMonitorType monitorType : stationSohDefinition.getSohMonitorTypesForRollup()) {
+      if (monitorType.isEnvironmentIssue()) {
+        for (String channelName : channelsFor(stationSohDefinition, monitorType)) {
+          var channelState = channelStates.get(channelName);
+          trueCount += channelState.getEnvironmentIssueTrueCount(monitorType);
+          count += channelState.getEnvironmentIssueCount(monitorType);
+        }
+      }
+    }
+
+    return StationAggregateCalculationUtility.environmentIssues(trueCount, count);
+  }
+
+  private boolean hasStationWaveformSummaries(
+    StationSohDefinition stationSohDefinition,
+    SohMonitorType monitorType
+  ) {
+
+    return channelsFor(stationSohDefinition, monitorType).stream()
+      .anyMatch(channelName ->
+        ChannelSohState.isStationChannel(stationSohDefinition.getStationName(), channelName)
+          && waveformSummariesByChannel.containsKey(channelName));
+  }
+
+  private static Set<String> channelsFor(
+    StationSohDefinition stationSohDefinition,
+    SohMonitorType monitorType
+  ) {
+
+    return stationSohDefinition.getChannelsBySohMonitorType().getOrDefault(monitorType, Set.of());
+  }
+
+  /**
+   * Create empty channel states for a new set of definitions: one for each channel the station
+   * defines or aggregates.
+   */
+  private void createChannelStates(Set<StationSohDefinition> stationSohDefinitions) {
+
+    Map<StationSohDefinition, Map<String, ChannelSohState>> statesByStation = new LinkedHashMap<>();
+    Map<String, List<ChannelSohState>> statesByChannel = new HashMap<>();
+
+    stationSohDefinitions.forEach(stationSohDefinition -> {
+
+      Map<String, ChannelSohState> channelStates = new HashMap<>();
+
+      Consumer<String> addChannel = channelName -> channelStates.computeIfAbsent(channelName,
+        key -> {
+          var channelSohDefinition = stationSohDefinition.getChannelSohDefinitions().stream()
+            .filter(definition -> definition.getChannelName().equals(channelName))
+            .findFirst()
+            .orElse(null);
+
+          var channelState = new ChannelSohState(channelName, channelSohDefinition,
+            stationSohDefinition);
+          statesByChannel.computeIfAbsent(channelName, name -> new ArrayList<>())
+            .add(channelState);
+          return channelState;
+        });
+
+      stationSohDefinition.getChannelSohDefinitions().stream()
+        .map(ChannelSohDefinition::getChannelName)
+        .forEach(addChannel);
+
+      stationSohDefinition.getChannelsBySohMonitorType().values()
+        .forEach(channelNames -> channelNames.forEach(addChannel));
+
+      statesByStation.put(stationSohDefinition, channelStates);
+    });
+
+    this.stationSohDefinitions = stationSohDefinitions;
+    this.channelStatesByStation = statesByStation;
+    this.channelStatesByChannel = statesByChannel;
+  }
+
+  /**
+   * Apply the extracts that have been added to, and evicted from, the cache since the last call.
+   *
+   * @param acquiredStationSohExtracts the cached extracts
+   * @param updateChannelStates whether to pass the changes on to the channel states
+   * @return map of station name to the earliest reception time of the new extracts of the station
+   */
+  private Map<String, Instant> update(
+    Set<AcquiredStationSohExtract> acquiredStationSohExtracts,
+    boolean updateChannelStates
+  ) {
+
+    Set<AcquiredStationSohExtract> cachedExtracts =
+      Collections.newSetFromMap(new IdentityHashMap<>(acquiredStationSohExtracts.size()));
+    cachedExtracts.addAll(acquiredStationSohExtracts);
+
+    var evictedExtracts = new ArrayList<AcquiredStationSohExtract>();
+    extracts.forEach(extract -> {
+      if (!cachedExtracts.contains(extract)) {
+        evictedExtracts.add(extract);
+      }
+    });
+
+    evictedExtracts.forEach(extract -> {
+      extracts.remove(extract);
+      remove(extract, updateChannelStates);
+    });
+
+    Map<String, Instant> earliestReceptionMap = new HashMap<>();
+    var newExtractCount = new AtomicInteger();
+
+    cachedExtracts.forEach(extract -> {
+      if (extracts.add(extract)) {
+        add(extract, updateChannelStates);
+        newExtractCount.incrementAndGet();
+
+        extract.getAcquisitionMetadata().forEach(rawStationDataFrameMetadata ->
+          earliestReceptionMap.merge(
+            rawStationDataFrameMetadata.getStationName(),
+            rawStationDataFrameMetadata.getReceptionTime(),
+            (first, second) -> first.isBefore(second) ? first : second
+          ));
+      }
+    });
+
+    if (logger.isDebugEnabled()) {
+      logger.debug("Applied {} new and {} evicted extracts", newExtractCount.get(),
+        evictedExtracts.size());
+    }
+
+    return earliestReceptionMap;
+  }
+
+  private void add(AcquiredStationSohExtract extract, boolean updateChannelStates) {
+
+    extract.getAcquisitionMetadata().forEach(rawStationDataFrameMetadata ->
+      rawStationDataFrameMetadata.getWaveformSummaries().values().forEach(waveformSummary -> {
+
+        acquiredSampleTimesByChannel.update(waveformSummary.getChannelName(),
+          waveformSummary.getEndTime());
+
+        var waveformSummaryAndReceptionTime = WaveformSummaryAndReceptionTime.create(
+          waveformSummary, rawStationDataFrameMetadata.getReceptionTime());
+
+        if (increment(waveformSummariesByChannel, waveformSummary.getChannelName(),
+          waveformSummaryAndReceptionTime) && updateChannelStates) {
+          channelStates(waveformSummary.getChannelName())
+            .forEach(state -> state.addWaveformSummary(waveformSummaryAndReceptionTime));
+        }
+      }));
+
+    booleanAceis(extract).forEach(acei -> {
+      if (increment(aceisByChannel, acei.getChannelName(), acei) && updateChannelStates) {
+        channelStates(acei.getChannelName()).forEach(state -> state.addAcei(acei));
+      }
+    });
+  }
+
+  private void remove(AcquiredStationSohExtract extract, boolean updateChannelStates) {
+
+    extract.getAcquisitionMetadata().forEach(rawStationDataFrameMetadata ->
+      rawStationDataFrameMetadata.getWaveformSummaries().values().forEach(waveformSummary -> {
+
+        var waveformSummaryAndReceptionTime = WaveformSummaryAndReceptionTime.create(
+          waveformSummary, rawStationDataFrameMetadata.getReceptionTime());
+
+        if (decrement(waveformSummariesByChannel, waveformSummary.getChannelName(),
+          waveformSummaryAndReceptionTime) && updateChannelStates) {
+          channelStates(waveformSummary.getChannelName())
+            .forEach(state -> state.removeWaveformSummary(waveformSummaryAndReceptionTime));
+        }
+      }));
+
+    booleanAceis(extract).forEach(acei -> {
+      if (decrement(aceisByChannel, acei.getChannelName(), acei) && updateChannelStates) {
+        channelStates(acei.getChannelName()).forEach(state -> state.removeAcei(acei));
+      }
+    });
+  }
+
+  /**
+   * Start the channel states over with every cached waveform summary and ACEI.
+   */
+  private void addCachedItems() {
+
+    channelStatesByChannel.values().forEach(channelStates ->
+      channelStates.forEach(ChannelSohState::clear));
+
+    waveformSummariesByChannel.forEach((channelName, waveformSummaries) ->
+      channelStates(channelName).forEach(state ->
+        waveformSummaries.keySet().forEach(state::addWaveformSummary)));
+
+    aceisByChannel.forEach((channelName, aceis) ->
+      channelStates(channelName).forEach(state -> aceis.keySet().forEach(state::addAcei)));
+  }
+
+  private List<ChannelSohState> channelStates(String channelName) {
+    return channelStatesByChannel.getOrDefault(channelName, List.of());
+  }
+
+  private static List<AcquiredChannelEnvironmentIssueBoolean> booleanAceis(
+    AcquiredStationSohExtract extract) {
+
+    var aceis = new ArrayList<AcquiredChannelEnvironmentIssueBoolean>();
+
+    extract.getAcquiredChannelEnvironmentIssues().forEach(acei -> {
+      if (acei instanceof AcquiredChannelEnvironmentIssueBoolean) {
+        aceis.add((AcquiredChannelEnvironmentIssueBoolean) acei);
+      }
+    });
+
+    return aceis;
+  }
+
+  /**
+   * Count an item for a channel.
+   *
+   * @return true if the item was not counted for the channel before
+   */
+  private static <T> boolean increment(Map<String, Map<T, Integer>> countsByChannel,
+    String channelName, T item) {
+
+    return countsByChannel.computeIfAbsent(channelName, key -> new HashMap<>())
+      .merge(item, 1, Integer::sum) == 1;
+  }
+
+  /**
+   * Uncount an item for a channel, dropping channels that have no items left.
+   *
+   * @return true if the item is no longer counted for the channel
+   */
+  private static <T> boolean decrement(Map<String, Map<T, Integer>> countsByChannel,
+    String channelName, T item) {
+
+    var counts = countsByChannel.get(channelName);
+
+    if (counts == null || !counts.containsKey(item)) {
+      return false;
+    }
+
+    var removed = counts.computeIfPresent(item, (key, count) -> count == 1 ? null : count - 1)
+      == null;
+
+    if (counts.isEmpty()) {
+      countsByChannel.remove(channelName);
+    }
+
+    return removed;
+  }
+
+  /**
+   * Log timing to verify that incoming data is being processed within required timeframe
+   */
+  private static void logTimingPoint(StationSoh stationSoh, Map<String, Instant> earliestReceptionMap) {
+
+    if (TIMING_LEVEL_ENABLED && earliestReceptionMap.containsKey(stationSoh.getStationName())) {
+
+      legacyLogger.log(TIMING_LEVEL,
+        String.format("Timing Point A: SOH object <%s> earliest RSDF <%s>",
+          stationSoh.getId(),
+          earliestReceptionMap.get(stationSoh.getStationName())));
+    }
+  }
+}
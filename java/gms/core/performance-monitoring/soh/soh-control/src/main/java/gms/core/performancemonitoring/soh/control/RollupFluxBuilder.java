@@ -10,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import reactor.core.publisher.ConnectableFlux;
 import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -68,6 +69,43 @@ class RollupFluxBuilder {
 
   }
 
+  /**
+   * Construct a new RollupFluxBuilder that computes StationSoh with an
+   * IncrementalStationSohCalculator, which keeps its state between calls.
+   *
+   * @param acquiredStationSohExtractSet The Flux of AcquiredStationSohExtract - the input SOH data
+   * @param stationSohDefinitionSet Set of configurations specifying "pure" rollup behavior
+   * @param capabilitySohRollupDefinitionSet Set of configurations specifying "capability" rollup
+   * behavior
+   * @param incrementalStationSohCalculator IncrementalStationSohCalculator used to compute StationSoh
+   */
+  RollupFluxBuilder(
+    Set<AcquiredStationSohExtract> acquiredStationSohExtractSet,
+    Set<StationSohDefinition> stationSohDefinitionSet,
+    Set<CapabilitySohRollupDefinition> capabilitySohRollupDefinitionSet,
+    IncrementalStationSohCalculator incrementalStationSohCalculator) {
+
+    var nowInstant = Instant.now();
+
+    this.stationSohFlux = replayStationSohFlux(
+      Flux.defer(() -> Flux.fromIterable(incrementalStationSohCalculator.calculate(
+          acquiredStationSohExtractSet,
+          stationSohDefinitionSet,
+          nowInstant
+        )))
+        .subscribeOn(Schedulers.boundedElastic())
+    );
+
+    this.capabilitySohRollupFlux = buildCapabilityRollupFlux(
+      this.stationSohFlux,
+      capabilitySohRollupDefinitionSet,
+      nowInstant
+    );
+
+    this.stationSohFlux.connect();
+    this.capabilitySohRollupFlux.connect();
+  }
+
   /**
    * Construct a new RollupFluxBuilder
    *
@@ -150,13 +188,26 @@ class RollupFluxBuilder {
     AcquiredSampleTimesByChannel acquiredSampleTimesByChannel
   ) {
 
-    var restartCount = new AtomicInteger(0);
-
-    return StationSohCalculationUtility.buildStationSohFlux(
+    return replayStationSohFlux(
+      StationSohCalculationUtility.buildStationSohFlux(
         acquiredStationSohExtractSet,
         stationSohDefinitionSet,
         now,
         acquiredSampleTimesByChannel)
+    );
+  }
+
+  /**
+   * Cache a Flux of StationSoh so that it can be sent to multiple subscribers
+   *
+   * @param stationSohFlux Flux of StationSoh
+   * @return ConnectableFlux of StationSoh
+   */
+  private static ConnectableFlux<StationSoh> replayStationSohFlux(Flux<StationSoh> stationSohFlux) {
+
+    var restartCount = new AtomicInteger(0);
+
+    return stationSohFlux
       .doFirst(() ->
         logger.debug(
           "RollupFluxBuilder: stationSohFlux restarting for {}th time",
@@ -0,0 +1,208 @@
+package gms.core.performancemonitoring.soh.control;
+
+import gms.core.performancemonitoring.soh.control.configuration.TimeWindowDefinition;
+import org.apache.commons.lang3.Validate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Keeps track of which of a set of time-interval items overlap a calculation interval that slides
+ * forward with "now", using the same overlap rule as
+ * {@link ChannelSohCalculationUtility#filterTemporalOverlap}: an item is in the window if it
+ * starts before (now - backOffDuration) and ends after (now - backOffDuration - calculationInterval).
+ * <p>
+ * Items that have not started yet are held by start time until the window reaches them, and items
+ * in the window are held by end time until the window passes them, so sliding the window only
+ * touches the items that enter or leave it. A {@link Listener} is told about each item that enters
+ * or leaves, so that running aggregates can be kept up to date. Items that the window has passed are
+ * dropped, so "now" may only move forward; start over with {@link #clear()} to go back in time.
+ * Instances are not thread safe.
+ *
+ * @param <T> the type of item
+ */
+final class SlidingTimeWindow<T> {
+
+  /**
+   * Told about each item as it enters or leaves the window.
+   */
+  interface Listener<T> {
+
+    void entered(T item);
+
+    void exited(T item);
+  }
+
+  private final TimeWindowDefinition timeWindowDefinition;
+
+  private final Function<T, Instant> getStartTime;
+
+  private final Function<T, Instant> getEndTime;
+
+  private final Listener<T> listener;
+
+  // Items that start at or after the stop time of the window, by start time
+  private final NavigableMap<Instant, List<T>> pendingByStartTime = new TreeMap<>();
+
+  // Items in the window, by end time
+  private final NavigableMap<Instant, List<T>> activeByEndTime = new TreeMap<>();
+
+  private int activeCount;
+
+  private Instant now;
+
+  SlidingTimeWindow(
+    TimeWindowDefinition timeWindowDefinition,
+    Function<T, Instant> getStartTime,
+    Function<T, Instant> getEndTime,
+    Listener<T> listener
+  ) {
+
+    Validate.notNull(timeWindowDefinition, "timeWindowDefinition may not be null");
+    Validate.isTrue(!timeWindowDefinition.getCalculationInterval().isNegative(),
+      "calculationInterval may not be negative");
+    Validate.isTrue(!timeWindowDefinition.getBackOffDuration().isNegative(),
+      ChannelSohCalculationUtility.BACK_OFF_DURATION_MAY_NOT_BE_NEGATIVE);
+
+    this.timeWindowDefinition = timeWindowDefinition;
+    this.getStartTime = Objects.requireNonNull(getStartTime);
+    this.getEndTime = Objects.requireNonNull(getEndTime);
+    this.listener = Objects.requireNonNull(listener);
+  }
+
+  /**
+   * Adds an item. The item enters the window right away if it overlaps it, waits for the window if
+   * it starts later, and is dropped if the window has already passed it.
+   *
+   * @param item the item to add, which must not already be in this window
+   */
+  void add(T item) {
+
+    if (now == null || !getStartTime.apply(item).isBefore(stopTime())) {
+      pendingByStartTime.computeIfAbsent(getStartTime.apply(item), key -> new ArrayList<>())
+        .add(item);
+    } else if (getEndTime.apply(item).isAfter(startTime())) {
+      activate(item);
+    }
+  }
+
+  /**
+   * Removes an item, telling the listener if the item was in the window.
+   *
+   * @param item the item to remove
+   */
+  void remove(T item) {
+
+    if (removeFrom(pendingByStartTime, getStartTime.apply(item), item)) {
+      return;
+    }
+
+    if (removeFrom(activeByEndTime, getEndTime.apply(item), item)) {
+      activeCount--;
+      listener.exited(item);
+    }
+  }
+
+  /**
+   * Slides the window so that it ends at (now - backOffDuration).
+   *
+   * @param now the new "now", which may not be before the previous one
+   */
+  void slideTo(Instant now) {
+
+    Validate.isTrue(this.now == null || !now.isBefore(this.now),
+      "A SlidingTimeWindow may not slide backwards");
+
+    this.now = now;
+
+    var startTime = startTime();
+
+    var started = pendingByStartTime.headMap(stopTime(), false);
+    started.values().stream()
+      .flatMap(Collection::stream)
+      .filter(item -> getEndTime.apply(item).isAfter(startTime))
+      .forEach(this::activate);
+    started.clear();
+
+    var ended = activeByEndTime.headMap(startTime, true);
+    ended.values().stream()
+      .flatMap(Collection::stream)
+      .forEach(item -> {
+        activeCount--;
+        listener.exited(item);
+      });
+    ended.clear();
+  }
+
+  /**
+   * Drops every item, without telling the listener, and forgets "now".
+   */
+  void clear() {
+
+    pendingByStartTime.clear();
+    activeByEndTime.clear();
+    activeCount = 0;
+    now = null;
+  }
+
+  /**
+   * @return the start of the window, which must have been slid at least once.
+   */
+  Instant startTime() {
+    return stopTime().minus(timeWindowDefinition.getCalculationInterval());
+  }
+
+  /**
+   * @return the end of the window, which must have been slid at least once.
+   */
+  Instant stopTime() {
+    Validate.validState(now != null, "SlidingTimeWindow has not been slid to a time yet");
+    return now.minus(timeWindowDefinition.getBackOffDuration());
+  }
+
+  /**
+   * @return the items currently in the window, in no particular order.
+   */
+  Collection<T> getItems() {
+
+    var items = new ArrayList<T>(activeCount);
+    activeByEndTime.values().forEach(items::addAll);
+    return items;
+  }
+
+  /**
+   * @return the number of items currently in the window.
+   */
+  int size() {
+    return activeCount;
+  }
+
+  private void activate(T item) {
+
+    activeByEndTime.computeIfAbsent(getEndTime.apply(item), key -> new ArrayList<>()).add(item);
+    activeCount++;
+    listener.entered(item);
+  }
+
+  private static <T> boolean removeFrom(Map<Instant, List<T>> itemsByTime, Instant time, T item) {
+
+    var items = itemsByTime.get(time);
+
+    if (items == null || !items.remove(item)) {
+      return false;
+    }
+
+    if (items.isEmpty()) {
+      itemsByTime.remove(time);
+    }
+
+    return true;
+  }
+}
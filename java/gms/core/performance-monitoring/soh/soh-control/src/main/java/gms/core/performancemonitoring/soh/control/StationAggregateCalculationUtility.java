@@ -90,16 +90,7 @@ public class StationAggregateCalculationUtility {
       ));
 
     var missingMono = channelSohSetMono
-      .map(channelSohSet -> channelSohSet.stream()
-        .filter(
-          channelSoh -> stationSohDefinition.getChannelsBySohMonitorType()
-            .get(SohMonitorType.MISSING)
-            .contains(channelSoh.getChannelName()))
-        .map(channelSoh -> channelSoh.getSohMonitorValueAndStatusMap()
-          .get(SohMonitorType.MISSING))
-        .map(PercentSohMonitorValueAndStatus.class::cast)
-        .collect(Collectors.toList()))
-      .map(this::missing)
+      .map(channelSohSet -> missing(channelSohSet, stationSohDefinition))
       .map(Optional::of);
 
     var timelinessMono = filterWaveformSummaries(
@@ -168,26 +159,64 @@ public class StationAggregateCalculationUtility {
     Stream<AcquiredChannelEnvironmentIssueBoolean> acquiredChannelEnvironmentIssueBooleans
   ) {
 
-    double average = 100.0 * acquiredChannelEnvironmentIssueBooleans
+    var issueCounts = acquiredChannelEnvironmentIssueBooleans
       .mapToInt(
         acquiredChannelEnvironmentIssueBoolean ->
           Boolean.TRUE.equals(acquiredChannelEnvironmentIssueBoolean.getStatus()) ? 1
             : 0
-      ).average().orElse(Double.NaN);
+      ).summaryStatistics();
+
+    return environmentIssues(issueCounts.getSum(), issueCounts.getCount());
+  }
+
+  /**
+   * Calculate the percentage of environmental issues that are true, given how many are true out of
+   * how many there are.
+   *
+   * @param trueCount the number of environment booleans that are true
+   * @param count the total number of environment booleans
+   * @return PercentStationAggregate that wraps the percentage value, which is null if there are
+   * no environment booleans.
+   */
+  static PercentStationAggregate environmentIssues(long trueCount, long count) {
 
     return PercentStationAggregate.from(
-      Double.isNaN(average) ? null : average,
+      count == 0 ? null : 100.0 * ((double) trueCount / count),
       StationAggregateType.ENVIRONMENTAL_ISSUES
     );
   }
 
+  /**
+   * Calculate the missing percentage from the MISSING statuses of the channels of the station that
+   * are configured for MISSING.
+   *
+   * @param channelSohs ChannelSohs for the station
+   * @param stationSohDefinition the StationSohDefinition for the station
+   * @return PercentStationAggregate of type MISSING.
+   */
+  static PercentStationAggregate missing(
+    Collection<ChannelSoh> channelSohs,
+    StationSohDefinition stationSohDefinition
+  ) {
+
+    return missing(channelSohs.stream()
+      .filter(
+        channelSoh -> stationSohDefinition.getChannelsBySohMonitorType()
+          .get(SohMonitorType.MISSING)
+          .contains(channelSoh.getChannelName()))
+      .map(channelSoh -> channelSoh.getSohMonitorValueAndStatusMap()
+        .get(SohMonitorType.MISSING))
+      .map(PercentSohMonitorValueAndStatus.class::cast)
+      .collect(Collectors.toList()));
+  }
+
   /**
    * Calculate the missing percentage using the PercentSohMonitorValueAndStatus for all channels of the station
    *
    * @param channelPercentSohMonitorValueAndStatus List of Channel channelPercentSohMonitorValueAndStatus for the given station
    * @return PercentStationAggregate of type MISSING.
    */
-  private PercentStationAggregate missing(
+  private static PercentStationAggregate missing(
     List<PercentSohMonitorValueAndStatus> channelPercentSohMonitorValueAndStatus
   ) {
     var missingPercentage = channelPercentSohMonitorValueAndStatus.stream()
@@ -208,7 +237,22 @@ public class StationAggregateCalculationUtility {
     Set<String> channelNames
   ) {
 
-    if (waveformSummaryAndReceptionTimesMap.isEmpty() && acquiredSampleTimesByChannel.isEmpty()) {
+    return timeliness(!waveformSummaryAndReceptionTimesMap.isEmpty(), channelNames);
+  }
+
+  /**
+   * Calculate the timeliness, which is how long in the past we recieved the most recent data
+   *
+   * @param hasWaveformSummaries whether any of the channels have waveform summaries
+   * @param channelNames list of channels to consider
+   * @return DurationStationAggregate that wraps the timeliness value
+   */
+  Optional<DurationStationAggregate> timeliness(
+    boolean hasWaveformSummaries,
+    Set<String> channelNames
+  ) {
+
+    if (!hasWaveformSummaries && acquiredSampleTimesByChannel.isEmpty()) {
       return Optional.empty();
     }
     return channelNames.stream()
@@ -136,25 +136,12 @@ public final class StationSohCalculationUtility {
             stationSohDefinition).subscribeOn(Schedulers.boundedElastic());
 
         return Mono.zip(stationAggregateMono, channelSohsSetMono).map(
-            tuple -> {
-              Set<SohMonitorValueAndStatus<?>> sohMonitorValueAndStatusSet =
-                getWorstStatusSet(
-                  tuple.getT2(),
-                  stationSohDefinition
-                );
-
-              return ChannelSohCalculationUtility.rollup(
-                sohMonitorValueAndStatusSet,
-                stationSohDefinition.getSohMonitorTypesForRollup()).map(
-                rollupStationSohMapClosure(
-                  stationSohDefinition,
-                  sohMonitorValueAndStatusSet,
-                  tuple.getT2(),
-                  tuple.getT1(),
-                  stationSohTime
-                )
-              );
-            }).filter(Optional::isPresent)
+            tuple -> stationSoh(
+              stationSohDefinition,
+              tuple.getT2(),
+              tuple.getT1(),
+              stationSohTime
+            )).filter(Optional::isPresent)
           .map(Optional::get)
           //
           // Log timing to verify that incoming data is being processed within required timeframe
@@ -173,6 +160,42 @@ public final class StationSohCalculationUtility {
       })).subscribeOn(Schedulers.boundedElastic());
   }
 
+  /**
+   * Rolls up a station's ChannelSohs into a StationSoh, using the worst status of each monitor type
+   * across the station's channels.
+   *
+   * @param stationSohDefinition Defines the station and how it is rolled up
+   * @param channelSohs The ChannelSohs of the station
+   * @param stationAggregates The StationAggregates of the station
+   * @param stationSohTime The time of the StationSoh
+   * @return The StationSoh, or empty if no monitor type included in the rollup has a status.
+   */
+  static Optional<StationSoh> stationSoh(
+    StationSohDefinition stationSohDefinition,
+    Set<ChannelSoh> channelSohs,
+    Set<StationAggregate<?>> stationAggregates,
+    Instant stationSohTime
+  ) {
+
+    Set<SohMonitorValueAndStatus<?>> sohMonitorValueAndStatusSet =
+      getWorstStatusSet(
+        channelSohs,
+        stationSohDefinition
+      );
+
+    return ChannelSohCalculationUtility.rollup(
+      sohMonitorValueAndStatusSet,
+      stationSohDefinition.getSohMonitorTypesForRollup()).map(
+      rollupStationSohMapClosure(
+        stationSohDefinition,
+        sohMonitorValueAndStatusSet,
+        channelSohs,
+        stationAggregates,
+        stationSohTime
+      )
+    );
+  }
+
   /*
    * Set of RawStationDataFrameMetadata from the previous call to getEarliestReceptionMap()
    */
@@ -58,6 +58,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import static gms.core.performancemonitoring.soh.control.StationSohControlConstants.APPLICATION_ID;
 import static gms.core.performancemonitoring.soh.control.StationSohControlConstants.CAPABILITY_SOH_ROLLUP_OUTPUT_TOPIC;
 import static gms.core.performancemonitoring.soh.control.StationSohControlConstants.CAPABILITY_SOH_ROLLUP_OUTPUT_TOPIC_DEFAULT;
+import static gms.core.performancemonitoring.soh.control.StationSohControlConstants.INCREMENTAL_STATION_SOH;
+import static gms.core.performancemonitoring.soh.control.StationSohControlConstants.INCREMENTAL_STATION_SOH_DEFAULT;
 import static gms.core.performancemonitoring.soh.control.StationSohControlConstants.INPUT_TOPIC;
 import static gms.core.performancemonitoring.soh.control.StationSohControlConstants.INPUT_TOPIC_DEFAULT;
 import static gms.core.performancemonitoring.soh.control.StationSohControlConstants.KAFKA_BOOTSTRAP_SERVERS;
@@ -99,6 +101,9 @@ public class StationSohControl implements StationSohControlInterface {
 
   private final AcquiredSampleTimesByChannel acquiredSampleTimesByChannel;
 
+  // Null when StationSoh is recomputed from all cached extracts every interval
+  private final IncrementalStationSohCalculator incrementalStationSohCalculator;
+
   private final boolean startAtNextMinute;
 
   private final OsdRepositoryInterface sohRepository;
@@ -160,6 +165,9 @@ public class StationSohControl implements StationSohControlInterface {
 
     this.acquiredSampleTimesByChannel = new AcquiredSampleTimesByChannel();
 
+    this.incrementalStationSohCalculator = createIncrementalStationSohCalculator(systemConfig,
+      acquiredSampleTimesByChannel);
+
     // Use a systemConfig parameter for now, but we might consider adding this
     // to the SohControlDefinition.
     Duration tentativMonitorLoggingPeriod = null;
@@ -210,6 +218,9 @@ public class StationSohControl implements StationSohControlInterface {
 
     this.acquiredSampleTimesByChannel = new AcquiredSampleTimesByChannel();
 
+    this.incrementalStationSohCalculator = createIncrementalStationSohCalculator(systemConfig,
+      acquiredSampleTimesByChannel);
+
     // Use a systemConfig parameter for now, but we might consider adding this
     // to the SohControlDefinition.
     Duration dur = null;
@@ -486,13 +497,22 @@ public class StationSohControl implements StationSohControlInterface {
       // Use RollupFluxBuilder to build up our StationSoh Flux and CapabilitySohRollup Flux
       //
       // TODO: git rid of rollupStationSohTimeTolerance config
-      var rollupFluxBuilder = new RollupFluxBuilder(
-        acquiredStationSohExtracts,
-        stationSohDefinitions,
-        configurationPair.getStationSohMonitoringDefinition()
-          .getCapabilitySohRollupDefinitions(),
-        acquiredSampleTimesByChannel
-      );
+      var capabilitySohRollupDefinitions = configurationPair.getStationSohMonitoringDefinition()
+        .getCapabilitySohRollupDefinitions();
+
+      var rollupFluxBuilder = incrementalStationSohCalculator != null ?
+        new RollupFluxBuilder(
+          acquiredStationSohExtracts,
+          stationSohDefinitions,
+          capabilitySohRollupDefinitions,
+          incrementalStationSohCalculator
+        ) :
+        new RollupFluxBuilder(
+          acquiredStationSohExtracts,
+          stationSohDefinitions,
+          capabilitySohRollupDefinitions,
+          acquiredSampleTimesByChannel
+        );
 
       var startMs = System.currentTimeMillis();
 
@@ -592,6 +612,23 @@ public class StationSohControl implements StationSohControlInterface {
     }
   }
 
+  /**
+   * Create the IncrementalStationSohCalculator, unless the system config turns incremental
+   * StationSoh calculation off.
+   */
+  private static IncrementalStationSohCalculator createIncrementalStationSohCalculator(
+    SystemConfig systemConfig,
+    AcquiredSampleTimesByChannel acquiredSampleTimesByChannel) {
+
+    var incremental = Boolean.parseBoolean(getSystemConfig(systemConfig, INCREMENTAL_STATION_SOH,
+      INCREMENTAL_STATION_SOH_DEFAULT));
+
+    logger.info("StationSoh is {} each calculation interval",
+      incremental ? "updated incrementally" : "recomputed from all cached extracts");
+
+    return incremental ? new IncrementalStationSohCalculator(acquiredSampleTimesByChannel) : null;
+  }
+
   /**
    * Get a value from the system config, returning a default value if not defined.
    */
@@ -20,6 +20,8 @@ final class StationSohControlConstants {
   static final String CAPABILITY_SOH_ROLLUP_OUTPUT_TOPIC = "capabilitySohRollupOutputTopic";
   static final String CAPABILITY_SOH_ROLLUP_OUTPUT_TOPIC_DEFAULT = "soh.capability-rollup";
   static final String MONITOR_LOGGING_PERIOD = "monitorLoggingPeriod";
+  static final String INCREMENTAL_STATION_SOH = "incrementalStationSoh";
+  static final String INCREMENTAL_STATION_SOH_DEFAULT = "true";
 
   // How ofter to output logging stats in the monitor method. This might be made a
   // configurable parameter. But to start, use 10 minutes.
@@ -0,0 +1,448 @@
+package gms.core.performancemonitoring.soh.control.kafka;
+
+import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
+import org.apache.commons.lang3.Validate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of {@link AcquiredStationSohExtract}s, keeping each extract until its payload end time is
+ * more than the cache duration of its station before "now".
+ * <p>
+ * Each station's extracts are kept in a ring of time buckets, keyed by payload end time, so that
+ * expiring old extracts clears whole buckets instead of searching a sorted map. Only the bucket that
+ * straddles the expiry limit is looked at extract by extract. Extracts that fall outside the range
+ * covered by the ring (from the future, or from before the ring has advanced) are kept in a sorted
+ * overflow map until the ring reaches them.
+ * <p>
+ * Changes are made under a lock, and each {@link #update} publishes an immutable snapshot of the
+ * cache that {@link #snapshot()} returns without locking. A station's part of the snapshot is only
+ * rebuilt when the station's extracts have changed.
+ */
+final class ExtractCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ExtractCache.class);
+
+  //
+  // Rough estimates of the retained heap of the parts of an extract, so that each station's share
+  // of the cache can be watched. These are not exact object sizes.
+  //
+  private static final long EXTRACT_BYTES = 64;
+  private static final long METADATA_BYTES = 320;
+  private static final long CHANNEL_NAME_BYTES = 64;
+  private static final long WAVEFORM_SUMMARY_BYTES = 160;
+  private static final long ACEI_BYTES = 200;
+
+  // Longer cache durations keep their newer buckets in the overflow map
+  private static final int MAX_RING_BUCKETS = 4096;
+
+  private final Map<String, Duration> stationCachingDurations;
+
+  private final long bucketMillis;
+
+  private final Map<String, StationRing> ringsByStation = new HashMap<>();
+
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private volatile Snapshot snapshot = new Snapshot(Map.of());
+
+  /**
+   * @param stationCachingDurations Map of station name to how long to keep data for the station.
+   * Extracts for other stations are not cached.
+   * @param bucketDuration how much payload end time each bucket of the ring covers
+   */
+  ExtractCache(Map<String, Duration> stationCachingDurations, Duration bucketDuration) {
+
+    Objects.requireNonNull(stationCachingDurations, "stationCachingDurations is required");
+    Objects.requireNonNull(bucketDuration, "bucketDuration is required");
+    Validate.isTrue(bucketDuration.toMillis() > 0, "bucketDuration must be at least a millisecond");
+
+    this.stationCachingDurations = stationCachingDurations;
+    this.bucketMillis = bucketDuration.toMillis();
+  }
+
+  /**
+   * Add new extracts that are newer than (now - stationduration), expire extracts that are older,
+   * and publish a new snapshot.
+   *
+   * @param extracts the new extracts
+   * @param now the caller's concept of "now" (so that tests can be consistent)
+   * @return the new snapshot
+   */
+  Set<AcquiredStationSohExtract> update(
+    Collection<AcquiredStationSohExtract> extracts,
+    Instant now
+  ) {
+
+    var lockWaitStart = System.nanoTime();
+    lock.lock();
+
+    try {
+
+      ExtractCacheMetrics.lockWait(
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lockWaitStart));
+
+      extracts.forEach(extract -> add(extract, now));
+
+      ringsByStation.values().forEach(ring -> ring.expire(now));
+
+      var newSnapshot = new Snapshot(
+        ringsByStation.entrySet().stream()
+          .filter(entry -> entry.getValue().size() > 0)
+          .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().snapshot()))
+      );
+
+      snapshot = newSnapshot;
+
+      ExtractCacheMetrics.cacheUpdated(newSnapshot.size(), estimatedBytes(),
+        oldestPayloadEndTime().map(oldest -> Duration.between(oldest, now).toMillis())
+          .orElse(0L));
+
+      return newSnapshot;
+
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * @return the snapshot published by the last {@link #update}, without waiting on an update in
+   * progress
+   */
+  Set<AcquiredStationSohExtract> snapshot() {
+    return snapshot;
+  }
+
+  /**
+   * @return Map of station name to the estimated heap used by the station's cached extracts
+   */
+  Map<String, Long> estimatedBytesByStation() {
+
+    lock.lock();
+
+    try {
+      return ringsByStation.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().bytes));
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private long estimatedBytes() {
+    return ringsByStation.values().stream().mapToLong(ring -> ring.bytes).sum();
+  }
+
+  private Optional<Instant> oldestPayloadEndTime() {
+    return ringsByStation.values().stream()
+      .map(StationRing::oldestPayloadEndTime)
+      .flatMap(Optional::stream)
+      .min(Instant::compareTo);
+  }
+
+  private void add(AcquiredStationSohExtract extract, Instant now) {
+
+    var stationName = metadata(extract).getStationName();
+    var cachingDuration = stationCachingDurations.get(stationName);
+
+    if (cachingDuration == null) {
+      logger.debug("addToCache was called with a station that is not configured: {}", stationName);
+      return;
+    }
+
+    ringsByStation
+      .computeIfAbsent(stationName, key -> new StationRing(cachingDuration))
+      .add(extract, now);
+  }
+
+  private static RawStationDataFrameMetadata metadata(AcquiredStationSohExtract extract) {
+    return extract.getAcquisitionMetadata()
+      .get(0); // ASSUMPTION! There is only a single RSDF metadata object in the extract.
+  }
+
+  private static Instant payloadEndTime(AcquiredStationSohExtract extract) {
+    return metadata(extract).getPayloadEndTime();
+  }
+
+  static long estimatedBytes(AcquiredStationSohExtract extract) {
+
+    var bytes = EXTRACT_BYTES
+      + ACEI_BYTES * extract.getAcquiredChannelEnvironmentIssues().size();
+
+    for (var metadata : extract.getAcquisitionMetadata()) {
+      bytes += METADATA_BYTES
+        + CHANNEL_NAME_BYTES * metadata.getChannelNames().size()
+        + WAVEFORM_SUMMARY_BYTES * metadata.getWaveformSummaries().size();
+    }
+
+    return bytes;
+  }
+
+  /**
+   * The extracts with payload end times in one bucket-sized span of time.
+   */
+  private static final class Bucket {
+
+    private final long index;
+
+    private final Set<AcquiredStationSohExtract> extracts = new HashSet<>();
+
+    private Bucket(long index) {
+      this.index = index;
+    }
+  }
+
+  /**
+   * One station's extracts. The ring holds buckets oldestIndex through
+   * (oldestIndex + buckets.length - 1), each in slot (index mod buckets.length).
+   */
+  private final class StationRing {
+
+    private final Duration cachingDuration;
+
+    private final Bucket[] buckets;
+
+    private final NavigableMap<Long, Bucket> overflow = new TreeMap<>();
+
+    private long oldestIndex = Long.MIN_VALUE;
+
+    private int size;
+
+    private long bytes;
+
+    private Set<AcquiredStationSohExtract> snapshot = Set.of();
+
+    private boolean changed;
+
+    private StationRing(Duration cachingDuration) {
+
+      this.cachingDuration = cachingDuration;
+
+      // One bucket more than the duration covers, for the bucket that straddles the limit
+      this.buckets = new Bucket[(int) Math.min(cachingDuration.toMillis() / bucketMillis + 2,
+        MAX_RING_BUCKETS)];
+    }
+
+    private void add(AcquiredStationSohExtract extract, Instant now) {
+
+      var payloadEndTime = payloadEndTime(extract);
+
+      if (!payloadEndTime.isAfter(now.minus(cachingDuration))) {
+        return;
+      }
+
+      var index = bucketIndex(payloadEndTime);
+
+      if (oldestIndex == Long.MIN_VALUE) {
+        oldestIndex = bucketIndex(now.minus(cachingDuration));
+      }
+
+      if (bucket(index).extracts.add(extract)) {
+        size++;
+        bytes += estimatedBytes(extract);
+        changed = true;
+      }
+    }
+
+    /**
+     * Drop the extracts whose payload end times are before (now - cachingDuration).
+     */
+    private void expire(Instant now) {
+
+      var limit = now.minus(cachingDuration);
+      var limitIndex = bucketIndex(limit);
+
+      if (size == 0) {
+        oldestIndex = Math.max(oldestIndex, limitIndex);
+        return;
+      }
+
+      // Clear the ring buckets that are wholly before the limit
+      var lastClearedIndex = Math.min(limitIndex, oldestIndex + buckets.length) - 1;
+
+      for (var index = oldestIndex; index <= lastClearedIndex; index++) {
+        var slot = slot(index);
+        if (buckets[slot] != null && buckets[slot].index == index) {
+          drop(buckets[slot].extracts);
+          buckets[slot] = null;
+        }
+      }
+
+      var expiredOverflow = overflow.headMap(limitIndex, false);
+      expiredOverflow.values().forEach(bucket -> drop(bucket.extracts));
+      expiredOverflow.clear();
+
+      if (limitIndex > oldestIndex) {
+        oldestIndex = limitIndex;
+
+        // Move the overflow buckets that the ring now covers into it
+        var covered = overflow.subMap(oldestIndex, true, oldestIndex + buckets.length, false);
+        covered.values().forEach(bucket -> buckets[slot(bucket.index)] = bucket);
+        covered.clear();
+      }
+
+      // The bucket holding the limit may still have extracts before it
+      var limitBucket = find(limitIndex);
+
+      if (limitBucket != null) {
+        var expired = limitBucket.extracts.stream()
+          .filter(extract -> payloadEndTime(extract).isBefore(limit))
+          .collect(Collectors.toList());
+
+        limitBucket.extracts.removeAll(expired);
+        drop(expired);
+      }
+    }
+
+    private Set<AcquiredStationSohExtract> snapshot() {
+
+      if (changed) {
+
+        var extracts = new HashSet<AcquiredStationSohExtract>(size * 2);
+
+        for (var bucket : buckets) {
+          if (bucket != null) {
+            extracts.addAll(bucket.extracts);
+          }
+        }
+
+        overflow.values().forEach(bucket -> extracts.addAll(bucket.extracts));
+
+        snapshot = Set.copyOf(extracts);
+        changed = false;
+      }
+
+      return snapshot;
+    }
+
+    private int size() {
+      return size;
+    }
+
+    private Optional<Instant> oldestPayloadEndTime() {
+
+      var oldestBucket = overflow.isEmpty() ? null : overflow.firstEntry().getValue();
+
+      for (var index = oldestIndex; index < oldestIndex + buckets.length; index++) {
+        var bucket = find(index);
+        if (bucket != null && !bucket.extracts.isEmpty()) {
+          if (oldestBucket == null || bucket.index < oldestBucket.index) {
+            oldestBucket = bucket;
+          }
+          break;
+        }
+      }
+
+      return Optional.ofNullable(oldestBucket)
+        .flatMap(bucket -> bucket.extracts.stream()
+          .map(ExtractCache::payloadEndTime)
+          .min(Instant::compareTo));
+    }
+
+    private void drop(Collection<AcquiredStationSohExtract> extracts) {
+
+      if (!extracts.isEmpty()) {
+        size -= extracts.size();
+        bytes -= extracts.stream().mapToLong(ExtractCache::estimatedBytes).sum();
+        changed = true;
+      }
+    }
+
+    /**
+     * Find the bucket for an index, creating it in the ring or the overflow map.
+     */
+    private Bucket bucket(long index) {
+
+      if (index < oldestIndex || index >= oldestIndex + buckets.length) {
+        return overflow.computeIfAbsent(index, Bucket::new);
+      }
+
+      var slot = slot(index);
+
+      if (buckets[slot] == null || buckets[slot].index != index) {
+        // Any bucket still in this slot is older than the ring and has expired
+        if (buckets[slot] != null) {
+          drop(buckets[slot].extracts);
+        }
+        buckets[slot] = new Bucket(index);
+      }
+
+      return buckets[slot];
+    }
+
+    private Bucket find(long index) {
+
+      if (index < oldestIndex || index >= oldestIndex + buckets.length) {
+        return overflow.get(index);
+      }
+
+      var bucket = buckets[slot(index)];
+      return bucket != null && bucket.index == index ? bucket : null;
+    }
+
+    private int slot(long index) {
+      return (int) Math.floorMod(index, (long) buckets.length);
+    }
+  }
+
+  private long bucketIndex(Instant time) {
+    return Math.floorDiv(time.toEpochMilli(), bucketMillis);
+  }
+
+  /**
+   * Immutable union of the stations' snapshots.
+   */
+  private static final class Snapshot extends AbstractSet<AcquiredStationSohExtract> {
+
+    private final Map<String, Set<AcquiredStationSohExtract>> extractsByStation;
+
+    private final int size;
+
+    private Snapshot(Map<String, Set<AcquiredStationSohExtract>> extractsByStation) {
+      this.extractsByStation = Map.copyOf(extractsByStation);
+      this.size = extractsByStation.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @Override
+    public Iterator<AcquiredStationSohExtract> iterator() {
+      return extractsByStation.values().stream()
+        .flatMap(Set::stream)
+        .iterator();
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+
+      if (!(o instanceof AcquiredStationSohExtract)) {
+        return false;
+      }
+
+      var extracts = extractsByStation.get(
+        metadata((AcquiredStationSohExtract) o).getStationName());
+
+      return extracts != null && extracts.contains(o);
+    }
+  }
+}
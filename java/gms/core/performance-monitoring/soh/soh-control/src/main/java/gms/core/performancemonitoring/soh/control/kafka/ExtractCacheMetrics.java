@@ -0,0 +1,37 @@
+package gms.core.performancemonitoring.soh.control.kafka;
+
+import gms.shared.metrics.CustomMetric;
+
+/**
+ * Metrics of {@link ExtractCache}: the number of cached extracts, their estimated heap, the age of
+ * the oldest cached extract (now - its payload end time), and how long the last update waited for
+ * the cache lock.
+ */
+class ExtractCacheMetrics {
+
+  private static final CustomMetric<Long, Long> cacheSize =
+    CustomMetric.create(CustomMetric::updateTimingData, "soh_control_extract_cache_size:type=Value", 0L);
+  private static final CustomMetric<Long, Long> cacheBytes =
+    CustomMetric.create(CustomMetric::updateTimingData, "soh_control_extract_cache_bytes:type=Value", 0L);
+  private static final CustomMetric<Long, Long> oldestExtractAgeMillis =
+    CustomMetric.create(CustomMetric::updateTimingData,
+      "soh_control_extract_cache_oldest_extract_age_millis:type=Value", 0L);
+  private static final CustomMetric<Long, Long> lockWaitMillis =
+    CustomMetric.create(CustomMetric::updateTimingData,
+      "soh_control_extract_cache_lock_wait_millis:type=Value", 0L);
+
+  private ExtractCacheMetrics() {
+  }
+
+  // Only called while holding the ExtractCache lock, so the CustomMetric updates do not race
+
+  static void cacheUpdated(long size, long bytes, long oldestAgeMillis) {
+    cacheSize.updateMetric(size);
+    cacheBytes.updateMetric(bytes);
+    oldestExtractAgeMillis.updateMetric(oldestAgeMillis);
+  }
+
+  static void lockWait(long millis) {
+    lockWaitMillis.updateMetric(millis);
+  }
+}
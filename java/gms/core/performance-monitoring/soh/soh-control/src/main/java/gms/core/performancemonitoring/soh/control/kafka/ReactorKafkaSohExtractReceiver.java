@@ -1,11 +1,11 @@
 package gms.core.performancemonitoring.soh.control.kafka;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import gms.core.performancemonitoring.soh.control.kafka.KafkaSohExtractConsumerFactory.SohExtractKafkaConsumer;
-import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiDeserializer;
 import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,18 +21,11 @@ import reactor.util.retry.Retry;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
 import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentSkipListMap;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of {@link SohExtractReceiver} that consumes {@link AcquiredStationSohExtract}
@@ -43,17 +36,18 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
 
   private static final Logger logger = LoggerFactory.getLogger(ReactorKafkaSohExtractReceiver.class);
 
-  private final Map<String, Duration> stationCachingDurations;
+  //
+  // How much payload end time each bucket of the extract cache covers. Stations send a frame about
+  // every ten seconds, so each bucket holds about one extract per station.
+  //
+  private static final Duration CACHE_BUCKET_DURATION = Duration.ofSeconds(10);
 
-  private final KafkaReceiver<String, String> asseKafkaReceiver;
+  private final KafkaReceiver<String, byte[]> asseKafkaReceiver;
 
   //
-  // Cache of extracts.
-  //
-  // Keyed by station name, so that the per-station cache duration can be applied when cleaning out
-  // the cache
+  // Cache of extracts, which applies the per-station cache duration when cleaning out the cache
   //
-  private final Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>> extractCacheByStation = new ConcurrentHashMap<>();
+  private final ExtractCache extractCache;
 
   private final Map<TopicPartition, ReceiverOffset> offsetMap = new HashMap<>();
 
@@ -78,19 +72,19 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
     Map<String, Duration> stationCachingDurations
   ) {
 
-    this.stationCachingDurations = stationCachingDurations;
+    this.extractCache = new ExtractCache(stationCachingDurations, CACHE_BUCKET_DURATION);
 
     Map<String, Object> properties = Map.of(
       ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
       ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
-      ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+      ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class,
       ConsumerConfig.CLIENT_ID_CONFIG, applicationId,
       ConsumerConfig.GROUP_ID_CONFIG, applicationId,
       ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
       ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false"
     );
 
-    ReceiverOptions<String, String> receiverOptions = ReceiverOptions.create(properties);
+    ReceiverOptions<String, byte[]> receiverOptions = ReceiverOptions.create(properties);
 
     asseKafkaReceiver = KafkaReceiver.create(
       receiverOptions.subscription(Collections.singleton(topic)));
@@ -105,10 +99,10 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
    * @param stationCachingDurations Map of station name to how long to keep data for the station
    */
   ReactorKafkaSohExtractReceiver(
-    KafkaReceiver<String, String> mockKafkaReceiver,
+    KafkaReceiver<String, byte[]> mockKafkaReceiver,
     Map<String, Duration> stationCachingDurations
   ) {
-    this.stationCachingDurations = stationCachingDurations;
+    this.extractCache = new ExtractCache(stationCachingDurations, CACHE_BUCKET_DURATION);
     this.asseKafkaReceiver = mockKafkaReceiver;
   }
 
@@ -159,7 +153,7 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
         "Already receiving - please stop this ReactorKafkaSohExtractReceiver before calling receive again");
     }
 
-    cacheData.forEach(this::addToCache);
+    extractCache.update(cacheData, Instant.now());
 
     var asseFlux = receiveAsse();
 
@@ -183,22 +177,11 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
             acquiredStationSohExtractList.size()
           );
 
-          synchronized (extractCacheByStation) {
+          var cachedExtracts = extractCache.update(acquiredStationSohExtractList, Instant.now());
 
-            acquiredStationSohExtractList.forEach(this::addToCache);
+          offsetMap.values().forEach(ReceiverOffset::commit);
 
-            extractCacheByStation.forEach((stationName, subCache) ->
-              subCache.headMap(Instant.now().minus(stationCachingDurations.get(stationName)))
-                .clear());
-
-            offsetMap.values().forEach(ReceiverOffset::commit);
-
-            return extractCacheByStation.values()
-              .stream().map(Map::values)
-              .flatMap(Collection::stream)
-              .flatMap(Collection::stream)
-              .collect(Collectors.toSet());
-          }
+          return cachedExtracts;
         }
       )
       .subscribe(sohExtractKafkaConsumer);
@@ -232,24 +215,15 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
     return isReceiving;
   }
 
-  private void addToCache(AcquiredStationSohExtract extract) {
-
-    addToCache(
-      extract,
-      Instant.now(),
-      stationCachingDurations,
-      extractCacheByStation
-    );
-  }
-
   /**
    * Start receiving raw AcquiredStationSohExtracts, deserializing them, and caching them.
    */
   private Flux<AcquiredStationSohExtract> receiveAsse() {
 
-    Flux<ReceiverRecord<String, String>> kafkaFlux = asseKafkaReceiver.receive();
+    Flux<ReceiverRecord<String, byte[]>> kafkaFlux = asseKafkaReceiver.receive();
 
-    var objectMapper = CoiObjectMapperFactory.getJsonObjectMapper();
+    // Reads extracts in any encoding the producer is configured to write
+    var deserializer = new CoiDeserializer<>(AcquiredStationSohExtract.class);
 
     return kafkaFlux
       .retryWhen(Retry.backoff(8, Duration.ofSeconds(1)))
@@ -266,15 +240,11 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
       .map(receiverRecord -> {
 
         try {
-          return Optional.of(objectMapper.readValue(
-              receiverRecord.value(),
-              AcquiredStationSohExtract.class
-            )
-          );
+          return Optional.of(deserializer.deserialize(receiverRecord.topic(), receiverRecord.value()));
 
-        } catch (JsonProcessingException e) {
+        } catch (IllegalArgumentException e) {
           logger.info(
-            "Error parsing JSON, continuing to next record"
+            "Error parsing extract, continuing to next record"
           );
           return Optional.<AcquiredStationSohExtract>empty();
         }
@@ -282,51 +252,4 @@ public class ReactorKafkaSohExtractReceiver implements SohExtractReceiver {
       .filter(Optional::isPresent)
       .map(Optional::get);
   }
-
-  private static Instant payloadEndTime(AcquiredStationSohExtract extract) {
-    return extract.getAcquisitionMetadata()
-      .get(0) // ASSUMPTION! There is only a single RSDF metadata object in the extract.
-      .getPayloadEndTime();
-  }
-
-  /**
-   * Add an extract to a given cache, given that it is newer than then (now - stationduration)
-   * where stationduration is the cache duration for the station tha the extract is associated with.
-   * <p>
-   * This is package-private so that it can be tested.
-   *
-   * @param extract the extract to add
-   * @param now the callers concept of "now" (so that tests can be consisitent)
-   * @param stationCachingDurations Map od station name to station cache duration
-   * @param extractCacheByStation the cache to add to
-   */
-  static void addToCache(
-    AcquiredStationSohExtract extract,
-    Instant now,
-    Map<String, Duration> stationCachingDurations,
-    Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>> extractCacheByStation
-  ) {
-
-    var stationName = extract.getAcquisitionMetadata()
-      .get(0) // ASSUMPTION! There is only a single RSDF metadata object in the extract.
-      .getStationName();
-
-    if (stationCachingDurations.containsKey(stationName)) {
-      var payloadEndTimeLimit = now.minus(stationCachingDurations.get(stationName));
-      var possibleEnd = payloadEndTime(extract);
-
-      if (possibleEnd.isAfter(payloadEndTimeLimit)) {
-        extractCacheByStation
-          .computeIfAbsent(
-            stationName, dummyKey -> new ConcurrentSkipListMap<>()
-          )
-          .computeIfAbsent(
-            possibleEnd, instant -> new HashSet<>()
-          ).add(extract);
-      }
-    } else {
-      logger.debug("addToCache was called with a station that is not configured: {}", stationName);
-    }
-
-  }
 }
@@ -0,0 +1,221 @@
+package gms.core.performancemonitoring.soh.control;
+
+import gms.core.performancemonitoring.soh.control.configuration.StationSohDefinition;
+import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
+import gms.shared.frameworks.osd.coi.soh.StationSoh;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+class IncrementalStationSohCalculatorTests {
+
+  private static final UUID DUMMY_UUID = UUID.randomUUID();
+
+  private static final Duration STEP = Duration.ofSeconds(15);
+
+  private static List<AcquiredStationSohExtract> extracts;
+
+  private static Set<StationSohDefinition> stationSohDefinitions;
+
+  private static Instant firstEndTime;
+
+  private static Instant lastEndTime;
+
+  @BeforeAll
+  static void loadExtracts() throws IOException {
+
+    extracts = TestFixture.loadExtracts();
+    stationSohDefinitions = TestFixture.computeStationSohDefinitions(
+      extracts, new SecureRandom("0xDEADBEEF".getBytes()));
+
+    firstEndTime = extracts.stream()
+      .map(IncrementalStationSohCalculatorTests::payloadEndTime)
+      .min(Comparator.naturalOrder())
+      .orElseThrow();
+
+    lastEndTime = extracts.stream()
+      .map(IncrementalStationSohCalculatorTests::payloadEndTime)
+      .max(Comparator.naturalOrder())
+      .orElseThrow();
+  }
+
+  /**
+   * Step "now" from before the first extract until after every extract has left the time windows,
+   * caching extracts the way the receiver does, and check that each incremental result equals the
+   * result of recomputing from the whole cache.
+   */
+  @Test
+  void testMatchesBatchCalculation() {
+
+    var batchSampleTimes = newAcquiredSampleTimesByChannel();
+    var calculator = new IncrementalStationSohCalculator(newAcquiredSampleTimesByChannel());
+
+    var cacheDuration = maxCacheDuration(stationSohDefinitions);
+    var stepsWithStationSohs = 0;
+
+    for (var now = firstEndTime.minus(STEP); !now.isAfter(lastEndTime.plus(cacheDuration));
+      now = now.plus(STEP)) {
+
+      var cache = cache(now, cacheDuration);
+      var expected = batch(cache, stationSohDefinitions, now, batchSampleTimes);
+
+      assertSameStationSohs(
+        expected,
+        calculator.calculate(cache, stationSohDefinitions, now),
+        now
+      );
+
+      if (!expected.isEmpty()) {
+        stepsWithStationSohs++;
+      }
+    }
+
+    Assertions.assertTrue(stepsWithStationSohs > 0);
+  }
+
+  @Test
+  void testDefinitionChangeRebuildsState() {
+
+    var calculator = new IncrementalStationSohCalculator(newAcquiredSampleTimesByChannel());
+
+    var now = lastEndTime.plusSeconds(10);
+    var cache = cache(now, maxCacheDuration(stationSohDefinitions));
+
+    calculator.calculate(cache, stationSohDefinitions, now);
+
+    var fewerDefinitions = stationSohDefinitions.stream()
+      .skip(1)
+      .collect(Collectors.toSet());
+
+    now = now.plus(STEP);
+
+    assertSameStationSohs(
+      batch(cache, fewerDefinitions, now, newAcquiredSampleTimesByChannel()),
+      calculator.calculate(cache, fewerDefinitions, now),
+      now
+    );
+
+    Assertions.assertEquals(fewerDefinitions.size(),
+      calculator.calculate(cache, fewerDefinitions, now).size());
+  }
+
+  @Test
+  void testNowMovingBackwardsRebuildsState() {
+
+    var calculator = new IncrementalStationSohCalculator(newAcquiredSampleTimesByChannel());
+
+    var cacheDuration = maxCacheDuration(stationSohDefinitions);
+    var later = lastEndTime.plus(Duration.ofMinutes(2));
+    var earlier = lastEndTime.plusSeconds(10);
+
+    calculator.calculate(cache(later, cacheDuration), stationSohDefinitions, later);
+
+    var cache = cache(earlier, cacheDuration);
+
+    assertSameStationSohs(
+      batch(cache, stationSohDefinitions, earlier, newAcquiredSampleTimesByChannel()),
+      calculator.calculate(cache, stationSohDefinitions, earlier),
+      earlier
+    );
+  }
+
+  @Test
+  void testValidation() {
+
+    var calculator = new IncrementalStationSohCalculator(newAcquiredSampleTimesByChannel());
+    var now = Instant.now();
+
+    Assertions.assertThrows(NullPointerException.class,
+      () -> calculator.calculate(null, stationSohDefinitions, now));
+    Assertions.assertThrows(NullPointerException.class,
+      () -> calculator.calculate(Set.of(), null, now));
+    Assertions.assertThrows(NullPointerException.class,
+      () -> calculator.calculate(Set.of(), stationSohDefinitions, null));
+  }
+
+  private static List<StationSoh> batch(
+    Set<AcquiredStationSohExtract> cache,
+    Set<StationSohDefinition> stationSohDefinitions,
+    Instant now,
+    AcquiredSampleTimesByChannel acquiredSampleTimesByChannel
+  ) {
+
+    return StationSohCalculationUtility.buildStationSohFlux(
+      cache,
+      stationSohDefinitions,
+      now,
+      acquiredSampleTimesByChannel
+    ).collectList().block();
+  }
+
+  /**
+   * The extracts the receiver would have cached at "now": those that have arrived, and have not
+   * been evicted.
+   */
+  private static Set<AcquiredStationSohExtract> cache(Instant now, Duration cacheDuration) {
+
+    return extracts.stream()
+      .filter(extract -> !payloadEndTime(extract).isAfter(now))
+      .filter(extract -> payloadEndTime(extract).isAfter(now.minus(cacheDuration)))
+      .collect(Collectors.toSet());
+  }
+
+  private static void assertSameStationSohs(
+    Collection<StationSoh> expected,
+    Collection<StationSoh> actual,
+    Instant now
+  ) {
+
+    Assertions.assertEquals(withDummyIds(expected), withDummyIds(actual), "At " + now);
+  }
+
+  private static Set<StationSoh> withDummyIds(Collection<StationSoh> stationSohs) {
+
+    return stationSohs.stream()
+      .map(stationSoh -> StationSoh.from(
+        DUMMY_UUID,
+        stationSoh.getTime(),
+        stationSoh.getStationName(),
+        stationSoh.getSohMonitorValueAndStatuses(),
+        stationSoh.getSohStatusRollup(),
+        stationSoh.getChannelSohs(),
+        stationSoh.getAllStationAggregates()
+      ))
+      .collect(Collectors.toSet());
+  }
+
+  private static Duration maxCacheDuration(Set<StationSohDefinition> stationSohDefinitions) {
+
+    return StationSohControl.getStationCacheDurations(stationSohDefinitions).values().stream()
+      .max(Comparator.naturalOrder())
+      .orElseThrow();
+  }
+
+  private static Instant payloadEndTime(AcquiredStationSohExtract extract) {
+
+    return extract.getAcquisitionMetadata().stream()
+      .map(RawStationDataFrameMetadata::getPayloadEndTime)
+      .max(Comparator.naturalOrder())
+      .orElseThrow();
+  }
+
+  private static AcquiredSampleTimesByChannel newAcquiredSampleTimesByChannel() {
+
+    var acquiredSampleTimesByChannel = new AcquiredSampleTimesByChannel();
+    acquiredSampleTimesByChannel.setLatestChannelToEndTime(Map.of());
+    return acquiredSampleTimesByChannel;
+  }
+}
@@ -0,0 +1,184 @@
+package gms.core.performancemonitoring.soh.control;
+
+import gms.core.performancemonitoring.soh.control.configuration.TimeWindowDefinition;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingTimeWindowTests {
+
+  // Window is [now - 15s, now - 5s]
+  private static final TimeWindowDefinition TIME_WINDOW_DEFINITION = TimeWindowDefinition.create(
+    Duration.ofSeconds(10), Duration.ofSeconds(5));
+
+  private final List<Pair<Instant, Instant>> entered = new ArrayList<>();
+
+  private final List<Pair<Instant, Instant>> exited = new ArrayList<>();
+
+  private SlidingTimeWindow<Pair<Instant, Instant>> window;
+
+  @BeforeEach
+  void setUp() {
+
+    entered.clear();
+    exited.clear();
+
+    window = new SlidingTimeWindow<>(
+      TIME_WINDOW_DEFINITION,
+      Pair::getLeft,
+      Pair::getRight,
+      new SlidingTimeWindow.Listener<>() {
+
+        @Override
+        public void entered(Pair<Instant, Instant> item) {
+          entered.add(item);
+        }
+
+        @Override
+        public void exited(Pair<Instant, Instant> item) {
+          exited.add(item);
+        }
+      });
+  }
+
+  @Test
+  void testItemsEnterAndLeaveAsWindowSlides() {
+
+    var first = interval(0, 2);
+    var second = interval(2, 4);
+    var third = interval(20, 22);
+
+    window.add(first);
+    window.add(second);
+    window.add(third);
+    Assertions.assertEquals(0, window.size());
+
+    window.slideTo(ofSeconds(10));
+    assertThat(window.getItems()).containsExactlyInAnyOrder(first, second);
+    assertThat(entered).containsExactlyInAnyOrder(first, second);
+
+    // Window is [2, 12]: first ends at its start, so it leaves
+    window.slideTo(ofSeconds(17));
+    assertThat(window.getItems()).containsExactly(second);
+    assertThat(exited).containsExactly(first);
+
+    // Window is [20, 30]: third starts at the start of the window, so it overlaps it
+    window.slideTo(ofSeconds(35));
+    assertThat(window.getItems()).containsExactly(third);
+    assertThat(exited).containsExactlyInAnyOrder(first, second);
+    Assertions.assertEquals(1, window.size());
+  }
+
+  @Test
+  void testItemStartingAtStopTimeDoesNotOverlap() {
+
+    window.slideTo(ofSeconds(10));
+    window.add(interval(5, 7));
+
+    Assertions.assertEquals(0, window.size());
+
+    window.slideTo(ofSeconds(11));
+    Assertions.assertEquals(1, window.size());
+  }
+
+  @Test
+  void testAddAfterSlide() {
+
+    window.slideTo(ofSeconds(20));
+
+    var passed = interval(0, 5);
+    var overlapping = interval(4, 6);
+
+    window.add(passed);
+    window.add(overlapping);
+
+    assertThat(window.getItems()).containsExactly(overlapping);
+    assertThat(entered).containsExactly(overlapping);
+
+    // Items the window has passed are dropped
+    window.remove(passed);
+    assertThat(exited).isEmpty();
+  }
+
+  @Test
+  void testRemove() {
+
+    var active = interval(0, 8);
+    var pending = interval(20, 22);
+
+    window.add(active);
+    window.add(pending);
+    window.slideTo(ofSeconds(10));
+
+    window.remove(pending);
+    assertThat(exited).isEmpty();
+
+    window.remove(active);
+    assertThat(exited).containsExactly(active);
+    Assertions.assertEquals(0, window.size());
+
+    window.slideTo(ofSeconds(30));
+    assertThat(entered).containsExactly(active);
+  }
+
+  @Test
+  void testEqualItemsAreKeptSeparately() {
+
+    window.add(interval(0, 8));
+    window.add(interval(0, 8));
+    window.slideTo(ofSeconds(10));
+
+    Assertions.assertEquals(2, window.size());
+
+    window.remove(interval(0, 8));
+    Assertions.assertEquals(1, window.size());
+  }
+
+  @Test
+  void testClear() {
+
+    window.add(interval(0, 8));
+    window.slideTo(ofSeconds(10));
+    window.clear();
+
+    Assertions.assertEquals(0, window.size());
+    assertThat(exited).isEmpty();
+
+    // Time starts over after clear
+    window.slideTo(ofSeconds(5));
+    Assertions.assertEquals(ofSeconds(0), window.stopTime());
+  }
+
+  @Test
+  void testCannotSlideBackwards() {
+
+    window.slideTo(ofSeconds(10));
+
+    var earlier = ofSeconds(9);
+    Assertions.assertThrows(IllegalArgumentException.class, () -> window.slideTo(earlier));
+  }
+
+  @Test
+  void testTimesRequireSlide() {
+
+    Assertions.assertThrows(IllegalStateException.class, () -> window.startTime());
+    Assertions.assertEquals(Set.of(), Set.copyOf(window.getItems()));
+  }
+
+  private static Pair<Instant, Instant> interval(int startSeconds, int endSeconds) {
+    return Pair.of(ofSeconds(startSeconds), ofSeconds(endSeconds));
+  }
+
+  private static Instant ofSeconds(int seconds) {
+    return Instant.EPOCH.plusSeconds(seconds);
+  }
+}
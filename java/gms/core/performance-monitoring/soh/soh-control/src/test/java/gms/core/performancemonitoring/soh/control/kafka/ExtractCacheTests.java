@@ -0,0 +1,316 @@
+package gms.core.performancemonitoring.soh.control.kafka;
+
+import gms.core.performancemonitoring.soh.control.TestFixture;
+import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+class ExtractCacheTests {
+
+  private static final Duration BUCKET_DURATION = Duration.ofSeconds(10);
+
+  private static List<AcquiredStationSohExtract> extracts;
+
+  @BeforeAll
+  static void loadExtracts() throws IOException {
+    extracts = TestFixture.loadExtracts();
+  }
+
+  @ParameterizedTest
+  @MethodSource("addToCacheTestSource")
+  void testAddToCache(
+    AcquiredStationSohExtract extract,
+    Instant now,
+    Map<String, Duration> stationCachingDurations,
+    List<AcquiredStationSohExtract> originalExtracts,
+    Set<AcquiredStationSohExtract> expectedExtracts
+  ) {
+
+    var cache = new ExtractCache(stationCachingDurations, BUCKET_DURATION);
+
+    cache.update(originalExtracts, now);
+
+    Assertions.assertEquals(expectedExtracts, cache.update(List.of(extract), now));
+  }
+
+  private static Stream<Arguments> addToCacheTestSource() throws IOException {
+
+    var now = Instant.now();
+
+    var extracts = modifyPayloadTimes(
+      TestFixture.loadExtracts(),
+      List.of(
+        now.minusSeconds(60),  //LBTB
+        now.minusSeconds(61),  //ZALV
+        now.minusSeconds(120), //PLCA 1st
+        now.minusSeconds(80),  //PLCA 2nd
+        now.minusSeconds(50)   //I37NO
+      )
+    );
+
+    return Stream.of(
+      Arguments.arguments(
+        extracts.get(3), now,
+        Map.of(
+          "LBTB", Duration.ofSeconds(61),
+          "ZALV", Duration.ofSeconds(62),
+          "PLCA", Duration.ofSeconds(121),
+          "I37NO", Duration.ofSeconds(51)
+        ),
+        List.of(extracts.get(0), extracts.get(1), extracts.get(2), extracts.get(4)),
+        Set.of(extracts.get(0), extracts.get(1), extracts.get(2), extracts.get(3), extracts.get(4))
+      ),
+
+      Arguments.arguments(
+        extracts.get(2), now,
+        Map.of(
+          "LBTB", Duration.ofSeconds(61),
+          "ZALV", Duration.ofSeconds(62),
+          "PLCA", Duration.ofSeconds(119),
+          "I37NO", Duration.ofSeconds(51)
+        ),
+        List.of(extracts.get(0), extracts.get(1), extracts.get(3), extracts.get(4)),
+        Set.of(extracts.get(0), extracts.get(1), extracts.get(3), extracts.get(4))
+      ),
+
+      Arguments.arguments(
+        extracts.get(0), now,
+        Map.of(
+          "LBTB", Duration.ofSeconds(59),
+          "ZALV", Duration.ofSeconds(62),
+          "PLCA", Duration.ofSeconds(121),
+          "I37NO", Duration.ofSeconds(51)
+        ),
+        List.of(extracts.get(1), extracts.get(2), extracts.get(3), extracts.get(4)),
+        Set.of(extracts.get(1), extracts.get(2), extracts.get(3), extracts.get(4))
+      )
+    );
+  }
+
+  @Test
+  void testExpiryAtLimit() {
+
+    var template = extracts.get(0);
+    var stationName = stationName(template);
+    var now = Instant.parse("2020-01-28T15:00:05.500Z");
+
+    var cache = new ExtractCache(Map.of(stationName, Duration.ofSeconds(60)), BUCKET_DURATION);
+
+    var beforeLimit = withPayloadEndTime(template, now.minusSeconds(59).minusMillis(1));
+    var atLimit = withPayloadEndTime(template, now.minusSeconds(59));
+    var afterLimit = withPayloadEndTime(template, now.minusSeconds(58).minusMillis(999));
+    var latest = withPayloadEndTime(template, now);
+
+    cache.update(List.of(beforeLimit, atLimit, afterLimit, latest), now);
+
+    // One second later, the limit is now - 59s: extracts before it are dropped
+    Assertions.assertEquals(Set.of(atLimit, afterLimit, latest),
+      cache.update(List.of(), now.plusSeconds(1)));
+
+    // Extracts ending at the limit are kept, but not added
+    var newAtLimit = AcquiredStationSohExtract.create(afterLimit.getAcquisitionMetadata(), List.of());
+
+    Assertions.assertEquals(Set.of(afterLimit, latest),
+      cache.update(List.of(newAtLimit), now.plusSeconds(1).plusMillis(1)));
+
+    Assertions.assertEquals(Set.of(), cache.update(List.of(), now.plusSeconds(61)));
+  }
+
+  @Test
+  void testFutureExtractsAreKeptUntilTheyExpire() {
+
+    var template = extracts.get(0);
+    var stationName = stationName(template);
+    var now = Instant.parse("2020-01-28T15:00:00Z");
+
+    var cache = new ExtractCache(Map.of(stationName, Duration.ofSeconds(30)), BUCKET_DURATION);
+
+    var current = withPayloadEndTime(template, now);
+    var future = withPayloadEndTime(template, now.plus(Duration.ofHours(1)));
+
+    Assertions.assertEquals(Set.of(current, future), cache.update(List.of(current, future), now));
+
+    Assertions.assertEquals(Set.of(future),
+      cache.update(List.of(), now.plus(Duration.ofMinutes(30))));
+
+    Assertions.assertEquals(Set.of(future),
+      cache.update(List.of(), now.plus(Duration.ofHours(1)).plusSeconds(29)));
+
+    Assertions.assertEquals(Set.of(),
+      cache.update(List.of(), now.plus(Duration.ofHours(1)).plusSeconds(31)));
+  }
+
+  @Test
+  void testUnconfiguredStationIsNotCached() {
+
+    var cache = new ExtractCache(Map.of("NOT-A-STATION", Duration.ofDays(1)), BUCKET_DURATION);
+
+    Assertions.assertEquals(Set.of(), cache.update(extracts, Instant.now()));
+  }
+
+  @Test
+  void testSnapshot() {
+
+    var cache = new ExtractCache(cachingDurations(Duration.ofDays(20000)), BUCKET_DURATION);
+
+    Assertions.assertEquals(Set.of(), cache.snapshot());
+
+    var updated = cache.update(extracts, Instant.now());
+
+    Assertions.assertSame(updated, cache.snapshot());
+    Assertions.assertEquals(Set.copyOf(extracts), updated);
+    extracts.forEach(extract -> Assertions.assertTrue(updated.contains(extract)));
+
+    var extract = extracts.get(0);
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> updated.remove(extract));
+  }
+
+  @Test
+  void testEstimatedBytes() {
+
+    var now = Instant.now();
+    var cache = new ExtractCache(cachingDurations(Duration.ofSeconds(60)), BUCKET_DURATION);
+
+    var recentExtracts = modifyPayloadTimes(extracts,
+      extracts.stream().map(extract -> now.minusSeconds(10)).collect(Collectors.toList()));
+
+    cache.update(recentExtracts, now);
+
+    var expectedBytes = recentExtracts.stream()
+      .collect(Collectors.groupingBy(ExtractCacheTests::stationName,
+        Collectors.summingLong(ExtractCache::estimatedBytes)));
+
+    Assertions.assertEquals(expectedBytes, cache.estimatedBytesByStation());
+
+    cache.update(List.of(), now.plusSeconds(60));
+
+    cache.estimatedBytesByStation().values()
+      .forEach(bytes -> Assertions.assertEquals(0L, bytes));
+  }
+
+  /**
+   * Feed random extracts to the cache as "now" advances, sometimes jumping far ahead, and check
+   * each snapshot against a sorted map cleaned out with headMap(limit).clear().
+   */
+  @Test
+  void testMatchesSortedMapCache() {
+
+    var random = new Random(1234);
+    var stationDurations = Map.of(
+      "LBTB", Duration.ofSeconds(45),
+      "ZALV", Duration.ofSeconds(330),
+      "PLCA", Duration.ofMillis(9_999)
+    );
+
+    var templates = extracts.stream()
+      .filter(extract -> stationDurations.containsKey(stationName(extract)))
+      .collect(Collectors.toList());
+
+    var cache = new ExtractCache(stationDurations, BUCKET_DURATION);
+    var expected = new TreeMap<Instant, Set<AcquiredStationSohExtract>>();
+
+    var now = Instant.parse("2020-01-28T15:00:00Z");
+
+    for (var interval = 0; interval < 500; interval++) {
+
+      now = now.plusMillis(random.nextInt(random.nextInt(10) == 0 ? 600_000 : 12_000));
+
+      var newExtracts = new ArrayList<AcquiredStationSohExtract>();
+
+      for (var i = random.nextInt(6); i > 0; i--) {
+        // Mostly recent, sometimes late, sometimes from the future
+        var offsetMillis = random.nextInt(400_000) - 350_000L;
+        newExtracts.add(withPayloadEndTime(templates.get(random.nextInt(templates.size())),
+          now.plusMillis(offsetMillis)));
+      }
+
+      for (var extract : newExtracts) {
+        var end = extract.getAcquisitionMetadata().get(0).getPayloadEndTime();
+        if (end.isAfter(now.minus(stationDurations.get(stationName(extract))))) {
+          expected.computeIfAbsent(end, key -> new HashSet<>()).add(extract);
+        }
+      }
+
+      expire(expected, now, stationDurations);
+
+      var expectedExtracts = expected.values().stream()
+        .flatMap(Set::stream)
+        .collect(Collectors.toSet());
+
+      Assertions.assertEquals(expectedExtracts, cache.update(newExtracts, now), "At " + now);
+    }
+  }
+
+  private static void expire(
+    NavigableMap<Instant, Set<AcquiredStationSohExtract>> expected,
+    Instant now,
+    Map<String, Duration> stationDurations
+  ) {
+
+    expected.values().forEach(extracts -> extracts.removeIf(extract ->
+      extract.getAcquisitionMetadata().get(0).getPayloadEndTime()
+        .isBefore(now.minus(stationDurations.get(stationName(extract))))));
+
+    expected.values().removeIf(Set::isEmpty);
+  }
+
+  private static Map<String, Duration> cachingDurations(Duration duration) {
+
+    return extracts.stream()
+      .map(ExtractCacheTests::stationName)
+      .distinct()
+      .collect(Collectors.toMap(stationName -> stationName, stationName -> duration));
+  }
+
+  private static String stationName(AcquiredStationSohExtract extract) {
+    return extract.getAcquisitionMetadata().get(0).getStationName();
+  }
+
+  private static AcquiredStationSohExtract withPayloadEndTime(
+    AcquiredStationSohExtract extract,
+    Instant payloadEndTime
+  ) {
+
+    return modifyPayloadTimes(List.of(extract), List.of(payloadEndTime)).get(0);
+  }
+
+  private static List<AcquiredStationSohExtract> modifyPayloadTimes(
+    List<AcquiredStationSohExtract> extractList,
+    List<Instant> newPayloadTimes
+  ) {
+
+    return IntStream.range(0, extractList.size())
+      .mapToObj(i -> {
+
+        RawStationDataFrameMetadata oldRsdf = extractList.get(i)
+          .getAcquisitionMetadata()
+          .get(0);
+
+        return AcquiredStationSohExtract.create(
+          List.of(oldRsdf.toBuilder().setPayloadEndTime(newPayloadTimes.get(i)).build()),
+          extractList.get(i).getAcquiredChannelEnvironmentIssues()
+        );
+      })
+      .collect(Collectors.toList());
+  }
+}
@@ -6,16 +6,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import gms.core.performancemonitoring.soh.control.TestFixture;
 import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
 import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
-import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.common.record.TimestampType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.Arguments;
-import org.junit.jupiter.params.provider.MethodSource;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.kafka.receiver.KafkaReceiver;
@@ -29,20 +25,11 @@ import java.io.InputStream;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.NavigableMap;
-import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 class ReactorKafkaSohExtractReceiverTests {
 
@@ -159,122 +146,6 @@ class ReactorKafkaSohExtractReceiverTests {
     }
   }
 
-  @ParameterizedTest
-  @MethodSource("addToCacheTestSource")
-  void testAddToCache(
-    AcquiredStationSohExtract extract,
-    Instant now,
-    Map<String, Duration> stationCachingDurations,
-    Supplier<Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>>> originalCacheSupplier,
-    Supplier<Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>>> expectedCacheSupplier
-  ) {
-
-    var cache = originalCacheSupplier.get();
-
-    ReactorKafkaSohExtractReceiver.addToCache(
-      extract,
-      now,
-      stationCachingDurations,
-      cache
-    );
-
-    Assertions.assertEquals(
-      cache,
-      expectedCacheSupplier.get()
-    );
-  }
-
-  private static Stream<Arguments> addToCacheTestSource() throws IOException {
-
-    var now = Instant.now();
-
-    var extracts = modifyPayloadTimes(
-      TestFixture.loadExtracts(),
-      List.of(
-        now.minusSeconds(60),  //LBTB
-        now.minusSeconds(61),  //ZALV
-        now.minusSeconds(120), //PLCA 1st
-        now.minusSeconds(80),  //PLCA 2nd
-        now.minusSeconds(50)   //I37NO
-      )
-    );
-
-    return Stream.of(
-      Arguments.arguments(
-        extracts.get(3), now,
-        Map.of(
-          "LBTB", Duration.ofSeconds(61),
-          "ZALV", Duration.ofSeconds(62),
-          "PLCA", Duration.ofSeconds(121),
-          "I37NO", Duration.ofSeconds(51)
-        ),
-        (Supplier<Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>>>) () ->
-          createCacheFromExtracts(
-            extracts.get(0),
-            extracts.get(1),
-            extracts.get(2),
-            extracts.get(4)
-          ),
-        (Supplier<Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>>>) () ->
-          createCacheFromExtracts(
-            extracts.get(0),
-            extracts.get(1),
-            extracts.get(2),
-            extracts.get(3),
-            extracts.get(4)
-          )
-      ),
-
-      Arguments.arguments(
-        extracts.get(2), now,
-        Map.of(
-          "LBTB", Duration.ofSeconds(61),
-          "ZALV", Duration.ofSeconds(62),
-          "PLCA", Duration.ofSeconds(119),
-          "I37NO", Duration.ofSeconds(51)
-        ),
-        (Supplier<Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>>>) () ->
-          createCacheFromExtracts(
-            extracts.get(0),
-            extracts.get(1),
-            extracts.get(3),
-            extracts.get(4)
-          ),
-        (Supplier<Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>>>) () ->
-          createCacheFromExtracts(
-            extracts.get(0),
-            extracts.get(1),
-            extracts.get(3),
-            extracts.get(4)
-          )
-      ),
-
-      Arguments.arguments(
-        extracts.get(0), now,
-        Map.of(
-          "LBTB", Duration.ofSeconds(59),
-          "ZALV", Duration.ofSeconds(62),
-          "PLCA", Duration.ofSeconds(121),
-          "I37NO", Duration.ofSeconds(51)
-        ),
-        (Supplier<Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>>>) () ->
-          createCacheFromExtracts(
-            extracts.get(1),
-            extracts.get(2),
-            extracts.get(3),
-            extracts.get(4)
-          ),
-        (Supplier<Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>>>) () ->
-          createCacheFromExtracts(
-            extracts.get(1),
-            extracts.get(2),
-            extracts.get(3),
-            extracts.get(4)
-          )
-      )
-    );
-  }
-
   private static Map<String, Duration> createDumbDurationsMap(
     List<AcquiredStationSohExtract> extractList
   ) {
@@ -285,94 +156,22 @@ class ReactorKafkaSohExtractReceiverTests {
       .collect(Collectors.toMap(Function.identity(), stationName -> Duration.ofDays(20000)));
   }
 
-  private static Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>> createCacheFromExtracts(
-    AcquiredStationSohExtract... extracts
-  ) {
-    return createCacheFromExtracts(Arrays.asList(extracts));
-  }
-
-  private static Map<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>> createCacheFromExtracts(
-    List<AcquiredStationSohExtract> extracts
-  ) {
-    var cache = new HashMap<String, NavigableMap<Instant, Set<AcquiredStationSohExtract>>>();
-
-    extracts.forEach(
-      extract -> {
-
-        var payloadEndTime = extract.getAcquisitionMetadata()
-          .get(0)
-          .getPayloadEndTime();
-
-        var stationName = extract.getAcquisitionMetadata()
-          .get(0)
-          .getStationName();
-
-        cache.computeIfAbsent(
-          stationName,
-          dummy -> new TreeMap<>()
-        ).computeIfAbsent(
-          payloadEndTime, instant -> new HashSet<>()
-        ).add(extract);
-      }
-    );
-
-    return cache;
-  }
-
-  private static List<AcquiredStationSohExtract> modifyPayloadTimes(
-    List<AcquiredStationSohExtract> extractList,
-    List<Instant> newPayloadTimes
-  ) {
-
-    var newExtractList = new ArrayList<AcquiredStationSohExtract>();
-
-    IntStream.range(0, extractList.size()).forEach(i -> {
-
-      var oldRsdf = extractList.get(i)
-        .getAcquisitionMetadata()
-        .get(0);
-
-      var newRsdf = RawStationDataFrameMetadata.builder()
-        .setStationName(oldRsdf.getStationName())
-        .setPayloadEndTime(newPayloadTimes.get(i))
-        .setAuthenticationStatus(oldRsdf.getAuthenticationStatus())
-        .setPayloadFormat(oldRsdf.getPayloadFormat())
-        .setPayloadStartTime(oldRsdf.getPayloadStartTime())
-        .setChannelNames(oldRsdf.getChannelNames())
-        .setReceptionTime(oldRsdf.getReceptionTime())
-        .setWaveformSummaries(oldRsdf.getWaveformSummaries())
-        .build();
-
-      var acquiredChannelEnvironmentIssueList = extractList.get(i)
-        .getAcquiredChannelEnvironmentIssues();
-
-      var newAsse = AcquiredStationSohExtract.create(
-        List.of(newRsdf),
-        acquiredChannelEnvironmentIssueList
-      );
-
-      newExtractList.add(newAsse);
-    });
-
-    return newExtractList;
-  }
-
-  private static KafkaReceiver<String, String> getKafkaReceiver(
+  private static KafkaReceiver<String, byte[]> getKafkaReceiver(
     Flux<AcquiredStationSohExtract> asseBatchFlux
   ) {
 
     return new KafkaReceiver<>() {
       @Override
-      public Flux<ReceiverRecord<String, String>> receive() {
+      public Flux<ReceiverRecord<String, byte[]>> receive() {
         AtomicInteger offsetRef = new AtomicInteger();
 
         return asseBatchFlux
           .map(acquiredStationSohExtract -> {
               var objectMapper = CoiObjectMapperFactory.getJsonObjectMapper();
 
-              String serializedAsse;
+              byte[] serializedAsse;
               try {
-                serializedAsse = objectMapper.writeValueAsString(
+                serializedAsse = objectMapper.writeValueAsBytes(
                   acquiredStationSohExtract
                 );
               } catch (JsonProcessingException e) {
@@ -390,7 +189,7 @@ class ReactorKafkaSohExtractReceiverTests {
                   TimestampType.CREATE_TIME,
                   0,
                   0,
-                  serializedAsse.getBytes().length,
+                  serializedAsse.length,
                   null,
                   serializedAsse
                 ),
@@ -424,23 +223,23 @@ class ReactorKafkaSohExtractReceiverTests {
       }
 
       @Override
-      public Flux<Flux<ConsumerRecord<String, String>>> receiveAutoAck() {
+      public Flux<Flux<ConsumerRecord<String, byte[]>>> receiveAutoAck() {
         return null;
       }
 
       @Override
-      public Flux<ConsumerRecord<String, String>> receiveAtmostOnce() {
+      public Flux<ConsumerRecord<String, byte[]>> receiveAtmostOnce() {
         return null;
       }
 
       @Override
-      public Flux<Flux<ConsumerRecord<String, String>>> receiveExactlyOnce(
+      public Flux<Flux<ConsumerRecord<String, byte[]>>> receiveExactlyOnce(
         TransactionManager transactionManager) {
         return null;
       }
 
       @Override
-      public <T> Mono<T> doOnConsumer(Function<Consumer<String, String>, ? extends T> function) {
+      public <T> Mono<T> doOnConsumer(Function<Consumer<String, byte[]>, ? extends T> function) {
         return null;
       }
     };
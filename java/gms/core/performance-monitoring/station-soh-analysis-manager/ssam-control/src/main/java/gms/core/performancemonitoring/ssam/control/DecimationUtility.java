@@ -6,6 +6,7 @@ import gms.core.performancemonitoring.ssam.control.api.DecimationRequestParams;
 import gms.core.performancemonitoring.ssam.control.api.HistoricalSohMonitorValuesAnalysisView;
 import gms.core.performancemonitoring.ssam.control.api.HistoricalStationSohAnalysisView;
 import gms.shared.frameworks.osd.coi.soh.SohMonitorType.SohValueType;
+import gms.shared.frameworks.osd.dto.soh.DecimatedHistoricalStationSoh;
 import gms.shared.frameworks.osd.dto.soh.DurationSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
 import gms.shared.frameworks.osd.dto.soh.PercentSohMonitorValues;
@@ -14,6 +15,7 @@ import gms.shared.frameworks.osd.dto.soh.SohMonitorValues;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -117,6 +119,50 @@ public class DecimationUtility {
     HistoricalStationSoh historicalStationSoh
   ) {
 
+    return decimateHistoricalStationSoh(
+      decimationRequestParams,
+      historicalStationSoh,
+      (channelName, undecimatedValues) -> getAverage(undecimatedValues),
+      historicalStationSoh.getCalculationTimes().length
+    );
+  }
+
+  /**
+   * Decimate a DecimatedHistoricalStationSoh and transform it into a
+   * HistoricalStationSohAnalysisView. Pre-aggregated values are decimated further down to the
+   * requested samples per channel, but report the averages and sample count of the values they
+   * were aggregated from.
+   *
+   * @param decimationRequestParams parameters for decimation
+   * @param decimatedHistoricalStationSoh the DecimatedHistoricalStationSoh to decimate
+   * @return HistoricalStationSohAnalysisView with decimated data
+   */
+  public static HistoricalStationSohAnalysisView decimateHistoricalStationSoh(
+    DecimationRequestParams decimationRequestParams,
+    DecimatedHistoricalStationSoh decimatedHistoricalStationSoh
+  ) {
+
+    if (decimatedHistoricalStationSoh.isUndecimated()) {
+      return decimateHistoricalStationSoh(decimationRequestParams,
+        decimatedHistoricalStationSoh.getHistoricalStationSoh());
+    }
+
+    return decimateHistoricalStationSoh(
+      decimationRequestParams,
+      decimatedHistoricalStationSoh.getHistoricalStationSoh(),
+      (channelName, undecimatedValues) ->
+        decimatedHistoricalStationSoh.getAverages().getOrDefault(channelName, -1.0),
+      decimatedHistoricalStationSoh.getSampleCount()
+    );
+  }
+
+  private static HistoricalStationSohAnalysisView decimateHistoricalStationSoh(
+    DecimationRequestParams decimationRequestParams,
+    HistoricalStationSoh historicalStationSoh,
+    BiFunction<String, SohMonitorValues, Double> averageFunction,
+    long undecimatedSampleCount
+  ) {
+
     var decimatedTimesBuilder = ImmutableLongArray.builder();
 
     var decimationFlags = flagSurvivingPoints(
@@ -135,7 +181,8 @@ public class DecimationUtility {
         )
       ))
       .map(entry -> {
-          var average = getAverage(entry.getValue().getUndecimatedSohMonitorValues());
+          var average = averageFunction.apply(entry.getKey(),
+            entry.getValue().getUndecimatedSohMonitorValues());
 
           return HistoricalSohMonitorValuesAnalysisView.create(
             entry.getKey(),
@@ -150,11 +197,10 @@ public class DecimationUtility {
 
     double percentageSent;
 
-    if (historicalStationSoh.getCalculationTimes().length == 0) {
+    if (undecimatedSampleCount == 0) {
       percentageSent = 0;
     } else {
-      percentageSent = 100 * ((double) decimatedTimes.length) / historicalStationSoh
-        .getCalculationTimes().length;
+      percentageSent = 100 * ((double) decimatedTimes.length) / undecimatedSampleCount;
     }
 
     return HistoricalStationSohAnalysisView.create(
@@ -14,6 +14,7 @@ import gms.core.performancemonitoring.uimaterializedview.QuietedSohStatusChangeU
 import gms.shared.frameworks.control.ControlContext;
 import gms.shared.frameworks.osd.api.OsdRepositoryInterface;
 import gms.shared.frameworks.osd.api.performancemonitoring.PerformanceMonitoringRepositoryInterface;
+import gms.shared.frameworks.osd.api.util.DecimatedHistoricalStationSohRequest;
 import gms.shared.frameworks.osd.api.util.HistoricalStationSohRequest;
 import gms.shared.frameworks.osd.coi.datatransferobjects.CoiSerializer;
 import gms.shared.frameworks.osd.coi.soh.CapabilitySohRollup;
@@ -21,6 +22,7 @@ import gms.shared.frameworks.osd.coi.soh.StationSoh;
 import gms.shared.frameworks.osd.coi.soh.quieting.QuietedSohStatusChange;
 import gms.shared.frameworks.osd.coi.soh.quieting.UnacknowledgedSohStatusChange;
 import gms.shared.frameworks.osd.coi.systemmessages.SystemMessage;
+import gms.shared.frameworks.osd.dto.soh.DecimatedHistoricalStationSoh;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
 import gms.shared.frameworks.osd.repository.OsdRepositoryFactory;
 import gms.shared.frameworks.osd.repository.performancemonitoring.PerformanceMonitoringRepositoryJpa;
@@ -140,6 +142,29 @@ public class ReactiveStationSohAnalysisManager implements StationSohAnalysisMana
           retry.failure()));
   }
 
+  /**
+   * Private helper method intended to be used inside the decimate call. Method
+   * will return historical SOH pre-aggregated to approximately the requested samples per channel
+   *
+   * @param decimationRequestParams the decimationRequestParams
+   *
+   * @return DecimatedHistoricalStationSoh HistoricalStationSohData
+   */
+  static DecimatedHistoricalStationSoh getDecimatedHistoricalStationSoh(
+    DecimationRequestParams decimationRequestParams,
+    OsdRepositoryInterface osdRepositoryInterface) {
+
+    return osdRepositoryInterface.retrieveDecimatedHistoricalStationSoh(
+      DecimatedHistoricalStationSohRequest.create(
+        decimationRequestParams.getStationName(),
+        decimationRequestParams.getStartTime(),
+        decimationRequestParams.getEndTime(),
+        decimationRequestParams.getSohMonitorType(),
+        decimationRequestParams.getSamplesPerChannel()
+      )
+    );
+  }
+
   /**
    * Private helper method intended to be used inside the decimate call. Method
    * will return a Map of SohMonitorType to HistoricalStationSoh
@@ -444,7 +469,7 @@ public class ReactiveStationSohAnalysisManager implements StationSohAnalysisMana
 
     return DecimationUtility.decimateHistoricalStationSoh(
       decimationRequestParams,
-      getHistoricalStationSoh(decimationRequestParams,
+      getDecimatedHistoricalStationSoh(decimationRequestParams,
         this.processingConfig.getSohRepositoryInterface())
     );
   }
@@ -5,16 +5,19 @@ import gms.core.performancemonitoring.ssam.control.api.HistoricalSohMonitorValue
 import gms.core.performancemonitoring.ssam.control.api.HistoricalStationSohAnalysisView;
 import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
 import gms.shared.frameworks.osd.coi.soh.SohMonitorType.SohValueType;
+import gms.shared.frameworks.osd.dto.soh.DecimatedHistoricalStationSoh;
 import gms.shared.frameworks.osd.dto.soh.DurationSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
 import gms.shared.frameworks.osd.dto.soh.PercentSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.SohMonitorValues;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
@@ -103,6 +106,88 @@ class DecimationUtilityTest {
       });
   }
 
+  @Test
+  void testDecimationOfPreAggregatedValues() {
+
+    var decimationRequestParams = DecimationRequestParams.create(
+      Instant.EPOCH,
+      Instant.EPOCH.plus(Duration.ofHours(4)),
+      2,
+      "StationA",
+      SohMonitorType.LAG
+    );
+
+    var hour = Duration.ofHours(1).toMillis();
+
+    var decimatedHistoricalStationSoh = DecimatedHistoricalStationSoh.create(
+      HistoricalStationSoh.create(
+        "StationA",
+        new long[]{0, hour, 2 * hour, 3 * hour},
+        List.of(
+          HistoricalSohMonitorValues.create(
+            "Channel1",
+            Map.of(
+              SohMonitorType.LAG,
+              DurationSohMonitorValues.create(new long[]{1000, 2000, -1, 4000})
+            )
+          )
+        )
+      ),
+      Duration.ofHours(1),
+      Map.of("Channel1", 2500.0),
+      720
+    );
+
+    var historicalStationSohAnalysisView = DecimationUtility.decimateHistoricalStationSoh(
+      decimationRequestParams,
+      decimatedHistoricalStationSoh
+    );
+
+    Assertions.assertArrayEquals(new long[]{0, 2 * hour},
+      historicalStationSohAnalysisView.getCalculationTimes());
+
+    var monitorValues = historicalStationSohAnalysisView.getMonitorValues().get(0);
+
+    Assertions.assertArrayEquals(new long[]{1000, -1},
+      ((DurationSohMonitorValues) monitorValues.getValues()).getValues());
+
+    // Averages and the percentage sent come from the values the buckets were aggregated from
+    Assertions.assertEquals(2500.0, monitorValues.getAverage());
+    Assertions.assertEquals(100 * 2.0 / 720, historicalStationSohAnalysisView.getPercentageSent());
+  }
+
+  @Test
+  void testDecimationOfUndecimatedValues() {
+
+    var decimationRequestParams = DecimationRequestParams.create(
+      Instant.EPOCH,
+      Instant.EPOCH.plusMillis(300),
+      2,
+      "StationA",
+      SohMonitorType.MISSING
+    );
+
+    var historicalStationSoh = HistoricalStationSoh.create(
+      "StationA",
+      new long[]{0, 100, 200, 300},
+      List.of(
+        HistoricalSohMonitorValues.create(
+          "Channel1",
+          Map.of(
+            SohMonitorType.MISSING,
+            PercentSohMonitorValues.create(new double[]{1, 2, 3, 4})
+          )
+        )
+      )
+    );
+
+    Assertions.assertEquals(
+      DecimationUtility.decimateHistoricalStationSoh(decimationRequestParams, historicalStationSoh),
+      DecimationUtility.decimateHistoricalStationSoh(decimationRequestParams,
+        DecimatedHistoricalStationSoh.undecimated(historicalStationSoh))
+    );
+  }
+
   private static Stream<Arguments> decimationTestSource() {
 
     return Stream.of(
@@ -9,6 +9,7 @@ import gms.shared.event.coi.EventHypothesis;
 import gms.shared.event.dao.EventDao;
 import gms.shared.event.dao.GaTagDao;
 import gms.shared.event.dao.NetMagDao;
+import gms.shared.event.dao.OrigerrDao;
 import gms.shared.event.dao.OriginDao;
 import gms.shared.event.repository.config.processing.EventBridgeDefinition;
 import gms.shared.event.repository.connector.EventBridgeDatabaseConnectors;
@@ -34,8 +35,13 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -182,11 +188,14 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
       .getConnectorForCurrentStageOrThrow(stageName, GA_TAG_CONNECTOR_TYPE);
 
     logger.debug("Processing {} EventIds", eventIds.size());
-    var eventSet = eventIds.stream().map(eventId ->
-        getFacetedEventByStageConnector(eventDatabaseConnector, originDatabaseConnector,
-          gaTagDatabaseConnector, eventId, stageId))
+    var evids = eventIds.stream()
+      .map(eventIdUtility::getEvid)
       .flatMap(Optional::stream)
-      .collect(toSet());
+      .distinct()
+      .collect(toList());
+
+    var eventSet = getFacetedEventsByStageConnector(eventDatabaseConnector, originDatabaseConnector,
+      gaTagDatabaseConnector, evids, stageId);
     logger.debug("Querying current stageId: {}.  [{}] Events collected", stageId, eventSet.size());
     logger.debug("Current Stage Events Found: [{}]", eventSet);
 
@@ -201,11 +210,8 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
       var prevStageOriginDatabaseConnector = eventBridgeDatabaseConnectors
         .getConnectorForPreviousStageOrThrow(stageName, ORIGIN_CONNECTOR_TYPE);
 
-      var previousStageEvents = eventIds.stream().map(eventId ->
-          getFacetedEventByStageConnector(prevStageEventDatabaseConnector, prevStageOriginDatabaseConnector,
-            gaTagDatabaseConnector, eventId, previousStageId))
-        .flatMap(Optional::stream)
-        .collect(toSet());
+      var previousStageEvents = getFacetedEventsByStageConnector(prevStageEventDatabaseConnector,
+        prevStageOriginDatabaseConnector, gaTagDatabaseConnector, evids, previousStageId);
       logger.debug("Querying previous stageId: {}.  [{}] Events collected", previousStageId,
         previousStageEvents.size());
       logger.debug("Previous Stage Events Found: [{}]", previousStageEvents);
@@ -226,10 +232,21 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
   public List<EventHypothesis> findHypothesesByIds(Collection<EventHypothesis.Id> eventHypothesisIds) {
     checkNotNull(eventHypothesisIds, "eventHypothesisIds must not be null");
     logger.info("Retrieving Hypotheses for ids: {}", eventHypothesisIds);
-    return eventHypothesisIds.stream()
+    var originIdentifiers = eventHypothesisIds.stream()
       .map(this::retrieveAndCombineIds)
       .flatMap(Optional::stream)
-      .map(this::findHypothesis)
+      .collect(toList());
+
+    // Each stage's tables are queried once for all of its hypotheses, rather than once per hypothesis
+    var eventHypothesesByOriginIdentifiers = new HashMap<OriginIdentifiers, Collection<EventHypothesis>>();
+    originIdentifiers.stream()
+      .collect(Collectors.groupingBy(OriginIdentifiers::getStageId, LinkedHashMap::new,
+        Collectors.toCollection(LinkedHashSet::new)))
+      .forEach((stageId, stageOriginIdentifiers) ->
+        eventHypothesesByOriginIdentifiers.putAll(findHypotheses(stageId, stageOriginIdentifiers)));
+
+    return originIdentifiers.stream()
+      .map(eventHypothesesByOriginIdentifiers::get)
       .flatMap(Collection::stream)
       .collect(toList());
   }
@@ -300,11 +317,11 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
       .collect(toList());
 
     if (!evids.isEmpty()) {
-      var originDaoList = prevOriginDatabaseConnector.findByEventIds(evids);
+      var eventIdToOriginDaos = Multimaps.index(prevOriginDatabaseConnector.findByEventIds(evids),
+        OriginDao::getEventId);
       currentStageEvents = currentStageEvents.stream().map(event -> {
         var eventId = eventIdUtility.getEvid(event.getId());
-        var eventHypotheses = originDaoList.stream()
-          .filter(originDao -> originDao.getEventId() == eventId.orElseThrow())
+        var eventHypotheses = eventIdToOriginDaos.get(eventId.orElseThrow()).stream()
           .map(originDao -> {
             var originUniqueId = OriginUniqueIdentifier.create(originDao.getOriginId(), previousStageId.getName());
             var eventHypothesisUUID = eventIdUtility.getOrCreateEventHypothesisId(originUniqueId);
@@ -329,7 +346,7 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
 
     var previousStageOriginDaos = prevOriginDatabaseConnector.findByTime(startTime, endTime).stream()
       .filter(originDao -> !oridsForCurrentStageEvents.contains(originDao.getOriginId()))
-      .collect(toSet());
+      .collect(Collectors.toCollection(LinkedHashSet::new));
 
     var previousStageEventConnector = this.eventBridgeDatabaseConnectors.getConnectorForPreviousStageOrThrow(stageName, EVENT_CONNECTOR_TYPE);
     buildPreviousStageEvents(previousStageId, currentStageEvents, previousStageEventConnector, gaTagDatabaseConnector, previousStageOriginDaos);
@@ -353,20 +370,22 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
     Collection<OriginDao> previousStageOriginDaos) {
 
     if (!previousStageOriginDaos.isEmpty()) {
-      var previousStageEventDaos = previousStageOriginDaos.stream()
-        .map(OriginDao::getEventId)
+      // Origins and gatags are indexed by evid once, rather than scanned for every event
+      var eventIdToOriginDaos = Multimaps.index(previousStageOriginDaos, OriginDao::getEventId);
+      var previousStageEventDaos = prevEventDatabaseConnector.findEventsByIds(
+        new ArrayList<>(eventIdToOriginDaos.keySet()));
+      var previousStageEvids = previousStageEventDaos.stream()
+        .map(EventDao::getEventId)
         .distinct()
-        .map(prevEventDatabaseConnector::findEventById)
-        .flatMap(Optional::stream)
-        .collect(toSet());
-      var previousStageEvids = previousStageEventDaos.stream().map(EventDao::getEventId).collect(toSet());
-      var gaTagDaos = gaTagDatabaseConnector.findGaTagsByObjectTypesProcessStatesAndEvids(
-        List.of(OBJECT_TYPE_A, OBJECT_TYPE_O), List.of(ANALYST_REJECTED), previousStageEvids);
+        .collect(toList());
+      var eventIdToGaTagDaos = Multimaps.index(gaTagDatabaseConnector.findGaTagsByObjectTypesProcessStatesAndEvids(
+          List.of(OBJECT_TYPE_A, OBJECT_TYPE_O), List.of(ANALYST_REJECTED), previousStageEvids),
+        GaTagDao::getRejectedArrivalOriginEvid);
 
       var previousStageEvents = previousStageEventDaos.stream().map(eventDao ->
         eventConverter.fromLegacyToDefaultFacetedEvent(eventDao,
-          previousStageOriginDaos.stream().filter(originDao -> originDao.getEventId() == eventDao.getEventId()).collect(toSet()),
-          gaTagDaos.stream().filter(gaTagDao -> gaTagDao.getRejectedArrivalOriginEvid() == eventDao.getEventId()).collect(toSet()),
+          eventIdToOriginDaos.get(eventDao.getEventId()),
+          eventIdToGaTagDaos.get(eventDao.getEventId()),
           previousStageId)
       ).collect(toSet());
 
@@ -395,14 +414,23 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
       (evid, originUniqueId) -> OriginIdentifiers.from(originUniqueId.getStage(), evid, originUniqueId.getOrid()));
   }
 
-  private Collection<EventHypothesis> findHypothesis(OriginIdentifiers originIdentifiers) {
-    var stageId = originIdentifiers.getStageId();
-    var evid = originIdentifiers.getEventId();
-    var orid = originIdentifiers.getOrid();
+  private Map<OriginIdentifiers, Collection<EventHypothesis>> findHypotheses(WorkflowDefinitionId stageId,
+    Set<OriginIdentifiers> originIdentifiers) {
+
+    var evids = originIdentifiers.stream().map(OriginIdentifiers::getEventId).distinct().collect(toList());
+    var orids = originIdentifiers.stream().map(OriginIdentifiers::getOrid).distinct().collect(toList());
 
-    var ehInfo = assembleBridgedEhInformation(stageId, evid, orid);
-    var sdhInfo = assembleBridgedSdhInformation(stageId, orid);
+    var ehInfos = assembleBridgedEhInformation(stageId, originIdentifiers, evids, orids);
+    var sdhInfos = assembleBridgedSdhInformation(stageId, orids);
 
+    return originIdentifiers.stream().collect(Collectors.toMap(Function.identity(), ids ->
+      findHypothesis(ids, ehInfos.get(ids), sdhInfos.getOrDefault(ids.getOrid(), Set.of()))));
+  }
+
+  private Collection<EventHypothesis> findHypothesis(OriginIdentifiers originIdentifiers,
+    Optional<BridgedEhInformation> ehInfo, Set<BridgedSdhInformation> sdhInfo) {
+
+    var stageId = originIdentifiers.getStageId();
     return ehInfo.map(info -> {
       try {
         return eventConverter.fromLegacyToDefaultFacetedEventHypothesis(stageId, info, sdhInfo);
@@ -413,8 +441,9 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
     }).orElseGet(Collections::emptyList);
   }
 
-  private Optional<BridgedEhInformation> assembleBridgedEhInformation(WorkflowDefinitionId stageId, long evid,
-    long orid) {
+  private Map<OriginIdentifiers, Optional<BridgedEhInformation>> assembleBridgedEhInformation(
+    WorkflowDefinitionId stageId, Set<OriginIdentifiers> originIdentifiers, List<Long> evids, List<Long> orids) {
+
     var stageName = stageId.getName();
     var originConnector = eventBridgeDatabaseConnectors
       .getConnectorForCurrentStageOrThrow(stageName, ORIGIN_CONNECTOR_TYPE);
@@ -423,38 +452,53 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
     var eventControlConnector = eventBridgeDatabaseConnectors
       .getConnectorForCurrentStageOrThrow(stageName, EVENT_CONTROL_CONNECTOR_TYPE);
     var gaTagConnector = eventBridgeDatabaseConnectors.getConnectorForCurrentStageOrThrow(stageName, GA_TAG_CONNECTOR_TYPE);
-
-    var originDao = originConnector.findById(orid);
-    var originErrDao = originErrConnector.findById(orid);
-    var eventControlDao = eventControlConnector.findByEventIdOriginId(evid, orid);
-    var gaTagDao = gaTagConnector.findGaTagByObjectTypeProcessStateAndEvid(OBJECT_TYPE_O, ANALYST_REJECTED, evid)
-      .stream().findFirst();
-
-    Set<NetMagDao> netMagDaos = new HashSet<>(eventBridgeDatabaseConnectors.getConnectorForCurrentStageOrThrow(stageName,
-      NETMAG_CONNECTOR_TYPE).findNetMagByOrid(orid));
-
-    Set<EventHypothesis.Id> parentEventHypotheses = getParentHypotheses(stageId, evid).stream().collect(toSet());
-
-    return Optionals.mapIfAllPresent(originDao, originErrDao, (origin, originErr) -> {
-      var ehInfoBuilder = BridgedEhInformation.builder()
-        .setEventStages(this.eventStages)
-        .setOriginDao(origin)
-        .setOrigerrDao(originErr)
-        .setNetMagDaos(netMagDaos)
-        .setParentEventHypotheses(parentEventHypotheses);
-
-      gaTagDao.ifPresent(ehInfoBuilder::setGaTagDao);
-      eventControlDao.ifPresent(ehInfoBuilder::setEventControlDao);
-      return ehInfoBuilder.build();
-    });
+    var netMagConnector = eventBridgeDatabaseConnectors.getConnectorForCurrentStageOrThrow(stageName,
+      NETMAG_CONNECTOR_TYPE);
+
+    var originDaos = originConnector.findByIds(orids).stream()
+      .collect(Collectors.toMap(OriginDao::getOriginId, Function.identity(), (first, duplicate) -> first));
+    var originErrDaos = originErrConnector.findByIds(orids).stream()
+      .collect(Collectors.toMap(OrigerrDao::getOriginId, Function.identity(), (first, duplicate) -> first));
+    var eventControlDaos = eventControlConnector.findByOriginIds(orids).stream()
+      .collect(Collectors.toMap(eventControlDao -> Pair.of(eventControlDao.getEventId(), eventControlDao.getOriginId()),
+        Function.identity(), (first, duplicate) -> first));
+    var gaTagDaos = Multimaps.index(
+      gaTagConnector.findGaTagsByObjectTypesProcessStatesAndEvids(List.of(OBJECT_TYPE_O), List.of(ANALYST_REJECTED), evids),
+      GaTagDao::getRejectedArrivalOriginEvid);
+    var netMagDaos = Multimaps.index(netMagConnector.findNetMagByOrids(orids), NetMagDao::getOriginId);
+    var parentEventHypotheses = getParentHypotheses(stageId, evids);
+
+    return originIdentifiers.stream().collect(Collectors.toMap(Function.identity(), ids -> {
+      var evid = ids.getEventId();
+      var orid = ids.getOrid();
+      var originDao = Optional.ofNullable(originDaos.get(orid));
+      var originErrDao = Optional.ofNullable(originErrDaos.get(orid));
+      var eventControlDao = Optional.ofNullable(eventControlDaos.get(Pair.of(evid, orid)));
+      var gaTagDao = gaTagDaos.get(evid).stream().findFirst();
+
+      return Optionals.mapIfAllPresent(originDao, originErrDao, (origin, originErr) -> {
+        var ehInfoBuilder = BridgedEhInformation.builder()
+          .setEventStages(this.eventStages)
+          .setOriginDao(origin)
+          .setOrigerrDao(originErr)
+          .setNetMagDaos(new HashSet<>(netMagDaos.get(orid)))
+          .setParentEventHypotheses(Optional.ofNullable(parentEventHypotheses.get(evid)).stream().collect(toSet()));
+
+        gaTagDao.ifPresent(ehInfoBuilder::setGaTagDao);
+        eventControlDao.ifPresent(ehInfoBuilder::setEventControlDao);
+        return ehInfoBuilder.build();
+      });
+    }));
   }
 
-  private Set<BridgedSdhInformation> assembleBridgedSdhInformation(WorkflowDefinitionId stageId, long orid) {
+  private Map<Long, Set<BridgedSdhInformation>> assembleBridgedSdhInformation(WorkflowDefinitionId stageId,
+    List<Long> orids) {
+
     var stageName = stageId.getName();
-    logger.info("Assembling BridgedSdhInformation for stageId[{}] and orid[{}]", stageName, orid);
+    logger.info("Assembling BridgedSdhInformation for stageId[{}] and {} orids", stageName, orids.size());
     var assocConnector = eventBridgeDatabaseConnectors
       .getConnectorForCurrentStageOrThrow(stageName, ASSOC_CONNECTOR_TYPE);
-    var assocs = assocConnector.findAssocsByOrids(List.of(orid));
+    var assocs = assocConnector.findAssocsByOrids(orids);
     var arInfoDatabaseConnector = eventBridgeDatabaseConnectors
       .getConnectorForCurrentStageOrThrow(stageName, AR_INFO_CONNECTOR_TYPE);
     var staMagDatabaseConnector = eventBridgeDatabaseConnectors
@@ -464,46 +508,48 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
     var mapOfStaMagDaos = Multimaps.index(
       staMagDatabaseConnector.findStaMagDaosByAssocs(assocs),
       StaMagDatabaseConnector::staMagDaoKeyTransformer);
+    var mapOfSignalDetectionHypotheses = signalDetectionLegacyAccessor.findHypothesesByStageIdAndAridOridKeys(stageId,
+      assocs.stream().map(AssocDao::assocDaoToAridOridKeyTransformer).collect(toList()));
 
-    var assocDaoPairMap = assocs.stream()
-      .map(AssocDao::assocDaoToAridOridKeyTransformer)
-      .collect(Collectors.toMap(assocKey -> assocKey,
-        assocKey -> Pair.of(Optional.ofNullable(mapOfArInfos.get(assocKey)), Optional.of(mapOfStaMagDaos.get(assocKey)))));
-
-    var bridgedSdhInformationSet = new HashSet<BridgedSdhInformation>();
+    var bridgedSdhInformationByOrid = new HashMap<Long, Set<BridgedSdhInformation>>();
     assocs.forEach(assoc -> {
+      var assocKey = AssocDao.assocDaoToAridOridKeyTransformer(assoc);
 
       var bridgedSdhInfoBuilder = BridgedSdhInformation.builder();
-      signalDetectionLegacyAccessor.findHypothesisByStageIdAridAndOrid(stageId,
-        assoc.getId().getArrivalId(), assoc.getId().getOriginId()).ifPresent(bridgedSdhInfoBuilder::setSignalDetectionHypothesis);
-
-      var assocDaoPair =
-        assocDaoPairMap.get(AssocDao.assocDaoToAridOridKeyTransformer(assoc));
+      Optional.ofNullable(mapOfSignalDetectionHypotheses.get(assocKey))
+        .ifPresent(bridgedSdhInfoBuilder::setSignalDetectionHypothesis);
 
       bridgedSdhInfoBuilder
         .setAssocDao(assoc)
-        .setArInfoDao(assocDaoPair.getLeft().orElse(null));
-      assocDaoPair.getRight().ifPresent(bridgedSdhInfoBuilder::setStaMagDaos);
-      bridgedSdhInformationSet.add(bridgedSdhInfoBuilder.build());
+        .setArInfoDao(mapOfArInfos.get(assocKey))
+        .setStaMagDaos(mapOfStaMagDaos.get(assocKey));
+      bridgedSdhInformationByOrid.computeIfAbsent(assoc.getId().getOriginId(), orid -> new HashSet<>())
+        .add(bridgedSdhInfoBuilder.build());
     });
 
-    return bridgedSdhInformationSet;
+    return bridgedSdhInformationByOrid;
   }
 
   /**
-   * Takes and origin record from the current stage and determines if there are any associated parent EventHypotheses
+   * Takes the evids of origin records from the current stage and determines if there are any associated parent
+   * EventHypotheses
    *
    * @param currentStageId The currentStageId
-   * @param evid evid of interest
-   * @return parentEventHypotheses as a list of {@link Optional} faceted {@link EventHypothesis.Id}
+   * @param evids evids of interest
+   * @return the faceted parent {@link EventHypothesis.Id} of each evid that has one
    */
-  Optional<EventHypothesis.Id> getParentHypotheses(WorkflowDefinitionId currentStageId, long evid) {
+  Map<Long, EventHypothesis.Id> getParentHypotheses(WorkflowDefinitionId currentStageId, Collection<Long> evids) {
     checkNotNull(currentStageId);
+    checkNotNull(evids);
     var currentStageName = currentStageId.getName();
 
     if (eventStages.getPreviousStage(currentStageId).isEmpty()) {
       logger.debug("No Previous Stage found for current stage [{}]", currentStageId);
-      return Optional.empty();
+      return Map.of();
+    }
+
+    if (evids.isEmpty()) {
+      return Map.of();
     }
 
     var eventConnector = eventBridgeDatabaseConnectors.connectorExistsForPreviousStage(
@@ -512,27 +558,42 @@ public class EventRepositoryBridged implements EventRepositoryInterface {
       eventBridgeDatabaseConnectors.getConnectorForPreviousStageOrThrow(currentStageName, EVENT_CONNECTOR_TYPE) :
       eventBridgeDatabaseConnectors.getConnectorForCurrentStageOrThrow(currentStageName, EVENT_CONNECTOR_TYPE);
 
-    var event = eventConnector.findEventById(evid);
-    var eventId = this.eventIdUtility.getOrCreateEventId(evid);
-    return event
-      .map(eventDao -> eventIdUtility.getOrCreateEventHypothesisId(eventDao.getPreferredOrigin(), currentStageId.getName()))
-      .map(hypothesisId -> EventHypothesis.Id.from(eventId, hypothesisId));
+    return eventConnector.findEventsByIds(evids).stream()
+      .collect(Collectors.toMap(EventDao::getEventId, eventDao -> EventHypothesis.Id.from(
+          this.eventIdUtility.getOrCreateEventId(eventDao.getEventId()),
+          eventIdUtility.getOrCreateEventHypothesisId(eventDao.getPreferredOrigin(), currentStageName)),
+        (first, duplicate) -> first));
   }
 
-  private Optional<Event> getFacetedEventByStageConnector(EventDatabaseConnector localEventDatabaseConnector,
+  private Set<Event> getFacetedEventsByStageConnector(EventDatabaseConnector localEventDatabaseConnector,
     OriginDatabaseConnector localOriginDatabaseConnector, GaTagDatabaseConnector gaTagDatabaseConnector,
-    UUID eventId, WorkflowDefinitionId stageId) {
-    return eventIdUtility.getEvid(eventId).flatMap(evid ->
-      localEventDatabaseConnector.findEventById(evid).map(eventDao -> {
-        var originDaos = localOriginDatabaseConnector.findByEventIds(List.of(eventDao.getEventId()));
+    List<Long> evids, WorkflowDefinitionId stageId) {
 
-        var gaTagDaos = gaTagDatabaseConnector
-          .findGaTagByObjectTypeProcessStateAndEvid(OBJECT_TYPE_O, ANALYST_REJECTED, eventDao.getEventId());
+    if (evids.isEmpty()) {
+      return new HashSet<>();
+    }
 
-        return eventConverter.fromLegacyToDefaultFacetedEvent(eventDao, originDaos, gaTagDaos, stageId);
-      })
+    var eventDaos = localEventDatabaseConnector.findEventsByIds(evids).stream()
+      .collect(Collectors.toMap(EventDao::getEventId, Function.identity(), (first, duplicate) -> first,
+        LinkedHashMap::new));
+    if (eventDaos.isEmpty()) {
+      return new HashSet<>();
+    }
 
-    );
+    var foundEvids = new ArrayList<>(eventDaos.keySet());
+    var eventIdToOriginDaos = Multimaps.index(localOriginDatabaseConnector.findByEventIds(foundEvids),
+      OriginDao::getEventId);
+    var eventIdToGaTagDaos = Multimaps.index(gaTagDatabaseConnector.findGaTagsByObjectTypesProcessStatesAndEvids(
+        List.of(OBJECT_TYPE_O), List.of(ANALYST_REJECTED), foundEvids),
+      GaTagDao::getRejectedArrivalOriginEvid);
+
+    return eventDaos.values().stream()
+      .map(eventDao -> eventConverter.fromLegacyToDefaultFacetedEvent(eventDao,
+        eventIdToOriginDaos.get(eventDao.getEventId()),
+        eventIdToGaTagDaos.get(eventDao.getEventId()),
+        stageId))
+      .filter(Objects::nonNull)
+      .collect(toSet());
   }
 
   @AutoValue
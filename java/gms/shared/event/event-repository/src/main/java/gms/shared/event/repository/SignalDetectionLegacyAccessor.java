@@ -3,6 +3,7 @@ package gms.shared.event.repository;
 import gms.shared.signaldetection.api.SignalDetectionAccessorInterface;
 import gms.shared.signaldetection.coi.detection.SignalDetectionHypothesis;
 import gms.shared.signaldetection.coi.detection.SignalDetectionHypothesisId;
+import gms.shared.signaldetection.dao.css.AridOridKey;
 import gms.shared.signaldetection.repository.utils.SignalDetectionHypothesisAssocIdComponents;
 import gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility;
 import gms.shared.workflow.coi.WorkflowDefinitionId;
@@ -14,10 +15,13 @@ import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
@@ -85,6 +89,66 @@ public class SignalDetectionLegacyAccessor {
     }
   }
 
+  /**
+   * Retrieves the {@link SignalDetectionHypothesis} of each of the provided arid and orid pairs in the provided stageId
+   * with a single request to the {@link SignalDetectionAccessorInterface}, giving the same hypotheses as
+   * {@link #findHypothesisByStageIdAridAndOrid} does for each pair
+   *
+   * @param stageId {@link WorkflowDefinitionId} containing the SignalDetectionHypotheses
+   * @param aridOridKeys arid and orid pairs of the SignalDetectionHypotheses
+   * @return the SignalDetectionHypothesis of each pair that has one
+   * @throws IllegalStateException if multiple SignalDetectionHypotheses were found for a pair
+   */
+  public Map<AridOridKey, SignalDetectionHypothesis> findHypothesesByStageIdAndAridOridKeys(
+    WorkflowDefinitionId stageId, Collection<AridOridKey> aridOridKeys) {
+
+    requireNonNull(stageId);
+    requireNonNull(aridOridKeys);
+
+    if (aridOridKeys.isEmpty()) {
+      return Map.of();
+    }
+
+    var legacyStageName = stageIdToLegacyDatabaseAccount(stageId);
+    var signalDetectionHypothesisIds = aridOridKeys.stream()
+      .distinct()
+      .collect(Collectors.toMap(Function.identity(), aridOridKey -> SignalDetectionHypothesisId.from(
+        signalDetectionIdUtility.getOrCreateSignalDetectionIdfromArid(aridOridKey.getArrivalId()),
+        signalDetectionIdUtility.getOrCreateSignalDetectionHypothesisIdFromAridOridAndStageId(
+          aridOridKey.getArrivalId(), aridOridKey.getOriginId(), legacyStageName))));
+
+    List<SignalDetectionHypothesis> signalDetectionHypotheses;
+    try {
+      signalDetectionHypotheses = signalDetectionAccessor.findHypothesesByIds(
+        new ArrayList<>(signalDetectionHypothesisIds.values()));
+    } catch (IllegalStateException e) {
+      // Only the failing pairs are left out when each is requested on its own
+      logger.warn("Unable to retrieve {} SignalDetectionHypotheses for stage[{}] together, retrieving them one at a time",
+        signalDetectionHypothesisIds.size(), stageId.getName(), e);
+      var hypothesesByKey = new HashMap<AridOridKey, SignalDetectionHypothesis>();
+      signalDetectionHypothesisIds.keySet().forEach(aridOridKey ->
+        findHypothesisByStageIdAridAndOrid(stageId, aridOridKey.getArrivalId(), aridOridKey.getOriginId())
+          .ifPresent(signalDetectionHypothesis -> hypothesesByKey.put(aridOridKey, signalDetectionHypothesis)));
+      return hypothesesByKey;
+    }
+
+    var hypothesesById = signalDetectionHypotheses.stream()
+      .collect(Collectors.groupingBy(SignalDetectionHypothesis::getId));
+
+    var hypothesesByKey = new HashMap<AridOridKey, SignalDetectionHypothesis>();
+    signalDetectionHypothesisIds.forEach((aridOridKey, signalDetectionHypothesisId) -> {
+      var hypotheses = hypothesesById.getOrDefault(signalDetectionHypothesisId, List.of());
+      if (hypotheses.size() == 1) {
+        hypothesesByKey.put(aridOridKey, hypotheses.get(0));
+      } else if (hypotheses.size() > 1) {
+        throw new IllegalStateException(String.format("Expected 1 or 0 SignalDetectionHypothesis for [stage, legacyStage, arid, orid] [%s, %s, %d, %d], but got %d",
+          stageId.getName(), legacyStageName, aridOridKey.getArrivalId(), aridOridKey.getOriginId(), hypotheses.size()));
+      }
+    });
+
+    return hypothesesByKey;
+  }
+
   /**
    * Retrieves the {@link SignalDetectionHypothesisAssocIdComponents} from the {@link SignalDetectionIdUtility} IgniteCache,
    * keyed by the provided {@link SignalDetectionHypothesis} ids
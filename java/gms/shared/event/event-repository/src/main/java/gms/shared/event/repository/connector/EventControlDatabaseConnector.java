@@ -1,5 +1,6 @@
 package gms.shared.event.repository.connector;
 
+import com.google.common.collect.Lists;
 import gms.shared.event.dao.EventControlDao;
 import gms.shared.event.dao.EventIdOriginIdKey;
 import org.slf4j.Logger;
@@ -10,7 +11,14 @@ import org.springframework.stereotype.Component;
 
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Manages querying {@link EventControlDao} from the database
@@ -57,4 +65,33 @@ public class EventControlDatabaseConnector {
       return Optional.empty();
     }
   }
+
+  /**
+   * Retrieves the {@link EventControlDao}s of the provided orids
+   *
+   * @param orids to query for
+   * @return the {@link EventControlDao}s found
+   */
+  public List<EventControlDao> findByOriginIds(Collection<Long> orids) {
+    checkNotNull(orids, "orids must not be null");
+
+    return Lists.partition(new ArrayList<>(orids), 500).stream()
+      .map(partitionedOrids -> {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(EventControlDao.class);
+        var fromEventControl = query.from(EventControlDao.class);
+
+        query.select(fromEventControl)
+          .where(fromEventControl.get(EVENT_ID_ORIGIN_ID_KEY).get("originId").in(partitionedOrids));
+
+        try {
+          return entityManager.createQuery(query).getResultList();
+        } catch (Exception ex) {
+          logger.warn("Failed to retrieve EventControlDaos for orids{}", partitionedOrids, ex);
+          return Collections.<EventControlDao>emptyList();
+        }
+      })
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
 }
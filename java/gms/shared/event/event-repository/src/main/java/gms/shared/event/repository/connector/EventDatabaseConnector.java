@@ -1,5 +1,6 @@
 package gms.shared.event.repository.connector;
 
+import com.google.common.collect.Lists;
 import gms.shared.event.dao.EventDao;
 import gms.shared.utilities.bridge.database.connector.DatabaseConnectorException;
 import org.slf4j.Logger;
@@ -13,8 +14,11 @@ import javax.persistence.NoResultException;
 import javax.persistence.NonUniqueResultException;
 import javax.persistence.TypedQuery;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -59,6 +63,37 @@ public class EventDatabaseConnector {
     return executeFindEventById(eventQuery, eventId);
   }
 
+  /**
+   * Returns the EventDaos from the database with the specified ids
+   *
+   * @param eventIds The ids of the EventDaos to query
+   * @return List of the EventDaos found. Ids with no EventDao are left out.
+   */
+  public List<EventDao> findEventsByIds(Collection<Long> eventIds) {
+    checkNotNull(eventIds, "eventIds must not be null");
+
+    logger.info(PERSISTENCE_UNIT_NAME_STRING, entityManager.getEntityManagerFactory().getProperties().get(HIBERNATE_GET_PERSISTENCE_UNIT_NAME_STRING).toString());
+
+    return Lists.partition(new ArrayList<>(eventIds), 500).stream()
+      .map(partitionedEventIds -> {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var eventCriteriaQuery = criteriaBuilder.createQuery(EventDao.class);
+        var eventRoot = eventCriteriaQuery.from(EventDao.class);
+
+        eventCriteriaQuery.select(eventRoot)
+          .where(eventRoot.get("eventId").in(partitionedEventIds));
+
+        try {
+          return entityManager.createQuery(eventCriteriaQuery).getResultList();
+        } catch (Exception e) {
+          final var message = String.format("Error retrieving Events with ids %s", partitionedEventIds);
+          throw new DatabaseConnectorException(message, e);
+        }
+      })
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
   /**
    * Returns EventDaos that occur in the time range provided. An EventDao lies within the time range if the time of its
    * preferredOrigin +/- its OrigerrDao's stime lies within the time range. Both ends of the range are inclusive.
@@ -1,12 +1,18 @@
 package gms.shared.event.repository.connector;
 
+import com.google.common.collect.Lists;
 import gms.shared.event.dao.NetMagDao;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.google.common.base.Preconditions.checkNotNull;
 
 /**
  * Manages querying {@link NetMagDao} from the database
@@ -35,4 +41,26 @@ public class NetMagDatabaseConnector {
 
     return entityManager.createQuery(cbQuery).getResultList();
   }
+
+  /**
+   * Retrieves a list of {@link NetMagDao}s from the database with any of the specified orids
+   * @param orids to query NetMagDaos for
+   * @return a list of associated NetMagDaos
+   */
+  public List<NetMagDao> findNetMagByOrids(Collection<Long> orids) {
+    checkNotNull(orids, "orids must not be null");
+
+    return Lists.partition(new ArrayList<>(orids), 500).stream()
+      .map(partitionedOrids -> {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var cbQuery = criteriaBuilder.createQuery(NetMagDao.class);
+        var fromNetMag = cbQuery.from(NetMagDao.class);
+
+        cbQuery.select(fromNetMag).where(fromNetMag.get("originId").in(partitionedOrids));
+
+        return entityManager.createQuery(cbQuery).getResultList();
+      })
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
 }
@@ -100,6 +100,35 @@ public class OriginDatabaseConnector {
     }
   }
 
+  /**
+   * Retrieves a list of OriginDaos associated with the passed in originIds
+   *
+   * @param originIds to retrieve
+   * @return a list of the OriginDaos found
+   */
+  public List<OriginDao> findByIds(Collection<Long> originIds) {
+    checkNotNull(originIds, "The collection of OriginIds cannot be null!");
+
+    return Lists.partition(new ArrayList<>(originIds), 500).stream()
+      .map(partitionedOriginIds -> {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(OriginDao.class);
+        var fromOrigin = query.from(OriginDao.class);
+
+        query.select(fromOrigin)
+          .where(fromOrigin.get(ORIGIN_ID).in(partitionedOriginIds));
+
+        try {
+          return entityManager.createQuery(query).getResultList();
+        } catch (Exception ex) {
+          logger.warn("Could not find OriginDaos from list of OriginIds: {}", partitionedOriginIds, ex);
+          return Collections.<OriginDao>emptyList();
+        }
+      })
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
   /**
    * Retrieves a list of OriginDaos based on the range [startTime, endTime] +- the Origerr.stime (bounds are inclusive)
    *
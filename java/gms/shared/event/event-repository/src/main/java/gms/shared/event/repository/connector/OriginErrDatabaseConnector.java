@@ -1,5 +1,6 @@
 package gms.shared.event.repository.connector;
 
+import com.google.common.collect.Lists;
 import gms.shared.event.dao.OrigerrDao;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,9 +9,11 @@ import org.springframework.context.annotation.Scope;
 import org.springframework.stereotype.Component;
 
 import javax.persistence.EntityManager;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -42,14 +45,19 @@ public class OriginErrDatabaseConnector {
     checkNotNull(orids, "The collection of OriginIds cannot be null!");
     checkArgument(!orids.isEmpty(), "The collection of OriginIds cannot be empty!");
 
-    var cb = entityManager.getCriteriaBuilder();
-    var query = cb.createQuery(OrigerrDao.class);
-    var fromOriginErr = query.from(OrigerrDao.class);
+    return Lists.partition(new ArrayList<>(orids), 500).stream()
+      .map(partitionedOrids -> {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(OrigerrDao.class);
+        var fromOriginErr = query.from(OrigerrDao.class);
 
-    query.select(fromOriginErr);
-    query.where(fromOriginErr.get(ORIGIN_ID).in(orids));
+        query.select(fromOriginErr);
+        query.where(fromOriginErr.get(ORIGIN_ID).in(partitionedOrids));
 
-    return Set.copyOf(entityManager.createQuery(query).getResultList());
+        return entityManager.createQuery(query).getResultList();
+      })
+      .flatMap(Collection::stream)
+      .collect(Collectors.toUnmodifiableSet());
   }
 
   /**
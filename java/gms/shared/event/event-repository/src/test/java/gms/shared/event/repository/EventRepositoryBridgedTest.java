@@ -22,6 +22,7 @@ import gms.shared.event.repository.converter.EventConverter;
 import gms.shared.event.repository.util.id.EventIdUtility;
 import gms.shared.event.repository.util.id.OriginUniqueIdentifier;
 import gms.shared.signaldetection.dao.css.AridOridKey;
+import gms.shared.signaldetection.dao.css.AssocDao;
 import gms.shared.signaldetection.repository.utils.SignalDetectionHypothesisAssocIdComponents;
 import gms.shared.signaldetection.testfixtures.SignalDetectionTestFixtures;
 import gms.shared.workflow.coi.WorkflowDefinitionId;
@@ -40,6 +41,8 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static gms.shared.event.repository.connector.EventBridgeDatabaseConnectorTypes.AR_INFO_CONNECTOR_TYPE;
 import static gms.shared.event.repository.connector.EventBridgeDatabaseConnectorTypes.ASSOC_CONNECTOR_TYPE;
@@ -58,6 +61,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.doReturn;
@@ -200,8 +204,8 @@ class EventRepositoryBridgedTest {
     doReturn(Optional.of(TRUTH_EVID))
       .when(eventIdUtility).getEvid(EVENT_UUID);
 
-    doReturn(Optional.<Event>empty())
-      .when(eventDatabaseConnector).findEventById(TRUTH_EVID);
+    doReturn(List.of())
+      .when(eventDatabaseConnector).findEventsByIds(List.of(TRUTH_EVID));
 
     assertTrue(eventRepositoryBridged.findByIds(eventCollection, stageOneId).isEmpty());
   }
@@ -224,17 +228,22 @@ class EventRepositoryBridgedTest {
     var expectedEventDao = EventDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_EVENT_DAO)
       .withEventId(TRUTH_EVID)
       .build();
-    doReturn(Optional.of(expectedEventDao))
-      .when(eventDatabaseConnector).findEventById(TRUTH_EVID);
+    doReturn(List.of(expectedEventDao))
+      .when(eventDatabaseConnector).findEventsByIds(List.of(TRUTH_EVID));
 
-    var originDaos = List.of(EventTestFixtures.DEFAULT_ORIGIN_DAO);
+    var originDaos = List.of(OriginDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_ORIGIN_DAO)
+      .withEventId(TRUTH_EVID)
+      .build());
     doReturn(originDaos)
       .when(originDatabaseConnector).findByEventIds(List.of(expectedEventDao.getEventId()));
 
-    var gaTagDaos = List.of(new GaTagDao());
+    var gaTagDao = new GaTagDao();
+    gaTagDao.setRejectedArrivalOriginEvid(TRUTH_EVID);
+    var gaTagDaos = List.of(gaTagDao);
     doReturn(gaTagDaos)
       .when(gaTagDatabaseConnector)
-      .findGaTagByObjectTypeProcessStateAndEvid(EventRepositoryBridged.OBJECT_TYPE_O, GA_TAG_ANALYST_REJECTED, TRUTH_EVID);
+      .findGaTagsByObjectTypesProcessStatesAndEvids(List.of(EventRepositoryBridged.OBJECT_TYPE_O),
+        List.of(GA_TAG_ANALYST_REJECTED), List.of(TRUTH_EVID));
 
     var expectedEvent = Event.createEntityReference(EVENT_UUID);
     doReturn(expectedEvent)
@@ -258,17 +267,22 @@ class EventRepositoryBridgedTest {
     var expectedEventDao = EventDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_EVENT_DAO)
       .withEventId(TRUTH_EVID)
       .build();
-    doReturn(Optional.of(expectedEventDao))
-      .when(eventDatabaseConnector).findEventById(TRUTH_EVID);
+    doReturn(List.of(expectedEventDao))
+      .when(eventDatabaseConnector).findEventsByIds(List.of(TRUTH_EVID));
 
-    var originDaos = List.of(EventTestFixtures.DEFAULT_ORIGIN_DAO);
+    var originDaos = List.of(OriginDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_ORIGIN_DAO)
+      .withEventId(TRUTH_EVID)
+      .build());
     doReturn(originDaos)
       .when(originDatabaseConnector).findByEventIds(List.of(expectedEventDao.getEventId()));
 
-    var gaTagDaos = List.of(new GaTagDao());
+    var gaTagDao = new GaTagDao();
+    gaTagDao.setRejectedArrivalOriginEvid(TRUTH_EVID);
+    var gaTagDaos = List.of(gaTagDao);
     doReturn(gaTagDaos)
       .when(gaTagDatabaseConnector)
-      .findGaTagByObjectTypeProcessStateAndEvid(EventRepositoryBridged.OBJECT_TYPE_O, GA_TAG_ANALYST_REJECTED, TRUTH_EVID);
+      .findGaTagsByObjectTypesProcessStatesAndEvids(List.of(EventRepositoryBridged.OBJECT_TYPE_O),
+        List.of(GA_TAG_ANALYST_REJECTED), List.of(TRUTH_EVID));
 
     var expectedEventCurr = EventTestFixtures.generateDummyEvent(EVENT_UUID, currentStage, "UnitTest", "ANALYST1",
       Instant.EPOCH, 1.1, MagnitudeType.MB);
@@ -300,47 +314,49 @@ class EventRepositoryBridgedTest {
 
     doReturn(Optional.of(TRUTH_EVIDCurr))
       .when(eventIdUtility).getEvid(EVENT_UUIDCurr);
+    doReturn(Optional.of(TRUTH_EVIDPrev))
+      .when(eventIdUtility).getEvid(EVENT_UUIDPrev);
 
     var expectedEventDaoCurr = EventDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_EVENT_DAO)
       .withEventId(TRUTH_EVIDCurr)
       .build();
-    doReturn(Optional.of(expectedEventDaoCurr))
-      .when(eventDatabaseConnector).findEventById(TRUTH_EVIDCurr);
-
-    var originDaos = List.of(EventTestFixtures.DEFAULT_ORIGIN_DAO);
-    doReturn(originDaos)
-      .when(originDatabaseConnector).findByEventIds(List.of(expectedEventDaoCurr.getEventId()));
+    var expectedEventDaoPrev = EventDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_EVENT_DAO)
+      .withEventId(TRUTH_EVIDPrev)
+      .build();
+    doReturn(List.of(expectedEventDaoCurr, expectedEventDaoPrev))
+      .when(eventDatabaseConnector).findEventsByIds(List.of(TRUTH_EVIDCurr, TRUTH_EVIDPrev));
 
-    var gaTagDaos = List.of(new GaTagDao());
-    doReturn(gaTagDaos)
+    var originDaoCurr = OriginDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_ORIGIN_DAO)
+      .withOriginId(1111L)
+      .withEventId(TRUTH_EVIDCurr)
+      .build();
+    var originDaoPrev = OriginDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_ORIGIN_DAO)
+      .withOriginId(2222L)
+      .withEventId(TRUTH_EVIDPrev)
+      .build();
+    doReturn(List.of(originDaoCurr, originDaoPrev))
+      .when(originDatabaseConnector).findByEventIds(List.of(TRUTH_EVIDCurr, TRUTH_EVIDPrev));
+
+    var gaTagDaoCurr = new GaTagDao();
+    gaTagDaoCurr.setRejectedArrivalOriginEvid(TRUTH_EVIDCurr);
+    var gaTagDaoPrev = new GaTagDao();
+    gaTagDaoPrev.setRejectedArrivalOriginEvid(TRUTH_EVIDPrev);
+    doReturn(List.of(gaTagDaoCurr, gaTagDaoPrev))
       .when(gaTagDatabaseConnector)
-      .findGaTagByObjectTypeProcessStateAndEvid(EventRepositoryBridged.OBJECT_TYPE_O, GA_TAG_ANALYST_REJECTED, TRUTH_EVIDCurr);
+      .findGaTagsByObjectTypesProcessStatesAndEvids(List.of(EventRepositoryBridged.OBJECT_TYPE_O),
+        List.of(GA_TAG_ANALYST_REJECTED), List.of(TRUTH_EVIDCurr, TRUTH_EVIDPrev));
 
     var expectedEventCurr = EventTestFixtures.generateDummyEvent(EVENT_UUID, currentStage, "UnitTest", "ANALYST1",
       Instant.EPOCH, 1.1, MagnitudeType.MB);
     doReturn(expectedEventCurr)
-      .when(eventConverter).fromLegacyToDefaultFacetedEvent(expectedEventDaoCurr, originDaos, gaTagDaos, currentStage);
-
-    doReturn(Optional.of(TRUTH_EVIDPrev))
-      .when(eventIdUtility).getEvid(EVENT_UUIDPrev);
-
-    var expectedEventDaoPrev = EventDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_EVENT_DAO)
-      .withEventId(TRUTH_EVIDPrev)
-      .build();
-    doReturn(Optional.of(expectedEventDaoPrev))
-      .when(eventDatabaseConnector).findEventById(TRUTH_EVIDPrev);
-
-    doReturn(originDaos)
-      .when(originDatabaseConnector).findByEventIds(List.of(expectedEventDaoPrev.getEventId()));
-
-    doReturn(gaTagDaos)
-      .when(gaTagDatabaseConnector)
-      .findGaTagByObjectTypeProcessStateAndEvid(EventRepositoryBridged.OBJECT_TYPE_O, GA_TAG_ANALYST_REJECTED, TRUTH_EVIDPrev);
+      .when(eventConverter).fromLegacyToDefaultFacetedEvent(expectedEventDaoCurr, List.of(originDaoCurr),
+        List.of(gaTagDaoCurr), currentStage);
 
     var expectedEventPrev = EventTestFixtures.generateDummyEvent(EVENT_UUIDPrev, previousStage, "UnitTest", "ANALYST1",
       Instant.EPOCH, 1.1, MagnitudeType.MB);
     doReturn(expectedEventPrev)
-      .when(eventConverter).fromLegacyToDefaultFacetedEvent(expectedEventDaoPrev, originDaos, gaTagDaos, currentStage);
+      .when(eventConverter).fromLegacyToDefaultFacetedEvent(expectedEventDaoPrev, List.of(originDaoPrev),
+        List.of(gaTagDaoPrev), currentStage);
 
     var eventSet = eventRepositoryBridged.findByIds(eventCollection, currentStage);
     assertEquals(Set.of(expectedEventCurr, expectedEventPrev), eventSet);
@@ -416,8 +432,8 @@ class EventRepositoryBridgedTest {
     var prevEventDao = EventDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_EVENT_DAO)
       .withEventId(mockEvid)
       .build();
-    doReturn(Optional.of(prevEventDao))
-      .when(eventDatabaseConnector).findEventById(mockEvid);
+    doReturn(List.of(prevEventDao))
+      .when(eventDatabaseConnector).findEventsByIds(List.of(mockEvid));
     var event = EventTestFixtures.generateDummyEvent(EVENT_UUID, currentStage, "UnitTest", "ANALYST1",
       Instant.EPOCH, 1.1, MagnitudeType.MB);
     var eventPrevStage = EventTestFixtures.generateDummyEvent(EVENT_UUIDPrevious, previousStage, "UnitTest", "ANALYST1",
@@ -457,13 +473,64 @@ class EventRepositoryBridgedTest {
       .when(eventConverter).fromLegacyToDefaultFacetedEvent(eventDao, originDaos, gaTagDaos, currentStage);
 
     doReturn(eventPrevStage)
-      .when(eventConverter).fromLegacyToDefaultFacetedEvent(prevEventDao, Set.of(prevOriginDao1, prevOriginDao2), Set.of(), previousStage);
+      .when(eventConverter).fromLegacyToDefaultFacetedEvent(prevEventDao, List.of(prevOriginDao1, prevOriginDao2), List.of(), previousStage);
 
     var actualEventSet = eventRepositoryBridged.findByTime(startTime, endTime, currentStage);
     assertEquals(Set.of(resultEvent, eventPrevStage), actualEventSet);
 
   }
 
+  @Test
+  void testFindByTime_MultiStageQueriesPreviousStageEventsOnce() {
+    var currentStage = stageTwoId;
+    var previousStage = stageOneId;
+
+    var startTime = Instant.EPOCH;
+    var endTime = Instant.ofEpochSecond(1);
+
+    var prevEventDaos = LongStream.rangeClosed(1, 3)
+      .mapToObj(evid -> EventDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_EVENT_DAO)
+        .withEventId(evid)
+        .build())
+      .collect(Collectors.toList());
+
+    // Origins of the events interleaved, as they are returned in time order
+    var prevOriginDaos = LongStream.rangeClosed(1, 6)
+      .mapToObj(orid -> OriginDao.Builder.initializeFromInstance(EventTestFixtures.DEFAULT_ORIGIN_DAO)
+        .withOriginId(orid)
+        .withEventId(orid % 3 + 1)
+        .build())
+      .collect(Collectors.toList());
+    doReturn(prevOriginDaos)
+      .when(originDatabaseConnector).findByTime(startTime, endTime);
+    doReturn(prevEventDaos)
+      .when(eventDatabaseConnector).findEventsByIds(List.of(2L, 3L, 1L));
+
+    var gaTagDao = new GaTagDao();
+    gaTagDao.setRejectedArrivalOriginEvid(2L);
+    doReturn(List.of(gaTagDao))
+      .when(gaTagDatabaseConnector).findGaTagsByObjectTypesProcessStatesAndEvids(
+        List.of(EventRepositoryBridged.OBJECT_TYPE_A, EventRepositoryBridged.OBJECT_TYPE_O),
+        List.of(GA_TAG_ANALYST_REJECTED), List.of(1L, 2L, 3L));
+
+    var expectedEvents = prevEventDaos.stream()
+      .map(eventDao -> {
+        var event = Event.createEntityReference(UUID.randomUUID());
+        var evid = eventDao.getEventId();
+        doReturn(event)
+          .when(eventConverter).fromLegacyToDefaultFacetedEvent(eventDao,
+            prevOriginDaos.stream().filter(originDao -> originDao.getEventId() == evid).collect(Collectors.toList()),
+            evid == 2L ? List.of(gaTagDao) : List.of(),
+            previousStage);
+        return event;
+      })
+      .collect(Collectors.toSet());
+
+    assertEquals(expectedEvents, eventRepositoryBridged.findByTime(startTime, endTime, currentStage));
+    verify(eventDatabaseConnector).findEventsByIds(any());
+    verify(eventDatabaseConnector, never()).findEventById(anyLong());
+  }
+
   @Test
   void testFindByTime_InvalidStageId() {
     assertThat(assertDoesNotThrow(() -> eventRepositoryBridged.findByTime(Instant.EPOCH,
@@ -520,14 +587,16 @@ class EventRepositoryBridgedTest {
     given(eventIdUtility.getOrCreateEventId(evid)).willReturn(defaultBridgedEhInfoEventId);
     given(eventIdUtility.getOrCreateEventHypothesisId(previousStageEventDao.getPreferredOrigin(), stageId.getName())).willReturn(parentEventHypothesisId.getHypothesisId());
 
-    given(originDatabaseConnector.findById(orid)).willReturn(Optional.of(ehInfo.getOriginDao()));
-    given(originErrDatabaseConnector.findById(orid)).willReturn(Optional.of(ehInfo.getOrigerrDao()));
-    given(eventControlDatabaseConnector.findByEventIdOriginId(evid, orid)).willReturn(ehInfo.getEventControlDao());
+    given(originDatabaseConnector.findByIds(List.of(orid))).willReturn(List.of(ehInfo.getOriginDao()));
+    given(originErrDatabaseConnector.findByIds(List.of(orid))).willReturn(Set.of(ehInfo.getOrigerrDao()));
+    given(eventControlDatabaseConnector.findByOriginIds(List.of(orid))).willReturn(List.of(ehInfo.getEventControlDao().orElseThrow()));
     given(assocDatabaseConnector.findAssocsByOrids(List.of(orid))).willReturn(List.of(sdhInfo.getAssocDao()));
-    given(netMagDatabaseConnector.findNetMagByOrid(orid)).willReturn(new ArrayList<>(ehInfo.getNetMagDaos()));
-    given(eventDatabaseConnector.findEventById(evid)).willReturn(Optional.of(previousStageEventDao));
-    given(signalDetectionLegacyAccessor.findHypothesisByStageIdAridAndOrid(any(WorkflowDefinitionId.class), any(Long.class), any(Long.class)))
-      .willReturn(sdhInfo.getSignalDetectionHypothesis());
+    given(netMagDatabaseConnector.findNetMagByOrids(List.of(orid))).willReturn(new ArrayList<>(ehInfo.getNetMagDaos()));
+    given(previousStageEventDao.getEventId()).willReturn(evid);
+    given(eventDatabaseConnector.findEventsByIds(List.of(evid))).willReturn(List.of(previousStageEventDao));
+    given(signalDetectionLegacyAccessor.findHypothesesByStageIdAndAridOridKeys(eq(stageId), any()))
+      .willReturn(Map.of(AssocDao.assocDaoToAridOridKeyTransformer(sdhInfo.getAssocDao()),
+        sdhInfo.getSignalDetectionHypothesis().orElseThrow()));
 
     given(eventConverter.fromLegacyToDefaultFacetedEventHypothesis(eq(stageId), eq(ehInfo), any()))
       .willReturn(List.of(eventHypothesis));
@@ -559,12 +628,13 @@ class EventRepositoryBridgedTest {
       .willReturn(Optional.of(OriginUniqueIdentifier.create(orid, stageOneId.getName())));
     given(eventIdUtility.getEvid(ehId.getEventId())).willReturn(Optional.of(evid));
 
-    given(originDatabaseConnector.findById(orid)).willReturn(Optional.of(ehInfo.getOriginDao()));
-    given(originErrDatabaseConnector.findById(orid)).willReturn(Optional.of(ehInfo.getOrigerrDao()));
-    given(eventControlDatabaseConnector.findByEventIdOriginId(evid, orid)).willReturn(ehInfo.getEventControlDao());
-    given(netMagDatabaseConnector.findNetMagByOrid(orid)).willReturn(new ArrayList<>(ehInfo.getNetMagDaos()));
+    given(originDatabaseConnector.findByIds(List.of(orid))).willReturn(List.of(ehInfo.getOriginDao()));
+    given(originErrDatabaseConnector.findByIds(List.of(orid))).willReturn(Set.of(ehInfo.getOrigerrDao()));
+    given(eventControlDatabaseConnector.findByOriginIds(List.of(orid))).willReturn(List.of(ehInfo.getEventControlDao().orElseThrow()));
+    given(netMagDatabaseConnector.findNetMagByOrids(List.of(orid))).willReturn(new ArrayList<>(ehInfo.getNetMagDaos()));
     given(assocDatabaseConnector.findAssocsByOrids(List.of(orid))).willReturn(List.of(sdhInfo.getAssocDao()));
-    given(signalDetectionLegacyAccessor.findHypothesisByStageIdAridAndOrid(stageOneId, arid, orid)).willReturn(sdhInfo.getSignalDetectionHypothesis());
+    given(signalDetectionLegacyAccessor.findHypothesesByStageIdAndAridOridKeys(stageOneId, List.of(aridOridKey)))
+      .willReturn(Map.of(aridOridKey, sdhInfo.getSignalDetectionHypothesis().orElseThrow()));
     given(arInfoDatabaseConnector.findArInfosByAssocs(List.of(sdhInfo.getAssocDao()))).willReturn(Map.of(aridOridKey, sdhInfo.getArInfoDao().orElseThrow()));
     given(staMagDatabaseConnector.findStaMagDaosByAssocs(List.of(sdhInfo.getAssocDao()))).willReturn(new ArrayList<>(sdhInfo.getStaMagDaos()));
     given(eventConverter.fromLegacyToDefaultFacetedEventHypothesis(stageOneId, ehInfo, singleton(sdhInfo)))
@@ -588,11 +658,11 @@ class EventRepositoryBridgedTest {
       .willReturn(Optional.of(OriginUniqueIdentifier.create(orid, stageOneId.getName())));
     given(eventIdUtility.getEvid(ehId.getEventId())).willReturn(Optional.of(evid));
 
-    given(originDatabaseConnector.findById(orid)).willReturn(Optional.of(ehInfo.getOriginDao()));
-    given(originErrDatabaseConnector.findById(orid)).willReturn(Optional.of(ehInfo.getOrigerrDao()));
-    given(eventControlDatabaseConnector.findByEventIdOriginId(evid, orid)).willReturn(ehInfo.getEventControlDao());
+    given(originDatabaseConnector.findByIds(List.of(orid))).willReturn(List.of(ehInfo.getOriginDao()));
+    given(originErrDatabaseConnector.findByIds(List.of(orid))).willReturn(Set.of(ehInfo.getOrigerrDao()));
+    given(eventControlDatabaseConnector.findByOriginIds(List.of(orid))).willReturn(List.of(ehInfo.getEventControlDao().orElseThrow()));
     given(assocDatabaseConnector.findAssocsByOrids(List.of(orid))).willReturn(Collections.emptyList());
-    given(netMagDatabaseConnector.findNetMagByOrid(orid)).willReturn(new ArrayList<>(ehInfo.getNetMagDaos()));
+    given(netMagDatabaseConnector.findNetMagByOrids(List.of(orid))).willReturn(new ArrayList<>(ehInfo.getNetMagDaos()));
 
     given(eventConverter.fromLegacyToDefaultFacetedEventHypothesis(stageOneId, ehInfo, emptySet()))
       .willReturn(List.of(eventHypothesis));
@@ -601,6 +671,43 @@ class EventRepositoryBridgedTest {
     assertThat(actualEventHypotheses).containsExactly(eventHypothesis);
   }
 
+  @Test
+  void testFindHypothesesByIdsQueriesEachTableOncePerStage() {
+    var ehInfo = BridgeTestFixtures.DEFAULT_BRIDGED_EH_INFORMATION;
+    var eventHypothesis = mock(EventHypothesis.class);
+
+    var ehId = EventHypothesis.Id.from(UUID.randomUUID(), UUID.randomUUID());
+    var missingOriginEhId = EventHypothesis.Id.from(ehId.getEventId(), UUID.randomUUID());
+    var evid = ehInfo.getOriginDao().getEventId();
+    var orid = ehInfo.getOriginDao().getOriginId();
+    var missingOrid = orid + 1;
+    var orids = List.of(orid, missingOrid);
+
+    given(eventIdUtility.getOriginUniqueIdentifier(ehId.getHypothesisId()))
+      .willReturn(Optional.of(OriginUniqueIdentifier.create(orid, stageOneId.getName())));
+    given(eventIdUtility.getOriginUniqueIdentifier(missingOriginEhId.getHypothesisId()))
+      .willReturn(Optional.of(OriginUniqueIdentifier.create(missingOrid, stageOneId.getName())));
+    given(eventIdUtility.getEvid(ehId.getEventId())).willReturn(Optional.of(evid));
+
+    given(originDatabaseConnector.findByIds(orids)).willReturn(List.of(ehInfo.getOriginDao()));
+    given(originErrDatabaseConnector.findByIds(orids)).willReturn(Set.of(ehInfo.getOrigerrDao()));
+    given(eventControlDatabaseConnector.findByOriginIds(orids)).willReturn(List.of(ehInfo.getEventControlDao().orElseThrow()));
+    given(netMagDatabaseConnector.findNetMagByOrids(orids)).willReturn(new ArrayList<>(ehInfo.getNetMagDaos()));
+    given(assocDatabaseConnector.findAssocsByOrids(orids)).willReturn(Collections.emptyList());
+
+    given(eventConverter.fromLegacyToDefaultFacetedEventHypothesis(stageOneId, ehInfo, emptySet()))
+      .willReturn(List.of(eventHypothesis));
+
+    var actualEventHypotheses = eventRepositoryBridged.findHypothesesByIds(List.of(ehId, missingOriginEhId, ehId));
+
+    assertThat(actualEventHypotheses).containsExactly(eventHypothesis, eventHypothesis);
+    verify(originDatabaseConnector).findByIds(orids);
+    verify(assocDatabaseConnector).findAssocsByOrids(orids);
+    verify(gaTagDatabaseConnector).findGaTagsByObjectTypesProcessStatesAndEvids(
+      List.of(EventRepositoryBridged.OBJECT_TYPE_O), List.of(GA_TAG_ANALYST_REJECTED), List.of(evid));
+    verify(eventConverter).fromLegacyToDefaultFacetedEventHypothesis(any(), any(), any());
+  }
+
   @Test
   void testFindHypothesesByIdsMissingOriginDao() {
     var ehInfo = BridgeTestFixtures.DEFAULT_BRIDGED_EH_INFORMATION;
@@ -614,9 +721,9 @@ class EventRepositoryBridgedTest {
       .willReturn(Optional.of(OriginUniqueIdentifier.create(orid, stageOneId.getName())));
     given(eventIdUtility.getEvid(ehId.getEventId())).willReturn(Optional.of(evid));
 
-    given(originDatabaseConnector.findById(orid)).willReturn(Optional.empty());
-    given(originErrDatabaseConnector.findById(orid)).willReturn(Optional.of(ehInfo.getOrigerrDao()));
-    given(eventControlDatabaseConnector.findByEventIdOriginId(evid, orid)).willReturn(ehInfo.getEventControlDao());
+    given(originDatabaseConnector.findByIds(List.of(orid))).willReturn(List.of());
+    given(originErrDatabaseConnector.findByIds(List.of(orid))).willReturn(Set.of(ehInfo.getOrigerrDao()));
+    given(eventControlDatabaseConnector.findByOriginIds(List.of(orid))).willReturn(List.of(ehInfo.getEventControlDao().orElseThrow()));
     given(assocDatabaseConnector.findAssocsByOrids(List.of(orid))).willReturn(List.of(sdhInfo.getAssocDao()));
 
     var actualEventHypotheses = eventRepositoryBridged.findHypothesesByIds(List.of(ehId));
@@ -656,14 +763,16 @@ class EventRepositoryBridgedTest {
   @Test
   void testFindByAssociatedDetectionHypotheses() {
     var sdh = SignalDetectionTestFixtures.SIGNAL_DETECTION_HYPOTHESIS;
-    var arid = 1L;
-    var orid = 1L;
+    var arid = EventTestFixtures.ARRIVAL_ID;
+    var orid = EventTestFixtures.ORIGIN_ID;
     var legacyDatabaseId = "al1";
-    var evid = 1L;
+    var evid = EventTestFixtures.EVENT_ID;
     var eventId = UUID.randomUUID();
     var eventDao = EventTestFixtures.DEFAULT_EVENT_DAO;
     var originDao = EventTestFixtures.DEFAULT_ORIGIN_DAO;
-    var gaTagDao = EventTestFixtures.DEFAULT_GATAG_DAO;
+    var gaTagDao = new GaTagDao();
+    gaTagDao.setObjectType(EventRepositoryBridged.OBJECT_TYPE_O);
+    gaTagDao.setRejectedArrivalOriginEvid(evid);
 
     var signalDetectionHypotheses = List.of(sdh);
     var stageId = WorkflowDefinitionId.from("STAGE_ONE");
@@ -676,7 +785,7 @@ class EventRepositoryBridgedTest {
 
     // findByAssociatedSignalDetectionHypothethes mocks
     given(signalDetectionLegacyAccessor.getSignalDetectionHypothesesAssocIdComponents(List.of(sdh)))
-      .willReturn(Set.of(SignalDetectionHypothesisAssocIdComponents.create(legacyDatabaseId, orid, arid)));
+      .willReturn(Set.of(SignalDetectionHypothesisAssocIdComponents.create(legacyDatabaseId, arid, orid)));
 
     given(eventBridgeDatabaseConnectors.getConnectorForCurrentStageOrThrow(any(), eq(EVENT_CONNECTOR_TYPE)))
       .willReturn(eventDatabaseConnector);
@@ -685,12 +794,10 @@ class EventRepositoryBridgedTest {
     given(eventBridgeDatabaseConnectors.getConnectorForCurrentStageOrThrow(any(), eq(GA_TAG_CONNECTOR_TYPE)))
       .willReturn(gaTagDatabaseConnector);
     given(eventIdUtility.getEvid(any())).willReturn(Optional.of(evid));
-    given(eventDatabaseConnector.findEventById(evid)).willReturn(Optional.of(eventDao));
+    given(eventDatabaseConnector.findEventsByIds(List.of(evid))).willReturn(List.of(eventDao));
     given(originDatabaseConnector.findByEventIds(List.of(eventDao.getEventId()))).willReturn(List.of(originDao));
-    given(gaTagDatabaseConnector.findGaTagByObjectTypeProcessStateAndEvid(any(), any(), eq(eventDao.getEventId())))
+    given(gaTagDatabaseConnector.findGaTagsByObjectTypesProcessStatesAndEvids(any(), any(), eq(List.of(eventDao.getEventId()))))
       .willReturn(List.of(gaTagDao));
-    given(originDatabaseConnector.findById(orid))
-      .willReturn(Optional.of(originDao));
     given(eventConverter.fromLegacyToDefaultFacetedEvent(eventDao, List.of(originDao), List.of(gaTagDao), stageId))
       .willReturn(event);
     // --
@@ -705,19 +812,20 @@ class EventRepositoryBridgedTest {
       .willReturn(Optional.of(OriginUniqueIdentifier.create(orid, stageOneId.getName())));
     given(eventIdUtility.getEvid(event.getData().orElseThrow().getEventHypotheses().iterator().next().getId().getEventId())).willReturn(Optional.of(evid));
 
-    given(originDatabaseConnector.findById(orid)).willReturn(Optional.of(ehInfo.getOriginDao()));
-    given(originErrDatabaseConnector.findById(orid)).willReturn(Optional.of(ehInfo.getOrigerrDao()));
-    given(eventControlDatabaseConnector.findByEventIdOriginId(evid, orid)).willReturn(ehInfo.getEventControlDao());
-    given(netMagDatabaseConnector.findNetMagByOrid(orid)).willReturn(new ArrayList<>(ehInfo.getNetMagDaos()));
+    given(originDatabaseConnector.findByIds(List.of(orid))).willReturn(List.of(ehInfo.getOriginDao()));
+    given(originErrDatabaseConnector.findByIds(List.of(orid))).willReturn(Set.of(ehInfo.getOrigerrDao()));
+    given(eventControlDatabaseConnector.findByOriginIds(List.of(orid))).willReturn(List.of(ehInfo.getEventControlDao().orElseThrow()));
+    given(netMagDatabaseConnector.findNetMagByOrids(List.of(orid))).willReturn(new ArrayList<>(ehInfo.getNetMagDaos()));
     given(assocDatabaseConnector.findAssocsByOrids(List.of(orid))).willReturn(List.of(sdhInfo.getAssocDao()));
-    given(signalDetectionLegacyAccessor.findHypothesisByStageIdAridAndOrid(stageOneId, sdhInfo.getArInfoDao().orElseThrow().getArrivalId(), ehInfo.getOriginDao().getOriginId())).willReturn(sdhInfo.getSignalDetectionHypothesis());
+    given(signalDetectionLegacyAccessor.findHypothesesByStageIdAndAridOridKeys(stageOneId, List.of(aridOridKey)))
+      .willReturn(Map.of(aridOridKey, sdhInfo.getSignalDetectionHypothesis().orElseThrow()));
     given(arInfoDatabaseConnector.findArInfosByAssocs(List.of(sdhInfo.getAssocDao()))).willReturn(Map.of(aridOridKey, sdhInfo.getArInfoDao().orElseThrow()));
     given(staMagDatabaseConnector.findStaMagDaosByAssocs(List.of(sdhInfo.getAssocDao()))).willReturn(new ArrayList<>(sdhInfo.getStaMagDaos()));
     given(eventConverter.fromLegacyToDefaultFacetedEventHypothesis(eq(stageOneId), any(), any()))
       .willReturn(event.getData().orElseThrow().getEventHypotheses());
     // --
 
-    given(databaseConnector.findEventIdsByArids(List.of(1L))).willReturn(List.of(evid));
+    given(databaseConnector.findEventIdsByArids(List.of(arid))).willReturn(List.of(evid));
 
     var returnedEvent = eventRepositoryBridged.findByAssociatedDetectionHypotheses(signalDetectionHypotheses, stageId);
 
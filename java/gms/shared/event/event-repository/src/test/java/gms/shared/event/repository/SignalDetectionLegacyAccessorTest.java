@@ -3,6 +3,7 @@ package gms.shared.event.repository;
 import gms.shared.signaldetection.api.SignalDetectionAccessorInterface;
 import gms.shared.signaldetection.coi.detection.SignalDetectionHypothesis;
 import gms.shared.signaldetection.coi.detection.SignalDetectionHypothesisId;
+import gms.shared.signaldetection.dao.css.AridOridKey;
 import gms.shared.signaldetection.repository.utils.SignalDetectionHypothesisAssocIdComponents;
 import gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility;
 import gms.shared.signaldetection.testfixtures.SignalDetectionTestFixtures;
@@ -15,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -26,6 +28,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
 class SignalDetectionLegacyAccessorTest {
@@ -126,6 +130,70 @@ class SignalDetectionLegacyAccessorTest {
     assertTrue(sdhOpt.isEmpty());
   }
 
+  @Test
+  void testFindHypothesesByStageIdAndAridOridKeys() {
+    var stageId = WorkflowDefinitionId.from("AL1");
+    var foundKey = new AridOridKey.Builder().withArrivalId(1L).withOriginId(2L).build();
+    var missingKey = new AridOridKey.Builder().withArrivalId(3L).withOriginId(2L).build();
+
+    var foundId = SignalDetectionHypothesisId.from(UUID.randomUUID(), UUID.randomUUID());
+    var missingId = SignalDetectionHypothesisId.from(UUID.randomUUID(), UUID.randomUUID());
+    var signalDetectionHypothesis = mock(SignalDetectionHypothesis.class);
+    doReturn(foundId).when(signalDetectionHypothesis).getId();
+
+    doReturn(foundId.getSignalDetectionId()).when(signalDetectionIdUtility).getOrCreateSignalDetectionIdfromArid(1L);
+    doReturn(foundId.getId()).when(signalDetectionIdUtility).getOrCreateSignalDetectionHypothesisIdFromAridOridAndStageId(1L, 2L, "al1");
+    doReturn(missingId.getSignalDetectionId()).when(signalDetectionIdUtility).getOrCreateSignalDetectionIdfromArid(3L);
+    doReturn(missingId.getId()).when(signalDetectionIdUtility).getOrCreateSignalDetectionHypothesisIdFromAridOridAndStageId(3L, 2L, "al1");
+
+    doReturn(List.of(signalDetectionHypothesis)).when(signalDetectionAccessor).findHypothesesByIds(any());
+
+    assertEquals(Map.of(foundKey, signalDetectionHypothesis),
+      signalDetectionLegacyAccessor.findHypothesesByStageIdAndAridOridKeys(stageId, List.of(foundKey, missingKey)));
+    verify(signalDetectionAccessor).findHypothesesByIds(any());
+  }
+
+  @Test
+  void testFindHypothesesByStageIdAndAridOridKeys_MultipleHypothesesFound() {
+    var stageId = WorkflowDefinitionId.from("AL2");
+    var aridOridKey = new AridOridKey.Builder().withArrivalId(0L).withOriginId(0L).build();
+
+    var signalDetectionHypothesisId = SignalDetectionHypothesisId.from(UUID.randomUUID(), UUID.randomUUID());
+    var signalDetectionHypothesis = mock(SignalDetectionHypothesis.class);
+    doReturn(signalDetectionHypothesisId).when(signalDetectionHypothesis).getId();
+
+    doReturn(signalDetectionHypothesisId.getSignalDetectionId()).when(signalDetectionIdUtility).getOrCreateSignalDetectionIdfromArid(0L);
+    doReturn(signalDetectionHypothesisId.getId()).when(signalDetectionIdUtility).getOrCreateSignalDetectionHypothesisIdFromAridOridAndStageId(0L, 0L, "al2");
+
+    doReturn(List.of(signalDetectionHypothesis, signalDetectionHypothesis)).when(signalDetectionAccessor).findHypothesesByIds(any());
+
+    var aridOridKeys = List.of(aridOridKey);
+    assertThrows(IllegalStateException.class, () ->
+      signalDetectionLegacyAccessor.findHypothesesByStageIdAndAridOridKeys(stageId, aridOridKeys));
+  }
+
+  @Test
+  void testFindHypothesesByStageIdAndAridOridKeys_AccessorThrowsException() {
+    var stageId = WorkflowDefinitionId.from("AL1");
+    var aridOridKey = new AridOridKey.Builder().withArrivalId(0L).withOriginId(0L).build();
+
+    doReturn(UUID.randomUUID()).when(signalDetectionIdUtility).getOrCreateSignalDetectionIdfromArid(0L);
+    doReturn(UUID.randomUUID()).when(signalDetectionIdUtility).getOrCreateSignalDetectionHypothesisIdFromAridOridAndStageId(0L, 0L, "al1");
+
+    doThrow(IllegalStateException.class).when(signalDetectionAccessor).findHypothesesByIds(any());
+
+    assertTrue(signalDetectionLegacyAccessor.findHypothesesByStageIdAndAridOridKeys(stageId, List.of(aridOridKey))
+      .isEmpty());
+  }
+
+  @Test
+  void testFindHypothesesByStageIdAndAridOridKeys_NoKeys() {
+    var stageId = WorkflowDefinitionId.from("AL1");
+
+    assertTrue(signalDetectionLegacyAccessor.findHypothesesByStageIdAndAridOridKeys(stageId, List.of()).isEmpty());
+    verify(signalDetectionAccessor, never()).findHypothesesByIds(any());
+  }
+
   @Test
   void testGetSignalDetectionHypothesesAssocIdComponents() {
     var sdh = SignalDetectionTestFixtures.SIGNAL_DETECTION_HYPOTHESIS;
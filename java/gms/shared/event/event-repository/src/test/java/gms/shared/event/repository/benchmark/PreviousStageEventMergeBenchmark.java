@@ -0,0 +1,187 @@
+package gms.shared.event.repository.benchmark;
+
+import com.google.common.collect.Multimaps;
+import gms.shared.event.dao.EventDao;
+import gms.shared.event.dao.GaTagDao;
+import gms.shared.event.dao.OriginDao;
+import gms.shared.event.repository.EventRepositoryBridged;
+import gms.shared.event.repository.connector.EventDatabaseConnector;
+import gms.shared.event.repository.connector.GaTagDatabaseConnector;
+import gms.shared.event.repository.connector.OriginDatabaseConnector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static gms.shared.event.repository.EventRepositoryBridged.ANALYST_REJECTED;
+import static gms.shared.event.repository.EventRepositoryBridged.OBJECT_TYPE_A;
+import static gms.shared.event.repository.EventRepositoryBridged.OBJECT_TYPE_O;
+
+/**
+ * Compares the way {@link EventRepositoryBridged#findByTime} merges previous stage events, which loads the events of
+ * the interval's origins in bulk and joins their origins and gatags through multimaps indexed by evid, with the merge it
+ * replaced, which queried each event on its own and scanned every origin and gatag for each event, against an H2
+ * database in Oracle mode.
+ * <p>
+ * Both include the previous stage origin query of the interval, which joins each origin's origerr, and stop short of
+ * converting the events, which costs the same for both. Each event has originsPerEvent origins, and every tenth event is
+ * analyst rejected. Run using the main method from the test runtime classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PreviousStageEventMergeBenchmark {
+
+  private static final String JDBC_URL =
+    "jdbc:h2:mem:previous_stage_event_merge_benchmark;USER=GMS_GLOBAL;MODE=Oracle;DB_CLOSE_DELAY=-1";
+  private static final Instant START_TIME = Instant.EPOCH;
+
+  @Param({"1000", "5000"})
+  private int originCount;
+
+  @Param({"4"})
+  private int originsPerEvent;
+
+  private Connection connection;
+  private EntityManagerFactory entityManagerFactory;
+  private EntityManager entityManager;
+  private EventDatabaseConnector eventDatabaseConnector;
+  private OriginDatabaseConnector originDatabaseConnector;
+  private GaTagDatabaseConnector gaTagDatabaseConnector;
+  private Instant endTime;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection(JDBC_URL);
+    try (var statement = connection.createStatement()) {
+      for (var script : List.of("event_ddl.sql", "origin_ddl.sql", "origerr_ddl.sql", "gatag_ddl.sql")) {
+        statement.execute(String.format("runscript from '%s'", getClass().getClassLoader().getResource(script)));
+      }
+
+      var eventCount = originCount / originsPerEvent;
+      statement.execute("INSERT INTO GMS_GLOBAL.EVENT(EVID, EVNAME, PREFOR, AUTH, COMMID, LDDATE) " +
+        "SELECT X, 'Event' || X, X * " + originsPerEvent + ", 'auth', -1, CURRENT_TIMESTAMP " +
+        "FROM SYSTEM_RANGE(1, " + eventCount + ")");
+      // Origins of an event are spread through the interval, as the origins of neighbouring events interleave
+      statement.execute("INSERT INTO GMS_GLOBAL.ORIGIN(LAT, LON, DEPTH, TIME, ORID, EVID, JDATE, NASS, NDEF, NDP, " +
+        "GRN, SRN, ETYPE, DEPDP, DTYPE, MB, MBID, MS, MSID, ML, MLID, ALGORITHM, AUTH, COMMID, LDDATE) " +
+        "SELECT 1, 1, 2, X, X, MOD(X, " + eventCount + ") + 1, 1970001, 1, 1, 1, 1, 1, 'etype', 4, 'a', 23, " +
+        "3423, 23, 23434, 32, 23434, 'algorithm', 'auth', -1, CURRENT_TIMESTAMP " +
+        "FROM SYSTEM_RANGE(1, " + originCount + ")");
+      statement.execute("INSERT INTO GMS_GLOBAL.ORIGERR(ORID, SXX, SYY, SZZ, STT, SXY, SXZ, SYZ, STX, STY, STZ, " +
+        "SDOBS, SMAJAX, SMINAX, STRIKE, SDEPTH, STIME, CONF, COMMID, LDDATE) " +
+        "SELECT X, 1, 1, 1, 1, 0, 0, 0, 0, 0, 0, 1, 10, 5, 0, 5, 0.5, 0.9, -1, CURRENT_TIMESTAMP " +
+        "FROM SYSTEM_RANGE(1, " + originCount + ")");
+      statement.execute("INSERT INTO GMS_GLOBAL.GA_TAG(OBJTYPE, ID, PROCESS_STATE, LAT, LON, TIME, EVID_REJECT, " +
+        "AUTH, LDDATE) " +
+        "SELECT 'o', X, '" + ANALYST_REJECTED + "', 0, 0, 0.0, X, 'auth', CURRENT_TIMESTAMP " +
+        "FROM SYSTEM_RANGE(1, " + eventCount + ") WHERE MOD(X, 10) = 0");
+    }
+
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_event", Map.ofEntries(
+      Map.entry("hibernate.connection.url", JDBC_URL),
+      Map.entry("hibernate.default_schema", "GMS_GLOBAL")));
+    entityManager = entityManagerFactory.createEntityManager();
+    eventDatabaseConnector = new EventDatabaseConnector(entityManager);
+    originDatabaseConnector = new OriginDatabaseConnector(entityManager);
+    gaTagDatabaseConnector = new GaTagDatabaseConnector(entityManager);
+    endTime = Instant.ofEpochSecond(originCount + 1L);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    entityManager.close();
+    entityManagerFactory.close();
+    try (var statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+    connection.close();
+  }
+
+  @Benchmark
+  public void indexed(Blackhole blackhole) {
+    var previousStageOriginDaos = originDatabaseConnector.findByTime(START_TIME, endTime).stream()
+      .collect(Collectors.toCollection(LinkedHashSet::new));
+
+    var eventIdToOriginDaos = Multimaps.index(previousStageOriginDaos, OriginDao::getEventId);
+    var previousStageEventDaos = eventDatabaseConnector.findEventsByIds(
+      new ArrayList<>(eventIdToOriginDaos.keySet()));
+    var previousStageEvids = previousStageEventDaos.stream()
+      .map(EventDao::getEventId)
+      .distinct()
+      .collect(Collectors.toList());
+    var eventIdToGaTagDaos = Multimaps.index(gaTagDatabaseConnector.findGaTagsByObjectTypesProcessStatesAndEvids(
+        List.of(OBJECT_TYPE_A, OBJECT_TYPE_O), List.of(ANALYST_REJECTED), previousStageEvids),
+      GaTagDao::getRejectedArrivalOriginEvid);
+
+    previousStageEventDaos.forEach(eventDao -> {
+      blackhole.consume(eventDao);
+      blackhole.consume(eventIdToOriginDaos.get(eventDao.getEventId()));
+      blackhole.consume(eventIdToGaTagDaos.get(eventDao.getEventId()));
+    });
+  }
+
+  @Benchmark
+  public void perEventScan(Blackhole blackhole) {
+    var previousStageOriginDaos = originDatabaseConnector.findByTime(START_TIME, endTime).stream()
+      .collect(Collectors.toSet());
+
+    var previousStageEventDaos = previousStageOriginDaos.stream()
+      .map(OriginDao::getEventId)
+      .distinct()
+      .map(eventDatabaseConnector::findEventById)
+      .flatMap(Optional::stream)
+      .collect(Collectors.toSet());
+    var previousStageEvids = previousStageEventDaos.stream().map(EventDao::getEventId).collect(Collectors.toSet());
+    var gaTagDaos = gaTagDatabaseConnector.findGaTagsByObjectTypesProcessStatesAndEvids(
+      List.of(OBJECT_TYPE_A, OBJECT_TYPE_O), List.of(ANALYST_REJECTED), previousStageEvids);
+
+    previousStageEventDaos.forEach(eventDao -> {
+      blackhole.consume(eventDao);
+      blackhole.consume(previousStageOriginDaos.stream()
+        .filter(originDao -> originDao.getEventId() == eventDao.getEventId())
+        .collect(Collectors.toSet()));
+      blackhole.consume(gaTagDaos.stream()
+        .filter(gaTagDao -> gaTagDao.getRejectedArrivalOriginEvid() == eventDao.getEventId())
+        .collect(Collectors.toSet()));
+    });
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(PreviousStageEventMergeBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+}
@@ -9,6 +9,7 @@ import org.junit.jupiter.params.provider.CsvSource;
 
 import javax.persistence.EntityManager;
 import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -64,4 +65,10 @@ class EventControlDatabaseConnectorTest extends DatabaseConnectorTest<EventContr
   void testFindByIdsMissing(long evid, long orid) {
     assertThat(databaseConnector.findByEventIdOriginId(evid, orid)).isEmpty();
   }
-}
\ No newline at end of file
+
+  @Test
+  void testFindByOriginIds() {
+    assertThat(databaseConnector.findByOriginIds(List.of(EXPECTED_EVENT_CONTROL.getOriginId(), 0L)))
+      .containsExactly(EXPECTED_EVENT_CONTROL);
+  }
+}
@@ -44,6 +44,17 @@ class EventDatabaseConnectorTest extends DatabaseConnectorTest<EventDatabaseConn
     assertFalse(databaseConnector.findEventById(99).isPresent());
   }
 
+  @Test
+  void testFindEventsByIds() {
+
+    var queriedEventDaos = databaseConnector.findEventsByIds(List.of(1L, 2L, 99L));
+
+    assertEquals(2, queriedEventDaos.size());
+    queriedEventDaos.forEach(eventDao ->
+      assertEquals(databaseConnector.findEventById(eventDao.getEventId()).orElseThrow(), eventDao));
+    assertTrue(databaseConnector.findEventsByIds(List.of()).isEmpty());
+  }
+
   @Test
   void testFindEventsByTime() {
 
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import javax.persistence.EntityManager;
 import java.time.Instant;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -49,4 +50,11 @@ class NetMagDatabaseConnectorTests extends DatabaseConnectorTest<NetMagDatabaseC
   void testFindByOridMissing() {
     assertThat(databaseConnector.findNetMagByOrid(99999999)).isEmpty();
   }
-}
\ No newline at end of file
+
+  @Test
+  void testFindByOrids() {
+    assertThat(databaseConnector.findNetMagByOrids(List.of((long) ORIGIN_ID, 99999999L)))
+      .containsExactlyInAnyOrderElementsOf(databaseConnector.findNetMagByOrid(ORIGIN_ID));
+    assertThat(databaseConnector.findNetMagByOrids(List.of())).isEmpty();
+  }
+}
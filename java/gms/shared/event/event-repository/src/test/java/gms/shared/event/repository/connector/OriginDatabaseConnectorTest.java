@@ -188,6 +188,16 @@ class OriginDatabaseConnectorTest extends DatabaseConnectorTest<OriginDatabaseCo
       databaseConnector.findByTime(time, time.minus(5, ChronoUnit.HOURS)));
   }
 
+  @Test
+  void testFindByIds() {
+    var originDaos = databaseConnector.findByIds(List.of(42342342341L, 11111L, 99L));
+
+    assertEquals(2, originDaos.size());
+    originDaos.forEach(originDao ->
+      assertEquals(databaseConnector.findById(originDao.getOriginId()).orElseThrow(), originDao));
+    assertTrue(databaseConnector.findByIds(List.of()).isEmpty());
+  }
+
   @Test
   void testFindById() {
     var originDaoOpt = assertDoesNotThrow(() -> databaseConnector.findById(42342342341L));
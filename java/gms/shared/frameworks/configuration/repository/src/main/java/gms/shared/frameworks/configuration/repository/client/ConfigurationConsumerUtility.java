@@ -13,7 +13,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import static java.util.stream.Collectors.toList;
@@ -24,6 +26,10 @@ import javax.persistence.NoResultException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.auto.value.AutoValue;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import gms.shared.frameworks.configuration.Configuration;
 import gms.shared.frameworks.configuration.ConfigurationReference;
 import gms.shared.frameworks.configuration.ConfigurationRepository;
@@ -53,6 +59,11 @@ public class ConfigurationConsumerUtility {
 
   private final Map<String, ConfigurationSelectorCache> configurationCache;
 
+  private final Cache<ResolvedParametersKey, Object> resolvedParametersCache;
+
+  // Counts configuration reloads, so an instance resolved from a replaced Configuration is not cached after the reload
+  private final AtomicLong configurationGeneration = new AtomicLong();
+
   private final Duration selectorCacheExpiration;
   
   private final List<String> configurationNamePrefixes;
@@ -60,7 +71,11 @@ public class ConfigurationConsumerUtility {
   private ConfigurationConsumerUtility(ConfigurationRepository configurationRepository,
     Duration selectorCacheExpiration, RetryConfig retryConfig, List<String> configurationNamePrefixes) {
     this.configurationRepository = configurationRepository;
-    this.configurationCache = new HashMap<>();
+    this.configurationCache = new ConcurrentHashMap<>();
+    this.resolvedParametersCache = CacheBuilder.newBuilder()
+      .expireAfterAccess(selectorCacheExpiration)
+      .recordStats()
+      .build();
     this.selectorCacheExpiration = selectorCacheExpiration;
     this.retryConfig = retryConfig;
     this.configurationNamePrefixes = configurationNamePrefixes;
@@ -228,6 +243,9 @@ public class ConfigurationConsumerUtility {
    * <p>
    * Also loads the global default Configurations using key prefix {@link
    * GlobalConfigurationReferenceResolver#REFERENCED_CONFIGURATION_KEY_PREFIX}
+   * <p>
+   * Clears the parameters class instances already resolved, since they may have been resolved from
+   * replaced Configurations.
    *
    * @param configurations Configurations to add, not null
    */
@@ -280,6 +298,9 @@ public class ConfigurationConsumerUtility {
       .map(config -> GlobalConfigurationReferenceResolver.resolve(this.configurationCache, config))
       .forEach(config -> configurationCache.put(config.getName(),
         ConfigurationSelectorGuavaCache.create(config, selectorCacheExpiration)));
+
+    configurationGeneration.incrementAndGet();
+    resolvedParametersCache.invalidateAll();
   }
 
   /**
@@ -459,6 +480,10 @@ public class ConfigurationConsumerUtility {
    * Uses the provided {@link Selector}s to resolve parameters from the {@link Configuration} with
    * the provided name.  Returns the resolved parameters as an instance of the provided
    * parametersClass
+   * <p>
+   * Instances are cached by configuration name, selectors and parametersClass until they expire
+   * after the selector cache expiration or the Configurations are reloaded, so repeated calls
+   * return the same instance.
    *
    * @param configurationName name of the Configuration to resolve
    * @param selectors {@link Selector}s describing how to resolve the Configuration
@@ -477,19 +502,40 @@ public class ConfigurationConsumerUtility {
     Class<T> parametersClass) {
 
     Objects.requireNonNull(parametersClass, "Cannot resolve Configuration to null parametersClass");
+    Objects.requireNonNull(configurationName,
+      "Cannot resolve Configuration for null configurationName");
+    Objects.requireNonNull(selectors, "Cannot resolve Configuration for null selectors");
+
+    final var key = ResolvedParametersKey.from(configurationName, selectors, parametersClass);
+    final var cachedParameters = resolvedParametersCache.getIfPresent(key);
+    if (cachedParameters != null) {
+      return parametersClass.cast(cachedParameters);
+    }
+
+    final var generation = configurationGeneration.get();
 
     // Resolve and construct parametersClass instance.
     // resolve() call is not inlined in SerializationUtility.fromFieldMap call since both calls
     // produce IllegalArgumentException but only the SerializationUtility's exception is caught and
     // rethrown.
     final Map<String, Object> resolvedFieldMap = resolve(configurationName, selectors);
+    final T parameters;
     try {
-      return FieldMapUtilities.fromFieldMap(resolvedFieldMap, parametersClass);
+      parameters = FieldMapUtilities.fromFieldMap(resolvedFieldMap, parametersClass);
     } catch (IllegalArgumentException e) {
       throw new IllegalArgumentException(
         "Resolved Configuration is not a valid instance of " + parametersClass.getCanonicalName(),
         e);
     }
+
+    if (parameters != null) {
+      resolvedParametersCache.put(key, parameters);
+      // A reload may have raced the resolution, and the instance just cached may be from the Configuration it replaced
+      if (configurationGeneration.get() != generation) {
+        resolvedParametersCache.invalidate(key);
+      }
+    }
+    return parameters;
   }
 
   /**
@@ -510,17 +556,17 @@ public class ConfigurationConsumerUtility {
       "Cannot resolve Configuration for null configurationName");
     Objects.requireNonNull(selectors, "Cannot resolve Configuration for null selectors");
 
-    final RetryPolicy<Object> retryPolicy = new RetryPolicy<>()
-      .withBackoff(retryConfig.getInitialDelay(), retryConfig.getMaxDelay(), retryConfig.getDelayUnits())
-      .withMaxAttempts(retryConfig.getMaxAttempts())
-      .handleResult(List.of())
-      .onFailedAttempt(e -> logger.warn(
-        String.format("No config found for %s during config resolution, trying again as may be in a race with loading",
-          configurationName),
-        e.getLastFailure()));
-
     ConfigurationSelectorCache configuration = configurationCache.get(configurationName);
     if (configuration == null) {
+      final RetryPolicy<Object> retryPolicy = new RetryPolicy<>()
+        .withBackoff(retryConfig.getInitialDelay(), retryConfig.getMaxDelay(), retryConfig.getDelayUnits())
+        .withMaxAttempts(retryConfig.getMaxAttempts())
+        .handleResult(List.of())
+        .onFailedAttempt(e -> logger.warn(
+          String.format("No config found for %s during config resolution, trying again as may be in a race with loading",
+            configurationName),
+          e.getLastFailure()));
+
       Failsafe.with(retryPolicy).get(() -> loadConfigurations(Collections.singletonList(configurationName)));
     }
 
@@ -535,4 +581,35 @@ public class ConfigurationConsumerUtility {
     return selectorCacheExpiration;
   }
 
+  /**
+   * Obtains the hit and miss statistics of the parameters class instances cached by {@link
+   * ConfigurationConsumerUtility#resolve(String, List, Class)}
+   *
+   * @return {@link CacheStats} of the resolved parameters cache, not null
+   */
+  public CacheStats getResolvedParametersCacheStats() {
+    return resolvedParametersCache.stats();
+  }
+
+  /**
+   * Key of a parameters class instance resolved from the {@link Configuration} with a name. The
+   * selectors are kept as a set, the same way {@link ConfigurationSelectorGuavaCache} keys its
+   * field maps.
+   */
+  @AutoValue
+  abstract static class ResolvedParametersKey {
+
+    abstract String getConfigurationName();
+
+    abstract Set<Selector> getSelectors();
+
+    abstract Class<?> getParametersClass();
+
+    static ResolvedParametersKey from(String configurationName, List<Selector> selectors,
+      Class<?> parametersClass) {
+      return new AutoValue_ConfigurationConsumerUtility_ResolvedParametersKey(configurationName,
+        Set.copyOf(selectors), parametersClass);
+    }
+  }
+
 }
@@ -10,6 +10,8 @@ import org.junit.jupiter.api.Assertions;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
@@ -307,6 +309,60 @@ class ConfigurationConsumerUtilityTests {
     );
   }
 
+  @Test
+  void testResolveToObjectFromClassCachesInstance() {
+    final ConfigurationConsumerUtility clientUtility = getClientUtilMockGmsConfig();
+
+    final FooParameters resolvedParams = clientUtility
+      .resolve(configurationKey, List.of(Selector.from("snr", -5.0)), FooParameters.class);
+    final FooParameters cachedParams = clientUtility
+      .resolve(configurationKey, List.of(Selector.from("snr", -5.0)), FooParameters.class);
+
+    assertAll(
+      () -> assertSame(resolvedParams, cachedParams),
+      () -> assertEquals(1, clientUtility.getResolvedParametersCacheStats().missCount()),
+      () -> assertEquals(1, clientUtility.getResolvedParametersCacheStats().hitCount())
+    );
+  }
+
+  @Test
+  void testLoadConfigurationsInvalidatesResolvedObjects() {
+    final ConfigurationConsumerUtility clientUtility = getClientUtilMockGmsConfig();
+
+    final FooParameters resolvedParams = clientUtility
+      .resolve(configurationKey, List.of(Selector.from("snr", -5.0)), FooParameters.class);
+    clientUtility.loadConfigurations(List.of(configurationKey));
+    final FooParameters reloadedParams = clientUtility
+      .resolve(configurationKey, List.of(Selector.from("snr", -5.0)), FooParameters.class);
+
+    assertAll(
+      () -> assertNotSame(resolvedParams, reloadedParams),
+      () -> assertEquals(resolvedParams, reloadedParams),
+      () -> assertEquals(2, clientUtility.getResolvedParametersCacheStats().missCount()),
+      () -> assertEquals(0, clientUtility.getResolvedParametersCacheStats().hitCount())
+    );
+  }
+
+  @Test
+  void testResolveToObjectFromClassDoesNotCacheInstanceResolvedAcrossReload() {
+    mockGmsConfigurationToReturnPresentConfigurationItemNoGlobalDefaults();
+    final ConfigurationConsumerUtility clientUtility = ConfigurationConsumerUtility
+      .builder(configurationRepository)
+      .retryConfiguration(retryConfig)
+      .build();
+    final List<Selector> selectors = List.of(Selector.from("snr", -5.0));
+
+    // The first resolution loads the Configuration, which reloads the utility while it resolves
+    clientUtility.resolve(configurationKey, selectors, FooParameters.class);
+    clientUtility.resolve(configurationKey, selectors, FooParameters.class);
+    clientUtility.resolve(configurationKey, selectors, FooParameters.class);
+
+    assertAll(
+      () -> assertEquals(2, clientUtility.getResolvedParametersCacheStats().missCount()),
+      () -> assertEquals(1, clientUtility.getResolvedParametersCacheStats().hitCount())
+    );
+  }
+
   @Test
   void testParameterClassNotCreatableExpectIllegalArgumentException() {
     TestUtilities.expectExceptionAndMessage(
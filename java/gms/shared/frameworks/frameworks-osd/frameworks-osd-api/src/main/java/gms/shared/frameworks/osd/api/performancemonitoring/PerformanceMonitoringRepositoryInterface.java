@@ -1,9 +1,11 @@
 package gms.shared.frameworks.osd.api.performancemonitoring;
 
 import gms.shared.frameworks.common.ContentType;
+import gms.shared.frameworks.osd.api.util.DecimatedHistoricalStationSohRequest;
 import gms.shared.frameworks.osd.api.util.HistoricalStationSohRequest;
 import gms.shared.frameworks.osd.api.util.StationsTimeRangeRequest;
 import gms.shared.frameworks.osd.coi.soh.StationSoh;
+import gms.shared.frameworks.osd.dto.soh.DecimatedHistoricalStationSoh;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -101,4 +103,23 @@ public interface PerformanceMonitoringRepositoryInterface {
       + "range, and a collection of SohMonitorTypes")
     HistoricalStationSohRequest request);
 
+  /**
+   * Retrieves historical SOH monitor values for the provided Station ID, time range and
+   * SohMonitorType at the coarsest pre-aggregated resolution that still provides the requested
+   * number of samples per channel, or undecimated when no such resolution exists.
+   *
+   * @return A {@link DecimatedHistoricalStationSoh} object that conforms to the provided parameters
+   */
+  @Path("/coi/performance-monitoring/station-soh/query/decimated-historical-by-station-id-time-and-soh-monitor-type")
+  @POST
+  @Consumes(ContentType.JSON_NAME)
+  @Produces(ContentType.JSON_NAME)
+  @Operation(summary = "Retrieves historical SOH monitor values based on a Station ID (i.e. "
+    + "Station name), a time range and a SohMonitorType, pre-aggregated to approximately the "
+    + "requested number of samples per channel.")
+  DecimatedHistoricalStationSoh retrieveDecimatedHistoricalStationSoh(
+    @RequestBody(description = "Request containing the Station ID (i.e. Station name), a time "
+      + "range, a SohMonitorType and the number of samples per channel")
+    DecimatedHistoricalStationSohRequest request);
+
 }
@@ -0,0 +1,95 @@
+package gms.shared.frameworks.osd.api.util;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.auto.value.AutoValue;
+import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
+
+import java.time.Instant;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.apache.commons.lang3.StringUtils.isNotEmpty;
+
+/**
+ * A {@link HistoricalStationSohRequest} along with the number of samples per channel the caller
+ * intends to display, which lets the repository answer from pre-aggregated data when the time
+ * range holds many more samples than that.
+ */
+@AutoValue
+@JsonSerialize(as = DecimatedHistoricalStationSohRequest.class)
+@JsonDeserialize(builder = AutoValue_DecimatedHistoricalStationSohRequest.Builder.class)
+public abstract class DecimatedHistoricalStationSohRequest {
+
+  public abstract String getStationName();
+
+  public abstract Instant getStartTime();
+
+  public abstract Instant getEndTime();
+
+  public abstract SohMonitorType getSohMonitorType();
+
+  public abstract int getSamplesPerChannel();
+
+  public static Builder builder() {
+    return new AutoValue_DecimatedHistoricalStationSohRequest.Builder();
+  }
+
+  public abstract Builder toBuilder();
+
+  public static DecimatedHistoricalStationSohRequest create(
+    String stationName,
+    Instant startTime,
+    Instant endTime,
+    SohMonitorType sohMonitorType,
+    int samplesPerChannel
+  ) {
+    return builder()
+      .setStationName(stationName)
+      .setStartTime(startTime)
+      .setEndTime(endTime)
+      .setSohMonitorType(sohMonitorType)
+      .setSamplesPerChannel(samplesPerChannel)
+      .build();
+  }
+
+  /**
+   * @return the undecimated {@link HistoricalStationSohRequest} for the same station, time range
+   * and monitor type
+   */
+  public HistoricalStationSohRequest toHistoricalStationSohRequest() {
+    return HistoricalStationSohRequest.create(
+      getStationName(),
+      getStartTime(),
+      getEndTime(),
+      getSohMonitorType());
+  }
+
+  @AutoValue.Builder
+  @JsonPOJOBuilder(withPrefix = "set")
+  public abstract static class Builder {
+
+    public abstract Builder setStationName(String stationName);
+
+    public abstract Builder setStartTime(Instant startTime);
+
+    public abstract Builder setEndTime(Instant endTime);
+
+    public abstract Builder setSohMonitorType(SohMonitorType sohMonitorType);
+
+    public abstract Builder setSamplesPerChannel(int samplesPerChannel);
+
+    public abstract DecimatedHistoricalStationSohRequest autoBuild();
+
+    public DecimatedHistoricalStationSohRequest build() {
+      var decimatedHistoricalStationSohRequest = autoBuild();
+
+      checkArgument(isNotEmpty(decimatedHistoricalStationSohRequest.getStationName()),
+        "DecimatedHistoricalStationSohRequest requires non-null, non-empty stationName");
+      checkArgument(decimatedHistoricalStationSohRequest.getSamplesPerChannel() >= 1,
+        "DecimatedHistoricalStationSohRequest requires samplesPerChannel of at least one");
+
+      return decimatedHistoricalStationSohRequest;
+    }
+  }
+}
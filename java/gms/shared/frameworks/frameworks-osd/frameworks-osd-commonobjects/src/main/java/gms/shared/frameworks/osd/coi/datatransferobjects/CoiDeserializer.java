@@ -1,14 +1,14 @@
 package gms.shared.frameworks.osd.coi.datatransferobjects;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.common.serialization.Deserializer;
 
 import java.io.IOException;
 
+/**
+ * Reads COI objects of any {@link CoiEncoding}, telling them apart by their header
+ */
 public class CoiDeserializer<T> implements Deserializer<T> {
 
-  private static final ObjectMapper objectMapper = CoiObjectMapperFactory.getJsonObjectMapper();
-
   private final Class<T> coiClass;
 
   public CoiDeserializer(Class<T> coiClass) {
@@ -18,7 +18,13 @@ public class CoiDeserializer<T> implements Deserializer<T> {
   @Override
   public T deserialize(String topic, byte[] data) {
     try {
-      return objectMapper.readValue(data, coiClass);
+      CoiEncoding encoding = CoiEncoding.of(data);
+      if (!encoding.hasHeader()) {
+        return encoding.getObjectMapper().readValue(data, coiClass);
+      }
+
+      return encoding.getObjectMapper().readValue(data, CoiEncoding.HEADER_LENGTH,
+        data.length - CoiEncoding.HEADER_LENGTH, coiClass);
     } catch (final IOException e) {
       throw new IllegalArgumentException(e);
     }
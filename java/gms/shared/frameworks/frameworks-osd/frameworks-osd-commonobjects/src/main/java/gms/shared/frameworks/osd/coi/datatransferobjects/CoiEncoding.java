@@ -0,0 +1,69 @@
+package gms.shared.frameworks.osd.coi.datatransferobjects;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Encodings {@link CoiSerializer} can write COI objects to Kafka in. Every encoding but JSON starts the record with a
+ * two byte header, {@link #MAGIC} followed by the encoding's version byte, which no JSON document starts with, so
+ * {@link CoiDeserializer} reads records of any encoding and producers can switch encoding once their consumers read
+ * it.
+ */
+public enum CoiEncoding {
+
+  /**
+   * Jackson JSON without a header, as written before encodings were introduced
+   */
+  JSON((byte) 0, CoiObjectMapperFactory.getJsonObjectMapper()),
+
+  /**
+   * MessagePack, version 1. Byte arrays (e.g. raw frame payloads) are written as binary rather than base64 text.
+   */
+  MSGPACK((byte) 1, CoiObjectMapperFactory.getMsgpackObjectMapper());
+
+  /**
+   * First byte of a record with an encoding header. JSON documents start with whitespace or a printable character.
+   */
+  static final byte MAGIC = 0;
+
+  static final int HEADER_LENGTH = 2;
+
+  private final byte version;
+  private final ObjectMapper objectMapper;
+
+  CoiEncoding(byte version, ObjectMapper objectMapper) {
+    this.version = version;
+    this.objectMapper = objectMapper;
+  }
+
+  byte getVersion() {
+    return version;
+  }
+
+  ObjectMapper getObjectMapper() {
+    return objectMapper;
+  }
+
+  boolean hasHeader() {
+    return this != JSON;
+  }
+
+  /**
+   * Finds the encoding of a record
+   *
+   * @param data the record's bytes
+   * @return the encoding named by the record's header, JSON if it has none
+   * @throws IllegalArgumentException if the header names an unknown encoding version
+   */
+  static CoiEncoding of(byte[] data) {
+    if (data == null || data.length < HEADER_LENGTH || data[0] != MAGIC) {
+      return JSON;
+    }
+
+    for (CoiEncoding encoding : values()) {
+      if (encoding.hasHeader() && encoding.version == data[1]) {
+        return encoding;
+      }
+    }
+    throw new IllegalArgumentException("Unknown COI encoding version " + data[1]);
+  }
+}
@@ -1,21 +1,52 @@
 package gms.shared.frameworks.osd.coi.datatransferobjects;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.apache.kafka.common.errors.SerializationException;
 import org.apache.kafka.common.serialization.Serializer;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Objects;
+
 public class CoiSerializer<T> implements Serializer<T> {
 
-  private static final ObjectMapper objectMapper = CoiObjectMapperFactory.getJsonObjectMapper();
+  private final CoiEncoding encoding;
+
+  /**
+   * Creates a serializer writing JSON
+   */
+  public CoiSerializer() {
+    this(CoiEncoding.JSON);
+  }
+
+  /**
+   * Creates a serializer writing the given encoding. Consumers must use a {@link CoiDeserializer} that knows the
+   * encoding before producers switch to it.
+   *
+   * @param encoding the {@link CoiEncoding} to write, not null
+   */
+  public CoiSerializer(CoiEncoding encoding) {
+    this.encoding = Objects.requireNonNull(encoding);
+  }
 
   @Override
   public byte[] serialize(String topic, T data) {
+    if (!encoding.hasHeader()) {
+      try {
+        return encoding.getObjectMapper().writeValueAsBytes(data);
+      } catch (JsonProcessingException e) {
+        throw new SerializationException("Error when serializing object to JSON byte[]", e);
+      }
+    }
+
     try {
-      return objectMapper.writeValueAsBytes(data);
-    } catch (JsonProcessingException e) {
-      throw new SerializationException("Error when serializing object to JSON byte[]", e);
+      var bytes = new ByteArrayOutputStream();
+      bytes.write(CoiEncoding.MAGIC);
+      bytes.write(encoding.getVersion());
+      encoding.getObjectMapper().writeValue(bytes, data);
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      throw new SerializationException("Error when serializing object to " + encoding + " byte[]", e);
     }
   }
 }
-
@@ -0,0 +1,85 @@
+package gms.shared.frameworks.osd.dto.soh;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.google.auto.value.AutoValue;
+import com.google.common.collect.ImmutableMap;
+import org.apache.commons.lang3.Validate;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Represents the results of a historical StationSoh query answered at a reduced resolution. Each
+ * calculation time in the contained {@link HistoricalStationSoh} is the start of a bucket of the
+ * given resolution, and each value is the mean of the channel's values in that bucket, or -1 if
+ * the channel has no value in it.
+ * <p>
+ * A zero resolution means the query was answered from the undecimated values, which are returned
+ * as-is.
+ */
+@AutoValue
+public abstract class DecimatedHistoricalStationSoh {
+
+  public abstract HistoricalStationSoh getHistoricalStationSoh();
+
+  /**
+   * Width of the buckets the values were aggregated into
+   *
+   * @return The bucket width, or {@link Duration#ZERO} for undecimated values
+   */
+  public abstract Duration getResolution();
+
+  /**
+   * Mean of every undecimated value of each channel over the whole time range, in the same units
+   * as the channel's values. Empty for undecimated values, whose mean can be computed directly.
+   *
+   * @return The mean value of each channel, by channel name
+   */
+  public abstract ImmutableMap<String, Double> getAverages();
+
+  /**
+   * Number of undecimated calculation times summarized by the calculation times of the contained
+   * {@link HistoricalStationSoh}
+   *
+   * @return The undecimated calculation time count
+   */
+  public abstract long getSampleCount();
+
+  @JsonCreator
+  public static DecimatedHistoricalStationSoh create(
+    @JsonProperty("historicalStationSoh") HistoricalStationSoh historicalStationSoh,
+    @JsonProperty("resolution") Duration resolution,
+    @JsonProperty("averages") Map<String, Double> averages,
+    @JsonProperty("sampleCount") long sampleCount) {
+
+    Validate.isTrue(!resolution.isNegative(), "resolution must not be negative");
+    Validate.isTrue(sampleCount >= historicalStationSoh.getCalculationTimes().length,
+      "sampleCount must be at least the number of calculation times");
+
+    return new AutoValue_DecimatedHistoricalStationSoh(historicalStationSoh, resolution,
+      ImmutableMap.copyOf(averages), sampleCount);
+  }
+
+  /**
+   * Wraps undecimated historical values
+   *
+   * @param historicalStationSoh the undecimated {@link HistoricalStationSoh}
+   * @return A {@link DecimatedHistoricalStationSoh} with a zero resolution
+   */
+  public static DecimatedHistoricalStationSoh undecimated(
+    HistoricalStationSoh historicalStationSoh) {
+
+    return create(historicalStationSoh, Duration.ZERO, Map.of(),
+      historicalStationSoh.getCalculationTimes().length);
+  }
+
+  /**
+   * @return Whether the values are undecimated
+   */
+  @JsonIgnore
+  public boolean isUndecimated() {
+    return getResolution().isZero();
+  }
+}
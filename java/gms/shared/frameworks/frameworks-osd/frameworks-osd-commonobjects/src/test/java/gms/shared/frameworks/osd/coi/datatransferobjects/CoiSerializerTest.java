@@ -0,0 +1,84 @@
+package gms.shared.frameworks.osd.coi.datatransferobjects;
+
+import gms.shared.frameworks.osd.coi.channel.soh.AcquiredChannelEnvironmentIssue;
+import gms.shared.frameworks.osd.coi.dataacquisitionstatus.DataAcquisitionStatusTestFixtures;
+import gms.shared.frameworks.osd.coi.soh.AcquiredStationSohExtract;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import gms.shared.frameworks.osd.coi.waveforms.WaveformTestFixtures;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoiSerializerTest {
+
+  private static final String TOPIC = "topic";
+
+  private static final AcquiredStationSohExtract EXTRACT = AcquiredStationSohExtract.create(
+    List.of(WaveformTestFixtures.RAW_STATION_DATA_FRAME.getMetadata()),
+    List.of(DataAcquisitionStatusTestFixtures.ACQUIRED_CHANNEL_SOH_ANALOG,
+      DataAcquisitionStatusTestFixtures.ACQUIRED_CHANNEL_SOH_BOOLEAN));
+
+  @ParameterizedTest
+  @EnumSource(CoiEncoding.class)
+  void testRawStationDataFrameRoundTrip(CoiEncoding encoding) {
+    var bytes = new CoiSerializer<RawStationDataFrame>(encoding)
+      .serialize(TOPIC, WaveformTestFixtures.RAW_STATION_DATA_FRAME);
+
+    var actual = new CoiDeserializer<>(RawStationDataFrame.class).deserialize(TOPIC, bytes);
+
+    assertTrue(WaveformTestFixtures.RAW_STATION_DATA_FRAME.hasSameStateAndRawPayload(actual));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CoiEncoding.class)
+  void testExtractRoundTrip(CoiEncoding encoding) {
+    var bytes = new CoiSerializer<AcquiredStationSohExtract>(encoding).serialize(TOPIC, EXTRACT);
+
+    assertEquals(EXTRACT, new CoiDeserializer<>(AcquiredStationSohExtract.class).deserialize(TOPIC, bytes));
+  }
+
+  @ParameterizedTest
+  @EnumSource(CoiEncoding.class)
+  void testAceiRoundTrip(CoiEncoding encoding) {
+    var bytes = new CoiSerializer<AcquiredChannelEnvironmentIssue<?>>(encoding)
+      .serialize(TOPIC, DataAcquisitionStatusTestFixtures.ACQUIRED_CHANNEL_SOH_ANALOG);
+
+    assertEquals(DataAcquisitionStatusTestFixtures.ACQUIRED_CHANNEL_SOH_ANALOG,
+      new CoiDeserializer<>(AcquiredChannelEnvironmentIssue.class).deserialize(TOPIC, bytes));
+  }
+
+  @Test
+  void testDefaultEncodingIsHeaderlessJson() throws Exception {
+    var bytes = new CoiSerializer<AcquiredStationSohExtract>().serialize(TOPIC, EXTRACT);
+
+    // Records written before encodings were introduced must stay readable
+    assertEquals(CoiEncoding.JSON, CoiEncoding.of(bytes));
+    assertEquals(EXTRACT,
+      CoiObjectMapperFactory.getJsonObjectMapper().readValue(bytes, AcquiredStationSohExtract.class));
+  }
+
+  @Test
+  void testMsgpackIsSmallerThanJson() {
+    var jsonBytes = new CoiSerializer<RawStationDataFrame>(CoiEncoding.JSON)
+      .serialize(TOPIC, WaveformTestFixtures.RAW_STATION_DATA_FRAME);
+    var msgpackBytes = new CoiSerializer<RawStationDataFrame>(CoiEncoding.MSGPACK)
+      .serialize(TOPIC, WaveformTestFixtures.RAW_STATION_DATA_FRAME);
+
+    assertEquals(CoiEncoding.MSGPACK, CoiEncoding.of(msgpackBytes));
+    assertTrue(msgpackBytes.length < jsonBytes.length);
+  }
+
+  @Test
+  void testUnknownEncodingVersionThrows() {
+    var deserializer = new CoiDeserializer<>(AcquiredStationSohExtract.class);
+    var bytes = new byte[]{CoiEncoding.MAGIC, Byte.MAX_VALUE, 0};
+
+    assertThrows(IllegalArgumentException.class, () -> deserializer.deserialize(TOPIC, bytes));
+  }
+}
@@ -0,0 +1,95 @@
+package gms.shared.frameworks.osd.coi.datatransferobjects.benchmark;
+
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiDeserializer;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiEncoding;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiSerializer;
+import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
+import gms.shared.frameworks.osd.coi.waveforms.WaveformTestFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time, allocation and record size of writing and reading a {@link RawStationDataFrame} with a raw
+ * payload of a typical CD-1.1 frame's size in each {@link CoiEncoding}.
+ * <p>
+ * Run with the GC profiler (reported as gc.alloc.rate.norm, in bytes per frame) using the main method from the test
+ * runtime classpath. The record size of each encoding is printed before the run.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CoiEncodingBenchmark {
+
+  @Param({"JSON", "MSGPACK"})
+  private CoiEncoding encoding;
+
+  @Param({"16384"})
+  private int payloadBytes;
+
+  private RawStationDataFrame rsdf;
+  private byte[] record;
+  private CoiSerializer<RawStationDataFrame> serializer;
+  private CoiDeserializer<RawStationDataFrame> deserializer;
+
+  private static RawStationDataFrame createRsdf(int payloadBytes) {
+    var payload = new byte[payloadBytes];
+    new Random(13).nextBytes(payload);
+    return WaveformTestFixtures.RAW_STATION_DATA_FRAME.toBuilder()
+      .setRawPayload(Optional.of(payload))
+      .build();
+  }
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    rsdf = createRsdf(payloadBytes);
+
+    serializer = new CoiSerializer<>(encoding);
+    deserializer = new CoiDeserializer<>(RawStationDataFrame.class);
+    record = serializer.serialize("rsdf", rsdf);
+  }
+
+  @Benchmark
+  public byte[] serialize() {
+    return serializer.serialize("rsdf", rsdf);
+  }
+
+  @Benchmark
+  public RawStationDataFrame deserialize() {
+    return deserializer.deserialize("rsdf", record);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    var sizedRsdf = createRsdf(16384);
+    for (CoiEncoding sizedEncoding : CoiEncoding.values()) {
+      System.out.printf("%s record bytes: %d%n", sizedEncoding,
+        new CoiSerializer<RawStationDataFrame>(sizedEncoding).serialize("rsdf", sizedRsdf).length);
+    }
+
+    new Runner(new OptionsBuilder()
+      .include(CoiEncodingBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build())
+      .run();
+  }
+}
@@ -0,0 +1,84 @@
+package gms.shared.frameworks.osd.dao.soh;
+
+import java.time.Instant;
+
+/**
+ * HistoricalSohMonitorValueRollup is a POJO intended to hold the columns of one
+ * channel_soh_monitor_value_rollup bucket returned from the PerformanceMonitoringRepositoryJpa
+ * queryDecimatedHistoricalStationSoh query.
+ */
+public class HistoricalSohMonitorValueRollup {
+
+  private final String channelName;
+
+  private final Instant bucketStart;
+
+  private final int sampleCount;
+
+  private final int valueCount;
+
+  private final double valueSum;
+
+  /**
+   * Constructor for a HistoricalSohMonitorValueRollup object
+   *
+   * @param channelName The channelName
+   * @param bucketStart The start of the bucket
+   * @param sampleCount The number of monitor values in the bucket
+   * @param valueCount The number of non-null monitor values in the bucket
+   * @param valueSum The sum of the non-null monitor values in the bucket
+   */
+  public HistoricalSohMonitorValueRollup(String channelName, Instant bucketStart,
+    int sampleCount, int valueCount, double valueSum) {
+    this.channelName = channelName;
+    this.bucketStart = bucketStart;
+    this.sampleCount = sampleCount;
+    this.valueCount = valueCount;
+    this.valueSum = valueSum;
+  }
+
+  /**
+   * Gets the channel name
+   *
+   * @return the channel name
+   */
+  public String getChannelName() {
+    return channelName;
+  }
+
+  /**
+   * Gets the start of the bucket
+   *
+   * @return the bucket start
+   */
+  public Instant getBucketStart() {
+    return bucketStart;
+  }
+
+  /**
+   * Gets the number of monitor values in the bucket
+   *
+   * @return the sample count
+   */
+  public int getSampleCount() {
+    return sampleCount;
+  }
+
+  /**
+   * Gets the number of non-null monitor values in the bucket
+   *
+   * @return the value count
+   */
+  public int getValueCount() {
+    return valueCount;
+  }
+
+  /**
+   * Gets the sum of the non-null monitor values in the bucket
+   *
+   * @return the value sum
+   */
+  public double getValueSum() {
+    return valueSum;
+  }
+}
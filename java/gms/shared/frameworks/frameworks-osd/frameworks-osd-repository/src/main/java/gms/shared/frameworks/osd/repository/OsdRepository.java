@@ -26,6 +26,7 @@ import gms.shared.frameworks.osd.api.systemmessage.SystemMessageRepositoryInterf
 import gms.shared.frameworks.osd.api.util.ChannelTimeRangeRequest;
 import gms.shared.frameworks.osd.api.util.ChannelTimeRangeSohTypeRequest;
 import gms.shared.frameworks.osd.api.util.ChannelsTimeRangeRequest;
+import gms.shared.frameworks.osd.api.util.DecimatedHistoricalStationSohRequest;
 import gms.shared.frameworks.osd.api.util.HistoricalStationSohRequest;
 import gms.shared.frameworks.osd.api.util.ReferenceChannelRequest;
 import gms.shared.frameworks.osd.api.util.StationTimeRangeRequest;
@@ -55,6 +56,7 @@ import gms.shared.frameworks.osd.coi.stationreference.ReferenceStationMembership
 import gms.shared.frameworks.osd.coi.systemmessages.SystemMessage;
 import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
 import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrameMetadata;
+import gms.shared.frameworks.osd.dto.soh.DecimatedHistoricalStationSoh;
 import gms.shared.frameworks.osd.dto.soh.HistoricalAcquiredChannelEnvironmentalIssues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
 
@@ -241,6 +243,12 @@ public abstract class OsdRepository implements OsdRepositoryInterface {
     return getPerformanceMonitoringRepository().retrieveHistoricalStationSoh(request);
   }
 
+  @Override
+  public DecimatedHistoricalStationSoh retrieveDecimatedHistoricalStationSoh(
+    DecimatedHistoricalStationSohRequest request) {
+    return getPerformanceMonitoringRepository().retrieveDecimatedHistoricalStationSoh(request);
+  }
+
   @Override
   public List<StationGroup> retrieveStationGroups(Collection<String> stationGroupNames) {
     return getStationGroupRepository().retrieveStationGroups(stationGroupNames);
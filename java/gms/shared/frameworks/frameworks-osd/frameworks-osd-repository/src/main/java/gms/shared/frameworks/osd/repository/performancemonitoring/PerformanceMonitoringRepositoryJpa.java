@@ -3,14 +3,18 @@ package gms.shared.frameworks.osd.repository.performancemonitoring;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import gms.shared.frameworks.osd.api.performancemonitoring.PerformanceMonitoringRepositoryInterface;
+import gms.shared.frameworks.osd.api.util.DecimatedHistoricalStationSohRequest;
 import gms.shared.frameworks.osd.api.util.HistoricalStationSohRequest;
 import gms.shared.frameworks.osd.api.util.RepositoryExceptionUtils;
 import gms.shared.frameworks.osd.api.util.StationsTimeRangeRequest;
 import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
+import gms.shared.frameworks.osd.coi.soh.SohStatus;
 import gms.shared.frameworks.osd.coi.soh.StationSoh;
 import gms.shared.frameworks.osd.dao.soh.ChannelSohMonitorValueAndStatusDao;
 import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValue;
+import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValueRollup;
 import gms.shared.frameworks.osd.dao.soh.StationSohDao;
+import gms.shared.frameworks.osd.dto.soh.DecimatedHistoricalStationSoh;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
 import gms.shared.frameworks.osd.repository.performancemonitoring.converter.StationSohDaoConverter;
 import gms.shared.frameworks.osd.repository.performancemonitoring.transform.HistoricalStationSohTransformer;
@@ -27,12 +31,14 @@ import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Root;
 import javax.persistence.criteria.Subquery;
 import java.time.Duration;
+import java.sql.Timestamp;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import static java.util.stream.Collectors.groupingBy;
@@ -54,11 +60,23 @@ public class PerformanceMonitoringRepositoryJpa implements
   public static final String NAME_ATTRIBUTE = "name";
   public static final String CHANNEL_SOH = "channelSoh";
   public static final String CHANNEL_NAME = "channelName";
+  public static final String DURATION = "duration";
+  public static final String PERCENT = "percent";
+  public static final String STATUS = "status";
+
+  private static final String ROLLUP_QUERY = "select channel_name, bucket_start, sample_count, "
+    + "value_count, value_sum from {h-schema}channel_soh_monitor_value_rollup "
+    + "where station_name = :stationName and monitor_type = :monitorType "
+    + "and resolution_seconds = :resolutionSeconds "
+    + "and bucket_start between :bucketStartTime and :endTime "
+    + "order by bucket_start";
 
   private static final Logger logger = LoggerFactory.getLogger(PerformanceMonitoringRepositoryJpa.class);
 
   private final EntityManagerFactory entityManagerFactory;
 
+  private final StationSohBatchWriter stationSohBatchWriter;
+
   private static final CustomMetric<PerformanceMonitoringRepositoryJpa, Long> performanceMonitoringRetrieveStationId =
     CustomMetric.create(CustomMetric::incrementer,
       "performance_monitoring_retrieve_station_id_hits:type=Counter", 0L);
@@ -82,9 +100,28 @@ public class PerformanceMonitoringRepositoryJpa implements
    * @param entityManagerFactory {@link EntityManagerFactory}
    */
   public PerformanceMonitoringRepositoryJpa(EntityManagerFactory entityManagerFactory) {
+    this(entityManagerFactory, Integer.parseInt(Objects.requireNonNull(entityManagerFactory,
+      "Cannot instantiate PerformanceMonitoringRepositoryJpa with null EntityManager")
+      .getProperties()
+      .getOrDefault("hibernate.jdbc.batch_size", "50")
+      .toString()));
+  }
+
+  /**
+   * Constructor taking in the EntityManagerFactory and the JDBC batch size used by {@link
+   * #bulkStoreStationSoh(Collection)}
+   *
+   * @param entityManagerFactory {@link EntityManagerFactory}
+   * @param stationSohBatchSize number of rows sent to the database in each JDBC batch
+   */
+  public PerformanceMonitoringRepositoryJpa(EntityManagerFactory entityManagerFactory,
+    int stationSohBatchSize) {
     Objects.requireNonNull(entityManagerFactory,
       "Cannot instantiate PerformanceMonitoringRepositoryJpa with null EntityManager");
+    Preconditions.checkArgument(stationSohBatchSize > 0,
+      "Cannot instantiate PerformanceMonitoringRepositoryJpa with a non-positive batch size");
     this.entityManagerFactory = entityManagerFactory;
+    this.stationSohBatchWriter = new StationSohBatchWriter(stationSohBatchSize);
   }
 
   /**
@@ -286,6 +323,43 @@ public class PerformanceMonitoringRepositoryJpa implements
     entityManager.getTransaction().commit();
   }
 
+  /**
+   * Store the provided {@link StationSoh}(s) and their channel SOHs, monitor values and aggregates
+   * as ordered JDBC batches in a single transaction. A {@link StationSoh} whose id is already
+   * stored is skipped rather than failing the others.
+   *
+   * @param stationSohs The {@link StationSoh}(s) to store
+   *
+   * @return A list of UUIDs that correspond to the {@link StationSoh}(s) that
+   * were stored by this call
+   */
+  public List<UUID> bulkStoreStationSoh(Collection<StationSoh> stationSohs) {
+    Objects.requireNonNull(stationSohs);
+
+    logger.debug("bulk storing {} StationSoh", stationSohs.size());
+    var start = Instant.now();
+    var entityManager = entityManagerFactory.createEntityManager();
+    try {
+      entityManager.getTransaction().begin();
+      var stored = stationSohBatchWriter.write(stationSohs, entityManager);
+      entityManager.getTransaction().commit();
+      return stored;
+    }
+    catch (Exception e) {
+      if (entityManager.getTransaction().isActive()) {
+        entityManager.getTransaction().rollback();
+      }
+      throw RepositoryExceptionUtils.wrap(e);
+    }
+    finally {
+      entityManager.close();
+
+      var finish = Instant.now();
+      long timeElapsed = Duration.between(start, finish).toMillis();
+      logger.debug("Bulk storing {} stationSoh took {} ms", stationSohs.size(), timeElapsed);
+    }
+  }
+
   private static List<StationSoh> filterStationSohToStore(EntityManager entityManager,
     Collection<StationSoh> stationSohs) {
 
@@ -300,8 +374,8 @@ public class PerformanceMonitoringRepositoryJpa implements
 
     query.select(coiId).where(coiId.in(coidIds));
 
-    var previouslyStored = entityManager.createQuery(query)
-      .getResultList();
+    var previouslyStored = Set.copyOf(entityManager.createQuery(query)
+      .getResultList());
 
     return stationSohs.stream()
       .filter(stationSoh -> !previouslyStored.contains(stationSoh.getId()))
@@ -338,8 +412,35 @@ public class PerformanceMonitoringRepositoryJpa implements
   }
 
   /**
-   * Performs query to DB.  We are using nativeQuery to select only specific columns we need. I
-   * wasn't able to do it with CriteriaQuery or JPQL due to inheritance table on SMVS
+   * Retrieves historical SOH monitor values from the coarsest channel_soh_monitor_value_rollup
+   * resolution with at least samplesPerChannel whole buckets in the requested time range, so long
+   * time ranges are answered with a few rows per channel rather than every stored value. Buckets
+   * overlapping the time range are returned, including the one containing its start. Falls back to the undecimated values of
+   * {@link #retrieveHistoricalStationSoh(HistoricalStationSohRequest)} when even the finest
+   * resolution has too few buckets.
+   *
+   * @return A {@link DecimatedHistoricalStationSoh} object that conforms to the provided parameters
+   */
+  @Override
+  public DecimatedHistoricalStationSoh retrieveDecimatedHistoricalStationSoh(
+    DecimatedHistoricalStationSohRequest request) {
+    Preconditions.checkNotNull(request, "Request cannot be null");
+
+    var resolution = SohMonitorValueRollupResolution.coarsestFor(request.getStartTime(),
+      request.getEndTime(), request.getSamplesPerChannel());
+
+    if (resolution.isEmpty()
+      || !SohMonitorType.validTypes().contains(request.getSohMonitorType())) {
+      return DecimatedHistoricalStationSoh.undecimated(
+        retrieveHistoricalStationSoh(request.toHistoricalStationSohRequest()));
+    }
+
+    return queryDecimatedHistoricalStationSoh(request, resolution.get());
+  }
+
+  /**
+   * Performs query to DB, selecting only the columns of each monitor value that are needed rather
+   * than whole entities
    *
    * @param request contains request with values to pass into query
    * @return HistoricalStationSoh contains processed results of query
@@ -353,9 +454,12 @@ public class PerformanceMonitoringRepositoryJpa implements
       CriteriaQuery<Tuple> historicalSohQuery = builder.createQuery(Tuple.class);
       Root<ChannelSohMonitorValueAndStatusDao> fromCsmvs = historicalSohQuery.from(
         ChannelSohMonitorValueAndStatusDao.class);
-      historicalSohQuery.multiselect(fromCsmvs.alias("channelSohMonitorValueStatus"),
+      historicalSohQuery.multiselect(
           fromCsmvs.get(CHANNEL_NAME).alias(CHANNEL_NAME),
-          fromCsmvs.get(CREATION_TIME_ATTRIBUTE).alias(CREATION_TIME_ATTRIBUTE))
+          fromCsmvs.get(CREATION_TIME_ATTRIBUTE).alias(CREATION_TIME_ATTRIBUTE),
+          fromCsmvs.get(DURATION).alias(DURATION),
+          fromCsmvs.get(PERCENT).alias(PERCENT),
+          fromCsmvs.get(STATUS).alias(STATUS))
         .where(builder.and(
           builder.equal(fromCsmvs.get(STATION_NAME_ATTRIBUTE), request.getStationName()),
           builder.equal(fromCsmvs.get(MONITOR_TYPE), request.getSohMonitorType()),
@@ -367,14 +471,13 @@ public class PerformanceMonitoringRepositoryJpa implements
       var results = entityManager.createQuery(historicalSohQuery)
         .getResultStream()
         .map(tuple -> {
-          var channelSmvs = tuple.get("channelSohMonitorValueStatus", ChannelSohMonitorValueAndStatusDao.class);
-          var historicalSMVS = new HistoricalSohMonitorValue(channelSmvs.getStationName(),
+          var historicalSMVS = new HistoricalSohMonitorValue(request.getStationName(),
             tuple.get(CHANNEL_NAME, String.class),
             tuple.get(CREATION_TIME_ATTRIBUTE, Instant.class),
-            channelSmvs.getMonitorType());
-          historicalSMVS.setDuration(channelSmvs.getDuration());
-          historicalSMVS.setPercent(channelSmvs.getPercent());
-          historicalSMVS.setStatus(channelSmvs.getStatus());
+            request.getSohMonitorType());
+          historicalSMVS.setDuration(tuple.get(DURATION, Integer.class));
+          historicalSMVS.setPercent(tuple.get(PERCENT, Float.class));
+          historicalSMVS.setStatus(tuple.get(STATUS, SohStatus.class));
           return historicalSMVS;
         })
         .collect(toList());
@@ -386,4 +489,46 @@ public class PerformanceMonitoringRepositoryJpa implements
     }
 
   }
+
+  /**
+   * Performs a native query for the rollup buckets of one resolution, which are maintained by a
+   * trigger rather than mapped to an entity
+   *
+   * @param request contains request with values to pass into query
+   * @param resolution the rollup resolution to read
+   * @return DecimatedHistoricalStationSoh contains processed results of query
+   */
+  private DecimatedHistoricalStationSoh queryDecimatedHistoricalStationSoh(
+    DecimatedHistoricalStationSohRequest request,
+    SohMonitorValueRollupResolution resolution) {
+
+    var entityManager = entityManagerFactory.createEntityManager();
+
+    try {
+      @SuppressWarnings("unchecked")
+      Stream<Object[]> rows = entityManager.createNativeQuery(ROLLUP_QUERY)
+        .setParameter("stationName", request.getStationName())
+        .setParameter("monitorType", request.getSohMonitorType().getDbId())
+        .setParameter("resolutionSeconds", resolution.getSeconds())
+        .setParameter("bucketStartTime", Timestamp.from(resolution.bucketStart(request.getStartTime())))
+        .setParameter("endTime", Timestamp.from(request.getEndTime()))
+        .getResultStream();
+
+      var results = rows
+        .map(row -> new HistoricalSohMonitorValueRollup(
+          (String) row[0],
+          ((Timestamp) row[1]).toInstant(),
+          ((Number) row[2]).intValue(),
+          ((Number) row[3]).intValue(),
+          ((Number) row[4]).doubleValue()))
+        .collect(toList());
+
+      return HistoricalStationSohTransformer.createDecimatedHistoricalStationSoh(
+        request.getStationName(), request.getSohMonitorType(), resolution.getDuration(), results);
+    } catch (Exception ex) {
+      throw new IllegalStateException("Error retrieving decimated historical SOH: {}", ex);
+    } finally {
+      entityManager.close();
+    }
+  }
 }
@@ -0,0 +1,67 @@
+package gms.shared.frameworks.osd.repository.performancemonitoring;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Bucket widths of the channel_soh_monitor_value_rollup table, which the
+ * copy_staged_channel_soh_monitor_value_status() trigger maintains as channel SOH monitor values
+ * are stored. These must match the resolutions listed in that trigger.
+ */
+enum SohMonitorValueRollupResolution {
+
+  // Declared coarsest first
+  ONE_HOUR(Duration.ofHours(1)),
+  TEN_MINUTES(Duration.ofMinutes(10)),
+  ONE_MINUTE(Duration.ofMinutes(1));
+
+  private final Duration duration;
+
+  SohMonitorValueRollupResolution(Duration duration) {
+    this.duration = duration;
+  }
+
+  Duration getDuration() {
+    return duration;
+  }
+
+  int getSeconds() {
+    return (int) duration.toSeconds();
+  }
+
+  /**
+   * Finds the start of the bucket containing a time, matching the bucket_start the trigger
+   * computes
+   *
+   * @param time the time to find the bucket of
+   * @return the start of the bucket containing the time
+   */
+  Instant bucketStart(Instant time) {
+    return Instant.ofEpochSecond(Math.floorDiv(time.getEpochSecond(), getSeconds()) * getSeconds());
+  }
+
+  /**
+   * Finds the coarsest resolution that fits at least the given number of whole buckets in the
+   * time range.
+   *
+   * @param startTime start of the time range
+   * @param endTime end of the time range
+   * @param samplesPerChannel number of buckets needed
+   * @return the coarsest resolution with enough buckets, or empty if even the finest resolution
+   * does not have enough
+   */
+  static Optional<SohMonitorValueRollupResolution> coarsestFor(
+    Instant startTime,
+    Instant endTime,
+    int samplesPerChannel
+  ) {
+
+    var range = Duration.between(startTime, endTime);
+
+    return Arrays.stream(values())
+      .filter(resolution -> range.dividedBy(resolution.duration) >= samplesPerChannel)
+      .findFirst();
+  }
+}
@@ -0,0 +1,384 @@
+package gms.shared.frameworks.osd.repository.performancemonitoring;
+
+import com.google.common.collect.Lists;
+import gms.shared.frameworks.osd.coi.soh.StationSoh;
+import gms.shared.frameworks.osd.dao.soh.ChannelSohDao;
+import gms.shared.frameworks.osd.dao.soh.ChannelSohMonitorValueAndStatusDao;
+import gms.shared.frameworks.osd.dao.soh.DurationStationAggregateDao;
+import gms.shared.frameworks.osd.dao.soh.PercentStationAggregateDao;
+import gms.shared.frameworks.osd.dao.soh.StationAggregateDao;
+import gms.shared.frameworks.osd.dao.soh.StationSohDao;
+import gms.shared.frameworks.osd.dao.soh.StationSohMonitorValueAndStatusDao;
+import gms.shared.frameworks.osd.repository.performancemonitoring.converter.StationSohDaoConverter;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+
+import javax.persistence.EntityManager;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.TimeZone;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Writes {@link StationSoh}s and their channel SOHs, monitor values and aggregates as ordered JDBC
+ * batches, on the connection of the {@link EntityManager}'s transaction.
+ * <p>
+ * A StationSoh whose COI id is already stored is skipped along with its children, so a duplicate
+ * does not fail the batch. The StationSohs are written in rounds holding at most one StationSoh
+ * per station, oldest first, and every table of a round is written before the next round starts:
+ * the staged tables keep only the latest StationSoh of each station and delete the children of
+ * the previous one when it is replaced.
+ * <p>
+ * Times are bound as Hibernate binds them, in the persistence unit's
+ * {@code hibernate.jdbc.time_zone}, or the JVM's default time zone when it is not set.
+ */
+class StationSohBatchWriter {
+
+  private final int batchSize;
+
+  StationSohBatchWriter(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Writes the StationSohs that are not already stored
+   *
+   * @param stationSohs the {@link StationSoh}s to write
+   * @param entityManager the entity manager whose transaction the writes join
+   * @return the ids of the StationSohs that were written
+   */
+  List<UUID> write(Collection<StationSoh> stationSohs, EntityManager entityManager) {
+    if (stationSohs.isEmpty()) {
+      return List.of();
+    }
+
+    var session = entityManager.unwrap(Session.class);
+    var factory = session.getSessionFactory().unwrap(SessionFactoryImplementor.class);
+    var stationSohTable = MappedTable.of(factory, StationSohDao.class);
+    var stationSmvsTable = MappedTable.of(factory, StationSohMonitorValueAndStatusDao.class);
+    var aggregateTable = MappedTable.of(factory, StationAggregateDao.class);
+    var channelSohTable = MappedTable.of(factory, ChannelSohDao.class);
+    var channelSmvsTable = MappedTable.of(factory, ChannelSohMonitorValueAndStatusDao.class);
+    var timestamps = new TimestampBinder(factory.getSessionFactoryOptions().getJdbcTimeZone());
+
+    var converter = new StationSohDaoConverter();
+    var rounds = rounds(stationSohs).stream()
+      .map(round -> round.stream()
+        .map(stationSoh -> converter.fromCoi(stationSoh, entityManager))
+        .collect(toList()))
+      .collect(toList());
+
+    return session.doReturningWork(connection -> {
+      var written = new ArrayList<UUID>(stationSohs.size());
+
+      for (List<StationSohDao> round : rounds) {
+        var stored = writeStationSohs(connection, stationSohTable, timestamps, round);
+        stored.forEach(dao -> written.add(dao.getCoiId()));
+
+        writeStationMonitorValues(connection, stationSmvsTable, timestamps, stored);
+        writeStationAggregates(connection, aggregateTable, timestamps, stored);
+        var channelSohs = writeChannelSohs(connection, channelSohTable, timestamps, stored);
+        writeChannelMonitorValues(connection, channelSmvsTable, timestamps, channelSohs);
+      }
+
+      return written;
+    });
+  }
+
+  /**
+   * Drops StationSohs with repeated ids and splits the rest into rounds holding at most one
+   * StationSoh per station. A station's StationSohs are placed in successive rounds by time, and
+   * each round is ordered by station name so concurrent writers take row locks in the same order.
+   *
+   * @param stationSohs the {@link StationSoh}s to split
+   * @return the rounds, in the order they must be written
+   */
+  static List<List<StationSoh>> rounds(Collection<StationSoh> stationSohs) {
+    var byStation = stationSohs.stream()
+      .collect(groupingBy(StationSoh::getId, LinkedHashMap::new, toList()))
+      .values().stream()
+      .map(sohs -> sohs.get(0))
+      .sorted(Comparator.comparing(StationSoh::getStationName).thenComparing(StationSoh::getTime))
+      .collect(groupingBy(StationSoh::getStationName, LinkedHashMap::new, toList()));
+
+    var rounds = new ArrayList<List<StationSoh>>();
+    byStation.values().forEach(sohs -> {
+      for (var i = 0; i < sohs.size(); i++) {
+        if (rounds.size() == i) {
+          rounds.add(new ArrayList<>());
+        }
+        rounds.get(i).add(sohs.get(i));
+      }
+    });
+    return rounds;
+  }
+
+  private List<StationSohDao> writeStationSohs(Connection connection, MappedTable table,
+    TimestampBinder timestamps, List<StationSohDao> daos) throws SQLException {
+
+    var ids = table.allocateIds(connection, daos.size());
+    daos.forEach(dao -> dao.setId((int) ids.nextLong()));
+
+    // Not a VALUES insert, so the driver does not rewrite the batch and reports each row's count.
+    // The conflict target includes the station name, the partition key of station_soh.
+    var counts = executeBatches(connection, "insert into " + table.name
+        + " (id, coi_id, creation_time, station_name, soh_status)"
+        + " select ?, ?, ?, ?, cast(? as public.soh_status_enum)"
+        + " on conflict (station_name, coi_id) do nothing",
+      daos, (statement, dao) -> {
+        statement.setInt(1, dao.getId());
+        statement.setObject(2, dao.getCoiId());
+        timestamps.bind(statement, 3, dao.getCreationTime());
+        statement.setString(4, dao.getStationName());
+        statement.setString(5, dao.getSohStatus().name());
+      });
+
+    var stored = new ArrayList<StationSohDao>(daos.size());
+    for (var i = 0; i < daos.size(); i++) {
+      if (counts[i] != 0) {
+        stored.add(daos.get(i));
+      }
+    }
+    return stored;
+  }
+
+  private void writeStationMonitorValues(Connection connection, MappedTable table,
+    TimestampBinder timestamps, List<StationSohDao> stationSohs) throws SQLException {
+
+    var daos = children(stationSohs, StationSohDao::getSohMonitorValueAndStatuses);
+    var ids = table.allocateIds(connection, daos.size());
+
+    executeBatches(connection, "insert into " + table.name
+        + " (id, duration, percent, station_soh_station_name, station_soh_id, status, monitor_type,"
+        + " creation_time) values (?, ?, ?, ?, ?, ?, ?, ?)",
+      daos, (statement, dao) -> {
+        statement.setInt(1, (int) ids.nextLong());
+        statement.setObject(2, dao.getDuration(), Types.INTEGER);
+        statement.setObject(3, dao.getPercent(), Types.REAL);
+        statement.setString(4, dao.getStationSoh().getStationName());
+        statement.setInt(5, dao.getStationSoh().getId());
+        statement.setShort(6, dao.getStatus().getDbId());
+        statement.setShort(7, dao.getMonitorType().getDbId());
+        timestamps.bind(statement, 8, dao.getCreationTime());
+      });
+  }
+
+  private void writeStationAggregates(Connection connection, MappedTable table,
+    TimestampBinder timestamps, List<StationSohDao> stationSohs) throws SQLException {
+
+    var daos = children(stationSohs, StationSohDao::getAllStationAggregate);
+    var ids = table.allocateIds(connection, daos.size());
+
+    executeBatches(connection, "insert into " + table.name
+        + " (id, station_soh_station_name, station_soh_id, duration, percent, aggregate_type,"
+        + " creation_time, type)"
+        + " values (?, ?, ?, ?, ?, cast(? as public.station_aggregate_type_enum), ?, ?)",
+      daos, (statement, dao) -> {
+        statement.setLong(1, ids.nextLong());
+        statement.setString(2, dao.getStationSoh().getStationName());
+        statement.setInt(3, dao.getStationSoh().getId());
+        if (dao instanceof DurationStationAggregateDao) {
+          // Hibernate maps java.time.Duration to a bigint of nanoseconds
+          var value = ((DurationStationAggregateDao) dao).getValue();
+          statement.setObject(4, value == null ? null : value.toNanos(), Types.BIGINT);
+          statement.setNull(5, Types.DOUBLE);
+          statement.setString(8, "DURATION");
+        } else {
+          statement.setNull(4, Types.BIGINT);
+          statement.setObject(5, ((PercentStationAggregateDao) dao).getValue(), Types.DOUBLE);
+          statement.setString(8, "PERCENT");
+        }
+        statement.setString(6, dao.getAggregateType().name());
+        timestamps.bind(statement, 7, dao.getCreationTime());
+      });
+  }
+
+  private List<ChannelSohDao> writeChannelSohs(Connection connection, MappedTable table,
+    TimestampBinder timestamps, List<StationSohDao> stationSohs) throws SQLException {
+
+    var daos = children(stationSohs, StationSohDao::getChannelSohs);
+    var ids = table.allocateIds(connection, daos.size());
+    daos.forEach(dao -> dao.setId((int) ids.nextLong()));
+
+    executeBatches(connection, "insert into " + table.name
+        + " (id, channel_name, soh_status, station_soh_station_name, station_soh_id, creation_time)"
+        + " values (?, ?, cast(? as public.soh_status_enum), ?, ?, ?)",
+      daos, (statement, dao) -> {
+        statement.setInt(1, dao.getId());
+        statement.setString(2, dao.getChannelName());
+        statement.setString(3, dao.getSohStatus().name());
+        statement.setString(4, dao.getStationSoh().getStationName());
+        statement.setInt(5, dao.getStationSoh().getId());
+        timestamps.bind(statement, 6, dao.getCreationTime());
+      });
+
+    return daos;
+  }
+
+  private void writeChannelMonitorValues(Connection connection, MappedTable table,
+    TimestampBinder timestamps, List<ChannelSohDao> channelSohs) throws SQLException {
+
+    var daos = children(channelSohs, ChannelSohDao::getAllMonitorValueAndStatuses);
+    var ids = table.allocateIds(connection, daos.size());
+
+    executeBatches(connection, "insert into " + table.name
+        + " (id, duration, percent, channel_soh_id, creation_time, channel_name, station_name,"
+        + " status, monitor_type) values (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+      daos, (statement, dao) -> {
+        statement.setInt(1, (int) ids.nextLong());
+        statement.setObject(2, dao.getDuration(), Types.INTEGER);
+        statement.setObject(3, dao.getPercent(), Types.REAL);
+        statement.setInt(4, dao.getChannelSoh().getId());
+        timestamps.bind(statement, 5, dao.getCreationTime());
+        statement.setString(6, dao.getChannelName());
+        statement.setString(7, dao.getStationName());
+        statement.setShort(8, dao.getStatus().getDbId());
+        statement.setShort(9, dao.getMonitorType().getDbId());
+      });
+  }
+
+  private static <P, C> List<C> children(List<P> parents,
+    Function<P, ? extends Collection<C>> getChildren) {
+
+    return parents.stream()
+      .flatMap(parent -> getChildren.apply(parent).stream())
+      .collect(toList());
+  }
+
+  private <T> int[] executeBatches(Connection connection, String sql, List<T> daos,
+    StatementBinder<T> binder) throws SQLException {
+
+    var counts = new int[daos.size()];
+    if (daos.isEmpty()) {
+      return counts;
+    }
+
+    try (var statement = connection.prepareStatement(sql)) {
+      var offset = 0;
+      for (List<T> batch : Lists.partition(daos, batchSize)) {
+        for (T dao : batch) {
+          binder.bind(statement, dao);
+          statement.addBatch();
+        }
+
+        var batchCounts = statement.executeBatch();
+        System.arraycopy(batchCounts, 0, counts, offset, batchCounts.length);
+        offset += batch.size();
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Expands the values returned by a pooled sequence into the ids they reserve: each value v
+   * reserves the increment size ids ending at v, the same block Hibernate's pooled optimizer uses,
+   * so ids never collide with entities persisted through JPA. Ids below one, reserved by the first
+   * value of a new sequence, are not used.
+   *
+   * @param sequenceValues values returned by the sequence
+   * @param incrementSize the increment size of the sequence
+   * @return the reserved ids, in ascending order for ascending values
+   */
+  static LongStream reservedIds(LongStream sequenceValues, int incrementSize) {
+    return sequenceValues.flatMap(value ->
+      LongStream.rangeClosed(Math.max(1, value - incrementSize + 1), value));
+  }
+
+  /**
+   * Table and id sequence an entity is mapped to, as named by the persistence unit's naming
+   * strategy
+   */
+  private static final class MappedTable {
+
+    private final String name;
+    private final String sequence;
+    private final int incrementSize;
+
+    private MappedTable(String name, String sequence, int incrementSize) {
+      this.name = name;
+      this.sequence = sequence;
+      this.incrementSize = incrementSize;
+    }
+
+    private static MappedTable of(SessionFactoryImplementor factory, Class<?> entityClass) {
+      var persister = (AbstractEntityPersister) factory.getMetamodel().entityPersister(entityClass);
+      var structure = ((SequenceStyleGenerator) persister.getIdentifierGenerator())
+        .getDatabaseStructure();
+      return new MappedTable(persister.getTableName(), structure.getName(),
+        structure.getIncrementSize());
+    }
+
+    private PrimitiveIterator.OfLong allocateIds(Connection connection, int count)
+      throws SQLException {
+
+      var ids = LongStream.empty();
+      var allocated = 0L;
+      while (allocated < count) {
+        var values = LongStream.builder();
+        try (var statement = connection.prepareStatement(
+          "select nextval('" + sequence + "') from generate_series(1, ?)")) {
+          statement.setLong(1, Math.floorDiv(count - allocated - 1, incrementSize) + 1);
+          try (var results = statement.executeQuery()) {
+            while (results.next()) {
+              values.add(results.getLong(1));
+            }
+          }
+        }
+
+        var block = reservedIds(values.build(), incrementSize).toArray();
+        allocated += block.length;
+        ids = LongStream.concat(ids, LongStream.of(block));
+      }
+      return ids.iterator();
+    }
+  }
+
+  /**
+   * Binds {@link Instant}s as Hibernate's InstantType does, so rows written here and through JPA
+   * hold the same local time
+   */
+  private static final class TimestampBinder {
+
+    private final TimeZone jdbcTimeZone;
+
+    private TimestampBinder(TimeZone jdbcTimeZone) {
+      this.jdbcTimeZone = jdbcTimeZone;
+    }
+
+    private void bind(PreparedStatement statement, int index, Instant instant)
+      throws SQLException {
+
+      if (instant == null) {
+        statement.setNull(index, Types.TIMESTAMP);
+      } else if (jdbcTimeZone == null) {
+        statement.setTimestamp(index, Timestamp.from(instant));
+      } else {
+        statement.setTimestamp(index, Timestamp.from(instant), Calendar.getInstance(jdbcTimeZone));
+      }
+    }
+  }
+
+  @FunctionalInterface
+  private interface StatementBinder<T> {
+
+    void bind(PreparedStatement statement, T dao) throws SQLException;
+  }
+}
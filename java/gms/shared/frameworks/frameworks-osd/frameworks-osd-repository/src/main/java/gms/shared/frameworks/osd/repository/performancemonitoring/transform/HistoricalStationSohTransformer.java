@@ -5,6 +5,8 @@ import gms.shared.frameworks.osd.coi.soh.PercentSohMonitorValueAndStatus;
 import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
 import gms.shared.frameworks.osd.coi.soh.StationSoh;
 import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValue;
+import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValueRollup;
+import gms.shared.frameworks.osd.dto.soh.DecimatedHistoricalStationSoh;
 import gms.shared.frameworks.osd.dto.soh.DurationSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
@@ -16,6 +18,8 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -112,6 +116,105 @@ public class HistoricalStationSohTransformer {
       monitorValues);
   }
 
+  /**
+   * Converts rollup buckets for one SohMonitorType, ordered by bucket start, into a
+   * DecimatedHistoricalStationSoh whose calculation times are the bucket starts. Each value is the
+   * mean of the channel's values in the bucket, in the same units as createHistoricalStationSoh,
+   * or -1 if the channel has no values in the bucket.
+   *
+   * @param stationName stationName that the data is relevant for
+   * @param sohMonitorType the SohMonitorType the rollups were aggregated for
+   * @param resolution the width of the buckets
+   * @param rollups results of query to be post-processed
+   * @return DecimatedHistoricalStationSoh - result of Query post-processed to correct format
+   */
+  public static DecimatedHistoricalStationSoh createDecimatedHistoricalStationSoh(
+    String stationName,
+    SohMonitorType sohMonitorType,
+    Duration resolution,
+    List<HistoricalSohMonitorValueRollup> rollups) {
+
+    var isDuration = sohMonitorType.getSohValueType() == SohMonitorType.SohValueType.DURATION;
+
+    // Durations are stored in seconds, but returned in milliseconds
+    var scale = isDuration ? 1000.0 : 1.0;
+
+    Map<Long, Integer> timeIndexes = new LinkedHashMap<>();
+    List<Integer> maxSampleCounts = new ArrayList<>();
+    Set<String> channelNames = new LinkedHashSet<>();
+
+    for (HistoricalSohMonitorValueRollup rollup : rollups) {
+      var index = timeIndexes.computeIfAbsent(rollup.getBucketStart().toEpochMilli(), time -> {
+        maxSampleCounts.add(0);
+        return timeIndexes.size();
+      });
+
+      // Every channel counts the same calculation times, but one may have missed some
+      maxSampleCounts.set(index, Math.max(maxSampleCounts.get(index), rollup.getSampleCount()));
+      channelNames.add(rollup.getChannelName());
+    }
+
+    Map<String, double[]> channelSums = new LinkedHashMap<>();
+    Map<String, int[]> channelCounts = new HashMap<>();
+
+    channelNames.forEach(channelName -> {
+      channelSums.put(channelName, new double[timeIndexes.size()]);
+      channelCounts.put(channelName, new int[timeIndexes.size()]);
+    });
+
+    Map<String, Double> averages = new LinkedHashMap<>();
+    Map<String, long[]> averageCounts = new HashMap<>();
+
+    for (HistoricalSohMonitorValueRollup rollup : rollups) {
+      var index = timeIndexes.get(rollup.getBucketStart().toEpochMilli());
+      channelSums.get(rollup.getChannelName())[index] += rollup.getValueSum();
+      channelCounts.get(rollup.getChannelName())[index] += rollup.getValueCount();
+
+      averages.merge(rollup.getChannelName(), rollup.getValueSum(), Double::sum);
+      averageCounts.computeIfAbsent(rollup.getChannelName(), channelName -> new long[1])[0] +=
+        rollup.getValueCount();
+    }
+
+    averages.replaceAll((channelName, sum) -> {
+      var count = averageCounts.get(channelName)[0];
+      return count == 0 ? -1.0 : scale * sum / count;
+    });
+
+    List<HistoricalSohMonitorValues> monitorValues = new ArrayList<>();
+
+    channelSums.forEach((channelName, sums) -> {
+      var counts = channelCounts.get(channelName);
+      SohMonitorValues values;
+
+      if (isDuration) {
+        var durations = new long[sums.length];
+        Arrays.setAll(durations, index -> counts[index] == 0
+          ? -1 : Math.round(scale * sums[index] / counts[index]));
+        values = DurationSohMonitorValues.create(durations);
+      } else {
+        var percents = new double[sums.length];
+        Arrays.setAll(percents, index -> counts[index] == 0
+          ? -1.0 : sums[index] / counts[index]);
+        values = PercentSohMonitorValues.create(percents);
+      }
+
+      monitorValues.add(HistoricalSohMonitorValues.create(channelName,
+        Map.of(sohMonitorType, values)));
+    });
+
+    logger.info("Rollup query returned {} buckets for {} Channels", timeIndexes.size(),
+      channelSums.size());
+
+    return DecimatedHistoricalStationSoh.create(
+      HistoricalStationSoh.create(
+        stationName,
+        timeIndexes.keySet().stream().mapToLong(l -> l).toArray(),
+        monitorValues),
+      resolution,
+      averages,
+      maxSampleCounts.stream().mapToLong(Integer::longValue).sum());
+  }
+
   /**
    * loop through SMVS maps to construct arrays containing values to be used to create
    * HistoricalSohMonitorValues This currently only works with Percent/Duration MonitorTypes
@@ -1,5 +1,6 @@
 package gms.shared.frameworks.osd.repository.performancemonitoring;
 
+import gms.shared.frameworks.osd.api.util.DecimatedHistoricalStationSohRequest;
 import gms.shared.frameworks.osd.api.util.HistoricalStationSohRequest;
 import gms.shared.frameworks.osd.api.util.StationsTimeRangeRequest;
 import gms.shared.frameworks.osd.api.util.TimeRangeRequest;
@@ -31,6 +32,8 @@ import gms.shared.utilities.db.test.utils.TestFixtures;
 import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -293,6 +296,58 @@ class PerformanceMonitoringRepositoryJpaTest extends SohPostgresTest {
     }
   }
 
+  @Test
+  void testDecimatedHistoricalStationSohQuery() {
+    stagedPMR = new PerformanceMonitoringRepositoryJpa(stagedEMF);
+    stagedPMR.storeStationSoh(populateHistoricalStationSohData());
+
+    var startTime = NOW.truncatedTo(ChronoUnit.HOURS);
+    var endTime = startTime.plus(Duration.ofHours(2));
+
+    var queryPMR = new PerformanceMonitoringRepositoryJpa(entityManagerFactory);
+
+    var historicalStationSoh = queryPMR.retrieveHistoricalStationSoh(
+      HistoricalStationSohRequest.create(STATION.getName(), startTime, endTime,
+        SohMonitorType.LAG));
+
+    var decimatedHistoricalStationSoh = queryPMR.retrieveDecimatedHistoricalStationSoh(
+      DecimatedHistoricalStationSohRequest.create(STATION.getName(), startTime, endTime,
+        SohMonitorType.LAG, 2));
+
+    assertEquals(Duration.ofHours(1), decimatedHistoricalStationSoh.getResolution());
+    assertEquals(historicalStationSoh.getCalculationTimes().length,
+      decimatedHistoricalStationSoh.getSampleCount());
+
+    for (long calculationTime : decimatedHistoricalStationSoh.getHistoricalStationSoh()
+      .getCalculationTimes()) {
+      assertEquals(0, calculationTime % Duration.ofHours(1).toMillis());
+    }
+
+    for (HistoricalSohMonitorValues hmv : historicalStationSoh.getMonitorValues()) {
+      var lags = (DurationSohMonitorValues) hmv.getValuesByType().get(SohMonitorType.LAG);
+      assertEquals(
+        Arrays.stream(lags.getValues()).filter(value -> value != -1).average().orElse(-1),
+        decimatedHistoricalStationSoh.getAverages().get(hmv.getChannelName()),
+        1e-6);
+    }
+
+    // The bucket containing the start of the range is returned even though it starts before it
+    var straddlingHistoricalStationSoh = queryPMR.retrieveDecimatedHistoricalStationSoh(
+      DecimatedHistoricalStationSohRequest.create(STATION.getName(), NOW.plusSeconds(1), endTime,
+        SohMonitorType.LAG, 2));
+
+    assertEquals(historicalStationSoh.getCalculationTimes().length,
+      straddlingHistoricalStationSoh.getSampleCount());
+
+    // Too many samples for even the finest resolution returns the undecimated values
+    var undecimatedHistoricalStationSoh = queryPMR.retrieveDecimatedHistoricalStationSoh(
+      DecimatedHistoricalStationSohRequest.create(STATION.getName(), startTime, endTime,
+        SohMonitorType.LAG, 1000));
+
+    assertTrue(undecimatedHistoricalStationSoh.isUndecimated());
+    assertEquals(historicalStationSoh, undecimatedHistoricalStationSoh.getHistoricalStationSoh());
+  }
+
   @Test
   void testStoreStationSohAgain() {
     stagedPMR = new PerformanceMonitoringRepositoryJpa(stagedEMF);
@@ -309,6 +364,67 @@ class PerformanceMonitoringRepositoryJpaTest extends SohPostgresTest {
     assertThat(storedStationSohs).containsExactlyInAnyOrder(otherStationSoh);
   }
 
+  @Test
+  void testBulkStore() {
+    stagedPMR = new PerformanceMonitoringRepositoryJpa(stagedEMF, 3);
+    List<UUID> uuids = stagedPMR.bulkStoreStationSoh(List.of(MARGINAL_STATION_SOH));
+
+    assertEquals(List.of(MARGINAL_STATION_SOH.getId()), uuids);
+
+    EntityManager queryEM = stagedEMF.createEntityManager();
+    try {
+      StationSohDao dao = queryEM.unwrap(Session.class)
+        .bySimpleNaturalId(StationSohDao.class)
+        .load(MARGINAL_STATION_SOH.getId());
+      assertNotNull(dao);
+      assertEquals(MARGINAL_STATION_SOH, new StationSohDaoConverter().toCoi(dao));
+    }
+    finally {
+      queryEM.close();
+    }
+
+    List<StationSoh> storedStationSohs = new PerformanceMonitoringRepositoryJpa(entityManagerFactory)
+      .retrieveByStationId(List.of(MARGINAL_STATION_SOH.getStationName()));
+
+    assertThat(storedStationSohs).containsExactly(MARGINAL_STATION_SOH);
+  }
+
+  @Test
+  void testBulkStoreSkipsStoredStationSoh() {
+    stagedPMR = new PerformanceMonitoringRepositoryJpa(stagedEMF, 3);
+    var otherStationSoh = MARGINAL_STATION_SOH.toBuilder()
+      .setId(UUID.randomUUID()).setTime(MARGINAL_STATION_SOH.getTime().plusSeconds(5)).build();
+
+    stagedPMR.bulkStoreStationSoh(List.of(MARGINAL_STATION_SOH));
+    List<UUID> uuids = assertDoesNotThrow(() -> stagedPMR.bulkStoreStationSoh(
+      List.of(otherStationSoh, MARGINAL_STATION_SOH, BAD_STATION_SOH, otherStationSoh)));
+
+    assertThat(uuids).containsExactlyInAnyOrder(otherStationSoh.getId(), BAD_STATION_SOH.getId());
+
+    List<StationSoh> storedStationSohs = new PerformanceMonitoringRepositoryJpa(entityManagerFactory)
+      .retrieveByStationId(List.of(MARGINAL_STATION_SOH.getStationName()));
+
+    assertThat(storedStationSohs).containsExactlyInAnyOrder(otherStationSoh);
+  }
+
+  @Test
+  void testBulkStoreMatchesStore() throws InterruptedException {
+    var stationSohs = populateHistoricalStationSohData();
+    new PerformanceMonitoringRepositoryJpa(stagedEMF, 4).bulkStoreStationSoh(stationSohs);
+
+    var request = HistoricalStationSohRequest.create(
+      STATION.getName(), NOW,
+      NOW.plusSeconds(20 * NUM_STATIONS_FOR_HISTORICAL_QUERY),
+      SohMonitorType.MISSING);
+    var pmr = new PerformanceMonitoringRepositoryJpa(entityManagerFactory);
+    var bulkStored = pmr.retrieveHistoricalStationSoh(request);
+
+    testCaseTeardown();
+    new PerformanceMonitoringRepositoryJpa(stagedEMF).storeStationSoh(stationSohs);
+
+    assertEquals(pmr.retrieveHistoricalStationSoh(request), bulkStored);
+  }
+
   private Collection<StationSoh> populateHistoricalStationSohData() {
     List<StationSoh> stationSohList = new ArrayList<>();
     StationSoh stationSoh = MARGINAL_STATION_SOH;
@@ -0,0 +1,63 @@
+package gms.shared.frameworks.osd.repository.performancemonitoring;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class SohMonitorValueRollupResolutionTests {
+
+  @ParameterizedTest
+  @MethodSource("coarsestForSource")
+  void testCoarsestFor(Duration range, int samplesPerChannel,
+    Optional<SohMonitorValueRollupResolution> expected) {
+
+    var startTime = Instant.parse("2020-07-14T19:00:00Z");
+
+    assertEquals(expected, SohMonitorValueRollupResolution.coarsestFor(startTime,
+      startTime.plus(range), samplesPerChannel));
+  }
+
+  @ParameterizedTest
+  @MethodSource("bucketStartSource")
+  void testBucketStart(SohMonitorValueRollupResolution resolution, Instant time, Instant expected) {
+    assertEquals(expected, resolution.bucketStart(time));
+  }
+
+  private static Stream<Arguments> bucketStartSource() {
+    return Stream.of(
+      arguments(SohMonitorValueRollupResolution.ONE_HOUR, Instant.parse("2020-07-14T19:59:59.999Z"),
+        Instant.parse("2020-07-14T19:00:00Z")),
+      arguments(SohMonitorValueRollupResolution.TEN_MINUTES, Instant.parse("2020-07-14T19:25:00Z"),
+        Instant.parse("2020-07-14T19:20:00Z")),
+      arguments(SohMonitorValueRollupResolution.ONE_MINUTE, Instant.parse("2020-07-14T19:25:00Z"),
+        Instant.parse("2020-07-14T19:25:00Z")),
+      arguments(SohMonitorValueRollupResolution.ONE_MINUTE, Instant.parse("1969-12-31T23:59:30Z"),
+        Instant.parse("1969-12-31T23:59:00Z"))
+    );
+  }
+
+  private static Stream<Arguments> coarsestForSource() {
+    return Stream.of(
+      // 30 days holds 720 hours
+      arguments(Duration.ofDays(30), 500, Optional.of(SohMonitorValueRollupResolution.ONE_HOUR)),
+      arguments(Duration.ofDays(30), 720, Optional.of(SohMonitorValueRollupResolution.ONE_HOUR)),
+      arguments(Duration.ofDays(30), 721,
+        Optional.of(SohMonitorValueRollupResolution.TEN_MINUTES)),
+      // Partial buckets do not count
+      arguments(Duration.ofMinutes(599), 60, Optional.of(SohMonitorValueRollupResolution.ONE_MINUTE)),
+      arguments(Duration.ofMinutes(600), 60,
+        Optional.of(SohMonitorValueRollupResolution.TEN_MINUTES)),
+      arguments(Duration.ofMinutes(20), 20, Optional.of(SohMonitorValueRollupResolution.ONE_MINUTE)),
+      arguments(Duration.ofMinutes(20), 21, Optional.empty()),
+      arguments(Duration.ofSeconds(200), 1, Optional.of(SohMonitorValueRollupResolution.ONE_MINUTE))
+    );
+  }
+}
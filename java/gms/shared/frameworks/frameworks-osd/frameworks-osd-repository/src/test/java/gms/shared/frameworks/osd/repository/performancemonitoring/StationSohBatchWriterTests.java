@@ -0,0 +1,62 @@
+package gms.shared.frameworks.osd.repository.performancemonitoring;
+
+import gms.shared.frameworks.osd.coi.soh.StationSoh;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static gms.shared.frameworks.osd.coi.SohTestFixtures.BAD_STATION_SOH;
+import static gms.shared.frameworks.osd.coi.SohTestFixtures.MARGINAL_STATION_SOH;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StationSohBatchWriterTests {
+
+  @Test
+  void testRoundsHoldOneStationSohPerStationOldestFirst() {
+    var later = withTime(MARGINAL_STATION_SOH, 10);
+    var latest = withTime(MARGINAL_STATION_SOH, 20);
+    var otherStation = withStationName(BAD_STATION_SOH, "AAA");
+
+    var rounds = StationSohBatchWriter.rounds(
+      List.of(latest, MARGINAL_STATION_SOH, otherStation, later));
+
+    assertEquals(List.of(
+      List.of(otherStation, MARGINAL_STATION_SOH),
+      List.of(later),
+      List.of(latest)), rounds);
+  }
+
+  @Test
+  void testRoundsDropRepeatedIds() {
+    var rounds = StationSohBatchWriter.rounds(
+      List.of(MARGINAL_STATION_SOH, MARGINAL_STATION_SOH, BAD_STATION_SOH));
+
+    assertEquals(List.of(List.of(BAD_STATION_SOH), List.of(MARGINAL_STATION_SOH)), rounds);
+  }
+
+  @Test
+  void testReservedIds() {
+    // A new sequence first returns its start value, which reserves only itself
+    assertArrayEquals(new long[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11},
+      StationSohBatchWriter.reservedIds(LongStream.of(1, 11), 10).toArray());
+    assertArrayEquals(new long[]{12, 13, 14, 15, 21, 22, 23, 24},
+      StationSohBatchWriter.reservedIds(LongStream.of(15, 24), 4).toArray());
+  }
+
+  private static StationSoh withTime(StationSoh stationSoh, long secondsLater) {
+    return stationSoh.toBuilder()
+      .setId(UUID.randomUUID())
+      .setTime(stationSoh.getTime().plusSeconds(secondsLater))
+      .build();
+  }
+
+  private static StationSoh withStationName(StationSoh stationSoh, String stationName) {
+    return stationSoh.toBuilder()
+      .setId(UUID.randomUUID())
+      .setStationName(stationName)
+      .build();
+  }
+}
@@ -0,0 +1,144 @@
+package gms.shared.frameworks.osd.repository.performancemonitoring.benchmark;
+
+import gms.shared.frameworks.osd.coi.soh.StationSoh;
+import gms.shared.frameworks.osd.repository.performancemonitoring.PerformanceMonitoringRepositoryJpa;
+import gms.shared.utilities.db.test.utils.PostgresTest;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static gms.shared.frameworks.osd.coi.SohTestFixtures.MARGINAL_STATION_SOH;
+
+/**
+ * Compares the rows per second written by {@link PerformanceMonitoringRepositoryJpa#storeStationSoh}
+ * and {@link PerformanceMonitoringRepositoryJpa#bulkStoreStationSoh} to the staged SOH tables, the
+ * way the StationSoh Kafka consumer stores them. Each invocation stores one StationSoh for each of
+ * a number of stations, newer than the last.
+ * <p>
+ * Run using the main method from the test runtime classpath, with Docker available and the same
+ * CI_DOCKER_REGISTRY and DOCKER_IMAGE_TAG environment variables as the Postgres component tests.
+ * The rows secondary result is the number of station SOH, channel SOH, monitor value and aggregate
+ * rows stored per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StationSohStorageBenchmark extends PostgresTest {
+
+  @Param({"storeStationSoh", "bulkStoreStationSoh"})
+  private String method;
+
+  @Param({"50"})
+  private int batchSize;
+
+  @Param({"100"})
+  private int stationCount;
+
+  private EntityManagerFactory entityManagerFactory;
+  private PerformanceMonitoringRepositoryJpa repository;
+  private long invocations;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    container.start();
+
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_staged", Map.ofEntries(
+      Map.entry("hibernate.connection.driver_class", "org.postgresql.Driver"),
+      Map.entry("hibernate.connection.url", container.getJdbcUrl() + "&reWriteBatchedInserts=true"),
+      Map.entry("hibernate.connection.username", GMS_DB_USER),
+      Map.entry("hibernate.connection.password", GMS_DB_PASSFAKE),
+      Map.entry("hibernate.default_schema", "gms_soh"),
+      Map.entry("hibernate.dialect", "org.hibernate.dialect.PostgreSQL95Dialect"),
+      Map.entry("hibernate.jdbc.time_zone", "UTC"),
+      Map.entry("hibernate.jdbc.batch_size", String.valueOf(batchSize)),
+      Map.entry("hibernate.order_inserts", "true"),
+      Map.entry("hibernate.order_updates", "true"),
+      Map.entry("hibernate.jdbc.batch_versioned_data", "true"),
+      Map.entry("hibernate.physical_naming_strategy",
+        "gms.shared.frameworks.osd.dao.util.StagedPrefixNamingStrategy")));
+    repository = new PerformanceMonitoringRepositoryJpa(entityManagerFactory, batchSize);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    entityManagerFactory.close();
+    container.stop();
+  }
+
+  @Benchmark
+  public List<UUID> store(RowCounter rowCounter) {
+    invocations++;
+
+    var stationSohs = new ArrayList<StationSoh>(stationCount);
+    for (var i = 0; i < stationCount; i++) {
+      var stationSoh = MARGINAL_STATION_SOH.toBuilder()
+        .setId(UUID.randomUUID())
+        .setStationName("STA" + i)
+        .setTime(MARGINAL_STATION_SOH.getTime().plusSeconds(invocations))
+        .build();
+      stationSohs.add(stationSoh);
+      rowCounter.rows += rows(stationSoh);
+    }
+
+    return "bulkStoreStationSoh".equals(method)
+      ? repository.bulkStoreStationSoh(stationSohs)
+      : repository.storeStationSoh(stationSohs);
+  }
+
+  private static long rows(StationSoh stationSoh) {
+    return 1L
+      + stationSoh.getSohMonitorValueAndStatuses().size()
+      + stationSoh.getAllStationAggregates().size()
+      + stationSoh.getChannelSohs().size()
+      + stationSoh.getChannelSohs().stream()
+      .mapToLong(channelSoh -> channelSoh.getAllSohMonitorValueAndStatuses().size())
+      .sum();
+  }
+
+  /**
+   * Counts the rows stored, reported by JMH as a rate alongside the StationSoh batch rate
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class RowCounter {
+
+    public long rows;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      rows = 0;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(StationSohStorageBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+}
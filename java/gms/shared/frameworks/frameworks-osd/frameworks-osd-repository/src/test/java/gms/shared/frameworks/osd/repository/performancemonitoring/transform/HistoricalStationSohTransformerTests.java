@@ -6,6 +6,7 @@ import gms.shared.frameworks.osd.coi.soh.SohMonitorType;
 import gms.shared.frameworks.osd.coi.soh.SohMonitorType.SohValueType;
 import gms.shared.frameworks.osd.coi.soh.SohStatus;
 import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValue;
+import gms.shared.frameworks.osd.dao.soh.HistoricalSohMonitorValueRollup;
 import gms.shared.frameworks.osd.dto.soh.DurationSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalSohMonitorValues;
 import gms.shared.frameworks.osd.dto.soh.HistoricalStationSoh;
@@ -17,8 +18,11 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -54,6 +58,71 @@ class HistoricalStationSohTransformerTests {
       }));
   }
 
+  @Test
+  void createDecimatedHistoricalStationSohDurationTest() {
+    var minute0 = Instant.parse("2020-07-14T19:00:00Z");
+    var minute1 = minute0.plusSeconds(60);
+
+    // SHZ has values in both buckets, BHZ only has a null duration in the second
+    var decimatedHistoricalStationSoh = HistoricalStationSohTransformer
+      .createDecimatedHistoricalStationSoh("MKAR", SohMonitorType.LAG, Duration.ofMinutes(1),
+        List.of(
+          new HistoricalSohMonitorValueRollup("MKAR.MK08.SHZ", minute0, 3, 3, 6),
+          new HistoricalSohMonitorValueRollup("MKAR.MK08.SHZ", minute1, 3, 2, 9),
+          new HistoricalSohMonitorValueRollup("MKAR.MK08.BHZ", minute1, 2, 0, 0)));
+
+    var historicalStationSoh = decimatedHistoricalStationSoh.getHistoricalStationSoh();
+
+    assertEquals(Duration.ofMinutes(1), decimatedHistoricalStationSoh.getResolution());
+    assertEquals(6, decimatedHistoricalStationSoh.getSampleCount());
+    assertEquals(Map.of("MKAR.MK08.SHZ", 3000.0, "MKAR.MK08.BHZ", -1.0),
+      decimatedHistoricalStationSoh.getAverages());
+
+    assertTrue(Arrays.equals(new long[]{minute0.toEpochMilli(), minute1.toEpochMilli()},
+      historicalStationSoh.getCalculationTimes()));
+
+    var valuesByChannel = new HashMap<String, long[]>();
+    historicalStationSoh.getMonitorValues().forEach(monitorValues -> valuesByChannel.put(
+      monitorValues.getChannelName(),
+      ((DurationSohMonitorValues) monitorValues.getValuesByType().get(SohMonitorType.LAG))
+        .getValues()));
+
+    assertTrue(Arrays.equals(new long[]{2000, 4500}, valuesByChannel.get("MKAR.MK08.SHZ")));
+    assertTrue(Arrays.equals(new long[]{-1, -1}, valuesByChannel.get("MKAR.MK08.BHZ")));
+  }
+
+  @Test
+  void createDecimatedHistoricalStationSohPercentTest() {
+    var hour0 = Instant.parse("2020-07-14T19:00:00Z");
+
+    var decimatedHistoricalStationSoh = HistoricalStationSohTransformer
+      .createDecimatedHistoricalStationSoh("MKAR", SohMonitorType.MISSING, Duration.ofHours(1),
+        List.of(
+          new HistoricalSohMonitorValueRollup("MKAR.MK08.SHZ", hour0, 180, 180, 4500),
+          new HistoricalSohMonitorValueRollup("MKAR.MK08.SHZ", hour0.plusSeconds(3600), 20, 20,
+            1000)));
+
+    assertEquals(200, decimatedHistoricalStationSoh.getSampleCount());
+    assertEquals(5500.0 / 200,
+      decimatedHistoricalStationSoh.getAverages().get("MKAR.MK08.SHZ"));
+
+    var percents = (PercentSohMonitorValues) decimatedHistoricalStationSoh.getHistoricalStationSoh()
+      .getMonitorValues().get(0).getValuesByType().get(SohMonitorType.MISSING);
+
+    assertTrue(Arrays.equals(new double[]{25, 50}, percents.getValues()));
+  }
+
+  @Test
+  void createDecimatedHistoricalStationSohEmptyTest() {
+    var decimatedHistoricalStationSoh = HistoricalStationSohTransformer
+      .createDecimatedHistoricalStationSoh("MKAR", SohMonitorType.MISSING, Duration.ofHours(1),
+        List.of());
+
+    assertEquals(0, decimatedHistoricalStationSoh.getSampleCount());
+    assertEquals(0, decimatedHistoricalStationSoh.getHistoricalStationSoh().getCalculationTimes().length);
+    assertTrue(decimatedHistoricalStationSoh.getHistoricalStationSoh().getMonitorValues().isEmpty());
+  }
+
   @ParameterizedTest
   @MethodSource("getHistoricalSohMonitorValues")
   void createHistoricalStationSohCalculationTimesTest(List<HistoricalSohMonitorValue> historicalSohMonitorValues) {
@@ -21,7 +21,7 @@ public class StationSohStorageConsumer {
     var repository = new PerformanceMonitoringRepositoryJpa(CoiEntityManagerFactory.create("gms_station_soh_consumer", systemConfig));
     var storageConsumer = new ReactiveKafkaStorageConsumer<>(
       ReactorKafkaUtilities.getValues(),
-      repository::storeStationSoh,
+      repository::bulkStoreStationSoh,
       ReactorKafkaUtilities.acknowledgeAll());
 
     var batchRecordFlux = ReactorKafkaUtilities.createBatchRecordFlux(systemConfig, new CoiDeserializer<>(
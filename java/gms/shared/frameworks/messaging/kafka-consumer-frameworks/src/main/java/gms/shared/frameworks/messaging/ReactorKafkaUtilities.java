@@ -8,6 +8,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.scheduler.Schedulers;
 import reactor.kafka.receiver.KafkaReceiver;
 import reactor.kafka.receiver.ReceiverOptions;
+import reactor.kafka.receiver.ReceiverPartition;
 import reactor.kafka.receiver.ReceiverRecord;
 import reactor.util.retry.Retry;
 import reactor.util.retry.RetryBackoffSpec;
@@ -15,6 +16,7 @@ import reactor.util.retry.RetryBackoffSpec;
 import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static java.util.stream.Collectors.toList;
 
@@ -38,10 +40,28 @@ public class ReactorKafkaUtilities {
    */
   public static <T> Flux<List<ReceiverRecord<String, T>>> createBatchRecordFlux(SystemConfig systemConfig,
     Deserializer<T> deserializer) {
+    return createBatchRecordFlux(systemConfig, deserializer, partitions -> {
+    });
+  }
+
+  /**
+   * Uses Reactive Kafka to generate a flux of incoming {@link ReceiverRecord}s, batching them as
+   * {@link #createBatchRecordFlux(SystemConfig, Deserializer)} does, and notifying a listener of each partition
+   * assignment, e.g. so state scoped to the consumed partitions can be rebuilt.
+   *
+   * @param systemConfig System configuration defining how to receive and batch kafka records
+   * @param deserializer Kafka value deserializer to build a flux of the expected record value type
+   * @param onAssign Listener called with the assigned partitions on each assignment, on the kafka polling thread
+   * @param <T> Type of value in the record
+   * @return Flux that batches incoming records
+   */
+  public static <T> Flux<List<ReceiverRecord<String, T>>> createBatchRecordFlux(SystemConfig systemConfig,
+    Deserializer<T> deserializer, Consumer<Collection<ReceiverPartition>> onAssign) {
     String inputTopic = systemConfig.getValue("input-topic");
     var kafkaConfiguration = KafkaConfiguration.create(systemConfig);
     ReceiverOptions<String, T> receiverOptions = kafkaConfiguration.getReceiverOptions(deserializer, inputTopic)
-      .schedulerSupplier(Schedulers::boundedElastic);
+      .schedulerSupplier(Schedulers::boundedElastic)
+      .addAssignListener(onAssign);
 
     return KafkaReceiver.create(receiverOptions).receive()
       .bufferTimeout(kafkaConfiguration.getMaxPollRecords(),
@@ -0,0 +1,88 @@
+package gms.shared.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Long metric that many threads can update without locking. A {@link CustomMetric} update is a read-modify-write of
+ * its value, so concurrent updates of one must be serialized; this metric instead keeps its value in a
+ * {@link LongAdder} (counters) or an {@link AtomicLong} (values), and only reads it when the metric is exported.
+ */
+public final class ConcurrentLongMetric implements CustomMetricMBean<Long, Long> {
+  private static final Logger logger = LoggerFactory.getLogger(ConcurrentLongMetric.class);
+
+  private final LongAdder sum;
+  private final AtomicLong latest;
+
+  private ConcurrentLongMetric(String name, boolean counter) {
+    this.sum = counter ? new LongAdder() : null;
+    this.latest = counter ? null : new AtomicLong();
+
+    try {
+      MetricRegister.register(this, new ObjectName(name));
+    } catch (JMException e) {
+      logger.warn("Metrics {} failed to register. No data will be exported for this metric due to this exception: {}  "
+        , name, e.getMessage());
+    }
+  }
+
+  /**
+   * Create a metric whose value is the sum of its updates
+   *
+   * @param name The string name of the metric, this name must follow the format described here: https://docs.oracle.com/javase/9/docs/api/javax/management/ObjectName.html
+   * @return A new counter metric, starting at zero
+   */
+  public static ConcurrentLongMetric counter(String name) {
+    return new ConcurrentLongMetric(name, true);
+  }
+
+  /**
+   * Create a metric whose value is its latest update
+   *
+   * @param name The string name of the metric, this name must follow the format described here: https://docs.oracle.com/javase/9/docs/api/javax/management/ObjectName.html
+   * @return A new value metric, starting at zero
+   */
+  public static ConcurrentLongMetric value(String name) {
+    return new ConcurrentLongMetric(name, false);
+  }
+
+  @Override
+  public Long getMetricVal() {
+    return sum != null ? sum.sum() : latest.get();
+  }
+
+  /**
+   * Adds current to a counter, or replaces the value of a value metric with current
+   *
+   * @param current The amount to add, or the new value
+   */
+  @Override
+  public void updateMetric(Long current) {
+    update(current);
+  }
+
+  /**
+   * Adds one to a counter
+   */
+  public void increment() {
+    update(1L);
+  }
+
+  /**
+   * Adds amount to a counter, or replaces the value of a value metric with amount
+   *
+   * @param amount The amount to add, or the new value
+   */
+  public void update(long amount) {
+    if (sum != null) {
+      sum.add(amount);
+    } else {
+      latest.set(amount);
+    }
+  }
+}
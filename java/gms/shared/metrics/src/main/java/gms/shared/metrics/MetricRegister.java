@@ -3,6 +3,7 @@ package gms.shared.metrics;
 import javax.management.JMException;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
+import javax.management.StandardMBean;
 import java.lang.management.ManagementFactory;
 
 public class MetricRegister {
@@ -11,4 +12,13 @@ public class MetricRegister {
   public static void register(CustomMetric customMetric, ObjectName name) throws JMException {
     mBeanServer.registerMBean(customMetric, name);
   }
+
+  /**
+   * Registers a metric whose class is not itself named after its {@link CustomMetricMBean} interface, exporting the
+   * same attributes as a {@link CustomMetric}
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  public static void register(CustomMetricMBean metric, ObjectName name) throws JMException {
+    mBeanServer.registerMBean(new StandardMBean(metric, CustomMetricMBean.class), name);
+  }
 }
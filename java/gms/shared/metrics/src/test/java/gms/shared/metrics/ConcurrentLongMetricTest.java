@@ -0,0 +1,113 @@
+package gms.shared.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrentLongMetricTest {
+
+  private static final int THREADS = 8;
+  private static final int UPDATES_PER_THREAD = 10_000;
+
+  @Test
+  void testCounterSumsUpdates() {
+    var metric = ConcurrentLongMetric.counter("concurrent_long_metric_test_counter_sum:type=Counter");
+    assertEquals(0L, metric.getMetricVal());
+
+    metric.increment();
+    metric.update(5);
+    metric.updateMetric(-2L);
+
+    assertEquals(4L, metric.getMetricVal());
+  }
+
+  @Test
+  void testValueKeepsLatestUpdate() {
+    var metric = ConcurrentLongMetric.value("concurrent_long_metric_test_value_latest:type=Value");
+    assertEquals(0L, metric.getMetricVal());
+
+    metric.update(5);
+    metric.updateMetric(3L);
+
+    assertEquals(3L, metric.getMetricVal());
+  }
+
+  @Test
+  void testCounterConcurrentUpdates() throws Exception {
+    var metric = ConcurrentLongMetric.counter("concurrent_long_metric_test_counter_concurrent:type=Counter");
+
+    updateConcurrently(thread -> {
+      for (var i = 0; i < UPDATES_PER_THREAD; i++) {
+        if (i % 2 == 0) {
+          metric.increment();
+        } else {
+          metric.update(2);
+        }
+      }
+    });
+
+    assertEquals(THREADS * (UPDATES_PER_THREAD / 2) * 3L, metric.getMetricVal());
+  }
+
+  @Test
+  void testValueConcurrentUpdates() throws Exception {
+    var metric = ConcurrentLongMetric.value("concurrent_long_metric_test_value_concurrent:type=Value");
+
+    updateConcurrently(thread -> {
+      for (var i = 0; i < UPDATES_PER_THREAD; i++) {
+        metric.update(thread * UPDATES_PER_THREAD + i);
+      }
+    });
+
+    // Threads race on the final update, but the value is always the last update of one of them, never a mix of them
+    var finalUpdates = LongStream.range(0, THREADS)
+      .map(thread -> thread * UPDATES_PER_THREAD + UPDATES_PER_THREAD - 1)
+      .boxed()
+      .collect(Collectors.toList());
+    assertTrue(finalUpdates.contains(metric.getMetricVal()),
+      () -> metric.getMetricVal() + " is not the final update of any thread");
+  }
+
+  @Test
+  void testExportsMetricValue() throws Exception {
+    var name = "concurrent_long_metric_test_export:type=Counter";
+    var metric = ConcurrentLongMetric.counter(name);
+    metric.update(7);
+
+    assertEquals(7L, ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(name), "MetricVal"));
+  }
+
+  private static void updateConcurrently(LongConsumer updates) throws Exception {
+    var executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      var start = new CountDownLatch(1);
+      List<Future<?>> futures = new ArrayList<>();
+      for (var thread = 0; thread < THREADS; thread++) {
+        long threadIndex = thread;
+        futures.add(executor.submit(() -> {
+          start.await();
+          updates.accept(threadIndex);
+          return null;
+        }));
+      }
+      start.countDown();
+      for (var future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
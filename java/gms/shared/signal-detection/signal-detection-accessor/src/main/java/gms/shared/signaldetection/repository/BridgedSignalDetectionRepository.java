@@ -4,8 +4,11 @@ import com.google.common.base.Functions;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import gms.shared.signaldetection.api.SignalDetectionRepositoryInterface;
 import gms.shared.signaldetection.coi.detection.SignalDetection;
 import gms.shared.signaldetection.coi.detection.SignalDetectionHypothesis;
@@ -63,6 +66,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -96,6 +103,13 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
 
   private static final String STAGEID_DOES_NOT_EXIST = "Requested Stage ID {} not in definition. Returning empty signal detections.";
 
+  // Shared by every repository; detections are converted in memory, so the pool is sized to the CPUs
+  private static final ExecutorService assemblyThreads = Executors.newFixedThreadPool(
+    Runtime.getRuntime().availableProcessors(), new ThreadFactoryBuilder()
+      .setNameFormat("signal-detection-assembly-%d")
+      .setDaemon(true)
+      .build());
+
   @Autowired
   public BridgedSignalDetectionRepository(
     SignalDetectionBridgeDatabaseConnectors signalDetectionBridgeDatabaseConnectors,
@@ -365,62 +379,100 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
     SetMultimap<String, String> channelGroupNames = findChannelGroupNamesFromStationsAndTimeRange(stations,
       startTime, endTime);
 
-    return stations.stream()
-      .map(station -> {
-        Map<Long, ArrivalDao> currentStageArrivals =
-          arrivalDatabaseConnector.findArrivals(
-              new ArrayList<>(channelGroupNames.get(station.getName())),
-              excludedArids,
-              startTime,
-              endTime,
-              leadDuration,
-              lagDuration).stream()
-            .collect(Collectors.toMap(ArrivalDao::getId, Functions.identity()));
-
-        var currentArids = new ArrayList<>(currentStageArrivals.keySet());
-
-        // query for previous stage arrivals using current stage and arids
-        Map<Long, ArrivalDao> previousStageArrivals = prevArrivalDatabaseConnectorExists ?
-          findPreviousStageArrivals(stageId, currentArids) : Map.of();
-        var previousArids = previousStageArrivals.keySet();
-
-        // query current stage assocs using current arids
-        SetMultimap<Long, AssocDao> currentStageAssocs = findCurrentStageAssocs(assocDatabaseConnector, currentArids);
-
-        // if previous arids exists and previous stage database connector exists querry for previous assocs
-        SetMultimap<Long, AssocDao> previousStageAssocs = (!previousArids.isEmpty() && prevAssocDatabaseConnectorExists) ?
-          findPreviousStageAssocs(stageId, previousArids) : HashMultimap.create();
-
-        SetMultimap<Long, AmplitudeDao> amplitudeDaos = findCurrentStageAmplitudes(amplitudeDatabaseConnector, currentArids);
-
-        Optional<WorkflowDefinitionId> previousStageOptional = getPreviousStage(stageId);
-
-        return currentStageArrivals.entrySet().stream()
-          .map(entry -> {
-
-            Optional<ArrivalDao> previousArrival = previousStageArrivals.containsKey(entry.getKey()) ?
-              Optional.of(previousStageArrivals.get(entry.getKey())) : Optional.empty();
-
-            var components = SignalDetectionComponents.builder()
-              .setCurrentStage(stageId)
-              .setPreviousStage(previousStageOptional)
-              .setCurrentArrival(entry.getValue())
-              .setPreviousArrival(previousArrival)
-              .setCurrentAssocs(currentStageAssocs.get(entry.getKey()))
-              .setPreviousAssocs(previousStageAssocs.get(entry.getKey()))
-              .setAmplitudeDaos(amplitudeDaos.get(entry.getKey()))
-              .setStation(station)
-              .setMonitoringOrganization(signalDetectionBridgeDefinition.getMonitoringOrganization())
-              .build();
-
-            return signalDetectionConverter.convert(components);
-          })
-          .filter(Optional::isPresent)
-          .map(Optional::get)
-          .collect(Collectors.toList());
-      })
-      .flatMap(List::stream)
+    // query the arrivals of every station's channel groups at once, and group them back by channel group
+    ListMultimap<String, ArrivalDao> arrivalsByChannelGroup = Multimaps.index(
+      arrivalDatabaseConnector.findArrivals(
+        channelGroupNames.values().stream().distinct().collect(Collectors.toList()),
+        excludedArids,
+        startTime,
+        endTime,
+        leadDuration,
+        lagDuration),
+      arrivalDao -> arrivalDao.getArrivalKey().getStationCode());
+
+    Map<Long, ArrivalDao> currentStageArrivals = arrivalsByChannelGroup.values().stream()
+      .collect(Collectors.toMap(ArrivalDao::getId, Functions.identity(), (first, duplicate) -> first));
+    var currentArids = new ArrayList<>(currentStageArrivals.keySet());
+
+    // query for previous stage arrivals using current stage and arids
+    Map<Long, ArrivalDao> previousStageArrivals = prevArrivalDatabaseConnectorExists ?
+      findPreviousStageArrivals(stageId, currentArids) : Map.of();
+    var previousArids = previousStageArrivals.keySet();
+
+    // query current stage assocs using current arids
+    SetMultimap<Long, AssocDao> currentStageAssocs = findCurrentStageAssocs(assocDatabaseConnector, currentArids);
+
+    // if previous arids exists and previous stage database connector exists querry for previous assocs
+    SetMultimap<Long, AssocDao> previousStageAssocs = (!previousArids.isEmpty() && prevAssocDatabaseConnectorExists) ?
+      findPreviousStageAssocs(stageId, previousArids) : HashMultimap.create();
+
+    SetMultimap<Long, AmplitudeDao> amplitudeDaos = findCurrentStageAmplitudes(amplitudeDatabaseConnector, currentArids);
+
+    Optional<WorkflowDefinitionId> previousStageOptional = getPreviousStage(stageId);
+
+    // the rows are only read from here on, so each station's detections are converted concurrently
+    Function<Station, List<SignalDetection>> stationDetections = station ->
+      channelGroupNames.get(station.getName()).stream()
+        .map(arrivalsByChannelGroup::get)
+        .flatMap(List::stream)
+        .map(currentArrival -> {
+          var arid = currentArrival.getId();
+
+          var components = SignalDetectionComponents.builder()
+            .setCurrentStage(stageId)
+            .setPreviousStage(previousStageOptional)
+            .setCurrentArrival(currentArrival)
+            .setPreviousArrival(Optional.ofNullable(previousStageArrivals.get(arid)))
+            .setCurrentAssocs(currentStageAssocs.get(arid))
+            .setPreviousAssocs(previousStageAssocs.get(arid))
+            .setAmplitudeDaos(amplitudeDaos.get(arid))
+            .setStation(station)
+            .setMonitoringOrganization(signalDetectionBridgeDefinition.getMonitoringOrganization())
+            .build();
+
+          return signalDetectionConverter.convert(components);
+        })
+        .filter(Optional::isPresent)
+        .map(Optional::get)
+        .collect(Collectors.toList());
+
+    return assembleByStation(stations, stationDetections);
+  }
+
+  /**
+   * Assembles the detections of each station on the assembly threads, returning them in the order of the stations.
+   * A single station is assembled on the calling thread, as there is nothing to overlap.
+   *
+   * @param stations stations to assemble the detections of
+   * @param stationDetections assembles the detections of a station
+   * @return list of {@link SignalDetection}s
+   */
+  private static List<SignalDetection> assembleByStation(List<Station> stations,
+    Function<Station, List<SignalDetection>> stationDetections) {
+
+    if (stations.size() <= 1) {
+      return stations.stream()
+        .map(stationDetections)
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+    }
+
+    List<CompletableFuture<List<SignalDetection>>> assemblies = stations.stream()
+      .map(station -> CompletableFuture.supplyAsync(() -> stationDetections.apply(station), assemblyThreads))
       .collect(Collectors.toList());
+
+    try {
+      return assemblies.stream()
+        .map(CompletableFuture::join)
+        .flatMap(List::stream)
+        .collect(Collectors.toList());
+    } catch (CompletionException e) {
+      assemblies.forEach(assembly -> assembly.cancel(true));
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
   }
 
   private SetMultimap<String, String> findChannelGroupNamesFromStationsAndTimeRange(List<Station> stations,
@@ -755,7 +807,8 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
     WorkflowDefinitionId stageId,
     WorkflowDefinitionId previousStage) {
 
-    return arrivalDaos.stream()
+    Map<ChannelSegmentDescriptor, Long> descriptorWfids = new HashMap<>();
+    List<SignalDetectionHypothesis> hypotheses = arrivalDaos.stream()
       .map(arrival -> {
 
         long arid = arrival.getId();
@@ -774,7 +827,7 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
             // create the signal detection hypothesis from arrival and wfdisc
             //parent id will be empty for first stage, SDH of previous stage with same arid for subsequent stages
             return createSignalDetectionHypothesis(arrival, wfdisc, arid, stageId, Optional.empty(),
-              amplitudeDaos, parentId);
+              amplitudeDaos, parentId, descriptorWfids);
           }
         }
         return Optional.<SignalDetectionHypothesis>empty();
@@ -782,6 +835,9 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
       .filter(Optional::isPresent)
       .map(Optional::get)
       .collect(Collectors.toList());
+
+    cacheDescriptorWfids(descriptorWfids);
+    return hypotheses;
   }
 
   /**
@@ -816,7 +872,8 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
     Map<AridOridKey, AssocDao> keyAssocDaoMap = previousStageAssocs.stream()
       .collect(Collectors.toMap(AssocDao::getId, Functions.identity()));
 
-    return currentStageAssocs.stream().map(assocDao -> {
+    Map<ChannelSegmentDescriptor, Long> descriptorWfids = new HashMap<>();
+    List<SignalDetectionHypothesis> hypotheses = currentStageAssocs.stream().map(assocDao -> {
 
         var arid = assocDao.getId().getArrivalId();
 
@@ -833,7 +890,7 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
 
           var wfdisc = aridWfdiscDaoMap.get(arid);
           return createSignalDetectionHypothesis(potentialArrival, wfdisc, arid, stageId, Optional.of(assocDao),
-            amplitudeDaos, parentIdAssoc);
+            amplitudeDaos, parentIdAssoc, descriptorWfids);
         }
 
         return Optional.<SignalDetectionHypothesis>empty();
@@ -841,6 +898,20 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
       .filter(Optional::isPresent)
       .map(Optional::get)
       .collect(Collectors.toList());
+
+    cacheDescriptorWfids(descriptorWfids);
+    return hypotheses;
+  }
+
+  /**
+   * Caches the wfdisc ids of the hypotheses' channel segment descriptors in one write, rather than one per hypothesis
+   *
+   * @param descriptorWfids map of {@link ChannelSegmentDescriptor}s to wfdisc ids
+   */
+  private void cacheDescriptorWfids(Map<ChannelSegmentDescriptor, Long> descriptorWfids) {
+    if (!descriptorWfids.isEmpty()) {
+      channelSegmentDescriptorWfidCache.putAll(descriptorWfids);
+    }
   }
 
   Optional<UUID> findAssocParent(long arid,
@@ -885,6 +956,7 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
    * @param assoc AssocDao associated with SDH if it exists
    * @param amplitude AmplitudeDao associated with SDH if it exists
    * @param parentId parent id of arrivals if it exists
+   * @param descriptorWfids collects the wfdisc id of the hypothesis' channel segment descriptor, to be cached
    * @return optional of {@link SignalDetectionHypothesis}
    */
   private Optional<SignalDetectionHypothesis> createSignalDetectionHypothesis(ArrivalDao arrival,
@@ -893,7 +965,8 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
     WorkflowDefinitionId stageId,
     Optional<AssocDao> assoc,
     Collection<AmplitudeDao> amplitude,
-    Optional<UUID> parentId) {
+    Optional<UUID> parentId,
+    Map<ChannelSegmentDescriptor, Long> descriptorWfids) {
 
     // load channel from wfdisc using wfdisc id
     Channel channel = null;
@@ -922,8 +995,8 @@ public class BridgedSignalDetectionRepository implements SignalDetectionReposito
       wfdisc.getEndTime(),
       wfdisc.getTime());
 
-    // cache the wfdisc id using the channel segment descriptor
-    channelSegmentDescriptorWfidCache.put(descriptor, wfdisc.getId());
+    // the wfdisc id is cached using the channel segment descriptor
+    descriptorWfids.put(descriptor, wfdisc.getId());
     String legacyDatabaseAccountId = signalDetectionBridgeDefinition.getDatabaseAccountByStage().get(stageId);
     var converterId = SignalDetectionHypothesisConverterId.from(legacyDatabaseAccountId,
       signalDetectionIdUtility.getOrCreateSignalDetectionIdfromArid(arid),
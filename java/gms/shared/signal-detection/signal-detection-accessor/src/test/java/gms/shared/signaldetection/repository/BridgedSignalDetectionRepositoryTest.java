@@ -14,9 +14,13 @@ import gms.shared.signaldetection.database.connector.ArrivalDatabaseConnector;
 import gms.shared.signaldetection.database.connector.AssocDatabaseConnector;
 import gms.shared.signaldetection.database.connector.SignalDetectionBridgeDatabaseConnectors;
 import gms.shared.signaldetection.database.connector.config.SignalDetectionBridgeDefinition;
+import gms.shared.signaldetection.repository.utils.SignalDetectionComponents;
 import gms.shared.signaldetection.repository.utils.SignalDetectionHypothesisArrivalIdComponents;
 import gms.shared.signaldetection.repository.utils.SignalDetectionHypothesisAssocIdComponents;
 import gms.shared.signaldetection.repository.utils.SignalDetectionIdUtility;
+import gms.shared.stationdefinition.coi.station.Station;
+import gms.shared.stationdefinition.dao.css.SiteDao;
+import gms.shared.stationdefinition.dao.css.StationChannelTimeKey;
 import gms.shared.stationdefinition.dao.css.enums.TagName;
 import gms.shared.stationdefinition.database.connector.SiteDatabaseConnector;
 import gms.shared.stationdefinition.database.connector.WfdiscDatabaseConnector;
@@ -32,14 +36,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static gms.shared.signaldetection.database.connector.SignalDetectionDatabaseConnectorTypes.AMPLITUDE_CONNECTOR_TYPE;
@@ -54,6 +62,7 @@ import static gms.shared.signaldetection.testfixtures.SignalDetectionDaoTestFixt
 import static gms.shared.signaldetection.testfixtures.SignalDetectionDaoTestFixtures.ASSOC_DAO_3;
 import static gms.shared.signaldetection.testfixtures.SignalDetectionDaoTestFixtures.ASSOC_TEST_1;
 import static gms.shared.signaldetection.testfixtures.SignalDetectionDaoTestFixtures.ASSOC_TEST_3;
+import static gms.shared.signaldetection.testfixtures.SignalDetectionDaoTestFixtures.CHAN;
 import static gms.shared.signaldetection.testfixtures.SignalDetectionDaoTestFixtures.WFTAG_1;
 import static gms.shared.signaldetection.testfixtures.SignalDetectionDaoTestFixtures.WFTAG_3;
 import static gms.shared.signaldetection.testfixtures.SignalDetectionTestFixtures.MEASURED_WAVEFORM_LAG_DURATION;
@@ -89,6 +98,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
@@ -425,8 +435,8 @@ class BridgedSignalDetectionRepositoryTest {
       Optional.empty(),
       WFDISC_TEST_DAO_3.getTime(),
       WFDISC_TEST_DAO_3.getEndTime());
-    verify(channelSegmentDescriptorWfidCache, times(2))
-      .put(any(ChannelSegmentDescriptor.class), any(Long.class));
+    // one write for each stage's hypotheses
+    verify(channelSegmentDescriptorWfidCache, times(2)).putAll(argThat(descriptorWfids -> descriptorWfids.size() == 1));
     verify(signalDetectionHypothesisConverter).convert(any(SignalDetectionHypothesisConverterId.class),
       eq(ARRIVAL_3),
       any(),
@@ -687,7 +697,7 @@ class BridgedSignalDetectionRepositoryTest {
 
     when(prevArrivalDatabaseConnector.findArrivalsByArids(List.of(ARRIVAL_1.getId(), ARRIVAL_3.getId())))
       .thenReturn(List.of());
-    when(currArrivalDatabaseConnector.findArrivals(List.of(STATION.getName()), List.of(ARRIVAL_1.getId()),
+    when(currArrivalDatabaseConnector.findArrivals(List.of(CHAN), List.of(ARRIVAL_1.getId()),
       START_TIME, END_TIME, MEASURED_WAVEFORM_LEAD_DURATION, MEASURED_WAVEFORM_LAG_DURATION))
       .thenReturn(List.of(ARRIVAL_1, ARRIVAL_3));
 
@@ -700,7 +710,8 @@ class BridgedSignalDetectionRepositoryTest {
 
     when(signalDetectionConverter.convert(any()))
       .thenReturn(Optional.of(SIGNAL_DETECTION_3));
-    when(siteDatabaseConnector.findSitesByReferenceStationAndTimeRange(any(), any(), any())).thenReturn(List.of(getSiteForStation()));
+    when(siteDatabaseConnector.findSitesByReferenceStationAndTimeRange(any(), any(), any()))
+      .thenReturn(List.of(getSiteForSiteCode(CHAN)));
 
     setupMocks.accept(signalDetectionIdUtility);
     List<SignalDetection> signalDetections = repository.findByStationsAndTime(List.of(STATION),
@@ -710,6 +721,71 @@ class BridgedSignalDetectionRepositoryTest {
     verifyMocks.accept(signalDetectionIdUtility);
   }
 
+  @Test
+  void testFindByStationsAndTime_multipleStations() {
+    var secondStation = Station.createEntityReference("STA2");
+    var secondStationArrival = new ArrivalDao(ARRIVAL_1);
+    var secondStationArrivalKey = new StationChannelTimeKey();
+    secondStationArrivalKey.setStationCode("SITE2");
+    secondStationArrivalKey.setChannelCode(ARRIVAL_1.getArrivalKey().getChannelCode());
+    secondStationArrivalKey.setTime(ARRIVAL_1.getArrivalKey().getTime());
+    secondStationArrival.setArrivalKey(secondStationArrivalKey);
+    secondStationArrival.setId(77);
+
+    doReturn(amplitudeDatabaseConnector)
+      .when(signalDetectionBridgeDatabaseConnectors).getConnectorForCurrentStageOrThrow(WORKFLOW_DEFINITION_ID2_NAME,
+        AMPLITUDE_CONNECTOR_TYPE);
+    doReturn(currAssocDatabaseConnector)
+      .when(signalDetectionBridgeDatabaseConnectors).getConnectorForCurrentStageOrThrow(WORKFLOW_DEFINITION_ID2_NAME,
+        ASSOC_CONNECTOR_TYPE);
+    doReturn(currArrivalDatabaseConnector)
+      .when(signalDetectionBridgeDatabaseConnectors).getConnectorForCurrentStageOrThrow(WORKFLOW_DEFINITION_ID2_NAME,
+        ARRIVAL_CONNECTOR_TYPE);
+
+    when(signalDetectionBridgeDefinition.getOrderedStages())
+      .thenReturn(ImmutableList.of(WORKFLOW_DEFINITION_ID1, WORKFLOW_DEFINITION_ID2));
+    when(signalDetectionBridgeDefinition.getMonitoringOrganization())
+      .thenReturn(MONITORING_ORG);
+    when(signalDetectionBridgeDefinition.getMeasuredWaveformLeadDuration())
+      .thenReturn(MEASURED_WAVEFORM_LEAD_DURATION);
+    when(signalDetectionBridgeDefinition.getMeasuredWaveformLagDuration())
+      .thenReturn(MEASURED_WAVEFORM_LAG_DURATION);
+
+    var secondSite = getSiteForSiteCode("SITE2");
+    secondSite.setReferenceStation(secondStation.getName());
+    when(siteDatabaseConnector.findSitesByReferenceStationAndTimeRange(any(), any(), any()))
+      .thenReturn(List.of(getSiteForSiteCode(CHAN), secondSite));
+    when(currArrivalDatabaseConnector.findArrivals(argThat(siteCodes -> Set.copyOf(siteCodes).equals(Set.of(CHAN, "SITE2"))),
+      eq(List.of()), eq(START_TIME), eq(END_TIME), eq(MEASURED_WAVEFORM_LEAD_DURATION), eq(MEASURED_WAVEFORM_LAG_DURATION)))
+      .thenReturn(List.of(ARRIVAL_1, secondStationArrival, ARRIVAL_3));
+    when(signalDetectionConverter.convert(any()))
+      .thenReturn(Optional.of(SIGNAL_DETECTION_3));
+
+    var signalDetections = repository.findByStationsAndTime(List.of(STATION, secondStation),
+      START_TIME, END_TIME, WORKFLOW_DEFINITION_ID2, List.of());
+    assertEquals(3, signalDetections.size());
+
+    // one query per table for every station, with each arrival converted for the station of its site
+    verify(currArrivalDatabaseConnector).findArrivals(anyCollection(), any(), any(), any(), any(), any());
+    verify(currAssocDatabaseConnector).findAssocsByArids(anyCollection());
+    verify(amplitudeDatabaseConnector).findAmplitudesByArids(anyCollection());
+    var componentsCaptor = ArgumentCaptor.forClass(SignalDetectionComponents.class);
+    verify(signalDetectionConverter, times(3)).convert(componentsCaptor.capture());
+    assertEquals(Map.of(ARRIVAL_1.getId(), STATION, ARRIVAL_3.getId(), STATION, 77L, secondStation),
+      componentsCaptor.getAllValues().stream()
+        .collect(Collectors.toMap(components -> components.getCurrentArrival().getId(),
+          SignalDetectionComponents::getStation)));
+  }
+
+  /**
+   * Creates a site of STATION for the arrivals of the given site code
+   */
+  private static SiteDao getSiteForSiteCode(String siteCode) {
+    var siteDao = getSiteForStation();
+    siteDao.getId().setStationCode(siteCode);
+    return siteDao;
+  }
+
   /**
    * Initialize current stage db connectors for arrival and assoc
    */
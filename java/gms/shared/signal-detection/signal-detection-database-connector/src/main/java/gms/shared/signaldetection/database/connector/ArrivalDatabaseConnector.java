@@ -78,22 +78,21 @@ public class ArrivalDatabaseConnector extends DatabaseConnector {
       logger.debug("Request for Arrivals by arids was given an empty list of keys");
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager ->
-        runPartitionedQuery(arids, 250, partitionedArids -> {
-
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<ArrivalDao> arrivalQuery = cb.createQuery(ArrivalDao.class);
-          Root<ArrivalDao> fromArrival = arrivalQuery.from(ArrivalDao.class);
-
-          arrivalQuery.select(fromArrival);
-          arrivalQuery.where(fromArrival.get(ID).in(partitionedArids));
-
-          return entityManager
-            .createQuery(arrivalQuery)
-            .getResultList().stream()
-            .distinct()
-            .collect(Collectors.toList());
-        }));
+      return runPartitionedQuery(arids, 250, (entityManager, partitionedArids) -> {
+
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ArrivalDao> arrivalQuery = cb.createQuery(ArrivalDao.class);
+        Root<ArrivalDao> fromArrival = arrivalQuery.from(ArrivalDao.class);
+
+        arrivalQuery.select(fromArrival);
+        arrivalQuery.where(fromArrival.get(ID).in(partitionedArids));
+
+        return entityManager
+          .createQuery(arrivalQuery)
+          .getResultList().stream()
+          .distinct()
+          .collect(Collectors.toList());
+      });
     }
   }
 
@@ -125,38 +124,37 @@ public class ArrivalDatabaseConnector extends DatabaseConnector {
       return new ArrayList<>();
     } else {
 
-      return runWithEntityManager(entityManager ->
-        runPartitionedQuery(stationNames, 250, partitionedStations -> {
-
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<ArrivalDao> query = cb.createQuery(ArrivalDao.class);
-          Root<ArrivalDao> fromArrival = query.from(ArrivalDao.class);
-
-          final Path<Object> idPath = fromArrival.get(ARRIVAL_KEY);
-
-          // set the delta bounds for start and end times
-          Instant startTimeLower = startTime.minus(leadDelta);
-          Instant endTimeUpper = endTime.plus(lagDelta);
-
-          Predicate excludeAridsPred = cb.and(excludedArids.stream()
-            .map(arid ->
-              cb.notEqual(fromArrival.get(ID), arid)
-            )
-            .toArray(Predicate[]::new));
-
-          // build the entire station name, excluded arids and time range query
-          query.select(fromArrival);
-          query.distinct(true);
-          query.where(
-            cb.and(
-              idPath.get(STATION_CODE).in(partitionedStations),
-              excludeAridsPred,
-              cb.greaterThanOrEqualTo(idPath.get(TIME), startTimeLower),
-              cb.lessThanOrEqualTo(idPath.get(TIME), endTimeUpper)
-            ));
-
-          return entityManager.createQuery(query).getResultList();
-        }));
+      return runPartitionedQuery(stationNames, 250, (entityManager, partitionedStations) -> {
+
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ArrivalDao> query = cb.createQuery(ArrivalDao.class);
+        Root<ArrivalDao> fromArrival = query.from(ArrivalDao.class);
+
+        final Path<Object> idPath = fromArrival.get(ARRIVAL_KEY);
+
+        // set the delta bounds for start and end times
+        Instant startTimeLower = startTime.minus(leadDelta);
+        Instant endTimeUpper = endTime.plus(lagDelta);
+
+        Predicate excludeAridsPred = cb.and(excludedArids.stream()
+          .map(arid ->
+            cb.notEqual(fromArrival.get(ID), arid)
+          )
+          .toArray(Predicate[]::new));
+
+        // build the entire station name, excluded arids and time range query
+        query.select(fromArrival);
+        query.distinct(true);
+        query.where(
+          cb.and(
+            idPath.get(STATION_CODE).in(partitionedStations),
+            excludeAridsPred,
+            cb.greaterThanOrEqualTo(idPath.get(TIME), startTimeLower),
+            cb.lessThanOrEqualTo(idPath.get(TIME), endTimeUpper)
+          ));
+
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
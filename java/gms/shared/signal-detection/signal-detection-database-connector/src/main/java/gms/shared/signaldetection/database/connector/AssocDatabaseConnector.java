@@ -29,17 +29,16 @@ public class AssocDatabaseConnector extends DatabaseConnector {
     if (arids.isEmpty()) {
       return List.of();
     } else {
-      return runPartitionedQuery(arids, 1000, partitionedArids ->
-        runWithEntityManager(entityManager -> {
-          var criteriaBuilder = entityManager.getCriteriaBuilder();
-          var query = criteriaBuilder.createQuery(AssocDao.class);
-          var fromAssoc = query.from(AssocDao.class);
-          var idPath = fromAssoc.get(ID);
-          query.select(fromAssoc)
-            .where(idPath.get(ARRIVAL_ID).in(partitionedArids));
+      return runPartitionedQuery(arids, 1000, (entityManager, partitionedArids) -> {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(AssocDao.class);
+        var fromAssoc = query.from(AssocDao.class);
+        var idPath = fromAssoc.get(ID);
+        query.select(fromAssoc)
+          .where(idPath.get(ARRIVAL_ID).in(partitionedArids));
 
-          return entityManager.createQuery(query).getResultList();
-        }));
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -55,17 +54,16 @@ public class AssocDatabaseConnector extends DatabaseConnector {
     if (orids.isEmpty()) {
       return List.of();
     } else {
-      return runPartitionedQuery(orids, 1000, partitionedOrids ->
-        runWithEntityManager(entityManager -> {
-          var criteriaBuilder = entityManager.getCriteriaBuilder();
-          var query = criteriaBuilder.createQuery(AssocDao.class);
-          var fromAssoc = query.from(AssocDao.class);
-          var idPath = fromAssoc.get(ID);
-          query.select(fromAssoc)
-            .where(idPath.get(ORIGIN_ID).in(partitionedOrids));
+      return runPartitionedQuery(orids, 1000, (entityManager, partitionedOrids) -> {
+        var criteriaBuilder = entityManager.getCriteriaBuilder();
+        var query = criteriaBuilder.createQuery(AssocDao.class);
+        var fromAssoc = query.from(AssocDao.class);
+        var idPath = fromAssoc.get(ID);
+        query.select(fromAssoc)
+          .where(idPath.get(ORIGIN_ID).in(partitionedOrids));
 
-          return entityManager.createQuery(query).getResultList();
-        }));
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -82,25 +80,24 @@ public class AssocDatabaseConnector extends DatabaseConnector {
     if (aridOridList.isEmpty()) {
       return List.of();
     } else {
-      return runPartitionedQuery(aridOridList, 1000, partitionedAridsOrids ->
-        runWithEntityManager(entityManager -> {
-          var cb = entityManager.getCriteriaBuilder();
-          var query = cb.createQuery(AssocDao.class);
-          var fromAssoc = query.from(AssocDao.class);
-          var idPath = fromAssoc.get(ID);
+      return runPartitionedQuery(aridOridList, 1000, (entityManager, partitionedAridsOrids) -> {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(AssocDao.class);
+        var fromAssoc = query.from(AssocDao.class);
+        var idPath = fromAssoc.get(ID);
 
-          // stream through the list of arid/orid pairs and create predicate for primary keys
-          query.select(fromAssoc)
-            .where(
-              cb.or(partitionedAridsOrids.stream()
-                .map(aridOridPair -> cb.and(
-                  cb.equal(idPath.get(ARRIVAL_ID), aridOridPair.getLeft()),
-                  cb.equal(idPath.get(ORIGIN_ID), aridOridPair.getRight())
-                ))
-                .toArray(Predicate[]::new)));
+        // stream through the list of arid/orid pairs and create predicate for primary keys
+        query.select(fromAssoc)
+          .where(
+            cb.or(partitionedAridsOrids.stream()
+              .map(aridOridPair -> cb.and(
+                cb.equal(idPath.get(ARRIVAL_ID), aridOridPair.getLeft()),
+                cb.equal(idPath.get(ORIGIN_ID), aridOridPair.getRight())
+              ))
+              .toArray(Predicate[]::new)));
 
-          return entityManager.createQuery(query).getResultList();
-        }));
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 }
@@ -0,0 +1,107 @@
+package gms.shared.signaldetection.database.connector.benchmark;
+
+import gms.shared.signaldetection.dao.css.ArrivalDao;
+import gms.shared.signaldetection.database.connector.ArrivalDatabaseConnector;
+import gms.shared.utilities.bridge.database.connector.PartitionedQueryExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Compares the time {@link ArrivalDatabaseConnector#findArrivalsByArids} takes to load arrivals from an H2 database in
+ * Oracle mode with its partitions queried one after another and concurrently.
+ * <p>
+ * Run using the main method from the test runtime classpath. The database is created and loaded once per trial,
+ * rather than by the connection URL, so every pooled connection sees the same rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PartitionedArrivalQueryBenchmark {
+
+  private static final String JDBC_URL =
+    "jdbc:h2:mem:partitioned_arrival_query_benchmark;USER=GMS_GLOBAL;MODE=Oracle;DB_CLOSE_DELAY=-1";
+
+  @Param({"1", "4"})
+  private int parallelism;
+
+  @Param({"20000"})
+  private int arrivalCount;
+
+  private Connection connection;
+  private EntityManagerFactory entityManagerFactory;
+  private ArrivalDatabaseConnector arrivalDatabaseConnector;
+  private List<Long> arids;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection(JDBC_URL);
+    try (var statement = connection.createStatement()) {
+      statement.execute(String.format("runscript from '%s'",
+        getClass().getClassLoader().getResource("signaldetection/signaldetection_gms_ddl.sql")));
+      statement.execute("INSERT INTO GMS_GLOBAL.ARRIVAL (STA, TIME, ARID, JDATE, STASSID, CHANID, CHAN, IPHASE, " +
+        "STYPE, DELTIM, AZIMUTH, DELAZ, SLOW, DELSLO, EMA, RECT, AMP, PER, LOGAT, CLIP, FM, SNR, QUAL, AUTH, " +
+        "COMMID, LDDATE) " +
+        "SELECT 'STA' || MOD(X, 100), 1274385713.325 + X, X, 2010140, -1, -1, 'BHZ', 'P', '-', 1.66, 296.15, " +
+        "2.03, 17, 0.6, -1, -1, 0.71, 0.44, -999, '-', '-', 4.37, '4', '-', -1, " +
+        "TO_DATE('2019-03-06 17:12:12', 'YYYY-MM-DD HH24:MI:SS') " +
+        "FROM SYSTEM_RANGE(1, " + arrivalCount + ")");
+    }
+
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_signal_detection_test", Map.ofEntries(
+      Map.entry("hibernate.connection.url", JDBC_URL),
+      Map.entry("hibernate.default_schema", "GMS_GLOBAL"),
+      Map.entry("hibernate.c3p0.max_size", String.valueOf(parallelism)),
+      Map.entry(PartitionedQueryExecutor.PARALLELISM_KEY, String.valueOf(parallelism))));
+    arrivalDatabaseConnector = new ArrivalDatabaseConnector(entityManagerFactory);
+    arids = LongStream.rangeClosed(1, arrivalCount).boxed().collect(Collectors.toList());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    entityManagerFactory.close();
+    try (var statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+    connection.close();
+  }
+
+  @Benchmark
+  public List<ArrivalDao> findArrivalsByArids() {
+    return arrivalDatabaseConnector.findArrivalsByArids(arids);
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(PartitionedArrivalQueryBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+}
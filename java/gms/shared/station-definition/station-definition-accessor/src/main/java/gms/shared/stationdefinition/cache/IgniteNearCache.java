@@ -0,0 +1,183 @@
+package gms.shared.stationdefinition.cache;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.events.CacheEvent;
+import org.apache.ignite.events.EventType;
+import org.apache.ignite.lang.IgnitePredicate;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded on-heap tier in front of an {@link IgniteCache}, holding values decoded from what the Ignite cache stores,
+ * so repeated lookups of a key neither deserialize nor decode its value again.
+ * <p>
+ * Entries are invalidated by the put and remove events of the Ignite cache, which every node hosting the (replicated)
+ * cache records locally, and are also dropped on this node as soon as it changes a key itself.
+ *
+ * @param <K> key type
+ * @param <S> type of the values stored in Ignite
+ * @param <V> type of the decoded values
+ */
+class IgniteNearCache<K, S, V> {
+
+  private final IgniteCache<K, S> igniteCache;
+  private final Class<K> keyType;
+  private final Function<S, V> decoder;
+  private final Cache<K, V> decoded;
+  private final Listener listener;
+
+  // Counts invalidations, so a value read from Ignite before an invalidation is not cached after it
+  private final AtomicLong invalidations = new AtomicLong();
+
+  private IgniteNearCache(IgniteCache<K, S> igniteCache, Class<K> keyType, Function<S, V> decoder,
+    long maximumSize, Listener listener) {
+
+    this.igniteCache = igniteCache;
+    this.keyType = keyType;
+    this.decoder = decoder;
+    this.decoded = CacheBuilder.newBuilder()
+      .maximumSize(maximumSize)
+      .build();
+    this.listener = listener;
+  }
+
+  /**
+   * Creates an {@link IgniteNearCache} and starts listening for the events of its Ignite cache
+   *
+   * @param igniteCache the {@link IgniteCache} to front
+   * @param keyType the key type of the Ignite cache
+   * @param decoder decodes the values stored in Ignite. Decoded values are shared by every caller, so they must not
+   * be modified.
+   * @param maximumSize the maximum number of decoded values kept
+   * @param listener notified of each lookup
+   * @return an {@link IgniteNearCache}
+   */
+  static <K, S, V> IgniteNearCache<K, S, V> create(IgniteCache<K, S> igniteCache, Class<K> keyType,
+    Function<S, V> decoder, long maximumSize, Listener listener) {
+
+    Objects.requireNonNull(igniteCache);
+    Objects.requireNonNull(keyType);
+    Objects.requireNonNull(decoder);
+    Objects.requireNonNull(listener);
+    Preconditions.checkArgument(maximumSize > 0, "Maximum size must be positive");
+
+    var nearCache = new IgniteNearCache<>(igniteCache, keyType, decoder, maximumSize, listener);
+    nearCache.listen();
+    return nearCache;
+  }
+
+  private void listen() {
+    String cacheName = igniteCache.getName();
+    IgnitePredicate<CacheEvent> invalidator = event -> {
+      if (cacheName.equals(event.cacheName())) {
+        Object key = event.key();
+        if (keyType.isInstance(key)) {
+          invalidate(keyType.cast(key));
+        } else {
+          // The key arrived in a form that cannot be matched, such as a binary object
+          invalidateAll();
+        }
+      }
+      return true;
+    };
+
+    igniteCache.unwrap(Ignite.class).events()
+      .localListen(invalidator, EventType.EVT_CACHE_OBJECT_PUT, EventType.EVT_CACHE_OBJECT_REMOVED);
+  }
+
+  /**
+   * Retrieves the decoded value of a key, reading and decoding it from Ignite if it is not held
+   *
+   * @param key the key
+   * @return the decoded value, or empty if Ignite has no value for the key
+   */
+  Optional<V> get(K key) {
+    var value = decoded.getIfPresent(key);
+    if (value != null) {
+      listener.hit();
+      return Optional.of(value);
+    }
+
+    listener.miss();
+    var generation = invalidations.get();
+    var start = System.nanoTime();
+    var stored = igniteCache.get(key);
+    if (stored == null) {
+      return Optional.empty();
+    }
+
+    value = decoder.apply(stored);
+    listener.decoded(System.nanoTime() - start);
+
+    decoded.put(key, value);
+    // An invalidation may have raced the read, and the value it invalidated may be the one just cached
+    if (invalidations.get() != generation) {
+      decoded.invalidate(key);
+    }
+    return Optional.of(value);
+  }
+
+  /**
+   * Checks whether a key has a value, without reading or decoding it if it is not held
+   *
+   * @param key the key
+   * @return true if the key has a value
+   */
+  boolean containsKey(K key) {
+    return decoded.getIfPresent(key) != null || igniteCache.containsKey(key);
+  }
+
+  /**
+   * Drops the decoded value of a key
+   *
+   * @param key the key
+   */
+  void invalidate(K key) {
+    invalidations.incrementAndGet();
+    decoded.invalidate(key);
+  }
+
+  /**
+   * Drops every decoded value
+   */
+  void invalidateAll() {
+    invalidations.incrementAndGet();
+    decoded.invalidateAll();
+  }
+
+  /**
+   * Notified of each {@link IgniteNearCache} lookup
+   */
+  interface Listener {
+
+    Listener NONE = new Listener() {
+    };
+
+    /**
+     * A lookup was answered by the near cache
+     */
+    default void hit() {
+    }
+
+    /**
+     * A lookup had to read from Ignite
+     */
+    default void miss() {
+    }
+
+    /**
+     * A value was read from Ignite and decoded
+     *
+     * @param nanos how long reading and decoding took, in nanoseconds
+     */
+    default void decoded(long nanos) {
+    }
+  }
+}
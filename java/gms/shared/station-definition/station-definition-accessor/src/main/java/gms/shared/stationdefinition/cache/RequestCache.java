@@ -7,28 +7,38 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static gms.shared.stationdefinition.cache.util.StationDefinitionCacheFactory.REQUEST_CACHE;
 
 /**
  * RequestCache for caching station definition requests as the first layer of caching
+ * <p>
+ * Responses are read from a bounded on-heap near cache in front of Ignite, so a repeated request does not deserialize
+ * its whole response again.
  */
 @Profile("enable-caching")
 @Component("stationDefinitionRequestCache")
 public class RequestCache {
 
+  static final long DEFAULT_MAXIMUM_RESPONSES = 1_000;
+
   private final IgniteCache<Request, Collection<Object>> cache;
+  private final IgniteNearCache<Request, Collection<Object>, Collection<Object>> responses;
 
   public RequestCache() {
     this.cache = IgniteConnectionManager.getOrCreateCache(REQUEST_CACHE);
+    this.responses = IgniteNearCache.create(cache, Request.class, Collections::unmodifiableCollection,
+      DEFAULT_MAXIMUM_RESPONSES, IgniteNearCache.Listener.NONE);
   }
 
   public Collection<Object> retrieve(Request request) {
-    return cache.containsKey(request) ? cache.get(request) : List.of();
+    return responses.get(request).orElse(List.of());
   }
 
   public void put(Request key, Collection<Object> value) {
     cache.put(key, value);
+    responses.invalidate(key);
   }
 }
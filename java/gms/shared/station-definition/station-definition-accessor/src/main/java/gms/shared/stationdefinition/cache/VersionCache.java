@@ -1,17 +1,21 @@
 package gms.shared.stationdefinition.cache;
 
+import com.google.common.collect.ImmutableRangeMap;
 import com.google.common.collect.Range;
 import com.google.common.collect.RangeMap;
+import com.google.common.collect.TreeRangeMap;
 import gms.shared.frameworks.cache.utils.IgniteConnectionManager;
 import gms.shared.frameworks.systemconfig.SystemConfig;
 import gms.shared.stationdefinition.cache.util.StationDefinitionCacheFactory;
 import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheEntryProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import javax.cache.processor.MutableEntry;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
@@ -22,20 +26,28 @@ import static gms.shared.stationdefinition.cache.util.StationDefinitionCacheFact
 
 /**
  * VersionCache for caching station definition versions and time ranges
+ * <p>
+ * Version lookups are answered from a bounded on-heap near cache holding each entity's versions decoded into an
+ * {@link ImmutableRangeMap}, whose ranges and versions are kept in sorted arrays, rather than deserializing every
+ * version of the entity from Ignite for each lookup.
  */
 @Component
 public class VersionCache {
   private static final Logger logger = LoggerFactory.getLogger(VersionCache.class);
   public static final String CACHE_INITIALIZED = "Cache already initialized: ";
+  static final long DEFAULT_MAXIMUM_VERSION_INDEXES = 100_000;
   private final IgniteCache<String, NavigableSet<Instant>> versionEffectiveTimesByEntityIdCache;
   private SystemConfig systemConfig;
 
   private final IgniteCache<String, RangeMap<Instant, Object>> versionsByEntityIdAndTimeCache;
+  private final IgniteNearCache<String, RangeMap<Instant, Object>, ImmutableRangeMap<Instant, Object>> versionIndexes;
 
   @Autowired
   public VersionCache(SystemConfig systemConfig) {
     versionEffectiveTimesByEntityIdCache = IgniteConnectionManager.getOrCreateCache(VERSION_EFFECTIVE_TIME_CACHE);
     versionsByEntityIdAndTimeCache = IgniteConnectionManager.getOrCreateCache(VERSION_ENTITY_TIME_CACHE);
+    versionIndexes = IgniteNearCache.create(versionsByEntityIdAndTimeCache, String.class, ImmutableRangeMap::copyOf,
+      DEFAULT_MAXIMUM_VERSION_INDEXES, VersionCacheMetrics.INSTANCE);
     this.systemConfig = systemConfig;
   }
 
@@ -50,7 +62,9 @@ public class VersionCache {
 
   public void clear() {
     versionEffectiveTimesByEntityIdCache.clear();
-    versionsByEntityIdAndTimeCache.clear();
+    // Unlike clear, removeAll raises the remove events that invalidate the near caches of the other nodes
+    versionsByEntityIdAndTimeCache.removeAll();
+    versionIndexes.invalidateAll();
   }
 
   /**
@@ -74,19 +88,16 @@ public class VersionCache {
   }
 
   /**
-   * Cache version objects using entityId and effectiveTimes
+   * Cache version objects using entityId and effectiveTimes, merging them into the versions already cached for the
+   * entityId. The merge is applied atomically to the cached entry, with the new versions replacing the cached ones
+   * where their time ranges overlap.
    *
    * @param key EntityId strings
    * @param value RangeMap of effectiveTimes to version objects
    */
   public void cacheVersionsByEntityIdAndTime(String key, RangeMap<Instant, Object> value) {
-
-    if (versionsByEntityIdAndTimeCache.get(key) == null) {
-      versionsByEntityIdAndTimeCache.put(key, value);
-    } else {
-      versionsByEntityIdAndTimeCache.get(key).putAll(value);
-    }
-
+    versionsByEntityIdAndTimeCache.invoke(key, new VersionMerger(value));
+    versionIndexes.invalidate(key);
   }
 
   /**
@@ -96,7 +107,7 @@ public class VersionCache {
    * @return true if cache contains key
    */
   public boolean versionsByEntityIdAndTimeHasKey(String key) {
-    return versionsByEntityIdAndTimeCache.containsKey(key);
+    return versionIndexes.containsKey(key);
   }
 
   /**
@@ -113,10 +124,10 @@ public class VersionCache {
    * Retrive version range map using entityId string
    *
    * @param key EntityId string
-   * @return rangemap of versions by effectiveTime to version object
+   * @return unmodifiable rangemap of versions by effectiveTime to version object, or null if none are cached
    */
   public RangeMap<Instant, Object> retrieveVersionsByEntityIdAndTimeRangeMap(String key) {
-    return versionsByEntityIdAndTimeCache.get(key);
+    return versionIndexes.get(key).orElse(null);
   }
 
   /**
@@ -127,11 +138,9 @@ public class VersionCache {
    * @return version object from RangeMap
    */
   public Object retrieveVersionsByEntityIdAndTime(String key, Instant effectiveTime) {
-    RangeMap<Instant, Object> rangeMap = versionsByEntityIdAndTimeCache.get(key);
-    if (rangeMap != null) {
-      return rangeMap.get(effectiveTime);
-    }
-    return null;
+    return versionIndexes.get(key)
+      .map(rangeMap -> rangeMap.get(effectiveTime))
+      .orElse(null);
   }
 
   /**
@@ -143,10 +152,36 @@ public class VersionCache {
    */
   public Collection<Object> retrieveVersionsByEntityIdAndTimeRange(String key, Range<Instant> timeRange) {
 
-    RangeMap<Instant, Object> rangeMap = versionsByEntityIdAndTimeCache.get(key);
-    if (rangeMap != null && timeRange != null) {
-      return rangeMap.subRangeMap(timeRange).asDescendingMapOfRanges().values();
+    if (timeRange == null) {
+      return Collections.emptyList();
+    }
+    return versionIndexes.get(key)
+      .<Collection<Object>>map(rangeMap -> rangeMap.subRangeMap(timeRange).asDescendingMapOfRanges().values())
+      .orElse(Collections.emptyList());
+  }
+
+  /**
+   * Merges versions into the versions cached for an entity, on the node holding the entry
+   */
+  private static final class VersionMerger implements CacheEntryProcessor<String, RangeMap<Instant, Object>, Void> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RangeMap<Instant, Object> versions;
+
+    private VersionMerger(RangeMap<Instant, Object> versions) {
+      this.versions = versions;
+    }
+
+    @Override
+    public Void process(MutableEntry<String, RangeMap<Instant, Object>> entry, Object... arguments) {
+      RangeMap<Instant, Object> merged = TreeRangeMap.create();
+      if (entry.exists()) {
+        merged.putAll(entry.getValue());
+      }
+      merged.putAll(versions);
+      entry.setValue(merged);
+      return null;
     }
-    return Collections.emptyList();
   }
 }
\ No newline at end of file
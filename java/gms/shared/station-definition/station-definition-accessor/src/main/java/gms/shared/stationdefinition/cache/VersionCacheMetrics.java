@@ -0,0 +1,39 @@
+package gms.shared.stationdefinition.cache;
+
+import gms.shared.metrics.ConcurrentLongMetric;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metrics for the near cache of decoded version indexes behind {@link VersionCache}, through which the
+ * EntityCachingStationDefinitionAccessor answers its lookups, totalled over every {@link VersionCache} in the process
+ */
+final class VersionCacheMetrics implements IgniteNearCache.Listener {
+
+  static final VersionCacheMetrics INSTANCE = new VersionCacheMetrics();
+
+  private static final ConcurrentLongMetric versionIndexHits =
+    ConcurrentLongMetric.counter("station_definition_version_index_hits:type=Counter");
+  private static final ConcurrentLongMetric versionIndexMisses =
+    ConcurrentLongMetric.counter("station_definition_version_index_misses:type=Counter");
+  private static final ConcurrentLongMetric versionIndexDecodeMicros =
+    ConcurrentLongMetric.value("station_definition_version_index_decode_micros:type=Value");
+
+  private VersionCacheMetrics() {
+  }
+
+  @Override
+  public void hit() {
+    versionIndexHits.increment();
+  }
+
+  @Override
+  public void miss() {
+    versionIndexMisses.increment();
+  }
+
+  @Override
+  public void decoded(long nanos) {
+    versionIndexDecodeMicros.update(TimeUnit.NANOSECONDS.toMicros(nanos));
+  }
+}
@@ -424,13 +424,8 @@ public class BridgedChannelRepository implements ChannelRepositoryInterface {
     versionTimes.add(built.getEffectiveAt().orElseThrow());
     versionCache.cacheVersionEffectiveTimesByEntityId(key, versionTimes);
 
-    RangeMap<Instant, Object> versions = versionCache.retrieveVersionsByEntityIdAndTimeRangeMap(key);
-
-    if (versions == null) {
-      versions = TreeRangeMap.create();
-    }
-
-    // cache derived channel versions
+    // cache derived channel versions, merged into the versions already cached
+    RangeMap<Instant, Object> versions = TreeRangeMap.create();
     Range<Instant> range = built.getEffectiveUntil().isPresent()
       ? Range.closedOpen(built.getEffectiveAt().orElseThrow(), built.getEffectiveUntil().orElseThrow())
       : Range.atLeast(built.getEffectiveAt().orElseThrow());
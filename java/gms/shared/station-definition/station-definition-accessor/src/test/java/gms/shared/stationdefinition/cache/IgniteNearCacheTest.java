@@ -0,0 +1,154 @@
+package gms.shared.stationdefinition.cache;
+
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteEvents;
+import org.apache.ignite.events.CacheEvent;
+import org.apache.ignite.lang.IgnitePredicate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.apache.ignite.events.EventType.EVT_CACHE_OBJECT_PUT;
+import static org.apache.ignite.events.EventType.EVT_CACHE_OBJECT_REMOVED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IgniteNearCacheTest {
+
+  private static final String CACHE_NAME = "near-cache-test";
+
+  @Mock
+  private IgniteCache<String, String> igniteCache;
+  @Mock
+  private Ignite ignite;
+  @Mock
+  private IgniteEvents events;
+  @Mock
+  private IgniteNearCache.Listener listener;
+  @Captor
+  private ArgumentCaptor<IgnitePredicate<CacheEvent>> eventListenerCaptor;
+
+  private IgniteNearCache<String, String, Integer> nearCache;
+
+  @BeforeEach
+  void setUp() {
+    when(igniteCache.getName()).thenReturn(CACHE_NAME);
+    when(igniteCache.unwrap(Ignite.class)).thenReturn(ignite);
+    when(ignite.events()).thenReturn(events);
+
+    nearCache = IgniteNearCache.create(igniteCache, String.class, Integer::valueOf, 10, listener);
+
+    verify(events).localListen(eventListenerCaptor.capture(), eq(EVT_CACHE_OBJECT_PUT),
+      eq(EVT_CACHE_OBJECT_REMOVED));
+  }
+
+  @Test
+  void testCreateValidation() {
+    assertThrows(IllegalArgumentException.class,
+      () -> IgniteNearCache.create(igniteCache, String.class, Integer::valueOf, 0, listener));
+  }
+
+  @Test
+  void testGetDecodesOnce() {
+    when(igniteCache.get("key")).thenReturn("1");
+
+    assertEquals(Optional.of(1), nearCache.get("key"));
+    assertEquals(Optional.of(1), nearCache.get("key"));
+
+    verify(igniteCache, times(1)).get("key");
+    verify(listener).miss();
+    verify(listener).decoded(anyLong());
+    verify(listener).hit();
+    verifyNoMoreInteractions(listener);
+  }
+
+  @Test
+  void testGetMissingKey() {
+    assertEquals(Optional.empty(), nearCache.get("key"));
+    assertEquals(Optional.empty(), nearCache.get("key"));
+
+    verify(igniteCache, times(2)).get("key");
+  }
+
+  @Test
+  void testContainsKey() {
+    when(igniteCache.get("key")).thenReturn("1");
+    nearCache.get("key");
+
+    assertTrue(nearCache.containsKey("key"));
+    assertFalse(nearCache.containsKey("other"));
+
+    verify(igniteCache).containsKey("other");
+    verify(igniteCache, times(0)).containsKey("key");
+  }
+
+  @Test
+  void testPutEventInvalidates() {
+    when(igniteCache.get("key")).thenReturn("1", "2");
+    nearCache.get("key");
+
+    eventListenerCaptor.getValue().apply(cacheEvent(CACHE_NAME, "key"));
+
+    assertEquals(Optional.of(2), nearCache.get("key"));
+  }
+
+  @Test
+  void testOtherCacheEventIgnored() {
+    when(igniteCache.get("key")).thenReturn("1", "2");
+    nearCache.get("key");
+
+    eventListenerCaptor.getValue().apply(cacheEvent("other-cache", "key"));
+
+    assertEquals(Optional.of(1), nearCache.get("key"));
+  }
+
+  @Test
+  void testUnmatchedKeyEventInvalidatesAll() {
+    when(igniteCache.get("key")).thenReturn("1", "2");
+    nearCache.get("key");
+
+    eventListenerCaptor.getValue().apply(cacheEvent(CACHE_NAME, 7));
+
+    assertEquals(Optional.of(2), nearCache.get("key"));
+  }
+
+  @Test
+  void testInvalidationDuringReadIsNotLost() {
+    when(igniteCache.get("key"))
+      .then(invocation -> {
+        // The value read is already stale when it is decoded
+        nearCache.invalidate("key");
+        return "1";
+      })
+      .thenReturn("2");
+
+    assertEquals(Optional.of(1), nearCache.get("key"));
+    assertEquals(Optional.of(2), nearCache.get("key"));
+  }
+
+  private static CacheEvent cacheEvent(String cacheName, Object key) {
+    CacheEvent event = mock(CacheEvent.class);
+    when(event.cacheName()).thenReturn(cacheName);
+    if (CACHE_NAME.equals(cacheName)) {
+      when(event.key()).thenReturn(key);
+    }
+    return event;
+  }
+}
@@ -24,9 +24,13 @@ import javax.persistence.criteria.Subquery;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -106,21 +110,19 @@ public class SiteChanDatabaseConnector extends DatabaseConnector {
       logger.debug("Request for SiteChan by name was given an empty list of station codes");
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationCodes, 950, partition -> {
-          CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteChanDao> query = builder.createQuery(SiteChanDao.class
-          );
-          Root<SiteChanDao> fromSiteChan = query.from(SiteChanDao.class
-          );
-          query.select(fromSiteChan)
-            .where(builder.and(fromSiteChan.get(ID).get(STATION_CODE).in(partition),
-              builder.lessThanOrEqualTo(fromSiteChan.get(ID).get(ON_DATE), effectiveTime),
-              builder.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), effectiveTime)));
-
-          return entityManager.createQuery(query).getResultList();
-        })
-      );
+      return runPartitionedQuery(stationCodes, 950, (entityManager, partition) -> {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteChanDao> query = builder.createQuery(SiteChanDao.class
+        );
+        Root<SiteChanDao> fromSiteChan = query.from(SiteChanDao.class
+        );
+        query.select(fromSiteChan)
+          .where(builder.and(fromSiteChan.get(ID).get(STATION_CODE).in(partition),
+            builder.lessThanOrEqualTo(fromSiteChan.get(ID).get(ON_DATE), effectiveTime),
+            builder.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), effectiveTime)));
+
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -137,23 +139,22 @@ public class SiteChanDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_CODES_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationCodes, 400, partition -> {
-
-          CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteChanDao> query = cb.createQuery(SiteChanDao.class
-          );
-          Root<SiteChanDao> fromSiteChan = query.from(SiteChanDao.class
-          );
-
-          final Path<Object> idPath = fromSiteChan.get(ID);
-          query.select(fromSiteChan);
-          query.where(cb.and(idPath.get(STATION_CODE).in(partition),
-            cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), startTime),
-            cb.lessThanOrEqualTo(idPath.get(ON_DATE), endTime)));
-
-          return entityManager.createQuery(query).getResultList();
-        }));
+      return runPartitionedQuery(stationCodes, 400, (entityManager, partition) -> {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteChanDao> query = cb.createQuery(SiteChanDao.class
+        );
+        Root<SiteChanDao> fromSiteChan = query.from(SiteChanDao.class
+        );
+
+        final Path<Object> idPath = fromSiteChan.get(ID);
+        query.select(fromSiteChan);
+        query.where(cb.and(idPath.get(STATION_CODE).in(partition),
+          cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), startTime),
+          cb.lessThanOrEqualTo(idPath.get(ON_DATE), endTime)));
+
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -168,31 +169,30 @@ public class SiteChanDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_KEY_SET_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(siteChanKeys, 250, keySubList -> {
-
-          CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteChanDao> query = cb.createQuery(SiteChanDao.class
-          );
-          Root<SiteChanDao> fromSiteChan = query.from(SiteChanDao.class
-          );
-
-          final Path<Object> idPath = fromSiteChan.get(ID);
-          query.select(fromSiteChan);
-          query.where(
-            cb.or(
-              keySubList.stream()
-                .map(k -> cb.and(
-                cb.equal(idPath.get(STATION_CODE), k.getStationCode()),
-                cb.equal(idPath.get(CHANNEL_CODE), k.getChannelCode()),
-                cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), startTime),
-                cb.lessThanOrEqualTo(idPath.get(ON_DATE), endTime)
-              ))
-                .toArray(Predicate[]::new)
-            ));
-
-          return entityManager.createQuery(query).getResultList();
-        }));
+      return runPartitionedQuery(siteChanKeys, 250, (entityManager, keySubList) -> {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteChanDao> query = cb.createQuery(SiteChanDao.class
+        );
+        Root<SiteChanDao> fromSiteChan = query.from(SiteChanDao.class
+        );
+
+        final Path<Object> idPath = fromSiteChan.get(ID);
+        query.select(fromSiteChan);
+        query.where(
+          cb.or(
+            keySubList.stream()
+              .map(k -> cb.and(
+              cb.equal(idPath.get(STATION_CODE), k.getStationCode()),
+              cb.equal(idPath.get(CHANNEL_CODE), k.getChannelCode()),
+              cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), startTime),
+              cb.lessThanOrEqualTo(idPath.get(ON_DATE), endTime)
+            ))
+              .toArray(Predicate[]::new)
+          ));
+
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -229,26 +229,24 @@ public class SiteChanDatabaseConnector extends DatabaseConnector {
       return List.of();
     }
 
-    return runWithEntityManager(entityManager
-      -> runPartitionedQuery(siteChanKeys, 500, keySublist -> {
-        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-        CriteriaQuery<SiteChanDao> siteChanQuery = builder.createQuery(SiteChanDao.class
-        );
-        Root<SiteChanDao> fromSiteChan = siteChanQuery.from(SiteChanDao.class
-        );
-        Path<SiteChanKey> id = fromSiteChan.get(ID);
-        siteChanQuery.select(fromSiteChan)
-          .where(builder.and(
-            builder.or(keySublist.stream()
-              .map(key -> builder.and(builder.equal(id.get(STATION_CODE), key.getStationCode()),
-              builder.equal(id.get(CHANNEL_CODE), key.getChannelCode())))
-              .toArray(Predicate[]::new))),
-            builder.lessThanOrEqualTo(id.get(ON_DATE), effectiveAt),
-            builder.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), effectiveAt));
-
-        return entityManager.createQuery(siteChanQuery).getResultList();
-      })
-    );
+    return runPartitionedQuery(siteChanKeys, 500, (entityManager, keySublist) -> {
+      CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+      CriteriaQuery<SiteChanDao> siteChanQuery = builder.createQuery(SiteChanDao.class
+      );
+      Root<SiteChanDao> fromSiteChan = siteChanQuery.from(SiteChanDao.class
+      );
+      Path<SiteChanKey> id = fromSiteChan.get(ID);
+      siteChanQuery.select(fromSiteChan)
+        .where(builder.and(
+          builder.or(keySublist.stream()
+            .map(key -> builder.and(builder.equal(id.get(STATION_CODE), key.getStationCode()),
+            builder.equal(id.get(CHANNEL_CODE), key.getChannelCode())))
+            .toArray(Predicate[]::new))),
+          builder.lessThanOrEqualTo(id.get(ON_DATE), effectiveAt),
+          builder.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), effectiveAt));
+
+      return entityManager.createQuery(siteChanQuery).getResultList();
+    });
   }
 
   //SiteChanAndSurroundingDates queries
@@ -261,24 +259,23 @@ public class SiteChanDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_CODES_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationCodes, 950, partition -> {
+      return runPartitionedQuery(stationCodes, 950, (entityManager, partition) -> {
 
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteChanAndSurroundingDates> siteChanQuery = cb
-            .createQuery(SiteChanAndSurroundingDates.class);
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteChanAndSurroundingDates> siteChanQuery = cb
+          .createQuery(SiteChanAndSurroundingDates.class);
 
-          // site chan dao query from main site chan and surrounding dates
-          Root<SiteChanDao> fromSiteChan = siteChanQuery.from(SiteChanDao.class);
+        // site chan dao query from main site chan and surrounding dates
+        Root<SiteChanDao> fromSiteChan = siteChanQuery.from(SiteChanDao.class);
 
-          var predicate = cb.and(fromSiteChan.get(ID).get(STATION_CODE).in(partition),
-            cb.lessThanOrEqualTo(fromSiteChan.get(ID).get(ON_DATE), effectiveAt),
-            cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), effectiveAt));
+        var predicate = cb.and(fromSiteChan.get(ID).get(STATION_CODE).in(partition),
+          cb.lessThanOrEqualTo(fromSiteChan.get(ID).get(ON_DATE), effectiveAt),
+          cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), effectiveAt));
 
-          var finalQuery = getStationCodeQuery(predicate, cb, siteChanQuery, fromSiteChan);
+        var finalQuery = getStationCodeQuery(predicate, cb, siteChanQuery, fromSiteChan);
 
-          return entityManager.createQuery(finalQuery).getResultList();
-        }));
+        return entityManager.createQuery(finalQuery).getResultList();
+      });
     }
   }
 
@@ -292,24 +289,23 @@ public class SiteChanDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_CODES_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationCodes, 950, partition -> {
+      return runPartitionedQuery(stationCodes, 950, (entityManager, partition) -> {
 
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteChanAndSurroundingDates> siteChanQuery = cb
-            .createQuery(SiteChanAndSurroundingDates.class);
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteChanAndSurroundingDates> siteChanQuery = cb
+          .createQuery(SiteChanAndSurroundingDates.class);
 
-          // site chan dao query from main site chan and surrounding dates
-          Root<SiteChanDao> fromSiteChan = siteChanQuery.from(SiteChanDao.class);
+        // site chan dao query from main site chan and surrounding dates
+        Root<SiteChanDao> fromSiteChan = siteChanQuery.from(SiteChanDao.class);
 
-          var predicate = cb.and(fromSiteChan.get(ID).get(STATION_CODE).in(partition),
-          cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), startTime),
-          cb.lessThanOrEqualTo(fromSiteChan.get(ID).get(ON_DATE), endTime));
+        var predicate = cb.and(fromSiteChan.get(ID).get(STATION_CODE).in(partition),
+        cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), startTime),
+        cb.lessThanOrEqualTo(fromSiteChan.get(ID).get(ON_DATE), endTime));
 
-          var finalQuery = getStationCodeQuery(predicate, cb, siteChanQuery, fromSiteChan);
+        var finalQuery = getStationCodeQuery(predicate, cb, siteChanQuery, fromSiteChan);
 
-          return entityManager.createQuery(finalQuery).getResultList();
-        }));
+        return entityManager.createQuery(finalQuery).getResultList();
+      });
     }
   }
 
@@ -324,32 +320,22 @@ public class SiteChanDatabaseConnector extends DatabaseConnector {
       return new ArrayList<>();
     }
 
-    return runWithEntityManager(entityManager
-      -> runPartitionedQuery(siteChanKeys, 950, partition -> {
+    return runPartitionedQuery(siteChanKeys, 950, (entityManager, partition) -> {
 
-        var cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<SiteChanAndSurroundingDates> siteChanQuery = cb
-          .createQuery(SiteChanAndSurroundingDates.class);
-        Root<SiteChanDao> fromSiteChan = siteChanQuery.from(SiteChanDao.class);
+      var cb = entityManager.getCriteriaBuilder();
+      CriteriaQuery<SiteChanAndSurroundingDates> siteChanQuery = cb
+        .createQuery(SiteChanAndSurroundingDates.class);
+      Root<SiteChanDao> fromSiteChan = siteChanQuery.from(SiteChanDao.class);
 
-        List<String> staCodes = partition.stream()
-          .map(SiteChanKey::getStationCode)
-          .collect(Collectors.toList());
+      var predicate = cb.and(getKeyPredicate(cb, fromSiteChan.get(ID), partition),
+        cb.lessThanOrEqualTo(fromSiteChan.get(ID).get(ON_DATE), effectiveAt),
+        cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), effectiveAt));
 
-        List<String> chanCodes = partition.stream()
-          .map(SiteChanKey::getChannelCode)
-          .collect(Collectors.toList());
+      // main sitechan query select that implements all sub queries
+      var finalQuery = getStationCodeQuery(predicate, cb, siteChanQuery, fromSiteChan);
 
-        var predicate = cb.and(fromSiteChan.get(ID).get(STATION_CODE).in(staCodes),
-          fromSiteChan.get(ID).get(CHANNEL_CODE).in(chanCodes),
-          cb.lessThanOrEqualTo(fromSiteChan.get(ID).get(ON_DATE), effectiveAt),
-          cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), effectiveAt));
-
-        // main sitechan query select that implements all sub queries
-        var finalQuery = getStationCodeQuery(predicate, cb, siteChanQuery, fromSiteChan);
-
-        return entityManager.createQuery(finalQuery).getResultList();
-      }));
+      return entityManager.createQuery(finalQuery).getResultList();
+    });
   }
 
   public List<SiteChanAndSurroundingDates> findSiteChansAndSurroundingDatesByKeysAndTimeRange(
@@ -364,32 +350,40 @@ public class SiteChanDatabaseConnector extends DatabaseConnector {
       return new ArrayList<>();
     }
 
-    return runWithEntityManager(entityManager
-      -> runPartitionedQuery(siteChanKeys, 950, partition -> {
+    return runPartitionedQuery(siteChanKeys, 950, (entityManager, partition) -> {
 
-        var cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<SiteChanAndSurroundingDates> siteChanQuery = cb
-          .createQuery(SiteChanAndSurroundingDates.class);
-        // site chan dao query from main site chan and surrounding dates
-        Root<SiteChanDao> fromSiteChan = siteChanQuery.from(SiteChanDao.class);
+      var cb = entityManager.getCriteriaBuilder();
+      CriteriaQuery<SiteChanAndSurroundingDates> siteChanQuery = cb
+        .createQuery(SiteChanAndSurroundingDates.class);
+      // site chan dao query from main site chan and surrounding dates
+      Root<SiteChanDao> fromSiteChan = siteChanQuery.from(SiteChanDao.class);
 
-        List<String> staCodes = partition.stream()
-          .map(SiteChanKey::getStationCode)
-          .collect(Collectors.toList());
-
-        List<String> chanCodes = partition.stream()
-          .map(SiteChanKey::getChannelCode)
-          .collect(Collectors.toList());
+      var predicate = cb.and(getKeyPredicate(cb, fromSiteChan.get(ID), partition),
+        cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), startTime),
+        cb.lessThanOrEqualTo(fromSiteChan.get(ID).get(ON_DATE), endTime));
 
-        var predicate = cb.and(fromSiteChan.get(ID).get(STATION_CODE).in(staCodes),
-          fromSiteChan.get(ID).get(CHANNEL_CODE).in(chanCodes),
-          cb.greaterThanOrEqualTo(fromSiteChan.get(OFF_DATE), startTime),
-          cb.lessThanOrEqualTo(fromSiteChan.get(ID).get(ON_DATE), endTime));
+      var finalQuery = getStationCodeQuery(predicate, cb, siteChanQuery, fromSiteChan);
 
-        var finalQuery = getStationCodeQuery(predicate, cb, siteChanQuery, fromSiteChan);
+      return entityManager.createQuery(finalQuery).getResultList();
+    });
+  }
 
-        return entityManager.createQuery(finalQuery).getResultList();
-      }));
+  /**
+   * Matches exactly the (station, channel) pairs of the keys, as one station code with the IN list of its channel
+   * codes per station, rather than every channel code of the keys at every station code of the keys
+   */
+  private static Predicate getKeyPredicate(CriteriaBuilder cb, Path<Object> idPath,
+    Collection<SiteChanKey> siteChanKeys) {
+
+    Map<String, Set<String>> channelCodesByStationCode = siteChanKeys.stream()
+      .collect(Collectors.groupingBy(SiteChanKey::getStationCode, LinkedHashMap::new,
+        Collectors.mapping(SiteChanKey::getChannelCode, Collectors.toCollection(LinkedHashSet::new))));
+
+    return cb.or(channelCodesByStationCode.entrySet().stream()
+      .map(channelCodes -> cb.and(
+        cb.equal(idPath.get(STATION_CODE), channelCodes.getKey()),
+        idPath.get(CHANNEL_CODE).in(channelCodes.getValue())))
+      .toArray(Predicate[]::new));
   }
 
   private CriteriaQuery<SiteChanAndSurroundingDates> getStationCodeQuery(
@@ -50,18 +50,16 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationNames, 950, partition -> {
-
-          CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
-          Root<SiteDao> fromSite = query.from(SiteDao.class);
-          query.select(fromSite);
-
-          query.where(fromSite.get(ID).get(STATION_CODE).in(partition));
-          return entityManager.createQuery(query).getResultList();
-        })
-      );
+      return runPartitionedQuery(stationNames, 950, (entityManager, partition) -> {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
+        Root<SiteDao> fromSite = query.from(SiteDao.class);
+        query.select(fromSite);
+
+        query.where(fromSite.get(ID).get(STATION_CODE).in(partition));
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -73,18 +71,16 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(refStationNames, 950, partition -> {
-
-          CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
-          Root<SiteDao> fromSite = query.from(SiteDao.class);
-          query.select(fromSite);
-
-          query.where(fromSite.get(REF_STATION).in(partition));
-          return entityManager.createQuery(query).getResultList();
-        })
-      );
+      return runPartitionedQuery(refStationNames, 950, (entityManager, partition) -> {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
+        Root<SiteDao> fromSite = query.from(SiteDao.class);
+        query.select(fromSite);
+
+        query.where(fromSite.get(REF_STATION).in(partition));
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -99,21 +95,19 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationNames, 950, partition -> {
-
-          CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
-          Root<SiteDao> fromSite = query.from(SiteDao.class);
-          query.select(fromSite);
-
-          query.where(cb.and(
-            fromSite.get(ID).get(STATION_CODE).in(partition),
-            cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), start),
-            cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), start)));
-          return entityManager.createQuery(query).getResultList();
-        })
-      );
+      return runPartitionedQuery(stationNames, 950, (entityManager, partition) -> {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
+        Root<SiteDao> fromSite = query.from(SiteDao.class);
+        query.select(fromSite);
+
+        query.where(cb.and(
+          fromSite.get(ID).get(STATION_CODE).in(partition),
+          cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), start),
+          cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), start)));
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -127,22 +121,20 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationNames, 200, partition -> {
-
-          CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
-          Root<SiteDao> fromSite = query.from(SiteDao.class);
-          query.select(fromSite);
-
-          query.where(cb.and(
-            fromSite.get(REF_STATION).in(partition),
-            cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), start),
-            cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), start)
-          ));
-          return entityManager.createQuery(query).getResultList();
-        })
-      );
+      return runPartitionedQuery(stationNames, 200, (entityManager, partition) -> {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
+        Root<SiteDao> fromSite = query.from(SiteDao.class);
+        query.select(fromSite);
+
+        query.where(cb.and(
+          fromSite.get(REF_STATION).in(partition),
+          cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), start),
+          cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), start)
+        ));
+        return entityManager.createQuery(query).getResultList();
+      });
     }
 
   }
@@ -155,22 +147,21 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return List.of();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationNames, 200, partition -> {
-
-          CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
-          Root<SiteDao> fromSite = query.from(SiteDao.class);
-          query.select(fromSite);
-
-          query.where(cb.and(
-            fromSite.get(REF_STATION).in(partition),
-            fromSite.get(ID).get(STATION_CODE).in(partition),
-            cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), start),
-            cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), start)
-          ));
-          return entityManager.createQuery(query).getResultList();
-        }));
+      return runPartitionedQuery(stationNames, 200, (entityManager, partition) -> {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
+        Root<SiteDao> fromSite = query.from(SiteDao.class);
+        query.select(fromSite);
+
+        query.where(cb.and(
+          fromSite.get(REF_STATION).in(partition),
+          fromSite.get(ID).get(STATION_CODE).in(partition),
+          cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), start),
+          cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), start)
+        ));
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -187,19 +178,18 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return List.of();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(referenceStations, 900, referenceStationsSubList -> {
-          CriteriaBuilder builder = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteDao> query = builder.createQuery(SiteDao.class);
-          Root<SiteDao> fromSite = query.from(SiteDao.class);
-
-          query.select(fromSite)
-            .where(builder.and(fromSite.get(REF_STATION).in(referenceStationsSubList),
-              builder.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), endTime),
-              builder.greaterThanOrEqualTo(fromSite.get(OFF_DATE), startTime)));
-
-          return entityManager.createQuery(query).getResultList();
-        }));
+      return runPartitionedQuery(referenceStations, 900, (entityManager, referenceStationsSubList) -> {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteDao> query = builder.createQuery(SiteDao.class);
+        Root<SiteDao> fromSite = query.from(SiteDao.class);
+
+        query.select(fromSite)
+          .where(builder.and(fromSite.get(REF_STATION).in(referenceStationsSubList),
+            builder.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), endTime),
+            builder.greaterThanOrEqualTo(fromSite.get(OFF_DATE), startTime)));
+
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -214,22 +204,20 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationNames, 950, partition -> {
-
-          CriteriaBuilder cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
-          Root<SiteDao> fromSite = query.from(SiteDao.class);
-          query.select(fromSite);
-
-          query.where(cb.and(
-            fromSite.get(ID).get(STATION_CODE).in(partition),
-            cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), startTime),
-            cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), endTime)
-          ));
-          return entityManager.createQuery(query).getResultList();
-        })
-      );
+      return runPartitionedQuery(stationNames, 950, (entityManager, partition) -> {
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteDao> query = cb.createQuery(SiteDao.class);
+        Root<SiteDao> fromSite = query.from(SiteDao.class);
+        query.select(fromSite);
+
+        query.where(cb.and(
+          fromSite.get(ID).get(STATION_CODE).in(partition),
+          cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), startTime),
+          cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), endTime)
+        ));
+        return entityManager.createQuery(query).getResultList();
+      });
     }
 
   }
@@ -266,24 +254,23 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(refStas, 950, partition -> {
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteAndSurroundingDates> siteQuery = cb
-            .createQuery(SiteAndSurroundingDates.class);
+      return runPartitionedQuery(refStas, 950, (entityManager, partition) -> {
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteAndSurroundingDates> siteQuery = cb
+          .createQuery(SiteAndSurroundingDates.class);
 
-          // site dao query from the main site and surrounding dates
-          Root<SiteDao> fromSite = siteQuery.from(SiteDao.class);
-          Path<String> staCodePath = fromSite.get(REF_STATION);
+        // site dao query from the main site and surrounding dates
+        Root<SiteDao> fromSite = siteQuery.from(SiteDao.class);
+        Path<String> staCodePath = fromSite.get(REF_STATION);
 
-          var predicate = cb.and(staCodePath.in(partition),
-            cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), effectiveAt),
-            cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), effectiveAt));
+        var predicate = cb.and(staCodePath.in(partition),
+          cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), effectiveAt),
+          cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), effectiveAt));
 
-          var finalQuery = getSiteAndSurroundingDatesQuery(predicate, cb, siteQuery, fromSite);
+        var finalQuery = getSiteAndSurroundingDatesQuery(predicate, cb, siteQuery, fromSite);
 
-          return entityManager.createQuery(finalQuery).getResultList();
-        }));
+        return entityManager.createQuery(finalQuery).getResultList();
+      });
     }
   }
   
@@ -298,24 +285,23 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(refStas, 950, partition -> {
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteAndSurroundingDates> siteQuery = cb
-            .createQuery(SiteAndSurroundingDates.class);
+      return runPartitionedQuery(refStas, 950, (entityManager, partition) -> {
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteAndSurroundingDates> siteQuery = cb
+          .createQuery(SiteAndSurroundingDates.class);
 
-          // site dao query from the main site and surrounding dates
-          Root<SiteDao> fromSite = siteQuery.from(SiteDao.class);
-          Path<String> staCodePath = fromSite.get(REF_STATION);
+        // site dao query from the main site and surrounding dates
+        Root<SiteDao> fromSite = siteQuery.from(SiteDao.class);
+        Path<String> staCodePath = fromSite.get(REF_STATION);
 
-          var predicate = cb.and(staCodePath.in(partition),
-            cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), startTime),
-            cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), endTime));
+        var predicate = cb.and(staCodePath.in(partition),
+          cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), startTime),
+          cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), endTime));
 
-          var finalQuery = getSiteAndSurroundingDatesQuery(predicate, cb, siteQuery, fromSite);
+        var finalQuery = getSiteAndSurroundingDatesQuery(predicate, cb, siteQuery, fromSite);
 
-          return entityManager.createQuery(finalQuery).getResultList();
-        }));
+        return entityManager.createQuery(finalQuery).getResultList();
+      });
     }
   }
 
@@ -329,24 +315,23 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationCodes, 950, partition -> {
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteAndSurroundingDates> siteQuery = cb
-            .createQuery(SiteAndSurroundingDates.class);
+      return runPartitionedQuery(stationCodes, 950, (entityManager, partition) -> {
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteAndSurroundingDates> siteQuery = cb
+          .createQuery(SiteAndSurroundingDates.class);
 
-          // site dao query from the main site and surrounding dates
-          Root<SiteDao> fromSite = siteQuery.from(SiteDao.class);
-          Path<String> staCodePath = fromSite.get(ID).get(STATION_CODE);
+        // site dao query from the main site and surrounding dates
+        Root<SiteDao> fromSite = siteQuery.from(SiteDao.class);
+        Path<String> staCodePath = fromSite.get(ID).get(STATION_CODE);
 
-          var predicate = cb.and(staCodePath.in(partition),
-            cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), effectiveAt),
-            cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), effectiveAt));
+        var predicate = cb.and(staCodePath.in(partition),
+          cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), effectiveAt),
+          cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), effectiveAt));
 
-          var finalQuery = getSiteAndSurroundingDatesQuery(predicate, cb, siteQuery, fromSite);
+        var finalQuery = getSiteAndSurroundingDatesQuery(predicate, cb, siteQuery, fromSite);
 
-          return entityManager.createQuery(finalQuery).getResultList();
-        }));
+        return entityManager.createQuery(finalQuery).getResultList();
+      });
     }
   }
   
@@ -361,24 +346,23 @@ public class SiteDatabaseConnector extends DatabaseConnector {
       logger.debug(MISSING_STATION_NAME_LIST_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager
-        -> runPartitionedQuery(stationCodes, 950, partition -> {
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<SiteAndSurroundingDates> siteQuery = cb
-            .createQuery(SiteAndSurroundingDates.class);
+      return runPartitionedQuery(stationCodes, 950, (entityManager, partition) -> {
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<SiteAndSurroundingDates> siteQuery = cb
+          .createQuery(SiteAndSurroundingDates.class);
 
-          // site dao query from the main site and surrounding dates
-          Root<SiteDao> fromSite = siteQuery.from(SiteDao.class);
-          Path<String> staCodePath = fromSite.get(ID).get(STATION_CODE);
+        // site dao query from the main site and surrounding dates
+        Root<SiteDao> fromSite = siteQuery.from(SiteDao.class);
+        Path<String> staCodePath = fromSite.get(ID).get(STATION_CODE);
 
-          var predicate = cb.and(staCodePath.in(partition),
-            cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), startTime),
-            cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), endTime));
+        var predicate = cb.and(staCodePath.in(partition),
+          cb.greaterThanOrEqualTo(fromSite.get(OFF_DATE), startTime),
+          cb.lessThanOrEqualTo(fromSite.get(ID).get(ON_DATE), endTime));
 
-          var finalQuery = getSiteAndSurroundingDatesQuery(predicate, cb, siteQuery, fromSite);
+        var finalQuery = getSiteAndSurroundingDatesQuery(predicate, cb, siteQuery, fromSite);
 
-          return entityManager.createQuery(finalQuery).getResultList();
-        }));
+        return entityManager.createQuery(finalQuery).getResultList();
+      });
     }
   }
 
@@ -5,6 +5,7 @@ import gms.shared.stationdefinition.dao.css.StationChannelTimeKey;
 import gms.shared.stationdefinition.dao.css.WfdiscDao;
 import gms.shared.stationdefinition.dao.css.enums.SegType;
 import gms.shared.utilities.bridge.database.connector.DatabaseConnector;
+import gms.shared.utilities.bridge.database.connector.PartitionedQueryExecutor.ResultOrder;
 import org.apache.commons.lang3.Validate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -62,24 +63,23 @@ public class WfdiscDatabaseConnector extends DatabaseConnector {
       logger.debug("Request for Wfdiscs by wfids was given an empty list of keys");
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager ->
-        runPartitionedQuery(wfids, 250, partitionedWfids -> {
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
-          Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
-
-          query.select(fromWfdisc);
-          query.where(
-            cb.or(
-              partitionedWfids.stream()
-                .map(wfid ->
-                  cb.equal(fromWfdisc.get(ID), wfid)
-                )
-                .toArray(Predicate[]::new)
-            ));
+      return runPartitionedQuery(wfids, 250, (entityManager, partitionedWfids) -> {
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
+        Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
 
-          return entityManager.createQuery(query).getResultList();
-        }));
+        query.select(fromWfdisc);
+        query.where(
+          cb.or(
+            partitionedWfids.stream()
+              .map(wfid ->
+                cb.equal(fromWfdisc.get(ID), wfid)
+              )
+              .toArray(Predicate[]::new)
+          ));
+
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -101,26 +101,24 @@ public class WfdiscDatabaseConnector extends DatabaseConnector {
       logger.debug(EMPTY_LIST_OF_KEYS_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager ->
-        runPartitionedQuery(siteChanKeys, 500, keySubList -> {
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
-
-          Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
-          query.select(fromWfdisc);
-          query.where(
-            cb.or(
-              keySubList.stream()
-                .map(k -> cb.and(
-                cb.equal(fromWfdisc.get(STATION_CODE), k.getStationCode()),
-                cb.equal(fromWfdisc.get(CHANNEL_CODE), k.getChannelCode()),
-                cb.lessThan(fromWfdisc.get(TIME), getNextVersionStartTime(cb, query, k, effectiveTime))
-              ))
-                .toArray(Predicate[]::new)
-            ));
-          return entityManager.createQuery(query).getResultList();
-        })
-      );
+      return runPartitionedQuery(siteChanKeys, 500, (entityManager, keySubList) -> {
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
+
+        Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
+        query.select(fromWfdisc);
+        query.where(
+          cb.or(
+            keySubList.stream()
+              .map(k -> cb.and(
+              cb.equal(fromWfdisc.get(STATION_CODE), k.getStationCode()),
+              cb.equal(fromWfdisc.get(CHANNEL_CODE), k.getChannelCode()),
+              cb.lessThan(fromWfdisc.get(TIME), getNextVersionStartTime(cb, query, k, effectiveTime))
+            ))
+              .toArray(Predicate[]::new)
+          ));
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -201,28 +199,26 @@ public class WfdiscDatabaseConnector extends DatabaseConnector {
       logger.debug(EMPTY_LIST_OF_KEYS_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager ->
-        runPartitionedQuery(siteChanKeys, 500, keySubList -> {
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
-          Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
-
-          query.select(fromWfdisc);
-          query.where(
-            cb.or(
-              keySubList.stream()
-                .map(k -> cb.and(
-                cb.equal(fromWfdisc.get(STATION_CODE), k.getStationCode()),
-                cb.equal(fromWfdisc.get(CHANNEL_CODE), k.getChannelCode()),
-                cb.lessThanOrEqualTo(fromWfdisc.get(TIME), effectiveTime),
-                cb.greaterThanOrEqualTo(fromWfdisc.get(END_TIME), effectiveTime)
-              ))
-                .toArray(Predicate[]::new)
-            ));
+      return runPartitionedQuery(siteChanKeys, 500, (entityManager, keySubList) -> {
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
+        Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
 
-          return entityManager.createQuery(query).getResultList();
-        })
-      );
+        query.select(fromWfdisc);
+        query.where(
+          cb.or(
+            keySubList.stream()
+              .map(k -> cb.and(
+              cb.equal(fromWfdisc.get(STATION_CODE), k.getStationCode()),
+              cb.equal(fromWfdisc.get(CHANNEL_CODE), k.getChannelCode()),
+              cb.lessThanOrEqualTo(fromWfdisc.get(TIME), effectiveTime),
+              cb.greaterThanOrEqualTo(fromWfdisc.get(END_TIME), effectiveTime)
+            ))
+              .toArray(Predicate[]::new)
+          ));
+
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
@@ -250,35 +246,35 @@ public class WfdiscDatabaseConnector extends DatabaseConnector {
       logger.debug(EMPTY_LIST_OF_KEYS_ERROR);
       return new ArrayList<>();
     } else {
-      return runWithEntityManager(entityManager ->
-        runPartitionedQuery(siteChanKeys, 250, keySubList -> {
-          var cb = entityManager.getCriteriaBuilder();
-          CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
-          Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
-
-          query.select(fromWfdisc);
-          query.where(
-            cb.and(
-              cb.or(
-                keySubList.stream()
-                  .map(k -> cb.and(
-                  cb.equal(fromWfdisc.get(STATION_CODE), k.getStationCode()),
-                  cb.equal(fromWfdisc.get(CHANNEL_CODE), k.getChannelCode())
-                )).toArray(Predicate[]::new)),
-              cb.greaterThanOrEqualTo(fromWfdisc.get(END_TIME), startTime),
-              cb.lessThanOrEqualTo(fromWfdisc.get(TIME), endTime)),
-            cb.equal(fromWfdisc.get(SEG_TYPE), SegType.ORIGINAL)
-          ).orderBy(cb.asc(fromWfdisc.get(TIME)));
-
-          return entityManager.createQuery(query).getResultList();
-        }));
+      return runPartitionedQuery(siteChanKeys, 250, (entityManager, keySubList) -> {
+        var cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
+        Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
+
+        query.select(fromWfdisc);
+        query.where(
+          cb.and(
+            cb.or(
+              keySubList.stream()
+                .map(k -> cb.and(
+                cb.equal(fromWfdisc.get(STATION_CODE), k.getStationCode()),
+                cb.equal(fromWfdisc.get(CHANNEL_CODE), k.getChannelCode())
+              )).toArray(Predicate[]::new)),
+            cb.greaterThanOrEqualTo(fromWfdisc.get(END_TIME), startTime),
+            cb.lessThanOrEqualTo(fromWfdisc.get(TIME), endTime)),
+          cb.equal(fromWfdisc.get(SEG_TYPE), SegType.ORIGINAL)
+        ).orderBy(cb.asc(fromWfdisc.get(TIME)));
+
+        return entityManager.createQuery(query).getResultList();
+      });
     }
   }
 
   public List<WfdiscDao> findWfDiscVersionAfterEffectiveTime(Collection<SiteChanKey> siteChanKeys) {
 
-    List<Tuple> resultSet = runWithEntityManager(entityManager ->
-      runPartitionedQuery(siteChanKeys, 250, partitionedSiteChanKeys -> {
+    // Only the rows matter here, not their order, as they are partitioned again below
+    List<Tuple> resultSet = runPartitionedQuery(siteChanKeys, 250, ResultOrder.COMPLETION,
+      (entityManager, partitionedSiteChanKeys) -> {
         var cb = entityManager.getCriteriaBuilder();
         CriteriaQuery<Tuple> query = cb.createQuery(Tuple.class);
         Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
@@ -295,25 +291,24 @@ public class WfdiscDatabaseConnector extends DatabaseConnector {
                 .toArray(Predicate[]::new)
             )).groupBy(fromWfdisc.get(STATION_CODE), fromWfdisc.get(CHANNEL_CODE));
         return entityManager.createQuery(query).getResultList();
-      }));
-    return runWithEntityManager(entityManager ->
-      runPartitionedQuery(resultSet, 250, partitionedResultSet -> {
-        var cb = entityManager.getCriteriaBuilder();
-        CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
-        Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
-        query.select(fromWfdisc)
-          .where(
-            cb.or(
-              partitionedResultSet.stream()
-                .map(k -> cb.and(
-                cb.equal(fromWfdisc.get(STATION_CODE), k.get(0)),
-                cb.equal(fromWfdisc.get(CHANNEL_CODE), k.get(1)),
-                cb.equal(fromWfdisc.get(TIME), k.get(2))
-              ))
-                .toArray(Predicate[]::new)
-            )).orderBy(cb.asc(fromWfdisc.get(TIME)));
-        return entityManager.createQuery(query).getResultList();
-      }));
+      });
+    return runPartitionedQuery(resultSet, 250, (entityManager, partitionedResultSet) -> {
+      var cb = entityManager.getCriteriaBuilder();
+      CriteriaQuery<WfdiscDao> query = cb.createQuery(WfdiscDao.class);
+      Root<WfdiscDao> fromWfdisc = query.from(WfdiscDao.class);
+      query.select(fromWfdisc)
+        .where(
+          cb.or(
+            partitionedResultSet.stream()
+              .map(k -> cb.and(
+              cb.equal(fromWfdisc.get(STATION_CODE), k.get(0)),
+              cb.equal(fromWfdisc.get(CHANNEL_CODE), k.get(1)),
+              cb.equal(fromWfdisc.get(TIME), k.get(2))
+            ))
+              .toArray(Predicate[]::new)
+          )).orderBy(cb.asc(fromWfdisc.get(TIME)));
+      return entityManager.createQuery(query).getResultList();
+    });
   }
 
   /**
@@ -0,0 +1,93 @@
+package gms.shared.stationdefinition.database.connector;
+
+import gms.shared.stationdefinition.dao.css.SiteChanAndSurroundingDates;
+import gms.shared.stationdefinition.dao.css.SiteChanKey;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SiteChanDatabaseConnectorTest {
+
+  private static final String JDBC_URL =
+    "jdbc:h2:mem:sitechan_database_connector_test;USER=GMS_GLOBAL;MODE=Oracle;DB_CLOSE_DELAY=-1";
+  private static final Instant ON_DATE = Instant.parse("2000-01-01T00:00:00Z");
+
+  // Each station has both channels, so matching every requested channel at every requested station returns all four
+  private static final List<SiteChanKey> SITE_CHAN_KEYS = List.of(
+    new SiteChanKey("STA1", "BHZ", ON_DATE),
+    new SiteChanKey("STA2", "BHN", ON_DATE));
+
+  private static Connection connection;
+  private static EntityManagerFactory entityManagerFactory;
+  private static SiteChanDatabaseConnector siteChanDatabaseConnector;
+
+  @BeforeAll
+  static void setUp() throws SQLException {
+    connection = DriverManager.getConnection(JDBC_URL);
+    try (var statement = connection.createStatement()) {
+      statement.execute("CREATE SCHEMA IF NOT EXISTS GMS_GLOBAL AUTHORIZATION GMS_GLOBAL");
+      statement.execute("CREATE TABLE GMS_GLOBAL.SITECHAN (STA VARCHAR2(6) NOT NULL, CHAN VARCHAR2(8) NOT NULL, " +
+        "ONDATE NUMBER(8) NOT NULL, CHANID NUMBER(8), OFFDATE NUMBER(8), CTYPE VARCHAR2(4), EDEPTH FLOAT(24), " +
+        "HANG FLOAT(24), VANG FLOAT(24), DESCRIP VARCHAR2(50), LDDATE DATE, PRIMARY KEY (STA, CHAN, ONDATE))");
+      statement.execute("INSERT INTO GMS_GLOBAL.SITECHAN VALUES " +
+        "('STA1', 'BHZ', 2000001, 1, 2286324, 'n', 0, -1, 0, 'test', CURRENT_TIMESTAMP), " +
+        "('STA1', 'BHN', 2000001, 2, 2286324, 'n', 0, 0, 90, 'test', CURRENT_TIMESTAMP), " +
+        "('STA2', 'BHZ', 2000001, 3, 2286324, 'n', 0, -1, 0, 'test', CURRENT_TIMESTAMP), " +
+        "('STA2', 'BHN', 2000001, 4, 2286324, 'n', 0, 0, 90, 'test', CURRENT_TIMESTAMP)");
+    }
+
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_station_definition", Map.ofEntries(
+      Map.entry("javax.persistence.jdbc.driver", "org.h2.Driver"),
+      Map.entry("javax.persistence.jdbc.url", JDBC_URL),
+      Map.entry("hibernate.dialect", "org.hibernate.dialect.H2Dialect"),
+      Map.entry("hibernate.default_schema", "GMS_GLOBAL"),
+      Map.entry("hibernate.synonyms", "false")));
+    siteChanDatabaseConnector = new SiteChanDatabaseConnector(entityManagerFactory);
+  }
+
+  @AfterAll
+  static void tearDown() throws SQLException {
+    entityManagerFactory.close();
+    try (var statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+    connection.close();
+  }
+
+  @Test
+  void testFindSiteChansAndSurroundingDatesByKeysAndTimeMatchesOnlyRequestedPairs() {
+    var siteChans = siteChanDatabaseConnector.findSiteChansAndSurroundingDatesByKeysAndTime(SITE_CHAN_KEYS,
+      Instant.parse("2010-01-01T00:00:00Z"));
+
+    assertEquals(Set.of("STA1.BHZ", "STA2.BHN"), stationChannels(siteChans));
+  }
+
+  @Test
+  void testFindSiteChansAndSurroundingDatesByKeysAndTimeRangeMatchesOnlyRequestedPairs() {
+    var siteChans = siteChanDatabaseConnector.findSiteChansAndSurroundingDatesByKeysAndTimeRange(SITE_CHAN_KEYS,
+      Instant.parse("2010-01-01T00:00:00Z"), Instant.parse("2010-01-02T00:00:00Z"));
+
+    assertEquals(Set.of("STA1.BHZ", "STA2.BHN"), stationChannels(siteChans));
+  }
+
+  private static Set<String> stationChannels(List<SiteChanAndSurroundingDates> siteChans) {
+    assertEquals(2, siteChans.size());
+    return siteChans.stream()
+      .map(SiteChanAndSurroundingDates::getSiteChanDao)
+      .map(siteChan -> siteChan.getId().getStationCode() + "." + siteChan.getId().getChannelCode())
+      .collect(Collectors.toSet());
+  }
+}
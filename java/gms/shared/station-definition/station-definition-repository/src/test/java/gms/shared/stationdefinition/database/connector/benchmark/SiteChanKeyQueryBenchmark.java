@@ -0,0 +1,168 @@
+package gms.shared.stationdefinition.database.connector.benchmark;
+
+import gms.shared.stationdefinition.dao.css.SiteChanAndSurroundingDates;
+import gms.shared.stationdefinition.dao.css.SiteChanKey;
+import gms.shared.stationdefinition.database.connector.SiteChanDatabaseConnector;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.Persistence;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares {@link SiteChanDatabaseConnector#findSiteChansAndSurroundingDatesByKeysAndTime}, which matches the exact
+ * (station, channel) pairs of its keys, with the query it replaced, which matched the IN list of every station code of
+ * the keys against the IN list of every channel code, against an H2 database in Oracle mode.
+ * <p>
+ * Each station requests one of its channels, so the replaced query returns every channel of every station. Run using
+ * the main method from the test runtime classpath. The rows secondary result is the number of SiteChans hydrated per
+ * second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SiteChanKeyQueryBenchmark {
+
+  private static final String JDBC_URL =
+    "jdbc:h2:mem:sitechan_key_query_benchmark;USER=GMS_GLOBAL;MODE=Oracle;DB_CLOSE_DELAY=-1";
+  private static final Instant EFFECTIVE_AT = Instant.parse("2010-01-01T00:00:00Z");
+
+  private static final String CROSS_PRODUCT_QUERY = "select new " +
+    "gms.shared.stationdefinition.dao.css.SiteChanAndSurroundingDates(siteChan, " +
+    "(select previousSiteChan.offDate from SiteChanDao previousSiteChan " +
+    "where previousSiteChan.id.stationCode = siteChan.id.stationCode " +
+    "and previousSiteChan.id.channelCode = siteChan.id.channelCode " +
+    "and previousSiteChan.offDate = siteChan.id.onDate), " +
+    "(select nextSiteChan.id.onDate from SiteChanDao nextSiteChan " +
+    "where nextSiteChan.id.stationCode = siteChan.id.stationCode " +
+    "and nextSiteChan.id.channelCode = siteChan.id.channelCode " +
+    "and nextSiteChan.id.onDate = siteChan.offDate)) " +
+    "from SiteChanDao siteChan " +
+    "where siteChan.id.stationCode in :stationCodes and siteChan.id.channelCode in :channelCodes " +
+    "and siteChan.id.onDate <= :effectiveAt and siteChan.offDate >= :effectiveAt";
+
+  @Param({"200"})
+  private int stationCount;
+
+  @Param({"3", "20"})
+  private int channelCount;
+
+  private Connection connection;
+  private EntityManagerFactory entityManagerFactory;
+  private SiteChanDatabaseConnector siteChanDatabaseConnector;
+  private List<SiteChanKey> siteChanKeys;
+
+  @Setup(Level.Trial)
+  public void setUp() throws SQLException {
+    connection = DriverManager.getConnection(JDBC_URL);
+    try (var statement = connection.createStatement()) {
+      statement.execute("CREATE SCHEMA IF NOT EXISTS GMS_GLOBAL AUTHORIZATION GMS_GLOBAL");
+      statement.execute("CREATE TABLE GMS_GLOBAL.SITECHAN (STA VARCHAR2(6) NOT NULL, CHAN VARCHAR2(8) NOT NULL, " +
+        "ONDATE NUMBER(8) NOT NULL, CHANID NUMBER(8), OFFDATE NUMBER(8), CTYPE VARCHAR2(4), EDEPTH FLOAT(24), " +
+        "HANG FLOAT(24), VANG FLOAT(24), DESCRIP VARCHAR2(50), LDDATE DATE, PRIMARY KEY (STA, CHAN, ONDATE))");
+      statement.execute("INSERT INTO GMS_GLOBAL.SITECHAN " +
+        "SELECT 'STA' || S.X, 'CH' || C.X, 2000001, S.X * 100 + C.X, 2286324, 'n', 0, -1, 0, 'benchmark', " +
+        "CURRENT_TIMESTAMP " +
+        "FROM SYSTEM_RANGE(1, " + stationCount + ") S, SYSTEM_RANGE(1, " + channelCount + ") C");
+    }
+
+    entityManagerFactory = Persistence.createEntityManagerFactory("gms_station_definition", Map.ofEntries(
+      Map.entry("javax.persistence.jdbc.driver", "org.h2.Driver"),
+      Map.entry("javax.persistence.jdbc.url", JDBC_URL),
+      Map.entry("hibernate.dialect", "org.hibernate.dialect.H2Dialect"),
+      Map.entry("hibernate.default_schema", "GMS_GLOBAL"),
+      Map.entry("hibernate.synonyms", "false")));
+    siteChanDatabaseConnector = new SiteChanDatabaseConnector(entityManagerFactory);
+
+    siteChanKeys = IntStream.rangeClosed(1, stationCount)
+      .mapToObj(station -> new SiteChanKey("STA" + station, "CH" + (station % channelCount + 1),
+        Instant.parse("2000-01-01T00:00:00Z")))
+      .collect(Collectors.toList());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    entityManagerFactory.close();
+    try (var statement = connection.createStatement()) {
+      statement.execute("DROP ALL OBJECTS");
+    }
+    connection.close();
+  }
+
+  @Benchmark
+  public List<SiteChanAndSurroundingDates> exactKeys(RowCounter rowCounter) {
+    var siteChans = siteChanDatabaseConnector.findSiteChansAndSurroundingDatesByKeysAndTime(siteChanKeys,
+      EFFECTIVE_AT);
+    rowCounter.rows += siteChans.size();
+    return siteChans;
+  }
+
+  @Benchmark
+  public List<SiteChanAndSurroundingDates> crossProduct(RowCounter rowCounter) {
+    var entityManager = entityManagerFactory.createEntityManager();
+    try {
+      var siteChans = entityManager.createQuery(CROSS_PRODUCT_QUERY, SiteChanAndSurroundingDates.class)
+        .setParameter("stationCodes", siteChanKeys.stream()
+          .map(SiteChanKey::getStationCode)
+          .collect(Collectors.toList()))
+        .setParameter("channelCodes", siteChanKeys.stream()
+          .map(SiteChanKey::getChannelCode)
+          .collect(Collectors.toList()))
+        .setParameter("effectiveAt", EFFECTIVE_AT)
+        .getResultList();
+      rowCounter.rows += siteChans.size();
+      return siteChans;
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  /**
+   * Counts the SiteChans hydrated, reported by JMH as a rate alongside the query rate
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class RowCounter {
+
+    public long rows;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      rows = 0;
+    }
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(SiteChanKeyQueryBenchmark.class.getSimpleName())
+      .build())
+      .run();
+  }
+}
@@ -1,21 +1,34 @@
 package gms.shared.utilities.bridge.database.connector;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Lists;
+import gms.shared.utilities.bridge.database.connector.PartitionedQueryExecutor.ResultOrder;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 public abstract class DatabaseConnector {
 
   private final EntityManagerFactory entityManagerFactory;
+  private final Supplier<PartitionedQueryExecutor> partitionedQueryExecutor;
 
   protected DatabaseConnector(EntityManagerFactory entityManagerFactory) {
     this.entityManagerFactory = entityManagerFactory;
+    // Resolved on first use, as the factory's properties are not needed until a partition is queried
+    this.partitionedQueryExecutor = Suppliers.memoize(() -> PartitionedQueryExecutor.create(entityManagerFactory));
+  }
+
+  protected DatabaseConnector(EntityManagerFactory entityManagerFactory,
+    PartitionedQueryExecutor partitionedQueryExecutor) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.partitionedQueryExecutor = Suppliers.ofInstance(partitionedQueryExecutor);
   }
 
   protected <T> T runWithEntityManager(Function<EntityManager, T> entityManagerFunction) {
@@ -42,4 +55,33 @@ public abstract class DatabaseConnector {
       .flatMap(Collection::stream)
       .collect(Collectors.toList());
   }
+
+  /**
+   * Breaks the query into partitionSize batches and makes concurrent Oracle queries for the partitions, each on its own
+   * {@link EntityManager}, returning the rows in partition order
+   *
+   * @param queryParams - query params to partition
+   * @param partitionSize - number of params in each partition
+   * @param partitionQueryFunction - function to query for each partition, given the partition's EntityManager
+   * @return list of DAOs
+   */
+  protected <P, T> List<T> runPartitionedQuery(Collection<P> queryParams, int partitionSize,
+    BiFunction<EntityManager, List<P>, List<T>> partitionQueryFunction) {
+    return runPartitionedQuery(queryParams, partitionSize, ResultOrder.PARTITION, partitionQueryFunction);
+  }
+
+  /**
+   * Breaks the query into partitionSize batches and makes concurrent Oracle queries for the partitions, each on its own
+   * {@link EntityManager}
+   *
+   * @param queryParams - query params to partition
+   * @param partitionSize - number of params in each partition
+   * @param resultOrder - order of the returned rows
+   * @param partitionQueryFunction - function to query for each partition, given the partition's EntityManager
+   * @return list of DAOs
+   */
+  protected <P, T> List<T> runPartitionedQuery(Collection<P> queryParams, int partitionSize,
+    ResultOrder resultOrder, BiFunction<EntityManager, List<P>, List<T>> partitionQueryFunction) {
+    return partitionedQueryExecutor.get().execute(queryParams, partitionSize, resultOrder, partitionQueryFunction);
+  }
 }
@@ -0,0 +1,232 @@
+package gms.shared.utilities.bridge.database.connector;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the partitions of a partitioned query concurrently, each on its own {@link EntityManager}, as EntityManagers
+ * are not thread safe. At most parallelism partitions of a query run at once, and once a partition fails the partitions
+ * still running are cancelled and the rest are not started.
+ */
+public class PartitionedQueryExecutor {
+
+  private static final Logger logger = LoggerFactory.getLogger(PartitionedQueryExecutor.class);
+
+  /**
+   * Entity manager factory property overriding the number of partitions of a query run at once
+   */
+  public static final String PARALLELISM_KEY = "gms.partitioned_query.parallelism";
+  static final int DEFAULT_PARALLELISM = 4;
+
+  private static final String CONNECTION_POOL_SIZE_KEY = "hibernate.c3p0.max_size";
+
+  // Shared by every executor, as each query bounds the partitions it runs itself
+  private static final ExecutorService partitionThreads = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+    .setNameFormat("partitioned-query-%d")
+    .setDaemon(true)
+    .build());
+
+  /**
+   * Order of the rows of a partitioned query
+   */
+  public enum ResultOrder {
+    /**
+     * Rows in the order of the partitions they were queried by, as if the partitions ran one after another
+     */
+    PARTITION,
+    /**
+     * Rows of each partition as soon as it completes, for callers that do not depend on the order
+     */
+    COMPLETION
+  }
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final int parallelism;
+
+  private PartitionedQueryExecutor(EntityManagerFactory entityManagerFactory, int parallelism) {
+    this.entityManagerFactory = entityManagerFactory;
+    this.parallelism = parallelism;
+  }
+
+  /**
+   * Creates a {@link PartitionedQueryExecutor} running at most parallelism partitions of a query at once
+   *
+   * @param entityManagerFactory creates the {@link EntityManager} of each partition
+   * @param parallelism the number of partitions of a query run at once
+   * @return a {@link PartitionedQueryExecutor}
+   */
+  public static PartitionedQueryExecutor create(EntityManagerFactory entityManagerFactory, int parallelism) {
+    Objects.requireNonNull(entityManagerFactory);
+    Preconditions.checkArgument(parallelism > 0, "Parallelism must be positive");
+
+    return new PartitionedQueryExecutor(entityManagerFactory, parallelism);
+  }
+
+  /**
+   * Creates a {@link PartitionedQueryExecutor} whose parallelism is the {@link #PARALLELISM_KEY} property of the
+   * entity manager factory if it is set, and otherwise a default bounded by the factory's connection pool size
+   *
+   * @param entityManagerFactory creates the {@link EntityManager} of each partition
+   * @return a {@link PartitionedQueryExecutor}
+   */
+  public static PartitionedQueryExecutor create(EntityManagerFactory entityManagerFactory) {
+    Objects.requireNonNull(entityManagerFactory);
+
+    var properties = Optional.ofNullable(entityManagerFactory.getProperties());
+    var parallelism = properties.map(props -> props.get(PARALLELISM_KEY))
+      .map(value -> Integer.parseInt(value.toString()))
+      .orElseGet(() -> properties.map(props -> props.get(CONNECTION_POOL_SIZE_KEY))
+        .map(value -> Math.min(DEFAULT_PARALLELISM, Integer.parseInt(value.toString())))
+        .orElse(DEFAULT_PARALLELISM));
+
+    return create(entityManagerFactory, Math.max(1, parallelism));
+  }
+
+  public int getParallelism() {
+    return parallelism;
+  }
+
+  /**
+   * Breaks the query into partitionSize batches and queries each partition on its own {@link EntityManager}
+   *
+   * @param queryParams query params to partition
+   * @param partitionSize number of params in each partition
+   * @param resultOrder order of the returned rows
+   * @param partitionQueryFunction function to query for each partition, given the partition's EntityManager
+   * @return list of DAOs
+   */
+  public <P, T> List<T> execute(Collection<P> queryParams, int partitionSize, ResultOrder resultOrder,
+    BiFunction<EntityManager, List<P>, List<T>> partitionQueryFunction) {
+
+    Objects.requireNonNull(queryParams);
+    Objects.requireNonNull(resultOrder);
+    Objects.requireNonNull(partitionQueryFunction);
+    Preconditions.checkArgument(partitionSize > 0, "Partition size must be positive");
+
+    var partitions = Lists.partition(new ArrayList<>(queryParams), partitionSize);
+
+    // Nothing to overlap, so skip the hand off to another thread
+    if (partitions.size() <= 1 || parallelism == 1) {
+      return partitions.stream()
+        .map(partition -> queryPartition(partition, partitionQueryFunction))
+        .flatMap(Collection::stream)
+        .collect(Collectors.toList());
+    }
+
+    return executeConcurrently(partitions, resultOrder, partitionQueryFunction);
+  }
+
+  private <P, T> List<T> executeConcurrently(List<List<P>> partitions, ResultOrder resultOrder,
+    BiFunction<EntityManager, List<P>, List<T>> partitionQueryFunction) {
+
+    CompletionService<PartitionRows<T>> completionService = new ExecutorCompletionService<>(partitionThreads);
+    var futures = new ArrayList<Future<PartitionRows<T>>>(partitions.size());
+    var rowsByPartition = new ArrayList<List<T>>(Collections.nCopies(partitions.size(), null));
+    var rows = new ArrayList<T>();
+
+    try {
+      while (futures.size() < Math.min(parallelism, partitions.size())) {
+        futures.add(submit(completionService, futures.size(), partitions, partitionQueryFunction));
+      }
+
+      for (var completed = 0; completed < partitions.size(); completed++) {
+        var partitionRows = completionService.take().get();
+        if (resultOrder == ResultOrder.COMPLETION) {
+          rows.addAll(partitionRows.getRows());
+        } else {
+          rowsByPartition.set(partitionRows.getPartition(), partitionRows.getRows());
+        }
+
+        if (futures.size() < partitions.size()) {
+          futures.add(submit(completionService, futures.size(), partitions, partitionQueryFunction));
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new DatabaseConnectorException("Interrupted while running partitioned query", e);
+    } catch (ExecutionException e) {
+      var cause = e.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      } else if (cause instanceof Error) {
+        throw (Error) cause;
+      }
+      throw new DatabaseConnectorException("Partitioned query failed", e);
+    } finally {
+      // Only partitions still running or waiting are affected, once one has failed
+      futures.forEach(future -> future.cancel(true));
+    }
+
+    if (resultOrder == ResultOrder.PARTITION) {
+      rowsByPartition.forEach(rows::addAll);
+    }
+    return rows;
+  }
+
+  private <P, T> Future<PartitionRows<T>> submit(CompletionService<PartitionRows<T>> completionService,
+    int partition, List<List<P>> partitions, BiFunction<EntityManager, List<P>, List<T>> partitionQueryFunction) {
+
+    return completionService.submit(() ->
+      new PartitionRows<>(partition, queryPartition(partitions.get(partition), partitionQueryFunction)));
+  }
+
+  private <P, T> List<T> queryPartition(List<P> partition,
+    BiFunction<EntityManager, List<P>, List<T>> partitionQueryFunction) {
+
+    var start = System.nanoTime();
+    var entityManager = entityManagerFactory.createEntityManager();
+    try {
+      var rows = partitionQueryFunction.apply(entityManager, partition);
+
+      var millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+      PartitionedQueryMetrics.partitionQueried(millis);
+      logger.debug("Queried partition of {} params for {} rows in {} ms", partition.size(), rows.size(), millis);
+      return rows;
+    } catch (RuntimeException e) {
+      PartitionedQueryMetrics.partitionFailed();
+      throw e;
+    } finally {
+      entityManager.close();
+    }
+  }
+
+  private static class PartitionRows<T> {
+
+    private final int partition;
+    private final List<T> rows;
+
+    private PartitionRows(int partition, List<T> rows) {
+      this.partition = partition;
+      this.rows = rows;
+    }
+
+    int getPartition() {
+      return partition;
+    }
+
+    List<T> getRows() {
+      return rows;
+    }
+  }
+}
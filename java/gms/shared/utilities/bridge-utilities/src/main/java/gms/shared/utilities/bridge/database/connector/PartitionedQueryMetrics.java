@@ -0,0 +1,28 @@
+package gms.shared.utilities.bridge.database.connector;
+
+import gms.shared.metrics.ConcurrentLongMetric;
+
+/**
+ * Metrics for the partitions queried by {@link PartitionedQueryExecutor}, totalled over every executor in the process
+ */
+class PartitionedQueryMetrics {
+
+  private static final ConcurrentLongMetric partitionsQueried =
+    ConcurrentLongMetric.counter("bridged_partitions_queried:type=Counter");
+  private static final ConcurrentLongMetric partitionsFailed =
+    ConcurrentLongMetric.counter("bridged_partitions_failed:type=Counter");
+  private static final ConcurrentLongMetric partitionQueryMillis =
+    ConcurrentLongMetric.value("bridged_partition_query_millis:type=Value");
+
+  private PartitionedQueryMetrics() {
+  }
+
+  static void partitionQueried(long millis) {
+    partitionsQueried.increment();
+    partitionQueryMillis.update(millis);
+  }
+
+  static void partitionFailed() {
+    partitionsFailed.increment();
+  }
+}
@@ -0,0 +1,180 @@
+package gms.shared.utilities.bridge.database.connector;
+
+import gms.shared.utilities.bridge.database.connector.PartitionedQueryExecutor.ResultOrder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionedQueryExecutorTest {
+
+  private static final List<Integer> PARAMS = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  private final List<EntityManager> entityManagers = Collections.synchronizedList(new ArrayList<>());
+
+  @BeforeEach
+  void setUp() {
+    lenient().when(entityManagerFactory.createEntityManager()).then(invocation -> {
+      var entityManager = mock(EntityManager.class);
+      entityManagers.add(entityManager);
+      return entityManager;
+    });
+  }
+
+  @Test
+  void testCreateValidation() {
+    assertThrows(NullPointerException.class, () -> PartitionedQueryExecutor.create(null));
+    assertThrows(IllegalArgumentException.class, () -> PartitionedQueryExecutor.create(entityManagerFactory, 0));
+  }
+
+  @Test
+  void testParallelismFromProperties() {
+    when(entityManagerFactory.getProperties()).thenReturn(Map.of());
+    assertEquals(PartitionedQueryExecutor.DEFAULT_PARALLELISM,
+      PartitionedQueryExecutor.create(entityManagerFactory).getParallelism());
+
+    when(entityManagerFactory.getProperties()).thenReturn(Map.of("hibernate.c3p0.max_size", "2"));
+    assertEquals(2, PartitionedQueryExecutor.create(entityManagerFactory).getParallelism());
+
+    when(entityManagerFactory.getProperties()).thenReturn(Map.of(
+      "hibernate.c3p0.max_size", "2",
+      PartitionedQueryExecutor.PARALLELISM_KEY, "8"));
+    assertEquals(8, PartitionedQueryExecutor.create(entityManagerFactory).getParallelism());
+  }
+
+  @Test
+  void testPartitionOrder() {
+    var executor = PartitionedQueryExecutor.create(entityManagerFactory, 4);
+
+    var rows = executor.execute(PARAMS, 7, ResultOrder.PARTITION, (entityManager, partition) -> {
+      // Later partitions finish first
+      sleep(100 - partition.get(0));
+      return partition;
+    });
+
+    assertEquals(PARAMS, rows);
+  }
+
+  @Test
+  void testCompletionOrder() {
+    var executor = PartitionedQueryExecutor.create(entityManagerFactory, 4);
+
+    var rows = executor.execute(PARAMS, 7, ResultOrder.COMPLETION, (entityManager, partition) -> partition);
+
+    assertEquals(PARAMS.size(), rows.size());
+    assertEquals(Set.copyOf(PARAMS), Set.copyOf(rows));
+  }
+
+  @Test
+  void testEachPartitionOnItsOwnEntityManager() {
+    var executor = PartitionedQueryExecutor.create(entityManagerFactory, 4);
+    var usedEntityManagers = ConcurrentHashMap.<EntityManager>newKeySet();
+
+    executor.execute(PARAMS, 10, ResultOrder.PARTITION, (entityManager, partition) -> {
+      usedEntityManagers.add(entityManager);
+      return partition;
+    });
+
+    assertEquals(10, usedEntityManagers.size());
+    assertEquals(new HashSet<>(entityManagers), usedEntityManagers);
+    entityManagers.forEach(entityManager -> verify(entityManager).close());
+  }
+
+  @Test
+  void testParallelismBound() {
+    var executor = PartitionedQueryExecutor.create(entityManagerFactory, 3);
+    var running = new AtomicInteger();
+    var maximumRunning = new AtomicInteger();
+
+    executor.execute(PARAMS, 5, ResultOrder.PARTITION, (entityManager, partition) -> {
+      maximumRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      sleep(5);
+      running.decrementAndGet();
+      return partition;
+    });
+
+    assertTrue(maximumRunning.get() <= 3);
+    assertTrue(maximumRunning.get() > 1);
+  }
+
+  @Test
+  void testFailureCancelsRemainingPartitions() throws InterruptedException {
+    var executor = PartitionedQueryExecutor.create(entityManagerFactory, 2);
+    var failure = new IllegalStateException("partition failed");
+    var started = new AtomicInteger();
+    var secondStarted = new CountDownLatch(1);
+    var interrupted = new CountDownLatch(1);
+
+    var thrown = assertThrows(IllegalStateException.class,
+      () -> executor.execute(PARAMS, 10, ResultOrder.PARTITION, (entityManager, partition) -> {
+        started.incrementAndGet();
+        try {
+          if (partition.get(0) == 0) {
+            // Fail only once the other partition is running, so there is one to cancel
+            secondStarted.await();
+            throw failure;
+          }
+          secondStarted.countDown();
+          Thread.sleep(10_000);
+        } catch (InterruptedException e) {
+          interrupted.countDown();
+          Thread.currentThread().interrupt();
+        }
+        return partition;
+      }));
+
+    assertSame(failure, thrown);
+    assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    assertEquals(2, started.get());
+  }
+
+  @Test
+  void testSinglePartitionRunsOnCallingThread() {
+    var executor = PartitionedQueryExecutor.create(entityManagerFactory, 4);
+    var caller = Thread.currentThread();
+
+    var rows = executor.execute(List.of(1, 2, 3), 10, ResultOrder.PARTITION, (entityManager, partition) -> {
+      assertSame(caller, Thread.currentThread());
+      return partition;
+    });
+
+    assertEquals(List.of(1, 2, 3), rows);
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -5,6 +5,8 @@ import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.google.auto.value.AutoValue;
 import com.google.common.collect.ImmutableMap;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiEncoding;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiSerializer;
 import gms.shared.frameworks.systemconfig.SystemConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -15,6 +17,7 @@ import org.apache.kafka.common.serialization.StringSerializer;
 import reactor.kafka.receiver.ReceiverOptions;
 import reactor.kafka.sender.SenderOptions;
 
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 
@@ -69,6 +72,21 @@ public abstract class KafkaConfiguration {
 
   public abstract int getHeartbeatInterval();
 
+  /**
+   * @return the {@link CoiEncoding} producers write COI objects in, {@link CoiEncoding#JSON} unless set
+   */
+  public abstract CoiEncoding getValueEncoding();
+
+  /**
+   * Creates a serializer writing COI objects in the configured {@link #getValueEncoding()}
+   *
+   * @param <T> Type of the value
+   * @return a {@link CoiSerializer}
+   */
+  public <T> CoiSerializer<T> createCoiSerializer() {
+    return new CoiSerializer<>(getValueEncoding());
+  }
+
   /**
    * Build the Kafka Reactor SenderOptions
    *
@@ -123,6 +141,8 @@ public abstract class KafkaConfiguration {
     return new AutoValue_KafkaConfiguration.Builder();
   }
 
+  public abstract Builder toBuilder();
+
   public static KafkaConfiguration create(SystemConfig systemConfig) {
     return KafkaConfiguration.builder()
       .setApplicationId(systemConfig.getValue("application-id"))
@@ -145,6 +165,7 @@ public abstract class KafkaConfiguration {
       .setAutoCommit(systemConfig.getValueAsBoolean("reactor-kafka-auto-commit"))
       .setAutoCommitInterval(systemConfig.getValueAsInt("reactor-kafka-auto-commit-interval"))
       .setHeartbeatInterval(systemConfig.getValueAsInt("reactor-kafka-consumer-heartbeat-interval"))
+      .setValueEncoding(CoiEncoding.valueOf(systemConfig.getValue("kafka-value-encoding").toUpperCase(Locale.ROOT)))
       .build();
   }
 
@@ -191,9 +212,18 @@ public abstract class KafkaConfiguration {
 
     Builder setHeartbeatInterval(int heartbeatInterval);
 
+    Builder setValueEncoding(CoiEncoding valueEncoding);
+
+    Optional<CoiEncoding> getValueEncoding();
+
     KafkaConfiguration autoBuild();
 
     default KafkaConfiguration build() {
+      // Defaulted here rather than in builder() so configuration deserialized without a valueEncoding still builds
+      if (getValueEncoding().isEmpty()) {
+        setValueEncoding(CoiEncoding.JSON);
+      }
+
       KafkaConfiguration kafkaConfig = autoBuild();
       checkArgument(isNotEmpty(kafkaConfig.getApplicationId()),
         "ReactorKafkaConfiguration requires non-null, non-empty applicationId");
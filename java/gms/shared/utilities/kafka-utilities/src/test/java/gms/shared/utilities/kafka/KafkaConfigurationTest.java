@@ -1,5 +1,9 @@
 package gms.shared.utilities.kafka;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiEncoding;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -10,6 +14,7 @@ import java.util.Optional;
 
 import static java.util.Collections.singleton;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class KafkaConfigurationTest {
@@ -56,6 +61,32 @@ class KafkaConfigurationTest {
     assertEquals(singleton(topic.get()), receiverOptions.subscriptionTopics());
   }
 
+  @Test
+  void testValueEncoding() {
+    var fixture = getDefaultFixture();
+    assertEquals(CoiEncoding.JSON, fixture.getValueEncoding());
+
+    var msgpackFixture = fixture.toBuilder().setValueEncoding(CoiEncoding.MSGPACK).build();
+    var msgpackBytes = msgpackFixture.<String>createCoiSerializer().serialize("topic", "value");
+    var jsonBytes = fixture.<String>createCoiSerializer().serialize("topic", "value");
+
+    assertEquals("\"value\"", new String(jsonBytes));
+    assertNotEquals(jsonBytes[0], msgpackBytes[0]);
+  }
+
+  @Test
+  void testDeserializeWithoutValueEncodingDefaultsToJson() throws JsonProcessingException {
+    var objectMapper = CoiObjectMapperFactory.getJsonObjectMapper();
+    var fixture = getDefaultFixture().toBuilder().setValueEncoding(CoiEncoding.MSGPACK).build();
+    var configurationJson = (ObjectNode) objectMapper.valueToTree(fixture);
+    configurationJson.remove("valueEncoding");
+
+    var deserialized = objectMapper.treeToValue(configurationJson, KafkaConfiguration.class);
+
+    assertEquals(CoiEncoding.JSON, deserialized.getValueEncoding());
+    assertEquals(fixture.getApplicationId(), deserialized.getApplicationId());
+  }
+
   KafkaConfiguration getDefaultFixture() {
     return KafkaConfiguration.builder()
       .setApplicationId("application-id")
@@ -0,0 +1,233 @@
+package gms.shared.utilities.signalprocessing.filter;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import gms.shared.frameworks.osd.coi.signaldetection.FilterDefinition;
+import gms.shared.frameworks.osd.coi.waveforms.Waveform;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * A stateful IIR or FIR filter that carries its delay lines from one call to the next, so consecutive blocks of a
+ * signal (e.g. the {@link Waveform}s of a live channel) are filtered as one continuous signal, without the transient a
+ * fresh filter produces at the start of each block.
+ * <p>
+ * Coefficients are normalized by the first A coefficient once, on creation. The delay lines are circular buffers, so
+ * each sample costs one pass over the coefficients and no moves of the delay line. Filtering into a caller supplied
+ * array (which may be the input array) allocates nothing.
+ * <p>
+ * Output matches {@link Iir#filter(double[], double[], double[])} and {@link Fir#filter(double[], double[])} applied
+ * to the whole signal. Instances are not thread safe; use one per channel.
+ */
+public class StreamingFilter {
+
+  /**
+   * Normalized feedforward coefficients b[0..P]
+   */
+  private final double[] bCoefficients;
+
+  /**
+   * Normalized feedback coefficients a[1..Q], a[0] being 1 after normalization
+   */
+  private final double[] aCoefficients;
+
+  /**
+   * Past inputs and outputs, each stored twice so the most recent values are always contiguous from the position:
+   * inputs[inputPosition + k] = x[n - k] and outputs[outputPosition + j] = y[n - 1 - j]
+   */
+  private final double[] inputs;
+  private final double[] outputs;
+  private int inputPosition;
+  private int outputPosition;
+
+  /**
+   * Start time the next {@link Waveform} must have to continue the filtered signal, null if none has been filtered
+   */
+  private Instant nextStartTime;
+
+  private StreamingFilter(double[] aCoefficients, double[] bCoefficients) {
+    double scale = 1 / aCoefficients[0];
+    this.bCoefficients = Arrays.copyOf(bCoefficients, bCoefficients.length);
+    for (int i = 0; i < this.bCoefficients.length; i++) {
+      this.bCoefficients[i] *= scale;
+    }
+    this.aCoefficients = Arrays.copyOfRange(aCoefficients, 1, aCoefficients.length);
+    for (int j = 0; j < this.aCoefficients.length; j++) {
+      this.aCoefficients[j] *= scale;
+    }
+
+    this.inputs = new double[2 * this.bCoefficients.length];
+    this.outputs = new double[2 * this.aCoefficients.length];
+  }
+
+  /**
+   * Creates an IIR {@link StreamingFilter}, see {@link Iir#filter(double[], double[], double[])}
+   *
+   * @param aCoefficients the a (feedback) coefficients, not empty and with a non-zero first coefficient
+   * @param bCoefficients the b (feedforward) coefficients, not empty
+   * @return a {@link StreamingFilter} with empty delay lines
+   */
+  public static StreamingFilter iir(double[] aCoefficients, double[] bCoefficients) {
+    checkNotNull(aCoefficients);
+    checkNotNull(bCoefficients);
+    checkArgument(aCoefficients.length > 0,
+      "Error filtering: cannot filter using empty aCoefficients array");
+    checkArgument(bCoefficients.length > 0,
+      "Error filtering: cannot filter using empty bCoefficients array");
+    checkArgument(aCoefficients[0] != 0, "Error filtering: first a coefficent cannot be 0");
+
+    return new StreamingFilter(aCoefficients, bCoefficients);
+  }
+
+  /**
+   * Creates an FIR {@link StreamingFilter}, see {@link Fir#filter(double[], double[])}
+   *
+   * @param bCoefficients the filter coefficients, not empty
+   * @return a {@link StreamingFilter} with an empty delay line
+   */
+  public static StreamingFilter fir(double[] bCoefficients) {
+    checkNotNull(bCoefficients, "FIR filtering requires non-null bCoefficients");
+    checkArgument(bCoefficients.length > 0, "FIR filtering requires non-empty bCoefficients");
+
+    return new StreamingFilter(new double[]{1.0}, bCoefficients);
+  }
+
+  /**
+   * Creates a {@link StreamingFilter} for the coefficients of a {@link FilterDefinition}. Unlike {@link Filter},
+   * the sample rate of the filtered waveforms is not checked against the definition's.
+   *
+   * @param filterDefinition the {@link FilterDefinition}, not null
+   * @return a {@link StreamingFilter} with empty delay lines
+   * @throws IllegalArgumentException if there is no filter for the definition's type
+   */
+  public static StreamingFilter from(FilterDefinition filterDefinition) {
+    checkNotNull(filterDefinition, "Filter requires non-null filterDefinition");
+
+    switch (filterDefinition.getFilterType()) {
+      case FIR_HAMMING:
+        return fir(filterDefinition.getBCoefficients());
+      case IIR_BUTTERWORTH:
+        return iir(filterDefinition.getACoefficients(), filterDefinition.getBCoefficients());
+      default:
+        throw new IllegalArgumentException(String.format(
+          "Error filtering: no filter function found for type %s", filterDefinition.getFilterType()));
+    }
+  }
+
+  /**
+   * Filters the next block of the signal into a new array
+   *
+   * @param input the next input samples, not null
+   * @return the filtered samples
+   */
+  public double[] filter(double[] input) {
+    checkNotNull(input);
+
+    var output = new double[input.length];
+    filter(input, 0, input.length, output, 0);
+    return output;
+  }
+
+  /**
+   * Filters the next block of the signal in place
+   *
+   * @param values the next input samples, replaced by the filtered samples, not null
+   */
+  public void filterInPlace(double[] values) {
+    checkNotNull(values);
+
+    filter(values, 0, values.length, values, 0);
+  }
+
+  /**
+   * Filters the next block of the signal into an output buffer. Input and output may be the same array, each output
+   * sample is written after its input sample is read.
+   *
+   * @param input the input samples, not null
+   * @param inputOffset index of the first input sample
+   * @param length number of samples to filter
+   * @param output the array to write the filtered samples to, not null
+   * @param outputOffset index to write the first filtered sample at
+   */
+  public void filter(double[] input, int inputOffset, int length, double[] output, int outputOffset) {
+    checkNotNull(input);
+    checkNotNull(output);
+    checkArgument(length >= 0, "Length must be non-negative");
+    checkPositionIndexes(inputOffset, inputOffset + length, input.length);
+    checkPositionIndexes(outputOffset, outputOffset + length, output.length);
+
+    final int inputOrder = bCoefficients.length;
+    final int outputOrder = aCoefficients.length;
+
+    for (int n = 0; n < length; n++) {
+      inputPosition = inputPosition == 0 ? inputOrder - 1 : inputPosition - 1;
+      inputs[inputPosition] = input[inputOffset + n];
+      inputs[inputPosition + inputOrder] = input[inputOffset + n];
+
+      double feedForwardValue = 0;
+      for (int k = 0; k < inputOrder; k++) {
+        feedForwardValue += bCoefficients[k] * inputs[inputPosition + k];
+      }
+
+      double feedBackValue = 0;
+      for (int j = 0; j < outputOrder; j++) {
+        feedBackValue += aCoefficients[j] * outputs[outputPosition + j];
+      }
+
+      double value = feedForwardValue - feedBackValue;
+      if (outputOrder > 0) {
+        outputPosition = outputPosition == 0 ? outputOrder - 1 : outputPosition - 1;
+        outputs[outputPosition] = value;
+        outputs[outputPosition + outputOrder] = value;
+      }
+      output[outputOffset + n] = value;
+    }
+  }
+
+  /**
+   * Filters the next {@link Waveform} of a channel. The delay lines carry over from the previous waveform when this
+   * one starts one sample period (within half a period) after it ended, otherwise the filter is reset first, as a
+   * gap or overlap breaks the continuity of the signal.
+   *
+   * @param waveform the next {@link Waveform}, not null
+   * @return the filtered {@link Waveform}
+   */
+  public Waveform filter(Waveform waveform) {
+    checkNotNull(waveform, "Filter requires non-null waveform");
+
+    if (!continues(waveform)) {
+      reset();
+    }
+
+    double[] values = waveform.getValues();
+    var output = new double[values.length];
+    filter(values, 0, values.length, output, 0);
+    nextStartTime = waveform.getEndTime().plus(waveform.getSamplePeriod());
+
+    return Waveform.from(waveform.getStartTime(), waveform.getSampleRate(), output);
+  }
+
+  private boolean continues(Waveform waveform) {
+    if (nextStartTime == null) {
+      return false;
+    }
+
+    Duration offset = Duration.between(nextStartTime, waveform.getStartTime()).abs();
+    return offset.compareTo(waveform.getSamplePeriod().dividedBy(2)) <= 0;
+  }
+
+  /**
+   * Clears the delay lines, so the next block is filtered as the start of a new signal
+   */
+  public void reset() {
+    Arrays.fill(inputs, 0.0);
+    Arrays.fill(outputs, 0.0);
+    inputPosition = 0;
+    outputPosition = 0;
+    nextStartTime = null;
+  }
+}
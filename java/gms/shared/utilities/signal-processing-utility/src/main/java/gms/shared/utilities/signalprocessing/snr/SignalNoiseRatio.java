@@ -3,6 +3,7 @@ package gms.shared.utilities.signalprocessing.snr;
 import gms.shared.frameworks.osd.coi.waveforms.Waveform;
 import gms.shared.utilities.signalprocessing.normalization.DeMeaner;
 import gms.shared.utilities.signalprocessing.normalization.Transform;
+import gms.shared.utilities.signalprocessing.window.SlidingWindowMean;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -14,6 +15,11 @@ import org.apache.commons.lang3.Validate;
 
 public class SignalNoiseRatio {
 
+  /**
+   * Allowance for rounding when converting a sliding window size of a whole number of sample periods to samples
+   */
+  private static final double SAMPLE_COUNT_TOLERANCE = 1.0e-6;
+
   private SignalNoiseRatio() {
     // Hiding implicit public constructor
   }
@@ -109,27 +115,26 @@ public class SignalNoiseRatio {
     Duration slidingWindowSize,
     Transform transform) {
 
-    Instant startTime = window.getStartTime();
-    Instant endTime = window.getStartTime().plusNanos(slidingWindowSize.toNanos());
-
-    double maxAverage = Double.MIN_VALUE;
-
-    while (endTime.isBefore(window.getEndTime()) || endTime.equals(window.getEndTime())) {
-
-      Waveform averageWindow = window.window(startTime, endTime);
-
-      OptionalDouble possibleAverage = Arrays.stream(averageWindow.getValues())
-        .map(transform.getTransformFunction())
-        .average();
+    // A window starts at each sample and spans the samples to its end time inclusive. Windows are taken while they
+    // end within the waveform, stepping their end time by the sample period, so a waveform shorter than the sliding
+    // window has none and a sliding window of a fractional number of sample periods stops short of the last sample.
+    Instant firstWindowEnd = window.getStartTime().plus(slidingWindowSize);
+    if (firstWindowEnd.isAfter(window.getEndTime())) {
+      return Double.MIN_VALUE;
+    }
+    long windowCount =
+      Duration.between(firstWindowEnd, window.getEndTime()).toNanos() / window.getSamplePeriod().toNanos() + 1;
 
-      if (possibleAverage.isPresent() && possibleAverage.getAsDouble() > maxAverage) {
-        maxAverage = possibleAverage.getAsDouble();
-      }
+    int windowSamples = (int) Math.floor(
+      slidingWindowSize.toNanos() * window.getSampleRate() / 1.0e9 + SAMPLE_COUNT_TOLERANCE) + 1;
+    int windowedSamples = (int) Math.min(window.getSampleCount(), windowCount + windowSamples - 1);
 
-      startTime = startTime.plus(window.getSamplePeriod());
-      endTime = endTime.plus(window.getSamplePeriod());
-    }
+    double maxAverage = SlidingWindowMean.maxMean(window.getValues(),
+      windowedSamples,
+      Math.min(windowSamples, windowedSamples),
+      transform.getTransformFunction());
 
-    return maxAverage;
+    // Averages below the smallest positive double (i.e. of all zero samples) are reported as it, as they always were
+    return Math.max(maxAverage, Double.MIN_VALUE);
   }
 }
@@ -0,0 +1,170 @@
+package gms.shared.utilities.signalprocessing.window;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.DoubleUnaryOperator;
+
+import org.apache.commons.lang3.Validate;
+
+/**
+ * Running mean of the transformed values of the most recent samples of a signal, e.g. the mean absolute amplitude of
+ * a short term or long term window. Each sample is transformed once and the mean is updated in constant time per
+ * sample, so sliding a window of w samples over n samples costs O(n) rather than O(n * w).
+ * <p>
+ * The running sum is recomputed from the window once per window length of samples, so rounding error from adding and
+ * removing values does not accumulate over long signals. Instances are not thread safe.
+ */
+public class SlidingWindowMean {
+
+  private final DoubleUnaryOperator transform;
+
+  /**
+   * Transformed values of the window, oldest at the position once the window is full
+   */
+  private final double[] window;
+  private int position;
+  private int count;
+  private int sinceResync;
+  private double sum;
+
+  private SlidingWindowMean(int windowSize, DoubleUnaryOperator transform) {
+    this.window = new double[windowSize];
+    this.transform = transform;
+  }
+
+  /**
+   * Creates an empty {@link SlidingWindowMean}
+   *
+   * @param windowSize number of samples in the window, positive
+   * @param transform the function to apply to each sample before averaging, not null
+   * @return a {@link SlidingWindowMean}
+   */
+  public static SlidingWindowMean create(int windowSize, DoubleUnaryOperator transform) {
+    Objects.requireNonNull(transform, "Sliding window requires a non-null transform");
+    Validate.isTrue(windowSize > 0, "Sliding window size must be positive");
+
+    return new SlidingWindowMean(windowSize, transform);
+  }
+
+  /**
+   * Adds the next sample to the window, removing the oldest once the window is full
+   *
+   * @param sample the next sample
+   * @return true if the window is full after adding the sample
+   */
+  public boolean add(double sample) {
+    double value = transform.applyAsDouble(sample);
+
+    if (count < window.length) {
+      count++;
+    } else {
+      sum -= window[position];
+    }
+    window[position] = value;
+    sum += value;
+    position = position + 1 == window.length ? 0 : position + 1;
+
+    if (++sinceResync == window.length) {
+      sinceResync = 0;
+      sum = 0;
+      for (int i = 0; i < count; i++) {
+        sum += window[i];
+      }
+    }
+
+    return isFull();
+  }
+
+  /**
+   * @return true if the window holds window size samples
+   */
+  public boolean isFull() {
+    return count == window.length;
+  }
+
+  /**
+   * @return the number of samples in the window
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * @return the mean of the transformed samples in the window
+   * @throws IllegalStateException if no sample has been added
+   */
+  public double getMean() {
+    Validate.validState(count > 0, "Sliding window mean requires at least one sample");
+    return sum / count;
+  }
+
+  /**
+   * Empties the window
+   */
+  public void reset() {
+    Arrays.fill(window, 0.0);
+    position = 0;
+    count = 0;
+    sinceResync = 0;
+    sum = 0;
+  }
+
+  /**
+   * Calculates the mean of the transformed samples of every full window of a signal
+   *
+   * @param values the signal, not null
+   * @param windowSize number of samples in each window, positive
+   * @param transform the function to apply to each sample before averaging, not null
+   * @return the mean of the window ending at each sample from windowSize - 1 on, empty if the signal is shorter than
+   * one window
+   */
+  public static double[] means(double[] values, int windowSize, DoubleUnaryOperator transform) {
+    Objects.requireNonNull(values, "Sliding window requires non-null values");
+
+    var slidingWindow = create(windowSize, transform);
+    var means = new double[Math.max(0, values.length - windowSize + 1)];
+    for (int i = 0; i < values.length; i++) {
+      if (slidingWindow.add(values[i])) {
+        means[i - windowSize + 1] = slidingWindow.getMean();
+      }
+    }
+    return means;
+  }
+
+  /**
+   * Calculates the maximum mean of the transformed samples over every full window of a signal
+   *
+   * @param values the signal, not null
+   * @param windowSize number of samples in each window, positive
+   * @param transform the function to apply to each sample before averaging, not null
+   * @return the maximum window mean, {@link Double#NEGATIVE_INFINITY} if the signal is shorter than one window
+   */
+  public static double maxMean(double[] values, int windowSize, DoubleUnaryOperator transform) {
+    Objects.requireNonNull(values, "Sliding window requires non-null values");
+
+    return maxMean(values, values.length, windowSize, transform);
+  }
+
+  /**
+   * Calculates the maximum mean of the transformed samples over every full window of the start of a signal
+   *
+   * @param values the signal, not null
+   * @param length number of samples from the start of the signal the windows lie within, at most values.length
+   * @param windowSize number of samples in each window, positive
+   * @param transform the function to apply to each sample before averaging, not null
+   * @return the maximum window mean, {@link Double#NEGATIVE_INFINITY} if length is shorter than one window
+   */
+  public static double maxMean(double[] values, int length, int windowSize, DoubleUnaryOperator transform) {
+    Objects.requireNonNull(values, "Sliding window requires non-null values");
+    Validate.isTrue(length >= 0 && length <= values.length, "Sliding window length must be within the values");
+
+    var slidingWindow = create(windowSize, transform);
+    double maxMean = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i < length; i++) {
+      if (slidingWindow.add(values[i])) {
+        maxMean = Math.max(maxMean, slidingWindow.getMean());
+      }
+    }
+    return maxMean;
+  }
+}
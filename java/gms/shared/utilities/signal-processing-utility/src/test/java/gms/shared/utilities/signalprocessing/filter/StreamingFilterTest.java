@@ -0,0 +1,167 @@
+package gms.shared.utilities.signalprocessing.filter;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+import gms.shared.frameworks.osd.coi.signaldetection.FilterCausality;
+import gms.shared.frameworks.osd.coi.signaldetection.FilterDefinition;
+import gms.shared.frameworks.osd.coi.signaldetection.FilterPassBandType;
+import gms.shared.frameworks.osd.coi.signaldetection.FilterSource;
+import gms.shared.frameworks.osd.coi.signaldetection.FilterType;
+import gms.shared.frameworks.osd.coi.waveforms.Waveform;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class StreamingFilterTest {
+
+  private static final double[] A_COEFFICIENTS = new double[]{2.0, -1.2, 0.4, -0.05};
+  private static final double[] B_COEFFICIENTS = new double[]{0.3, 0.5, 0.3, 0.1, 0.02};
+
+  private static final double[] SIGNAL = new Random(7).doubles(1000, -1.0, 1.0).toArray();
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 3, 64, 999, 1000})
+  void testIirBlocksMatchWholeSignal(int blockSize) {
+    double[] expected = Iir.filter(SIGNAL, A_COEFFICIENTS, B_COEFFICIENTS);
+
+    assertArrayEquals(expected, filterInBlocks(StreamingFilter.iir(A_COEFFICIENTS, B_COEFFICIENTS), blockSize));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 7, 250, 1000})
+  void testFirBlocksMatchWholeSignal(int blockSize) {
+    double[] expected = Fir.filter(FirTestData.inputWaveform, FirTestData.bCoeffs);
+
+    var filter = StreamingFilter.fir(FirTestData.bCoeffs);
+    var actual = new double[FirTestData.inputWaveform.length];
+    for (int offset = 0; offset < actual.length; offset += blockSize) {
+      filter.filter(FirTestData.inputWaveform, offset, Math.min(blockSize, actual.length - offset), actual, offset);
+    }
+
+    assertArrayEquals(expected, actual);
+  }
+
+  @Test
+  void testFilterInPlace() {
+    double[] values = Arrays.copyOf(SIGNAL, SIGNAL.length);
+    StreamingFilter.iir(A_COEFFICIENTS, B_COEFFICIENTS).filterInPlace(values);
+
+    assertArrayEquals(Iir.filter(SIGNAL, A_COEFFICIENTS, B_COEFFICIENTS), values);
+  }
+
+  @Test
+  void testReset() {
+    var filter = StreamingFilter.iir(A_COEFFICIENTS, B_COEFFICIENTS);
+    double[] first = filter.filter(SIGNAL);
+    filter.reset();
+
+    assertArrayEquals(first, filter.filter(SIGNAL));
+  }
+
+  @Test
+  void testFilterContiguousWaveformsCarriesState() {
+    Instant start = Instant.EPOCH;
+    double sampleRate = 40.0;
+    Waveform whole = Waveform.from(start, sampleRate, SIGNAL);
+    Waveform first = Waveform.from(start, sampleRate, Arrays.copyOfRange(SIGNAL, 0, 400));
+    Waveform second = Waveform.from(whole.computeSampleTime(400), sampleRate,
+      Arrays.copyOfRange(SIGNAL, 400, SIGNAL.length));
+
+    var filter = StreamingFilter.iir(A_COEFFICIENTS, B_COEFFICIENTS);
+    Waveform filteredFirst = filter.filter(first);
+    Waveform filteredSecond = filter.filter(second);
+
+    double[] expected = Iir.filter(SIGNAL, A_COEFFICIENTS, B_COEFFICIENTS);
+    assertEquals(second.getStartTime(), filteredSecond.getStartTime());
+    assertEquals(sampleRate, filteredSecond.getSampleRate());
+    assertArrayEquals(Arrays.copyOfRange(expected, 0, 400), filteredFirst.getValues());
+    assertArrayEquals(Arrays.copyOfRange(expected, 400, SIGNAL.length), filteredSecond.getValues());
+  }
+
+  @Test
+  void testFilterWaveformAfterGapResets() {
+    double sampleRate = 40.0;
+    Waveform first = Waveform.from(Instant.EPOCH, sampleRate, Arrays.copyOfRange(SIGNAL, 0, 400));
+    Waveform afterGap = Waveform.from(first.getEndTime().plusSeconds(5), sampleRate,
+      Arrays.copyOfRange(SIGNAL, 400, SIGNAL.length));
+
+    var filter = StreamingFilter.iir(A_COEFFICIENTS, B_COEFFICIENTS);
+    filter.filter(first);
+
+    assertArrayEquals(Iir.filter(afterGap.getValues(), A_COEFFICIENTS, B_COEFFICIENTS),
+      filter.filter(afterGap).getValues());
+  }
+
+  @Test
+  void testFromFilterDefinition() {
+    FilterDefinition iirDefinition = FilterDefinition.builder()
+      .setName("streamingTest")
+      .setDescription("streamingTestDesc")
+      .setFilterType(FilterType.IIR_BUTTERWORTH)
+      .setFilterPassBandType(FilterPassBandType.BAND_PASS)
+      .setLowFrequencyHz(1.0)
+      .setHighFrequencyHz(3.0)
+      .setOrder(4)
+      .setFilterSource(FilterSource.USER)
+      .setFilterCausality(FilterCausality.CAUSAL)
+      .setZeroPhase(false)
+      .setSampleRate(40.0)
+      .setSampleRateTolerance(1.0)
+      .setACoefficients(A_COEFFICIENTS)
+      .setBCoefficients(B_COEFFICIENTS)
+      .setGroupDelaySecs(3.0)
+      .build();
+
+    assertArrayEquals(Iir.filter(SIGNAL, A_COEFFICIENTS, B_COEFFICIENTS),
+      StreamingFilter.from(iirDefinition).filter(SIGNAL));
+  }
+
+  @ParameterizedTest
+  @MethodSource("createInvalidArguments")
+  void testCreateArgumentValidation(Class<? extends Throwable> validationException, double[] aCoefficients,
+    double[] bCoefficients) {
+    assertThrows(validationException, () -> StreamingFilter.iir(aCoefficients, bCoefficients));
+  }
+
+  private static Stream<Arguments> createInvalidArguments() {
+    return Stream.of(
+      arguments(NullPointerException.class, null, new double[]{2.0}),
+      arguments(NullPointerException.class, new double[]{2.0}, null),
+      arguments(IllegalArgumentException.class, new double[0], new double[]{2.0}),
+      arguments(IllegalArgumentException.class, new double[]{1.0}, new double[0]),
+      arguments(IllegalArgumentException.class, new double[]{0.0, 1.0}, new double[]{2.0})
+    );
+  }
+
+  @Test
+  void testFilterBufferValidation() {
+    var filter = StreamingFilter.fir(new double[]{1.0});
+    double[] buffer = new double[4];
+
+    assertThrows(IllegalArgumentException.class, () -> StreamingFilter.fir(new double[0]));
+    assertThrows(IndexOutOfBoundsException.class, () -> filter.filter(buffer, 2, 3, new double[8], 0));
+    assertThrows(IndexOutOfBoundsException.class, () -> filter.filter(buffer, 0, 4, new double[8], 5));
+    assertThrows(IllegalArgumentException.class, () -> filter.filter(buffer, 0, -1, buffer, 0));
+  }
+
+  private static double[] filterInBlocks(StreamingFilter filter, int blockSize) {
+    var output = new double[SIGNAL.length];
+    for (int offset = 0; offset < SIGNAL.length; offset += blockSize) {
+      double[] block = Arrays.copyOfRange(SIGNAL, offset, Math.min(offset + blockSize, SIGNAL.length));
+      double[] filtered = filter.filter(block);
+      System.arraycopy(filtered, 0, output, offset, filtered.length);
+    }
+    return output;
+  }
+}
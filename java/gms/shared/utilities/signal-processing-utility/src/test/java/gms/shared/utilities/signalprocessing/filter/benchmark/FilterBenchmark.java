@@ -0,0 +1,102 @@
+package gms.shared.utilities.signalprocessing.filter.benchmark;
+
+import gms.shared.utilities.signalprocessing.filter.Fir;
+import gms.shared.utilities.signalprocessing.filter.Iir;
+import gms.shared.utilities.signalprocessing.filter.StreamingFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time and allocation per block of {@link Iir} and {@link Fir} with a {@link StreamingFilter} filtering
+ * the same block into a reused output buffer, for filters of a few taps (typical IIR Butterworth) to many (typical FIR
+ * Hamming).
+ * <p>
+ * Run with the GC profiler (reported as gc.alloc.rate.norm, in bytes per block) using the main method from the test
+ * runtime classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterBenchmark {
+
+  @Param({"5", "48"})
+  private int taps;
+
+  @Param({"4000"})
+  private int samples;
+
+  private double[] input;
+  private double[] output;
+  private double[] aCoefficients;
+  private double[] bCoefficients;
+  private StreamingFilter streamingIir;
+  private StreamingFilter streamingFir;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    var random = new Random(17);
+    input = random.doubles(samples, -1.0, 1.0).toArray();
+    output = new double[samples];
+
+    // Small, decaying feedback coefficients keep the IIR filter stable
+    aCoefficients = new double[taps];
+    aCoefficients[0] = 2.0;
+    for (int i = 1; i < taps; i++) {
+      aCoefficients[i] = 0.5 / (i * taps);
+    }
+    bCoefficients = random.doubles(taps, -1.0, 1.0).toArray();
+
+    streamingIir = StreamingFilter.iir(aCoefficients, bCoefficients);
+    streamingFir = StreamingFilter.fir(bCoefficients);
+  }
+
+  @Benchmark
+  public double[] iir() {
+    return Iir.filter(input, aCoefficients, bCoefficients);
+  }
+
+  @Benchmark
+  public double[] streamingIir() {
+    streamingIir.filter(input, 0, samples, output, 0);
+    return output;
+  }
+
+  @Benchmark
+  public double[] fir() {
+    return Fir.filter(input, bCoefficients);
+  }
+
+  @Benchmark
+  public double[] streamingFir() {
+    streamingFir.filter(input, 0, samples, output, 0);
+    return output;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(FilterBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build())
+      .run();
+  }
+}
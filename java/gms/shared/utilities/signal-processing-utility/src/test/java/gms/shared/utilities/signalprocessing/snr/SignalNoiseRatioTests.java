@@ -6,10 +6,12 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import gms.shared.frameworks.osd.coi.waveforms.Waveform;
+import gms.shared.utilities.signalprocessing.normalization.DeMeaner;
 import gms.shared.utilities.signalprocessing.normalization.Transform;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
 import java.util.stream.Stream;
 
 import org.junit.jupiter.api.BeforeAll;
@@ -148,4 +150,83 @@ class SignalNoiseRatioTests {
     assertEquals(expectedSnr, snr, .001);
   }
 
+  @ParameterizedTest
+  @MethodSource("getSlidingWindowParameters")
+  void testGetSnrMatchesWindowByWindow(Duration slidingWindowSize, int signalStartSample,
+    Duration signalOffset) {
+
+    // The last signal sample is largest, so only a window ending on it sees it
+    double[] waveformValues = new double[200];
+    Arrays.fill(waveformValues, 1);
+    waveformValues[150] = 2;
+    waveformValues[157] = 40;
+    var spikeWaveform = Waveform.from(Instant.EPOCH, 2, waveformValues);
+    var signalStart = spikeWaveform.computeSampleTime(signalStartSample).plus(signalOffset);
+    var signalEnd = spikeWaveform.computeSampleTime(157).plus(signalOffset);
+
+    double snr = SignalNoiseRatio.getSnr(spikeWaveform, noiseWindowStart, noiseWindowEnd, signalStart, signalEnd,
+      slidingWindowSize, Transform.ABS);
+
+    var demeanedWaveform = Waveform.from(spikeWaveform.getStartTime(), spikeWaveform.getSampleRate(),
+      DeMeaner.demean(spikeWaveform.getValues()));
+    double noiseAverage = Arrays.stream(demeanedWaveform.trim(noiseWindowStart, noiseWindowEnd).getValues())
+      .map(Math::abs)
+      .average()
+      .orElseThrow();
+    double signalAverage = maxSlidingAverageWindowByWindow(demeanedWaveform.trim(signalStart, signalEnd),
+      slidingWindowSize);
+
+    assertEquals(signalAverage / noiseAverage, snr, Math.abs(snr) * 1e-12);
+  }
+
+  private static Stream<Arguments> getSlidingWindowParameters() {
+    return Stream.of(
+      // a whole number of sample periods
+      arguments(Duration.ofSeconds(1), 146, Duration.ZERO),
+      // a fractional number of sample periods, whose windows stop short of the last sample
+      arguments(Duration.ofMillis(1250), 146, Duration.ZERO),
+      arguments(Duration.ofMillis(1750), 150, Duration.ZERO),
+      // a signal window that trims to fewer samples than the sliding window, which has no windows
+      arguments(Duration.ofMillis(1500), 154, Duration.ofMillis(250)));
+  }
+
+  @Test
+  void testGetSnrSignalShorterThanSlidingWindow() {
+    // Trimming to samples 155 to 157 leaves 1 second of signal for a 1.5 second sliding window
+    double snr = SignalNoiseRatio.getSnr(waveform, noiseWindowStart, noiseWindowEnd,
+      waveform.computeSampleTime(154).plusMillis(250), waveform.computeSampleTime(157).plusMillis(250),
+      Duration.ofMillis(1500), Transform.ABS);
+
+    var demeanedWaveform = Waveform.from(waveform.getStartTime(), waveform.getSampleRate(),
+      DeMeaner.demean(waveform.getValues()));
+    double noiseAverage = Arrays.stream(demeanedWaveform.trim(noiseWindowStart, noiseWindowEnd).getValues())
+      .map(Math::abs)
+      .average()
+      .orElseThrow();
+
+    assertEquals(Double.MIN_VALUE / noiseAverage, snr);
+  }
+
+  /**
+   * The maximum sliding average as SignalNoiseRatio calculated it before it used a running mean, windowing the
+   * waveform at every sample period step
+   */
+  private static double maxSlidingAverageWindowByWindow(Waveform window, Duration slidingWindowSize) {
+    Instant startTime = window.getStartTime();
+    Instant endTime = window.getStartTime().plusNanos(slidingWindowSize.toNanos());
+
+    double maxAverage = Double.MIN_VALUE;
+    while (!endTime.isAfter(window.getEndTime())) {
+      double average = Arrays.stream(window.window(startTime, endTime).getValues())
+        .map(Math::abs)
+        .average()
+        .orElseThrow();
+      maxAverage = Math.max(maxAverage, average);
+
+      startTime = startTime.plus(window.getSamplePeriod());
+      endTime = endTime.plus(window.getSamplePeriod());
+    }
+    return maxAverage;
+  }
+
 }
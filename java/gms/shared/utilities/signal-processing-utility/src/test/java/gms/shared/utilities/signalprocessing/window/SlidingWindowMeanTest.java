@@ -0,0 +1,101 @@
+package gms.shared.utilities.signalprocessing.window;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gms.shared.utilities.signalprocessing.normalization.Transform;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.DoubleUnaryOperator;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class SlidingWindowMeanTest {
+
+  private static final double[] SIGNAL = new Random(11).doubles(2000, -1000.0, 1000.0).toArray();
+
+  @ParameterizedTest
+  @ValueSource(ints = {1, 2, 17, 500, 2000})
+  void testMeansMatchWindowByWindow(int windowSize) {
+    DoubleUnaryOperator transform = Transform.SQUARE.getTransformFunction();
+
+    double[] means = SlidingWindowMean.means(SIGNAL, windowSize, transform);
+
+    assertEquals(SIGNAL.length - windowSize + 1, means.length);
+    for (int i = 0; i < means.length; i++) {
+      double expected = Arrays.stream(SIGNAL, i, i + windowSize).map(transform).average().orElseThrow();
+      assertEquals(expected, means[i], Math.abs(expected) * 1e-12);
+    }
+  }
+
+  @ParameterizedTest
+  @EnumSource(Transform.class)
+  void testMaxMeanMatchesWindowByWindow(Transform transform) {
+    int windowSize = 40;
+    double expected = Double.NEGATIVE_INFINITY;
+    for (int i = 0; i + windowSize <= SIGNAL.length; i++) {
+      expected = Math.max(expected,
+        Arrays.stream(SIGNAL, i, i + windowSize).map(transform.getTransformFunction()).average().orElseThrow());
+    }
+
+    assertEquals(expected, SlidingWindowMean.maxMean(SIGNAL, windowSize, transform.getTransformFunction()),
+      expected * 1e-12);
+  }
+
+  @Test
+  void testRunningSumDoesNotDrift() {
+    // A large burst followed by small values would leave rounding error behind in a plain running sum
+    var slidingWindow = SlidingWindowMean.create(4, Transform.ABS.getTransformFunction());
+    for (int i = 0; i < 4; i++) {
+      slidingWindow.add(1.0e16);
+    }
+    for (int i = 0; i < 4; i++) {
+      slidingWindow.add(1.0);
+    }
+
+    assertEquals(1.0, slidingWindow.getMean());
+  }
+
+  @Test
+  void testAddFillsWindow() {
+    var slidingWindow = SlidingWindowMean.create(3, DoubleUnaryOperator.identity());
+
+    assertFalse(slidingWindow.add(1.0));
+    assertEquals(1.0, slidingWindow.getMean());
+    assertFalse(slidingWindow.add(2.0));
+    assertTrue(slidingWindow.add(3.0));
+    assertEquals(2.0, slidingWindow.getMean());
+    assertTrue(slidingWindow.add(7.0));
+    assertEquals(3, slidingWindow.getCount());
+    assertEquals(4.0, slidingWindow.getMean());
+
+    slidingWindow.reset();
+    assertEquals(0, slidingWindow.getCount());
+    assertThrows(IllegalStateException.class, slidingWindow::getMean);
+  }
+
+  @Test
+  void testSignalShorterThanWindow() {
+    double[] values = new double[]{1.0, 2.0};
+
+    assertArrayEquals(new double[0], SlidingWindowMean.means(values, 3, DoubleUnaryOperator.identity()));
+    assertEquals(Double.NEGATIVE_INFINITY, SlidingWindowMean.maxMean(values, 3, DoubleUnaryOperator.identity()));
+  }
+
+  @Test
+  void testArgumentValidation() {
+    DoubleUnaryOperator identity = DoubleUnaryOperator.identity();
+
+    assertThrows(NullPointerException.class, () -> SlidingWindowMean.create(1, null));
+    assertThrows(IllegalArgumentException.class, () -> SlidingWindowMean.create(0, identity));
+    assertThrows(NullPointerException.class, () -> SlidingWindowMean.means(null, 1, identity));
+    assertThrows(NullPointerException.class, () -> SlidingWindowMean.maxMean(null, 1, identity));
+  }
+}
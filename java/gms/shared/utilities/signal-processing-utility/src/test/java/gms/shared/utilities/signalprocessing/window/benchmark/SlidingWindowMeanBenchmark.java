@@ -0,0 +1,101 @@
+package gms.shared.utilities.signalprocessing.window.benchmark;
+
+import gms.shared.frameworks.osd.coi.waveforms.Waveform;
+import gms.shared.utilities.signalprocessing.normalization.Transform;
+import gms.shared.utilities.signalprocessing.window.SlidingWindowMean;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.OptionalDouble;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time and allocation of finding the maximum sliding window average of a signal window the way
+ * SignalNoiseRatio did before {@link SlidingWindowMean}, windowing and averaging the {@link Waveform} at every step,
+ * with {@link SlidingWindowMean}.
+ * <p>
+ * Run with the GC profiler (reported as gc.alloc.rate.norm, in bytes per signal window) using the main method from
+ * the test runtime classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlidingWindowMeanBenchmark {
+
+  private static final double SAMPLE_RATE = 40.0;
+
+  @Param({"1", "5"})
+  private int slidingWindowSeconds;
+
+  @Param({"1200"})
+  private int samples;
+
+  private Waveform signalWindow;
+  private Duration slidingWindowSize;
+  private int windowSamples;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    signalWindow = Waveform.from(Instant.EPOCH, SAMPLE_RATE,
+      new Random(5).doubles(samples, -1.0, 1.0).toArray());
+    slidingWindowSize = Duration.ofSeconds(slidingWindowSeconds);
+    windowSamples = (int) (slidingWindowSeconds * SAMPLE_RATE) + 1;
+  }
+
+  @Benchmark
+  public double windowPerStep() {
+    Instant startTime = signalWindow.getStartTime();
+    Instant endTime = signalWindow.getStartTime().plusNanos(slidingWindowSize.toNanos());
+
+    double maxAverage = Double.MIN_VALUE;
+
+    while (!endTime.isAfter(signalWindow.getEndTime())) {
+      OptionalDouble possibleAverage = Arrays.stream(signalWindow.window(startTime, endTime).getValues())
+        .map(Transform.ABS.getTransformFunction())
+        .average();
+
+      if (possibleAverage.isPresent() && possibleAverage.getAsDouble() > maxAverage) {
+        maxAverage = possibleAverage.getAsDouble();
+      }
+
+      startTime = startTime.plus(signalWindow.getSamplePeriod());
+      endTime = endTime.plus(signalWindow.getSamplePeriod());
+    }
+
+    return maxAverage;
+  }
+
+  @Benchmark
+  public double slidingWindowMean() {
+    return SlidingWindowMean.maxMean(signalWindow.getValues(), windowSamples, Transform.ABS.getTransformFunction());
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+      .include(SlidingWindowMeanBenchmark.class.getSimpleName())
+      .addProfiler(GCProfiler.class)
+      .build())
+      .run();
+  }
+}
@@ -19,6 +19,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -79,6 +80,34 @@ public class WaveformAccessor implements WaveformAccessorInterface {
     ).collect(Collectors.toList());
   }
 
+  @Override
+  public void streamByChannelsAndTimeRange(Set<Channel> channels, Instant startTime, Instant endTime,
+    Consumer<ChannelSegment<Waveform>> channelSegmentConsumer) {
+
+    Preconditions.checkNotNull(channels, NULL_CHANNELS);
+    Preconditions.checkState(!channels.isEmpty(), EMPTY_CHANNELS_MESSAGE);
+    Preconditions.checkState(startTime.isBefore(endTime), START_END_TIME_ERR);
+
+    waveformRepositoryImpl.streamByChannelsAndTimeRange(channels, startTime, endTime, channelSegmentConsumer);
+  }
+
+  @Override
+  public void streamByChannelsAndTimeRange(Set<Channel> channels, Instant startTime, Instant endTime,
+    FacetingDefinition facetingDefinition, Consumer<ChannelSegment<Waveform>> channelSegmentConsumer) {
+
+    Preconditions.checkNotNull(channels, NULL_CHANNELS);
+    Preconditions.checkState(!channels.isEmpty(), EMPTY_CHANNELS_MESSAGE);
+    Preconditions.checkState(startTime.isBefore(endTime), START_END_TIME_ERR);
+    Preconditions.checkNotNull(facetingDefinition, NULL_FACETING_DEFINITION_MESSAGE);
+
+    var facetingUtil = new WaveformFacetingUtility(
+      this, stationDefinitionAccessorImpl);
+
+    waveformRepositoryImpl.streamByChannelsAndTimeRange(channels, startTime, endTime, channelSeg ->
+      channelSegmentConsumer.accept(
+        (ChannelSegment<Waveform>) facetingUtil.populateFacets(channelSeg, facetingDefinition)));
+  }
+
   @Override
   public Collection<ChannelSegment<Waveform>> findByChannelSegmentDescriptors(
     Collection<ChannelSegmentDescriptor> channelSegmentDescriptors) {
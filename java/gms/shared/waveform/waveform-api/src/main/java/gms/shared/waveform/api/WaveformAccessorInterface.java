@@ -9,6 +9,7 @@ import gms.shared.waveform.coi.Waveform;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface WaveformAccessorInterface extends WaveformRepositoryInterface {
 
@@ -26,6 +27,22 @@ public interface WaveformAccessorInterface extends WaveformRepositoryInterface {
   Collection<ChannelSegment<Waveform>> findByChannelsAndTimeRange(
     Set<Channel> channels, Instant startTime, Instant endTime, FacetingDefinition facetingDefinition);
 
+  /**
+   * Implements the same query as the streamByChannelsAndTimeRange operation described above,
+   * but uses the provided FacetingDefinition to determine how to populate the Channel object associated
+   * by each ChannelSegment<Waveform>.
+   *
+   * @param channels List of channels to return the list of ChannelSegments for.
+   * @param startTime beginning time of waveforms to query over
+   * @param endTime end time of waveforms to query over
+   * @param facetingDefinition used to determine how to populate the Channel object
+   * @param channelSegmentConsumer receives each {@link ChannelSegment} within the queried time interval
+   */
+  default void streamByChannelsAndTimeRange(Set<Channel> channels, Instant startTime, Instant endTime,
+    FacetingDefinition facetingDefinition, Consumer<ChannelSegment<Waveform>> channelSegmentConsumer) {
+    findByChannelsAndTimeRange(channels, startTime, endTime, facetingDefinition).forEach(channelSegmentConsumer);
+  }
+
   /**
    * Implements the same query as the findWaveformsByChannelsAndTimeRange operation described above,
    * but uses the provided FacetingDefinition to determine how to populate the Channel object associated
@@ -8,6 +8,7 @@ import gms.shared.waveform.coi.Waveform;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface WaveformRepositoryInterface {
   /**
@@ -30,6 +31,21 @@ public interface WaveformRepositoryInterface {
   Collection<ChannelSegment<Waveform>> findByChannelsAndTimeRange(
     Set<Channel> channels, Instant startTime, Instant endTime);
 
+  /**
+   * Implements the same query as findByChannelsAndTimeRange, but passes each {@link ChannelSegment} to the consumer
+   * as soon as it is assembled rather than returning them all at once, so callers can write them out without holding
+   * the whole result. The consumer is called from a single thread at a time, in no particular channel order.
+   *
+   * @param channels List of channels to return the list of ChannelSegments for.
+   * @param startTime beginning time of waveforms to query over
+   * @param endTime end time of waveforms to query over
+   * @param channelSegmentConsumer receives each {@link ChannelSegment} within the queried time interval
+   */
+  default void streamByChannelsAndTimeRange(Set<Channel> channels, Instant startTime, Instant endTime,
+    Consumer<ChannelSegment<Waveform>> channelSegmentConsumer) {
+    findByChannelsAndTimeRange(channels, startTime, endTime).forEach(channelSegmentConsumer);
+  }
+
   /**
    * Returns a collection of {@link ChannelSegment} as it existed at the creation time listed in
    * ChannelSegmentDescriptor, even if newer data samples have since been stored in this WaveformRepository.
@@ -0,0 +1,81 @@
+package gms.shared.waveform.repository;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs tasks on a shared {@link Executor}, at most a given number at a time, queueing the rest in submission order. A
+ * repository bounds its own concurrency this way while sharing threads with every other repository, so it owns no
+ * threads that need shutting down.
+ */
+final class BoundedExecutor implements Executor {
+
+  private final Executor delegate;
+  private final int limit;
+  private final Queue<Runnable> queued = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger running = new AtomicInteger();
+
+  private BoundedExecutor(Executor delegate, int limit) {
+    this.delegate = delegate;
+    this.limit = limit;
+  }
+
+  /**
+   * Creates a {@link BoundedExecutor} running at most limit tasks on the delegate at once
+   *
+   * @param delegate the executor to run the tasks on
+   * @param limit the number of tasks run at once
+   * @return a {@link BoundedExecutor}
+   */
+  static BoundedExecutor create(Executor delegate, int limit) {
+    Objects.requireNonNull(delegate);
+    Preconditions.checkArgument(limit > 0, "Limit must be positive");
+
+    return new BoundedExecutor(delegate, limit);
+  }
+
+  int getLimit() {
+    return limit;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    Objects.requireNonNull(task);
+    queued.add(task);
+    startQueued();
+  }
+
+  /**
+   * Starts queued tasks while fewer than the limit are running. Both a new task and a finished one call this after
+   * changing the queue or the running count, so a queued task is always started by one of them.
+   */
+  private void startQueued() {
+    while (!queued.isEmpty()) {
+      var current = running.get();
+      if (current >= limit) {
+        return;
+      }
+
+      if (running.compareAndSet(current, current + 1)) {
+        var task = queued.poll();
+        if (task == null) {
+          running.decrementAndGet();
+        } else {
+          delegate.execute(() -> {
+            try {
+              task.run();
+            } finally {
+              running.decrementAndGet();
+              startQueued();
+            }
+          });
+        }
+      }
+    }
+  }
+}
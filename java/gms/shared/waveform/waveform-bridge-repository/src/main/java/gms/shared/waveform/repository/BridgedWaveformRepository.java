@@ -1,13 +1,14 @@
 package gms.shared.waveform.repository;
 
+import com.google.common.collect.HashMultimap;
 import com.google.common.collect.LinkedListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.collect.Table;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import gms.shared.frameworks.systemconfig.SystemConfig;
 import gms.shared.spring.utilities.aspect.Timing;
 import gms.shared.spring.utilities.framework.RetryService;
-import gms.shared.stationdefinition.api.channel.util.ChannelsTimeFacetRequest;
 import gms.shared.stationdefinition.coi.channel.Channel;
-import gms.shared.stationdefinition.coi.facets.FacetingDefinition;
 import gms.shared.stationdefinition.dao.css.SiteChanKey;
 import gms.shared.stationdefinition.dao.css.WfdiscDao;
 import gms.shared.stationdefinition.database.connector.WfdiscDatabaseConnector;
@@ -24,9 +25,6 @@ import org.apache.ignite.IgniteCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
@@ -34,14 +32,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.MissingResourceException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.Function;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import static gms.shared.stationdefinition.facet.FacetingTypes.CHANNEL_TYPE;
-
 /**
  * A {@link WaveformRepositoryInterface} implementation that uses a bridged database
  */
@@ -53,11 +58,24 @@ public class BridgedWaveformRepository implements WaveformRepositoryInterface {
     .create(logger);
   private final WfdiscDatabaseConnector wfdiscDatabaseConnector;
   private final ChannelSegmentConverter converter;
-  private final RetryService retryService;
+  private final ChannelVersionCache channelVersionCache;
+  private final BoundedExecutor channelExecutor;
+  private final BoundedExecutor readExecutor;
   private IgniteCache<ChannelSegmentDescriptor, Long> channelSegmentDescriptorWfidCache;
 
-  private static final String STATION_DEFINITION_SERVICE_URL =
-    "http://station-definition-service:8080/station-definition-service/station-definition/channels/query/names";
+  /**
+   * System config keys for the number of channels assembled concurrently and the number of .w file reads made
+   * concurrently across them
+   */
+  static final String CHANNEL_PARALLELISM_KEY = "channel-assembly-parallelism";
+  static final String READ_PARALLELISM_KEY = "waveform-read-parallelism";
+  static final int DEFAULT_CHANNEL_PARALLELISM = 8;
+  static final int DEFAULT_READ_PARALLELISM = 16;
+
+  // Shared by every repository, as each bounds the channels and reads it runs itself. Channels wait on their reads, so
+  // they run on separate threads from the reads to not starve them
+  private static final ExecutorService channelThreads = newDaemonThreadPool("waveform-channel-assembly-%d");
+  private static final ExecutorService readThreads = newDaemonThreadPool("waveform-read-%d");
 
   @Autowired
   public BridgedWaveformRepository(
@@ -68,8 +86,29 @@ public class BridgedWaveformRepository implements WaveformRepositoryInterface {
     SystemConfig systemConfig) {
     this.wfdiscDatabaseConnector = wfdiscDatabaseConnector;
     this.converter = converter;
-    this.retryService = retryService;
+    this.channelVersionCache = ChannelVersionCache.create(retryService);
     this.channelSegmentDescriptorWfidCache = channelSegmentDescriptorWfidCache;
+
+    this.channelExecutor = BoundedExecutor.create(channelThreads,
+      getParallelism(systemConfig, CHANNEL_PARALLELISM_KEY, DEFAULT_CHANNEL_PARALLELISM));
+    this.readExecutor = BoundedExecutor.create(readThreads,
+      getParallelism(systemConfig, READ_PARALLELISM_KEY, DEFAULT_READ_PARALLELISM));
+  }
+
+  private static int getParallelism(SystemConfig systemConfig, String key, int defaultParallelism) {
+    try {
+      return Math.max(1, systemConfig.getValueAsInt(key));
+    } catch (MissingResourceException e) {
+      logger.info("{} not configured, defaulting to {}", key, defaultParallelism);
+      return defaultParallelism;
+    }
+  }
+
+  private static ExecutorService newDaemonThreadPool(String nameFormat) {
+    return Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+      .setNameFormat(nameFormat)
+      .setDaemon(true)
+      .build());
   }
 
   /**
@@ -103,6 +142,63 @@ public class BridgedWaveformRepository implements WaveformRepositoryInterface {
   public Collection<ChannelSegment<Waveform>> findByChannelsAndTimeRange(
     Set<Channel> channels, Instant startTime, Instant endTime) {
 
+    Multimap<Channel, WfdiscDao> channelWfdiscDaoMultimap = findWfdiscsByChannelVersion(channels, startTime, endTime);
+
+    var waveforms = timingLogger.apply("createWaveforms",
+      () -> createWaveforms(channelWfdiscDaoMultimap, startTime, endTime));
+
+
+    logger.info("Returning {} waveforms", waveforms.size());
+    return waveforms;
+  }
+
+  @Override
+  @Timing
+  public void streamByChannelsAndTimeRange(Set<Channel> channels, Instant startTime, Instant endTime,
+    Consumer<ChannelSegment<Waveform>> channelSegmentConsumer) {
+
+    Objects.requireNonNull(channelSegmentConsumer);
+    Multimap<Channel, WfdiscDao> channelWfdiscDaoMultimap = findWfdiscsByChannelVersion(channels, startTime, endTime);
+
+    // Only a bounded number of assembled segments wait to be consumed, however slowly the consumer writes them out
+    var conversions = new ExecutorCompletionService<ChannelSegment<Waveform>>(channelExecutor);
+    List<Future<ChannelSegment<Waveform>>> submitted = new ArrayList<>();
+    var pending = channelWfdiscDaoMultimap.asMap().entrySet().iterator();
+    var inFlight = 0;
+    var streamed = 0;
+    try {
+      while (pending.hasNext() || inFlight > 0) {
+        while (pending.hasNext() && inFlight < channelExecutor.getLimit()) {
+          var channelWfdiscs = pending.next();
+          var channel = channelWfdiscs.getKey();
+          var wfdiscs = new ArrayList<>(channelWfdiscs.getValue());
+          submitted.add(conversions.submit(() -> converter.convert(channel, wfdiscs, startTime, endTime,
+            readExecutor)));
+          inFlight++;
+        }
+
+        var channelSegment = take(conversions);
+        inFlight--;
+        if (channelSegment != null) {
+          channelSegmentConsumer.accept(channelSegment);
+          streamed++;
+        }
+      }
+    } finally {
+      // A consumer or conversion failure aborts the stream, so stop the conversions still reading its files
+      submitted.forEach(conversion -> conversion.cancel(true));
+    }
+
+    logger.info("Streamed {} waveforms", streamed);
+  }
+
+  /**
+   * Loads the wfdiscs of the channels in the time range, grouped by the version of their channel in effect at each
+   * wfdisc's time
+   */
+  private Multimap<Channel, WfdiscDao> findWfdiscsByChannelVersion(Set<Channel> channels, Instant startTime,
+    Instant endTime) {
+
     //load wfdisc associated with channels and timerange parameter list
     List<SiteChanKey> siteChanList = channels.stream()
       .map(siteChan -> StationDefinitionIdUtility.getCssKeyFromName(siteChan.getName()))
@@ -111,35 +207,44 @@ public class BridgedWaveformRepository implements WaveformRepositoryInterface {
     List<WfdiscDao> wfDiscDaos = wfdiscDatabaseConnector.findWfdiscsByNameAndTimeRange(
       siteChanList, startTime, endTime);
 
-    Map<Instant, List<WfdiscDao>> wfDiscsByTime = wfDiscDaos.stream()
-      .collect(Collectors.groupingBy(WfdiscDao::getTime));
-    Multimap<Channel, WfdiscDao> channelWfdiscDaoMultimap = LinkedListMultimap.create();
-
-    Map<Channel, List<WfdiscDao>> channelListMap = wfDiscsByTime.entrySet().stream()
-      .parallel()
-      .map(wfDiscs -> getChannelNamesForTime(wfDiscs, channels))
-      .map(pair -> Pair.of(getChannelsByName(pair.getLeft(), pair.getRight()), wfDiscsByTime.get(pair.getLeft())))
-      .map(pair -> Pair.of(pair.getLeft(), pair.getRight().stream()
-        .collect(Collectors.toMap(wfDisc -> StationDefinitionIdUtility.createStationChannelCode(wfDisc.getStationCode(), wfDisc.getChannelCode()),
-          Function.identity()))))
-      .flatMap(pair -> pair.getLeft().stream()
-        .map(channel -> Pair.of(
-          Channel.createVersionReference(channel.getName(), channel.getEffectiveAt().get()),
-          pair.getRight().get(StationDefinitionIdUtility.getStationChannelCodeFromChannel(channel))))
-      )
-      .collect(Collectors.groupingBy(Pair::getLeft, Collectors.mapping(Pair::getRight, Collectors.toList())));
-    channelListMap.forEach(channelWfdiscDaoMultimap::putAll);
+    // Resolve the channel version in effect at every wfdisc time with a single station definition query
+    Map<String, String> channelNamesByStaChanCode = channels.stream()
+      .collect(Collectors.toMap(
+        StationDefinitionIdUtility::getStationChannelCodeFromChannel,
+        Channel::getName,
+        (first, second) -> first));
+    List<String> wfdiscChannelNames = wfDiscDaos.stream()
+      .map(wfDisc -> channelNamesByStaChanCode.get(
+        StationDefinitionIdUtility.createStationChannelCode(wfDisc.getStationCode(), wfDisc.getChannelCode())))
+      .collect(Collectors.toList());
+    Multimap<String, Instant> wfdiscTimesByChannelName = HashMultimap.create();
+    for (var i = 0; i < wfDiscDaos.size(); i++) {
+      if (wfdiscChannelNames.get(i) != null) {
+        wfdiscTimesByChannelName.put(wfdiscChannelNames.get(i), wfDiscDaos.get(i).getTime());
+      }
+    }
 
-    var waveforms = timingLogger.apply("createWaveforms",
-      () -> createWaveforms(channelWfdiscDaoMultimap, startTime, endTime));
+    Table<String, Instant, Channel> channelVersions = channelVersionCache.resolveVersions(wfdiscTimesByChannelName);
+    if (channelVersions.isEmpty() && !wfdiscTimesByChannelName.isEmpty()) {
+      logger.info("No matching channels found for " + wfdiscTimesByChannelName.keySet());
+    }
 
+    Multimap<Channel, WfdiscDao> channelWfdiscDaoMultimap = LinkedListMultimap.create();
+    for (var i = 0; i < wfDiscDaos.size(); i++) {
+      var channelName = wfdiscChannelNames.get(i);
+      var channel = channelName == null ? null : channelVersions.get(channelName, wfDiscDaos.get(i).getTime());
+      if (channel != null) {
+        channelWfdiscDaoMultimap.put(channel, wfDiscDaos.get(i));
+      }
+    }
 
-    logger.info("Returning {} waveforms", waveforms.size());
-    return waveforms;
+    return channelWfdiscDaoMultimap;
   }
 
   /**
-   * converts Channel, WfDisc map to ChannelSegment<Waveform>  must be public to allow Timing aspect
+   * converts Channel, WfDisc map to ChannelSegment<Waveform>  must be public to allow Timing aspect. Channels are
+   * converted concurrently and their .w files read concurrently, bounded by the configured parallelism. The
+   * ChannelSegments are returned in the order of the map's channels.
    *
    * @param channelWfdiscDaoMultimap map containing channels to wfdisc
    * @param startTime time to start the waveform
@@ -149,64 +254,44 @@ public class BridgedWaveformRepository implements WaveformRepositoryInterface {
   public Collection<ChannelSegment<Waveform>> createWaveforms(Multimap<Channel, WfdiscDao> channelWfdiscDaoMultimap,
     Instant startTime, Instant endTime) {
 
-    return channelWfdiscDaoMultimap.keySet().stream()
-      .map(channel ->
-        converter.convert(channel,
-          new ArrayList<>(channelWfdiscDaoMultimap.get(channel)),
-          startTime,
-          endTime))
+    List<CompletableFuture<ChannelSegment<Waveform>>> conversions = channelWfdiscDaoMultimap.asMap().entrySet()
+      .stream()
+      .map(channelWfdiscs -> {
+        var channel = channelWfdiscs.getKey();
+        var wfdiscs = new ArrayList<>(channelWfdiscs.getValue());
+        return CompletableFuture.supplyAsync(
+          () -> converter.convert(channel, wfdiscs, startTime, endTime, readExecutor), channelExecutor);
+      })
+      .collect(Collectors.toList());
+
+    return conversions.stream()
+      .map(BridgedWaveformRepository::join)
       .collect(Collectors.toList());
   }
 
-  /**
-   * maps wfdisc for a given time to Channels for the given time
-   *
-   * @param wfDiscs wfdisc for a given time
-   * @param channels channels for a given time
-   * @return list of channelNames for a given Time
-   */
-  private Pair<Instant, List<String>> getChannelNamesForTime(Map.Entry<Instant, List<WfdiscDao>> wfDiscs,
-    Set<Channel> channels) {
-    //stores stationChannel code to channel names to be used in populating ChannelsTimeFacetRequest for a specific wfdisc
-    Map<String, String> staChanCodeChannelMap = channels.stream()
-      .collect(Collectors.toMap(
-        StationDefinitionIdUtility::getStationChannelCodeFromChannel,
-        Channel::getName));
-    return Pair.of(wfDiscs.getKey(),
-      wfDiscs.getValue().stream().map(wfDisc -> staChanCodeChannelMap.get(
-          StationDefinitionIdUtility.createStationChannelCode(
-            wfDisc.getStationCode(), wfDisc.getChannelCode())))
-        .collect(Collectors.toList()));
+  private static <T> T take(CompletionService<T> completionService) {
+    try {
+      return completionService.take().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while assembling channel segments", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
   }
 
-  /**
-   * calls station definition to get all channels for an effective time
-   *
-   * @param effectiveTime time to find associated channels
-   * @param channelNames list of channels to load
-   * @return List of Channels at effective at the given time
-   */
-  private List<Channel> getChannelsByName(Instant effectiveTime, List<String> channelNames) {
-    var request = ChannelsTimeFacetRequest.builder()
-      .setChannelNames(channelNames)
-      .setEffectiveTime(effectiveTime)
-      .setFacetingDefinition(
-        FacetingDefinition.builder()
-          .setPopulated(true)
-          .setClassType(CHANNEL_TYPE.getValue())
-          .build())
-      .build();
-    List<Channel> channelList = retryService.retry(
-      STATION_DEFINITION_SERVICE_URL,
-      HttpMethod.POST,
-      new HttpEntity<>(request),
-      new ParameterizedTypeReference<List<Channel>>() {
-      });
-    if (channelList.isEmpty()) {
-      logger.info("No matching channels found for " + channelNames);
-      return new ArrayList<>();
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
     }
-    return channelList;
   }
 
   @Override
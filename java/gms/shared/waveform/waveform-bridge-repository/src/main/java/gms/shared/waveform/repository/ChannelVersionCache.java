@@ -0,0 +1,207 @@
+package gms.shared.waveform.repository;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.HashBasedTable;
+import com.google.common.collect.ImmutableRangeSet;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeMap;
+import com.google.common.collect.RangeSet;
+import com.google.common.collect.Table;
+import com.google.common.collect.TreeRangeMap;
+import com.google.common.collect.TreeRangeSet;
+import gms.shared.spring.utilities.framework.RetryService;
+import gms.shared.stationdefinition.api.channel.util.ChannelsTimeRangeRequest;
+import gms.shared.stationdefinition.api.util.TimeRangeRequest;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the {@link Channel} versions in effect at given times, for many channels and times at once. The version
+ * ranges of each channel are kept for the time spans they have been queried for, so a call only queries station
+ * definition for the channel names and times it does not already know, and then with a single request.
+ */
+public class ChannelVersionCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(ChannelVersionCache.class);
+
+  /**
+   * How long the versions of a channel are kept, bounding how stale the latest (open ended) version can become
+   */
+  static final Duration DEFAULT_EXPIRATION = Duration.ofMinutes(30);
+  static final long DEFAULT_MAXIMUM_CHANNELS = 10_000;
+
+  private static final String STATION_DEFINITION_SERVICE_URL =
+    "http://station-definition-service:8080/station-definition-service/station-definition/channels/query/names-timerange";
+
+  private final Function<ChannelsTimeRangeRequest, List<Channel>> channelQuery;
+  private final Cache<String, ChannelVersions> versionsByChannelName;
+
+  private ChannelVersionCache(Function<ChannelsTimeRangeRequest, List<Channel>> channelQuery, Duration expiration) {
+    this.channelQuery = channelQuery;
+    this.versionsByChannelName = CacheBuilder.newBuilder()
+      .expireAfterWrite(expiration)
+      .maximumSize(DEFAULT_MAXIMUM_CHANNELS)
+      .build();
+  }
+
+  /**
+   * Creates a {@link ChannelVersionCache} querying channel versions from the station definition service
+   *
+   * @param retryService the {@link RetryService} to make requests of the station definition service with
+   * @return a {@link ChannelVersionCache}
+   */
+  public static ChannelVersionCache create(RetryService retryService) {
+    Objects.requireNonNull(retryService);
+    return create(request -> retryService.retry(
+        STATION_DEFINITION_SERVICE_URL,
+        HttpMethod.POST,
+        new HttpEntity<>(request),
+        new ParameterizedTypeReference<List<Channel>>() {
+        }),
+      DEFAULT_EXPIRATION);
+  }
+
+  /**
+   * Creates a {@link ChannelVersionCache}
+   *
+   * @param channelQuery returns the versions of the requested channels that are in effect during the requested time
+   * range
+   * @param expiration how long the versions of a channel are kept after they were queried
+   * @return a {@link ChannelVersionCache}
+   */
+  static ChannelVersionCache create(Function<ChannelsTimeRangeRequest, List<Channel>> channelQuery,
+    Duration expiration) {
+    Objects.requireNonNull(channelQuery);
+    Objects.requireNonNull(expiration);
+    Preconditions.checkArgument(!expiration.isNegative(), "Expiration must not be negative");
+    return new ChannelVersionCache(channelQuery, expiration);
+  }
+
+  /**
+   * Resolves the version of each channel in effect at each of its times, making at most one station definition
+   * request
+   *
+   * @param effectiveTimesByChannelName the times to resolve the version at, by channel name
+   * @return version references of the resolved channels, by channel name and time. Times at which a channel has no
+   * version are left out.
+   */
+  public Table<String, Instant, Channel> resolveVersions(Multimap<String, Instant> effectiveTimesByChannelName) {
+    Objects.requireNonNull(effectiveTimesByChannelName);
+
+    Table<String, Instant, Channel> resolved = HashBasedTable.create();
+    Multimap<String, Instant> unknown = LinkedHashMultimap.create();
+    effectiveTimesByChannelName.forEach((name, time) -> {
+      var versions = versionsByChannelName.getIfPresent(name);
+      if (versions != null && versions.covers(time)) {
+        versions.get(time).ifPresent(channel -> resolved.put(name, time, channel));
+      } else {
+        unknown.put(name, time);
+      }
+    });
+
+    if (!unknown.isEmpty()) {
+      Map<String, ChannelVersions> queried = query(unknown.keySet(), unknown.values());
+      unknown.forEach((name, time) -> queried.get(name).get(time)
+        .ifPresent(channel -> resolved.put(name, time, channel)));
+    }
+
+    return resolved;
+  }
+
+  /**
+   * Queries the versions of the channels over the span of the times, merges them into the cache and returns them
+   */
+  private Map<String, ChannelVersions> query(Collection<String> channelNames, Collection<Instant> times) {
+    Instant startTime = Collections.min(times);
+    // The service requires a non-empty time range
+    Instant endTime = Collections.max(times);
+    if (endTime.equals(startTime)) {
+      endTime = startTime.plusMillis(1);
+    }
+    logger.debug("Querying versions of {} channels from {} to {}", channelNames.size(), startTime, endTime);
+
+    List<Channel> channels = channelQuery.apply(ChannelsTimeRangeRequest.builder()
+      .setChannelNames(channelNames)
+      .setTimeRange(TimeRangeRequest.builder()
+        .setStartTime(startTime)
+        .setEndTime(endTime)
+        .build())
+      .build());
+
+    Map<String, List<Channel>> channelsByName = channels.stream()
+      .filter(channel -> channel.getEffectiveAt().isPresent())
+      .collect(Collectors.groupingBy(Channel::getName));
+
+    // Names without any version are recorded too, so they are not queried again for the same span
+    Range<Instant> span = Range.closed(startTime, endTime);
+    return channelNames.stream()
+      .collect(Collectors.toMap(Function.identity(), name -> versionsByChannelName.asMap().merge(name,
+        ChannelVersions.from(span, channelsByName.getOrDefault(name, List.of())),
+        ChannelVersions::merge)));
+  }
+
+  /**
+   * The known version ranges of a channel and the time spans they are known for. Instances are not modified once
+   * cached, merging creates a new one.
+   */
+  private static final class ChannelVersions {
+
+    private final RangeSet<Instant> covered;
+    private final RangeMap<Instant, Channel> versions;
+
+    private ChannelVersions(RangeSet<Instant> covered, RangeMap<Instant, Channel> versions) {
+      this.covered = covered;
+      this.versions = versions;
+    }
+
+    private static ChannelVersions from(Range<Instant> span, List<Channel> channels) {
+      RangeMap<Instant, Channel> versions = TreeRangeMap.create();
+      channels.forEach(channel -> {
+        Instant effectiveAt = channel.getEffectiveAt().orElseThrow();
+        Range<Instant> range = channel.getData().flatMap(Channel.Data::getEffectiveUntil)
+          .map(effectiveUntil -> Range.closed(effectiveAt, effectiveUntil))
+          .orElseGet(() -> Range.atLeast(effectiveAt));
+        versions.put(range, Channel.createVersionReference(channel.getName(), effectiveAt));
+      });
+      return new ChannelVersions(ImmutableRangeSet.of(span), versions);
+    }
+
+    private ChannelVersions merge(ChannelVersions newer) {
+      RangeSet<Instant> mergedCovered = TreeRangeSet.create(covered);
+      mergedCovered.addAll(newer.covered);
+
+      RangeMap<Instant, Channel> mergedVersions = TreeRangeMap.create();
+      mergedVersions.putAll(versions);
+      mergedVersions.putAll(newer.versions);
+
+      return new ChannelVersions(mergedCovered, mergedVersions);
+    }
+
+    private boolean covers(Instant time) {
+      return covered.contains(time);
+    }
+
+    private Optional<Channel> get(Instant time) {
+      return java.util.Optional.ofNullable(versions.get(time));
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package gms.shared.waveform.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedExecutorTest {
+
+  private ExecutorService threads;
+
+  @BeforeEach
+  void setUp() {
+    threads = Executors.newCachedThreadPool();
+  }
+
+  @AfterEach
+  void tearDown() {
+    threads.shutdownNow();
+  }
+
+  @Test
+  void testCreateValidation() {
+    assertThrows(NullPointerException.class, () -> BoundedExecutor.create(null, 1));
+    assertThrows(IllegalArgumentException.class, () -> BoundedExecutor.create(threads, 0));
+  }
+
+  @Test
+  void testRunsAtMostLimitTasksAtOnce() throws InterruptedException {
+    var executor = BoundedExecutor.create(threads, 3);
+    var running = new AtomicInteger();
+    var maxRunning = new AtomicInteger();
+    var release = new CountDownLatch(1);
+
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for (var i = 0; i < 20; i++) {
+      tasks.add(CompletableFuture.runAsync(() -> {
+        maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+        try {
+          release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        running.decrementAndGet();
+      }, executor));
+    }
+
+    // Give the shared pool time to start more tasks than the limit, were it allowed to
+    TimeUnit.MILLISECONDS.sleep(100);
+    assertEquals(3, running.get());
+
+    release.countDown();
+    CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+    assertEquals(3, maxRunning.get());
+    assertTrue(tasks.stream().allMatch(CompletableFuture::isDone));
+  }
+
+  @Test
+  void testRunsQueuedTasksInSubmissionOrder() {
+    var executor = BoundedExecutor.create(threads, 1);
+    List<Integer> order = new ArrayList<>();
+
+    List<CompletableFuture<Void>> tasks = new ArrayList<>();
+    for (var i = 0; i < 100; i++) {
+      var index = i;
+      tasks.add(CompletableFuture.runAsync(() -> order.add(index), executor));
+    }
+    CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+
+    List<Integer> expected = new ArrayList<>();
+    for (var i = 0; i < 100; i++) {
+      expected.add(i);
+    }
+    assertEquals(expected, order);
+  }
+}
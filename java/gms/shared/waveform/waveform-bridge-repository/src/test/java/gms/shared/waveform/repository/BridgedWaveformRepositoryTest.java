@@ -3,7 +3,6 @@ package gms.shared.waveform.repository;
 import com.google.common.collect.Range;
 import gms.shared.frameworks.systemconfig.SystemConfig;
 import gms.shared.spring.utilities.framework.RetryService;
-import gms.shared.stationdefinition.api.channel.util.ChannelsTimeFacetRequest;
 import gms.shared.stationdefinition.coi.channel.Channel;
 import gms.shared.stationdefinition.coi.utils.Units;
 import gms.shared.stationdefinition.dao.css.WfdiscDao;
@@ -19,7 +18,6 @@ import gms.shared.waveform.converter.ChannelSegmentConverter;
 import gms.shared.waveform.testfixture.ChannelSegmentTestFixtures;
 import gms.shared.waveform.testfixture.WaveformRequestTestFixtures;
 import gms.shared.waveform.testfixture.WaveformTestFixtures;
-import org.apache.commons.lang3.tuple.Pair;
 import org.apache.ignite.IgniteCache;
 import org.apache.logging.log4j.util.TriConsumer;
 import org.junit.jupiter.api.Test;
@@ -40,19 +38,21 @@ import java.time.temporal.ChronoUnit;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 import static gms.shared.stationdefinition.testfixtures.CSSDaoTestFixtures.WFDISC_DAO_1;
 import static gms.shared.stationdefinition.testfixtures.CSSDaoTestFixtures.WFDISC_TEST_DAO_1;
 import static gms.shared.stationdefinition.testfixtures.CSSDaoTestFixtures.WFDISC_TEST_DAO_3;
 import static gms.shared.stationdefinition.testfixtures.CSSDaoTestFixtures.WFDISC_TEST_DAO_4;
+import static gms.shared.stationdefinition.testfixtures.CssDaoAndCoiParameters.ONDATE;
+import static gms.shared.stationdefinition.testfixtures.CssDaoAndCoiParameters.ONDATE2;
 import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.WAVEFORM_CHANNEL;
 import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.WAVEFORM_CHANNEL_2;
 import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.WAVEFORM_CHANNEL_LATER_ON_DATE;
 import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.channelSegmentDescriptor;
-import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.channelsTimeFacetRequest;
-import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.channelsTimeFacetRequest2;
-import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.channelsTimeFacetRequest3;
 import static gms.shared.waveform.testfixture.WaveformTestFixtures.randomSamples0To1;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -63,6 +63,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.refEq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -103,17 +104,20 @@ class BridgedWaveformRepositoryTest {
   }
 
   static Stream<Arguments> getFindByChannelsAndTimeRangeArguments() {
+    Channel channelAtOnDate = WAVEFORM_CHANNEL.toBuilder().setEffectiveAt(ONDATE).build();
+    Channel channelUntilOnDate2 = (Channel) channelAtOnDate.setEffectiveUntil(ONDATE2.minusMillis(1));
+    Channel channelAtOnDate2 = WAVEFORM_CHANNEL_LATER_ON_DATE.toBuilder().setEffectiveAt(ONDATE2).build();
+
     return Stream.of(
       arguments(WaveformRequestTestFixtures.channelTimeRangeRequest,
         List.of(WFDISC_DAO_1),
-        List.of(Pair.of(List.of(WAVEFORM_CHANNEL), channelsTimeFacetRequest)), 1),
+        List.of(channelAtOnDate), 1),
       arguments(WaveformRequestTestFixtures.channelTimeRangeRequest,
         List.of(WFDISC_TEST_DAO_1, WFDISC_TEST_DAO_4),
-        List.of(Pair.of(List.of(WAVEFORM_CHANNEL), channelsTimeFacetRequest),
-          Pair.of(List.of(WAVEFORM_CHANNEL_LATER_ON_DATE), channelsTimeFacetRequest3)), 2),
+        List.of(channelUntilOnDate2, channelAtOnDate2), 2),
       arguments(WaveformRequestTestFixtures.channelTimeRangeRequest2Channels,
         List.of(WFDISC_TEST_DAO_1, WFDISC_TEST_DAO_3),
-        List.of(Pair.of(List.of(WAVEFORM_CHANNEL, WAVEFORM_CHANNEL_2), channelsTimeFacetRequest2)), 2));
+        List.of(channelAtOnDate, WAVEFORM_CHANNEL_2), 2));
   }
 
   static Stream<Arguments> getValidateChannelSegmentDescriptorArguments() {
@@ -158,46 +162,93 @@ class BridgedWaveformRepositoryTest {
       wfdiscDatabaseConnector, channelSegmentConverter, channelSegmentDescriptorWfidCache, systemConfig));
   }
 
-  @ParameterizedTest
-  @MethodSource("getFindByChannelsAndTimeRangeArguments")
-  void findByChannelsAndTimeRange(ChannelTimeRangeRequest request, List<WfdiscDao> wfDiscList,
-    List<Pair<List<Channel>, ChannelsTimeFacetRequest>> findChannelsByNameAndTimeArgs,
-    int expectedResult) {
+  @Test
+  void streamByChannelsAndTimeRangeCancelsConversionsWhenConsumerFails() throws InterruptedException {
+    var request = WaveformRequestTestFixtures.channelTimeRangeRequest2Channels;
+    Channel channelAtOnDate = WAVEFORM_CHANNEL.toBuilder().setEffectiveAt(ONDATE).build();
 
-    doReturn(wfDiscList).when(wfdiscDatabaseConnector)
-      .findWfdiscsByNameAndTimeRange(
-        any(Collection.class), eq(request.getStartTime()), eq(request.getEndTime()));
+    when(systemConfig.getValueAsInt(anyString())).thenReturn(2);
+    var repository = new BridgedWaveformRepository(wfdiscDatabaseConnector, channelSegmentConverter, retryService,
+      channelSegmentDescriptorWfidCache, systemConfig);
+
+    doReturn(List.of(WFDISC_TEST_DAO_1, WFDISC_TEST_DAO_3)).when(wfdiscDatabaseConnector)
+      .findWfdiscsByNameAndTimeRange(any(Collection.class), eq(request.getStartTime()), eq(request.getEndTime()));
+    doReturn(List.of(channelAtOnDate, WAVEFORM_CHANNEL_2))
+      .when(retryService)
+      .retry(anyString(),
+        any(HttpMethod.class),
+        any(HttpEntity.class),
+        ArgumentMatchers.<ParameterizedTypeReference<List<Channel>>>any()
+      );
 
-    findChannelsByNameAndTimeArgs.stream().forEach(channelRequestPair -> {
-      List<Channel> channel = channelRequestPair.getLeft();
-      assertNotNull(channel);
-
-      doReturn(channelRequestPair.getLeft())
-        .when(retryService)
-        .retry(anyString(),
-          any(HttpMethod.class),
-          eq(new HttpEntity<>(channelRequestPair.getRight())),
-          ArgumentMatchers.<ParameterizedTypeReference<List<Channel>>>any()
-        );
-
-      for (int i = 0; i < channelRequestPair.getLeft().size(); i++) {
-        Channel channelRequest = channelRequestPair.getLeft().get(i);
-
-        //channelRequestPair.getLeft().forEach(channelRequest -> {
-        ChannelSegment<Waveform> channelSegment = ChannelSegment.<Waveform>builder()
-          .setId(ChannelSegmentDescriptor.from(channelRequest,
-            request.getStartTime(),
-            request.getEndTime(),
-            Instant.EPOCH))
+    // One channel assembles once the other has started, which then runs until it is cancelled
+    var slowConversionStarted = new CountDownLatch(1);
+    var slowConversionInterrupted = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      Channel channel = invocation.getArgument(0);
+      if (WAVEFORM_CHANNEL.getName().equals(channel.getName())) {
+        slowConversionStarted.await();
+        return ChannelSegment.<Waveform>builder()
+          .setId(ChannelSegmentDescriptor.from(channel, request.getStartTime(), request.getEndTime(), Instant.EPOCH))
           .setData(ChannelSegment.Data.<Waveform>builder()
             .setUnits(Units.MICROPASCALS)
             .setTimeseriesType(Timeseries.Type.WAVEFORM)
             .setTimeseries(List.of(randomSamples0To1(request.getStartTime(), request.getEndTime(), 40)))
             .build())
           .build();
-        doReturn(channelSegment)
-          .when(channelSegmentConverter).convert(refEq(channel.get(i), "data"), any(), any(), any());
       }
+      slowConversionStarted.countDown();
+      try {
+        Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+      } catch (InterruptedException e) {
+        slowConversionInterrupted.countDown();
+      }
+      return null;
+    }).when(channelSegmentConverter).convert(any(Channel.class), any(), any(), any(), any(Executor.class));
+
+    var channels = request.getChannels();
+    var startTime = request.getStartTime();
+    var endTime = request.getEndTime();
+    assertThrows(IllegalStateException.class, () -> repository.streamByChannelsAndTimeRange(channels, startTime,
+      endTime, channelSegment -> {
+        throw new IllegalStateException("client disconnected");
+      }));
+
+    assertTrue(slowConversionInterrupted.await(10, TimeUnit.SECONDS));
+  }
+
+  @ParameterizedTest
+  @MethodSource("getFindByChannelsAndTimeRangeArguments")
+  void findByChannelsAndTimeRange(ChannelTimeRangeRequest request, List<WfdiscDao> wfDiscList,
+    List<Channel> channelVersions, int expectedResult) {
+
+    doReturn(wfDiscList).when(wfdiscDatabaseConnector)
+      .findWfdiscsByNameAndTimeRange(
+        any(Collection.class), eq(request.getStartTime()), eq(request.getEndTime()));
+
+    doReturn(channelVersions)
+      .when(retryService)
+      .retry(anyString(),
+        any(HttpMethod.class),
+        any(HttpEntity.class),
+        ArgumentMatchers.<ParameterizedTypeReference<List<Channel>>>any()
+      );
+
+    channelVersions.forEach(channelVersion -> {
+      ChannelSegment<Waveform> channelSegment = ChannelSegment.<Waveform>builder()
+        .setId(ChannelSegmentDescriptor.from(channelVersion,
+          request.getStartTime(),
+          request.getEndTime(),
+          Instant.EPOCH))
+        .setData(ChannelSegment.Data.<Waveform>builder()
+          .setUnits(Units.MICROPASCALS)
+          .setTimeseriesType(Timeseries.Type.WAVEFORM)
+          .setTimeseries(List.of(randomSamples0To1(request.getStartTime(), request.getEndTime(), 40)))
+          .build())
+        .build();
+      doReturn(channelSegment)
+        .when(channelSegmentConverter).convert(refEq(Channel.createVersionReference(channelVersion), "data"),
+          any(), any(), any(), any(Executor.class));
     });
 
     Collection<ChannelSegment<Waveform>> channelSegResult =
@@ -211,6 +262,12 @@ class BridgedWaveformRepositoryTest {
       assertTrue(Range.closed(request.getStartTime(), request.getEndTime())
         .encloses(Range.closed(descriptor.getStartTime(), descriptor.getEndTime())));
     });
+
+    // The versions at every wfdisc time are resolved with a single station definition request
+    verify(retryService).retry(anyString(),
+      any(HttpMethod.class),
+      any(HttpEntity.class),
+      ArgumentMatchers.<ParameterizedTypeReference<List<Channel>>>any());
   }
 
   @ParameterizedTest
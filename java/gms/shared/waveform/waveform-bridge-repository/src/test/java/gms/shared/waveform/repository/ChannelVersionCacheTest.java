@@ -0,0 +1,151 @@
+package gms.shared.waveform.repository;
+
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Table;
+import gms.shared.stationdefinition.api.channel.util.ChannelsTimeRangeRequest;
+import gms.shared.stationdefinition.coi.channel.Channel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static gms.shared.stationdefinition.testfixtures.CssDaoAndCoiParameters.ONDATE;
+import static gms.shared.stationdefinition.testfixtures.CssDaoAndCoiParameters.ONDATE2;
+import static gms.shared.stationdefinition.testfixtures.CssDaoAndCoiParameters.ONDATE3;
+import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.WAVEFORM_CHANNEL;
+import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.WAVEFORM_CHANNEL_2;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChannelVersionCacheTest {
+
+  private static final String CHANNEL_NAME = WAVEFORM_CHANNEL.getName();
+  private static final String CHANNEL_NAME_2 = WAVEFORM_CHANNEL_2.getName();
+
+  // CHANNEL_NAME has a version from ONDATE until ONDATE2 and from ONDATE3 on, CHANNEL_NAME_2 from ONDATE on
+  private static final List<Channel> VERSIONS = List.of(
+    version(WAVEFORM_CHANNEL, ONDATE, ONDATE2.minusMillis(1)),
+    version(WAVEFORM_CHANNEL, ONDATE3, null),
+    version(WAVEFORM_CHANNEL_2, ONDATE, null));
+
+  private List<ChannelsTimeRangeRequest> requests;
+  private ChannelVersionCache cache;
+
+  @BeforeEach
+  void setUp() {
+    requests = new ArrayList<>();
+    cache = ChannelVersionCache.create(request -> {
+      requests.add(request);
+      return VERSIONS.stream()
+        .filter(channel -> request.getChannelNames().contains(channel.getName()))
+        .filter(channel -> !channel.getEffectiveAt().orElseThrow().isAfter(request.getTimeRange().getEndTime()))
+        .filter(channel -> channel.getEffectiveUntil()
+          .map(effectiveUntil -> !effectiveUntil.isBefore(request.getTimeRange().getStartTime()))
+          .orElse(true))
+        .collect(Collectors.toList());
+    }, ChannelVersionCache.DEFAULT_EXPIRATION);
+  }
+
+  @Test
+  void testResolveVersionsQueriesOnce() {
+    Table<String, Instant, Channel> resolved = cache.resolveVersions(ImmutableListMultimap.of(
+      CHANNEL_NAME, ONDATE,
+      CHANNEL_NAME, ONDATE.plusSeconds(60),
+      CHANNEL_NAME, ONDATE3.plusSeconds(60),
+      CHANNEL_NAME_2, ONDATE2));
+
+    assertEquals(1, requests.size());
+    assertEquals(List.of(CHANNEL_NAME, CHANNEL_NAME_2), requests.get(0).getChannelNames());
+    assertEquals(ONDATE, requests.get(0).getTimeRange().getStartTime());
+    assertEquals(ONDATE3.plusSeconds(60), requests.get(0).getTimeRange().getEndTime());
+
+    assertEquals(4, resolved.size());
+    assertEquals(Channel.createVersionReference(CHANNEL_NAME, ONDATE), resolved.get(CHANNEL_NAME, ONDATE));
+    assertEquals(Channel.createVersionReference(CHANNEL_NAME, ONDATE),
+      resolved.get(CHANNEL_NAME, ONDATE.plusSeconds(60)));
+    assertEquals(Channel.createVersionReference(CHANNEL_NAME, ONDATE3),
+      resolved.get(CHANNEL_NAME, ONDATE3.plusSeconds(60)));
+    assertEquals(Channel.createVersionReference(CHANNEL_NAME_2, ONDATE), resolved.get(CHANNEL_NAME_2, ONDATE2));
+  }
+
+  @Test
+  void testResolveVersionsCoveredTimesNotQueriedAgain() {
+    cache.resolveVersions(ImmutableListMultimap.of(CHANNEL_NAME, ONDATE, CHANNEL_NAME, ONDATE3));
+
+    Table<String, Instant, Channel> resolved = cache.resolveVersions(ImmutableListMultimap.of(
+      CHANNEL_NAME, ONDATE.plusSeconds(1),
+      CHANNEL_NAME, ONDATE2.minusSeconds(1)));
+
+    assertEquals(1, requests.size());
+    assertEquals(2, resolved.size());
+  }
+
+  @Test
+  void testResolveVersionsQueriesOnlyUncovered() {
+    cache.resolveVersions(ImmutableListMultimap.of(CHANNEL_NAME, ONDATE, CHANNEL_NAME, ONDATE2));
+
+    Table<String, Instant, Channel> resolved = cache.resolveVersions(ImmutableListMultimap.of(
+      CHANNEL_NAME, ONDATE.plusSeconds(1),
+      CHANNEL_NAME, ONDATE3,
+      CHANNEL_NAME_2, ONDATE));
+
+    assertEquals(2, requests.size());
+    assertEquals(List.of(CHANNEL_NAME, CHANNEL_NAME_2), requests.get(1).getChannelNames());
+    assertEquals(ONDATE, requests.get(1).getTimeRange().getStartTime());
+    assertEquals(ONDATE3, requests.get(1).getTimeRange().getEndTime());
+    assertEquals(3, resolved.size());
+  }
+
+  @Test
+  void testResolveVersionsWithoutVersionAbsent() {
+    Instant beforeVersions = ONDATE.minusSeconds(60);
+    Table<String, Instant, Channel> resolved = cache.resolveVersions(ImmutableListMultimap.of(
+      CHANNEL_NAME, beforeVersions,
+      CHANNEL_NAME, ONDATE2,
+      "unknown", ONDATE2));
+
+    assertTrue(resolved.isEmpty());
+
+    // Times without a version are known too once queried
+    assertNull(cache.resolveVersions(ImmutableListMultimap.of(CHANNEL_NAME, beforeVersions.plusSeconds(1)))
+      .get(CHANNEL_NAME, beforeVersions.plusSeconds(1)));
+    assertEquals(1, requests.size());
+  }
+
+  @Test
+  void testResolveVersionsSingleTimeQueriesNonEmptyRange() {
+    cache.resolveVersions(ImmutableListMultimap.of(CHANNEL_NAME, ONDATE));
+
+    assertEquals(ONDATE, requests.get(0).getTimeRange().getStartTime());
+    assertTrue(requests.get(0).getTimeRange().getEndTime().isAfter(ONDATE));
+  }
+
+  @Test
+  void testResolveVersionsEmptyNotQueried() {
+    assertTrue(cache.resolveVersions(ImmutableListMultimap.of()).isEmpty());
+    assertTrue(requests.isEmpty());
+  }
+
+  @Test
+  void testCreateValidation() {
+    assertThrows(NullPointerException.class,
+      () -> ChannelVersionCache.create(null, Duration.ZERO));
+    assertThrows(IllegalArgumentException.class,
+      () -> ChannelVersionCache.create(request -> List.of(), Duration.ofSeconds(-1)));
+  }
+
+  private static Channel version(Channel channel, Instant effectiveAt, Instant effectiveUntil) {
+    return channel.toBuilder()
+      .setEffectiveAt(effectiveAt)
+      .setData(channel.getData().orElseThrow().toBuilder()
+        .setEffectiveUntil(effectiveUntil)
+        .build())
+      .build();
+  }
+}
@@ -2,6 +2,7 @@ package gms.shared.waveform.converter;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Range;
+import com.google.common.util.concurrent.MoreExecutors;
 import gms.shared.stationdefinition.coi.channel.Channel;
 import gms.shared.stationdefinition.coi.channel.ChannelTypes;
 import gms.shared.stationdefinition.coi.channel.ChannelTypesParser;
@@ -14,26 +15,36 @@ import gms.shared.waveform.coi.ChannelSegmentDescriptor;
 import gms.shared.waveform.coi.Waveform;
 import gms.shared.waveform.coi.util.TimeseriesUtility;
 import gms.shared.waveform.coi.util.WaveformUtility;
-import gms.utilities.waveformreader.WaveformReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 @Component
 public class ChannelSegmentConvertImpl implements ChannelSegmentConverter {
 
+  private final WaveformFileReader waveformFileReader;
+
+  public ChannelSegmentConvertImpl() {
+    this(WaveformFileReader.create());
+  }
+
+  private ChannelSegmentConvertImpl(WaveformFileReader waveformFileReader) {
+    this.waveformFileReader = waveformFileReader;
+  }
+
   /**
    * creates and validates a new {@link ChannelSegmentConvertImpl}
    *
@@ -43,6 +54,17 @@ public class ChannelSegmentConvertImpl implements ChannelSegmentConverter {
     return new ChannelSegmentConvertImpl();
   }
 
+  /**
+   * creates and validates a new {@link ChannelSegmentConvertImpl} reading .w files through the given reader
+   *
+   * @param waveformFileReader the {@link WaveformFileReader} to read .w files with
+   * @return a {@link ChannelSegmentConvertImpl}
+   */
+  public static ChannelSegmentConvertImpl create(WaveformFileReader waveformFileReader) {
+    Objects.requireNonNull(waveformFileReader);
+    return new ChannelSegmentConvertImpl(waveformFileReader);
+  }
+
   private static final Logger logger = LoggerFactory.getLogger(ChannelSegmentConvertImpl.class);
   private static final TimingLogger<Optional<Waveform>> timingLogger = TimingLogger.create(logger);
 
@@ -59,16 +81,32 @@ public class ChannelSegmentConvertImpl implements ChannelSegmentConverter {
    */
   public ChannelSegment<Waveform> convert(Channel channel, List<WfdiscDao> wfdiscDaos, Instant startTime,
     Instant endTime) {
+    return convert(channel, wfdiscDaos, startTime, endTime, MoreExecutors.directExecutor());
+  }
+
+  /**
+   * Converts a Channel a list of WfdiscDao and File pairs into a {@link ChannelSegment<Waveform>}, reading the .w
+   * files of the wfdiscs on the given executor
+   *
+   * @param channel The channel corresponding to the wfdiscDaos
+   * @param wfdiscDaos a list of  WfdiscDaos
+   * @param readExecutor the executor to read the .w files on
+   * @return A ChannelSegment representing the provided channel, wfdisDaos, and .w files
+   */
+  @Override
+  public ChannelSegment<Waveform> convert(Channel channel, List<WfdiscDao> wfdiscDaos, Instant startTime,
+    Instant endTime, Executor readExecutor) {
 
     Objects.requireNonNull(channel);
     Objects.requireNonNull(wfdiscDaos);
+    Objects.requireNonNull(readExecutor);
 
     if (wfdiscDaos.isEmpty()) {
       logger.warn("List of wfdiscs and files is empty, returning null ChannelSegment");
       return null;
     }
 
-    List<Waveform> waveforms = readWaveforms(wfdiscDaos, channel, startTime, endTime);
+    List<Waveform> waveforms = readWaveforms(wfdiscDaos, channel, startTime, endTime, readExecutor);
 
     if (waveforms.isEmpty()) {
       return null;
@@ -104,7 +142,8 @@ public class ChannelSegmentConvertImpl implements ChannelSegmentConverter {
     var startTime = channelSegmentDescriptor.getStartTime();
     var endTime = channelSegmentDescriptor.getEndTime();
 
-    List<Waveform> waveformList = readWaveforms(wfdiscDaos, channel, startTime, endTime);
+    List<Waveform> waveformList = readWaveforms(wfdiscDaos, channel, startTime, endTime,
+      MoreExecutors.directExecutor());
 
     if (waveformList.isEmpty()) {
       return null;
@@ -116,14 +155,38 @@ public class ChannelSegmentConvertImpl implements ChannelSegmentConverter {
   }
 
   private List<Waveform> readWaveforms(List<WfdiscDao> wfdiscDaos, Channel channel, Instant startTime,
-    Instant endTime) {
-    return WaveformUtility.mergeWaveforms(wfdiscDaos.stream()
-      .map(wfdiscDao -> timingLogger.apply("readWaveform",
-        () -> tryReadWaveform(wfdiscDao, channel, startTime, endTime)))
-      .flatMap(Optional::stream)
-      .collect(Collectors.toList()), 1, SAMPLE_DIFF_ALLOWED);
+    Instant endTime, Executor readExecutor) {
+
+    // Joined in wfdisc order, so merging sees the same waveform order however the reads interleave
+    List<CompletableFuture<Optional<Waveform>>> reads = wfdiscDaos.stream()
+      .map(wfdiscDao -> CompletableFuture.supplyAsync(() -> timingLogger.apply("readWaveform",
+        () -> tryReadWaveform(wfdiscDao, channel, startTime, endTime)), readExecutor))
+      .collect(Collectors.toList());
+
+    try {
+      return WaveformUtility.mergeWaveforms(reads.stream()
+        .map(ChannelSegmentConvertImpl::await)
+        .flatMap(Optional::stream)
+        .collect(Collectors.toList()), 1, SAMPLE_DIFF_ALLOWED);
+    } finally {
+      // Reads not yet started are skipped when a read fails or the conversion is cancelled
+      reads.forEach(read -> read.cancel(true));
+    }
   }
 
+  private static <T> T await(CompletableFuture<T> future) {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading waveforms", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IllegalStateException(e.getCause());
+    }
+  }
 
   private Optional<Waveform> tryReadWaveform(WfdiscDao wfdiscDao, Channel channel, Instant startTime,
     Instant endTime) {
@@ -161,19 +224,17 @@ public class ChannelSegmentConvertImpl implements ChannelSegmentConverter {
     long skipNanos = !startTime.isAfter(wfdiscStartTime) ? 0 : Duration.between(wfdiscStartTime, startTime).toNanos();
     long currentSkip = (long) (skipNanos / NANO_SECOND_PER_SECOND * sampRateSeconds);
 
-    var file = new File(wfdiscDao.getDir() + File.separator + wfdiscDao.getDfile());
-    try (InputStream inputStream = new FileInputStream(file)) {
-      logger.info("Reading waveform for {}", channel.getName());
-      logger.info("Start: {}, End: {}, skip: {}, num samples: {}", wfdiscStartTime, wfdiscEndTime, currentSkip, nsamp);
-      double[] data = WaveformReader.readSamples(inputStream, dataType.toString(), (int) actualSamplesToRead, foff,
-        (int) currentSkip);
-      double calibration = wfdiscDao.getCalib();
-      for (var i = 0; i < data.length; i++) {
-        data[i] *= calibration;
-      }
-
-      return Waveform.create(readingStartTime, sampRateSeconds, data);
+    var file = Path.of(wfdiscDao.getDir(), wfdiscDao.getDfile());
+    logger.info("Reading waveform for {}", channel.getName());
+    logger.info("Start: {}, End: {}, skip: {}, num samples: {}", wfdiscStartTime, wfdiscEndTime, currentSkip, nsamp);
+    double[] data = waveformFileReader.readSamples(file, dataType.toString(), (int) actualSamplesToRead, foff,
+      (int) currentSkip);
+    double calibration = wfdiscDao.getCalib();
+    for (var i = 0; i < data.length; i++) {
+      data[i] *= calibration;
     }
+
+    return Waveform.create(readingStartTime, sampRateSeconds, data);
   }
 
   private Units getUnits(Channel channel) {
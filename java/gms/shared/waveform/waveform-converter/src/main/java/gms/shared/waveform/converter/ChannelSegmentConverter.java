@@ -8,6 +8,7 @@ import gms.shared.waveform.coi.Waveform;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 public interface ChannelSegmentConverter {
 
@@ -20,6 +21,21 @@ public interface ChannelSegmentConverter {
    */
   ChannelSegment<Waveform> convert(Channel channel, List<WfdiscDao> wfDiscDaos, Instant startTime, Instant endTime);
 
+  /**
+   * Converts a channel and list of {@link WfdiscDao} into a ChannelSegment, reading the waveforms of the wfdisc daos
+   * on the given executor. The waveforms are merged in the order of the wfdisc daos whatever order the reads complete
+   * in.
+   *
+   * @param channel The channel that captured the waveforms
+   * @param wfDiscDaos A list of WfdisDao and corresponding File pairs
+   * @param readExecutor the executor to read the waveforms of the wfdisc daos on
+   * @return a {@link ChannelSegment} containing {@link Waveform}s for the provided data
+   */
+  default ChannelSegment<Waveform> convert(Channel channel, List<WfdiscDao> wfDiscDaos, Instant startTime,
+    Instant endTime, Executor readExecutor) {
+    return convert(channel, wfDiscDaos, startTime, endTime);
+  }
+
   /**
    * Converts a {@link ChannelSegmentDescriptor}, list of {@link WfdiscDao} and a list of files for those wfdisc daos
    * into a ChannelSegment
@@ -0,0 +1,211 @@
+package gms.shared.waveform.converter;
+
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalNotification;
+import gms.utilities.waveformreader.WaveformDecoder;
+import gms.utilities.waveformreader.WaveformReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reads waveform samples from .w files through read only memory mappings of the whole file. Mappings are kept in a
+ * cache bounded by the total number of bytes mapped, evicting the least recently used first, so the many wfdiscs that
+ * point into the same .w file share one mapping and each only decodes the samples it asked for.
+ * <p>
+ * A cached mapping is replaced when its file changes size or is replaced. Files larger than the cache (or than a
+ * single mapping can be) are mapped from the requested offset for that read only. As with any mapping, .w files are
+ * expected to be appended to or replaced rather than truncated while they are being read.
+ */
+public class WaveformFileReader {
+
+  /**
+   * Default bound on the bytes of .w files kept mapped. Mappings use address space and page cache, not heap.
+   */
+  public static final long DEFAULT_MAX_MAPPED_BYTES = 4L * 1024 * 1024 * 1024;
+
+  private static final Logger logger = LoggerFactory.getLogger(WaveformFileReader.class);
+
+  private final long maxMappedBytes;
+  private final Cache<Path, Mapping> mappings;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final AtomicLong mappedBytes = new AtomicLong();
+
+  private WaveformFileReader(long maxMappedBytes) {
+    this.maxMappedBytes = maxMappedBytes;
+    // A single segment, so the weight bound applies to the whole cache rather than to each segment
+    this.mappings = CacheBuilder.newBuilder()
+      .concurrencyLevel(1)
+      .maximumWeight(maxMappedBytes)
+      .weigher((Path file, Mapping mapping) -> mapping.buffer.capacity())
+      .removalListener(this::onRemoval)
+      .build();
+  }
+
+  /**
+   * Creates a {@link WaveformFileReader} keeping up to {@link #DEFAULT_MAX_MAPPED_BYTES} of .w files mapped
+   *
+   * @return a {@link WaveformFileReader}
+   */
+  public static WaveformFileReader create() {
+    return create(DEFAULT_MAX_MAPPED_BYTES);
+  }
+
+  /**
+   * Creates a {@link WaveformFileReader}
+   *
+   * @param maxMappedBytes the most bytes of .w files to keep mapped
+   * @return a {@link WaveformFileReader}
+   */
+  public static WaveformFileReader create(long maxMappedBytes) {
+    Preconditions.checkArgument(maxMappedBytes > 0, "Maximum mapped bytes must be positive");
+    return new WaveformFileReader(maxMappedBytes);
+  }
+
+  /**
+   * Reads samples of a waveform from a .w file, decoding them directly from the file's mapping
+   *
+   * @param file the .w file
+   * @param format the format code of the waveform, e.g. 's4' or 'e1'
+   * @param samplesToRead number of samples to read
+   * @param foff byte offset of the waveform in the file
+   * @param skip number of samples of the waveform to skip
+   * @return the samples read. As with {@link WaveformReader#readSamples}, samples past the end of the data are 0.
+   * @throws IOException if the file can not be mapped, is shorter than foff or holds malformed data
+   * @throws IllegalArgumentException if the format is not supported
+   */
+  public double[] readSamples(Path file, String format, int samplesToRead, long foff, int skip) throws IOException {
+    Objects.requireNonNull(file);
+    Preconditions.checkArgument(samplesToRead >= 0, "Samples to read must be non-negative");
+    Preconditions.checkArgument(foff >= 0, "foff must be non-negative");
+    Preconditions.checkArgument(skip >= 0, "Skip must be non-negative");
+
+    WaveformDecoder decoder = WaveformReader.decoderFor(format);
+    ByteBuffer data = map(file, foff);
+
+    var samples = new double[samplesToRead];
+    try {
+      decoder.decode(data, samples, 0, samplesToRead, skip);
+    } catch (IllegalArgumentException e) {
+      throw new IOException("Malformed waveform data in " + file + " at foff " + foff, e);
+    }
+    return samples;
+  }
+
+  /**
+   * Returns a buffer over the file, positioned at foff, from the cached mapping of the file if it is current
+   */
+  private ByteBuffer map(Path file, long foff) throws IOException {
+    var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    long size = attributes.size();
+    if (foff > size) {
+      throw new IOException("Number of bytes of file " + file + " less than foff.");
+    }
+
+    if (size > Math.min(maxMappedBytes, Integer.MAX_VALUE)) {
+      logger.debug("Mapping {} from foff {} without caching, it is {} bytes", file, foff, size);
+      return mapRegion(file, foff, Math.min(size - foff, Integer.MAX_VALUE));
+    }
+
+    var mapping = mappings.getIfPresent(file);
+    if (mapping != null && mapping.isOf(attributes)) {
+      hits.increment();
+      WaveformFileReaderMetrics.hit();
+    } else {
+      misses.increment();
+      WaveformFileReaderMetrics.miss();
+
+      // Concurrent misses on a file may both map it, the later put replaces (and accounts for) the earlier mapping
+      mapping = new Mapping(mapRegion(file, 0, size), attributes.fileKey(), attributes.lastModifiedTime());
+      mappedBytes.addAndGet(size);
+      WaveformFileReaderMetrics.mapped(size);
+      mappings.put(file, mapping);
+    }
+
+    return mapping.buffer.duplicate().position((int) foff);
+  }
+
+  private static ByteBuffer mapRegion(Path file, long position, long size) throws IOException {
+    // The mapping stays valid once the channel is closed
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+  }
+
+  private void onRemoval(RemovalNotification<Path, Mapping> removal) {
+    long size = removal.getValue().buffer.capacity();
+    mappedBytes.addAndGet(-size);
+    WaveformFileReaderMetrics.mapped(-size);
+
+    if (removal.wasEvicted()) {
+      evictions.increment();
+      WaveformFileReaderMetrics.eviction();
+    }
+  }
+
+  /**
+   * @return the number of reads served from a cached mapping
+   */
+  public long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * @return the number of reads that mapped their file into the cache
+   */
+  public long getMissCount() {
+    return misses.sum();
+  }
+
+  /**
+   * @return the number of mappings evicted to keep within the maximum mapped bytes
+   */
+  public long getEvictionCount() {
+    return evictions.sum();
+  }
+
+  /**
+   * @return the number of bytes of .w files currently mapped by the cache
+   */
+  public long getMappedBytes() {
+    return mappedBytes.get();
+  }
+
+  private static final class Mapping {
+
+    private final ByteBuffer buffer;
+    private final Object fileKey;
+    private final FileTime lastModified;
+
+    private Mapping(ByteBuffer buffer, Object fileKey, FileTime lastModified) {
+      this.buffer = buffer;
+      this.fileKey = fileKey;
+      this.lastModified = lastModified;
+    }
+
+    /**
+     * Returns true if this mapping is of the file as it currently is
+     */
+    private boolean isOf(BasicFileAttributes attributes) {
+      return buffer.capacity() == attributes.size()
+        && Objects.equals(fileKey, attributes.fileKey())
+        && lastModified.equals(attributes.lastModifiedTime());
+    }
+  }
+}
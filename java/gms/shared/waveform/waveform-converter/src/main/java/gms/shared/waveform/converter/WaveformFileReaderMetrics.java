@@ -0,0 +1,37 @@
+package gms.shared.waveform.converter;
+
+import gms.shared.metrics.ConcurrentLongMetric;
+
+/**
+ * Metrics for the memory mapped .w file cache of {@link WaveformFileReader}, totalled over every reader in the process
+ */
+class WaveformFileReaderMetrics {
+
+  private static final ConcurrentLongMetric mappingHits =
+    ConcurrentLongMetric.counter("waveform_file_mapping_hits:type=Counter");
+  private static final ConcurrentLongMetric mappingMisses =
+    ConcurrentLongMetric.counter("waveform_file_mapping_misses:type=Counter");
+  private static final ConcurrentLongMetric mappingEvictions =
+    ConcurrentLongMetric.counter("waveform_file_mapping_evictions:type=Counter");
+  private static final ConcurrentLongMetric mappedBytes =
+    ConcurrentLongMetric.counter("waveform_file_mapped_bytes:type=Counter");
+
+  private WaveformFileReaderMetrics() {
+  }
+
+  static void hit() {
+    mappingHits.increment();
+  }
+
+  static void miss() {
+    mappingMisses.increment();
+  }
+
+  static void eviction() {
+    mappingEvictions.increment();
+  }
+
+  static void mapped(long bytes) {
+    mappedBytes.update(bytes);
+  }
+}
@@ -26,7 +26,10 @@ import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -482,6 +485,40 @@ class ChannelSegmentConverterTest {
     assertNull(convertedChannelSegmentCsd);
   }
 
+  @Test
+  void testConvertWithReadExecutorMatchesSerialConversion() {
+    // Splits the T4 wfdisc into adjacent wfdiscs that are read concurrently and merged back together
+    WfdiscDao t4Wfdisc = setWfdiscDaoDir(ChannelSegmentTestFixtures.getTestWfdiscListForT4()).get(0);
+    Channel channel = ChannelSegmentTestFixtures.getTestChannelT4();
+    int samplesPerWfdisc = 4000;
+    List<WfdiscDao> wfdiscDaos = IntStream.range(0, 4)
+      .mapToObj(i -> {
+        var wfdiscDao = new WfdiscDao(t4Wfdisc);
+        var time = t4Wfdisc.getTime()
+          .plus(Duration.ofNanos((long) (i * samplesPerWfdisc / t4Wfdisc.getSampRate() * 1e9)));
+        wfdiscDao.setTime(time);
+        wfdiscDao.setEndTime(time
+          .plus(Duration.ofNanos((long) ((samplesPerWfdisc - 1) / t4Wfdisc.getSampRate() * 1e9))));
+        wfdiscDao.setNsamp(samplesPerWfdisc);
+        wfdiscDao.setFoff(t4Wfdisc.getFoff() + (long) i * samplesPerWfdisc * Integer.BYTES);
+        return wfdiscDao;
+      })
+      .collect(Collectors.toList());
+    Instant startTime = wfdiscDaos.get(0).getTime();
+    Instant endTime = wfdiscDaos.get(wfdiscDaos.size() - 1).getEndTime();
+
+    ChannelSegment<Waveform> serial = channelSegmentConverter.convert(channel, wfdiscDaos, startTime, endTime);
+
+    ExecutorService readExecutor = Executors.newFixedThreadPool(4);
+    try {
+      assertEquals(serial, channelSegmentConverter.convert(channel, wfdiscDaos, startTime, endTime, readExecutor));
+    } finally {
+      readExecutor.shutdown();
+    }
+    assertEquals(1, serial.getTimeseries().size());
+    assertEquals(wfdiscDaos.size() * samplesPerWfdisc, serial.getTimeseries().get(0).getSampleCount());
+  }
+
   private List<WfdiscDao> setWfdiscDaoDir(List<WfdiscDao> wfdiscDaos) {
 
     return wfdiscDaos.stream()
@@ -0,0 +1,140 @@
+package gms.shared.waveform.converter;
+
+import gms.utilities.waveformreader.WaveformReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class WaveformFileReaderTest {
+
+  private static final Path DATA_DIR = new File(WaveformFileReaderTest.class.
+    getClassLoader().getResource("WaveformFiles/data").getFile()).toPath();
+
+  @TempDir
+  Path tempDir;
+
+  @ParameterizedTest
+  @CsvSource({
+    "S2.w, s2, 1000, 0, 0",
+    "S2.w, s2, 5000, 2000, 300",
+    "S3.w, s3, 1000, 3000, 0",
+    "T4.w, t4, 1000, 0, 0",
+    "T4.w, t4, 500, 400, 25"
+  })
+  void testReadSamplesMatchesWaveformReader(String fileName, String format, int samplesToRead, long foff, int skip)
+    throws IOException {
+
+    Path file = DATA_DIR.resolve(fileName);
+    double[] expected;
+    try (InputStream in = Files.newInputStream(file)) {
+      expected = WaveformReader.readSamples(in, format, samplesToRead, foff, skip);
+    }
+
+    var reader = WaveformFileReader.create();
+    assertArrayEquals(expected, reader.readSamples(file, format, samplesToRead, foff, skip));
+    assertArrayEquals(expected, reader.readSamples(file, format, samplesToRead, foff, skip));
+    assertEquals(1, reader.getMissCount());
+    assertEquals(1, reader.getHitCount());
+    assertEquals(Files.size(file), reader.getMappedBytes());
+  }
+
+  @Test
+  void testReadSamplesSharesMappingOfFile() throws IOException {
+    Path file = writeS4(tempDir.resolve("shared.w"), 1, 2, 3, 4, 5, 6);
+
+    var reader = WaveformFileReader.create();
+    assertArrayEquals(new double[]{1, 2}, reader.readSamples(file, "s4", 2, 0, 0));
+    assertArrayEquals(new double[]{3, 4}, reader.readSamples(file, "s4", 2, 8, 0));
+    assertArrayEquals(new double[]{6}, reader.readSamples(file, "s4", 1, 16, 1));
+
+    assertEquals(1, reader.getMissCount());
+    assertEquals(2, reader.getHitCount());
+    assertEquals(24, reader.getMappedBytes());
+  }
+
+  @Test
+  void testReadSamplesPastEndOfDataAreZero() throws IOException {
+    Path file = writeS4(tempDir.resolve("short.w"), 7, 8);
+
+    assertArrayEquals(new double[]{8, 0, 0}, WaveformFileReader.create().readSamples(file, "s4", 3, 4, 0));
+  }
+
+  @Test
+  void testLeastRecentlyUsedMappingEvicted() throws IOException {
+    Path first = writeS4(tempDir.resolve("first.w"), 1, 2, 3, 4);
+    Path second = writeS4(tempDir.resolve("second.w"), 5, 6, 7, 8);
+
+    var reader = WaveformFileReader.create(24);
+    reader.readSamples(first, "s4", 4, 0, 0);
+    assertArrayEquals(new double[]{5, 6, 7, 8}, reader.readSamples(second, "s4", 4, 0, 0));
+
+    assertEquals(1, reader.getEvictionCount());
+    assertEquals(16, reader.getMappedBytes());
+
+    reader.readSamples(second, "s4", 4, 0, 0);
+    assertEquals(1, reader.getHitCount());
+  }
+
+  @Test
+  void testFileLargerThanCacheNotCached() throws IOException {
+    Path file = writeS4(tempDir.resolve("large.w"), 1, 2, 3, 4, 5, 6, 7, 8);
+
+    var reader = WaveformFileReader.create(16);
+    assertArrayEquals(new double[]{3, 4, 5}, reader.readSamples(file, "s4", 3, 8, 0));
+    assertArrayEquals(new double[]{3, 4, 5}, reader.readSamples(file, "s4", 3, 8, 0));
+
+    assertEquals(0, reader.getMissCount());
+    assertEquals(0, reader.getHitCount());
+    assertEquals(0, reader.getMappedBytes());
+  }
+
+  @Test
+  void testChangedFileRemapped() throws IOException {
+    Path file = writeS4(tempDir.resolve("changed.w"), 1, 2);
+
+    var reader = WaveformFileReader.create();
+    reader.readSamples(file, "s4", 2, 0, 0);
+
+    writeS4(file, 3, 4, 5);
+    Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(60)));
+    assertArrayEquals(new double[]{3, 4, 5}, reader.readSamples(file, "s4", 3, 0, 0));
+
+    assertEquals(2, reader.getMissCount());
+    assertEquals(0, reader.getEvictionCount());
+    assertEquals(12, reader.getMappedBytes());
+  }
+
+  @Test
+  void testReadSamplesErrors() throws IOException {
+    Path file = writeS4(tempDir.resolve("errors.w"), 1, 2);
+    Path missing = tempDir.resolve("missing.w");
+    var reader = WaveformFileReader.create();
+
+    assertThrows(IOException.class, () -> reader.readSamples(file, "s4", 1, 9, 0));
+    assertThrows(IOException.class, () -> reader.readSamples(missing, "s4", 1, 0, 0));
+    assertThrows(IOException.class, () -> reader.readSamples(file, "cm6", 2, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> reader.readSamples(file, "xx", 1, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> reader.readSamples(file, "s4", -1, 0, 0));
+    assertThrows(IllegalArgumentException.class, () -> WaveformFileReader.create(0));
+  }
+
+  private static Path writeS4(Path file, int... samples) throws IOException {
+    var buffer = ByteBuffer.allocate(samples.length * Integer.BYTES);
+    buffer.asIntBuffer().put(samples);
+    return Files.write(file, buffer.array());
+  }
+}
@@ -1,5 +1,8 @@
 package gms.shared.waveform.manager;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gms.shared.frameworks.common.ContentType;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
 import gms.shared.stationdefinition.coi.facets.FacetingDefinition;
 import gms.shared.waveform.api.WaveformAccessorInterface;
 import gms.shared.waveform.api.util.ChannelSegmentDescriptorRequest;
@@ -8,14 +11,22 @@ import gms.shared.waveform.coi.ChannelSegment;
 import gms.shared.waveform.coi.Waveform;
 import io.swagger.v3.oas.annotations.Operation;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static gms.shared.frameworks.common.ContentType.MSGPACK_NAME;
 
@@ -25,6 +36,9 @@ import static gms.shared.frameworks.common.ContentType.MSGPACK_NAME;
   produces = {MediaType.APPLICATION_JSON_VALUE, MSGPACK_NAME})
 public class WaveformManager {
 
+  private static final ObjectMapper JSON_MAPPER = CoiObjectMapperFactory.getJsonObjectMapper();
+  private static final ObjectMapper MSGPACK_MAPPER = CoiObjectMapperFactory.getMsgpackObjectMapper();
+
   private final WaveformAccessorInterface waveformAccessorImpl;
 
   @Autowired
@@ -63,6 +77,70 @@ public class WaveformManager {
       channelTimeRangeRequest.getStartTime(), channelTimeRangeRequest.getEndTime());
   }
 
+  /**
+   * Streams the {@link ChannelSegment}s of the findWaveformsByChannelsAndTimeRange operation, writing each one as
+   * soon as it is assembled rather than once all of them are. Segments are written in no particular channel order,
+   * as newline delimited JSON or, if the request accepts {@value ContentType#MSGPACK_STREAM_NAME}, as consecutive
+   * MessagePack values.
+   *
+   * @param accept the Accept header of the request, selecting the stream format
+   * @param channelTimeRangeRequest List of channels to and time ranges to query over.
+   * @return a stream of all {@link ChannelSegment} objects for each Channel entity within the queried time interval
+   */
+  @PostMapping(value = "/channel-segment/stream/channel-timerange",
+    produces = {ContentType.JSON_STREAM_NAME, ContentType.MSGPACK_STREAM_NAME})
+  @Operation(summary = "Streams ChannelSegment<Waveform> based on channel and time range as each is loaded")
+  public ResponseEntity<StreamingResponseBody> streamWaveformsByChannelsAndTimeRange(
+    @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = ContentType.JSON_STREAM_NAME) String accept,
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "List of channels and time range used to query ChannelSegment<Waveform>")
+    @RequestBody ChannelTimeRangeRequest channelTimeRangeRequest) {
+
+    var contentType = accept.contains(ContentType.MSGPACK_STREAM_NAME)
+      ? ContentType.MSGPACK_STREAM
+      : ContentType.JSON_STREAM;
+
+    StreamingResponseBody body = outputStream -> {
+      Consumer<ChannelSegment<Waveform>> writer = channelSegment -> write(contentType, channelSegment, outputStream);
+
+      try {
+        Optional<FacetingDefinition> facetingDefinition = channelTimeRangeRequest.getFacetingDefinition();
+        if (facetingDefinition.isPresent()) {
+          waveformAccessorImpl.streamByChannelsAndTimeRange(channelTimeRangeRequest.getChannels(),
+            channelTimeRangeRequest.getStartTime(), channelTimeRangeRequest.getEndTime(),
+            facetingDefinition.get(), writer);
+        } else {
+          waveformAccessorImpl.streamByChannelsAndTimeRange(channelTimeRangeRequest.getChannels(),
+            channelTimeRangeRequest.getStartTime(), channelTimeRangeRequest.getEndTime(), writer);
+        }
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    };
+
+    return ResponseEntity.ok()
+      .contentType(MediaType.parseMediaType(contentType.toString()))
+      .body(body);
+  }
+
+  /**
+   * Writes a single stream element and flushes it to the client
+   */
+  private static void write(ContentType contentType, ChannelSegment<Waveform> channelSegment,
+    OutputStream outputStream) {
+
+    try {
+      if (contentType == ContentType.MSGPACK_STREAM) {
+        outputStream.write(MSGPACK_MAPPER.writeValueAsBytes(channelSegment));
+      } else {
+        outputStream.write(JSON_MAPPER.writeValueAsBytes(channelSegment));
+        outputStream.write('\n');
+      }
+      outputStream.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   /**
    * Returns a collection of {@link ChannelSegment}s as it existed at the creation time listed in
    * ChannelSegmentDescriptor, even if newer data samples have since been stored in this WaveformRepository.
@@ -1,20 +1,47 @@
 package gms.shared.waveform.manager;
 
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gms.shared.frameworks.common.ContentType;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
 import gms.shared.frameworks.systemconfig.SystemConfig;
 import gms.shared.spring.utilities.framework.SpringTestBase;
 import gms.shared.waveform.api.WaveformAccessorInterface;
+import gms.shared.waveform.coi.ChannelSegment;
+import gms.shared.waveform.coi.Waveform;
+import gms.shared.waveform.testfixture.ChannelSegmentTestFixtures;
+import gms.shared.waveform.testfixture.WaveformTestFixtures;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.Mockito;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.WAVEFORM_CHANNEL;
 import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.channelSegmentDescriptorRequest;
 import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.channelTimeRangeRequest;
 import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.facetedChannelSegmentDescriptorRequest;
 import static gms.shared.waveform.testfixture.WaveformRequestTestFixtures.facetedChannelTimeRangeRequest;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 
 @WebMvcTest(WaveformManager.class)
 class WaveformManagerTest extends SpringTestBase {
@@ -78,4 +105,52 @@ class WaveformManagerTest extends SpringTestBase {
       facetedChannelSegmentDescriptorRequest.getChannelSegmentDescriptors(),
       facetedChannelSegmentDescriptorRequest.getFacetingDefinition().get());
   }
-}
\ No newline at end of file
+
+  @ParameterizedTest
+  @EnumSource(value = ContentType.class, names = {"JSON_STREAM", "MSGPACK_STREAM"})
+  void streamWaveformsByChannelsAndTimeRange(ContentType contentType) throws Exception {
+    Instant startTime = channelTimeRangeRequest.getStartTime();
+    Instant endTime = channelTimeRangeRequest.getEndTime();
+    List<ChannelSegment<Waveform>> channelSegments = List.of(
+      ChannelSegmentTestFixtures.createChannelSegment(WAVEFORM_CHANNEL,
+        List.of(WaveformTestFixtures.randomSamples0To1(startTime, startTime.plusSeconds(60), 40)), endTime),
+      ChannelSegmentTestFixtures.createChannelSegment(WAVEFORM_CHANNEL,
+        List.of(WaveformTestFixtures.randomSamples0To1(startTime.plusSeconds(120), endTime, 40)), endTime));
+
+    doAnswer(invocation -> {
+      Consumer<ChannelSegment<Waveform>> consumer = invocation.getArgument(3);
+      channelSegments.forEach(consumer);
+      return null;
+    }).when(waveformAccessorImpl).streamByChannelsAndTimeRange(eq(channelTimeRangeRequest.getChannels()),
+      eq(startTime), eq(endTime), any());
+
+    MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+        .post("/waveform/channel-segment/stream/channel-timerange")
+        .accept(contentType.toString())
+        .contentType(MediaType.APPLICATION_JSON)
+        .content(mapper.writeValueAsBytes(channelTimeRangeRequest)))
+      .andExpect(request().asyncStarted())
+      .andReturn();
+    MockHttpServletResponse response = mockMvc.perform(asyncDispatch(result)).andReturn().getResponse();
+
+    assertEquals(HttpStatus.OK.value(), response.getStatus());
+    assertEquals(contentType.toString(), response.getContentType());
+
+    ObjectMapper streamMapper = contentType == ContentType.MSGPACK_STREAM
+      ? CoiObjectMapperFactory.getMsgpackObjectMapper()
+      : CoiObjectMapperFactory.getJsonObjectMapper();
+    MappingIterator<ChannelSegment<Waveform>> values = streamMapper
+      .readerFor(new TypeReference<ChannelSegment<Waveform>>() {
+      })
+      .readValues(response.getContentAsByteArray());
+    List<ChannelSegment<Waveform>> streamed = new ArrayList<>();
+    try {
+      while (values.hasNextValue()) {
+        streamed.add(values.nextValue());
+      }
+    } catch (JsonEOFException e) {
+      // The MessagePack parser signals the end of the stream this way rather than with a null token
+    }
+    assertEquals(channelSegments, streamed);
+  }
+}
@@ -1,8 +1,9 @@
 package gms.dataacquisition.stationreceiver.cd11.dataprovider.rsdfsource.kafka;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiEncoding;
 import gms.shared.frameworks.osd.coi.datatransferobjects.CoiObjectMapperFactory;
+import gms.shared.frameworks.osd.coi.datatransferobjects.CoiSerializer;
 import gms.shared.frameworks.osd.coi.waveforms.RawStationDataFrame;
 import org.apache.commons.lang3.RandomUtils;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -46,20 +47,20 @@ class KafkaRsdfSourceTest {
   private static Stream<Arguments> getSeedSetConstraints() {
 
     return Stream.of(
-      arguments(DATA_SET_BOSA),
-      arguments(DATA_SET_KMBO),
-      arguments(DATA_SET_PDAR),
-      arguments(DATA_SET_BOSA),
-      arguments(DATA_SET_KMBO),
-      arguments(DATA_SET_PDAR),
-      arguments(DATA_SET_BOSA),
-      arguments(DATA_SET_KMBO),
-      arguments(DATA_SET_PDAR)
+      arguments(DATA_SET_BOSA, CoiEncoding.JSON),
+      arguments(DATA_SET_KMBO, CoiEncoding.JSON),
+      arguments(DATA_SET_PDAR, CoiEncoding.JSON),
+      arguments(DATA_SET_BOSA, CoiEncoding.MSGPACK),
+      arguments(DATA_SET_KMBO, CoiEncoding.MSGPACK),
+      arguments(DATA_SET_PDAR, CoiEncoding.MSGPACK),
+      arguments(DATA_SET_BOSA, CoiEncoding.JSON),
+      arguments(DATA_SET_KMBO, CoiEncoding.JSON),
+      arguments(DATA_SET_PDAR, CoiEncoding.JSON)
     );
   }
 
   @Mock
-  private KafkaReceiver<String, String> kafkaReceiver;
+  private KafkaReceiver<String, byte[]> kafkaReceiver;
   private final ObjectMapper objectMapper = CoiObjectMapperFactory.getJsonObjectMapper();
 
   @BeforeEach
@@ -74,7 +75,7 @@ class KafkaRsdfSourceTest {
 
   @ParameterizedTest
   @MethodSource("getSeedSetConstraints")
-  void testGetRsdfFlux(final String dataFileLocation) throws IOException {
+  void testGetRsdfFlux(final String dataFileLocation, CoiEncoding encoding) throws IOException {
 
     final File seedDataFile = new File(dataFileLocation);
     final List<RawStationDataFrame> seedRsdfs = objectMapper
@@ -84,10 +85,11 @@ class KafkaRsdfSourceTest {
     partition = RandomUtils.nextInt();
     AtomicLong offset = new AtomicLong(0);
 
+    final var serializer = new CoiSerializer<RawStationDataFrame>(encoding);
     final var consumerRecords = Flux.fromIterable(seedRsdfs)
-      .map(this::getSeedJson)
-      .map(seedJson -> new ConsumerRecord<>("some topic", partition, offset.getAndIncrement(),
-        UUID.randomUUID().toString(), seedJson));
+      .map(seedRsdf -> serializer.serialize("some topic", seedRsdf))
+      .map(seedBytes -> new ConsumerRecord<>("some topic", partition, offset.getAndIncrement(),
+        UUID.randomUUID().toString(), seedBytes));
 
     when(kafkaReceiver.receiveAtmostOnce()).thenReturn(consumerRecords);
 
@@ -128,14 +130,6 @@ class KafkaRsdfSourceTest {
     });
   }
 
-  private String getSeedJson(RawStationDataFrame seedRsdf) {
-    try {
-      return objectMapper.writeValueAsString(seedRsdf);
-    } catch (JsonProcessingException e) {
-      throw new RuntimeException("Failed to serialize data to JSON", e);
-    }
-  }
-
   private void verifyRsdf(RawStationDataFrame seedRsdf, RawStationDataFrame actualRsdf) {
     assertEquals(seedRsdf, actualRsdf);
     assertEquals(seedRsdf.getId(), actualRsdf.getId());
@@ -10,11 +10,15 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Properties;
 
+/**
+ * Counts records consumed from a topic. Values are read as raw bytes and never decoded, so records of any COI encoding
+ * (JSON or MessagePack) are counted alike.
+ */
 public class Consumer {
 
   private static final Logger logger = LoggerFactory.getLogger(Consumer.class);
 
-  private final KafkaConsumer<String, String> kafkaConsumer;
+  private final KafkaConsumer<String, byte[]> kafkaConsumer;
   private final int numberOfMessagesToConsume;
 
   public Consumer(String topic, int numberOfMessagesToConsume) {
@@ -27,8 +31,8 @@ public class Consumer {
   public void run() {
     var numberOfMessagesConsumed = 0;
     while (numberOfMessagesConsumed < numberOfMessagesToConsume) {
-      ConsumerRecords<String, String> records = kafkaConsumer.poll(Duration.ofMillis(100));
-      for (ConsumerRecord<String, String> consumerRecord : records) {
+      ConsumerRecords<String, byte[]> records = kafkaConsumer.poll(Duration.ofMillis(100));
+      for (ConsumerRecord<String, byte[]> consumerRecord : records) {
         numberOfMessagesConsumed++;
       }
       if (Thread.currentThread().isInterrupted()) {
@@ -45,7 +49,7 @@ public class Consumer {
     properties.setProperty("key.deserializer",
       "org.apache.kafka.common.serialization.StringDeserializer");
     properties.setProperty("value.deserializer",
-      "org.apache.kafka.common.serialization.StringDeserializer");
+      "org.apache.kafka.common.serialization.ByteArrayDeserializer");
     return properties;
   }
 